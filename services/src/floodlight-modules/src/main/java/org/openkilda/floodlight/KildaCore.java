@@ -20,6 +20,7 @@ import org.openkilda.floodlight.service.CommandProcessorService;
 import org.openkilda.floodlight.service.FeatureDetectorService;
 import org.openkilda.floodlight.service.IService;
 import org.openkilda.floodlight.service.of.InputService;
+import org.openkilda.floodlight.service.session.CoalescingWriteService;
 import org.openkilda.floodlight.service.session.SessionService;
 import org.openkilda.floodlight.utils.CommandContextFactory;
 
@@ -50,6 +51,7 @@ public class KildaCore implements IFloodlightModule {
                 .put(CommandProcessorService.class, new CommandProcessorService(this, commandContextFactory))
                 .put(InputService.class, new InputService(commandContextFactory))
                 .put(SessionService.class, new SessionService())
+                .put(CoalescingWriteService.class, new CoalescingWriteService(this))
                 .put(FeatureDetectorService.class, new FeatureDetectorService())
                 .build();
     }
@@ -34,4 +34,8 @@ public interface KildaCoreConfig {
     @Key("command-processor-idle-workers-keep-alive-seconds")
     @Default("300")
     long getCommandIdleWorkersKeepAliveSeconds();
+
+    @Key("flow-mod-coalescing-window-ms")
+    @Default("0")
+    long getFlowModCoalescingWindowMillis();
 }
@@ -0,0 +1,25 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.error;
+
+import org.projectfloodlight.openflow.types.DatapathId;
+
+public class SwitchRequestTimeoutException extends SwitchOperationException {
+    public SwitchRequestTimeoutException(DatapathId dpId, String request, long timeoutSeconds) {
+        super(dpId, String.format("Switch %s has not answered %s request in %d seconds", dpId, request,
+                timeoutSeconds));
+    }
+}
@@ -23,8 +23,12 @@ import org.openkilda.floodlight.service.kafka.KafkaConsumerSetup;
 import org.openkilda.floodlight.service.kafka.KafkaUtilityService;
 import org.openkilda.floodlight.switchmanager.ISwitchManager;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.google.common.annotations.VisibleForTesting;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.OffsetAndMetadata;
@@ -33,31 +37,53 @@ import org.apache.kafka.common.errors.InterruptException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.concurrent.ExecutorService;
-
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Polls Kafka records and passes them to handlers. Records of the same switch are handled one by one in the order
+ * they were received, records of different switches are handled in parallel.
+ * <p/>
+ * An offset is committed only when the record and all the records preceding it in the partition are handled. A
+ * partition is paused while it has too many records in progress.
+ */
 public class Consumer implements Runnable {
     private static final Logger logger = LoggerFactory.getLogger(Consumer.class);
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final String SWITCH_ID_FIELD = "switch_id";
 
-    private final ExecutorService handlersPool;
+    private final KeyOrderedExecutor handlersPool;
     private final RecordHandler.Factory handlerFactory;
     private final KafkaConsumerSetup kafkaSetup;
     private final long commitInterval;
+    private final int maxPendingRecords;
 
     private final KafkaUtilityService kafkaUtilityService;
     private final ISwitchManager switchManager; // HACK alert.. adding to facilitate safeSwitchTick()
 
-    public Consumer(FloodlightModuleContext moduleContext, ExecutorService handlersPool,
+    private KafkaOffsetRegistry offsetRegistry;
+
+    public Consumer(FloodlightModuleContext moduleContext, KeyOrderedExecutor handlersPool,
                     KafkaConsumerSetup kafkaSetup, RecordHandler.Factory handlerFactory,
-                    long commitInterval) {
+                    long commitInterval, int maxPendingRecords) {
         this.handlersPool = requireNonNull(handlersPool);
         this.handlerFactory = requireNonNull(handlerFactory);
         this.kafkaSetup = kafkaSetup;
 
         checkArgument(commitInterval > 0, "commitInterval must be positive");
         this.commitInterval = commitInterval;
+        checkArgument(maxPendingRecords > 0, "maxPendingRecords must be positive");
+        this.maxPendingRecords = maxPendingRecords;
 
         kafkaUtilityService = moduleContext.getServiceImpl(KafkaUtilityService.class);
         switchManager = moduleContext.getServiceImpl(ISwitchManager.class);
@@ -76,29 +102,31 @@ public class Consumer implements Runnable {
              *  - max.poll.records = 500 (must be able to process about 2 records per second
              */
 
+            Set<TopicPartition> paused = new HashSet<>();
             try (org.apache.kafka.clients.consumer.Consumer<String, String> consumer =
-                         kafkaUtilityService.makeConsumer(kafkaSetup)) {
+                         kafkaUtilityService.makeConsumer(kafkaSetup, new RebalanceListener(paused))) {
                 logger.info("Kafka consumer: start. Topics: {}", kafkaSetup.getTopics());
 
-                KafkaOffsetRegistry offsetRegistry = new KafkaOffsetRegistry(consumer, commitInterval);
+                offsetRegistry = new KafkaOffsetRegistry(consumer, commitInterval);
 
                 while (true) {
                     try {
                         ConsumerRecords<String, String> batch = consumer.poll(100);
-                        if (batch.isEmpty()) {
-                            continue;
-                        }
-
-                        logger.debug("Received records batch contain {} messages", batch.count());
+                        if (!batch.isEmpty()) {
+                            logger.debug("Received records batch contain {} messages", batch.count());
 
-                        for (ConsumerRecord<String, String> record : batch) {
-                            handle(record);
-
-                            offsetRegistry.addAndCommit(record);
+                            for (ConsumerRecord<String, String> record : batch) {
+                                offsetRegistry.add(record);
+                                handle(record);
+                            }
                         }
-                    } finally {
-                        // force to commit after each completed batch or in a case of an exception / error.
+
+                        updatePausedPartitions(consumer, paused);
+                        offsetRegistry.commitIfRequired();
+                    } catch (Exception e) {
+                        // commit offsets of already handled records before the consumer is re-created.
                         offsetRegistry.commitOffsets();
+                        throw e;
                     }
 
                     switchManager.safeModeTick(); // HACK alert .. should go in its own timer loop
@@ -116,20 +144,129 @@ public class Consumer implements Runnable {
 
     protected void handle(ConsumerRecord<String, String> record) {
         logger.trace("received message: {} - key:{}, value:{}", record.offset(), record.key(), record.value());
-        handlersPool.execute(handlerFactory.produce(record));
+        KafkaOffsetRegistry registry = offsetRegistry;
+        RecordHandler handler = handlerFactory.produce(record);
+        handlersPool.executeAsync(getOrderingKey(record), () -> {
+            CompletableFuture<Void> completion = CompletableFuture.completedFuture(null);
+            try {
+                handler.run();
+                completion = handler.getCompletion();
+            } finally {
+                // offset is committed only after the switch confirms the writes made by the handler
+                completion.whenComplete((ignore, error) -> registry.complete(record));
+            }
+            // the next record of the key must not overtake the writes deferred by the handler
+            return handler.getSubmitted();
+        });
     }
 
     /**
-     * Holds offsets for Kafka partitions and performs sync commits of them.
+     * Marks the record as handled without passing it to a handler.
+     */
+    protected void skip(ConsumerRecord<String, String> record) {
+        offsetRegistry.complete(record);
+    }
+
+    private void updatePausedPartitions(org.apache.kafka.clients.consumer.Consumer<String, String> consumer,
+                                        Set<TopicPartition> paused) {
+        List<TopicPartition> toPause = new ArrayList<>();
+        List<TopicPartition> toResume = new ArrayList<>();
+        for (TopicPartition partition : offsetRegistry.getPartitions()) {
+            int pending = offsetRegistry.getPendingCount(partition);
+            if (pending >= maxPendingRecords && paused.add(partition)) {
+                toPause.add(partition);
+            } else if (pending <= maxPendingRecords / 2 && paused.remove(partition)) {
+                toResume.add(partition);
+            }
+        }
+
+        if (!toPause.isEmpty()) {
+            logger.debug("Pause partitions {}", toPause);
+            consumer.pause(toPause);
+        }
+        if (!toResume.isEmpty()) {
+            logger.debug("Resume partitions {}", toResume);
+            consumer.resume(toResume);
+        }
+    }
+
+    /**
+     * Keeps the paused partitions and the offset registry in line with the partitions assigned to the consumer. The
+     * pause state doesn't survive a rebalance, so it is tracked from scratch after each one.
+     */
+    private class RebalanceListener implements ConsumerRebalanceListener {
+        private final Set<TopicPartition> paused;
+
+        RebalanceListener(Set<TopicPartition> paused) {
+            this.paused = paused;
+        }
+
+        @Override
+        public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+            logger.info("Partitions revoked: {}", partitions);
+            if (offsetRegistry != null) {
+                offsetRegistry.commitOffsets();
+                offsetRegistry.removePartitions(partitions);
+            }
+            paused.clear();
+        }
+
+        @Override
+        public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+            logger.info("Partitions assigned: {}", partitions);
+            paused.clear();
+        }
+    }
+
+    /**
+     * Gets the key to order handling of the record by. This is the switch the command is addressed to, the record
+     * key or the partition are used if the switch can't be determined.
+     */
+    @VisibleForTesting
+    static Object getOrderingKey(ConsumerRecord<String, String> record) {
+        String switchId = lookupSwitchId(record.value());
+        if (switchId != null) {
+            return switchId;
+        }
+        if (record.key() != null) {
+            return record.key();
+        }
+        return new TopicPartition(record.topic(), record.partition());
+    }
+
+    /**
+     * Finds the first "switch_id" field of the message without parsing the whole message.
+     */
+    private static String lookupSwitchId(String json) {
+        if (json == null) {
+            return null;
+        }
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token == JsonToken.FIELD_NAME && SWITCH_ID_FIELD.equals(parser.getCurrentName())
+                        && parser.nextToken() == JsonToken.VALUE_STRING) {
+                    return parser.getText();
+                }
+            }
+        } catch (IOException e) {
+            logger.debug("Unable to lookup switch id in {}", json, e);
+        }
+        return null;
+    }
+
+    /**
+     * Holds offsets for Kafka partitions and performs sync commits of them. Only offsets of the records, which are
+     * handled with all their predecessors, are committed.
      * <p/>
-     * Note: the implementation is not thread-safe.
+     * Note: only {@link #complete(ConsumerRecord)} may be called concurrently with other methods.
      */
     @VisibleForTesting
     static class KafkaOffsetRegistry {
         private final org.apache.kafka.clients.consumer.Consumer<String, String> consumer;
         private final long autoCommitInterval;
 
-        private final Map<TopicPartition, Long> partitionToUncommittedOffset = new HashMap<>();
+        private final Map<TopicPartition, PartitionOffsets> partitions = new HashMap<>();
         private long lastCommitTime;
 
         KafkaOffsetRegistry(org.apache.kafka.clients.consumer.Consumer<String, String> consumer,
@@ -141,43 +278,86 @@ public class Consumer implements Runnable {
         }
 
         /**
-         * Add the record's offset to the registry and perform a commit
-         * if more than autoCommitInterval ms passed since the last commit.
+         * Add the record's offset to the registry as pending.
          */
-        void addAndCommit(ConsumerRecord<String, String> record) {
+        void add(ConsumerRecord<String, String> record) {
             TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+            PartitionOffsets offsets = partitions.computeIfAbsent(partition, ignore -> new PartitionOffsets());
 
-            Long previousOffset = partitionToUncommittedOffset.get(partition);
-            if (previousOffset != null && previousOffset > record.offset()) {
+            if (offsets.nextOffset > record.offset()) {
                 throw new IllegalArgumentException(
                         format("The record has offset %d which less than the previously added %d.",
-                                record.offset(), previousOffset));
+                                record.offset(), offsets.nextOffset - 1));
+            }
+
+            offsets.pending.add(record.offset());
+            offsets.pendingCount.incrementAndGet();
+            offsets.nextOffset = record.offset() + 1;
+        }
+
+        /**
+         * Marks the record as handled.
+         */
+        void complete(ConsumerRecord<String, String> record) {
+            PartitionOffsets offsets = partitions.get(new TopicPartition(record.topic(), record.partition()));
+            if (offsets != null && offsets.pending.remove(record.offset())) {
+                offsets.pendingCount.decrementAndGet();
             }
+        }
+
+        /**
+         * Forgets the partitions, records of them completed afterwards are ignored.
+         */
+        void removePartitions(Collection<TopicPartition> removed) {
+            partitions.keySet().removeAll(removed);
+        }
+
+        Set<TopicPartition> getPartitions() {
+            return partitions.keySet();
+        }
 
-            partitionToUncommittedOffset.put(partition, record.offset());
+        int getPendingCount(TopicPartition partition) {
+            PartitionOffsets offsets = partitions.get(partition);
+            return offsets != null ? offsets.pendingCount.get() : 0;
+        }
 
-            // commit offsets of processed messages
+        /**
+         * Performs a commit if more than autoCommitInterval ms passed since the last commit.
+         */
+        void commitIfRequired() {
             if ((System.currentTimeMillis() - lastCommitTime) >= autoCommitInterval) {
                 commitOffsets();
             }
         }
 
         /**
-         * Commits the offsets added since the last commit.
+         * Commits the offsets of handled records, which are not committed yet.
          */
         void commitOffsets() {
-            if (!partitionToUncommittedOffset.isEmpty()) {
-                Map<TopicPartition, OffsetAndMetadata> partitionToMetadata = new HashMap<>();
-                for (Entry<TopicPartition, Long> e : partitionToUncommittedOffset.entrySet()) {
-                    partitionToMetadata.put(e.getKey(), new OffsetAndMetadata(e.getValue() + 1));
+            Map<TopicPartition, OffsetAndMetadata> partitionToMetadata = new HashMap<>();
+            for (Entry<TopicPartition, PartitionOffsets> e : partitions.entrySet()) {
+                PartitionOffsets offsets = e.getValue();
+                // The partition map is modified by the caller thread only, so nextOffset is up to date here.
+                Long firstPending = offsets.pending.ceiling(Long.MIN_VALUE);
+                long commitOffset = firstPending != null ? firstPending : offsets.nextOffset;
+                if (commitOffset > offsets.committedOffset) {
+                    partitionToMetadata.put(e.getKey(), new OffsetAndMetadata(commitOffset));
+                    offsets.committedOffset = commitOffset;
                 }
+            }
 
+            if (!partitionToMetadata.isEmpty()) {
                 consumer.commitSync(partitionToMetadata);
-
-                partitionToUncommittedOffset.clear();
             }
 
             lastCommitTime = System.currentTimeMillis();
         }
     }
+
+    private static class PartitionOffsets {
+        private final ConcurrentSkipListSet<Long> pending = new ConcurrentSkipListSet<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private long nextOffset = -1;
+        private long committedOffset = -1;
+    }
 }
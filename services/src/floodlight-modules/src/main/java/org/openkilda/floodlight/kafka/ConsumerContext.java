@@ -23,19 +23,28 @@ import org.openkilda.floodlight.switchmanager.ISwitchManager;
 
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
 
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
 public class ConsumerContext {
     private final FloodlightModuleContext moduleContext;
     private final IPathVerificationService pathVerificationService;
     private final ISwitchManager switchManager;
     private final IStatisticsService statisticsService;
     private final KafkaChannel kafkaChannel;
+    private final ScheduledExecutorService deferredExecutor;
 
     public ConsumerContext(FloodlightModuleContext moduleContext) {
+        this(moduleContext, Executors.newSingleThreadScheduledExecutor());
+    }
+
+    public ConsumerContext(FloodlightModuleContext moduleContext, ScheduledExecutorService deferredExecutor) {
         this.moduleContext = moduleContext;
         this.pathVerificationService = moduleContext.getServiceImpl(IPathVerificationService.class);
         this.switchManager = moduleContext.getServiceImpl(ISwitchManager.class);
         this.statisticsService  = moduleContext.getServiceImpl(IStatisticsService.class);
         kafkaChannel = moduleContext.getServiceImpl(KafkaUtilityService.class).getKafkaChannel();
+        this.deferredExecutor = deferredExecutor;
     }
 
     public String getRegion() {
@@ -50,6 +59,13 @@ public class ConsumerContext {
         return pathVerificationService;
     }
 
+    /**
+     * Executor for the handler steps, which wait for switch replies and so must not run on the switch I/O threads.
+     */
+    public ScheduledExecutorService getDeferredExecutor() {
+        return deferredExecutor;
+    }
+
     public ISwitchManager getSwitchManager() {
         return switchManager;
     }
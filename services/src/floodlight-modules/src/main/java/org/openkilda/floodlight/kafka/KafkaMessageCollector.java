@@ -38,11 +38,7 @@ import org.slf4j.LoggerFactory;
 
 import java.util.Collection;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.RejectedExecutionHandler;
-import java.util.concurrent.SynchronousQueue;
-import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 public class KafkaMessageCollector implements IFloodlightModule {
@@ -95,13 +91,13 @@ public class KafkaMessageCollector implements IFloodlightModule {
     protected void launchTopics(KafkaMessageCollectorConfig consumerConfig,
                                 KafkaChannel kafkaChannel,
                                 ConsumerLauncher launcher) {
-        ExecutorService generalExecutor = buildExecutorWithNoQueue(consumerConfig.getGeneralExecutorCount());
+        KeyOrderedExecutor generalExecutor = buildExecutor(consumerConfig.getGeneralExecutorCount());
         logger.info("Kafka Consumer: general executor threads = {}", consumerConfig.getGeneralExecutorCount());
         launcher.launch(generalExecutor, new KafkaConsumerSetup(kafkaChannel.getSpeakerTopic()));
         launcher.launch(generalExecutor, new KafkaConsumerSetup(kafkaChannel.getSpeakerFlowTopic()));
         launcher.launch(generalExecutor, new KafkaConsumerSetup(kafkaChannel.getSpeakerFlowPingTopic()));
 
-        ExecutorService discoCommandExecutor = buildExecutorWithNoQueue(consumerConfig.getDiscoExecutorCount());
+        KeyOrderedExecutor discoCommandExecutor = buildExecutor(consumerConfig.getDiscoExecutorCount());
         logger.info("Kafka Consumer: disco executor threads = {}", consumerConfig.getDiscoExecutorCount());
 
         KafkaConsumerSetup kafkaSetup = new KafkaConsumerSetup(kafkaChannel.getSpeakerDiscoTopic());
@@ -109,10 +105,9 @@ public class KafkaMessageCollector implements IFloodlightModule {
         launcher.launch(discoCommandExecutor, kafkaSetup);
     }
 
-    protected ExecutorService buildExecutorWithNoQueue(int executorCount) {
-        // A thread pool of fixed sized and no work queue.
-        return new ThreadPoolExecutor(executorCount, executorCount, 0L, TimeUnit.MILLISECONDS,
-                new SynchronousQueue<>(), new RetryableExecutionHandler());
+    protected KeyOrderedExecutor buildExecutor(int executorCount) {
+        // The work queue is bounded by pausing of the consumed partitions, see Consumer.
+        return new KeyOrderedExecutor(Executors.newFixedThreadPool(executorCount));
     }
 
     protected static class ConsumerLauncher {
@@ -126,41 +121,24 @@ public class KafkaMessageCollector implements IFloodlightModule {
             this.moduleContext = moduleContext;
             this.consumerConfig = consumerConfig;
 
-            ConsumerContext context = new ConsumerContext(moduleContext);
+            ConsumerContext context = new ConsumerContext(moduleContext,
+                    Executors.newScheduledThreadPool(consumerConfig.getDeferredExecutorCount()));
             this.handlerFactory = new RecordHandler.Factory(context);
 
             isTestingMode = moduleContext.getServiceImpl(KafkaUtilityService.class).isTestingMode();
         }
 
-        protected void launch(ExecutorService handlerExecutor, KafkaConsumerSetup kafkaSetup) {
+        protected void launch(KeyOrderedExecutor handlerExecutor, KafkaConsumerSetup kafkaSetup) {
             Consumer consumer;
             if (!isTestingMode) {
                 consumer = new Consumer(moduleContext, handlerExecutor, kafkaSetup, handlerFactory,
-                        consumerConfig.getAutoCommitInterval());
+                        consumerConfig.getAutoCommitInterval(), consumerConfig.getMaxPendingRecords());
             } else {
                 consumer = new TestAwareConsumer(moduleContext, handlerExecutor, kafkaSetup, handlerFactory,
-                        consumerConfig.getAutoCommitInterval());
+                        consumerConfig.getAutoCommitInterval(), consumerConfig.getMaxPendingRecords());
             }
             Executors.newSingleThreadScheduledExecutor()
                     .scheduleWithFixedDelay(consumer, 0, 1, TimeUnit.MILLISECONDS);
         }
     }
-
-    /**
-     * Handler of rejected messages by ThreadPoolExecutor, in case of reject this handler will wait
-     * until one of executors becomes available.
-     */
-    private static class RetryableExecutionHandler implements RejectedExecutionHandler {
-        @Override
-        public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
-            if (!executor.isShutdown()) {
-                try {
-                    executor.getQueue().put(r);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    logger.error("Couldn't retry to process message", e);
-                }
-            }
-        }
-    }
 }
@@ -36,8 +36,24 @@ public interface KafkaMessageCollectorConfig {
     @Min(1)
     int getDiscoExecutorCount();
 
+    /**
+     * The number of threads, which handle the records deferred until the coalesced writes to the switch are confirmed.
+     */
+    @Key("consumer-deferred-executors")
+    @Default("4")
+    @Min(1)
+    int getDeferredExecutorCount();
+
     @Key("consumer-auto-commit-interval")
     @Default("1000")
     @Min(1)
     long getAutoCommitInterval();
+
+    /**
+     * The number of not yet handled records of a partition, which makes the consumer pause the partition.
+     */
+    @Key("consumer-max-pending-records")
+    @Default("1000")
+    @Min(1)
+    int getMaxPendingRecords();
 }
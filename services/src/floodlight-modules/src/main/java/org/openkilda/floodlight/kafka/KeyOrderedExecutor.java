@@ -0,0 +1,162 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.floodlight.kafka;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+/**
+ * Executes tasks with the same key one by one in the order of submission, tasks with different keys are executed in
+ * parallel by the underlying executor.
+ * <p/>
+ * Each key with pending tasks occupies at most one thread of the underlying executor, so a slow key doesn't delay
+ * tasks of other keys. A key yields the thread after a bounded batch of tasks, so a key with a long backlog doesn't
+ * starve keys waiting for a thread. A task can hold its key after it returns, see
+ * {@link #executeAsync(Object, Supplier)}.
+ */
+public class KeyOrderedExecutor {
+    private static final Logger logger = LoggerFactory.getLogger(KeyOrderedExecutor.class);
+    private static final int DEFAULT_MAX_BATCH_SIZE = 64;
+    private static final CompletableFuture<Void> DONE = CompletableFuture.completedFuture(null);
+
+    private final ExecutorService executor;
+    private final int maxBatchSize;
+    private final Map<Object, KeyQueue> queues = new ConcurrentHashMap<>();
+
+    public KeyOrderedExecutor(ExecutorService executor) {
+        this(executor, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    public KeyOrderedExecutor(ExecutorService executor, int maxBatchSize) {
+        checkArgument(maxBatchSize > 0, "maxBatchSize must be positive");
+        this.executor = executor;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Schedules the task after all previously submitted tasks of the same key.
+     */
+    public void execute(Object key, Runnable task) {
+        executeAsync(key, () -> {
+            task.run();
+            return DONE;
+        });
+    }
+
+    /**
+     * Schedules the task after all previously submitted tasks of the same key. The next task of the key starts only
+     * when the future returned by the task is completed, the thread is released in the meantime.
+     */
+    public void executeAsync(Object key, Supplier<CompletableFuture<?>> task) {
+        KeyQueue[] created = new KeyQueue[1];
+        queues.compute(key, (k, queue) -> {
+            if (queue == null) {
+                queue = new KeyQueue(k);
+                created[0] = queue;
+            }
+            queue.tasks.add(task);
+            return queue;
+        });
+
+        // The underlying executor may block, so it must not be called while the queue is locked.
+        if (created[0] != null) {
+            executor.execute(created[0]);
+        }
+    }
+
+    /**
+     * Gets the number of keys, which have pending or running tasks.
+     */
+    public int getActiveKeyCount() {
+        return queues.size();
+    }
+
+    private class KeyQueue implements Runnable {
+        private final Object key;
+        private final Queue<Supplier<CompletableFuture<?>>> tasks = new ArrayDeque<>();
+
+        KeyQueue(Object key) {
+            this.key = key;
+        }
+
+        @Override
+        public void run() {
+            Supplier<CompletableFuture<?>> task = peek();
+            int executed = 0;
+            while (task != null) {
+                CompletableFuture<?> held = DONE;
+                try {
+                    held = task.get();
+                } catch (Exception e) {
+                    logger.error("Failed to execute task of key {}", key, e);
+                }
+                if (held != null && !held.isDone()) {
+                    held.whenComplete((ignore, error) -> resume());
+                    return;
+                }
+                task = next();
+
+                if (task != null && ++executed >= maxBatchSize) {
+                    // The queue stays registered, so the key keeps its order while waiting for a thread again.
+                    executor.execute(this);
+                    return;
+                }
+            }
+        }
+
+        private void resume() {
+            if (next() != null) {
+                executor.execute(this);
+            }
+        }
+
+        private Supplier<CompletableFuture<?>> peek() {
+            @SuppressWarnings("unchecked")
+            Supplier<CompletableFuture<?>>[] result = new Supplier[1];
+            queues.computeIfPresent(key, (k, queue) -> {
+                result[0] = queue.tasks.peek();
+                return queue;
+            });
+            return result[0];
+        }
+
+        /**
+         * Removes the completed task and returns the next one. The queue is released if there are no more tasks, so
+         * the next submitted task starts a new one.
+         */
+        private Supplier<CompletableFuture<?>> next() {
+            @SuppressWarnings("unchecked")
+            Supplier<CompletableFuture<?>>[] result = new Supplier[1];
+            queues.computeIfPresent(key, (k, queue) -> {
+                queue.tasks.poll();
+                result[0] = queue.tasks.peek();
+                return result[0] != null ? queue : null;
+            });
+            return result[0];
+        }
+    }
+}
@@ -33,6 +33,7 @@ import org.openkilda.floodlight.converter.OfPortDescConverter;
 import org.openkilda.floodlight.error.FlowCommandException;
 import org.openkilda.floodlight.error.SwitchNotFoundException;
 import org.openkilda.floodlight.error.SwitchOperationException;
+import org.openkilda.floodlight.error.SwitchRequestTimeoutException;
 import org.openkilda.floodlight.error.UnsupportedSwitchOperationException;
 import org.openkilda.floodlight.kafka.dispatcher.CommandDispatcher;
 import org.openkilda.floodlight.kafka.dispatcher.ListSwitchDispatcher;
@@ -42,6 +43,7 @@ import org.openkilda.floodlight.kafka.dispatcher.SetupBfdSessionDispatcher;
 import org.openkilda.floodlight.kafka.dispatcher.StatsRequestDispatcher;
 import org.openkilda.floodlight.service.CommandProcessorService;
 import org.openkilda.floodlight.service.kafka.IKafkaProducerService;
+import org.openkilda.floodlight.service.session.CoalescingWriteService;
 import org.openkilda.floodlight.switchmanager.ISwitchManager;
 import org.openkilda.floodlight.switchmanager.SwitchTrackingService;
 import org.openkilda.floodlight.utils.CorrelationContext;
@@ -51,6 +53,7 @@ import org.openkilda.messaging.AliveResponse;
 import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.command.CommandData;
 import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverPathCommandData;
 import org.openkilda.messaging.command.discovery.NetworkCommandData;
@@ -107,8 +110,10 @@ import org.openkilda.model.SwitchId;
 import com.google.common.collect.ImmutableList;
 import net.floodlightcontroller.core.IOFSwitch;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.projectfloodlight.openflow.protocol.OFFlowMod;
 import org.projectfloodlight.openflow.protocol.OFFlowStatsEntry;
 import org.projectfloodlight.openflow.protocol.OFMeterConfig;
+import org.projectfloodlight.openflow.protocol.OFMessage;
 import org.projectfloodlight.openflow.protocol.OFPortDesc;
 import org.projectfloodlight.openflow.types.DatapathId;
 import org.projectfloodlight.openflow.types.OFPort;
@@ -116,21 +121,36 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 class RecordHandler implements Runnable {
     private static final Logger logger = LoggerFactory.getLogger(RecordHandler.class);
 
+    private static final long COALESCED_WRITES_TIMEOUT_SECONDS = 10;
+
     private final ConsumerContext context;
     private final List<CommandDispatcher<?>> dispatchers;
     private final ConsumerRecord<String, String> record;
 
     private final CommandProcessorService commandProcessor;
+    private final CoalescingWriteService coalescingWriter;
+
+    private CompletableFuture<Void> completion = CompletableFuture.completedFuture(null);
+    private CompletableFuture<Void> submitted = CompletableFuture.completedFuture(null);
+    private CompletableFuture<Void> deferredCompletion;
 
     public RecordHandler(ConsumerContext context, List<CommandDispatcher<?>> dispatchers,
                          ConsumerRecord<String, String> record) {
@@ -139,6 +159,7 @@ class RecordHandler implements Runnable {
         this.record = record;
 
         this.commandProcessor = context.getModuleContext().getServiceImpl(CommandProcessorService.class);
+        this.coalescingWriter = context.getModuleContext().getServiceImpl(CoalescingWriteService.class);
     }
 
     protected void doControllerMsg(CommandMessage message) {
@@ -151,16 +172,21 @@ class RecordHandler implements Runnable {
         } catch (SwitchOperationException e) {
             logger.error("Unable to handle request {}: {}", message.getData().getClass().getName(), e.getMessage());
         } catch (FlowCommandException e) {
-            String errorMessage = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
-            logger.error("Failed to handle message {}: {}", message, errorMessage);
-            ErrorData errorData = new FlowCommandErrorData(e.getFlowId(), e.getCookie(), e.getTransactionId(),
-                    e.getErrorType(), errorMessage, e.getMessage());
-            ErrorMessage error = new ErrorMessage(errorData, System.currentTimeMillis(),
-                    message.getCorrelationId(), replyDestination);
-            getKafkaProducer().sendMessageAndTrack(replyToTopic, error);
+            sendFlowCommandError(message, e, replyToTopic, replyDestination);
         }
     }
 
+    private void sendFlowCommandError(CommandMessage message, FlowCommandException e, String replyToTopic,
+                                      Destination replyDestination) {
+        String errorMessage = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+        logger.error("Failed to handle message {}: {}", message, errorMessage);
+        ErrorData errorData = new FlowCommandErrorData(e.getFlowId(), e.getCookie(), e.getTransactionId(),
+                e.getErrorType(), errorMessage, e.getMessage());
+        ErrorMessage error = new ErrorMessage(errorData, System.currentTimeMillis(),
+                message.getCorrelationId(), replyDestination);
+        getKafkaProducer().sendMessageAndTrack(replyToTopic, error);
+    }
+
     private void handleCommand(CommandMessage message, String replyToTopic, Destination replyDestination)
             throws FlowCommandException, SwitchOperationException {
         logger.debug("Handling message: '{}'. Reply topic: '{}'. Reply destination: '{}'.",
@@ -169,6 +195,8 @@ class RecordHandler implements Runnable {
 
         if (data instanceof DiscoverIslCommandData) {
             doDiscoverIslCommand(message);
+        } else if (data instanceof DiscoverIslBatchCommandData) {
+            doDiscoverIslBatchCommand(message);
         } else if (data instanceof DiscoverPathCommandData) {
             doDiscoverPathCommand(data);
         } else if (data instanceof InstallIngressFlow) {
@@ -196,7 +224,7 @@ class RecordHandler implements Runnable {
         } else if (data instanceof DumpRulesForSwitchManagerRequest) {
             doDumpRulesForSwitchManagerRequest(message);
         } else if (data instanceof BatchInstallRequest) {
-            doBatchInstall(message);
+            doBatchInstall(message, replyToTopic, replyDestination);
         } else if (data instanceof BatchInstallForSwitchManagerRequest) {
             doBatchInstallForSwitchManager(message);
         } else if (data instanceof PortsCommandData) {
@@ -252,6 +280,24 @@ class RecordHandler implements Runnable {
                         context.getRegion()));
     }
 
+    private void doDiscoverIslBatchCommand(CommandMessage message) {
+        DiscoverIslBatchCommandData command = (DiscoverIslBatchCommandData) message.getData();
+        SwitchId switchId = command.getSwitchId();
+        Map<OFPort, Long> packetIds = new LinkedHashMap<>();
+        for (DiscoverIslBatchCommandData.Port port : command.getPorts()) {
+            packetIds.put(OFPort.of(port.getPortNumber()), port.getPacketId());
+        }
+        context.getPathVerificationService().sendDiscoveryMessages(DatapathId.of(switchId.toLong()), packetIds);
+
+        for (DiscoverIslBatchCommandData.Port port : command.getPorts()) {
+            DiscoPacketSendingConfirmation confirmation = new DiscoPacketSendingConfirmation(
+                    new NetworkEndpoint(switchId, port.getPortNumber()), port.getPacketId());
+            getKafkaProducer().sendMessageAndTrack(context.getKafkaTopoDiscoTopic(), switchId.toString(),
+                    new InfoMessage(confirmation, System.currentTimeMillis(), message.getCorrelationId(),
+                            context.getRegion()));
+        }
+    }
+
     private void doDiscoverPathCommand(CommandData data) {
         DiscoverPathCommandData command = (DiscoverPathCommandData) data;
         logger.warn("NOT IMPLEMENTED: sending discover Path to {}", command);
@@ -268,6 +314,11 @@ class RecordHandler implements Runnable {
         logger.info("Installing ingress flow '{}' on switch '{}'", command.getId(), command.getSwitchId());
 
         try {
+            if (coalescingWriter.isEnabled()) {
+                installFlowCoalesced(command, message, replyToTopic, replyDestination);
+                return;
+            }
+
             installIngressFlow(command);
             message.setDestination(replyDestination);
             getKafkaProducer().sendMessageAndTrack(replyToTopic, message);
@@ -319,6 +370,11 @@ class RecordHandler implements Runnable {
         logger.info("Installing egress flow '{}' on switch '{}'", command.getId(), command.getSwitchId());
 
         try {
+            if (coalescingWriter.isEnabled()) {
+                installFlowCoalesced(command, message, replyToTopic, replyDestination);
+                return;
+            }
+
             installEgressFlow(command);
             message.setDestination(replyDestination);
             getKafkaProducer().sendMessageAndTrack(replyToTopic, message);
@@ -358,6 +414,11 @@ class RecordHandler implements Runnable {
         logger.info("Installing transit flow '{}' on switch '{}'", command.getId(), command.getSwitchId());
 
         try {
+            if (coalescingWriter.isEnabled()) {
+                installFlowCoalesced(command, message, replyToTopic, replyDestination);
+                return;
+            }
+
             installTransitFlow(command);
             message.setDestination(replyDestination);
             getKafkaProducer().sendMessageAndTrack(replyToTopic, message);
@@ -395,6 +456,11 @@ class RecordHandler implements Runnable {
         logger.info("Installing one switch flow '{}' on switch '{}'", command.getId(), command.getSwitchId());
 
         try {
+            if (coalescingWriter.isEnabled()) {
+                installFlowCoalesced(command, message, replyToTopic, replyDestination);
+                return;
+            }
+
             installOneSwitchFlow(command);
             message.setDestination(replyDestination);
             getKafkaProducer().sendMessageAndTrack(replyToTopic, message);
@@ -433,12 +499,163 @@ class RecordHandler implements Runnable {
                 meterId);
     }
 
+    /**
+     * Installs flow (and its meter) through the per-switch write batch. Reply is sent and the record is completed when
+     * the switch confirms the batch with the closing barrier.
+     *
+     * @param command command message for flow installation
+     */
+    private void installFlowCoalesced(BaseInstallFlow command, CommandMessage message, String replyToTopic,
+                                      Destination replyDestination) throws SwitchOperationException {
+        DatapathId dpid = DatapathId.of(command.getSwitchId().toLong());
+        ISwitchManager switchManager = context.getSwitchManager();
+        IOFSwitch sw = switchManager.lookupSwitch(dpid);
+
+        List<OFMessage> meters = new ArrayList<>();
+        OFFlowMod flowMod;
+        if (command instanceof InstallIngressFlow) {
+            InstallIngressFlow ingress = (InstallIngressFlow) command;
+            long meterId = buildMeter(sw, ingress.getMeterId(), ingress.getBandwidth(), ingress.getId(), meters);
+            flowMod = switchManager.buildIngressFlow(sw, ingress.getCookie(), ingress.getInputPort(),
+                    ingress.getOutputPort(), ingress.getInputVlanId(), ingress.getTransitVlanId(),
+                    ingress.getOutputVlanType(), meterId);
+        } else if (command instanceof InstallEgressFlow) {
+            InstallEgressFlow egress = (InstallEgressFlow) command;
+            flowMod = switchManager.buildEgressFlow(sw, egress.getCookie(), egress.getInputPort(),
+                    egress.getOutputPort(), egress.getTransitVlanId(), egress.getOutputVlanId(),
+                    egress.getOutputVlanType());
+        } else if (command instanceof InstallTransitFlow) {
+            InstallTransitFlow transit = (InstallTransitFlow) command;
+            flowMod = switchManager.buildTransitFlow(sw, transit.getCookie(), transit.getInputPort(),
+                    transit.getOutputPort(), transit.getTransitVlanId());
+        } else if (command instanceof InstallOneSwitchFlow) {
+            InstallOneSwitchFlow oneSwitch = (InstallOneSwitchFlow) command;
+            long meterId = buildMeter(sw, oneSwitch.getMeterId(), oneSwitch.getBandwidth(), oneSwitch.getId(),
+                    meters);
+            flowMod = switchManager.buildOneSwitchFlow(sw, oneSwitch.getCookie(), oneSwitch.getInputPort(),
+                    oneSwitch.getOutputPort(), oneSwitch.getInputVlanId(), oneSwitch.getOutputVlanId(),
+                    oneSwitch.getOutputVlanType(), meterId);
+        } else {
+            throw new IllegalArgumentException(format("Unsupported install flow command %s", command));
+        }
+
+        // meters must be confirmed by the switch before the flows referring them are sent
+        CompletableFuture<Void> metersInstalled = CompletableFuture.completedFuture(null);
+        if (!meters.isEmpty()) {
+            metersInstalled = coalescingWriter.write(sw, meters)
+                    .exceptionally(e -> {
+                        logger.error("Failed to install meter for flow {} on switch {}: {}", command.getId(),
+                                dpid, e.getMessage());
+                        return null;
+                    });
+        }
+
+        CompletableFuture<Void> installed = metersInstalled
+                .thenCompose(ignore -> coalescingWriter.write(sw, ImmutableList.of(flowMod)));
+        coalescingWriter.track(dpid, installed);
+
+        completion = installed.whenComplete((ignore, error) -> {
+            if (error == null) {
+                message.setDestination(replyDestination);
+                getKafkaProducer().sendMessageAndTrack(replyToTopic, message);
+            } else {
+                Throwable cause = unwrapError(error);
+                FlowCommandException failure;
+                if (cause instanceof SwitchOperationException) {
+                    failure = new FlowCommandException(command.getId(), command.getCookie(),
+                            command.getTransactionId(), ErrorType.CREATION_FAILURE,
+                            (SwitchOperationException) cause);
+                } else {
+                    failure = new FlowCommandException(command.getId(), command.getCookie(),
+                            command.getTransactionId(), ErrorType.CREATION_FAILURE, cause.getMessage());
+                }
+                sendFlowCommandError(message, failure, replyToTopic, replyDestination);
+            }
+        });
+    }
+
+    /**
+     * Runs the handler step once the coalesced writes queued for the switches are confirmed, so the direct writes made
+     * by the step don't overtake them. The step runs at once if there is nothing to wait for, otherwise it is deferred
+     * and the record is complete only when the {@link #completion} set by the step is. The step must be the last action
+     * of the handler.
+     */
+    private void afterCoalescedWrites(CommandMessage message, Runnable step, DatapathId... dpids) {
+        CompletableFuture<Void> flushed = flushCoalescedWrites(dpids);
+        if (flushed.isDone()) {
+            step.run();
+            return;
+        }
+
+        logger.debug("Defer {} until coalesced writes to {} are confirmed",
+                message.getData().getClass().getSimpleName(), Arrays.toString(dpids));
+        CompletableFuture<CompletableFuture<Void>> stepCompletion = flushed.thenApplyAsync(ignore -> {
+            try (CorrelationContextClosable closable = CorrelationContext.create(message.getCorrelationId())) {
+                step.run();
+            } catch (Exception e) {
+                logger.error("error processing message '{}'", message, e);
+            }
+            return completion;
+        }, context.getDeferredExecutor());
+        submitted = stepCompletion.thenApply(ignore -> null);
+        deferredCompletion = stepCompletion.thenCompose(Function.identity());
+    }
+
+    private CompletableFuture<Void> flushCoalescedWrites(DatapathId... dpids) {
+        CompletableFuture<Void> flushed = CompletableFuture.allOf(Stream.of(dpids)
+                .map(coalescingWriter::flush)
+                .toArray(CompletableFuture[]::new));
+        if (flushed.isDone()) {
+            return flushed;
+        }
+
+        // flush() future is never completed exceptionally, but a switch may leave the barrier without a reply
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        ScheduledFuture<?> timeout = context.getDeferredExecutor().schedule(() -> {
+            if (result.complete(null)) {
+                logger.warn("Coalesced writes to switches {} are not confirmed in {} seconds, write directly anyway",
+                        Arrays.toString(dpids), COALESCED_WRITES_TIMEOUT_SECONDS);
+            }
+        }, COALESCED_WRITES_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        flushed.whenComplete((ignore, error) -> {
+            timeout.cancel(false);
+            result.complete(null);
+        });
+        return result;
+    }
+
+    private long buildMeter(IOFSwitch sw, Long meterId, long bandwidth, String flowId, List<OFMessage> meters) {
+        if (meterId == null || meterId <= 0) {
+            logger.debug("Installing unmetered flow {}. Switch: {}", flowId, sw.getId());
+            return 0;
+        }
+
+        try {
+            meters.add(context.getSwitchManager().buildMeterForFlow(sw, bandwidth, meterId));
+        } catch (SwitchOperationException e) {
+            logger.error("Failed to install meter {} for flow {} on switch {}: {}", meterId, flowId, sw.getId(),
+                    e.getMessage());
+        }
+        return meterId;
+    }
+
     /**
      * Removes flow.
      *
      * @param message command message for flow installation
      */
-    private void doDeleteFlow(final CommandMessage message, String replyToTopic, Destination replyDestination)
+    private void doDeleteFlow(final CommandMessage message, String replyToTopic, Destination replyDestination) {
+        RemoveFlow command = (RemoveFlow) message.getData();
+        afterCoalescedWrites(message, () -> {
+            try {
+                deleteFlow(message, replyToTopic, replyDestination);
+            } catch (FlowCommandException e) {
+                sendFlowCommandError(message, e, replyToTopic, replyDestination);
+            }
+        }, DatapathId.of(command.getSwitchId().toLong()));
+    }
+
+    private void deleteFlow(final CommandMessage message, String replyToTopic, Destination replyDestination)
             throws FlowCommandException {
         RemoveFlow command = (RemoveFlow) message.getData();
 
@@ -461,9 +678,15 @@ class RecordHandler implements Runnable {
 
         // FIXME(surabujin): QUICK FIX - try to drop meterPool completely
         Long meterId = command.getMeterId();
+        CompletableFuture<Void> meterDeleted = CompletableFuture.completedFuture(null);
         if (meterId != null) {
             try {
-                switchManager.deleteMeter(dpid, meterId);
+                meterDeleted = switchManager.deleteMeterAsync(dpid, meterId)
+                        .exceptionally(error -> {
+                            logger.error("Failed to delete meter {} from switch {}: {}", meterId, dpid,
+                                    unwrapError(error).getMessage());
+                            return null;
+                        });
             } catch (UnsupportedOperationException e) {
                 logger.info("Skip meter {} deletion from switch {}: {}", meterId, dpid, e.getMessage());
             } catch (SwitchOperationException e) {
@@ -471,8 +694,12 @@ class RecordHandler implements Runnable {
             }
         }
 
-        message.setDestination(replyDestination);
-        getKafkaProducer().sendMessageAndTrack(replyToTopic, message);
+        completion = meterDeleted.thenRun(() -> {
+            try (CorrelationContextClosable closable = CorrelationContext.create(message.getCorrelationId())) {
+                message.setDestination(replyDestination);
+                getKafkaProducer().sendMessageAndTrack(replyToTopic, message);
+            }
+        });
     }
 
     /**
@@ -488,6 +715,11 @@ class RecordHandler implements Runnable {
     }
 
     private void doInstallSwitchRules(final CommandMessage message) {
+        SwitchRulesInstallRequest request = (SwitchRulesInstallRequest) message.getData();
+        afterCoalescedWrites(message, () -> installSwitchRules(message), DatapathId.of(request.getSwitchId().toLong()));
+    }
+
+    private void installSwitchRules(final CommandMessage message) {
         SwitchRulesInstallRequest request = (SwitchRulesInstallRequest) message.getData();
         logger.info("Installing rules on '{}' switch: action={}",
                 request.getSwitchId(), request.getInstallRulesAction());
@@ -500,22 +732,23 @@ class RecordHandler implements Runnable {
         InstallRulesAction installAction = request.getInstallRulesAction();
         List<Long> installedRules = new ArrayList<>();
         try {
+            CompletableFuture<Void> installed = CompletableFuture.completedFuture(null);
             if (installAction == InstallRulesAction.INSTALL_DROP) {
                 switchManager.installDropFlow(dpid);
                 installedRules.add(DROP_RULE_COOKIE);
             } else if (installAction == InstallRulesAction.INSTALL_BROADCAST) {
-                switchManager.installVerificationRule(dpid, true);
+                installed = switchManager.installVerificationRuleAsync(dpid, true);
                 installedRules.add(VERIFICATION_BROADCAST_RULE_COOKIE);
             } else if (installAction == InstallRulesAction.INSTALL_UNICAST) {
                 // TODO: this isn't always added (ie if OF1.2). Is there a better response?
-                switchManager.installVerificationRule(dpid, false);
+                installed = switchManager.installVerificationRuleAsync(dpid, false);
                 installedRules.add(VERIFICATION_UNICAST_RULE_COOKIE);
             } else if (installAction == InstallRulesAction.INSTALL_BFD_CATCH) {
                 // TODO: this isn't installed as well. Refactor this section
                 switchManager.installBfdCatchFlow(dpid);
                 installedRules.add(CATCH_BFD_RULE_COOKIE);
             } else {
-                switchManager.installDefaultRules(dpid);
+                installed = switchManager.installDefaultRulesAsync(dpid);
                 installedRules.addAll(asList(
                         DROP_RULE_COOKIE,
                         VERIFICATION_BROADCAST_RULE_COOKIE,
@@ -525,23 +758,41 @@ class RecordHandler implements Runnable {
                 ));
             }
 
-            SwitchRulesResponse response = new SwitchRulesResponse(installedRules);
-            InfoMessage infoMessage = new InfoMessage(response,
-                    System.currentTimeMillis(), message.getCorrelationId());
-            producerService.sendMessageAndTrack(replyToTopic, infoMessage);
-
+            completion = installed.whenComplete((ignore, error) -> {
+                try (CorrelationContextClosable closable = CorrelationContext.create(message.getCorrelationId())) {
+                    if (error == null) {
+                        SwitchRulesResponse response = new SwitchRulesResponse(installedRules);
+                        InfoMessage infoMessage = new InfoMessage(response,
+                                System.currentTimeMillis(), message.getCorrelationId());
+                        producerService.sendMessageAndTrack(replyToTopic, infoMessage);
+                    } else {
+                        sendInstallSwitchRulesError(request, unwrapError(error), message.getCorrelationId(),
+                                replyToTopic);
+                    }
+                }
+            });
         } catch (SwitchOperationException e) {
-            logger.error("Failed to install rules on switch '{}'", request.getSwitchId(), e);
-            anError(ErrorType.CREATION_FAILURE)
-                    .withMessage(e.getMessage())
-                    .withDescription(request.getSwitchId().toString())
-                    .withCorrelationId(message.getCorrelationId())
-                    .withTopic(replyToTopic)
-                    .sendVia(producerService);
+            sendInstallSwitchRulesError(request, e, message.getCorrelationId(), replyToTopic);
         }
     }
 
+    private void sendInstallSwitchRulesError(SwitchRulesInstallRequest request, Throwable error,
+                                             String correlationId, String replyToTopic) {
+        logger.error("Failed to install rules on switch '{}'", request.getSwitchId(), error);
+        anError(ErrorType.CREATION_FAILURE)
+                .withMessage(error.getMessage())
+                .withDescription(request.getSwitchId().toString())
+                .withCorrelationId(correlationId)
+                .withTopic(replyToTopic)
+                .sendVia(getKafkaProducer());
+    }
+
     private void doDeleteSwitchRules(final CommandMessage message) {
+        SwitchRulesDeleteRequest request = (SwitchRulesDeleteRequest) message.getData();
+        afterCoalescedWrites(message, () -> deleteSwitchRules(message), DatapathId.of(request.getSwitchId().toLong()));
+    }
+
+    private void deleteSwitchRules(final CommandMessage message) {
         SwitchRulesDeleteRequest request = (SwitchRulesDeleteRequest) message.getData();
         logger.info("Deleting rules from '{}' switch: action={}, criteria={}", request.getSwitchId(),
                 request.getDeleteRulesAction(), request.getCriteria());
@@ -601,15 +852,31 @@ class RecordHandler implements Runnable {
             }
 
             // The cases when we (re)install the default rules.
+            CompletableFuture<Void> installed = CompletableFuture.completedFuture(null);
             if (deleteAction != null && deleteAction.defaultRulesToBeInstalled()) {
-                switchManager.installDefaultRules(dpid);
+                installed = switchManager.installDefaultRulesAsync(dpid);
             }
 
-            SwitchRulesResponse response = new SwitchRulesResponse(removedRules);
-            InfoMessage infoMessage = new InfoMessage(response,
-                    System.currentTimeMillis(), message.getCorrelationId());
-            producerService.sendMessageAndTrack(replyToTopic, infoMessage);
-
+            completion = installed.whenComplete((ignore, error) -> {
+                try (CorrelationContextClosable closable = CorrelationContext.create(message.getCorrelationId())) {
+                    if (error == null) {
+                        SwitchRulesResponse response = new SwitchRulesResponse(removedRules);
+                        InfoMessage infoMessage = new InfoMessage(response,
+                                System.currentTimeMillis(), message.getCorrelationId());
+                        producerService.sendMessageAndTrack(replyToTopic, infoMessage);
+                    } else {
+                        Throwable cause = unwrapError(error);
+                        logger.error("Failed to reinstall default rules on switch '{}'.", request.getSwitchId(),
+                                cause);
+                        anError(ErrorType.DELETION_FAILURE)
+                                .withMessage(cause.getMessage())
+                                .withDescription(request.getSwitchId().toString())
+                                .withCorrelationId(message.getCorrelationId())
+                                .withTopic(replyToTopic)
+                                .sendVia(producerService);
+                    }
+                }
+            });
         } catch (SwitchNotFoundException e) {
             logger.error("Deleting switch rules was unsuccessful. Switch '{}' not found", request.getSwitchId());
             anError(ErrorType.NOT_FOUND)
@@ -665,46 +932,67 @@ class RecordHandler implements Runnable {
 
     private void processDumpRulesRequest(final SwitchId switchId, final String replyToTopic,
                                          String correlationId, long timestamp) {
-        final IKafkaProducerService producerService = getKafkaProducer();
-
         try {
             logger.debug("Loading installed rules for switch {}", switchId);
 
-            List<OFFlowStatsEntry> flowEntries =
-                    context.getSwitchManager().dumpFlowTable(DatapathId.of(switchId.toLong()));
-            List<FlowEntry> flows = flowEntries.stream()
-                    .map(OfFlowStatsMapper.INSTANCE::toFlowEntry)
-                    .collect(Collectors.toList());
-
-            SwitchFlowEntries response = SwitchFlowEntries.builder()
-                    .switchId(switchId)
-                    .flowEntries(flows)
-                    .build();
-            InfoMessage infoMessage = new InfoMessage(response, timestamp, correlationId);
-            producerService.sendMessageAndTrack(replyToTopic, correlationId, infoMessage);
+            context.getSwitchManager().dumpFlowTableAsync(DatapathId.of(switchId.toLong()))
+                    .whenComplete((flowEntries, error) -> {
+                        try (CorrelationContextClosable closable = CorrelationContext.create(correlationId)) {
+                            if (error == null) {
+                                sendDumpRulesResponse(switchId, flowEntries, replyToTopic, correlationId, timestamp);
+                            } else {
+                                sendDumpRulesError(switchId, unwrapError(error), replyToTopic, correlationId);
+                            }
+                        }
+                    });
         } catch (SwitchOperationException e) {
-            logger.error("Dumping of rules on switch '{}' was unsuccessful: {}", switchId, e.getMessage());
-            anError(ErrorType.NOT_FOUND)
-                    .withMessage(e.getMessage())
-                    .withDescription("The switch was not found when requesting a rules dump.")
-                    .withCorrelationId(correlationId)
-                    .withTopic(replyToTopic)
-                    .sendVia(producerService);
+            sendDumpRulesError(switchId, e, replyToTopic, correlationId);
         }
     }
 
+    private void sendDumpRulesResponse(SwitchId switchId, List<OFFlowStatsEntry> flowEntries, String replyToTopic,
+                                       String correlationId, long timestamp) {
+        List<FlowEntry> flows = flowEntries.stream()
+                .map(OfFlowStatsMapper.INSTANCE::toFlowEntry)
+                .collect(Collectors.toList());
+
+        SwitchFlowEntries response = SwitchFlowEntries.builder()
+                .switchId(switchId)
+                .flowEntries(flows)
+                .build();
+        InfoMessage infoMessage = new InfoMessage(response, timestamp, correlationId);
+        getKafkaProducer().sendMessageAndTrack(replyToTopic, correlationId, infoMessage);
+    }
+
+    private void sendDumpRulesError(SwitchId switchId, Throwable error, String replyToTopic, String correlationId) {
+        logger.error("Dumping of rules on switch '{}' was unsuccessful: {}", switchId, error.getMessage());
+        String description = error instanceof SwitchNotFoundException
+                ? "The switch was not found when requesting a rules dump."
+                : "Unable to dump rules";
+        anError(getDumpErrorType(error))
+                .withMessage(error.getMessage())
+                .withDescription(description)
+                .withCorrelationId(correlationId)
+                .withTopic(replyToTopic)
+                .sendVia(getKafkaProducer());
+    }
+
     /**
      * Batch install of flows on the switch.
      *
      * @param message with list of flows.
      */
-    private void doBatchInstall(final CommandMessage message) throws FlowCommandException {
+    private void doBatchInstall(final CommandMessage message, String replyToTopic, Destination replyDestination) {
         BatchInstallRequest request = (BatchInstallRequest) message.getData();
-        try {
-            installFlow(request.getSwitchId(), request.getFlowCommands());
-        } catch (SwitchOperationException e) {
-            logger.error("Error during flow installation", e);
-        }
+        afterCoalescedWrites(message, () -> {
+            try {
+                installFlow(request.getSwitchId(), request.getFlowCommands());
+            } catch (SwitchOperationException e) {
+                logger.error("Error during flow installation", e);
+            } catch (FlowCommandException e) {
+                sendFlowCommandError(message, e, replyToTopic, replyDestination);
+            }
+        }, DatapathId.of(request.getSwitchId().toLong()));
     }
 
     /**
@@ -714,6 +1002,12 @@ class RecordHandler implements Runnable {
      */
     private void doBatchInstallForSwitchManager(final CommandMessage message) {
         BatchInstallForSwitchManagerRequest request = (BatchInstallForSwitchManagerRequest) message.getData();
+        afterCoalescedWrites(message, () -> batchInstallForSwitchManager(message),
+                DatapathId.of(request.getSwitchId().toLong()));
+    }
+
+    private void batchInstallForSwitchManager(final CommandMessage message) {
+        BatchInstallForSwitchManagerRequest request = (BatchInstallForSwitchManagerRequest) message.getData();
 
         String replyToTopic = context.getKafkaSwitchManagerTopic();
 
@@ -804,6 +1098,11 @@ class RecordHandler implements Runnable {
     }
 
     private void doDeleteMeter(CommandMessage message) {
+        DeleteMeterRequest request = (DeleteMeterRequest) message.getData();
+        afterCoalescedWrites(message, () -> deleteMeter(message), DatapathId.of(request.getSwitchId().toLong()));
+    }
+
+    private void deleteMeter(CommandMessage message) {
         DeleteMeterRequest request = (DeleteMeterRequest) message.getData();
         logger.info("Deleting meter '{}'. Switch: '{}'", request.getMeterId(), request.getSwitchId());
 
@@ -812,14 +1111,39 @@ class RecordHandler implements Runnable {
 
         try {
             DatapathId dpid = DatapathId.of(request.getSwitchId().toLong());
-            context.getSwitchManager().deleteMeter(dpid, request.getMeterId());
-
-            boolean deleted = context.getSwitchManager().dumpMeters(dpid)
-                    .stream()
-                    .noneMatch(config -> config.getMeterId() == request.getMeterId());
-            DeleteMeterResponse response = new DeleteMeterResponse(deleted);
-            InfoMessage infoMessage = new InfoMessage(response, System.currentTimeMillis(), message.getCorrelationId());
-            producerService.sendMessageAndTrack(replyToTopic, infoMessage);
+            ISwitchManager switchManager = context.getSwitchManager();
+            completion = switchManager.deleteMeterAsync(dpid, request.getMeterId())
+                    .thenCompose(ignore -> {
+                        try {
+                            return switchManager.dumpMetersAsync(dpid);
+                        } catch (SwitchOperationException e) {
+                            throw new CompletionException(e);
+                        }
+                    })
+                    .handle((meters, error) -> {
+                        try (CorrelationContextClosable closable =
+                                     CorrelationContext.create(message.getCorrelationId())) {
+                            if (error == null) {
+                                boolean deleted = meters.stream()
+                                        .noneMatch(config -> config.getMeterId() == request.getMeterId());
+                                DeleteMeterResponse response = new DeleteMeterResponse(deleted);
+                                InfoMessage infoMessage = new InfoMessage(response, System.currentTimeMillis(),
+                                        message.getCorrelationId());
+                                producerService.sendMessageAndTrack(replyToTopic, infoMessage);
+                            } else {
+                                Throwable cause = unwrapError(error);
+                                logger.error("Deleting meter '{}' from switch '{}' was unsuccessful: {}",
+                                        request.getMeterId(), request.getSwitchId(), cause.getMessage());
+                                anError(getDumpErrorType(cause))
+                                        .withMessage(cause.getMessage())
+                                        .withDescription(request.getSwitchId().toString())
+                                        .withCorrelationId(message.getCorrelationId())
+                                        .withTopic(replyToTopic)
+                                        .sendVia(producerService);
+                            }
+                        }
+                        return null;
+                    });
         } catch (SwitchOperationException e) {
             logger.error("Deleting meter '{}' from switch '{}' was unsuccessful: {}",
                     request.getMeterId(), request.getSwitchId(), e.getMessage());
@@ -953,17 +1277,24 @@ class RecordHandler implements Runnable {
         try {
             logger.debug("Get all meters for switch {}", switchId);
             ISwitchManager switchManager = context.getSwitchManager();
-            List<OFMeterConfig> meterEntries = switchManager.dumpMeters(DatapathId.of(switchId.toLong()));
-            List<MeterEntry> meters = meterEntries.stream()
-                    .map(OfMeterConverter::toMeterEntry)
-                    .collect(Collectors.toList());
-
-            SwitchMeterEntries response = SwitchMeterEntries.builder()
-                    .switchId(switchId)
-                    .meterEntries(meters)
-                    .build();
-            InfoMessage infoMessage = new InfoMessage(response, timestamp, correlationId);
-            producerService.sendMessageAndTrack(replyToTopic, correlationId, infoMessage);
+            switchManager.dumpMetersAsync(DatapathId.of(switchId.toLong()))
+                    .whenComplete((meterEntries, error) -> {
+                        try (CorrelationContextClosable closable = CorrelationContext.create(correlationId)) {
+                            if (error == null) {
+                                sendDumpMetersResponse(switchId, meterEntries, replyToTopic, correlationId,
+                                        timestamp);
+                            } else {
+                                Throwable cause = unwrapError(error);
+                                logger.error("Unable to dump meters on switch {}", switchId, cause);
+                                anError(getDumpErrorType(cause))
+                                        .withMessage(cause.getMessage())
+                                        .withDescription("Unable to dump meters")
+                                        .withCorrelationId(correlationId)
+                                        .withTopic(replyToTopic)
+                                        .sendVia(producerService);
+                            }
+                        }
+                    });
         } catch (UnsupportedSwitchOperationException e) {
             String messageString = "Not supported: " + switchId;
             logger.error(messageString, e);
@@ -983,7 +1314,7 @@ class RecordHandler implements Runnable {
                     .sendVia(producerService);
         } catch (SwitchOperationException e) {
             logger.error("Unable to dump meters", e);
-            anError(ErrorType.NOT_FOUND)
+            anError(ErrorType.INTERNAL_ERROR)
                     .withMessage(e.getMessage())
                     .withDescription("Unable to dump meters")
                     .withCorrelationId(correlationId)
@@ -992,8 +1323,44 @@ class RecordHandler implements Runnable {
         }
     }
 
+    private void sendDumpMetersResponse(SwitchId switchId, List<OFMeterConfig> meterEntries, String replyToTopic,
+                                        String correlationId, long timestamp) {
+        List<MeterEntry> meters = meterEntries.stream()
+                .map(OfMeterConverter::toMeterEntry)
+                .collect(Collectors.toList());
+
+        SwitchMeterEntries response = SwitchMeterEntries.builder()
+                .switchId(switchId)
+                .meterEntries(meters)
+                .build();
+        InfoMessage infoMessage = new InfoMessage(response, timestamp, correlationId);
+        getKafkaProducer().sendMessageAndTrack(replyToTopic, correlationId, infoMessage);
+    }
+
+    private static ErrorType getDumpErrorType(Throwable error) {
+        if (error instanceof SwitchNotFoundException) {
+            return ErrorType.NOT_FOUND;
+        } else if (error instanceof SwitchRequestTimeoutException) {
+            return ErrorType.OPERATION_TIMED_OUT;
+        }
+        return ErrorType.INTERNAL_ERROR;
+    }
+
+    private static Throwable unwrapError(Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            return error.getCause();
+        }
+        return error;
+    }
+
     private void doModifyMeterRequest(CommandMessage message) {
         MeterModifyCommandRequest request = (MeterModifyCommandRequest) message.getData();
+        afterCoalescedWrites(message, () -> modifyMeter(message),
+                DatapathId.of(request.getFwdSwitchId().toLong()), DatapathId.of(request.getRvsSwitchId().toLong()));
+    }
+
+    private void modifyMeter(CommandMessage message) {
+        MeterModifyCommandRequest request = (MeterModifyCommandRequest) message.getData();
 
         final IKafkaProducerService producerService = getKafkaProducer();
         String replyToTopic = context.getKafkaNorthboundTopic();
@@ -1012,26 +1379,42 @@ class RecordHandler implements Runnable {
             switchManager.modifyMeterForFlow(fwdDpId, fwdMeterId, request.getBandwidth());
             switchManager.modifyMeterForFlow(rvsDpId, rvsMeterId, request.getBandwidth());
 
-            MeterEntry fwdMeterEntry = OfMeterConverter.toMeterEntry(switchManager.dumpMeterById(fwdDpId, fwdMeterId));
-            MeterEntry rvsMeterEntry = OfMeterConverter.toMeterEntry(switchManager.dumpMeterById(rvsDpId, rvsMeterId));
-
-            SwitchMeterEntries srcMeter = SwitchMeterEntries.builder()
-                    .switchId(fwdSwitchId)
-                    .meterEntries(ImmutableList.of(fwdMeterEntry))
-                    .build();
-
-            SwitchMeterEntries dstMeter = SwitchMeterEntries.builder()
-                    .switchId(rvsSwitchId)
-                    .meterEntries(ImmutableList.of(rvsMeterEntry))
-                    .build();
-
-            FlowMeterEntries response = FlowMeterEntries.builder()
-                    .srcMeter(srcMeter)
-                    .dstMeter(dstMeter)
-                    .build();
-
-            InfoMessage infoMessage = new InfoMessage(response, message.getTimestamp(), message.getCorrelationId());
-            producerService.sendMessageAndTrack(context.getKafkaNorthboundTopic(), infoMessage);
+            CompletableFuture<OFMeterConfig> fwdMeter = switchManager.dumpMeterByIdAsync(fwdDpId, fwdMeterId);
+            CompletableFuture<OFMeterConfig> rvsMeter = switchManager.dumpMeterByIdAsync(rvsDpId, rvsMeterId);
+            completion = fwdMeter.thenCombine(rvsMeter, (fwdMeterConfig, rvsMeterConfig) -> {
+                SwitchMeterEntries srcMeter = SwitchMeterEntries.builder()
+                        .switchId(fwdSwitchId)
+                        .meterEntries(ImmutableList.of(OfMeterConverter.toMeterEntry(fwdMeterConfig)))
+                        .build();
+
+                SwitchMeterEntries dstMeter = SwitchMeterEntries.builder()
+                        .switchId(rvsSwitchId)
+                        .meterEntries(ImmutableList.of(OfMeterConverter.toMeterEntry(rvsMeterConfig)))
+                        .build();
+
+                return FlowMeterEntries.builder()
+                        .srcMeter(srcMeter)
+                        .dstMeter(dstMeter)
+                        .build();
+            }).handle((response, error) -> {
+                try (CorrelationContextClosable closable = CorrelationContext.create(message.getCorrelationId())) {
+                    if (error == null) {
+                        InfoMessage infoMessage = new InfoMessage(response, message.getTimestamp(),
+                                message.getCorrelationId());
+                        producerService.sendMessageAndTrack(replyToTopic, infoMessage);
+                    } else {
+                        Throwable cause = unwrapError(error);
+                        logger.error("Unable to read updated meters", cause);
+                        anError(getDumpErrorType(cause))
+                                .withMessage(cause.getMessage())
+                                .withDescription("Unable to read updated meters")
+                                .withCorrelationId(message.getCorrelationId())
+                                .withTopic(replyToTopic)
+                                .sendVia(producerService);
+                    }
+                }
+                return null;
+            });
         } catch (UnsupportedSwitchOperationException e) {
             String messageString = String.format("Not supported: %s", new SwitchId(e.getDpId().getLong()));
             logger.error(messageString, e);
@@ -1110,6 +1493,22 @@ class RecordHandler implements Runnable {
         parseRecord(record);
     }
 
+    /**
+     * Future completed when the record is fully handled. The coalesced flow installs are handled only when the switch
+     * confirms them, after {@link #run()} returns.
+     */
+    CompletableFuture<Void> getCompletion() {
+        return deferredCompletion != null ? deferredCompletion : completion;
+    }
+
+    /**
+     * Future completed when the handler has made all its writes to the switches. The handler steps deferred until the
+     * coalesced writes are confirmed run after {@link #run()} returns.
+     */
+    CompletableFuture<Void> getSubmitted() {
+        return submitted;
+    }
+
     private boolean dispatch(CommandContext commandContext, CommandMessage message) {
         CommandData payload = message.getData();
 
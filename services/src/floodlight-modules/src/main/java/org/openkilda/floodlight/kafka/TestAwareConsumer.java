@@ -29,7 +29,6 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
 
 public class TestAwareConsumer extends Consumer {
     private static final Logger logger = LoggerFactory.getLogger(TestAwareConsumer.class);
@@ -37,10 +36,10 @@ public class TestAwareConsumer extends Consumer {
     private KafkaBreakTrigger breakTrigger;
     private List<KafkaBreakTrigger> expectedTriggers;
 
-    public TestAwareConsumer(FloodlightModuleContext moduleContext, ExecutorService handlersPool,
+    public TestAwareConsumer(FloodlightModuleContext moduleContext, KeyOrderedExecutor handlersPool,
                              KafkaConsumerSetup kafkaSetup, RecordHandler.Factory handlerFactory,
-                             long commitInterval) {
-        super(moduleContext, handlersPool, kafkaSetup, handlerFactory, commitInterval);
+                             long commitInterval, int maxPendingRecords) {
+        super(moduleContext, handlersPool, kafkaSetup, handlerFactory, commitInterval, maxPendingRecords);
 
         breakTrigger = new KafkaBreakTrigger(KafkaBreakTarget.FLOODLIGHT_CONSUMER);
 
@@ -68,11 +67,13 @@ public class TestAwareConsumer extends Consumer {
         }
 
         if (isHandled) {
+            skip(record);
             return;
         }
 
         if (!breakTrigger.isCommunicationEnabled()) {
             logger.info("Suppress record - key: {}, value: {}", record.key(), record.value());
+            skip(record);
             return;
         }
 
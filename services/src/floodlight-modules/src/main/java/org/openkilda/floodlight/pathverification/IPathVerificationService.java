@@ -19,7 +19,18 @@ import net.floodlightcontroller.core.module.IFloodlightService;
 import org.projectfloodlight.openflow.types.DatapathId;
 import org.projectfloodlight.openflow.types.OFPort;
 
+import java.util.Map;
+
 public interface IPathVerificationService extends IFloodlightService {
 
     boolean sendDiscoveryMessage(DatapathId srcSwId, OFPort port, Long packetId);
+
+    /**
+     * Sends discovery packets via several ports of the switch with a single write to the switch.
+     *
+     * @param srcSwId switch to send the packets from.
+     * @param packetIds ids of the packets by the ports to send them via.
+     * @return true if all the packets have been sent.
+     */
+    boolean sendDiscoveryMessages(DatapathId srcSwId, Map<OFPort, Long> packetIds);
 }
@@ -25,6 +25,7 @@ import org.openkilda.floodlight.command.Command;
 import org.openkilda.floodlight.command.CommandContext;
 import org.openkilda.floodlight.config.provider.FloodlightModuleConfigurationProvider;
 import org.openkilda.floodlight.model.OfInput;
+import org.openkilda.floodlight.pathverification.type.DiscoverySignFormat;
 import org.openkilda.floodlight.pathverification.type.PathType;
 import org.openkilda.floodlight.pathverification.web.PathVerificationServiceWebRoutable;
 import org.openkilda.floodlight.service.CommandProcessorService;
@@ -66,6 +67,7 @@ import net.floodlightcontroller.packet.UDP;
 import net.floodlightcontroller.restserver.IRestApiService;
 import net.floodlightcontroller.util.OFMessageUtils;
 import org.apache.commons.codec.binary.Hex;
+import org.projectfloodlight.openflow.protocol.OFMessage;
 import org.projectfloodlight.openflow.protocol.OFPacketIn;
 import org.projectfloodlight.openflow.protocol.OFPacketOut;
 import org.projectfloodlight.openflow.protocol.OFPortDesc;
@@ -90,6 +92,8 @@ import java.io.UnsupportedEncodingException;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.security.GeneralSecurityException;
+import java.security.SignatureException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -114,6 +118,8 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
     private double islBandwidthQuotient = 1.0;
     private Algorithm algorithm;
     private JWTVerifier verifier;
+    private DiscoveryPacketSigner signer;
+    private DiscoverySignFormat signFormat = DiscoverySignFormat.JWT;
 
     /**
      * IFloodlightModule Methods.
@@ -160,6 +166,14 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
 
         islBandwidthQuotient = config.getIslBandwidthQuotient();
 
+        try {
+            signFormat = DiscoverySignFormat.valueOf(config.getSignFormat());
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid discovery packet sign format {}, {} will be used",
+                    config.getSignFormat(), DiscoverySignFormat.JWT);
+            signFormat = DiscoverySignFormat.JWT;
+        }
+
         initAlgorithm(config.getHmac256Secret());
     }
 
@@ -168,12 +182,18 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
         try {
             algorithm = Algorithm.HMAC256(secret);
             verifier = JWT.require(algorithm).build();
-        } catch (UnsupportedEncodingException e) {
+            signer = new DiscoveryPacketSigner(secret);
+        } catch (UnsupportedEncodingException | GeneralSecurityException e) {
             logger.error("Ivalid secret", e);
             throw new FloodlightModuleException("Invalid secret for HMAC256");
         }
     }
 
+    @VisibleForTesting
+    void setSignFormat(DiscoverySignFormat signFormat) {
+        this.signFormat = signFormat;
+    }
+
     @Override
     public void startUp(FloodlightModuleContext context) throws FloodlightModuleException {
         logger.info("Stating {}", PathVerificationService.class.getCanonicalName());
@@ -247,6 +267,46 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
         return result;
     }
 
+    @Override
+    public boolean sendDiscoveryMessages(DatapathId srcSwId, Map<OFPort, Long> packetIds) {
+        boolean result = false;
+
+        try {
+            IOFSwitch srcSwitch = switchService.getSwitch(srcSwId);
+            if (srcSwitch != null) {
+                List<OFMessage> packets = new ArrayList<>(packetIds.size());
+                for (Map.Entry<OFPort, Long> entry : packetIds.entrySet()) {
+                    OFPort port = entry.getKey();
+                    if (srcSwitch.getPort(port) == null) {
+                        continue;
+                    }
+
+                    OFPacketOut ofPacketOut = generateVerificationPacket(srcSwitch, port, true, entry.getValue());
+                    if (ofPacketOut != null) {
+                        packets.add(ofPacketOut);
+                    } else {
+                        logger.error("<== Received null from generateVerificationPacket, inputs where: "
+                                + "srcSwitch: {}, port: {} id: {}", srcSwitch, port, entry.getValue());
+                    }
+                }
+
+                Collection<OFMessage> unsent = srcSwitch.write(packets);
+                result = unsent.isEmpty() && packets.size() == packetIds.size();
+                if (unsent.isEmpty()) {
+                    logIsl.info("push {} discovery packages via: {} ids:{}", packets.size(), srcSwitch.getId(),
+                            packetIds);
+                } else {
+                    logger.error("Failed to send {} of {} PACKET_OUT(ISL discovery packet) via {} ids: {}",
+                            unsent.size(), packets.size(), srcSwitch.getId(), packetIds);
+                }
+            }
+        } catch (Exception exception) {
+            logger.error(String.format("Unhandled exception in %s", getClass().getName()), exception);
+        }
+
+        return result;
+    }
+
     /**
      * Return verification packet.
      *
@@ -311,7 +371,12 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
             LLDPTLV typeTlv = makeIdLldptvPacket(typeTlvValue, OPTIONAL_LLDPTV_PACKET_TYPE);
             vp.getOptionalTlvList().add(typeTlv);
 
-            if (sign) {
+            if (sign && signFormat == DiscoverySignFormat.BINARY) {
+                byte[] signTlvValue = signer.sign(dpid.getLong(), time + swLatency, packetId);
+                LLDPTLV signTlv = makeIdLldptvPacket(signTlvValue, OPTIONAL_LLDPTV_PACKET_TYPE);
+
+                vp.getOptionalTlvList().add(signTlv);
+            } else if (sign) {
                 Builder builder = JWT.create()
                         .withClaim("dpid", dpid.getLong())
                         .withClaim("ts", time + swLatency);
@@ -461,6 +526,19 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
                         logger.error("Packet verification failed", e);
                         return;
                     }
+                } else if (lldptlv.getType() == OPTIONAL_LLDPTV_PACKET_TYPE
+                        && lldptlv.getLength() == DiscoveryPacketSigner.LENGTH
+                        && lldptlv.getValue()[0] == 0x0
+                        && lldptlv.getValue()[1] == 0x26
+                        && lldptlv.getValue()[2] == (byte) 0xe1
+                        && lldptlv.getValue()[3] == DiscoveryPacketSigner.SUBTYPE) {
+                    try {
+                        packetId = signer.verify(lldptlv.getValue());
+                        signed = true;
+                    } catch (SignatureException e) {
+                        logger.error("Packet verification failed", e);
+                        return;
+                    }
                 }
             }
 
@@ -17,6 +17,7 @@ package org.openkilda.floodlight.pathverification;
 
 import com.sabre.oss.conf4j.annotation.Configuration;
 import com.sabre.oss.conf4j.annotation.Default;
+import com.sabre.oss.conf4j.annotation.Description;
 import com.sabre.oss.conf4j.annotation.Key;
 
 import javax.validation.constraints.Max;
@@ -34,4 +35,10 @@ public interface PathVerificationServiceConfig {
     @Key("hmac256-secret")
     @NotBlank
     String getHmac256Secret();
+
+    @Key("sign-format")
+    @Default("JWT")
+    @Description("Format of the discovery packets signature: JWT or BINARY. Packets are accepted in both formats, "
+               + "so BINARY should be enabled once all the speakers support it.")
+    String getSignFormat();
 }
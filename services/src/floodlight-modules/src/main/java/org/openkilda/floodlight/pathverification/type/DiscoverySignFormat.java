@@ -13,14 +13,12 @@
  *   limitations under the License.
  */
 
-package org.openkilda.wfm.topology.stats;
+package org.openkilda.floodlight.pathverification.type;
 
-import org.openkilda.model.SwitchId;
-
-import lombok.Value;
-
-@Value
-public class MeterCacheKey {
-    private SwitchId switchId;
-    private Long meterId;
+/**
+ * Format of the signature put into the discovery packets. Received packets are accepted in any format.
+ */
+public enum DiscoverySignFormat {
+    JWT,
+    BINARY
 }
@@ -21,6 +21,7 @@ import org.openkilda.floodlight.service.IService;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
 import net.floodlightcontroller.core.module.FloodlightModuleException;
 import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.Producer;
@@ -44,6 +45,17 @@ public class KafkaUtilityService implements IService {
         return consumer;
     }
 
+    /**
+     * Makes a consumer subscribed to the setup topics, which notifies the listener about rebalances.
+     */
+    public Consumer<String, String> makeConsumer(KafkaConsumerSetup setup,
+                                                 ConsumerRebalanceListener rebalanceListener) {
+        Properties config = setup.applyConfig(owner.getConfig().consumerProperties());
+        KafkaConsumer<String, String> consumer = new KafkaConsumer<>(config);
+        setup.applyInstance(consumer, rebalanceListener);
+        return consumer;
+    }
+
     public Producer<String, String> makeProducer() {
         return new KafkaProducer<>(owner.getConfig().producerProperties());
     }
@@ -0,0 +1,214 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.service.session;
+
+import org.openkilda.floodlight.KildaCore;
+import org.openkilda.floodlight.error.SwitchWriteException;
+import org.openkilda.floodlight.service.IService;
+
+import net.floodlightcontroller.core.IOFSwitch;
+import net.floodlightcontroller.core.module.FloodlightModuleContext;
+import net.floodlightcontroller.threadpool.IThreadPoolService;
+import org.projectfloodlight.openflow.protocol.OFMessage;
+import org.projectfloodlight.openflow.types.DatapathId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group OF messages addressed to the same switch into one {@link Session}.
+ *
+ * <p>Messages written during the coalescing window are pushed to the switch together and closed by a single barrier,
+ * instead of one write and one barrier per request. Each {@link #write(IOFSwitch, List)} call gets its own
+ * CompletableFuture, completed when the closing barrier confirms all messages of this call (or completed
+ * exceptionally with the first error reported for them). If writing to the switch fails in the middle of a batch,
+ * only the requests not written yet are failed, the written ones are still confirmed by the closing barrier.
+ *
+ * <p>Writes that bypass this service must not overtake the coalesced ones. Such writers call
+ * {@link #flush(DatapathId)} and wait for the returned future before writing to the switch.
+ */
+public class CoalescingWriteService implements IService {
+    private static final Logger log = LoggerFactory.getLogger(CoalescingWriteService.class);
+
+    private final KildaCore kildaCore;
+
+    private SessionService sessionService;
+    private ScheduledExecutorService scheduler;
+    private long windowMillis;
+
+    private final Map<DatapathId, WriteBatch> batches = new HashMap<>();
+    private final Map<DatapathId, CompletableFuture<Void>> pending = new HashMap<>();
+
+    public CoalescingWriteService(KildaCore kildaCore) {
+        this.kildaCore = kildaCore;
+    }
+
+    @Override
+    public void setup(FloodlightModuleContext moduleContext) {
+        windowMillis = kildaCore.getConfig().getFlowModCoalescingWindowMillis();
+        log.info("config - flow mod coalescing window = {} ms", windowMillis);
+
+        sessionService = moduleContext.getServiceImpl(SessionService.class);
+        scheduler = moduleContext.getServiceImpl(IThreadPoolService.class).getScheduledExecutor();
+    }
+
+    /**
+     * Is coalescing enabled by configuration.
+     */
+    public boolean isEnabled() {
+        return 0 < windowMillis;
+    }
+
+    /**
+     * Queue messages to be written to the switch with the next batch.
+     */
+    public CompletableFuture<Void> write(IOFSwitch sw, List<OFMessage> messages) {
+        WriteRequest request = new WriteRequest(messages);
+        DatapathId dpId = sw.getId();
+
+        synchronized (batches) {
+            WriteBatch batch = batches.get(dpId);
+            if (batch == null) {
+                batch = new WriteBatch(sw);
+                batches.put(dpId, batch);
+                scheduler.schedule(() -> writeBatch(dpId), windowMillis, TimeUnit.MILLISECONDS);
+            }
+            batch.requests.add(request);
+            track(dpId, request.future);
+        }
+
+        return request.future;
+    }
+
+    /**
+     * Make {@link #flush(DatapathId)} wait for the operation too. Used for operations that queue their writes in several
+     * steps, e.g. write flows once the meters they refer are confirmed.
+     */
+    public void track(DatapathId dpId, CompletableFuture<?> operation) {
+        CompletableFuture<Void> done = operation.handle((ignore, error) -> null);
+        synchronized (batches) {
+            CompletableFuture<Void> current = pending.get(dpId);
+            CompletableFuture<Void> tail = current == null ? done : CompletableFuture.allOf(current, done);
+            pending.put(dpId, tail);
+            tail.whenComplete((ignore, error) -> forget(dpId, tail));
+        }
+    }
+
+    /**
+     * Write the pending batch of the switch without waiting for the coalescing window end. The returned future is
+     * completed (never exceptionally) when all coalesced writes queued for the switch so far are confirmed or failed.
+     */
+    public CompletableFuture<Void> flush(DatapathId dpId) {
+        CompletableFuture<Void> tail;
+        synchronized (batches) {
+            tail = pending.get(dpId);
+        }
+        if (tail == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        writeBatch(dpId);
+        return tail;
+    }
+
+    private void forget(DatapathId dpId, CompletableFuture<Void> tail) {
+        synchronized (batches) {
+            pending.remove(dpId, tail);
+        }
+    }
+
+    private void writeBatch(DatapathId dpId) {
+        WriteBatch batch;
+        synchronized (batches) {
+            batch = batches.remove(dpId);
+        }
+        if (batch == null) {
+            return;
+        }
+
+        log.debug("Flush {} coalesced write requests to {}", batch.requests.size(), dpId);
+        Deque<WriteRequest> unwritten = new ArrayDeque<>(batch.requests);
+        try (Session session = sessionService.open(batch.sw)) {
+            try {
+                writeRequests(session, unwritten);
+            } catch (SwitchWriteException e) {
+                // the closing barrier must still confirm the requests written before the failure
+                session.resetError();
+                throw e;
+            }
+        } catch (SwitchWriteException | IllegalStateException e) {
+            log.error("Unable to write {} of {} coalesced requests into {}: {}",
+                    unwritten.size(), batch.requests.size(), dpId, e.getMessage());
+            unwritten.forEach(entry -> entry.complete(e));
+        }
+    }
+
+    /**
+     * Write requests one by one, a request is removed from the queue once all its messages are written.
+     */
+    private void writeRequests(Session session, Deque<WriteRequest> queue) throws SwitchWriteException {
+        while (!queue.isEmpty()) {
+            WriteRequest request = queue.peekFirst();
+            List<CompletableFuture<Optional<OFMessage>>> responses = new ArrayList<>(request.messages.size());
+            for (OFMessage message : request.messages) {
+                responses.add(session.write(message));
+            }
+            queue.removeFirst();
+
+            CompletableFuture.allOf(responses.toArray(new CompletableFuture<?>[0]))
+                    .whenComplete((ignore, error) -> request.complete(error));
+        }
+    }
+
+    private static class WriteBatch {
+        private final IOFSwitch sw;
+        private final List<WriteRequest> requests = new ArrayList<>();
+
+        WriteBatch(IOFSwitch sw) {
+            this.sw = sw;
+        }
+    }
+
+    private static class WriteRequest {
+        private final List<OFMessage> messages;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        WriteRequest(List<OFMessage> messages) {
+            this.messages = messages;
+        }
+
+        void complete(Throwable error) {
+            if (error == null) {
+                future.complete(null);
+            } else if (error instanceof CompletionException && error.getCause() != null) {
+                future.completeExceptionally(error.getCause());
+            } else {
+                future.completeExceptionally(error);
+            }
+        }
+    }
+}
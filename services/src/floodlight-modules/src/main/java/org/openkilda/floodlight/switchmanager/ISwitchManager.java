@@ -17,14 +17,17 @@ package org.openkilda.floodlight.switchmanager;
 
 import org.openkilda.floodlight.error.SwitchNotFoundException;
 import org.openkilda.floodlight.error.SwitchOperationException;
+import org.openkilda.floodlight.error.SwitchRequestTimeoutException;
 import org.openkilda.messaging.command.switches.ConnectModeRequest;
 import org.openkilda.messaging.command.switches.DeleteRulesCriteria;
 import org.openkilda.model.OutputVlanType;
 
 import net.floodlightcontroller.core.IOFSwitch;
 import net.floodlightcontroller.core.module.IFloodlightService;
+import org.projectfloodlight.openflow.protocol.OFFlowMod;
 import org.projectfloodlight.openflow.protocol.OFFlowStatsEntry;
 import org.projectfloodlight.openflow.protocol.OFMeterConfig;
+import org.projectfloodlight.openflow.protocol.OFMeterMod;
 import org.projectfloodlight.openflow.protocol.OFPortDesc;
 import org.projectfloodlight.openflow.types.DatapathId;
 import org.projectfloodlight.openflow.types.MacAddress;
@@ -33,6 +36,7 @@ import org.projectfloodlight.openflow.types.OFPort;
 import java.net.InetAddress;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 
 public interface ISwitchManager extends IFloodlightService {
@@ -64,6 +68,16 @@ public interface ISwitchManager extends IFloodlightService {
      */
     void installDefaultRules(final DatapathId dpid) throws SwitchOperationException;
 
+    /**
+     * Adds default rules, the returned future is completed when the switch confirms the meters and the groups the
+     * rules refer to. Rule installation continues on reply callbacks, the caller thread is not blocked.
+     *
+     * @param dpid datapathId of switch
+     * @return future completed when the rules are sent to the switch
+     * @throws SwitchOperationException Switch not found
+     */
+    CompletableFuture<Void> installDefaultRulesAsync(DatapathId dpid) throws SwitchOperationException;
+
     /**
      * Installs the default verification rule, if it is allowed. One case where it isn't -
      * if the switch is an OpenFlow 1.2 switch and isBroadcast = false. In that scenario, nothing
@@ -72,6 +86,18 @@ public interface ISwitchManager extends IFloodlightService {
     void installVerificationRule(final DatapathId dpid, final boolean isBroadcast)
             throws SwitchOperationException;
 
+    /**
+     * Installs the default verification rule, if it is allowed. The returned future is completed when the rule is
+     * sent to the switch, after the switch confirms the meter and the round trip latency group the rule refers to.
+     *
+     * @param dpid datapathId of switch
+     * @param isBroadcast whether to install the broadcast or the unicast rule
+     * @return future completed when the rule is sent to the switch
+     * @throws SwitchOperationException Switch not found
+     */
+    CompletableFuture<Void> installVerificationRuleAsync(DatapathId dpid, boolean isBroadcast)
+            throws SwitchOperationException;
+
     /**
      * Installs the default drop rule.
      *
@@ -169,6 +195,37 @@ public interface ISwitchManager extends IFloodlightService {
                                                       int outputVlanId, final OutputVlanType outputVlanType,
                                                       final long meterId) throws SwitchOperationException;
 
+    /**
+     * Builds ingress flow FLOW_MOD command without sending it to the switch.
+     *
+     * @see #installIngressFlow(DatapathId, String, Long, int, int, int, int, OutputVlanType, long)
+     */
+    OFFlowMod buildIngressFlow(IOFSwitch sw, Long cookie, int inputPort, int outputPort, int inputVlanId,
+                               int transitVlanId, OutputVlanType outputVlanType, long meterId);
+
+    /**
+     * Builds egress flow FLOW_MOD command without sending it to the switch.
+     *
+     * @see #installEgressFlow(DatapathId, String, Long, int, int, int, int, OutputVlanType)
+     */
+    OFFlowMod buildEgressFlow(IOFSwitch sw, Long cookie, int inputPort, int outputPort, int transitVlanId,
+                              int outputVlanId, OutputVlanType outputVlanType);
+
+    /**
+     * Builds transit flow FLOW_MOD command without sending it to the switch.
+     *
+     * @see #installTransitFlow(DatapathId, String, Long, int, int, int)
+     */
+    OFFlowMod buildTransitFlow(IOFSwitch sw, Long cookie, int inputPort, int outputPort, int transitVlanId);
+
+    /**
+     * Builds one switch flow FLOW_MOD command without sending it to the switch.
+     *
+     * @see #installOneSwitchFlow(DatapathId, String, Long, int, int, int, int, OutputVlanType, long)
+     */
+    OFFlowMod buildOneSwitchFlow(IOFSwitch sw, Long cookie, int inputPort, int outputPort, int inputVlanId,
+                                 int outputVlanId, OutputVlanType outputVlanType, long meterId);
+
     /**
      * Returns list of installed flows.
      *
@@ -177,6 +234,16 @@ public interface ISwitchManager extends IFloodlightService {
      */
     List<OFFlowStatsEntry> dumpFlowTable(final DatapathId dpid) throws SwitchNotFoundException;
 
+    /**
+     * Requests list of installed flows, the returned future is completed when the switch replies or completed
+     * exceptionally with {@link SwitchRequestTimeoutException} if it does not reply in time.
+     *
+     * @param dpid switch id
+     * @return OF flow stats entries
+     * @throws SwitchNotFoundException Switch not found
+     */
+    CompletableFuture<List<OFFlowStatsEntry>> dumpFlowTableAsync(DatapathId dpid) throws SwitchNotFoundException;
+
     /**
      * Returns list of installed meters.
      *
@@ -186,6 +253,16 @@ public interface ISwitchManager extends IFloodlightService {
      */
     List<OFMeterConfig> dumpMeters(final DatapathId dpid) throws SwitchOperationException;
 
+    /**
+     * Requests list of installed meters, the returned future is completed when the switch replies or completed
+     * exceptionally with {@link SwitchRequestTimeoutException} if it does not reply in time.
+     *
+     * @param dpid switch id
+     * @return OF meter config stats entries
+     * @throws SwitchOperationException Switch not found or doesn't support meters
+     */
+    CompletableFuture<List<OFMeterConfig>> dumpMetersAsync(DatapathId dpid) throws SwitchOperationException;
+
     /**
      * Returns a installed meter by id.
      *
@@ -196,6 +273,18 @@ public interface ISwitchManager extends IFloodlightService {
      */
     OFMeterConfig dumpMeterById(final DatapathId dpid, final long meterId) throws SwitchOperationException;
 
+    /**
+     * Requests an installed meter by id, the returned future is completed with {@code null} if there is no such meter
+     * or completed exceptionally with {@link SwitchRequestTimeoutException} if the switch does not reply in time.
+     *
+     * @param dpid switch id
+     * @param meterId a meter id
+     * @return OF meter config stats entry
+     * @throws SwitchOperationException Switch not found or doesn't support meters
+     */
+    CompletableFuture<OFMeterConfig> dumpMeterByIdAsync(DatapathId dpid, long meterId)
+            throws SwitchOperationException;
+
     /**
      * Installs a meter on ingress switch OF_13.
      * TODO: describe params meaning in accordance with OF
@@ -207,6 +296,17 @@ public interface ISwitchManager extends IFloodlightService {
      */
     void installMeterForFlow(DatapathId dpid, long bandwidth, long meterId) throws SwitchOperationException;
 
+    /**
+     * Builds flow meter METER_MOD command without sending it to the switch.
+     *
+     * @param sw        the switch
+     * @param bandwidth the bandwidth limit value
+     * @param meterId   the meter ID
+     * @return meter install command
+     * @throws SwitchOperationException Switch doesn't support meters or meter id is invalid
+     */
+    OFMeterMod buildMeterForFlow(IOFSwitch sw, long bandwidth, long meterId) throws SwitchOperationException;
+
     /**
      * Updates a meter on ingress switch OF_13.
      *
@@ -226,6 +326,17 @@ public interface ISwitchManager extends IFloodlightService {
      */
     void deleteMeter(final DatapathId dpid, final long meterId) throws SwitchOperationException;
 
+    /**
+     * Deletes the meter from the switch OF_13, the returned future is completed when the switch confirms the deletion
+     * with the barrier reply or completed exceptionally with {@link SwitchRequestTimeoutException}.
+     *
+     * @param dpid    datapath ID of the switch
+     * @param meterId meter identifier
+     * @return future completed when the meter is deleted
+     * @throws SwitchOperationException Switch not found, doesn't support meters or meter id is invalid
+     */
+    CompletableFuture<Void> deleteMeterAsync(DatapathId dpid, long meterId) throws SwitchOperationException;
+
 
     Map<DatapathId, IOFSwitch> getAllSwitchMap();
 
@@ -38,12 +38,14 @@ import org.openkilda.floodlight.error.InvalidMeterIdException;
 import org.openkilda.floodlight.error.OfInstallException;
 import org.openkilda.floodlight.error.SwitchNotFoundException;
 import org.openkilda.floodlight.error.SwitchOperationException;
+import org.openkilda.floodlight.error.SwitchRequestTimeoutException;
 import org.openkilda.floodlight.error.UnsupportedSwitchOperationException;
 import org.openkilda.floodlight.service.FeatureDetectorService;
 import org.openkilda.floodlight.service.kafka.IKafkaProducerService;
 import org.openkilda.floodlight.service.kafka.KafkaUtilityService;
 import org.openkilda.floodlight.switchmanager.web.SwitchManagerWebRoutable;
 import org.openkilda.floodlight.utils.CorrelationContext;
+import org.openkilda.floodlight.utils.CorrelationContext.CorrelationContextClosable;
 import org.openkilda.floodlight.utils.NewCorrelationContextRequired;
 import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.command.switches.ConnectModeRequest;
@@ -60,6 +62,8 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import net.floodlightcontroller.core.FloodlightContext;
 import net.floodlightcontroller.core.IFloodlightProviderService;
@@ -71,6 +75,7 @@ import net.floodlightcontroller.core.module.FloodlightModuleException;
 import net.floodlightcontroller.core.module.IFloodlightModule;
 import net.floodlightcontroller.core.module.IFloodlightService;
 import net.floodlightcontroller.restserver.IRestApiService;
+import net.floodlightcontroller.threadpool.IThreadPoolService;
 import net.floodlightcontroller.util.FlowModUtils;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -139,10 +144,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -166,6 +176,8 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
     public static final int MIN_RATE_IN_KBPS = 64;
     public static final int ROUND_TRIP_LATENCY_GROUP_ID = 1;
 
+    private static final long STATS_REQUEST_TIMEOUT_SECONDS = 10;
+
     // This is invalid VID mask - it cut of highest bit that indicate presence of VLAN tag on package. But valid mask
     // 0x1FFF lead to rule reject during install attempt on accton based switches.
     private static short OF10_VLAN_MASK = 0x0FFF;
@@ -174,6 +186,8 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
     private IKafkaProducerService producerService;
     private SwitchTrackingService switchTracking;
     private FeatureDetectorService featureDetectorService;
+    private ScheduledExecutorService scheduler;
+    private ExecutorService callbackExecutor;
 
     private ConnectModeRequest.Mode connectMode;
     private SwitchManagerConfig config;
@@ -222,7 +236,8 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
                 IRestApiService.class,
                 KafkaUtilityService.class,
                 IKafkaProducerService.class,
-                FeatureDetectorService.class);
+                FeatureDetectorService.class,
+                IThreadPoolService.class);
     }
 
     /**
@@ -234,8 +249,10 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         producerService = context.getServiceImpl(IKafkaProducerService.class);
         switchTracking = context.getServiceImpl(SwitchTrackingService.class);
         featureDetectorService = context.getServiceImpl(FeatureDetectorService.class);
+        scheduler = context.getServiceImpl(IThreadPoolService.class).getScheduledExecutor();
         FloodlightModuleConfigurationProvider provider = FloodlightModuleConfigurationProvider.of(context, this);
         config = provider.getConfiguration(SwitchManagerConfig.class);
+        callbackExecutor = Executors.newFixedThreadPool(config.getReplyCallbackThreads());
         String connectModeProperty = config.getConnectMode();
 
         try {
@@ -298,9 +315,20 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         }
 
         if (connectMode == ConnectModeRequest.Mode.AUTO) {
-            installDefaultRules(dpid);
+            String correlationId = CorrelationContext.getId();
+            installDefaultRulesAsync(dpid).whenComplete((ignore, error) -> {
+                try (CorrelationContextClosable closable = CorrelationContext.create(correlationId)) {
+                    if (error == null) {
+                        switchTracking.completeSwitchActivation(dpid);
+                    } else {
+                        logger.error("Failed to install default rules on switch {}: {}", dpid,
+                                unwrapError(error).getMessage());
+                    }
+                }
+            });
+        } else {
+            switchTracking.completeSwitchActivation(dpid);
         }
-        switchTracking.completeSwitchActivation(dpid);
     }
 
     @Override
@@ -342,11 +370,31 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
      */
     @Override
     public void installDefaultRules(final DatapathId dpid) throws SwitchOperationException {
+        awaitCompletion(dpid, installDefaultRulesAsync(dpid));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> installDefaultRulesAsync(final DatapathId dpid) throws SwitchOperationException {
         installDropFlow(dpid);
-        installVerificationRule(dpid, true);
-        installVerificationRule(dpid, false);
-        installDropLoopRule(dpid);
-        installBfdCatchFlow(dpid);
+        return installVerificationRuleAsync(dpid, true)
+                .thenCompose(ignore -> {
+                    try {
+                        return installVerificationRuleAsync(dpid, false);
+                    } catch (SwitchOperationException e) {
+                        throw new CompletionException(e);
+                    }
+                })
+                .thenAccept(ignore -> {
+                    try {
+                        installDropLoopRule(dpid);
+                        installBfdCatchFlow(dpid);
+                    } catch (SwitchOperationException e) {
+                        throw new CompletionException(e);
+                    }
+                });
     }
 
     /**
@@ -358,8 +406,21 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
             final Long cookie, final int inputPort, final int outputPort,
             final int inputVlanId, final int transitVlanId,
             final OutputVlanType outputVlanType, final long meterId) throws SwitchOperationException {
-        List<OFAction> actionList = new ArrayList<>();
         IOFSwitch sw = lookupSwitch(dpid);
+        OFFlowMod flowMod = buildIngressFlow(sw, cookie, inputPort, outputPort, inputVlanId, transitVlanId,
+                outputVlanType, meterId);
+        return pushFlow(sw, "--InstallIngressFlow--", flowMod);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OFFlowMod buildIngressFlow(
+            final IOFSwitch sw, final Long cookie, final int inputPort, final int outputPort,
+            final int inputVlanId, final int transitVlanId,
+            final OutputVlanType outputVlanType, final long meterId) {
+        List<OFAction> actionList = new ArrayList<>();
         OFFactory ofFactory = sw.getOFFactory();
 
         // build meter instruction
@@ -386,7 +447,7 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         if (!isCentecSwitch(sw)) {
             builder.setFlags(ImmutableSet.of(OFFlowModFlags.RESET_COUNTS));
         }
-        return pushFlow(sw, "--InstallIngressFlow--", builder.build());
+        return builder.build();
     }
 
     /**
@@ -398,8 +459,20 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
             final int inputPort, final int outputPort,
             final int transitVlanId, final int outputVlanId,
             final OutputVlanType outputVlanType) throws SwitchOperationException {
-        List<OFAction> actionList = new ArrayList<>();
         IOFSwitch sw = lookupSwitch(dpid);
+        OFFlowMod flowMod = buildEgressFlow(sw, cookie, inputPort, outputPort, transitVlanId, outputVlanId,
+                outputVlanType);
+        return pushFlow(sw, "--InstallEgressFlow--", flowMod);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OFFlowMod buildEgressFlow(
+            final IOFSwitch sw, final Long cookie, final int inputPort, final int outputPort,
+            final int transitVlanId, final int outputVlanId, final OutputVlanType outputVlanType) {
+        List<OFAction> actionList = new ArrayList<>();
         OFFactory ofFactory = sw.getOFFactory();
 
         // output action based on encap scheme
@@ -412,12 +485,10 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         OFInstructionApplyActions actions = buildInstructionApplyActions(ofFactory, actionList);
 
         // build FLOW_MOD command, no meter
-        OFFlowMod flowMod = prepareFlowModBuilder(ofFactory, cookie & FLOW_COOKIE_MASK, FLOW_PRIORITY)
+        return prepareFlowModBuilder(ofFactory, cookie & FLOW_COOKIE_MASK, FLOW_PRIORITY)
                 .setMatch(matchFlow(ofFactory, inputPort, transitVlanId))
                 .setInstructions(ImmutableList.of(actions))
                 .build();
-
-        return pushFlow(sw, "--InstallEgressFlow--", flowMod);
     }
 
     /**
@@ -428,8 +499,18 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
             final DatapathId dpid, final String flowId,
             final Long cookie, final int inputPort, final int outputPort,
             final int transitVlanId) throws SwitchOperationException {
-        List<OFAction> actionList = new ArrayList<>();
         IOFSwitch sw = lookupSwitch(dpid);
+        return pushFlow(sw, flowId, buildTransitFlow(sw, cookie, inputPort, outputPort, transitVlanId));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OFFlowMod buildTransitFlow(
+            final IOFSwitch sw, final Long cookie, final int inputPort, final int outputPort,
+            final int transitVlanId) {
+        List<OFAction> actionList = new ArrayList<>();
         OFFactory ofFactory = sw.getOFFactory();
 
         // build match by input port and transit vlan id
@@ -442,12 +523,10 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         OFInstructionApplyActions actions = buildInstructionApplyActions(ofFactory, actionList);
 
         // build FLOW_MOD command, no meter
-        OFFlowMod flowMod = prepareFlowModBuilder(ofFactory, cookie & FLOW_COOKIE_MASK, FLOW_PRIORITY)
+        return prepareFlowModBuilder(ofFactory, cookie & FLOW_COOKIE_MASK, FLOW_PRIORITY)
                 .setInstructions(ImmutableList.of(actions))
                 .setMatch(match)
                 .build();
-
-        return pushFlow(sw, flowId, flowMod);
     }
 
     /**
@@ -460,12 +539,25 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
             final int outputPort, final int inputVlanId,
             final int outputVlanId,
             final OutputVlanType outputVlanType, final long meterId) throws SwitchOperationException {
+        IOFSwitch sw = lookupSwitch(dpid);
+        OFFlowMod flowMod = buildOneSwitchFlow(sw, cookie, inputPort, outputPort, inputVlanId, outputVlanId,
+                outputVlanType, meterId);
+        return pushFlow(sw, flowId, flowMod);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OFFlowMod buildOneSwitchFlow(
+            final IOFSwitch sw, final Long cookie, final int inputPort,
+            final int outputPort, final int inputVlanId,
+            final int outputVlanId, final OutputVlanType outputVlanType, final long meterId) {
         // TODO: As per other locations, how different is this to IngressFlow? Why separate code path?
         //          As with any set of tests, the more we test the same code path, the better.
         //          Based on brief glance, this looks 90% the same as IngressFlow.
 
         List<OFAction> actionList = new ArrayList<>();
-        IOFSwitch sw = lookupSwitch(dpid);
         OFFactory ofFactory = sw.getOFFactory();
 
 
@@ -494,7 +586,7 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
             builder.setFlags(ImmutableSet.of(OFFlowModFlags.RESET_COUNTS));
         }
 
-        return pushFlow(sw, flowId, builder.build());
+        return builder.build();
     }
 
     /**
@@ -502,7 +594,20 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
      */
     @Override
     public List<OFFlowStatsEntry> dumpFlowTable(final DatapathId dpid) throws SwitchNotFoundException {
-        List<OFFlowStatsEntry> entries = new ArrayList<>();
+        try {
+            return dumpFlowTableAsync(dpid).get();
+        } catch (ExecutionException | InterruptedException e) {
+            logger.error("Could not get flow stats for {}.", dpid, e);
+            throw new SwitchNotFoundException(dpid);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<List<OFFlowStatsEntry>> dumpFlowTableAsync(final DatapathId dpid)
+            throws SwitchNotFoundException {
         IOFSwitch sw = lookupSwitch(dpid);
 
         OFFactory ofFactory = sw.getOFFactory();
@@ -511,34 +616,32 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
                 .setCookieMask(U64.ZERO)
                 .build();
 
+        return withTimeout(sw, "flow stats", toCompletableFuture(sw.writeStatsRequest(flowRequest))
+                .thenApply(values -> collectStatsEntries(values, OFFlowStatsReply::getEntries)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<OFMeterConfig> dumpMeters(final DatapathId dpid) throws SwitchOperationException {
+        CompletableFuture<List<OFMeterConfig>> future = dumpMetersAsync(dpid);
         try {
-            Future<List<OFFlowStatsReply>> future = sw.writeStatsRequest(flowRequest);
-            List<OFFlowStatsReply> values = future.get(10, TimeUnit.SECONDS);
-            if (values != null) {
-                entries = values.stream()
-                        .map(OFFlowStatsReply::getEntries)
-                        .flatMap(List::stream)
-                        .collect(Collectors.toList());
-            }
-        } catch (ExecutionException | InterruptedException | TimeoutException e) {
-            logger.error("Could not get flow stats for {}.", dpid, e);
-            throw new SwitchNotFoundException(dpid);
+            return future.get();
+        } catch (ExecutionException | InterruptedException e) {
+            logger.error("Could not get meter config stats for {}.", dpid, e);
         }
 
-        return entries;
+        return null;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public List<OFMeterConfig> dumpMeters(final DatapathId dpid) throws SwitchOperationException {
-        List<OFMeterConfig> result = null;
+    public CompletableFuture<List<OFMeterConfig>> dumpMetersAsync(final DatapathId dpid)
+            throws SwitchOperationException {
         IOFSwitch sw = lookupSwitch(dpid);
-        if (sw == null) {
-            throw new IllegalArgumentException(format("Switch %s was not found", dpid));
-        }
-
         verifySwitchSupportsMeters(sw);
 
         OFFactory ofFactory = sw.getOFFactory();
@@ -546,54 +649,43 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
                 .setMeterId(0xffffffff)
                 .build();
 
+        return withTimeout(sw, "meter config stats", toCompletableFuture(sw.writeStatsRequest(meterRequest))
+                .thenApply(values -> collectStatsEntries(values, OFMeterConfigStatsReply::getEntries)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OFMeterConfig dumpMeterById(final DatapathId dpid, final long meterId) throws SwitchOperationException {
+        CompletableFuture<OFMeterConfig> future = dumpMeterByIdAsync(dpid, meterId);
         try {
-            ListenableFuture<List<OFMeterConfigStatsReply>> future = sw.writeStatsRequest(meterRequest);
-            List<OFMeterConfigStatsReply> values = future.get(10, TimeUnit.SECONDS);
-            if (values != null) {
-                result = values.stream()
-                        .map(OFMeterConfigStatsReply::getEntries)
-                        .flatMap(List::stream)
-                        .collect(Collectors.toList());
-            }
-        } catch (ExecutionException | InterruptedException | TimeoutException e) {
+            return future.get();
+        } catch (ExecutionException | InterruptedException e) {
             logger.error("Could not get meter config stats for {}.", dpid, e);
         }
 
-        return result;
+        return null;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public OFMeterConfig dumpMeterById(final DatapathId dpid, final long meterId) throws SwitchOperationException {
-        OFMeterConfig meterConfig = null;
+    public CompletableFuture<OFMeterConfig> dumpMeterByIdAsync(final DatapathId dpid, final long meterId)
+            throws SwitchOperationException {
         IOFSwitch sw = lookupSwitch(dpid);
-        if (sw == null) {
-            throw new IllegalArgumentException(format("Switch %s was not found", dpid));
-        }
-
         verifySwitchSupportsMeters(sw);
+
         OFFactory ofFactory = sw.getOFFactory();
         OFMeterConfigStatsRequest meterRequest = ofFactory.buildMeterConfigStatsRequest()
                 .setMeterId(meterId)
                 .build();
 
-        try {
-            ListenableFuture<List<OFMeterConfigStatsReply>> future = sw.writeStatsRequest(meterRequest);
-            List<OFMeterConfigStatsReply> values = future.get(10, TimeUnit.SECONDS);
-            if (values != null) {
-                List<OFMeterConfig> result = values.stream()
-                        .map(OFMeterConfigStatsReply::getEntries)
-                        .flatMap(List::stream)
-                        .collect(Collectors.toList());
-                meterConfig = result.size() >= 1 ? result.get(0) : null;
-            }
-        } catch (InterruptedException | ExecutionException | TimeoutException e) {
-            logger.error("Could not get meter config stats for {}.", dpid, e);
-        }
-
-        return meterConfig;
+        return withTimeout(sw, "meter config stats", toCompletableFuture(sw.writeStatsRequest(meterRequest))
+                .thenApply(values -> collectStatsEntries(values, OFMeterConfigStatsReply::getEntries).stream()
+                        .findFirst()
+                        .orElse(null)));
     }
 
     /**
@@ -604,20 +696,39 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
             throws SwitchOperationException {
         if (meterId >= MIN_FLOW_METER_ID) {
             IOFSwitch sw = lookupSwitch(dpid);
-            verifySwitchSupportsMeters(sw);
-            long burstSize = Meter.calculateBurstSize(bandwidth, config.getFlowMeterMinBurstSizeInKbits(),
-                    config.getFlowMeterBurstCoefficient(), sw.getSwitchDescription().getManufacturerDescription(),
-                    sw.getSwitchDescription().getSoftwareDescription());
+            OFMeterMod meterMod = buildMeterForFlow(sw, bandwidth, meterId);
 
-            Set<OFMeterFlags> flags = Arrays.stream(Meter.getMeterFlags())
-                    .map(OFMeterFlags::valueOf)
-                    .collect(Collectors.toSet());
-            installMeter(sw, flags, bandwidth, burstSize, meterId);
+            logger.info("Installing meter {} on switch {} with bandwidth {}", meterId, dpid, bandwidth);
+            pushFlow(sw, "--InstallMeter--", meterMod);
+
+            // All cases when we're installing meters require that we wait until the command is processed and
+            // the meter is installed.
+            sendBarrierRequest(sw);
         } else {
             throw new InvalidMeterIdException(dpid, "Meter id must be positive.");
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OFMeterMod buildMeterForFlow(IOFSwitch sw, long bandwidth, long meterId)
+            throws SwitchOperationException {
+        if (meterId < MIN_FLOW_METER_ID) {
+            throw new InvalidMeterIdException(sw.getId(), "Meter id must be positive.");
+        }
+        verifySwitchSupportsMeters(sw);
+        long burstSize = Meter.calculateBurstSize(bandwidth, config.getFlowMeterMinBurstSizeInKbits(),
+                config.getFlowMeterBurstCoefficient(), sw.getSwitchDescription().getManufacturerDescription(),
+                sw.getSwitchDescription().getSoftwareDescription());
+
+        Set<OFMeterFlags> flags = Arrays.stream(Meter.getMeterFlags())
+                .map(OFMeterFlags::valueOf)
+                .collect(Collectors.toSet());
+        return buildMeterMode(sw, OFMeterModCommand.ADD, bandwidth, burstSize, meterId, flags);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -657,13 +768,26 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
      */
     @Override
     public void deleteMeter(final DatapathId dpid, final long meterId) throws SwitchOperationException {
+        try {
+            deleteMeterAsync(dpid, meterId).get();
+        } catch (ExecutionException | InterruptedException e) {
+            logger.error("Could not get a barrier reply for meter {} deletion on {}.", meterId, dpid, e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> deleteMeterAsync(final DatapathId dpid, final long meterId)
+            throws SwitchOperationException {
         if (meterId > 0L) {
             IOFSwitch sw = lookupSwitch(dpid);
             verifySwitchSupportsMeters(sw);
             buildAndDeleteMeter(sw, dpid, meterId);
 
             // to ensure that we have completed meter deletion, because we might have remove/create meter in a row
-            sendBarrierRequest(sw);
+            return sendBarrierRequestAsync(sw).thenApply(ignore -> null);
         } else {
             throw new InvalidMeterIdException(dpid, "Meter id must be positive.");
         }
@@ -774,6 +898,15 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
     @Override
     public void installVerificationRule(final DatapathId dpid, final boolean isBroadcast)
             throws SwitchOperationException {
+        awaitCompletion(dpid, installVerificationRuleAsync(dpid, isBroadcast));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> installVerificationRuleAsync(final DatapathId dpid, final boolean isBroadcast)
+            throws SwitchOperationException {
         IOFSwitch sw = lookupSwitch(dpid);
         OFFactory ofFactory = sw.getOFFactory();
 
@@ -783,57 +916,88 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
                 logger.debug("Installing unicast verification match for {}", dpid);
             } else {
                 logger.debug("Not installing unicast verification match for {}", dpid);
-                return;
+                return CompletableFuture.completedFuture(null);
             }
         }
 
-        ArrayList<OFAction> actionList = new ArrayList<>();
-
+        CompletableFuture<ArrayList<OFAction>> actions;
         if (isBroadcast && featureDetectorService.detectSwitch(sw).contains(Feature.GROUP_PACKET_OUT_CONTROLLER)) {
             logger.debug("Installing round trip latency group actions on switch {}", dpid);
 
-            try {
-                OFGroup group = installRoundTripLatencyGroup(sw);
-                actionList.add(ofFactory.actions().group(group));
-                logger.debug("Round trip latency group was installed on switch {}", dpid);
-            } catch (OfInstallException | UnsupportedOperationException e) {
-                String message = String.format(
-                        "Couldn't install round trip latency group on switch %s. "
-                        + "Standard discovery actions will be installed instead. Error: %s", dpid, e.getMessage());
-                logger.warn(message, e);
-
-                actionList.add(actionSetDstMac(sw, dpIdToMac(sw.getId())));
-                actionList.add(actionSendToController(sw));
-            }
+            actions = installRoundTripLatencyGroupAsync(sw).handle((group, error) -> {
+                ArrayList<OFAction> actionList = new ArrayList<>();
+                if (error == null) {
+                    actionList.add(ofFactory.actions().group(group));
+                    logger.debug("Round trip latency group was installed on switch {}", dpid);
+                } else {
+                    Throwable cause = unwrapError(error);
+                    String message = String.format(
+                            "Couldn't install round trip latency group on switch %s. "
+                            + "Standard discovery actions will be installed instead. Error: %s",
+                            dpid, cause.getMessage());
+                    logger.warn(message, cause);
+
+                    actionList.add(actionSetDstMac(sw, dpIdToMac(sw.getId())));
+                    actionList.add(actionSendToController(sw));
+                }
+                return actionList;
+            });
         } else {
-            actionList.add(actionSendToController(sw));
-            actionList.add(actionSetDstMac(sw, dpIdToMac(sw.getId())));
+            actions = CompletableFuture.completedFuture(Lists.newArrayList(
+                    actionSendToController(sw),
+                    actionSetDstMac(sw, dpIdToMac(sw.getId()))));
         }
 
         long cookie = isBroadcast ? VERIFICATION_BROADCAST_RULE_COOKIE : VERIFICATION_UNICAST_RULE_COOKIE;
         long meterId = createMeterIdForDefaultRule(cookie).getValue();
         long meterRate = isBroadcast ? config.getBroadcastRateLimit() : config.getUnicastRateLimit();
-        OFInstructionMeter meter = installMeterForDefaultRule(sw, meterId, meterRate, actionList);
-        OFInstructionApplyActions actions = ofFactory.instructions()
-                .applyActions(actionList).createBuilder().build();
-
-        Match match = matchVerification(sw, isBroadcast);
-        OFFlowMod flowMod = prepareFlowModBuilder(ofFactory, cookie, VERIFICATION_RULE_PRIORITY)
-                .setInstructions(meter != null ? ImmutableList.of(meter, actions) : ImmutableList.of(actions))
-                .setMatch(match)
-                .build();
-        String flowname = (isBroadcast) ? "Broadcast" : "Unicast";
-        flowname += "--VerificationFlow--" + dpid.toString();
-        pushFlow(sw, flowname, flowMod);
+        return actions.thenCompose(actionList ->
+                installMeterForDefaultRuleAsync(sw, meterId, meterRate, actionList)
+                        .thenAccept(meter -> {
+                            OFInstructionApplyActions applyActions = ofFactory.instructions()
+                                    .applyActions(actionList).createBuilder().build();
+
+                            Match match = matchVerification(sw, isBroadcast);
+                            OFFlowMod flowMod = prepareFlowModBuilder(ofFactory, cookie, VERIFICATION_RULE_PRIORITY)
+                                    .setInstructions(meter != null
+                                            ? ImmutableList.of(meter, applyActions) : ImmutableList.of(applyActions))
+                                    .setMatch(match)
+                                    .build();
+                            String flowname = (isBroadcast) ? "Broadcast" : "Unicast";
+                            flowname += "--VerificationFlow--" + dpid.toString();
+                            try {
+                                pushFlow(sw, flowname, flowMod);
+                            } catch (OfInstallException e) {
+                                throw new CompletionException(e);
+                            }
+                        }));
+    }
+
+    private CompletableFuture<OFGroup> installRoundTripLatencyGroupAsync(IOFSwitch sw) {
+        return dumpGroupsAsync(sw)
+                .exceptionally(error -> {
+                    logger.error(String.format("Could not dump groups on switch %s.", sw.getId()), error);
+                    return Collections.emptyList();
+                })
+                .thenCompose(groups -> {
+                    try {
+                        return installRoundTripLatencyGroup(sw, groups);
+                    } catch (OfInstallException e) {
+                        throw new CompletionException(e);
+                    }
+                });
     }
 
-    private OFGroup installRoundTripLatencyGroup(IOFSwitch sw) throws OfInstallException {
-        Optional<OFGroupDescStatsEntry> groupDesc = getGroup(sw, ROUND_TRIP_LATENCY_GROUP_ID);
+    private CompletableFuture<OFGroup> installRoundTripLatencyGroup(IOFSwitch sw, List<OFGroupDescStatsEntry> groups)
+            throws OfInstallException {
+        Optional<OFGroupDescStatsEntry> groupDesc = groups.stream()
+                .filter(entry -> entry.getGroup().getGroupNumber() == ROUND_TRIP_LATENCY_GROUP_ID)
+                .findFirst();
 
         if (groupDesc.isPresent()) {
             if (validateRoundTripLatencyGroup(sw.getId(), groupDesc.get())) {
                 logger.debug("Skip installation of round trip latency group on switch {}. Group exists.", sw.getId());
-                return groupDesc.get().getGroup();
+                return CompletableFuture.completedFuture(groupDesc.get().getGroup());
             } else {
                 logger.debug("Found invalid round trip latency group on switch {}. Need to be deleted.", sw.getId());
                 deleteGroup(sw, ROUND_TRIP_LATENCY_GROUP_ID);
@@ -843,9 +1007,8 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         OFGroupAdd groupAdd = getInstallRoundTripLatencyGroupInstruction(sw);
 
         pushFlow(sw, "--InstallGroup--", groupAdd);
-        sendBarrierRequest(sw);
-
-        return OFGroup.of(ROUND_TRIP_LATENCY_GROUP_ID);
+        return sendBarrierRequestAsync(sw)
+                .thenApply(ignore -> OFGroup.of(ROUND_TRIP_LATENCY_GROUP_ID));
     }
 
     private void deleteGroup(IOFSwitch sw, int groupId) throws OfInstallException {
@@ -855,7 +1018,9 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
                 .build();
 
         pushFlow(sw, "--DeleteGroup--", groupDelete);
-        sendBarrierRequest(sw);
+        // keeps the switch from reordering the deletion with the following group add, the reply to the barrier sent
+        // after the add confirms both
+        sendBarrierRequestAsync(sw);
     }
 
     @VisibleForTesting
@@ -893,30 +1058,12 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
                 && OFPort.CONTROLLER.equals(((OFActionOutput) actions.get(1)).getPort());
     }
 
-    private List<OFGroupDescStatsEntry> dumpGroups(IOFSwitch sw) {
+    private CompletableFuture<List<OFGroupDescStatsEntry>> dumpGroupsAsync(IOFSwitch sw) {
         OFFactory ofFactory = sw.getOFFactory();
         OFGroupDescStatsRequest groupRequest = ofFactory.buildGroupDescStatsRequest().build();
 
-        List<OFGroupDescStatsReply> replies;
-
-        try {
-            ListenableFuture<List<OFGroupDescStatsReply>> future = sw.writeStatsRequest(groupRequest);
-            replies = future.get(10, TimeUnit.SECONDS);
-        } catch (ExecutionException | InterruptedException | TimeoutException e) {
-            logger.error(String.format("Could not dump groups on switch %s.", sw.getId()), e);
-            return Collections.emptyList();
-        }
-
-        return replies.stream()
-                .map(OFGroupDescStatsReply::getEntries)
-                .flatMap(List::stream)
-                .collect(Collectors.toList());
-    }
-
-    private Optional<OFGroupDescStatsEntry> getGroup(IOFSwitch sw, int groupId) {
-        return dumpGroups(sw).stream()
-                .filter(groupDesc -> groupDesc.getGroup().getGroupNumber() == groupId)
-                .findFirst();
+        return withTimeout(sw, "group desc stats", toCompletableFuture(sw.writeStatsRequest(groupRequest))
+                .thenApply(values -> collectStatsEntries(values, OFGroupDescStatsReply::getEntries)));
     }
 
     /**
@@ -1045,8 +1192,8 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         return StringUtils.contains(sw.getSwitchDescription().getManufacturerDescription(), "Centec");
     }
 
-    private void installMeter(IOFSwitch sw, Set<OFMeterFlags> flags, long bandwidth, long burstSize, long meterId)
-            throws OfInstallException {
+    private CompletableFuture<OFBarrierReply> installMeter(IOFSwitch sw, Set<OFMeterFlags> flags, long bandwidth,
+                                                           long burstSize, long meterId) throws OfInstallException {
         logger.info("Installing meter {} on switch {} with bandwidth {}", meterId, sw.getId(), bandwidth);
 
         OFMeterMod meterMod = buildMeterMode(sw, OFMeterModCommand.ADD, bandwidth, burstSize, meterId, flags);
@@ -1055,7 +1202,7 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
 
         // All cases when we're installing meters require that we wait until the command is processed and
         // the meter is installed.
-        sendBarrierRequest(sw);
+        return sendBarrierRequestAsync(sw);
     }
 
     private void modifyMeter(IOFSwitch sw, long bandwidth, long burstSize, long meterId, Set<OFMeterFlags> flags)
@@ -1144,20 +1291,89 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         return builder.build();
     }
 
-    private OFBarrierReply sendBarrierRequest(IOFSwitch sw) {
-        OFFactory ofFactory = sw.getOFFactory();
-        OFBarrierRequest barrierRequest = ofFactory.buildBarrierRequest().build();
+    /**
+     * Completes the future with {@link SwitchRequestTimeoutException} if the switch doesn't answer in time.
+     */
+    private <T> CompletableFuture<T> withTimeout(IOFSwitch sw, String request, CompletableFuture<T> future) {
+        ScheduledFuture<?> timeout = scheduler.schedule(
+                () -> future.completeExceptionally(
+                        new SwitchRequestTimeoutException(sw.getId(), request, STATS_REQUEST_TIMEOUT_SECONDS)),
+                STATS_REQUEST_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        future.whenComplete((ignore, error) -> timeout.cancel(false));
+        return future;
+    }
+
+    /**
+     * Adapts the switch reply future. The result is completed on the callback executor, so the dependent stages never
+     * run on the switch I/O thread that receives the reply.
+     */
+    private <T> CompletableFuture<T> toCompletableFuture(ListenableFuture<T> future) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Futures.addCallback(future, new FutureCallback<T>() {
+            @Override
+            public void onSuccess(T value) {
+                result.complete(value);
+            }
+
+            @Override
+            public void onFailure(Throwable error) {
+                result.completeExceptionally(error);
+            }
+        }, callbackExecutor);
+        return result;
+    }
+
+    /**
+     * Waits for the switch operation, the operation failure is rethrown as {@link SwitchOperationException}.
+     */
+    private static void awaitCompletion(DatapathId dpid, CompletableFuture<?> future) throws SwitchOperationException {
+        try {
+            future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SwitchOperationException) {
+                throw (SwitchOperationException) e.getCause();
+            }
+            throw new SwitchOperationException(dpid, e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SwitchOperationException(dpid, "Interrupted while waiting for the switch", e);
+        }
+    }
+
+    private static Throwable unwrapError(Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            return error.getCause();
+        }
+        return error;
+    }
+
+    private static <R, E> List<E> collectStatsEntries(List<R> replies, Function<R, List<E>> extractor) {
+        if (replies == null) {
+            return new ArrayList<>();
+        }
+        return replies.stream()
+                .map(extractor)
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+    }
 
+    private OFBarrierReply sendBarrierRequest(IOFSwitch sw) {
         OFBarrierReply result = null;
         try {
-            ListenableFuture<OFBarrierReply> future = sw.writeRequest(barrierRequest);
-            result = future.get(10, TimeUnit.SECONDS);
-        } catch (ExecutionException | InterruptedException | TimeoutException e) {
+            result = sendBarrierRequestAsync(sw).get();
+        } catch (ExecutionException | InterruptedException e) {
             logger.error("Could not get a barrier reply for {}.", sw.getId(), e);
         }
         return result;
     }
 
+    private CompletableFuture<OFBarrierReply> sendBarrierRequestAsync(IOFSwitch sw) {
+        OFFactory ofFactory = sw.getOFFactory();
+        OFBarrierRequest barrierRequest = ofFactory.buildBarrierRequest().build();
+
+        return withTimeout(sw, "barrier", toCompletableFuture(sw.writeRequest(barrierRequest)));
+    }
+
 
     private List<Long> deleteRulesWithCookie(final DatapathId dpid, Long... cookiesToRemove)
             throws SwitchOperationException {
@@ -1499,59 +1715,80 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
     }
 
     @VisibleForTesting
-    OFInstructionMeter installMeterForDefaultRule(IOFSwitch sw, long meterId, long ratePkts,
-                                                  ArrayList<OFAction> actionList) {
-        OFMeterConfig meterConfig;
+    CompletableFuture<OFInstructionMeter> installMeterForDefaultRuleAsync(IOFSwitch sw, long meterId, long ratePkts,
+                                                                          ArrayList<OFAction> actionList) {
+        CompletableFuture<OFMeterConfig> meterConfig;
         try {
-            meterConfig = getMeter(sw.getId(), meterId);
+            meterConfig = getMeterAsync(sw.getId(), meterId);
         } catch (SwitchOperationException e) {
             logger.warn("Meter {} won't be installed on the switch {}: {}", meterId, sw.getId(), e.getMessage());
-            return null;
+            return CompletableFuture.completedFuture(null);
         }
 
+        return meterConfig
+                .handle((existing, error) -> {
+                    if (error != null) {
+                        logger.warn("Meter {} won't be installed on the switch {}: {}", meterId, sw.getId(),
+                                unwrapError(error).getMessage());
+                        return CompletableFuture.<OFInstructionMeter>completedFuture(null);
+                    }
+                    try {
+                        return installMeterForDefaultRule(sw, meterId, ratePkts, actionList, existing);
+                    } catch (SwitchOperationException e) {
+                        throw new CompletionException(e);
+                    }
+                })
+                .thenCompose(Function.identity())
+                .exceptionally(error -> {
+                    logger.warn("Failed to (re)install meter {} on switch {}: {}", meterId, sw.getId(),
+                            unwrapError(error).getMessage());
+                    return null;
+                });
+    }
+
+    private CompletableFuture<OFInstructionMeter> installMeterForDefaultRule(
+            IOFSwitch sw, long meterId, long ratePkts, ArrayList<OFAction> actionList, OFMeterConfig meterConfig)
+            throws SwitchOperationException {
         OFMeterBandDrop meterBandDrop = Optional.ofNullable(meterConfig)
                 .map(OFMeterConfig::getEntries)
                 .flatMap(entries -> entries.stream().findFirst())
                 .map(OFMeterBandDrop.class::cast)
                 .orElse(null);
 
-        try {
-            long rate;
-            long burstSize;
-            Set<OFMeterFlags> flags;
-
-            if (isSwitchSupportsPktpsFlag(sw)) {
-                flags = ImmutableSet.of(OFMeterFlags.PKTPS, OFMeterFlags.STATS, OFMeterFlags.BURST);
-                // With PKTPS flag rate and burst size is in packets
-                rate = ratePkts;
-                burstSize = config.getSystemMeterBurstSizeInPackets();
-            } else {
-                flags = ImmutableSet.of(OFMeterFlags.KBPS, OFMeterFlags.STATS, OFMeterFlags.BURST);
-                // With KBPS flag rate and burst size is in Kbits
-                rate = Math.max(MIN_RATE_IN_KBPS, (ratePkts * config.getDiscoPacketSize()) / 1024L);
-                burstSize = config.getSystemMeterBurstSizeInPackets() * config.getDiscoPacketSize() / 1024L;
-            }
+        long rate;
+        long burstSize;
+        Set<OFMeterFlags> flags;
 
-            if (meterBandDrop != null && meterBandDrop.getRate() == rate
-                    && CollectionUtils.isEqualCollection(meterConfig.getFlags(), flags)) {
-                logger.debug("Meter {} won't be reinstalled on switch {}. It already exists", meterId, sw.getId());
-                return buildMeterInstruction(meterId, sw, sw.getOFFactory(), actionList);
-            }
+        if (isSwitchSupportsPktpsFlag(sw)) {
+            flags = ImmutableSet.of(OFMeterFlags.PKTPS, OFMeterFlags.STATS, OFMeterFlags.BURST);
+            // With PKTPS flag rate and burst size is in packets
+            rate = ratePkts;
+            burstSize = config.getSystemMeterBurstSizeInPackets();
+        } else {
+            flags = ImmutableSet.of(OFMeterFlags.KBPS, OFMeterFlags.STATS, OFMeterFlags.BURST);
+            // With KBPS flag rate and burst size is in Kbits
+            rate = Math.max(MIN_RATE_IN_KBPS, (ratePkts * config.getDiscoPacketSize()) / 1024L);
+            burstSize = config.getSystemMeterBurstSizeInPackets() * config.getDiscoPacketSize() / 1024L;
+        }
 
-            if (meterBandDrop != null) {
-                logger.info("Meter {} with origin rate {} will be reinstalled on {} switch.",
-                        meterId, sw.getId(), meterBandDrop.getRate());
-                buildAndDeleteMeter(sw, sw.getId(), meterId);
-                sendBarrierRequest(sw);
-            }
+        if (meterBandDrop != null && meterBandDrop.getRate() == rate
+                && CollectionUtils.isEqualCollection(meterConfig.getFlags(), flags)) {
+            logger.debug("Meter {} won't be reinstalled on switch {}. It already exists", meterId, sw.getId());
+            return CompletableFuture.completedFuture(
+                    buildMeterInstruction(meterId, sw, sw.getOFFactory(), actionList));
+        }
 
-            installMeter(sw, flags, rate, burstSize, meterId);
-        } catch (SwitchOperationException e) {
-            logger.warn("Failed to (re)install meter {} on switch {}: {}", meterId, sw.getId(), e.getMessage());
-            return null;
+        if (meterBandDrop != null) {
+            logger.info("Meter {} with origin rate {} will be reinstalled on {} switch.",
+                    meterId, sw.getId(), meterBandDrop.getRate());
+            buildAndDeleteMeter(sw, sw.getId(), meterId);
+            // keeps the switch from reordering the deletion with the following meter add, the reply to the barrier
+            // sent after the add confirms both
+            sendBarrierRequestAsync(sw);
         }
 
-        return buildMeterInstruction(meterId, sw, sw.getOFFactory(), actionList);
+        return installMeter(sw, flags, rate, burstSize, meterId)
+                .thenApply(ignore -> buildMeterInstruction(meterId, sw, sw.getOFFactory(), actionList));
     }
 
     /**
@@ -1864,10 +2101,11 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         return OVS_MANUFACTURER.equals(sw.getSwitchDescription().getManufacturerDescription());
     }
 
-    private OFMeterConfig getMeter(DatapathId dpid, long meter) throws SwitchOperationException {
-        return dumpMeters(dpid).stream()
+    private CompletableFuture<OFMeterConfig> getMeterAsync(DatapathId dpid, long meter)
+            throws SwitchOperationException {
+        return dumpMetersAsync(dpid).thenApply(meters -> meters.stream()
                 .filter(meterConfig -> meterConfig.getMeterId() == meter)
                 .findFirst()
-                .orElse(null);
+                .orElse(null));
     }
 }
@@ -65,6 +65,13 @@ public interface SwitchManagerConfig {
     @Default("false")
     boolean isOvsMetersEnabled();
 
+    @Key("reply-callback-threads")
+    @Default("4")
+    @Min(1)
+    @Description("Number of threads completing the futures of requests sent to the switches. "
+               + "Switch I/O threads only hand the replies over to them.")
+    int getReplyCallbackThreads();
+
     @Key("tracking-enabled")
     @Default("true")
     boolean isTrackingEnabled();
@@ -17,16 +17,20 @@ package org.openkilda.floodlight.kafka;
 
 import static org.easymock.EasyMock.anyObject;
 import static org.easymock.EasyMock.mock;
+import static org.junit.Assert.assertEquals;
 
 import org.openkilda.floodlight.kafka.Consumer.KafkaOffsetRegistry;
 
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
 import org.easymock.EasyMock;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import java.util.Collections;
 import java.util.concurrent.TimeUnit;
 
 public class KafkaOffsetRegistryTest {
@@ -43,7 +47,9 @@ public class KafkaOffsetRegistryTest {
 
         // when
         ConsumerRecord<String, String> record = new ConsumerRecord<>("test", 1, 1, "key", "value");
-        registry.addAndCommit(record);
+        registry.add(record);
+        registry.complete(record);
+        registry.commitIfRequired();
 
         // then
         EasyMock.verify(consumer);
@@ -60,10 +66,12 @@ public class KafkaOffsetRegistryTest {
         Consumer.KafkaOffsetRegistry registry = new KafkaOffsetRegistry(consumer, 1L);
 
         // when
-        TimeUnit.MILLISECONDS.sleep(10);
-
         ConsumerRecord<String, String> record = new ConsumerRecord<>("test", 1, 1, "key", "value");
-        registry.addAndCommit(record);
+        registry.add(record);
+        registry.complete(record);
+
+        TimeUnit.MILLISECONDS.sleep(10);
+        registry.commitIfRequired();
 
         // then
         EasyMock.verify(consumer);
@@ -81,7 +89,8 @@ public class KafkaOffsetRegistryTest {
 
         // when
         ConsumerRecord<String, String> record = new ConsumerRecord<>("test", 1, 1, "key", "value");
-        registry.addAndCommit(record);
+        registry.add(record);
+        registry.complete(record);
         registry.commitOffsets();
 
         // then
@@ -96,14 +105,47 @@ public class KafkaOffsetRegistryTest {
         Consumer.KafkaOffsetRegistry registry = new KafkaOffsetRegistry(consumer, 10000L);
 
         ConsumerRecord<String, String> record = new ConsumerRecord<>("test", 1, 10, "key", "value");
-        registry.addAndCommit(record);
+        registry.add(record);
 
         expectedException.expect(IllegalArgumentException.class);
 
         // when
         ConsumerRecord<String, String> outdated = new ConsumerRecord<>("test", 1, 1, "key2", "value2");
-        registry.addAndCommit(outdated);
+        registry.add(outdated);
 
         // then an IllegalArgumentException is thrown
     }
+
+    @Test
+    public void shouldNotCommitOffsetsOfPendingRecords() {
+        // given
+        TopicPartition partition = new TopicPartition("test", 1);
+        @SuppressWarnings("unchecked")
+        KafkaConsumer<String, String> consumer = mock(KafkaConsumer.class);
+        consumer.commitSync(Collections.singletonMap(partition, new OffsetAndMetadata(1)));
+        EasyMock.expectLastCall();
+        consumer.commitSync(Collections.singletonMap(partition, new OffsetAndMetadata(3)));
+        EasyMock.expectLastCall();
+        EasyMock.replay(consumer);
+        Consumer.KafkaOffsetRegistry registry = new KafkaOffsetRegistry(consumer, 10000L);
+
+        ConsumerRecord<String, String> first = new ConsumerRecord<>("test", 1, 1, "key", "value");
+        ConsumerRecord<String, String> second = new ConsumerRecord<>("test", 1, 2, "key2", "value2");
+        registry.add(first);
+        registry.add(second);
+
+        // when the second record is handled before the first one
+        registry.complete(second);
+        registry.commitOffsets();
+        assertEquals(1, registry.getPendingCount(partition));
+
+        registry.complete(first);
+        registry.commitOffsets();
+        // nothing to commit
+        registry.commitOffsets();
+
+        // then
+        EasyMock.verify(consumer);
+        assertEquals(0, registry.getPendingCount(partition));
+    }
 }
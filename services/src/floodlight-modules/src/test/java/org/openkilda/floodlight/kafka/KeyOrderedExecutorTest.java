@@ -0,0 +1,174 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.floodlight.kafka;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class KeyOrderedExecutorTest {
+    private final ExecutorService pool = Executors.newFixedThreadPool(4);
+
+    @After
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void shouldExecuteTasksOfKeyInOrder() throws InterruptedException {
+        KeyOrderedExecutor executor = new KeyOrderedExecutor(pool);
+        int count = 1000;
+        List<Integer> first = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> second = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(count * 2);
+
+        for (int i = 0; i < count; i++) {
+            int value = i;
+            executor.execute("first", () -> {
+                first.add(value);
+                done.countDown();
+            });
+            executor.execute("second", () -> {
+                second.add(value);
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, (int) first.get(i));
+            assertEquals(i, (int) second.get(i));
+        }
+    }
+
+    @Test
+    public void shouldNotBlockOtherKeysBySlowKey() throws InterruptedException {
+        KeyOrderedExecutor executor = new KeyOrderedExecutor(pool);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch fastDone = new CountDownLatch(1);
+        CountDownLatch slowDone = new CountDownLatch(1);
+
+        executor.execute("slow", () -> awaitQuietly(release));
+        executor.execute("slow", slowDone::countDown);
+        executor.execute("fast", fastDone::countDown);
+
+        assertTrue(fastDone.await(10, TimeUnit.SECONDS));
+        assertEquals(1, slowDone.getCount());
+
+        release.countDown();
+        assertTrue(slowDone.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shouldYieldThreadAfterBatch() throws InterruptedException {
+        ExecutorService singleThread = Executors.newSingleThreadExecutor();
+        try {
+            KeyOrderedExecutor executor = new KeyOrderedExecutor(singleThread, 10);
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch done = new CountDownLatch(101);
+            List<String> executed = Collections.synchronizedList(new ArrayList<>());
+
+            executor.execute("busy", () -> awaitQuietly(release));
+            for (int i = 0; i < 100; i++) {
+                executor.execute("busy", () -> {
+                    executed.add("busy");
+                    done.countDown();
+                });
+            }
+            executor.execute("other", () -> {
+                executed.add("other");
+                done.countDown();
+            });
+            release.countDown();
+
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            assertEquals(9, executed.indexOf("other"));
+        } finally {
+            singleThread.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldContinueAfterFailedTask() throws InterruptedException {
+        KeyOrderedExecutor executor = new KeyOrderedExecutor(pool);
+        CountDownLatch done = new CountDownLatch(1);
+
+        executor.execute("key", () -> {
+            throw new IllegalStateException("test");
+        });
+        executor.execute("key", done::countDown);
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shouldReleaseIdleKeys() throws InterruptedException {
+        KeyOrderedExecutor executor = new KeyOrderedExecutor(pool);
+        CountDownLatch done = new CountDownLatch(1);
+
+        executor.execute("key", done::countDown);
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < 100 && executor.getActiveKeyCount() != 0; i++) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        assertEquals(0, executor.getActiveKeyCount());
+    }
+
+    @Test
+    public void shouldHoldKeyUntilFutureIsCompleted() throws InterruptedException {
+        ExecutorService singleThread = Executors.newSingleThreadExecutor();
+        try {
+            KeyOrderedExecutor executor = new KeyOrderedExecutor(singleThread);
+            CompletableFuture<Void> hold = new CompletableFuture<>();
+            CountDownLatch heldDone = new CountDownLatch(1);
+            CountDownLatch otherDone = new CountDownLatch(1);
+
+            executor.executeAsync("held", () -> hold);
+            executor.execute("held", heldDone::countDown);
+            executor.execute("other", otherDone::countDown);
+
+            // the single thread is not parked by the held key
+            assertTrue(otherDone.await(10, TimeUnit.SECONDS));
+            assertEquals(1, heldDone.getCount());
+
+            hold.complete(null);
+            assertTrue(heldDone.await(10, TimeUnit.SECONDS));
+        } finally {
+            singleThread.shutdownNow();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -31,6 +31,7 @@ import org.openkilda.floodlight.pathverification.IPathVerificationService;
 import org.openkilda.floodlight.pathverification.PathVerificationService;
 import org.openkilda.floodlight.service.kafka.IKafkaProducerService;
 import org.openkilda.floodlight.service.kafka.KafkaUtilityService;
+import org.openkilda.floodlight.service.session.CoalescingWriteService;
 import org.openkilda.floodlight.switchmanager.ISwitchManager;
 import org.openkilda.floodlight.switchmanager.SwitchManager;
 import org.openkilda.floodlight.switchmanager.SwitchManagerConfig;
@@ -57,6 +58,7 @@ import net.floodlightcontroller.core.internal.IOFSwitchService;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
 import net.floodlightcontroller.core.module.FloodlightModuleException;
 import net.floodlightcontroller.restserver.IRestApiService;
+import net.floodlightcontroller.threadpool.IThreadPoolService;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.easymock.Capture;
 import org.easymock.CaptureType;
@@ -69,7 +71,9 @@ import org.projectfloodlight.openflow.protocol.OFMeterMod;
 import org.projectfloodlight.openflow.types.DatapathId;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 public class ReplaceInstallFlowTest {
@@ -116,6 +120,11 @@ public class ReplaceInstallFlowTest {
         context.addService(IPathVerificationService.class, pathVerificationService);
         context.addService(ISwitchManager.class, switchManager);
 
+        IThreadPoolService threadPoolService = createMock(IThreadPoolService.class);
+        expect(threadPoolService.getScheduledExecutor()).andStubReturn(Executors.newSingleThreadScheduledExecutor());
+        replay(threadPoolService);
+        context.addService(IThreadPoolService.class, threadPoolService);
+
         switchManager.init(context);
 
         collector = new KafkaMessageCollector();
@@ -133,6 +142,13 @@ public class ReplaceInstallFlowTest {
 
         context.addService(KafkaUtilityService.class, kafkaUtility);
 
+        CoalescingWriteService coalescingWriter = createMock(CoalescingWriteService.class);
+        expect(coalescingWriter.isEnabled()).andStubReturn(false);
+        expect(coalescingWriter.flush(anyObject(DatapathId.class)))
+                .andStubReturn(CompletableFuture.completedFuture(null));
+        replay(coalescingWriter);
+        context.addService(CoalescingWriteService.class, coalescingWriter);
+
         initScheme();
     }
 
@@ -0,0 +1,113 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.pathverification;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares sign and verify throughput of the JWT discovery packet signature and the binary one.
+ * <p/>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.openkilda.floodlight.pathverification.DiscoveryPacketSignBenchmark}, JMH command line
+ * options can be passed with {@code -Dexec.args}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DiscoveryPacketSignBenchmark {
+    private static final String SECRET = "secret";
+    private static final long DPID = 0x00000000000000ffL;
+    private static final long PACKET_ID = 42L;
+
+    @State(Scope.Thread)
+    public static class SignState {
+        Algorithm algorithm;
+        JWTVerifier verifier;
+        DiscoveryPacketSigner signer;
+
+        String token;
+        byte[] signature;
+        long timestamp;
+
+        /**
+         * Prepares the signers and the signatures to verify.
+         */
+        @Setup
+        public void setUp() throws Exception {
+            algorithm = Algorithm.HMAC256(SECRET);
+            verifier = JWT.require(algorithm).build();
+            signer = new DiscoveryPacketSigner(SECRET);
+
+            timestamp = System.currentTimeMillis();
+            token = signJwt(this);
+            signature = signer.sign(DPID, timestamp, PACKET_ID);
+        }
+    }
+
+    @Benchmark
+    public String jwtSign(SignState state) {
+        return signJwt(state);
+    }
+
+    @Benchmark
+    public Long jwtVerify(SignState state) {
+        return state.verifier.verify(state.token).getClaim("id").asLong();
+    }
+
+    @Benchmark
+    public byte[] binarySign(SignState state) {
+        return state.signer.sign(DPID, state.timestamp, PACKET_ID);
+    }
+
+    @Benchmark
+    public Long binaryVerify(SignState state) throws Exception {
+        return state.signer.verify(state.signature);
+    }
+
+    private static String signJwt(SignState state) {
+        return JWT.create()
+                .withClaim("dpid", DPID)
+                .withClaim("ts", state.timestamp)
+                .withClaim("id", PACKET_ID)
+                .sign(state.algorithm);
+    }
+
+    /**
+     * Main entry point.
+     */
+    public static void main(String[] args) throws Exception {
+        new Runner(new CommandLineOptions(args.length > 0 ? args : new String[] {
+                DiscoveryPacketSignBenchmark.class.getSimpleName()})).run();
+    }
+}
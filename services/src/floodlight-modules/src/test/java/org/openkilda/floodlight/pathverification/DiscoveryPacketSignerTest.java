@@ -0,0 +1,59 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.pathverification;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+import java.security.SignatureException;
+
+public class DiscoveryPacketSignerTest {
+    private static final long DPID = 0x00000000000000ffL;
+    private static final long TIMESTAMP = 1554000000000L;
+
+    @Test
+    public void shouldVerifySignedPacket() throws Exception {
+        DiscoveryPacketSigner signer = new DiscoveryPacketSigner("secret");
+
+        byte[] value = signer.sign(DPID, TIMESTAMP, 42L);
+        assertEquals(DiscoveryPacketSigner.LENGTH, value.length);
+        assertEquals(Long.valueOf(42L), signer.verify(value));
+    }
+
+    @Test
+    public void shouldVerifyPacketWithoutId() throws Exception {
+        DiscoveryPacketSigner signer = new DiscoveryPacketSigner("secret");
+
+        assertNull(signer.verify(signer.sign(DPID, TIMESTAMP, null)));
+    }
+
+    @Test(expected = SignatureException.class)
+    public void shouldRejectTamperedPacket() throws Exception {
+        DiscoveryPacketSigner signer = new DiscoveryPacketSigner("secret");
+
+        byte[] value = signer.sign(DPID, TIMESTAMP, 42L);
+        value[12] ^= 0x01;
+        signer.verify(value);
+    }
+
+    @Test(expected = SignatureException.class)
+    public void shouldRejectPacketSignedWithOtherSecret() throws Exception {
+        byte[] value = new DiscoveryPacketSigner("secret").sign(DPID, TIMESTAMP, 42L);
+        new DiscoveryPacketSigner("secret2").verify(value);
+    }
+}
@@ -24,6 +24,7 @@ import static org.easymock.EasyMock.replay;
 import static org.easymock.EasyMock.verify;
 
 import org.openkilda.floodlight.model.OfInput;
+import org.openkilda.floodlight.pathverification.type.DiscoverySignFormat;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.event.IslInfoData;
 
@@ -160,4 +161,33 @@ public class PathVerificationPacketSignTest extends PathVerificationPacketInTest
 
         verify(producerService);
     }
+
+    @Test
+    public void testBinarySignPacketPositive() throws Exception {
+        producerService.sendMessageAndTrack(anyObject(), anyObject(), anyObject());
+        expectLastCall().once();
+        replay(producerService);
+
+        putBinarySignedPacket();
+        pvs.handlePacketIn(new OfInput(sw2, ofPacketIn, context));
+        verify(producerService);
+    }
+
+    @Test
+    public void testBinarySignPacketInvalidSign() throws PacketParsingException, FloodlightModuleException {
+        replay(producerService);
+
+        putBinarySignedPacket();
+        pvs.initAlgorithm("secret2");
+        pvs.handlePacketIn(new OfInput(sw2, ofPacketIn, context));
+
+        verify(producerService);
+    }
+
+    private void putBinarySignedPacket() throws PacketParsingException {
+        pvs.setSignFormat(DiscoverySignFormat.BINARY);
+        OFPacketOut packet = pvs.generateVerificationPacket(sw1, OFPort.of(1), true, null);
+        IPacket packetData = new Ethernet().deserialize(packet.getData(), 0, packet.getData().length);
+        context.getStorage().put(IFloodlightProviderService.CONTEXT_PI_PAYLOAD, packetData);
+    }
 }
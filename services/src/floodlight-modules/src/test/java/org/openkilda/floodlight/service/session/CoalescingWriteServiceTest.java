@@ -0,0 +1,264 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.service.session;
+
+import static org.easymock.EasyMock.anyObject;
+import static org.easymock.EasyMock.capture;
+import static org.easymock.EasyMock.eq;
+import static org.easymock.EasyMock.expect;
+
+import org.openkilda.floodlight.KildaCore;
+import org.openkilda.floodlight.KildaCoreConfig;
+import org.openkilda.floodlight.error.SessionErrorResponseException;
+import org.openkilda.floodlight.service.of.InputService;
+
+import com.google.common.collect.ImmutableList;
+import net.floodlightcontroller.core.IOFSwitch;
+import net.floodlightcontroller.core.internal.IOFSwitchService;
+import net.floodlightcontroller.core.module.FloodlightModuleContext;
+import net.floodlightcontroller.threadpool.IThreadPoolService;
+import org.easymock.Capture;
+import org.easymock.CaptureType;
+import org.easymock.EasyMock;
+import org.easymock.EasyMockSupport;
+import org.easymock.Mock;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.projectfloodlight.openflow.protocol.OFBadActionCode;
+import org.projectfloodlight.openflow.protocol.OFFactory;
+import org.projectfloodlight.openflow.protocol.OFMessage;
+import org.projectfloodlight.openflow.protocol.OFPacketOut;
+import org.projectfloodlight.openflow.protocol.OFType;
+import org.projectfloodlight.openflow.protocol.ver13.OFFactoryVer13;
+import org.projectfloodlight.openflow.types.DatapathId;
+import org.projectfloodlight.openflow.types.OFPort;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class CoalescingWriteServiceTest extends EasyMockSupport {
+    private static final long WINDOW = 5;
+
+    private final SessionService sessionService = new SessionService();
+    private final FloodlightModuleContext moduleContext = new FloodlightModuleContext();
+
+    private final DatapathId dpId = DatapathId.of(0xfffe000000000001L);
+
+    private final Capture<OFMessage> swWriteMessages = EasyMock.newCapture(CaptureType.ALL);
+    private final Capture<Runnable> scheduledFlush = EasyMock.newCapture(CaptureType.ALL);
+
+    @Mock
+    private InputService inputService;
+
+    @Mock
+    private IOFSwitchService ofSwitchService;
+
+    @Mock
+    private IThreadPoolService threadPoolService;
+
+    @Mock
+    private ScheduledExecutorService scheduler;
+
+    @Mock
+    private KildaCore kildaCore;
+
+    @Mock
+    private KildaCoreConfig kildaCoreConfig;
+
+    @Mock
+    private IOFSwitch sw;
+
+    private CoalescingWriteService subject;
+
+    @Before
+    public void setUp() {
+        injectMocks(this);
+
+        inputService.addTranslator(OFType.ERROR, sessionService);
+        inputService.addTranslator(OFType.BARRIER_REPLY, sessionService);
+        ofSwitchService.addOFSwitchListener(anyObject(SwitchEventsTranslator.class));
+
+        expect(kildaCore.getConfig()).andStubReturn(kildaCoreConfig);
+        expect(kildaCoreConfig.getFlowModCoalescingWindowMillis()).andStubReturn(WINDOW);
+        expect(threadPoolService.getScheduledExecutor()).andStubReturn(scheduler);
+        expect(scheduler.schedule(capture(scheduledFlush), eq(WINDOW), eq(TimeUnit.MILLISECONDS)))
+                .andStubReturn(null);
+
+        expect(sw.getId()).andStubReturn(dpId);
+        expect(sw.getOFFactory()).andStubReturn(OFFactoryVer13.INSTANCE);
+        expect(sw.write(capture(swWriteMessages))).andStubReturn(true);
+
+        moduleContext.addService(InputService.class, inputService);
+        moduleContext.addService(IOFSwitchService.class, ofSwitchService);
+        moduleContext.addService(IThreadPoolService.class, threadPoolService);
+        moduleContext.addService(SessionService.class, sessionService);
+
+        replayAll();
+
+        sessionService.setup(moduleContext);
+        sessionService.switchActivate(dpId);
+
+        subject = new CoalescingWriteService(kildaCore);
+        subject.setup(moduleContext);
+    }
+
+    @After
+    public void tearDown() {
+        verifyAll();
+    }
+
+    @Test
+    public void singleBarrierPerBatch() throws Exception {
+        OFFactory ofFactory = sw.getOFFactory();
+        OFPacketOut alpha = makePacketOut(ofFactory, 1);
+        OFPacketOut beta = makePacketOut(ofFactory, 2);
+        OFPacketOut gamma = makePacketOut(ofFactory, 3);
+
+        CompletableFuture<Void> first = subject.write(sw, ImmutableList.of(alpha, beta));
+        CompletableFuture<Void> second = subject.write(sw, ImmutableList.of(gamma));
+
+        Assert.assertEquals(1, scheduledFlush.getValues().size());
+        Assert.assertTrue(swWriteMessages.getValues().isEmpty());
+
+        scheduledFlush.getValue().run();
+
+        List<OFMessage> swActualWrite = swWriteMessages.getValues();
+        Assert.assertEquals(4, swActualWrite.size());
+        Assert.assertEquals(alpha, swActualWrite.get(0));
+        Assert.assertEquals(beta, swActualWrite.get(1));
+        Assert.assertEquals(gamma, swActualWrite.get(2));
+        Assert.assertEquals(OFType.BARRIER_REQUEST, swActualWrite.get(3).getType());
+        Assert.assertFalse(first.isDone());
+        Assert.assertFalse(second.isDone());
+
+        completeBarrier();
+
+        Assert.assertTrue(first.isDone());
+        Assert.assertTrue(second.isDone());
+        first.get();
+        second.get();
+
+        // next write must open new batch
+        subject.write(sw, ImmutableList.of(makePacketOut(ofFactory, 4)));
+        Assert.assertEquals(2, scheduledFlush.getValues().size());
+    }
+
+    @Test
+    public void errorResponseFailsOnlyItsRequest() throws Exception {
+        OFFactory ofFactory = sw.getOFFactory();
+        OFPacketOut alpha = makePacketOut(ofFactory, 1);
+        OFPacketOut beta = makePacketOut(ofFactory, 2);
+
+        CompletableFuture<Void> first = subject.write(sw, ImmutableList.of(alpha));
+        CompletableFuture<Void> second = subject.write(sw, ImmutableList.of(beta));
+        scheduledFlush.getValue().run();
+
+        sessionService.handleResponse(dpId, ofFactory.errorMsgs().buildBadActionErrorMsg()
+                .setXid(alpha.getXid())
+                .setCode(OFBadActionCode.BAD_LEN)
+                .build());
+        completeBarrier();
+
+        try {
+            first.get();
+            throw new AssertionError("Expect exception to be thrown");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof SessionErrorResponseException);
+        }
+        second.get();
+    }
+
+    @Test
+    public void writeErrorFailsOnlyNotWrittenRequests() throws Exception {
+        DatapathId failingDpId = DatapathId.of(0xfffe000000000002L);
+        Capture<OFMessage> failingSwWrites = EasyMock.newCapture(CaptureType.ALL);
+        IOFSwitch failingSw = createMock(IOFSwitch.class);
+        expect(failingSw.getId()).andStubReturn(failingDpId);
+        expect(failingSw.getOFFactory()).andStubReturn(OFFactoryVer13.INSTANCE);
+        expect(failingSw.write(capture(failingSwWrites))).andReturn(true);
+        expect(failingSw.write(capture(failingSwWrites))).andReturn(false);
+        expect(failingSw.write(capture(failingSwWrites))).andReturn(true);
+        EasyMock.replay(failingSw);
+        sessionService.switchActivate(failingDpId);
+
+        OFFactory ofFactory = failingSw.getOFFactory();
+        final CompletableFuture<Void> first = subject.write(failingSw, ImmutableList.of(makePacketOut(ofFactory, 1)));
+        final CompletableFuture<Void> second = subject.write(failingSw, ImmutableList.of(makePacketOut(ofFactory, 2)));
+        final CompletableFuture<Void> third = subject.write(failingSw, ImmutableList.of(makePacketOut(ofFactory, 3)));
+        scheduledFlush.getValue().run();
+
+        Assert.assertFalse(first.isDone());
+        Assert.assertTrue(second.isCompletedExceptionally());
+        Assert.assertTrue(third.isCompletedExceptionally());
+
+        // written request is confirmed by the closing barrier
+        OFMessage barrier = failingSwWrites.getValues().get(2);
+        Assert.assertEquals(OFType.BARRIER_REQUEST, barrier.getType());
+        sessionService.handleResponse(failingDpId, ofFactory.buildBarrierReply().setXid(barrier.getXid()).build());
+        first.get();
+    }
+
+    @Test
+    public void flushWritesPendingBatchAndWaitsForBarrier() throws Exception {
+        OFFactory ofFactory = sw.getOFFactory();
+        CompletableFuture<Void> request = subject.write(sw, ImmutableList.of(makePacketOut(ofFactory, 1)));
+
+        CompletableFuture<Void> flushed = subject.flush(dpId);
+        Assert.assertEquals(2, swWriteMessages.getValues().size());
+        Assert.assertFalse(flushed.isDone());
+
+        completeBarrier();
+        Assert.assertTrue(request.isDone());
+        Assert.assertTrue(flushed.isDone());
+
+        // scheduled window end must not write anything
+        scheduledFlush.getValue().run();
+        Assert.assertEquals(2, swWriteMessages.getValues().size());
+
+        Assert.assertTrue(subject.flush(dpId).isDone());
+    }
+
+    @Test
+    public void flushWaitsForTrackedOperation() throws Exception {
+        CompletableFuture<Void> operation = new CompletableFuture<>();
+        subject.track(dpId, operation);
+
+        CompletableFuture<Void> flushed = subject.flush(dpId);
+        Assert.assertFalse(flushed.isDone());
+
+        operation.completeExceptionally(new IllegalStateException("fail"));
+        Assert.assertTrue(flushed.isDone());
+        flushed.get();
+    }
+
+    private void completeBarrier() {
+        List<OFMessage> requests = swWriteMessages.getValues();
+        OFMessage barrier = requests.get(requests.size() - 1);
+        Assert.assertEquals(OFType.BARRIER_REQUEST, barrier.getType());
+        sessionService.handleResponse(dpId, sw.getOFFactory().buildBarrierReply().setXid(barrier.getXid()).build());
+    }
+
+    private OFPacketOut makePacketOut(OFFactory ofFactory, int inPort) {
+        return ofFactory.buildPacketOut()
+                .setInPort(OFPort.of(inPort))
+                .build();
+    }
+}
@@ -15,6 +15,7 @@ import net.floodlightcontroller.core.IOFSwitch;
 import net.floodlightcontroller.core.internal.IOFSwitchService;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
 import net.floodlightcontroller.core.module.FloodlightModuleException;
+import net.floodlightcontroller.threadpool.IThreadPoolService;
 import org.easymock.Capture;
 import org.easymock.EasyMock;
 import org.junit.Before;
@@ -28,6 +29,8 @@ import org.projectfloodlight.openflow.types.OFPort;
 import org.projectfloodlight.openflow.types.OFVlanVidMatch;
 import org.projectfloodlight.openflow.types.U64;
 
+import java.util.concurrent.Executors;
+
 public class SwitchManagerOF12Test {
     private static final FloodlightModuleContext context = new FloodlightModuleContext();
     private static IOFSwitchService switchService = createMock(IOFSwitchService.class);
@@ -42,6 +45,11 @@ public class SwitchManagerOF12Test {
     @BeforeClass
     public static void setUpClass() {
         context.addService(IOFSwitchService.class, switchService);
+
+        IThreadPoolService threadPoolService = createMock(IThreadPoolService.class);
+        expect(threadPoolService.getScheduledExecutor()).andStubReturn(Executors.newSingleThreadScheduledExecutor());
+        EasyMock.replay(threadPoolService);
+        context.addService(IThreadPoolService.class, threadPoolService);
     }
 
     @Before
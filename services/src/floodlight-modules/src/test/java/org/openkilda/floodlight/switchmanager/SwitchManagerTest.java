@@ -36,8 +36,10 @@ import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.beans.HasPropertyWithValue.hasProperty;
 import static org.hamcrest.core.Every.everyItem;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.openkilda.floodlight.Constants.inputPort;
 import static org.openkilda.floodlight.Constants.inputVlanId;
 import static org.openkilda.floodlight.Constants.meterId;
@@ -61,6 +63,7 @@ import static org.openkilda.model.MeterId.createMeterIdForDefaultRule;
 import org.openkilda.floodlight.OFFactoryVer12Mock;
 import org.openkilda.floodlight.error.InvalidMeterIdException;
 import org.openkilda.floodlight.error.SwitchOperationException;
+import org.openkilda.floodlight.error.SwitchRequestTimeoutException;
 import org.openkilda.floodlight.service.FeatureDetectorService;
 import org.openkilda.floodlight.test.standard.OutputCommands;
 import org.openkilda.floodlight.test.standard.ReplaceSchemeOutputCommands;
@@ -75,6 +78,7 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
 import com.sabre.oss.conf4j.factory.jdkproxy.JdkProxyStaticConfigurationFactory;
 import com.sabre.oss.conf4j.source.MapConfigurationSource;
 import net.floodlightcontroller.core.IOFSwitch;
@@ -83,6 +87,7 @@ import net.floodlightcontroller.core.internal.IOFSwitchService;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
 import net.floodlightcontroller.core.module.FloodlightModuleException;
 import net.floodlightcontroller.restserver.IRestApiService;
+import net.floodlightcontroller.threadpool.IThreadPoolService;
 import org.apache.commons.lang3.StringUtils;
 import org.easymock.Capture;
 import org.easymock.CaptureType;
@@ -123,7 +128,11 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
@@ -152,6 +161,7 @@ public class SwitchManagerTest {
     private SwitchDescription switchDescription;
     private DatapathId dpid;
     private SwitchManagerConfig config;
+    private Capture<Runnable> scheduledTimeout;
 
     @Before
     public void setUp() throws FloodlightModuleException {
@@ -170,6 +180,18 @@ public class SwitchManagerTest {
         context.addService(IOFSwitchService.class, ofSwitchService);
         context.addService(FeatureDetectorService.class, featureDetectorService);
 
+        scheduledTimeout = EasyMock.newCapture();
+        ScheduledFuture<?> timeout = createMock(ScheduledFuture.class);
+        expect(timeout.cancel(false)).andStubReturn(true);
+        ScheduledExecutorService scheduler = createMock(ScheduledExecutorService.class);
+        EasyMock.<ScheduledFuture<?>>expect(
+                scheduler.schedule(capture(scheduledTimeout), anyLong(), anyObject(TimeUnit.class)))
+                .andStubReturn(timeout);
+        IThreadPoolService threadPoolService = createMock(IThreadPoolService.class);
+        expect(threadPoolService.getScheduledExecutor()).andStubReturn(scheduler);
+        replay(timeout, scheduler, threadPoolService);
+        context.addService(IThreadPoolService.class, threadPoolService);
+
         switchManager = new SwitchManager();
         switchManager.init(context);
     }
@@ -193,10 +215,12 @@ public class SwitchManagerTest {
     }
 
     private Map<Long, Capture<OFFlowMod>> prepareForDefaultRuleInstall() throws Exception {
-        ListenableFuture<List<OFMeterConfigStatsReply>> ofMeterFuture = mock(ListenableFuture.class);
-        ListenableFuture<List<OFGroupDescStatsReply>> ofGroupFuture = mock(ListenableFuture.class);
         OFMeterConfigStatsReply meterReply = mock(OFMeterConfigStatsReply.class);
         OFGroupDescStatsReply groupReply = mock(OFGroupDescStatsReply.class);
+        ListenableFuture<List<OFMeterConfigStatsReply>> ofMeterFuture =
+                Futures.immediateFuture(Collections.singletonList(meterReply));
+        ListenableFuture<List<OFGroupDescStatsReply>> ofGroupFuture =
+                Futures.immediateFuture(Collections.singletonList(groupReply));
         mockGetGroupsRequest(ImmutableList.of(ROUND_TRIP_LATENCY_GROUP_ID));
         mockGetMetersRequest(ImmutableList.of(meterId), true, 10L);
 
@@ -223,9 +247,6 @@ public class SwitchManagerTest {
         expect(iofSwitch.writeRequest(anyObject(OFBarrierRequest.class)))
                 .andReturn(Futures.immediateFuture(createMock(OFBarrierReply.class))).times(2);
 
-        expect(ofMeterFuture.get(anyLong(), anyObject())).andStubReturn(Collections.singletonList(meterReply));
-        expect(ofGroupFuture.get(anyLong(), anyObject())).andStubReturn(Collections.singletonList(groupReply));
-
         expect(switchDescription.getManufacturerDescription()).andReturn("").times(8);
         expect(featureDetectorService.detectSwitch(iofSwitch)).andStubReturn(
                 Sets.newHashSet(BFD, GROUP_PACKET_OUT_CONTROLLER));
@@ -233,8 +254,6 @@ public class SwitchManagerTest {
 
         replay(ofSwitchService);
         replay(iofSwitch);
-        replay(ofMeterFuture);
-        replay(ofGroupFuture);
         replay(meterReply);
         replay(groupReply);
         replay(switchDescription);
@@ -433,6 +452,27 @@ public class SwitchManagerTest {
         // TODO
     }
 
+    @Test
+    public void dumpFlowTableAsyncFailsOnTimeout() throws Exception {
+        expect(ofSwitchService.getActiveSwitch(dpid)).andStubReturn(iofSwitch);
+        expect(iofSwitch.getOFFactory()).andStubReturn(ofFactory);
+        expect(iofSwitch.getId()).andStubReturn(dpid);
+        SettableFuture<List<OFFlowStatsReply>> reply = SettableFuture.create();
+        expect(iofSwitch.writeStatsRequest(isA(OFFlowStatsRequest.class))).andReturn(reply);
+        replay(ofSwitchService, iofSwitch);
+
+        CompletableFuture<List<OFFlowStatsEntry>> result = switchManager.dumpFlowTableAsync(dpid);
+        assertFalse(result.isDone());
+
+        scheduledTimeout.getValue().run();
+        try {
+            result.get();
+            fail("Expect exception to be thrown");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof SwitchRequestTimeoutException);
+        }
+    }
+
     @Test
     public void installBandwidthMeterForCentecSwitch() throws Exception {
         runInstallMeterTest(bandwidth, Math.round(bandwidth * config.getFlowMeterBurstCoefficient()), true, false);
@@ -913,7 +953,7 @@ public class SwitchManagerTest {
         replay(ofSwitchService, iofSwitch, switchDescription);
 
         // when
-        switchManager.installMeterForDefaultRule(iofSwitch, unicastMeterId, 100L, new ArrayList<>());
+        switchManager.installMeterForDefaultRuleAsync(iofSwitch, unicastMeterId, 100L, new ArrayList<>()).get();
 
         // then
         final List<OFMeterMod> actual = capture.getValues();
@@ -949,7 +989,7 @@ public class SwitchManagerTest {
         replay(ofSwitchService, iofSwitch, switchDescription);
 
         // when
-        switchManager.installMeterForDefaultRule(iofSwitch, unicastMeterId, expectedRate, new ArrayList<>());
+        switchManager.installMeterForDefaultRuleAsync(iofSwitch, unicastMeterId, expectedRate, new ArrayList<>()).get();
 
         // verify meters installation
         final List<OFMeterMod> actual = capture.getValues();
@@ -985,7 +1025,7 @@ public class SwitchManagerTest {
         replay(ofSwitchService, iofSwitch, switchDescription);
 
         // when
-        switchManager.installMeterForDefaultRule(iofSwitch, unicastMeterId, expectedRate, new ArrayList<>());
+        switchManager.installMeterForDefaultRuleAsync(iofSwitch, unicastMeterId, expectedRate, new ArrayList<>()).get();
 
         // verify meters installation
         final List<OFMeterMod> actual = capture.getValues();
@@ -1020,7 +1060,7 @@ public class SwitchManagerTest {
         mockGetMetersRequest(Lists.newArrayList(unicastMeter), true, originRate);
         replay(ofSwitchService, iofSwitch, switchDescription);
 
-        switchManager.installMeterForDefaultRule(iofSwitch, unicastMeter, updatedRate, new ArrayList<>());
+        switchManager.installMeterForDefaultRuleAsync(iofSwitch, unicastMeter, updatedRate, new ArrayList<>()).get();
 
         final List<OFMeterMod> actual = capture.getValues();
         assertEquals(2, actual.size());
@@ -1086,14 +1126,11 @@ public class SwitchManagerTest {
     }
 
 
-    private void mockBarrierRequest() throws InterruptedException, ExecutionException, TimeoutException {
+    private void mockBarrierRequest() {
         OFBarrierReply ofBarrierReply = mock(OFBarrierReply.class);
 
-        ListenableFuture<OFBarrierReply> ofBarrierFuture = mock(ListenableFuture.class);
-        expect(ofBarrierFuture.get(anyLong(), anyObject())).andStubReturn(ofBarrierReply);
-        replay(ofBarrierFuture);
-
-        expect(iofSwitch.writeRequest(anyObject(OFBarrierRequest.class))).andStubReturn(ofBarrierFuture);
+        expect(iofSwitch.writeRequest(anyObject(OFBarrierRequest.class)))
+                .andStubReturn(Futures.immediateFuture(ofBarrierReply));
     }
 
     private void mockFlowStatsRequest(Long... cookies)
@@ -1117,9 +1154,8 @@ public class SwitchManagerTest {
         expect(ofFlowStatsReply.getEntries()).andStubReturn(ofFlowStatsEntries);
         replay(ofFlowStatsReply);
 
-        ListenableFuture<List<OFFlowStatsReply>> ofStatsFuture = mock(ListenableFuture.class);
-        expect(ofStatsFuture.get(anyLong(), anyObject())).andStubReturn(singletonList(ofFlowStatsReply));
-        replay(ofStatsFuture);
+        ListenableFuture<List<OFFlowStatsReply>> ofStatsFuture = Futures.immediateFuture(
+                singletonList(ofFlowStatsReply));
 
         expect(iofSwitch.writeStatsRequest(isA(OFFlowStatsRequest.class))).andReturn(ofStatsFuture);
     }
@@ -1184,10 +1220,10 @@ public class SwitchManagerTest {
         OFMeterConfigStatsReply statsReply = mock(OFMeterConfigStatsReply.class);
         expect(statsReply.getEntries()).andStubReturn(meterConfigs);
 
-        ListenableFuture<List<OFMeterConfigStatsReply>> ofStatsFuture = mock(ListenableFuture.class);
-        expect(ofStatsFuture.get(anyLong(), anyObject())).andStubReturn(Collections.singletonList(statsReply));
+        ListenableFuture<List<OFMeterConfigStatsReply>> ofStatsFuture =
+                Futures.immediateFuture(Collections.singletonList(statsReply));
 
-        replay(statsReply, ofStatsFuture);
+        replay(statsReply);
         expect(iofSwitch.writeStatsRequest(isA(OFMeterConfigStatsRequest.class)))
                 .andStubReturn(ofStatsFuture);
     }
@@ -1221,11 +1257,11 @@ public class SwitchManagerTest {
         OFGroupDescStatsReply statsReply = mock(OFGroupDescStatsReply.class);
         expect(statsReply.getEntries()).andStubReturn(meterConfigs);
 
-        ListenableFuture<List<OFGroupDescStatsReply>> ofStatsFuture = mock(ListenableFuture.class);
-        expect(ofStatsFuture.get(anyLong(), anyObject())).andStubReturn(Collections.singletonList(statsReply));
+        ListenableFuture<List<OFGroupDescStatsReply>> ofStatsFuture =
+                Futures.immediateFuture(Collections.singletonList(statsReply));
 
         expect(iofSwitch.writeStatsRequest(isA(OFGroupDescStatsRequest.class)))
                 .andStubReturn(ofStatsFuture);
-        replay(statsReply, ofStatsFuture);
+        replay(statsReply);
     }
 }
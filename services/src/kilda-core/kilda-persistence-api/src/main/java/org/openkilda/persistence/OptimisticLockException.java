@@ -0,0 +1,27 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.persistence;
+
+/**
+ * {@code OptimisticLockException} indicates that entities read by a transaction have been modified by a concurrent
+ * one, so the transaction can't be committed.
+ */
+public class OptimisticLockException extends PersistenceException {
+    public OptimisticLockException(String message) {
+        super(message);
+    }
+}
@@ -39,4 +39,14 @@ public interface TransactionManager {
      * @param action the transactional action
      */
     <E extends Throwable> void doInTransaction(TransactionCallbackWithoutResult<E> action) throws E;
+
+    /**
+     * Register the action to be executed if the current root transaction is rolled back, including a rollback
+     * before retrying the transaction. Actions are executed in reverse order of registration, after the rollback.
+     * <p/>
+     * Allows to undo in-memory side effects of a transaction, e.g. to return IDs allocated by it.
+     *
+     * @param action the undo action
+     */
+    void doOnRollback(Runnable action);
 }
@@ -0,0 +1,135 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.persistence.cache;
+
+import org.openkilda.model.Isl;
+import org.openkilda.model.PathId;
+import org.openkilda.model.SwitchId;
+import org.openkilda.persistence.repositories.IslRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@link IslRepository} decorator which serves lookups by ISL endpoints from {@link RepositoryCache}.
+ */
+class CachingIslRepository implements IslRepository {
+    private final IslRepository delegate;
+    private final RepositoryCache cache;
+
+    CachingIslRepository(IslRepository delegate, RepositoryCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Collection<Isl> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Collection<Isl> findByEndpoint(SwitchId switchId, int port) {
+        return delegate.findByEndpoint(switchId, port);
+    }
+
+    @Override
+    public Collection<Isl> findBySrcEndpoint(SwitchId srcSwitchId, int srcPort) {
+        return delegate.findBySrcEndpoint(srcSwitchId, srcPort);
+    }
+
+    @Override
+    public Collection<Isl> findByDestEndpoint(SwitchId dstSwitchId, int dstPort) {
+        return delegate.findByDestEndpoint(dstSwitchId, dstPort);
+    }
+
+    @Override
+    public Collection<Isl> findBySrcSwitch(SwitchId switchId) {
+        return delegate.findBySrcSwitch(switchId);
+    }
+
+    @Override
+    public Collection<Isl> findByDestSwitch(SwitchId switchId) {
+        return delegate.findByDestSwitch(switchId);
+    }
+
+    @Override
+    public Optional<Isl> findByEndpoints(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort) {
+        return cache.getIsl(srcSwitchId, srcPort, dstSwitchId, dstPort,
+                () -> delegate.findByEndpoints(srcSwitchId, srcPort, dstSwitchId, dstPort));
+    }
+
+    @Override
+    public Collection<Isl> findByPartialEndpoints(SwitchId srcSwitchId, Integer srcPort,
+                                                  SwitchId dstSwitchId, Integer dstPort) {
+        return delegate.findByPartialEndpoints(srcSwitchId, srcPort, dstSwitchId, dstPort);
+    }
+
+    @Override
+    public Collection<Isl> findActiveAndOccupiedByFlowPathWithAvailableBandwidth(List<PathId> pathIds,
+                                                                                 long requiredBandwidth) {
+        return delegate.findActiveAndOccupiedByFlowPathWithAvailableBandwidth(pathIds, requiredBandwidth);
+    }
+
+    @Override
+    public Collection<Isl> findAllActive() {
+        return delegate.findAllActive();
+    }
+
+    @Override
+    public Collection<Isl> findActiveWithAvailableBandwidth(long requiredBandwidth) {
+        return delegate.findActiveWithAvailableBandwidth(requiredBandwidth);
+    }
+
+    @Override
+    public Collection<Isl> findSymmetricActiveWithAvailableBandwidth(long requiredBandwidth) {
+        return delegate.findSymmetricActiveWithAvailableBandwidth(requiredBandwidth);
+    }
+
+    @Override
+    public Optional<Isl> updateAvailableBandwidth(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort,
+                                                  long delta) {
+        try {
+            return delegate.updateAvailableBandwidth(srcSwitchId, srcPort, dstSwitchId, dstPort, delta);
+        } finally {
+            cache.invalidateIsl(srcSwitchId, srcPort, dstSwitchId, dstPort);
+        }
+    }
+
+    @Override
+    public void createOrUpdate(Isl entity) {
+        try {
+            delegate.createOrUpdate(entity);
+        } finally {
+            invalidate(entity);
+        }
+    }
+
+    @Override
+    public void delete(Isl entity) {
+        try {
+            delegate.delete(entity);
+        } finally {
+            invalidate(entity);
+        }
+    }
+
+    private void invalidate(Isl isl) {
+        cache.invalidateIsl(isl.getSrcSwitch().getSwitchId(), isl.getSrcPort(),
+                isl.getDestSwitch().getSwitchId(), isl.getDestPort());
+    }
+}
@@ -0,0 +1,66 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.persistence.cache;
+
+import org.openkilda.model.LinkProps;
+import org.openkilda.model.SwitchId;
+import org.openkilda.persistence.repositories.LinkPropsRepository;
+
+import java.util.Collection;
+
+/**
+ * {@link LinkPropsRepository} decorator which serves lookups by endpoints from {@link RepositoryCache}.
+ */
+class CachingLinkPropsRepository implements LinkPropsRepository {
+    private final LinkPropsRepository delegate;
+    private final RepositoryCache cache;
+
+    CachingLinkPropsRepository(LinkPropsRepository delegate, RepositoryCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Collection<LinkProps> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Collection<LinkProps> findByEndpoints(SwitchId srcSwitch, Integer srcPort,
+                                                 SwitchId dstSwitch, Integer dstPort) {
+        return cache.getLinkProps(srcSwitch, srcPort, dstSwitch, dstPort,
+                () -> delegate.findByEndpoints(srcSwitch, srcPort, dstSwitch, dstPort));
+    }
+
+    @Override
+    public void createOrUpdate(LinkProps entity) {
+        try {
+            delegate.createOrUpdate(entity);
+        } finally {
+            cache.invalidateLinkProps();
+        }
+    }
+
+    @Override
+    public void delete(LinkProps entity) {
+        try {
+            delegate.delete(entity);
+        } finally {
+            cache.invalidateLinkProps();
+        }
+    }
+}
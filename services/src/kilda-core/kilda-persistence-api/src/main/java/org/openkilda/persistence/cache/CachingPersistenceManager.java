@@ -0,0 +1,81 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.persistence.cache;
+
+import org.openkilda.persistence.PersistenceManager;
+import org.openkilda.persistence.TransactionManager;
+import org.openkilda.persistence.repositories.RepositoryFactory;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link PersistenceManager} decorator which caches switches, ISLs and link props read outside of transactions.
+ * <p/>
+ * All copies of the manager deserialized in the same process share a single {@link RepositoryCache}, so a change
+ * made via one component invalidates the entities cached by others. Changes made by other processes become visible
+ * once the cached entities expire.
+ * <p/>
+ * Cached entities are shared between callers and must not be modified outside of a transaction.
+ */
+public class CachingPersistenceManager implements PersistenceManager {
+    private static final ConcurrentMap<String, RepositoryCache> CACHES = new ConcurrentHashMap<>();
+
+    private final PersistenceManager delegate;
+    private final RepositoryCacheConfig config;
+    private final String cacheId = UUID.randomUUID().toString();
+
+    private transient volatile TransactionManager transactionManager;
+
+    public CachingPersistenceManager(PersistenceManager delegate, RepositoryCacheConfig config) {
+        this.delegate = delegate;
+        this.config = config;
+    }
+
+    /**
+     * Wraps the persistence manager into the caching one if the cache is enabled by the config.
+     */
+    public static PersistenceManager wrapIfEnabled(PersistenceManager persistenceManager,
+                                                   RepositoryCacheConfig config) {
+        return config.isEnabled() ? new CachingPersistenceManager(persistenceManager, config) : persistenceManager;
+    }
+
+    @Override
+    public TransactionManager getTransactionManager() {
+        if (transactionManager == null) {
+            synchronized (this) {
+                if (transactionManager == null) {
+                    transactionManager = new CachingTransactionManager(delegate.getTransactionManager(), getCache());
+                }
+            }
+        }
+        return transactionManager;
+    }
+
+    @Override
+    public RepositoryFactory getRepositoryFactory() {
+        return new CachingRepositoryFactory(delegate.getRepositoryFactory(), getCache());
+    }
+
+    /**
+     * Gets the cache shared by the copies of this manager, e.g. to invalidate entities on topology events.
+     */
+    public RepositoryCache getCache() {
+        return CACHES.computeIfAbsent(cacheId, id -> new RepositoryCache(config));
+    }
+}
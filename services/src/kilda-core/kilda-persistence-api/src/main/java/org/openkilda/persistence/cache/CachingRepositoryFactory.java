@@ -0,0 +1,129 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.persistence.cache;
+
+import org.openkilda.persistence.repositories.BfdSessionRepository;
+import org.openkilda.persistence.repositories.FeatureTogglesRepository;
+import org.openkilda.persistence.repositories.FlowCookieRepository;
+import org.openkilda.persistence.repositories.FlowMeterRepository;
+import org.openkilda.persistence.repositories.FlowPairRepository;
+import org.openkilda.persistence.repositories.FlowPathRepository;
+import org.openkilda.persistence.repositories.FlowRepository;
+import org.openkilda.persistence.repositories.IslRepository;
+import org.openkilda.persistence.repositories.LinkPropsRepository;
+import org.openkilda.persistence.repositories.RepositoryFactory;
+import org.openkilda.persistence.repositories.SwitchRepository;
+import org.openkilda.persistence.repositories.TransitVlanRepository;
+import org.openkilda.persistence.repositories.history.FlowEventRepository;
+import org.openkilda.persistence.repositories.history.FlowHistoryRepository;
+import org.openkilda.persistence.repositories.history.FlowStateRepository;
+import org.openkilda.persistence.repositories.history.HistoryLogRepository;
+import org.openkilda.persistence.repositories.history.StateLogRepository;
+
+/**
+ * {@link RepositoryFactory} decorator which puts switch, ISL and link props repositories over
+ * {@link RepositoryCache}. Other repositories are created by the delegate as is.
+ */
+class CachingRepositoryFactory implements RepositoryFactory {
+    private final RepositoryFactory delegate;
+    private final RepositoryCache cache;
+
+    CachingRepositoryFactory(RepositoryFactory delegate, RepositoryCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public FlowCookieRepository createFlowCookieRepository() {
+        return delegate.createFlowCookieRepository();
+    }
+
+    @Override
+    public FlowMeterRepository createFlowMeterRepository() {
+        return delegate.createFlowMeterRepository();
+    }
+
+    @Override
+    public FlowPathRepository createFlowPathRepository() {
+        return delegate.createFlowPathRepository();
+    }
+
+    @Override
+    public FlowRepository createFlowRepository() {
+        return delegate.createFlowRepository();
+    }
+
+    @Override
+    public FlowPairRepository createFlowPairRepository() {
+        return delegate.createFlowPairRepository();
+    }
+
+    @Override
+    public IslRepository createIslRepository() {
+        return new CachingIslRepository(delegate.createIslRepository(), cache);
+    }
+
+    @Override
+    public LinkPropsRepository createLinkPropsRepository() {
+        return new CachingLinkPropsRepository(delegate.createLinkPropsRepository(), cache);
+    }
+
+    @Override
+    public SwitchRepository createSwitchRepository() {
+        return new CachingSwitchRepository(delegate.createSwitchRepository(), cache);
+    }
+
+    @Override
+    public TransitVlanRepository createTransitVlanRepository() {
+        return delegate.createTransitVlanRepository();
+    }
+
+    @Override
+    public FeatureTogglesRepository createFeatureTogglesRepository() {
+        return delegate.createFeatureTogglesRepository();
+    }
+
+    @Override
+    public FlowEventRepository createFlowEventRepository() {
+        return delegate.createFlowEventRepository();
+    }
+
+    @Override
+    public FlowHistoryRepository createFlowHistoryRepository() {
+        return delegate.createFlowHistoryRepository();
+    }
+
+    @Override
+    public FlowStateRepository createFlowStateRepository() {
+        return delegate.createFlowStateRepository();
+    }
+
+    @Override
+    public HistoryLogRepository createHistoryLogRepository() {
+        return delegate.createHistoryLogRepository();
+    }
+
+    @Override
+    public StateLogRepository createStateLogRepository() {
+        return delegate.createStateLogRepository();
+    }
+
+    @Override
+    public BfdSessionRepository createBfdSessionRepository() {
+        return delegate.createBfdSessionRepository();
+    }
+}
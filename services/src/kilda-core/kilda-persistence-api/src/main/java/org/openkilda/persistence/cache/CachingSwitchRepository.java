@@ -0,0 +1,92 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.persistence.cache;
+
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.persistence.repositories.SwitchRepository;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * {@link SwitchRepository} decorator which serves lookups by switch id from {@link RepositoryCache}.
+ */
+class CachingSwitchRepository implements SwitchRepository {
+    private final SwitchRepository delegate;
+    private final RepositoryCache cache;
+
+    CachingSwitchRepository(SwitchRepository delegate, RepositoryCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Collection<Switch> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public boolean exists(SwitchId switchId) {
+        if (cache.isInTransaction()) {
+            return delegate.exists(switchId);
+        }
+        return findById(switchId).isPresent();
+    }
+
+    @Override
+    public Optional<Switch> findById(SwitchId switchId) {
+        return cache.getSwitch(switchId, () -> delegate.findById(switchId));
+    }
+
+    @Override
+    public Switch reload(Switch entity) {
+        return delegate.reload(entity);
+    }
+
+    @Override
+    public void lockSwitches(Switch... switches) {
+        delegate.lockSwitches(switches);
+    }
+
+    @Override
+    public void createOrUpdate(Switch entity) {
+        try {
+            delegate.createOrUpdate(entity);
+        } finally {
+            cache.invalidateSwitch(entity.getSwitchId());
+        }
+    }
+
+    @Override
+    public void delete(Switch entity) {
+        try {
+            delegate.delete(entity);
+        } finally {
+            cache.invalidateSwitch(entity.getSwitchId());
+        }
+    }
+
+    @Override
+    public void forceDelete(SwitchId switchId) {
+        try {
+            delegate.forceDelete(switchId);
+        } finally {
+            cache.invalidateSwitch(switchId);
+        }
+    }
+}
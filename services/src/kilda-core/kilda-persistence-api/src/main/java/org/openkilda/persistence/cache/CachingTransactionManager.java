@@ -0,0 +1,59 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.persistence.cache;
+
+import org.openkilda.persistence.TransactionCallback;
+import org.openkilda.persistence.TransactionCallbackWithoutResult;
+import org.openkilda.persistence.TransactionManager;
+
+/**
+ * {@link TransactionManager} decorator which tracks transaction boundaries for {@link RepositoryCache}.
+ */
+class CachingTransactionManager implements TransactionManager {
+    private final TransactionManager delegate;
+    private final RepositoryCache cache;
+
+    CachingTransactionManager(TransactionManager delegate, RepositoryCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public <T, E extends Throwable> T doInTransaction(TransactionCallback<T, E> action) throws E {
+        cache.beginTransaction();
+        try {
+            return delegate.doInTransaction(action);
+        } finally {
+            cache.completeTransaction();
+        }
+    }
+
+    @Override
+    public <E extends Throwable> void doInTransaction(TransactionCallbackWithoutResult<E> action) throws E {
+        cache.beginTransaction();
+        try {
+            delegate.doInTransaction(action);
+        } finally {
+            cache.completeTransaction();
+        }
+    }
+
+    @Override
+    public void doOnRollback(Runnable action) {
+        delegate.doOnRollback(action);
+    }
+}
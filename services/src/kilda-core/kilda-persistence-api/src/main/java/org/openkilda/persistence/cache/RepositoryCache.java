@@ -0,0 +1,246 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.persistence.cache;
+
+import org.openkilda.model.Isl;
+import org.openkilda.model.LinkProps;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded caches of switches, ISLs and link props shared by the caching repositories of a process.
+ * <p/>
+ * Lookups made inside a transaction bypass the caches, as the returned entities must be managed by the transaction
+ * session. Invalidations caused by changes made inside a transaction are applied immediately and once again
+ * when the outermost transaction completes, so a concurrent reader can't keep the not yet committed state.
+ */
+@Slf4j
+public class RepositoryCache {
+    static final String SWITCHES = "switches";
+    static final String ISLS = "isls";
+    static final String LINK_PROPS = "link_props";
+
+    private final Cache<SwitchId, Optional<Switch>> switches;
+    private final Cache<IslKey, Optional<Isl>> isls;
+    private final Cache<LinkPropsKey, Collection<LinkProps>> linkProps;
+
+    private final Ticker ticker;
+    private final long statsLogIntervalNanos;
+    private final AtomicLong nextStatsLogTime;
+
+    private final ThreadLocal<TransactionScope> transactionScope = ThreadLocal.withInitial(TransactionScope::new);
+
+    public RepositoryCache(RepositoryCacheConfig config) {
+        this(config, Ticker.systemTicker());
+    }
+
+    @VisibleForTesting
+    RepositoryCache(RepositoryCacheConfig config, Ticker ticker) {
+        this.switches = buildCache(config, ticker);
+        this.isls = buildCache(config, ticker);
+        this.linkProps = buildCache(config, ticker);
+
+        this.ticker = ticker;
+        this.statsLogIntervalNanos = TimeUnit.SECONDS.toNanos(config.getStatsLogIntervalSeconds());
+        this.nextStatsLogTime = new AtomicLong(ticker.read() + statsLogIntervalNanos);
+    }
+
+    private static <K, V> Cache<K, V> buildCache(RepositoryCacheConfig config, Ticker ticker) {
+        return CacheBuilder.newBuilder()
+                .maximumSize(config.getMaxSize())
+                .expireAfterWrite(config.getExpireAfterWriteSeconds(), TimeUnit.SECONDS)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    Optional<Switch> getSwitch(SwitchId switchId, Supplier<Optional<Switch>> loader) {
+        return lookup(switches, switchId, loader);
+    }
+
+    Optional<Isl> getIsl(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort,
+                         Supplier<Optional<Isl>> loader) {
+        return lookup(isls, new IslKey(srcSwitchId, srcPort, dstSwitchId, dstPort), loader);
+    }
+
+    Collection<LinkProps> getLinkProps(SwitchId srcSwitchId, Integer srcPort, SwitchId dstSwitchId, Integer dstPort,
+                                       Supplier<Collection<LinkProps>> loader) {
+        return lookup(linkProps, new LinkPropsKey(srcSwitchId, srcPort, dstSwitchId, dstPort), loader);
+    }
+
+    private <K, V> V lookup(Cache<K, V> cache, K key, Supplier<V> loader) {
+        if (isInTransaction()) {
+            return loader.get();
+        }
+
+        logStatsIfRequired();
+        try {
+            return cache.get(key, loader::get);
+        } catch (UncheckedExecutionException | ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Invalidates the switch along with ISLs connected to it, as the latter reference the switch entity.
+     */
+    public void invalidateSwitch(SwitchId switchId) {
+        applyInvalidation(() -> {
+            switches.invalidate(switchId);
+            isls.asMap().keySet().removeIf(key -> key.isConnectedTo(switchId));
+        });
+    }
+
+    /**
+     * Invalidates the ISL in both directions.
+     */
+    public void invalidateIsl(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort) {
+        applyInvalidation(() -> {
+            isls.invalidate(new IslKey(srcSwitchId, srcPort, dstSwitchId, dstPort));
+            isls.invalidate(new IslKey(dstSwitchId, dstPort, srcSwitchId, srcPort));
+        });
+    }
+
+    /**
+     * Invalidates ISLs connected to the port, as their state follows the state of the port.
+     */
+    public void invalidatePort(SwitchId switchId, int port) {
+        applyInvalidation(() -> isls.asMap().keySet().removeIf(key -> key.isConnectedTo(switchId, port)));
+    }
+
+    /**
+     * Invalidates all link props, as lookups may be done by partial endpoints.
+     */
+    public void invalidateLinkProps() {
+        applyInvalidation(linkProps::invalidateAll);
+    }
+
+    /**
+     * Invalidates all cached entities.
+     */
+    public void invalidateAll() {
+        applyInvalidation(() -> {
+            switches.invalidateAll();
+            isls.invalidateAll();
+            linkProps.invalidateAll();
+        });
+    }
+
+    private void applyInvalidation(Runnable invalidation) {
+        invalidation.run();
+
+        TransactionScope scope = transactionScope.get();
+        if (scope.depth > 0) {
+            scope.pendingInvalidations.add(invalidation);
+        }
+    }
+
+    boolean isInTransaction() {
+        return transactionScope.get().depth > 0;
+    }
+
+    void beginTransaction() {
+        transactionScope.get().depth++;
+    }
+
+    void completeTransaction() {
+        TransactionScope scope = transactionScope.get();
+        if (--scope.depth == 0) {
+            List<Runnable> pending = new ArrayList<>(scope.pendingInvalidations);
+            transactionScope.remove();
+            pending.forEach(Runnable::run);
+        }
+    }
+
+    /**
+     * Gets hit/miss statistics of the caches.
+     */
+    public Map<String, CacheStats> getStats() {
+        return ImmutableMap.of(
+                SWITCHES, switches.stats(),
+                ISLS, isls.stats(),
+                LINK_PROPS, linkProps.stats());
+    }
+
+    private void logStatsIfRequired() {
+        if (statsLogIntervalNanos <= 0) {
+            return;
+        }
+
+        long now = ticker.read();
+        long next = nextStatsLogTime.get();
+        if (now >= next && nextStatsLogTime.compareAndSet(next, now + statsLogIntervalNanos)) {
+            log.info("Repository cache stats: {} {} of {} entries, {} {} of {} entries, {} {} of {} entries",
+                    SWITCHES, switches.stats(), switches.size(), ISLS, isls.stats(), isls.size(),
+                    LINK_PROPS, linkProps.stats(), linkProps.size());
+        }
+    }
+
+    private static class TransactionScope {
+        private int depth;
+        private final List<Runnable> pendingInvalidations = new ArrayList<>();
+    }
+
+    @Value
+    private static class IslKey {
+        SwitchId srcSwitchId;
+        int srcPort;
+        SwitchId dstSwitchId;
+        int dstPort;
+
+        boolean isConnectedTo(SwitchId switchId) {
+            return Objects.equals(srcSwitchId, switchId) || Objects.equals(dstSwitchId, switchId);
+        }
+
+        boolean isConnectedTo(SwitchId switchId, int port) {
+            return (Objects.equals(srcSwitchId, switchId) && srcPort == port)
+                    || (Objects.equals(dstSwitchId, switchId) && dstPort == port);
+        }
+    }
+
+    @Value
+    private static class LinkPropsKey {
+        SwitchId srcSwitchId;
+        Integer srcPort;
+        SwitchId dstSwitchId;
+        Integer dstPort;
+    }
+}
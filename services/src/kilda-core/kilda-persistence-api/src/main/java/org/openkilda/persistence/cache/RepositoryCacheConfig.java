@@ -0,0 +1,49 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.persistence.cache;
+
+import com.sabre.oss.conf4j.annotation.Configuration;
+import com.sabre.oss.conf4j.annotation.Default;
+import com.sabre.oss.conf4j.annotation.Key;
+
+import java.io.Serializable;
+
+@Configuration
+@Key("persistence.cache")
+public interface RepositoryCacheConfig extends Serializable {
+    @Key("enabled")
+    @Default("false")
+    boolean isEnabled();
+
+    @Key("max.size")
+    @Default("10000")
+    long getMaxSize();
+
+    /**
+     * Bounds the staleness caused by changes made outside of the process which owns the cache.
+     */
+    @Key("expire.after.write.seconds")
+    @Default("30")
+    long getExpireAfterWriteSeconds();
+
+    /**
+     * Interval between dumps of hit/miss statistics into the log, 0 disables the dumps.
+     */
+    @Key("stats.log.interval.seconds")
+    @Default("60")
+    long getStatsLogIntervalSeconds();
+}
@@ -0,0 +1,309 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.persistence.history;
+
+import org.openkilda.model.history.FlowEvent;
+import org.openkilda.persistence.PersistenceException;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.File;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Append-only store of flow events split into time partitions, each partition is a sequence of segment files rolled
+ * by size.
+ * <p/>
+ * Appended events are buffered and written by a background flusher in batches, either once the buffer reaches
+ * the batch size or by timer. Buffered events are visible to the readers of this instance right away and to other
+ * processes after the flush.
+ * <p/>
+ * Partitions older than the retention period are removed, the in-memory indexes of partitions which are not
+ * accessed for a while are released.
+ */
+@Slf4j
+public class FlowEventLog implements Closeable {
+    private static final String FILE_PREFIX = "flow-events-";
+    private static final String FILE_SUFFIX = ".log";
+    private static final String SEGMENT_SEPARATOR = "-";
+    private static final long HOUSEKEEPING_INTERVAL_MINUTES = 1;
+
+    private final File directory;
+    private final long partitionMillis;
+    private final int batchSize;
+    private final long maxSegmentBytes;
+    private final long retentionMillis;
+    private final long indexIdleMillis;
+
+    private final ConcurrentNavigableMap<Long, FlowEventLogPartition> partitions = new ConcurrentSkipListMap<>();
+    private final List<PendingEvent> pending = new ArrayList<>();
+    private final ReadWriteLock flushLock = new ReentrantReadWriteLock();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ScheduledExecutorService flusher;
+
+    public FlowEventLog(FlowEventLogConfig config) {
+        directory = new File(config.getDirectory());
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new PersistenceException("Unable to create the flow event log directory " + directory);
+        }
+        partitionMillis = TimeUnit.MINUTES.toMillis(config.getPartitionDurationMinutes());
+        batchSize = config.getFlushBatchSize();
+        maxSegmentBytes = config.getSegmentMaxBytes();
+        retentionMillis = TimeUnit.HOURS.toMillis(config.getRetentionHours());
+        indexIdleMillis = TimeUnit.MINUTES.toMillis(config.getIndexIdleMinutes());
+
+        flusher = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("flow-event-log-flusher-%d").setDaemon(true).build());
+        flusher.scheduleWithFixedDelay(this::flush, config.getFlushIntervalMillis(),
+                config.getFlushIntervalMillis(), TimeUnit.MILLISECONDS);
+        flusher.scheduleWithFixedDelay(this::housekeeping, HOUSEKEEPING_INTERVAL_MINUTES,
+                HOUSEKEEPING_INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Puts the event into the write buffer. Events without timestamp go into the partition of the current time.
+     */
+    public void append(FlowEvent event) {
+        Instant timestamp = event.getTimestamp() != null ? event.getTimestamp() : Instant.now();
+        boolean full;
+        synchronized (pending) {
+            pending.add(new PendingEvent(getPartitionStart(timestamp), event));
+            full = pending.size() >= batchSize;
+        }
+        if (full && flushRequested.compareAndSet(false, true)) {
+            flusher.execute(this::flush);
+        }
+    }
+
+    /**
+     * Writes the buffered events to the partition files. Events of a partition which failed to be written stay in
+     * the buffer for the next attempt.
+     */
+    public synchronized void flush() {
+        flushRequested.set(false);
+        List<PendingEvent> batch;
+        synchronized (pending) {
+            batch = new ArrayList<>(pending);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Map<Long, List<FlowEvent>> eventsByPartition = new LinkedHashMap<>();
+        batch.forEach(entry -> eventsByPartition.computeIfAbsent(entry.getPartitionStart(), key -> new ArrayList<>())
+                .add(entry.getEvent()));
+
+        flushLock.writeLock().lock();
+        try {
+            Set<Long> failed = new HashSet<>();
+            eventsByPartition.forEach((partitionStart, events) -> {
+                try {
+                    getPartition(partitionStart).append(events);
+                } catch (PersistenceException e) {
+                    log.error("Unable to flush {} flow events, will retry", events.size(), e);
+                    failed.add(partitionStart);
+                }
+            });
+
+            synchronized (pending) {
+                List<PendingEvent> retained = batch.stream()
+                        .filter(entry -> failed.contains(entry.getPartitionStart()))
+                        .collect(Collectors.toList());
+                retained.addAll(pending.subList(batch.size(), pending.size()));
+                pending.clear();
+                pending.addAll(retained);
+            }
+        } finally {
+            flushLock.writeLock().unlock();
+        }
+        log.debug("Flushed {} flow events into {} partitions", batch.size(), eventsByPartition.size());
+    }
+
+    /**
+     * Finds the events of the flow within the time frame (inclusive), ordered by timestamp.
+     */
+    public List<FlowEvent> findByFlowIdAndTimeFrame(String flowId, Instant timeFrom, Instant timeTo) {
+        List<FlowEvent> result = new ArrayList<>();
+        flushLock.readLock().lock();
+        try {
+            discoverPartitions();
+            long fromPartition = getPartitionStart(timeFrom);
+            long toPartition = getPartitionStart(timeTo);
+            if (fromPartition <= toPartition) {
+                for (FlowEventLogPartition partition
+                        : partitions.subMap(fromPartition, true, toPartition, true).values()) {
+                    result.addAll(partition.findByFlowId(flowId));
+                }
+            }
+            result.addAll(getPendingEvents());
+        } finally {
+            flushLock.readLock().unlock();
+        }
+
+        return result.stream()
+                .filter(event -> flowId.equals(event.getFlowId()))
+                .filter(event -> event.getTimestamp() != null
+                        && !event.getTimestamp().isBefore(timeFrom) && !event.getTimestamp().isAfter(timeTo))
+                .sorted(Comparator.comparing(FlowEvent::getTimestamp))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Finds the latest event of the task.
+     */
+    public Optional<FlowEvent> findByTaskId(String taskId) {
+        flushLock.readLock().lock();
+        try {
+            List<FlowEvent> pendingEvents = getPendingEvents();
+            for (int i = pendingEvents.size() - 1; i >= 0; i--) {
+                if (taskId.equals(pendingEvents.get(i).getTaskId())) {
+                    return Optional.of(pendingEvents.get(i));
+                }
+            }
+
+            discoverPartitions();
+            for (FlowEventLogPartition partition : partitions.descendingMap().values()) {
+                Optional<FlowEvent> event = partition.findByTaskId(taskId);
+                if (event.isPresent()) {
+                    return event;
+                }
+            }
+            return Optional.empty();
+        } finally {
+            flushLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Loads all stored events, so should be used with care on large logs.
+     */
+    public List<FlowEvent> findAll() {
+        flushLock.readLock().lock();
+        try {
+            discoverPartitions();
+            List<FlowEvent> result = new ArrayList<>();
+            for (FlowEventLogPartition partition : partitions.values()) {
+                result.addAll(partition.findAll());
+            }
+            result.addAll(getPendingEvents());
+            return result;
+        } finally {
+            flushLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the partitions which are entirely older than the retention period and releases the indexes of idle
+     * partitions. Each process expires partitions by itself, so the files removed by another process are skipped.
+     */
+    void housekeeping() {
+        long now = System.currentTimeMillis();
+        flushLock.writeLock().lock();
+        try {
+            for (FlowEventLogPartition partition : partitions.headMap(getExpiredPartitionsEnd(now)).values()) {
+                try {
+                    partition.delete();
+                    partitions.remove(partition.getStartMillis());
+                    log.info("Removed expired flow event log partition {}", partition.getStartMillis());
+                } catch (PersistenceException e) {
+                    log.error("Unable to remove expired flow event log partition {}", partition.getStartMillis(), e);
+                }
+            }
+            partitions.values().forEach(partition -> partition.releaseIndexIfIdle(now - indexIdleMillis));
+        } finally {
+            flushLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        flusher.shutdown();
+        flush();
+    }
+
+    private List<FlowEvent> getPendingEvents() {
+        synchronized (pending) {
+            return pending.stream().map(PendingEvent::getEvent).collect(Collectors.toList());
+        }
+    }
+
+    private long getPartitionStart(Instant timestamp) {
+        return Math.floorDiv(timestamp.toEpochMilli(), partitionMillis) * partitionMillis;
+    }
+
+    /**
+     * Gets the start of the first partition which has events within the retention period.
+     */
+    private long getExpiredPartitionsEnd(long now) {
+        return getPartitionStart(Instant.ofEpochMilli(now - retentionMillis));
+    }
+
+    private FlowEventLogPartition getPartition(long partitionStart) {
+        return partitions.computeIfAbsent(partitionStart, start -> new FlowEventLogPartition(
+                start, directory, FILE_PREFIX + start + SEGMENT_SEPARATOR, FILE_SUFFIX, maxSegmentBytes));
+    }
+
+    /**
+     * Picks up the partitions created by other processes.
+     */
+    private void discoverPartitions() {
+        String[] names = directory.list();
+        if (names == null) {
+            return;
+        }
+        long expiredPartitionsEnd = getExpiredPartitionsEnd(System.currentTimeMillis());
+        for (String name : names) {
+            if (name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX)) {
+                String segment = name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length());
+                try {
+                    long partitionStart = Long.parseLong(segment.substring(0, segment.indexOf(SEGMENT_SEPARATOR)));
+                    if (partitionStart >= expiredPartitionsEnd) {
+                        getPartition(partitionStart);
+                    }
+                } catch (NumberFormatException | IndexOutOfBoundsException e) {
+                    log.warn("Skip unexpected file {} in the flow event log directory", name);
+                }
+            }
+        }
+    }
+
+    @Value
+    private static class PendingEvent {
+        private long partitionStart;
+        private FlowEvent event;
+    }
+}
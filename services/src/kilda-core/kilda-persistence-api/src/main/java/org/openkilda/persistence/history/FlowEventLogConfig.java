@@ -0,0 +1,71 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.persistence.history;
+
+import com.sabre.oss.conf4j.annotation.Configuration;
+import com.sabre.oss.conf4j.annotation.Default;
+import com.sabre.oss.conf4j.annotation.Key;
+
+import java.io.Serializable;
+
+@Configuration
+@Key("persistence.history.log")
+public interface FlowEventLogConfig extends Serializable {
+    @Key("enabled")
+    @Default("false")
+    boolean isEnabled();
+
+    /**
+     * Directory with the partition files. Components which write and read flow history must see the same directory.
+     */
+    @Key("directory")
+    @Default("/var/lib/kilda/flow-history")
+    String getDirectory();
+
+    @Key("partition.duration.minutes")
+    @Default("60")
+    long getPartitionDurationMinutes();
+
+    /**
+     * Size after which the partition rolls to a new segment file.
+     */
+    @Key("segment.max.bytes")
+    @Default("67108864")
+    long getSegmentMaxBytes();
+
+    /**
+     * Partitions are removed once all their events are older than the retention period.
+     */
+    @Key("retention.hours")
+    @Default("720")
+    long getRetentionHours();
+
+    /**
+     * The in-memory index of a partition is released if it isn't accessed for this time.
+     */
+    @Key("index.idle.minutes")
+    @Default("30")
+    long getIndexIdleMinutes();
+
+    @Key("flush.batch.size")
+    @Default("500")
+    int getFlushBatchSize();
+
+    @Key("flush.interval.millis")
+    @Default("1000")
+    long getFlushIntervalMillis();
+}
@@ -0,0 +1,353 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.persistence.history;
+
+import org.openkilda.model.history.FlowEvent;
+import org.openkilda.persistence.PersistenceException;
+
+import com.google.common.util.concurrent.Striped;
+import lombok.Getter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Flow events of a single time frame, stored in a sequence of append-only segment files.
+ * <p/>
+ * A segment is a sequence of length-prefixed records. The offsets of records are indexed by flowId and taskId
+ * in memory, the index of an idle partition may be released and is rebuilt on the next access. Records appended by
+ * other processes are indexed on the next access, an incomplete record at the end of a segment is left until its
+ * writer completes it.
+ * <p/>
+ * Writers of all processes are serialized by an exclusive lock of the first segment file, so each writer appends
+ * at the actual end of the last segment and rolls to the next segment once the last one is full.
+ */
+class FlowEventLogPartition {
+    private static final int NULL_LENGTH = -1;
+
+    // FileChannel locks are held on behalf of the whole JVM, so writers of the same process are serialized here.
+    private static final Striped<Lock> PROCESS_LOCKS = Striped.lock(64);
+
+    @Getter
+    private final long startMillis;
+    private final File directory;
+    private final String filePrefix;
+    private final String fileSuffix;
+    private final long maxSegmentBytes;
+
+    private final List<Segment> segments = new ArrayList<>();
+    private long lastAccessMillis = System.currentTimeMillis();
+
+    FlowEventLogPartition(long startMillis, File directory, String filePrefix, String fileSuffix,
+                          long maxSegmentBytes) {
+        this.startMillis = startMillis;
+        this.directory = directory;
+        this.filePrefix = filePrefix;
+        this.fileSuffix = fileSuffix;
+        this.maxSegmentBytes = maxSegmentBytes;
+    }
+
+    /**
+     * Appends the events to the end of the last segment and indexes them.
+     */
+    synchronized void append(Collection<FlowEvent> events) {
+        lastAccessMillis = System.currentTimeMillis();
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        List<Long> relativeOffsets = new ArrayList<>(events.size());
+        try (DataOutputStream output = new DataOutputStream(buffer)) {
+            for (FlowEvent event : events) {
+                relativeOffsets.add((long) buffer.size());
+                byte[] record = encode(event);
+                output.writeInt(record.length);
+                output.write(record);
+            }
+        } catch (IOException e) {
+            throw new PersistenceException("Unable to encode flow events", e);
+        }
+
+        File lockFile = getSegmentFile(0);
+        Lock processLock = PROCESS_LOCKS.get(lockFile.getAbsolutePath());
+        processLock.lock();
+        try (FileChannel lockChannel = FileChannel.open(lockFile.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                FileLock ignored = lockChannel.lock()) {
+            discoverSegments();
+            Segment segment = segments.get(segments.size() - 1);
+            segment.refreshIndex();
+            if (segment.indexedLength > 0 && segment.indexedLength + buffer.size() > maxSegmentBytes) {
+                segment = new Segment(getSegmentFile(segments.size()));
+                segments.add(segment);
+            }
+
+            long position = segment.write(buffer.toByteArray());
+            int i = 0;
+            for (FlowEvent event : events) {
+                segment.addToIndex(event, position + relativeOffsets.get(i++));
+            }
+            segment.indexedLength = position + buffer.size();
+        } catch (IOException e) {
+            throw new PersistenceException("Unable to append flow events to the partition " + startMillis, e);
+        } finally {
+            processLock.unlock();
+        }
+    }
+
+    synchronized List<FlowEvent> findByFlowId(String flowId) {
+        refresh();
+        List<FlowEvent> result = new ArrayList<>();
+        for (Segment segment : segments) {
+            result.addAll(segment.read(segment.flowIdIndex.getOrDefault(flowId, new ArrayList<>())));
+        }
+        return result;
+    }
+
+    synchronized Optional<FlowEvent> findByTaskId(String taskId) {
+        refresh();
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            Segment segment = segments.get(i);
+            Long offset = segment.taskIdIndex.get(taskId);
+            if (offset != null) {
+                List<Long> offsets = new ArrayList<>();
+                offsets.add(offset);
+                return segment.read(offsets).stream().findFirst();
+            }
+        }
+        return Optional.empty();
+    }
+
+    synchronized List<FlowEvent> findAll() {
+        refresh();
+        List<FlowEvent> result = new ArrayList<>();
+        for (Segment segment : segments) {
+            List<Long> offsets = new ArrayList<>();
+            segment.flowIdIndex.values().forEach(offsets::addAll);
+            result.addAll(segment.read(offsets));
+        }
+        return result;
+    }
+
+    /**
+     * Drops the in-memory index if the partition wasn't accessed since the given time.
+     */
+    synchronized void releaseIndexIfIdle(long idleSinceMillis) {
+        if (lastAccessMillis < idleSinceMillis) {
+            segments.clear();
+        }
+    }
+
+    /**
+     * Removes the segment files of the partition.
+     */
+    synchronized void delete() {
+        segments.clear();
+        int count = 0;
+        while (getSegmentFile(count).exists()) {
+            count++;
+        }
+        // Segments are removed from the last one, so a concurrent reader never sees a gap in the sequence.
+        for (int i = count - 1; i >= 0; i--) {
+            File file = getSegmentFile(i);
+            if (!file.delete() && file.exists()) {
+                throw new PersistenceException("Unable to delete flow event log segment " + file);
+            }
+        }
+    }
+
+    private void refresh() {
+        lastAccessMillis = System.currentTimeMillis();
+        discoverSegments();
+        segments.forEach(Segment::refreshIndex);
+    }
+
+    /**
+     * Picks up the segments rolled by other processes. The first segment is always tracked, so a writer has
+     * a segment to append to.
+     */
+    private void discoverSegments() {
+        if (segments.isEmpty()) {
+            segments.add(new Segment(getSegmentFile(0)));
+        }
+        File next = getSegmentFile(segments.size());
+        while (next.exists()) {
+            segments.add(new Segment(next));
+            next = getSegmentFile(segments.size());
+        }
+    }
+
+    private File getSegmentFile(int index) {
+        return new File(directory, filePrefix + index + fileSuffix);
+    }
+
+    private static class Segment {
+        private final File file;
+
+        private long indexedLength;
+        private final Map<String, List<Long>> flowIdIndex = new HashMap<>();
+        private final Map<String, Long> taskIdIndex = new HashMap<>();
+
+        Segment(File file) {
+            this.file = file;
+        }
+
+        /**
+         * Writes the data at the end of the indexed records and returns its position. Must be called under
+         * the partition lock.
+         */
+        long write(byte[] data) throws IOException {
+            try (FileChannel channel = FileChannel.open(file.toPath(),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                // No other writer holds the lock, so bytes after the indexed records are an incomplete record
+                // of a failed writer.
+                if (channel.size() > indexedLength) {
+                    channel.truncate(indexedLength);
+                }
+                channel.position(indexedLength);
+                long position = channel.position();
+
+                ByteBuffer buffer = ByteBuffer.wrap(data);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+                return position;
+            }
+        }
+
+        List<FlowEvent> read(List<Long> offsets) {
+            List<FlowEvent> result = new ArrayList<>(offsets.size());
+            if (offsets.isEmpty()) {
+                return result;
+            }
+            try (RandomAccessFile input = new RandomAccessFile(file, "r")) {
+                for (long offset : offsets) {
+                    input.seek(offset);
+                    byte[] record = new byte[input.readInt()];
+                    input.readFully(record);
+                    result.add(decode(record));
+                }
+            } catch (FileNotFoundException e) {
+                // The segment is expired and removed by another process.
+                return new ArrayList<>();
+            } catch (IOException e) {
+                throw new PersistenceException("Unable to read flow events from " + file, e);
+            }
+            return result;
+        }
+
+        void refreshIndex() {
+            if (!file.exists() || file.length() <= indexedLength) {
+                return;
+            }
+            try (RandomAccessFile input = new RandomAccessFile(file, "r")) {
+                long length = input.length();
+                while (indexedLength + Integer.BYTES <= length) {
+                    input.seek(indexedLength);
+                    int recordLength = input.readInt();
+                    if (indexedLength + Integer.BYTES + recordLength > length) {
+                        break;
+                    }
+                    byte[] record = new byte[recordLength];
+                    input.readFully(record);
+                    addToIndex(decode(record), indexedLength);
+                    indexedLength += Integer.BYTES + recordLength;
+                }
+            } catch (FileNotFoundException e) {
+                // The segment is expired and removed by another process.
+            } catch (IOException e) {
+                throw new PersistenceException("Unable to index flow events of " + file, e);
+            }
+        }
+
+        void addToIndex(FlowEvent event, long offset) {
+            flowIdIndex.computeIfAbsent(event.getFlowId(), key -> new ArrayList<>()).add(offset);
+            if (event.getTaskId() != null) {
+                taskIdIndex.put(event.getTaskId(), offset);
+            }
+        }
+    }
+
+    static byte[] encode(FlowEvent event) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(buffer)) {
+            writeString(output, event.getFlowId());
+            Instant timestamp = event.getTimestamp();
+            output.writeBoolean(timestamp != null);
+            if (timestamp != null) {
+                output.writeLong(timestamp.getEpochSecond());
+                output.writeInt(timestamp.getNano());
+            }
+            writeString(output, event.getActor());
+            writeString(output, event.getAction());
+            writeString(output, event.getTaskId());
+            writeString(output, event.getDetails());
+        }
+        return buffer.toByteArray();
+    }
+
+    static FlowEvent decode(byte[] record) {
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        FlowEvent.FlowEventBuilder builder = FlowEvent.builder()
+                .flowId(readString(buffer));
+        if (buffer.get() != 0) {
+            builder.timestamp(Instant.ofEpochSecond(buffer.getLong(), buffer.getInt()));
+        }
+        return builder
+                .actor(readString(buffer))
+                .action(readString(buffer))
+                .taskId(readString(buffer))
+                .details(readString(buffer))
+                .build();
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        if (value == null) {
+            output.writeInt(NULL_LENGTH);
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+}
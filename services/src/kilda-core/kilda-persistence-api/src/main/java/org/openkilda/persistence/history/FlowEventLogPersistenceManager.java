@@ -0,0 +1,71 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.persistence.history;
+
+import org.openkilda.persistence.PersistenceManager;
+import org.openkilda.persistence.TransactionManager;
+import org.openkilda.persistence.repositories.RepositoryFactory;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link PersistenceManager} decorator which moves flow events out of the graph DB into {@link FlowEventLog}.
+ * <p/>
+ * All copies of the manager deserialized in the same process share a single log per directory, which is flushed
+ * on JVM shutdown.
+ */
+public class FlowEventLogPersistenceManager implements PersistenceManager {
+    private static final ConcurrentMap<String, FlowEventLog> LOGS = new ConcurrentHashMap<>();
+
+    private final PersistenceManager delegate;
+    private final FlowEventLogConfig config;
+
+    public FlowEventLogPersistenceManager(PersistenceManager delegate, FlowEventLogConfig config) {
+        this.delegate = delegate;
+        this.config = config;
+    }
+
+    /**
+     * Wraps the persistence manager into the flow event log one if the log is enabled by the config.
+     */
+    public static PersistenceManager wrapIfEnabled(PersistenceManager persistenceManager,
+                                                   FlowEventLogConfig config) {
+        return config.isEnabled() ? new FlowEventLogPersistenceManager(persistenceManager, config) : persistenceManager;
+    }
+
+    @Override
+    public TransactionManager getTransactionManager() {
+        return delegate.getTransactionManager();
+    }
+
+    @Override
+    public RepositoryFactory getRepositoryFactory() {
+        return new FlowEventLogRepositoryFactory(delegate.getRepositoryFactory(), getFlowEventLog());
+    }
+
+    /**
+     * Gets the log shared by the copies of this manager.
+     */
+    public FlowEventLog getFlowEventLog() {
+        return LOGS.computeIfAbsent(config.getDirectory(), directory -> {
+            FlowEventLog flowEventLog = new FlowEventLog(config);
+            Runtime.getRuntime().addShutdownHook(new Thread(flowEventLog::close, "flow-event-log-shutdown"));
+            return flowEventLog;
+        });
+    }
+}
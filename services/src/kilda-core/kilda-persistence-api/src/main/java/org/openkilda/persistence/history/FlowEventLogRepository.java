@@ -0,0 +1,61 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.persistence.history;
+
+import org.openkilda.model.history.FlowEvent;
+import org.openkilda.persistence.repositories.history.FlowEventRepository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * {@link FlowEventRepository} over {@link FlowEventLog}. The log is append-only and not transactional: stored
+ * events are neither updated nor deleted, and are kept even if the surrounding transaction is rolled back.
+ */
+class FlowEventLogRepository implements FlowEventRepository {
+    private final FlowEventLog flowEventLog;
+
+    FlowEventLogRepository(FlowEventLog flowEventLog) {
+        this.flowEventLog = flowEventLog;
+    }
+
+    @Override
+    public Optional<FlowEvent> findByTaskId(String taskId) {
+        return flowEventLog.findByTaskId(taskId);
+    }
+
+    @Override
+    public Collection<FlowEvent> findByFlowIdAndTimeFrame(String flowId, Instant timeFrom, Instant timeTo) {
+        return flowEventLog.findByFlowIdAndTimeFrame(flowId, timeFrom, timeTo);
+    }
+
+    @Override
+    public Collection<FlowEvent> findAll() {
+        return flowEventLog.findAll();
+    }
+
+    @Override
+    public void createOrUpdate(FlowEvent entity) {
+        flowEventLog.append(entity);
+    }
+
+    @Override
+    public void delete(FlowEvent entity) {
+        throw new UnsupportedOperationException("Flow event log is append-only");
+    }
+}
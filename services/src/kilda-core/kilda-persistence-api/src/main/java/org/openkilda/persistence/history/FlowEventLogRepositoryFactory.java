@@ -0,0 +1,177 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.persistence.history;
+
+import org.openkilda.model.history.HistoryLog;
+import org.openkilda.model.history.StateLog;
+import org.openkilda.persistence.repositories.BfdSessionRepository;
+import org.openkilda.persistence.repositories.FeatureTogglesRepository;
+import org.openkilda.persistence.repositories.FlowCookieRepository;
+import org.openkilda.persistence.repositories.FlowMeterRepository;
+import org.openkilda.persistence.repositories.FlowPairRepository;
+import org.openkilda.persistence.repositories.FlowPathRepository;
+import org.openkilda.persistence.repositories.FlowRepository;
+import org.openkilda.persistence.repositories.IslRepository;
+import org.openkilda.persistence.repositories.LinkPropsRepository;
+import org.openkilda.persistence.repositories.RepositoryFactory;
+import org.openkilda.persistence.repositories.SwitchRepository;
+import org.openkilda.persistence.repositories.TransitVlanRepository;
+import org.openkilda.persistence.repositories.history.FlowEventRepository;
+import org.openkilda.persistence.repositories.history.FlowHistoryRepository;
+import org.openkilda.persistence.repositories.history.FlowStateRepository;
+import org.openkilda.persistence.repositories.history.HistoryLogRepository;
+import org.openkilda.persistence.repositories.history.StateLogRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * {@link RepositoryFactory} decorator which keeps flow events in {@link FlowEventLog}. Other repositories are
+ * created by the delegate as is.
+ * <p/>
+ * Flow events stored in the log have no graph nodes, so the edges between them and flow history / dump records
+ * are not stored. The records themselves are stored by the delegate and remain available by taskId.
+ */
+class FlowEventLogRepositoryFactory implements RepositoryFactory {
+    private final RepositoryFactory delegate;
+    private final FlowEventLog flowEventLog;
+
+    FlowEventLogRepositoryFactory(RepositoryFactory delegate, FlowEventLog flowEventLog) {
+        this.delegate = delegate;
+        this.flowEventLog = flowEventLog;
+    }
+
+    @Override
+    public FlowCookieRepository createFlowCookieRepository() {
+        return delegate.createFlowCookieRepository();
+    }
+
+    @Override
+    public FlowMeterRepository createFlowMeterRepository() {
+        return delegate.createFlowMeterRepository();
+    }
+
+    @Override
+    public FlowPathRepository createFlowPathRepository() {
+        return delegate.createFlowPathRepository();
+    }
+
+    @Override
+    public FlowRepository createFlowRepository() {
+        return delegate.createFlowRepository();
+    }
+
+    @Override
+    public FlowPairRepository createFlowPairRepository() {
+        return delegate.createFlowPairRepository();
+    }
+
+    @Override
+    public IslRepository createIslRepository() {
+        return delegate.createIslRepository();
+    }
+
+    @Override
+    public LinkPropsRepository createLinkPropsRepository() {
+        return delegate.createLinkPropsRepository();
+    }
+
+    @Override
+    public SwitchRepository createSwitchRepository() {
+        return delegate.createSwitchRepository();
+    }
+
+    @Override
+    public TransitVlanRepository createTransitVlanRepository() {
+        return delegate.createTransitVlanRepository();
+    }
+
+    @Override
+    public FeatureTogglesRepository createFeatureTogglesRepository() {
+        return delegate.createFeatureTogglesRepository();
+    }
+
+    @Override
+    public FlowEventRepository createFlowEventRepository() {
+        return new FlowEventLogRepository(flowEventLog);
+    }
+
+    @Override
+    public FlowHistoryRepository createFlowHistoryRepository() {
+        return delegate.createFlowHistoryRepository();
+    }
+
+    @Override
+    public FlowStateRepository createFlowStateRepository() {
+        return delegate.createFlowStateRepository();
+    }
+
+    @Override
+    public HistoryLogRepository createHistoryLogRepository() {
+        return new DetachedHistoryLogRepository();
+    }
+
+    @Override
+    public StateLogRepository createStateLogRepository() {
+        return new DetachedStateLogRepository();
+    }
+
+    @Override
+    public BfdSessionRepository createBfdSessionRepository() {
+        return delegate.createBfdSessionRepository();
+    }
+
+    @Slf4j
+    private static class DetachedHistoryLogRepository implements HistoryLogRepository {
+        @Override
+        public Collection<HistoryLog> findAll() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public void createOrUpdate(HistoryLog entity) {
+            log.debug("Skip the history log edge of task {}, flow events are kept in the log",
+                    entity.getFlowHistory() != null ? entity.getFlowHistory().getTaskId() : null);
+        }
+
+        @Override
+        public void delete(HistoryLog entity) {
+            // Nothing is stored.
+        }
+    }
+
+    @Slf4j
+    private static class DetachedStateLogRepository implements StateLogRepository {
+        @Override
+        public Collection<StateLog> findAll() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public void createOrUpdate(StateLog entity) {
+            log.debug("Skip the state log edge of task {}, flow events are kept in the log",
+                    entity.getFlowDump() != null ? entity.getFlowDump().getTaskId() : null);
+        }
+
+        @Override
+        public void delete(StateLog entity) {
+            // Nothing is stored.
+        }
+    }
+}
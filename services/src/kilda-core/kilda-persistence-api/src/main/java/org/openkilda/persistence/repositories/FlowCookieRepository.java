@@ -17,6 +17,7 @@ package org.openkilda.persistence.repositories;
 
 import org.openkilda.model.FlowCookie;
 
+import java.util.Collection;
 import java.util.Optional;
 
 public interface FlowCookieRepository extends Repository<FlowCookie> {
@@ -30,4 +31,13 @@ public interface FlowCookieRepository extends Repository<FlowCookie> {
      * @return an unmasked cookie value or {@link Optional#empty()} if no cookie available.
      */
     Optional<Long> findUnassignedCookie(long defaultCookie);
+
+    /**
+     * Find unmasked cookies assigned to flows within the range.
+     *
+     * @param lowestCookie  the lowest cookie of the range.
+     * @param highestCookie the highest cookie of the range.
+     * @return assigned unmasked cookies.
+     */
+    Collection<Long> findAssignedCookies(long lowestCookie, long highestCookie);
 }
@@ -20,6 +20,7 @@ import org.openkilda.model.MeterId;
 import org.openkilda.model.PathId;
 import org.openkilda.model.SwitchId;
 
+import java.util.Collection;
 import java.util.Optional;
 
 public interface FlowMeterRepository extends Repository<FlowMeter> {
@@ -34,4 +35,14 @@ public interface FlowMeterRepository extends Repository<FlowMeter> {
      * @return a meter id or {@link Optional#empty()} if no meter available.
      */
     Optional<MeterId> findUnassignedMeterId(SwitchId switchId, MeterId defaultMeterId);
+
+    /**
+     * Find meter ids assigned to flows on the switch within the range.
+     *
+     * @param switchId        the switch defines where the meter is applied on.
+     * @param lowestMeterId   the lowest meter id of the range.
+     * @param highestMeterId  the highest meter id of the range.
+     * @return assigned meter ids.
+     */
+    Collection<MeterId> findAssignedMeterIds(SwitchId switchId, MeterId lowestMeterId, MeterId highestMeterId);
 }
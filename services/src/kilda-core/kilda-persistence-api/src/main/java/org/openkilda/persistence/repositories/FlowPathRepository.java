@@ -62,4 +62,14 @@ public interface FlowPathRepository extends Repository<FlowPath> {
     long getUsedBandwidthBetweenEndpoints(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort);
 
     void lockInvolvedSwitches(FlowPath... flowPaths);
+
+    /**
+     * Creates or updates the paths with their segments in a single transaction.
+     */
+    void createOrUpdateAll(Collection<FlowPath> flowPaths);
+
+    /**
+     * Deletes the paths with their segments in a single transaction.
+     */
+    void deleteAll(Collection<FlowPath> flowPaths);
 }
@@ -77,4 +77,14 @@ public interface IslRepository extends Repository<Isl> {
      * @return list of ISLs.
      */
     Collection<Isl> findSymmetricActiveWithAvailableBandwidth(long requiredBandwidth);
+
+    /**
+     * Atomically adds the delta to the available bandwidth of the ISL, so concurrent reservations don't need to
+     * recalculate the used bandwidth of all flow paths over the ISL.
+     *
+     * @param delta the amount to add, negative to reserve bandwidth and positive to release it.
+     * @return the updated ISL or empty if there's no ISL with such endpoints.
+     */
+    Optional<Isl> updateAvailableBandwidth(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort,
+                                           long delta);
 }
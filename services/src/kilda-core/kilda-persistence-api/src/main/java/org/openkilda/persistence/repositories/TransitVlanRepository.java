@@ -32,4 +32,13 @@ public interface TransitVlanRepository extends Repository<TransitVlan> {
      * @return a transit vlan or {@link Optional#empty()} if no vlan available.
      */
     Optional<Integer> findUnassignedTransitVlan(int defaultVlan);
+
+    /**
+     * Find transit vlans assigned to flows within the range.
+     *
+     * @param lowestVlan  the lowest vlan of the range.
+     * @param highestVlan the highest vlan of the range.
+     * @return assigned transit vlans.
+     */
+    Collection<Integer> findAssignedTransitVlans(int lowestVlan, int highestVlan);
 }
@@ -0,0 +1,268 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.persistence.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.openkilda.model.Isl;
+import org.openkilda.model.LinkProps;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.persistence.TransactionCallback;
+import org.openkilda.persistence.TransactionCallbackWithoutResult;
+import org.openkilda.persistence.TransactionManager;
+import org.openkilda.persistence.repositories.IslRepository;
+import org.openkilda.persistence.repositories.LinkPropsRepository;
+import org.openkilda.persistence.repositories.RepositoryFactory;
+import org.openkilda.persistence.repositories.SwitchRepository;
+
+import com.google.common.base.Ticker;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class CachingRepositoryFactoryTest {
+    private static final SwitchId SWITCH_A = new SwitchId(1);
+    private static final SwitchId SWITCH_B = new SwitchId(2);
+    private static final long TTL_SECONDS = 30;
+
+    private final FakeTicker ticker = new FakeTicker();
+
+    private SwitchRepository switchDelegate;
+    private IslRepository islDelegate;
+    private LinkPropsRepository linkPropsDelegate;
+
+    private RepositoryCache cache;
+    private TransactionManager transactionManager;
+    private SwitchRepository switchRepository;
+    private IslRepository islRepository;
+    private LinkPropsRepository linkPropsRepository;
+
+    @Before
+    public void setUp() {
+        switchDelegate = mock(SwitchRepository.class);
+        islDelegate = mock(IslRepository.class);
+        linkPropsDelegate = mock(LinkPropsRepository.class);
+
+        RepositoryFactory delegateFactory = mock(RepositoryFactory.class);
+        when(delegateFactory.createSwitchRepository()).thenReturn(switchDelegate);
+        when(delegateFactory.createIslRepository()).thenReturn(islDelegate);
+        when(delegateFactory.createLinkPropsRepository()).thenReturn(linkPropsDelegate);
+
+        RepositoryCacheConfig config = mock(RepositoryCacheConfig.class);
+        when(config.getMaxSize()).thenReturn(100L);
+        when(config.getExpireAfterWriteSeconds()).thenReturn(TTL_SECONDS);
+
+        cache = new RepositoryCache(config, ticker);
+        transactionManager = new CachingTransactionManager(new DirectTransactionManager(), cache);
+
+        RepositoryFactory factory = new CachingRepositoryFactory(delegateFactory, cache);
+        switchRepository = factory.createSwitchRepository();
+        islRepository = factory.createIslRepository();
+        linkPropsRepository = factory.createLinkPropsRepository();
+    }
+
+    @Test
+    public void shouldServeRepeatedSwitchLookupsFromCache() {
+        Switch sw = Switch.builder().switchId(SWITCH_A).build();
+        when(switchDelegate.findById(SWITCH_A)).thenReturn(Optional.of(sw));
+
+        assertEquals(sw, switchRepository.findById(SWITCH_A).get());
+        assertEquals(sw, switchRepository.findById(SWITCH_A).get());
+        assertTrue(switchRepository.exists(SWITCH_A));
+
+        verify(switchDelegate, times(1)).findById(SWITCH_A);
+        assertEquals(2, cache.getStats().get(RepositoryCache.SWITCHES).hitCount());
+        assertEquals(1, cache.getStats().get(RepositoryCache.SWITCHES).missCount());
+    }
+
+    @Test
+    public void shouldBypassCacheInsideTransaction() {
+        when(switchDelegate.findById(SWITCH_A)).thenReturn(Optional.empty());
+        when(switchDelegate.exists(SWITCH_A)).thenReturn(false);
+
+        transactionManager.doInTransaction(() -> {
+            assertFalse(switchRepository.findById(SWITCH_A).isPresent());
+            assertFalse(switchRepository.findById(SWITCH_A).isPresent());
+            assertFalse(switchRepository.exists(SWITCH_A));
+        });
+        assertFalse(switchRepository.findById(SWITCH_A).isPresent());
+
+        verify(switchDelegate, times(3)).findById(SWITCH_A);
+        verify(switchDelegate, times(1)).exists(SWITCH_A);
+    }
+
+    @Test
+    public void shouldInvalidateSwitchAndConnectedIslsOnSwitchUpdate() {
+        Switch sw = Switch.builder().switchId(SWITCH_A).build();
+        Isl isl = buildIsl();
+        when(switchDelegate.findById(SWITCH_A)).thenReturn(Optional.of(sw));
+        when(islDelegate.findByEndpoints(SWITCH_A, 1, SWITCH_B, 2)).thenReturn(Optional.of(isl));
+
+        switchRepository.findById(SWITCH_A);
+        islRepository.findByEndpoints(SWITCH_A, 1, SWITCH_B, 2);
+
+        switchRepository.createOrUpdate(sw);
+
+        switchRepository.findById(SWITCH_A);
+        islRepository.findByEndpoints(SWITCH_A, 1, SWITCH_B, 2);
+
+        verify(switchDelegate, times(2)).findById(SWITCH_A);
+        verify(islDelegate, times(2)).findByEndpoints(SWITCH_A, 1, SWITCH_B, 2);
+    }
+
+    @Test
+    public void shouldInvalidateBothIslDirectionsOnIslUpdate() {
+        Isl isl = buildIsl();
+        when(islDelegate.findByEndpoints(SWITCH_A, 1, SWITCH_B, 2)).thenReturn(Optional.of(isl));
+        when(islDelegate.findByEndpoints(SWITCH_B, 2, SWITCH_A, 1)).thenReturn(Optional.empty());
+
+        islRepository.findByEndpoints(SWITCH_A, 1, SWITCH_B, 2);
+        islRepository.findByEndpoints(SWITCH_B, 2, SWITCH_A, 1);
+
+        islRepository.createOrUpdate(isl);
+
+        islRepository.findByEndpoints(SWITCH_A, 1, SWITCH_B, 2);
+        islRepository.findByEndpoints(SWITCH_B, 2, SWITCH_A, 1);
+
+        verify(islDelegate, times(2)).findByEndpoints(SWITCH_A, 1, SWITCH_B, 2);
+        verify(islDelegate, times(2)).findByEndpoints(SWITCH_B, 2, SWITCH_A, 1);
+    }
+
+    @Test
+    public void shouldInvalidateOnlyIslsOfPort() {
+        Isl isl = buildIsl();
+        when(islDelegate.findByEndpoints(SWITCH_A, 1, SWITCH_B, 2)).thenReturn(Optional.of(isl));
+        when(islDelegate.findByEndpoints(SWITCH_A, 3, SWITCH_B, 4)).thenReturn(Optional.empty());
+
+        islRepository.findByEndpoints(SWITCH_A, 1, SWITCH_B, 2);
+        islRepository.findByEndpoints(SWITCH_A, 3, SWITCH_B, 4);
+
+        cache.invalidatePort(SWITCH_B, 2);
+
+        islRepository.findByEndpoints(SWITCH_A, 1, SWITCH_B, 2);
+        islRepository.findByEndpoints(SWITCH_A, 3, SWITCH_B, 4);
+
+        verify(islDelegate, times(2)).findByEndpoints(SWITCH_A, 1, SWITCH_B, 2);
+        verify(islDelegate, times(1)).findByEndpoints(SWITCH_A, 3, SWITCH_B, 4);
+    }
+
+    @Test
+    public void shouldInvalidateAgainOnTransactionCompletion() {
+        Switch sw = Switch.builder().switchId(SWITCH_A).build();
+        when(switchDelegate.findById(SWITCH_A)).thenReturn(Optional.of(sw));
+
+        transactionManager.doInTransaction(() -> {
+            switchRepository.createOrUpdate(sw);
+
+            // A concurrent reader caches the state which is not committed yet.
+            Thread reader = new Thread(() -> switchRepository.findById(SWITCH_A));
+            reader.start();
+            reader.join();
+        });
+        switchRepository.findById(SWITCH_A);
+
+        verify(switchDelegate, times(2)).findById(SWITCH_A);
+    }
+
+    @Test
+    public void shouldInvalidateAllLinkPropsOnUpdate() {
+        LinkProps linkProps = LinkProps.builder()
+                .srcSwitchId(SWITCH_A).srcPort(1).dstSwitchId(SWITCH_B).dstPort(2).build();
+        when(linkPropsDelegate.findByEndpoints(SWITCH_A, null, null, null))
+                .thenReturn(Collections.singletonList(linkProps));
+
+        linkPropsRepository.findByEndpoints(SWITCH_A, null, null, null);
+        linkPropsRepository.findByEndpoints(SWITCH_A, null, null, null);
+        linkPropsRepository.delete(linkProps);
+        linkPropsRepository.findByEndpoints(SWITCH_A, null, null, null);
+
+        verify(linkPropsDelegate, times(2)).findByEndpoints(SWITCH_A, null, null, null);
+    }
+
+    @Test
+    public void shouldExpireCachedEntities() {
+        when(switchDelegate.findById(SWITCH_A)).thenReturn(Optional.empty());
+
+        switchRepository.findById(SWITCH_A);
+        ticker.advance(TTL_SECONDS - 1);
+        switchRepository.findById(SWITCH_A);
+        verify(switchDelegate, times(1)).findById(SWITCH_A);
+
+        ticker.advance(1);
+        switchRepository.findById(SWITCH_A);
+        verify(switchDelegate, times(2)).findById(SWITCH_A);
+    }
+
+    private Isl buildIsl() {
+        return Isl.builder()
+                .srcSwitch(Switch.builder().switchId(SWITCH_A).build())
+                .srcPort(1)
+                .destSwitch(Switch.builder().switchId(SWITCH_B).build())
+                .destPort(2)
+                .build();
+    }
+
+    private static class FakeTicker extends Ticker {
+        private final AtomicLong nanos = new AtomicLong();
+
+        @Override
+        public long read() {
+            return nanos.get();
+        }
+
+        void advance(long seconds) {
+            nanos.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+        }
+    }
+
+    private static class DirectTransactionManager implements TransactionManager {
+        @Override
+        public <T, E extends Throwable> T doInTransaction(TransactionCallback<T, E> action) throws E {
+            try {
+                return action.doInTransaction();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public <E extends Throwable> void doInTransaction(TransactionCallbackWithoutResult<E> action) throws E {
+            doInTransaction(() -> {
+                action.doInTransaction();
+                return null;
+            });
+        }
+
+        @Override
+        public void doOnRollback(Runnable action) {
+            // Not rolled back.
+        }
+    }
+}
@@ -0,0 +1,250 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.persistence.history;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.openkilda.model.history.FlowEvent;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class FlowEventLogTest {
+    private static final String FLOW_A = "flow-a";
+    private static final String FLOW_B = "flow-b";
+    private static final Instant NOW = Instant.parse("2019-03-01T10:15:30.123456789Z");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private FlowEventLogConfig config;
+    private FlowEventLog flowEventLog;
+
+    @Before
+    public void setUp() {
+        config = mock(FlowEventLogConfig.class);
+        when(config.getDirectory()).thenReturn(folder.getRoot().getAbsolutePath());
+        when(config.getPartitionDurationMinutes()).thenReturn(60L);
+        when(config.getFlushBatchSize()).thenReturn(1000);
+        when(config.getFlushIntervalMillis()).thenReturn(60_000L);
+        when(config.getSegmentMaxBytes()).thenReturn(1024L * 1024);
+        when(config.getRetentionHours()).thenReturn(TimeUnit.DAYS.toHours(365 * 100));
+        when(config.getIndexIdleMinutes()).thenReturn(30L);
+
+        flowEventLog = new FlowEventLog(config);
+    }
+
+    @After
+    public void tearDown() {
+        flowEventLog.close();
+    }
+
+    @Test
+    public void shouldFindBufferedAndFlushedEventsByFlowIdAndTimeFrame() {
+        flowEventLog.append(event(FLOW_A, "task-1", NOW.minus(Duration.ofHours(3))));
+        flowEventLog.append(event(FLOW_A, "task-2", NOW.minus(Duration.ofHours(1))));
+        flowEventLog.append(event(FLOW_B, "task-3", NOW.minus(Duration.ofHours(1))));
+        flowEventLog.flush();
+        flowEventLog.append(event(FLOW_A, "task-4", NOW));
+
+        List<FlowEvent> events = flowEventLog.findByFlowIdAndTimeFrame(
+                FLOW_A, NOW.minus(Duration.ofHours(2)), NOW);
+
+        assertEquals(2, events.size());
+        assertEquals("task-2", events.get(0).getTaskId());
+        assertEquals("task-4", events.get(1).getTaskId());
+        assertEquals(NOW, events.get(1).getTimestamp());
+    }
+
+    @Test
+    public void shouldSplitEventsIntoPartitionFiles() {
+        flowEventLog.append(event(FLOW_A, "task-1", NOW.minus(Duration.ofHours(3))));
+        flowEventLog.append(event(FLOW_A, "task-2", NOW));
+        flowEventLog.flush();
+
+        assertEquals(2, folder.getRoot().list().length);
+    }
+
+    @Test
+    public void shouldReadEventsWrittenByAnotherInstance() {
+        FlowEvent event = event(FLOW_A, "task-1", NOW);
+        event.setDetails(null);
+        flowEventLog.append(event);
+        flowEventLog.flush();
+
+        FlowEventLog another = new FlowEventLog(config);
+        try {
+            assertEquals(event, another.findByTaskId("task-1").get());
+            assertEquals(1, another.findByFlowIdAndTimeFrame(FLOW_A, NOW, NOW).size());
+
+            flowEventLog.append(event(FLOW_A, "task-2", NOW));
+            flowEventLog.flush();
+            assertEquals(2, another.findByFlowIdAndTimeFrame(FLOW_A, NOW, NOW).size());
+        } finally {
+            another.close();
+        }
+    }
+
+    @Test
+    public void shouldIgnoreIncompleteRecordAtTheEndOfPartition() throws Exception {
+        flowEventLog.append(event(FLOW_A, "task-1", NOW));
+        flowEventLog.flush();
+
+        File partition = folder.getRoot().listFiles()[0];
+        try (FileOutputStream output = new FileOutputStream(partition, true)) {
+            output.write(new byte[] {0, 0, 0, 100, 1, 2});
+        }
+
+        FlowEventLog another = new FlowEventLog(config);
+        try {
+            assertEquals(1, another.findAll().size());
+            assertFalse(another.findByTaskId("task-2").isPresent());
+        } finally {
+            another.close();
+        }
+    }
+
+    @Test
+    public void shouldNotOverwriteEventsAppendedByAnotherInstance() {
+        FlowEventLog another = new FlowEventLog(config);
+        try {
+            flowEventLog.append(event(FLOW_A, "task-1", NOW));
+            flowEventLog.flush();
+            another.append(event(FLOW_A, "task-2", NOW));
+            another.flush();
+            flowEventLog.append(event(FLOW_A, "task-3", NOW));
+            flowEventLog.flush();
+
+            assertEquals(3, flowEventLog.findAll().size());
+            assertEquals(3, another.findAll().size());
+            assertEquals("task-2", flowEventLog.findByTaskId("task-2").get().getTaskId());
+            assertEquals("task-3", another.findByTaskId("task-3").get().getTaskId());
+        } finally {
+            another.close();
+        }
+    }
+
+    @Test
+    public void shouldRollSegmentOnceItIsFull() {
+        when(config.getSegmentMaxBytes()).thenReturn(1L);
+        FlowEventLog rolling = new FlowEventLog(config);
+        try {
+            rolling.append(event(FLOW_A, "task-1", NOW));
+            rolling.flush();
+            rolling.append(event(FLOW_A, "task-2", NOW));
+            rolling.flush();
+
+            assertEquals(2, folder.getRoot().list().length);
+            assertEquals(2, rolling.findByFlowIdAndTimeFrame(FLOW_A, NOW, NOW).size());
+        } finally {
+            rolling.close();
+        }
+
+        FlowEventLog reader = new FlowEventLog(config);
+        try {
+            assertTrue(reader.findByTaskId("task-2").isPresent());
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    public void shouldRemoveExpiredPartitions() {
+        when(config.getRetentionHours()).thenReturn(1L);
+        FlowEventLog expiring = new FlowEventLog(config);
+        try {
+            Instant now = Instant.now();
+            expiring.append(event(FLOW_A, "task-1", now.minus(Duration.ofHours(3))));
+            expiring.append(event(FLOW_A, "task-2", now));
+            expiring.flush();
+            assertEquals(2, folder.getRoot().list().length);
+
+            expiring.housekeeping();
+
+            assertEquals(1, folder.getRoot().list().length);
+            assertFalse(expiring.findByTaskId("task-1").isPresent());
+            assertTrue(expiring.findByTaskId("task-2").isPresent());
+        } finally {
+            expiring.close();
+        }
+    }
+
+    @Test
+    public void shouldRebuildReleasedIndex() {
+        when(config.getIndexIdleMinutes()).thenReturn(-1L);
+        FlowEventLog releasing = new FlowEventLog(config);
+        try {
+            releasing.append(event(FLOW_A, "task-1", NOW));
+            releasing.flush();
+
+            releasing.housekeeping();
+
+            assertTrue(releasing.findByTaskId("task-1").isPresent());
+            assertEquals(1, releasing.findAll().size());
+        } finally {
+            releasing.close();
+        }
+    }
+
+    @Test
+    public void shouldFlushWhenBatchIsFull() throws Exception {
+        when(config.getFlushBatchSize()).thenReturn(2);
+        FlowEventLog batched = new FlowEventLog(config);
+        try {
+            batched.append(event(FLOW_A, "task-1", NOW));
+            batched.append(event(FLOW_A, "task-2", NOW));
+
+            FlowEventLog reader = new FlowEventLog(config);
+            try {
+                long deadline = System.currentTimeMillis() + 5000;
+                while (reader.findAll().size() < 2 && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(10);
+                }
+                assertTrue(reader.findByTaskId("task-2").isPresent());
+            } finally {
+                reader.close();
+            }
+        } finally {
+            batched.close();
+        }
+    }
+
+    private FlowEvent event(String flowId, String taskId, Instant timestamp) {
+        return FlowEvent.builder()
+                .flowId(flowId)
+                .taskId(taskId)
+                .timestamp(timestamp)
+                .actor("test")
+                .action("Flow creating")
+                .details("détails")
+                .build();
+    }
+}
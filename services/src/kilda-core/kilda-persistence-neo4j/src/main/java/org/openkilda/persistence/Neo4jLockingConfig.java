@@ -0,0 +1,42 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.persistence;
+
+import com.sabre.oss.conf4j.annotation.Configuration;
+import com.sabre.oss.conf4j.annotation.Default;
+import com.sabre.oss.conf4j.annotation.Key;
+
+import java.io.Serializable;
+
+@Configuration
+@Key("neo4j")
+public interface Neo4jLockingConfig extends Serializable {
+    /**
+     * Whether switches and ISLs are locked optimistically: versions of the involved entities are verified on commit
+     * instead of locking the entities for the whole transaction.
+     */
+    @Key("optimistic.locking")
+    @Default("false")
+    boolean isOptimisticLocking();
+
+    /**
+     * The number of retries of a transaction failed due to concurrent modification of the involved entities.
+     */
+    @Key("optimistic.locking.max.retries")
+    @Default("5")
+    int getOptimisticLockingMaxRetries();
+}
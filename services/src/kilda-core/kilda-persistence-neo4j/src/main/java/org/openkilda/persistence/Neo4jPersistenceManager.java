@@ -26,11 +26,17 @@ import org.neo4j.ogm.session.SessionFactory;
  */
 public class Neo4jPersistenceManager implements PersistenceManager {
     private final Neo4jConfig config;
+    private final Neo4jLockingConfig lockingConfig;
 
     private transient volatile Neo4jTransactionManager neo4jTransactionManager;
 
     public Neo4jPersistenceManager(Neo4jConfig config) {
+        this(config, null);
+    }
+
+    public Neo4jPersistenceManager(Neo4jConfig config, Neo4jLockingConfig lockingConfig) {
         this.config = config;
+        this.lockingConfig = lockingConfig;
     }
 
     @Override
@@ -63,7 +69,12 @@ public class Neo4jPersistenceManager implements PersistenceManager {
                     sessionFactory.metaData().registerConversionCallback(
                             new SimpleConversionCallback("org.openkilda.persistence.converters"));
 
-                    neo4jTransactionManager = new Neo4jTransactionManager(sessionFactory);
+                    if (lockingConfig != null && lockingConfig.isOptimisticLocking()) {
+                        neo4jTransactionManager = new Neo4jTransactionManager(sessionFactory, true,
+                                lockingConfig.getOptimisticLockingMaxRetries());
+                    } else {
+                        neo4jTransactionManager = new Neo4jTransactionManager(sessionFactory);
+                    }
                 }
             }
         }
@@ -16,6 +16,7 @@
 package org.openkilda.persistence;
 
 import org.openkilda.persistence.repositories.impl.Neo4jSessionFactory;
+import org.openkilda.persistence.repositories.impl.Neo4jVersionTracker;
 
 import com.google.common.annotations.VisibleForTesting;
 import lombok.SneakyThrows;
@@ -25,19 +26,39 @@ import org.neo4j.ogm.session.SessionFactory;
 import org.neo4j.ogm.transaction.Transaction;
 import org.neo4j.ogm.transaction.Transaction.Status;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Optional;
+import java.util.concurrent.Callable;
 
 /**
  * Neo4j OGM implementation of {@link TransactionManager}. Manages transaction boundaries.
+ * <p/>
+ * If the optimistic locking is enabled, versions of the switches and ISLs involved into a root transaction are
+ * verified on commit, and the transaction is retried if they have been modified by a concurrent one.
+ * <p/>
+ * Rollback actions are scoped to the root transaction: they're executed once it's rolled back (each retry attempt
+ * is rolled back separately) and dropped on commit.
  */
 @Slf4j
 final class Neo4jTransactionManager implements TransactionManager, Neo4jSessionFactory {
     private static final ThreadLocal<Session> SESSION_HOLDER = new ThreadLocal<>();
+    private static final ThreadLocal<Neo4jVersionTracker> VERSION_TRACKER_HOLDER = new ThreadLocal<>();
+    private static final ThreadLocal<Deque<Runnable>> ROLLBACK_ACTIONS_HOLDER = new ThreadLocal<>();
 
     private final SessionFactory sessionFactory;
+    private final boolean optimisticLocking;
+    private final int optimisticLockingMaxRetries;
 
     public Neo4jTransactionManager(SessionFactory sessionFactory) {
+        this(sessionFactory, false, 0);
+    }
+
+    public Neo4jTransactionManager(SessionFactory sessionFactory, boolean optimisticLocking,
+                                   int optimisticLockingMaxRetries) {
         this.sessionFactory = sessionFactory;
+        this.optimisticLocking = optimisticLocking;
+        this.optimisticLockingMaxRetries = optimisticLockingMaxRetries;
     }
 
     /**
@@ -50,35 +71,77 @@ final class Neo4jTransactionManager implements TransactionManager, Neo4jSessionF
         return Optional.ofNullable(SESSION_HOLDER.get()).orElseGet(sessionFactory::openSession);
     }
 
+    @Override
+    public Optional<Neo4jVersionTracker> getVersionTracker() {
+        return Optional.ofNullable(VERSION_TRACKER_HOLDER.get());
+    }
+
     @SneakyThrows
     @Override
     public <T, E extends Throwable> T doInTransaction(TransactionCallback<T, E> action) throws E {
-        begin();
-
-        try {
-            T result = action.doInTransaction();
-            commit();
-            return result;
-        } catch (Exception ex) {
-            rollback();
-            throw ex;
+        if (optimisticLocking && SESSION_HOLDER.get() == null) {
+            return retryOnOptimisticLockFailure(() -> execute(action));
         }
+
+        return execute(action);
     }
 
     @SneakyThrows
     @Override
     public <E extends Throwable> void doInTransaction(TransactionCallbackWithoutResult<E> action) throws E {
+        doInTransaction(() -> {
+            action.doInTransaction();
+            return null;
+        });
+    }
+
+    @Override
+    public void doOnRollback(Runnable action) {
+        Deque<Runnable> actions = ROLLBACK_ACTIONS_HOLDER.get();
+        if (actions == null) {
+            throw new PersistenceException("Unable to register rollback action: there's no active transaction.");
+        }
+        actions.push(action);
+    }
+
+    private <T> T execute(TransactionCallback<T, ?> action) throws Exception {
+        boolean isRoot = SESSION_HOLDER.get() == null;
         begin();
 
         try {
-            action.doInTransaction();
+            T result = action.doInTransaction();
+            if (isRoot) {
+                verifyVersions();
+            }
             commit();
+            return result;
         } catch (Exception ex) {
             rollback();
             throw ex;
         }
     }
 
+    private <T> T retryOnOptimisticLockFailure(Callable<T> execution) throws Exception {
+        for (int retry = 1; ; retry++) {
+            try {
+                return execution.call();
+            } catch (OptimisticLockException ex) {
+                if (retry > optimisticLockingMaxRetries) {
+                    throw ex;
+                }
+                log.debug("Retrying transaction ({} of {}) failed on optimistic locking: {}",
+                        retry, optimisticLockingMaxRetries, ex.getMessage());
+            }
+        }
+    }
+
+    private void verifyVersions() {
+        Neo4jVersionTracker versionTracker = VERSION_TRACKER_HOLDER.get();
+        if (versionTracker != null) {
+            versionTracker.verifyAndIncrement(SESSION_HOLDER.get());
+        }
+    }
+
     /**
      * Begin a new transaction.
      * <p/>
@@ -97,6 +160,12 @@ final class Neo4jTransactionManager implements TransactionManager, Neo4jSessionF
             throw new PersistenceException("Unable to begin transaction.", ex);
         }
 
+        if (SESSION_HOLDER.get() == null) {
+            if (optimisticLocking) {
+                VERSION_TRACKER_HOLDER.set(new Neo4jVersionTracker());
+            }
+            ROLLBACK_ACTIONS_HOLDER.set(new ArrayDeque<>());
+        }
         SESSION_HOLDER.set(session);
     }
 
@@ -123,6 +192,8 @@ final class Neo4jTransactionManager implements TransactionManager, Neo4jSessionF
             if (transaction.status() == Status.COMMITTED || transaction.status() == Status.CLOSED) {
                 // Release the session associated with the transaction and the current thread.
                 SESSION_HOLDER.remove();
+                VERSION_TRACKER_HOLDER.remove();
+                ROLLBACK_ACTIONS_HOLDER.remove();
             }
         }
     }
@@ -152,6 +223,24 @@ final class Neo4jTransactionManager implements TransactionManager, Neo4jSessionF
             if (transaction.status() == Status.ROLLEDBACK || transaction.status() == Status.CLOSED) {
                 // Release the session associated with the transaction and the current thread.
                 SESSION_HOLDER.remove();
+                VERSION_TRACKER_HOLDER.remove();
+                runRollbackActions();
+            }
+        }
+    }
+
+    private void runRollbackActions() {
+        Deque<Runnable> actions = ROLLBACK_ACTIONS_HOLDER.get();
+        ROLLBACK_ACTIONS_HOLDER.remove();
+        if (actions == null) {
+            return;
+        }
+
+        for (Runnable action : actions) {
+            try {
+                action.run();
+            } catch (Exception ex) {
+                log.error("Unable to execute rollback action", ex);
             }
         }
     }
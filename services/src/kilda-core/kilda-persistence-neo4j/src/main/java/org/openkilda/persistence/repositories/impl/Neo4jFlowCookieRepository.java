@@ -23,6 +23,7 @@ import org.openkilda.persistence.TransactionManager;
 import org.openkilda.persistence.repositories.FlowCookieRepository;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
 import org.neo4j.ogm.cypher.ComparisonOperator;
 import org.neo4j.ogm.cypher.Filter;
 
@@ -81,6 +82,19 @@ public class Neo4jFlowCookieRepository extends Neo4jGenericRepository<FlowCookie
         return results.hasNext() ? Optional.of(results.next()) : Optional.empty();
     }
 
+    @Override
+    public Collection<Long> findAssignedCookies(long lowestCookie, long highestCookie) {
+        Map<String, Object> parameters = ImmutableMap.of(
+                "lowest_cookie", lowestCookie,
+                "highest_cookie", highestCookie);
+
+        String query = "MATCH (n:flow_cookie) "
+                + "WHERE n.unmasked_cookie >= $lowest_cookie AND n.unmasked_cookie <= $highest_cookie "
+                + "RETURN n.unmasked_cookie";
+
+        return Lists.newArrayList(getSession().query(Long.class, query, parameters));
+    }
+
     @Override
     protected Class<FlowCookie> getEntityType() {
         return FlowCookie.class;
@@ -29,6 +29,7 @@ import com.google.common.collect.ImmutableMap;
 import org.neo4j.ogm.cypher.ComparisonOperator;
 import org.neo4j.ogm.cypher.Filter;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.Map;
@@ -86,6 +87,23 @@ public class Neo4jFlowMeterRepository extends Neo4jGenericRepository<FlowMeter>
         return results.hasNext() ? Optional.of(results.next()).map(MeterId::new) : Optional.empty();
     }
 
+    @Override
+    public Collection<MeterId> findAssignedMeterIds(SwitchId switchId, MeterId lowestMeterId,
+                                                    MeterId highestMeterId) {
+        Map<String, Object> parameters = ImmutableMap.of(
+                "lowest_meter", lowestMeterId.getValue(),
+                "highest_meter", highestMeterId.getValue(),
+                "switch_id", switchId.toString());
+
+        String query = "MATCH (:switch {name: $switch_id})-[]-(n:flow_meter) "
+                + "WHERE n.meter_id >= $lowest_meter AND n.meter_id <= $highest_meter "
+                + "RETURN n.meter_id";
+
+        Collection<MeterId> result = new ArrayList<>();
+        getSession().query(Long.class, query, parameters).forEach(meterId -> result.add(new MeterId(meterId)));
+        return result;
+    }
+
     @Override
     public void createOrUpdate(FlowMeter entity) {
         requireManagedEntity(entity.getTheSwitch());
@@ -24,7 +24,6 @@ import org.openkilda.model.Flow;
 import org.openkilda.model.FlowPath;
 import org.openkilda.model.FlowPathStatus;
 import org.openkilda.model.PathId;
-import org.openkilda.model.PathSegment;
 import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
 import org.openkilda.persistence.PersistenceException;
@@ -34,13 +33,16 @@ import org.openkilda.persistence.converters.SwitchIdConverter;
 import org.openkilda.persistence.repositories.FlowPathRepository;
 
 import com.google.common.collect.ImmutableMap;
+import lombok.Value;
 import org.neo4j.ogm.cypher.ComparisonOperator;
 import org.neo4j.ogm.cypher.Filter;
 import org.neo4j.ogm.cypher.function.FilterFunction;
 import org.neo4j.ogm.session.Session;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -241,57 +243,69 @@ public class Neo4jFlowPathRepository extends Neo4jGenericRepository<FlowPath> im
 
     @Override
     public void createOrUpdate(FlowPath flowPath) {
-        // The flow path must reference a managed flow to avoid creation of duplicated flow.
-        requireManagedEntity(flowPath.getFlow());
+        createOrUpdateAll(Collections.singletonList(flowPath));
+    }
+
+    @Override
+    public void createOrUpdateAll(Collection<FlowPath> flowPaths) {
+        flowPaths.forEach(flowPath -> {
+            // The flow path must reference a managed flow to avoid creation of duplicated flow.
+            requireManagedEntity(flowPath.getFlow());
 
-        validateFlowPath(flowPath);
+            validateFlowPath(flowPath);
+        });
 
         transactionManager.doInTransaction(() -> {
-            Collection<PathSegment> currentSegments = findPathSegmentsByPathId(flowPath.getPathId());
-            lockSwitches(getInvolvedSwitches(flowPath, currentSegments));
+            Collection<SegmentRef> currentSegments = findSegmentRefs(flowPaths);
+            lockSwitchIds(getInvolvedSwitchIds(flowPaths, currentSegments));
 
-            updateSegments(currentSegments, flowPath.getSegments());
+            deleteNodes(getRemovedSegmentIds(currentSegments, flowPaths));
 
-            super.createOrUpdate(flowPath);
+            save(flowPaths);
         });
     }
 
-    private void updateSegments(Collection<PathSegment> currentSegments, List<PathSegment> newSegments) {
+    private List<Long> getRemovedSegmentIds(Collection<SegmentRef> currentSegments, Collection<FlowPath> flowPaths) {
         Session session = getSession();
 
-        Set<Long> updatedEntities = newSegments.stream()
+        Set<Long> updatedEntities = flowPaths.stream()
+                .flatMap(flowPath -> flowPath.getSegments().stream())
                 .map(session::resolveGraphIdFor)
                 .filter(Objects::nonNull)
                 .collect(Collectors.toSet());
 
-        currentSegments.forEach(segment -> {
-            if (!updatedEntities.contains(session.resolveGraphIdFor(segment))) {
-                session.delete(segment);
-            }
-        });
+        return currentSegments.stream()
+                .map(SegmentRef::getEntityId)
+                .filter(entityId -> !updatedEntities.contains(entityId))
+                .collect(Collectors.toList());
     }
 
     @Override
     public void delete(FlowPath flowPath) {
+        deleteAll(Collections.singletonList(flowPath));
+    }
+
+    @Override
+    public void deleteAll(Collection<FlowPath> flowPaths) {
         transactionManager.doInTransaction(() -> {
-            Collection<PathSegment> currentSegments = findPathSegmentsByPathId(flowPath.getPathId());
-            lockSwitches(getInvolvedSwitches(flowPath, currentSegments));
+            Collection<SegmentRef> currentSegments = findSegmentRefs(flowPaths);
+            lockSwitchIds(getInvolvedSwitchIds(flowPaths, currentSegments));
 
+            // The paths and their segments are removed by a single statement.
             Session session = getSession();
-            //TODO: this is slow and requires optimization
-            currentSegments.forEach(session::delete);
-
-            super.delete(flowPath);
+            List<Long> entityIds = new ArrayList<>();
+            flowPaths.forEach(flowPath -> entityIds.add(session.resolveGraphIdFor(requireManagedEntity(flowPath))));
+            currentSegments.forEach(segment -> entityIds.add(segment.getEntityId()));
+            deleteNodes(entityIds);
         });
     }
 
     @Override
     public void lockInvolvedSwitches(FlowPath... flowPaths) {
-        lockSwitches(Arrays.stream(flowPaths)
+        List<FlowPath> paths = Arrays.stream(flowPaths)
                 .filter(Objects::nonNull)
-                .map(path -> getInvolvedSwitches(path, findPathSegmentsByPathId(path.getPathId())))
-                .flatMap(Arrays::stream)
-                .toArray(Switch[]::new));
+                .collect(Collectors.toList());
+        lockSwitchIds(getInvolvedSwitchIds(paths, findSegmentRefs(paths)));
     }
 
     @Override
@@ -314,24 +328,47 @@ public class Neo4jFlowPathRepository extends Neo4jGenericRepository<FlowPath> im
                 .orElse(0L);
     }
 
-    private Collection<PathSegment> findPathSegmentsByPathId(PathId pathId) {
-        Filter pathIdFilter = new Filter(PATH_ID_PROPERTY_NAME, ComparisonOperator.EQUALS, pathId);
-        pathIdFilter.setNestedPath(new Filter.NestedPathSegment("path", FlowPath.class));
+    /**
+     * Finds the persisted segments of the paths by a single query, the segments are not loaded into the session.
+     */
+    private Collection<SegmentRef> findSegmentRefs(Collection<FlowPath> flowPaths) {
+        List<String> pathIds = flowPaths.stream()
+                .map(FlowPath::getPathId)
+                .map(PathId::getId)
+                .collect(Collectors.toList());
+        if (pathIds.isEmpty()) {
+            return emptyList();
+        }
 
-        return getSession().loadAll(PathSegment.class, pathIdFilter, getDepthLoadEntity());
+        Map<String, Object> parameters = ImmutableMap.of("path_ids", pathIds);
+        List<SegmentRef> result = new ArrayList<>();
+        getSession().query("UNWIND $path_ids AS path_id "
+                + "MATCH (:flow_path {path_id: path_id})-[:owns]-(ps:path_segment) "
+                + "MATCH (src:switch)-[:source]-(ps)-[:destination]-(dst:switch) "
+                + "RETURN id(ps) AS entity_id, src.name AS src_switch, dst.name AS dst_switch", parameters)
+                .forEach(row -> result.add(new SegmentRef(((Number) row.get("entity_id")).longValue(),
+                        new SwitchId((String) row.get("src_switch")), new SwitchId((String) row.get("dst_switch")))));
+        return result;
     }
 
-    private Switch[] getInvolvedSwitches(FlowPath flowPath, Collection<PathSegment> additionalSegments) {
-        return Stream.concat(
-                Stream.of(flowPath.getSrcSwitch(), flowPath.getDestSwitch()),
-                Stream.concat(
-                        flowPath.getSegments().stream()
-                                .flatMap(segment -> Stream.of(segment.getSrcSwitch(), segment.getDestSwitch())),
-                        additionalSegments.stream()
-                                .flatMap(segment -> Stream.of(segment.getSrcSwitch(), segment.getDestSwitch()))
-                ))
-                .filter(Objects::nonNull)
-                .toArray(Switch[]::new);
+    private Set<SwitchId> getInvolvedSwitchIds(Collection<FlowPath> flowPaths,
+                                               Collection<SegmentRef> additionalSegments) {
+        Set<SwitchId> result = new HashSet<>();
+        for (FlowPath flowPath : flowPaths) {
+            Stream.concat(
+                    Stream.of(flowPath.getSrcSwitch(), flowPath.getDestSwitch()),
+                    flowPath.getSegments().stream()
+                            .flatMap(segment -> Stream.of(segment.getSrcSwitch(), segment.getDestSwitch())))
+                    .filter(Objects::nonNull)
+                    .map(this::requireManagedEntity)
+                    .map(Switch::getSwitchId)
+                    .forEach(result::add);
+        }
+        for (SegmentRef segment : additionalSegments) {
+            result.add(segment.getSrcSwitchId());
+            result.add(segment.getDestSwitchId());
+        }
+        return result;
     }
 
     @Override
@@ -370,6 +407,13 @@ public class Neo4jFlowPathRepository extends Neo4jGenericRepository<FlowPath> im
         });
     }
 
+    @Value
+    private static class SegmentRef {
+        private long entityId;
+        private SwitchId srcSwitchId;
+        private SwitchId destSwitchId;
+    }
+
     private static class InOperatorWithNoConverterComparison implements FilterFunction<Object> {
 
         private final Object value;
@@ -37,6 +37,7 @@ import org.neo4j.ogm.session.Session;
 
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -196,11 +197,10 @@ public class Neo4jFlowRepository extends Neo4jGenericRepository<Flow> implements
                 .filter(Objects::nonNull)
                 .collect(Collectors.toSet());
 
-        currentPaths.forEach(path -> {
-            if (!updatedEntities.contains(session.resolveGraphIdFor(path))) {
-                flowPathRepository.delete(path);
-            }
-        });
+        List<FlowPath> removedPaths = currentPaths.stream()
+                .filter(path -> !updatedEntities.contains(session.resolveGraphIdFor(path)))
+                .collect(Collectors.toList());
+        flowPathRepository.deleteAll(removedPaths);
     }
 
     @Override
@@ -209,7 +209,7 @@ public class Neo4jFlowRepository extends Neo4jGenericRepository<Flow> implements
             Collection<FlowPath> flowPaths = flowPathRepository.findByFlowId(flow.getFlowId());
             flowPathRepository.lockInvolvedSwitches(flowPaths.toArray(new FlowPath[0]));
 
-            flowPaths.forEach(flowPathRepository::delete);
+            flowPathRepository.deleteAll(flowPaths);
 
             super.delete(flow);
         });
@@ -30,12 +30,18 @@ import org.neo4j.driver.v1.exceptions.ClientException;
 import org.neo4j.ogm.cypher.ComparisonOperator;
 import org.neo4j.ogm.cypher.Filter;
 import org.neo4j.ogm.cypher.Filters;
+import org.neo4j.ogm.session.Neo4jSession;
 import org.neo4j.ogm.session.Session;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
 
 /**
  * Base Neo4j OGM implementation of {@link Repository}.
@@ -60,6 +66,13 @@ abstract class Neo4jGenericRepository<T> implements Repository<T> {
 
     @Override
     public void createOrUpdate(T entity) {
+        save(entity);
+    }
+
+    /**
+     * Saves the entity or the collection of entities in a single request.
+     */
+    protected void save(Object entity) {
         try {
             getSession().save(entity, getDepthCreateUpdateEntity());
         } catch (ClientException ex) {
@@ -92,6 +105,10 @@ abstract class Neo4jGenericRepository<T> implements Repository<T> {
         return sessionFactory.getSession();
     }
 
+    protected Optional<Neo4jVersionTracker> getVersionTracker() {
+        return sessionFactory.getVersionTracker();
+    }
+
     protected Collection<T> loadAll(Filter filter) {
         return getSession().loadAll(getEntityType(), filter, getDepthLoadEntity());
     }
@@ -122,21 +139,63 @@ abstract class Neo4jGenericRepository<T> implements Repository<T> {
     }
 
     protected void lockSwitches(Switch... switches) {
-        // Lock switches in ascending order of switchId.
-        Arrays.stream(switches).map(this::requireManagedEntity)
-                .<Map<SwitchId, Switch>>collect(TreeMap::new, (m, e) -> m.put(e.getSwitchId(), e), Map::putAll)
-                .values()
-                .forEach(this::lockSwitch);
+        lockSwitchIds(Arrays.stream(switches)
+                .map(this::requireManagedEntity)
+                .map(Switch::getSwitchId)
+                .collect(Collectors.toList()));
     }
 
-    private void lockSwitch(Switch sw) {
-        Map<String, Object> parameters = ImmutableMap.of("name", sw.getSwitchId().toString());
-        Long updatedEntityId = getSession().queryForObject(Long.class,
-                "MATCH (sw:switch {name: $name}) "
+    /**
+     * Locks the switches by a single statement.
+     * <p/>
+     * If the transaction is locked optimistically, the switch versions are only tracked to be verified on commit.
+     */
+    protected void lockSwitchIds(Collection<SwitchId> switchIds) {
+        Optional<Neo4jVersionTracker> versionTracker = getVersionTracker();
+        if (versionTracker.isPresent()) {
+            versionTracker.get().trackSwitches(getSession(), switchIds);
+            return;
+        }
+
+        // Lock switches in ascending order of switchId, UNWIND keeps the order of the list.
+        List<String> names = new TreeSet<>(switchIds).stream()
+                .map(SwitchId::toString)
+                .collect(Collectors.toList());
+        if (names.isEmpty()) {
+            return;
+        }
+
+        // The version is incremented to fail concurrent transactions which lock the switches optimistically.
+        Map<String, Object> parameters = ImmutableMap.of("names", names);
+        Set<String> lockedNames = new HashSet<>();
+        getSession().query(String.class,
+                "UNWIND $names AS name "
+                        + "MATCH (sw:switch {name: name}) "
                         + "SET sw.tx_override_workaround='dummy' "
-                        + "RETURN id(sw)", parameters);
-        if (updatedEntityId == null) {
-            throw new PersistenceException(format("Switch not found to be locked: %s", sw.getSwitchId()));
+                        + "SET sw.lock_version = coalesce(sw.lock_version, 0) + 1 "
+                        + "RETURN sw.name", parameters).forEach(lockedNames::add);
+        if (lockedNames.size() != names.size()) {
+            names.removeAll(lockedNames);
+            throw new PersistenceException(format("Switch not found to be locked: %s", names));
+        }
+    }
+
+    /**
+     * Deletes the nodes with their relations by a single statement and detaches them from the session.
+     */
+    protected void deleteNodes(Collection<Long> entityIds) {
+        if (entityIds.isEmpty()) {
+            return;
+        }
+
+        Session session = getSession();
+        session.query("UNWIND $ids AS id MATCH (n) WHERE id(n) = id DETACH DELETE n",
+                ImmutableMap.of("ids", entityIds));
+
+        if (session instanceof Neo4jSession) {
+            entityIds.forEach(((Neo4jSession) session)::detachNodeEntity);
+        } else {
+            session.clear();
         }
     }
 }
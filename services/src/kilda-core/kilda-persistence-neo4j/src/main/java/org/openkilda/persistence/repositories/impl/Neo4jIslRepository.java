@@ -190,6 +190,31 @@ public class Neo4jIslRepository extends Neo4jGenericRepository<Isl> implements I
         return Lists.newArrayList(getSession().query(getEntityType(), query, parameters));
     }
 
+    @Override
+    public Optional<Isl> updateAvailableBandwidth(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort,
+                                                  long delta) {
+        Map<String, Object> parameters = ImmutableMap.of(
+                "src_switch", srcSwitchId.toString(),
+                "src_port", srcPort,
+                "dst_switch", dstSwitchId.toString(),
+                "dst_port", dstPort,
+                "delta", delta);
+
+        String query = "MATCH (src:switch {name: $src_switch})-[link:isl { "
+                + " src_port: $src_port, "
+                + " dst_port: $dst_port "
+                + "}]->(dst:switch {name: $dst_switch}) "
+                + "SET link.available_bandwidth = link.available_bandwidth + $delta "
+                + "RETURN src, link, dst";
+
+        List<Isl> isls = Lists.newArrayList(getSession().query(getEntityType(), query, parameters));
+        if (isls.size() > 1) {
+            throw new PersistenceException(format("Found more that 1 ISL entity with %s_%d - %s_%d",
+                    srcSwitchId, srcPort, dstSwitchId, dstPort));
+        }
+        return isls.isEmpty() ? Optional.empty() : Optional.of(isls.get(0));
+    }
+
     @Override
     public void createOrUpdate(Isl link) {
         transactionManager.doInTransaction(() -> {
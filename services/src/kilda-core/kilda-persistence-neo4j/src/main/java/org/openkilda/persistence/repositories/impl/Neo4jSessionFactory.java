@@ -17,9 +17,18 @@ package org.openkilda.persistence.repositories.impl;
 
 import org.neo4j.ogm.session.Session;
 
+import java.util.Optional;
+
 /**
  * Used to obtain {@link Session} instances for interacting with Neo4j OGM.
  */
 public interface Neo4jSessionFactory {
     Session getSession();
+
+    /**
+     * Get the version tracker of the current transaction, if it's locked optimistically.
+     *
+     * @return the tracker or empty if there's no active transaction or the optimistic locking is disabled.
+     */
+    Optional<Neo4jVersionTracker> getVersionTracker();
 }
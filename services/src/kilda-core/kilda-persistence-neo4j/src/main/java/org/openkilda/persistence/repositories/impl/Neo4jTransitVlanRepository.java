@@ -21,6 +21,7 @@ import org.openkilda.persistence.TransactionManager;
 import org.openkilda.persistence.repositories.TransitVlanRepository;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
 import org.neo4j.ogm.cypher.ComparisonOperator;
 import org.neo4j.ogm.cypher.Filter;
 
@@ -75,6 +76,19 @@ public class Neo4jTransitVlanRepository extends Neo4jGenericRepository<TransitVl
         return results.hasNext() ? Optional.of(results.next()) : Optional.empty();
     }
 
+    @Override
+    public Collection<Integer> findAssignedTransitVlans(int lowestVlan, int highestVlan) {
+        Map<String, Object> parameters = ImmutableMap.of(
+                "lowest_vlan", lowestVlan,
+                "highest_vlan", highestVlan);
+
+        String query = "MATCH (n:transit_vlan) "
+                + "WHERE n.vlan >= $lowest_vlan AND n.vlan <= $highest_vlan "
+                + "RETURN n.vlan";
+
+        return Lists.newArrayList(getSession().query(Integer.class, query, parameters));
+    }
+
     @Override
     protected Class<TransitVlan> getEntityType() {
         return TransitVlan.class;
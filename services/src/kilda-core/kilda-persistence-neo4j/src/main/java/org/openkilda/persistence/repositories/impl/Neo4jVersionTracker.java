@@ -0,0 +1,109 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.persistence.repositories.impl;
+
+import static java.lang.String.format;
+
+import org.openkilda.model.SwitchId;
+import org.openkilda.persistence.OptimisticLockException;
+import org.openkilda.persistence.PersistenceException;
+
+import com.google.common.collect.ImmutableMap;
+import org.neo4j.ogm.session.Session;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Tracks versions of switches involved into a transaction, so the optimistic locking can verify on commit that none
+ * of them has been modified by a concurrent transaction.
+ * <p/>
+ * A switch version guards resources of the switch (meters, cookies, transit vlans) and bandwidth of ISLs connected
+ * to it, as all writers of them lock the switches in advance.
+ * <p/>
+ * The version is kept in the "lock_version" property, which isn't mapped to the entities. It's incremented by each
+ * transaction that locks the switch, pessimistically as well, so both locking modes can be used at the same time.
+ */
+public class Neo4jVersionTracker {
+    // Keep the switches sorted, so concurrent verifications lock them in the same order.
+    private final Map<String, Long> switchVersions = new TreeMap<>();
+
+    /**
+     * Reads the current versions of the switches, unless they are already tracked.
+     */
+    public void trackSwitches(Session session, Collection<SwitchId> switchIds) {
+        List<String> names = switchIds.stream()
+                .map(SwitchId::toString)
+                .filter(name -> !switchVersions.containsKey(name))
+                .distinct()
+                .collect(Collectors.toList());
+        if (names.isEmpty()) {
+            return;
+        }
+
+        session.query("UNWIND $names AS name "
+                + "MATCH (sw:switch {name: name}) "
+                + "RETURN sw.name AS name, coalesce(sw.lock_version, 0) AS version",
+                ImmutableMap.of("names", names)).queryResults()
+                .forEach(row -> switchVersions.put((String) row.get("name"), toLong(row.get("version"))));
+
+        names.removeAll(switchVersions.keySet());
+        if (!names.isEmpty()) {
+            throw new PersistenceException(format("Switch not found to be locked: %s", names));
+        }
+    }
+
+    /**
+     * Verifies that the tracked switches have not been modified since they were read and increments their versions.
+     * The switches stay write-locked till the end of the transaction.
+     *
+     * @throws OptimisticLockException if any of the switches has been modified by a concurrent transaction.
+     */
+    public void verifyAndIncrement(Session session) {
+        if (switchVersions.isEmpty()) {
+            return;
+        }
+
+        Map<String, Long> actual = new HashMap<>();
+        session.query("UNWIND $names AS name "
+                + "MATCH (sw:switch {name: name}) "
+                + "SET sw.tx_override_workaround='dummy' "
+                + "SET sw.lock_version = coalesce(sw.lock_version, 0) + 1 "
+                + "RETURN sw.name AS name, sw.lock_version - 1 AS version",
+                ImmutableMap.of("names", new ArrayList<>(switchVersions.keySet()))).queryResults()
+                .forEach(row -> actual.put((String) row.get("name"), toLong(row.get("version"))));
+
+        List<String> modified = switchVersions.entrySet().stream()
+                .filter(entry -> !Objects.equals(entry.getValue(), actual.get(entry.getKey())))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        if (!modified.isEmpty()) {
+            throw new OptimisticLockException(
+                    format("Switches have been modified by a concurrent transaction: %s", modified));
+        }
+    }
+
+    private static long toLong(Object value) {
+        return ((Number) value).longValue();
+    }
+}
@@ -17,6 +17,7 @@ package org.openkilda.persistence.spi;
 
 import org.openkilda.config.provider.ConfigurationProvider;
 import org.openkilda.persistence.Neo4jConfig;
+import org.openkilda.persistence.Neo4jLockingConfig;
 import org.openkilda.persistence.Neo4jPersistenceManager;
 import org.openkilda.persistence.PersistenceManager;
 
@@ -27,6 +28,7 @@ public class Neo4jPersistenceProvider implements PersistenceProvider {
     @Override
     public PersistenceManager createPersistenceManager(ConfigurationProvider configurationProvider) {
         Neo4jConfig config = configurationProvider.getConfiguration(Neo4jConfig.class);
-        return new Neo4jPersistenceManager(config);
+        Neo4jLockingConfig lockingConfig = configurationProvider.getConfiguration(Neo4jLockingConfig.class);
+        return new Neo4jPersistenceManager(config, lockingConfig);
     }
 }
@@ -29,6 +29,7 @@ import java.time.Instant;
 
 public abstract class Neo4jBasedTest {
     protected static TestServer testServer;
+    protected static Neo4jConfig neo4jConfig;
     protected static PersistenceManager persistenceManager;
     protected static Neo4jTransactionManager txManager;
     protected static Neo4jSessionFactory neo4jSessionFactory;
@@ -37,7 +38,7 @@ public abstract class Neo4jBasedTest {
     public static void runTestServer() {
         testServer = new TestServer(true, true, 5);
 
-        persistenceManager = new Neo4jPersistenceManager(new Neo4jConfig() {
+        neo4jConfig = new Neo4jConfig() {
             @Override
             public String getUri() {
                 return testServer.getUri();
@@ -62,7 +63,9 @@ public abstract class Neo4jBasedTest {
             public String getIndexesAuto() {
                 return "update";
             }
-        });
+        };
+
+        persistenceManager = new Neo4jPersistenceManager(neo4jConfig);
 
         txManager = (Neo4jTransactionManager) persistenceManager.getTransactionManager();
         neo4jSessionFactory = txManager;
@@ -0,0 +1,167 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.persistence;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import org.openkilda.model.SwitchId;
+import org.openkilda.persistence.repositories.SwitchRepository;
+import org.openkilda.persistence.repositories.impl.Neo4jSwitchRepository;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class Neo4jOptimisticLockingTest extends Neo4jBasedTest {
+    static final SwitchId TEST_SWITCH_A_ID = new SwitchId(1);
+    static final SwitchId TEST_SWITCH_B_ID = new SwitchId(2);
+    static final int MAX_RETRIES = 2;
+
+    static TransactionManager optimisticTxManager;
+    static SwitchRepository switchRepository;
+
+    @BeforeClass
+    public static void setUp() {
+        Neo4jPersistenceManager optimisticPersistenceManager = new Neo4jPersistenceManager(neo4jConfig,
+                new Neo4jLockingConfig() {
+                    @Override
+                    public boolean isOptimisticLocking() {
+                        return true;
+                    }
+
+                    @Override
+                    public int getOptimisticLockingMaxRetries() {
+                        return MAX_RETRIES;
+                    }
+                });
+        optimisticTxManager = optimisticPersistenceManager.getTransactionManager();
+        switchRepository = optimisticPersistenceManager.getRepositoryFactory().createSwitchRepository();
+    }
+
+    @Before
+    public void createSwitches() {
+        switchRepository.createOrUpdate(buildTestSwitch(TEST_SWITCH_A_ID.toLong()));
+        switchRepository.createOrUpdate(buildTestSwitch(TEST_SWITCH_B_ID.toLong()));
+    }
+
+    @Test
+    public void shouldNotBlockConcurrentTransactionAndRetryOnConflict() throws Exception {
+        // given
+        AtomicInteger attempts = new AtomicInteger();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        // when
+        optimisticTxManager.doInTransaction(() -> {
+            switchRepository.lockSwitches(switchRepository.findById(TEST_SWITCH_A_ID).get());
+
+            if (attempts.incrementAndGet() == 1) {
+                // The concurrent transaction would wait for the pessimistic lock forever.
+                executor.submit(() -> optimisticTxManager.doInTransaction(() ->
+                        switchRepository.lockSwitches(switchRepository.findById(TEST_SWITCH_A_ID).get())))
+                        .get(10, TimeUnit.SECONDS);
+            }
+        });
+        executor.shutdown();
+
+        // then
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    public void shouldExecuteRollbackActionsBeforeRetry() throws Exception {
+        // given
+        AtomicInteger attempts = new AtomicInteger();
+        AtomicInteger rolledBack = new AtomicInteger();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        // when
+        optimisticTxManager.doInTransaction(() -> {
+            switchRepository.lockSwitches(switchRepository.findById(TEST_SWITCH_A_ID).get());
+            optimisticTxManager.doOnRollback(rolledBack::incrementAndGet);
+
+            if (attempts.incrementAndGet() == 1) {
+                executor.submit(() -> optimisticTxManager.doInTransaction(() ->
+                        switchRepository.lockSwitches(switchRepository.findById(TEST_SWITCH_A_ID).get())))
+                        .get(10, TimeUnit.SECONDS);
+            }
+        });
+        executor.shutdown();
+
+        // then
+        assertEquals(2, attempts.get());
+        // only the first attempt is rolled back
+        assertEquals(1, rolledBack.get());
+    }
+
+    @Test
+    public void shouldRetryOnSwitchLockedByPessimisticTransaction() throws Exception {
+        // given
+        AtomicInteger attempts = new AtomicInteger();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        SwitchRepository pessimisticSwitchRepository = new Neo4jSwitchRepository(neo4jSessionFactory, txManager);
+
+        // when
+        optimisticTxManager.doInTransaction(() -> {
+            switchRepository.lockSwitches(switchRepository.findById(TEST_SWITCH_A_ID).get(),
+                    switchRepository.findById(TEST_SWITCH_B_ID).get());
+
+            if (attempts.incrementAndGet() == 1) {
+                executor.submit(() -> txManager.doInTransaction(() -> pessimisticSwitchRepository.lockSwitches(
+                        pessimisticSwitchRepository.findById(TEST_SWITCH_B_ID).get())))
+                        .get(10, TimeUnit.SECONDS);
+            }
+        });
+        executor.shutdown();
+
+        // then
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    public void shouldFailWhenRetriesExhausted() throws Exception {
+        // given
+        AtomicInteger attempts = new AtomicInteger();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        // when
+        try {
+            optimisticTxManager.doInTransaction(() -> {
+                attempts.incrementAndGet();
+                switchRepository.lockSwitches(switchRepository.findById(TEST_SWITCH_B_ID).get());
+
+                executor.submit(() -> optimisticTxManager.doInTransaction(() ->
+                        switchRepository.lockSwitches(switchRepository.findById(TEST_SWITCH_B_ID).get())))
+                        .get(10, TimeUnit.SECONDS);
+            });
+
+            fail("Expected OptimisticLockException");
+        } catch (OptimisticLockException ex) {
+            // expected
+        } finally {
+            executor.shutdown();
+        }
+
+        // then
+        assertEquals(MAX_RETRIES + 1, attempts.get());
+    }
+}
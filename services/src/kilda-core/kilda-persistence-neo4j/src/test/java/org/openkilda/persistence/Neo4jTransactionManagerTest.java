@@ -15,7 +15,9 @@
 
 package org.openkilda.persistence;
 
+import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import org.openkilda.model.Switch;
@@ -26,6 +28,9 @@ import org.openkilda.persistence.repositories.impl.Neo4jSwitchRepository;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class Neo4jTransactionManagerTest extends Neo4jBasedTest {
     static final SwitchId TEST_SWITCH_ID = new SwitchId(1);
 
@@ -144,6 +149,47 @@ public class Neo4jTransactionManagerTest extends Neo4jBasedTest {
         assertEquals(0, repository.findAll().size());
     }
 
+    @Test
+    public void shouldExecuteRollbackActionsOfExtendedTxOnRootRollback() {
+        // given
+        List<String> executed = new ArrayList<>();
+
+        // when
+        try {
+            txManager.doInTransaction(() -> {
+                txManager.doOnRollback(() -> executed.add("root"));
+                txManager.doInTransaction(() -> txManager.doOnRollback(() -> executed.add("extended")));
+                throw new IllegalStateException();
+            });
+            fail();
+        } catch (IllegalStateException ex) {
+            // expected
+        }
+
+        // then
+        assertEquals(asList("extended", "root"), executed);
+    }
+
+    @Test
+    public void shouldNotExecuteRollbackActionsOnCommit() {
+        // given
+        List<String> executed = new ArrayList<>();
+
+        // when
+        txManager.doInTransaction(() -> txManager.doOnRollback(() -> executed.add("root")));
+        txManager.doInTransaction(() -> {
+        });
+
+        // then
+        assertTrue(executed.isEmpty());
+    }
+
+    @Test(expected = PersistenceException.class)
+    public void shouldNotRegisterRollbackActionWithoutTx() {
+        txManager.doOnRollback(() -> {
+        });
+    }
+
     @Test(expected = TestCheckedException.class)
     public void shouldPassthroughAndCatchCheckedException() throws TestCheckedException {
         TransactionCallbackWithoutResult<TestCheckedException> callback = () -> {
@@ -15,7 +15,9 @@
 
 package org.openkilda.persistence.repositories.impl;
 
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
 
 import org.openkilda.model.FlowCookie;
 import org.openkilda.persistence.Neo4jBasedTest;
@@ -79,4 +81,18 @@ public class Neo4jFlowCookieRepositoryTest extends Neo4jBasedTest {
 
         assertEquals(0, flowCookieRepository.findAll().size());
     }
+
+    @Test
+    public void shouldFindAssignedCookiesWithinRange() {
+        for (long cookie = 1; cookie <= 5; cookie++) {
+            flowCookieRepository.createOrUpdate(FlowCookie.builder()
+                    .unmaskedCookie(cookie)
+                    .flowId(TEST_FLOW_ID + cookie)
+                    .build());
+        }
+
+        Collection<Long> cookies = flowCookieRepository.findAssignedCookies(2, 4);
+
+        assertThat(cookies, containsInAnyOrder(2L, 3L, 4L));
+    }
 }
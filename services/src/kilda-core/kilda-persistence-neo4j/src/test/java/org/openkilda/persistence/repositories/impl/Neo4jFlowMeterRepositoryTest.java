@@ -15,7 +15,9 @@
 
 package org.openkilda.persistence.repositories.impl;
 
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
 
 import org.openkilda.model.FlowMeter;
 import org.openkilda.model.MeterId;
@@ -99,4 +101,30 @@ public class Neo4jFlowMeterRepositoryTest extends Neo4jBasedTest {
 
         assertEquals(0, flowMeterRepository.findAll().size());
     }
+
+    @Test
+    public void shouldFindAssignedMeterIdsOfSwitchWithinRange() {
+        Switch otherSwitch = buildTestSwitch(2);
+        switchRepository.createOrUpdate(otherSwitch);
+
+        for (long meterId = 1; meterId <= 5; meterId++) {
+            flowMeterRepository.createOrUpdate(FlowMeter.builder()
+                    .theSwitch(theSwitch)
+                    .meterId(new MeterId(meterId))
+                    .pathId(new PathId(TEST_FLOW_ID + "_path" + meterId))
+                    .flowId(TEST_FLOW_ID)
+                    .build());
+        }
+        flowMeterRepository.createOrUpdate(FlowMeter.builder()
+                .theSwitch(otherSwitch)
+                .meterId(new MeterId(6))
+                .pathId(new PathId(TEST_FLOW_ID + "_other_path"))
+                .flowId(TEST_FLOW_ID)
+                .build());
+
+        Collection<MeterId> meterIds =
+                flowMeterRepository.findAssignedMeterIds(theSwitch.getSwitchId(), new MeterId(2), new MeterId(6));
+
+        assertThat(meterIds, containsInAnyOrder(new MeterId(2), new MeterId(3), new MeterId(4), new MeterId(5)));
+    }
 }
@@ -192,6 +192,40 @@ public class Neo4jFlowPathRepositoryTest extends Neo4jBasedTest {
         assertEquals(0, flowPathRepository.findAll().size());
     }
 
+    @Test
+    public void shouldCreateAndDeleteFlowPathsInBatch() {
+        Flow flowWithPaths = buildTestFlowPathPair();
+        FlowPath intermediatePath = buildTestFlowPathWithIntermediate(switchC, 100);
+        flowPathRepository.createOrUpdateAll(asList(flowWithPaths.getReversePath(), intermediatePath));
+
+        assertThat(flowPathRepository.findAll(), hasSize(2));
+        assertThat(flowPathRepository.findBySegmentSwitch(switchC.getSwitchId()), hasSize(1));
+
+        flowPathRepository.deleteAll(asList(flowWithPaths.getReversePath(), intermediatePath));
+
+        assertThat(flowPathRepository.findAll(), hasSize(0));
+        assertThat(flowPathRepository.findBySegmentSwitch(switchC.getSwitchId()), hasSize(0));
+    }
+
+    @Test
+    public void shouldRemoveReplacedSegments() {
+        FlowPath flowPath = buildTestFlowPathWithIntermediate(switchC, 100);
+        flowPathRepository.createOrUpdate(flowPath);
+
+        flowPath.setSegments(Collections.singletonList(PathSegment.builder()
+                .srcSwitch(switchA)
+                .srcPort(1)
+                .destSwitch(switchB)
+                .destPort(2)
+                .path(flowPath)
+                .build()));
+        flowPathRepository.createOrUpdate(flowPath);
+
+        FlowPath foundPath = flowPathRepository.findById(flowPath.getPathId()).get();
+        assertThat(foundPath.getSegments(), hasSize(1));
+        assertThat(flowPathRepository.findBySegmentSwitch(switchC.getSwitchId()), hasSize(0));
+    }
+
     @Test
     public void shouldFindFindPathById() {
         FlowPath flowPath = buildTestFlowPath();
@@ -17,6 +17,7 @@ package org.openkilda.persistence.repositories.impl;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
 import org.openkilda.model.Cookie;
 import org.openkilda.model.Flow;
@@ -228,6 +229,33 @@ public class Neo4jIslRepositoryTest extends Neo4jBasedTest {
         assertThat(foundIsl, Matchers.hasSize(1));
     }
 
+    @Test
+    public void shouldUpdateAvailableBandwidthByDelta() {
+        Isl isl = new Isl();
+        isl.setSrcSwitch(switchA);
+        isl.setSrcPort(111);
+        isl.setDestSwitch(switchB);
+        isl.setDestPort(112);
+        isl.setAvailableBandwidth(100);
+
+        islRepository.createOrUpdate(isl);
+
+        Isl updatedIsl = islRepository.updateAvailableBandwidth(TEST_SWITCH_A_ID, 111, TEST_SWITCH_B_ID, 112, -30)
+                .get();
+        assertEquals(70, updatedIsl.getAvailableBandwidth());
+
+        islRepository.updateAvailableBandwidth(TEST_SWITCH_A_ID, 111, TEST_SWITCH_B_ID, 112, 10);
+
+        Isl foundIsl = islRepository.findByEndpoints(TEST_SWITCH_A_ID, 111, TEST_SWITCH_B_ID, 112).get();
+        assertEquals(80, foundIsl.getAvailableBandwidth());
+    }
+
+    @Test
+    public void shouldNotUpdateAvailableBandwidthOfMissingIsl() {
+        assertFalse(islRepository.updateAvailableBandwidth(TEST_SWITCH_A_ID, 111, TEST_SWITCH_B_ID, 112, -30)
+                .isPresent());
+    }
+
     @Test
     public void shouldSkipIslWithNoEnoughBandwidth() {
         Isl isl = new Isl();
@@ -15,7 +15,9 @@
 
 package org.openkilda.persistence.repositories.impl;
 
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
 
 import org.openkilda.model.PathId;
 import org.openkilda.model.TransitVlan;
@@ -53,6 +55,21 @@ public class Neo4jTransitVlanRepositoryTest extends Neo4jBasedTest {
         assertEquals(TEST_FLOW_ID, foundVlan.getFlowId());
     }
 
+    @Test
+    public void shouldFindAssignedTransitVlansWithinRange() {
+        for (int vlan = 1; vlan <= 5; vlan++) {
+            transitVlanRepository.createOrUpdate(TransitVlan.builder()
+                    .vlan(vlan)
+                    .pathId(new PathId(TEST_FLOW_ID + "_path" + vlan))
+                    .flowId(TEST_FLOW_ID)
+                    .build());
+        }
+
+        Collection<Integer> vlans = transitVlanRepository.findAssignedTransitVlans(2, 4);
+
+        assertThat(vlans, containsInAnyOrder(2, 3, 4));
+    }
+
     @Test
     public void shouldDeleteFlowMeter() {
         TransitVlan vlan = TransitVlan.builder()
@@ -0,0 +1,137 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.benchmark;
+
+import org.openkilda.model.Flow;
+import org.openkilda.model.FlowPath;
+import org.openkilda.model.PathId;
+import org.openkilda.model.PathSegment;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.PathComputerFactory;
+import org.openkilda.pce.PathComputerFactory.PathFinderType;
+import org.openkilda.pce.PathComputerFactory.WeightStrategy;
+import org.openkilda.pce.exception.UnroutableFlowException;
+import org.openkilda.pce.finder.PathFinder;
+import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.model.Edge;
+import org.openkilda.pce.model.WeightFunction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link AvailableNetwork} construction steps.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AvailableNetworkBenchmark {
+    private static final int DIVERSE_FLOW_COUNT = 16;
+
+    @State(Scope.Benchmark)
+    public static class NetworkState extends TopologyState {
+        WeightFunction weightFunction;
+        List<PathSegment> diversitySegments;
+
+        /**
+         * Generates the topology and segments of flow paths to be used as a diversity group.
+         */
+        @Setup(Level.Trial)
+        public void setUp() throws UnroutableFlowException {
+            initTopology();
+            PathComputerFactory factory = new PathComputerFactory(config, null);
+            weightFunction = factory.getWeightFunctionByStrategy(WeightStrategy.COST);
+            PathFinder pathFinder = factory.getPathFinder(PathFinderType.DIJKSTRA, weightFunction);
+
+            AvailableNetwork network = buildNetwork();
+            network.reduceByWeight(weightFunction);
+            diversitySegments = new ArrayList<>();
+            for (int i = 0; i < DIVERSE_FLOW_COUNT; i++) {
+                SwitchId[] pair = getPair(i);
+                List<Edge> path = pathFinder.findPathInNetwork(network, pair[0], pair[1]).getLeft();
+                diversitySegments.addAll(buildFlowPath(pair[0], pair[1], path).getSegments());
+            }
+        }
+
+        private FlowPath buildFlowPath(SwitchId srcSwitchId, SwitchId dstSwitchId, List<Edge> path) {
+            FlowPath flowPath = FlowPath.builder()
+                    .flow(new Flow())
+                    .pathId(new PathId(srcSwitchId + "-" + dstSwitchId))
+                    .srcSwitch(Switch.builder().switchId(srcSwitchId).build())
+                    .destSwitch(Switch.builder().switchId(dstSwitchId).build())
+                    .build();
+
+            List<PathSegment> segments = new ArrayList<>();
+            for (Edge edge : path) {
+                segments.add(PathSegment.builder()
+                        .path(flowPath)
+                        .srcSwitch(Switch.builder().switchId(edge.getSrcSwitch().getSwitchId()).build())
+                        .srcPort(edge.getSrcPort())
+                        .destSwitch(Switch.builder().switchId(edge.getDestSwitch().getSwitchId()).build())
+                        .destPort(edge.getDestPort())
+                        .build());
+            }
+            flowPath.setSegments(segments);
+            return flowPath;
+        }
+    }
+
+    /**
+     * The network to be modified by a benchmark, it's rebuilt for each invocation.
+     */
+    @State(Scope.Thread)
+    public static class FreshNetworkState {
+        AvailableNetwork network;
+
+        @Setup(Level.Invocation)
+        public void setUp(NetworkState networkState) {
+            network = networkState.buildNetwork();
+        }
+    }
+
+    @Benchmark
+    public AvailableNetwork buildNetwork(NetworkState state) {
+        return state.buildNetwork();
+    }
+
+    @Benchmark
+    public AvailableNetwork reduceByWeight(NetworkState state, FreshNetworkState networkState) {
+        networkState.network.reduceByWeight(state.weightFunction);
+        return networkState.network;
+    }
+
+    @Benchmark
+    public AvailableNetwork processDiversitySegments(NetworkState state, FreshNetworkState networkState) {
+        networkState.network.processDiversitySegments(state.diversitySegments, state.config);
+        return networkState.network;
+    }
+}
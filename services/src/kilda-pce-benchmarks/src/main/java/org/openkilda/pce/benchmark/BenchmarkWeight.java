@@ -0,0 +1,50 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.benchmark;
+
+import org.openkilda.pce.PathComputerConfig;
+import org.openkilda.pce.PathComputerFactory;
+import org.openkilda.pce.PathComputerFactory.WeightStrategy;
+import org.openkilda.pce.model.WeightFunction;
+
+/**
+ * Weight functions the path finders are benchmarked with. {@link #COST} is the production one, the others represent
+ * strategies that are declared by {@link WeightStrategy}, but not implemented yet.
+ */
+public enum BenchmarkWeight {
+    COST {
+        @Override
+        WeightFunction getWeightFunction(PathComputerConfig config) {
+            return new PathComputerFactory(config, null).getWeightFunctionByStrategy(WeightStrategy.COST);
+        }
+    },
+
+    HOPS {
+        @Override
+        WeightFunction getWeightFunction(PathComputerConfig config) {
+            return edge -> 1L;
+        }
+    },
+
+    LATENCY {
+        @Override
+        WeightFunction getWeightFunction(PathComputerConfig config) {
+            return edge -> (long) edge.getLatency();
+        }
+    };
+
+    abstract WeightFunction getWeightFunction(PathComputerConfig config);
+}
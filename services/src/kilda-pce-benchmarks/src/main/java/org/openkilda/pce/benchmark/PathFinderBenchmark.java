@@ -0,0 +1,109 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.benchmark;
+
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.PathComputerFactory;
+import org.openkilda.pce.PathComputerFactory.PathFinderType;
+import org.openkilda.pce.exception.UnroutableFlowException;
+import org.openkilda.pce.finder.PathFinder;
+import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.model.WeightFunction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link PathFinder} implementations per topology and {@link WeightFunction}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PathFinderBenchmark {
+    private static final int PATH_COUNT = 5;
+
+    @State(Scope.Benchmark)
+    public static class FinderState extends TopologyState {
+        @Param({"BEST_COST_AND_SHORTEST", "DIJKSTRA"})
+        public PathFinderType finder;
+
+        @Param({"COST", "HOPS", "LATENCY"})
+        public BenchmarkWeight weight;
+
+        PathFinder pathFinder;
+        AvailableNetwork network;
+        AvailableNetwork reducedNetwork;
+
+        /**
+         * Builds the network and its copy reduced the same way as {@link org.openkilda.pce.impl.InMemoryPathComputer}
+         * does. N paths search doesn't modify the network, so both are shared by all invocations.
+         */
+        @Setup(Level.Trial)
+        public void setUp() {
+            initTopology();
+            WeightFunction weightFunction = weight.getWeightFunction(config);
+            pathFinder = new PathComputerFactory(config, null).getPathFinder(finder, weightFunction);
+            network = buildNetwork();
+            reducedNetwork = buildNetwork();
+            reducedNetwork.reduceByWeight(weightFunction);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class PairCursor {
+        int next;
+    }
+
+    /**
+     * Measures the forward and reverse path search.
+     */
+    @Benchmark
+    public Object findPath(FinderState state, PairCursor cursor) {
+        SwitchId[] pair = state.getPair(cursor.next++);
+        try {
+            return state.pathFinder.findPathInNetwork(state.reducedNetwork, pair[0], pair[1]);
+        } catch (UnroutableFlowException e) {
+            return e;
+        }
+    }
+
+    /**
+     * Measures the N best paths search used by northbound "paths between switches" API.
+     */
+    @Benchmark
+    public Object findNPaths(FinderState state, PairCursor cursor) {
+        SwitchId[] pair = state.getPair(cursor.next++);
+        try {
+            return state.pathFinder.findNPathsBetweenSwitches(state.network, pair[0], pair[1], PATH_COUNT);
+        } catch (UnroutableFlowException e) {
+            return e;
+        }
+    }
+}
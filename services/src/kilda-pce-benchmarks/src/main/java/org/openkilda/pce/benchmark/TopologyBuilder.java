@@ -0,0 +1,186 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.benchmark;
+
+import org.openkilda.model.Isl;
+import org.openkilda.model.IslStatus;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.model.SwitchStatus;
+import org.openkilda.testing.model.topology.TopologyDefinition;
+
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Generates bidirectional ISLs of benchmark topologies. Link attributes are random, but depend only on the seed, so
+ * all benchmark runs use the same network.
+ */
+public class TopologyBuilder {
+    /**
+     * The system property to override the topology definition file, the one of functional tests is used by default.
+     */
+    public static final String TOPOLOGY_DEFINITION_FILE_PROPERTY = "topology.definition.file";
+
+    private static final String DEFAULT_TOPOLOGY_DEFINITION = "/topology.yaml";
+    private static final long[] BANDWIDTHS = {1_000_000, 10_000_000, 40_000_000, 100_000_000};
+
+    private final Random random;
+    private final Map<SwitchId, Switch> switches = new HashMap<>();
+    private final Map<SwitchId, Integer> nextPorts = new HashMap<>();
+    private final Set<String> links = new HashSet<>();
+    private final List<Isl> isls = new ArrayList<>();
+
+    public TopologyBuilder(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Adds the k-ary fat-tree.
+     */
+    public TopologyBuilder fatTree(int arity) {
+        int half = arity / 2;
+        int coreCount = half * half;
+        for (int pod = 0; pod < arity; pod++) {
+            for (int aggregation = 0; aggregation < half; aggregation++) {
+                int aggregationIndex = coreCount + pod * arity + aggregation;
+                for (int core = 0; core < half; core++) {
+                    link(aggregation * half + core, aggregationIndex);
+                }
+                for (int edge = 0; edge < half; edge++) {
+                    link(aggregationIndex, coreCount + pod * arity + half + edge);
+                }
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Adds the ring of switches.
+     */
+    public TopologyBuilder ring(int size) {
+        for (int i = 0; i < size; i++) {
+            link(i, (i + 1) % size);
+        }
+        return this;
+    }
+
+    /**
+     * Adds the random connected mesh. A random spanning tree makes it connected, the rest links are added between
+     * random switches until the average degree is reached.
+     */
+    public TopologyBuilder mesh(int size, int averageDegree) {
+        for (int i = 1; i < size; i++) {
+            link(random.nextInt(i), i);
+        }
+        int linkCount = Math.min(size * averageDegree / 2, size * (size - 1) / 2);
+        for (int i = size - 1; i < linkCount; i++) {
+            int first = random.nextInt(size);
+            int second = random.nextInt(size);
+            if (first == second || !link(first, second)) {
+                i--;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Adds ISLs between active switches of the topology definition.
+     */
+    public TopologyBuilder topologyDefinition() {
+        TopologyDefinition topology = loadTopologyDefinition();
+        for (TopologyDefinition.Isl isl : topology.getIslsForActiveSwitches()) {
+            addIsl(getOrCreateSwitch(isl.getSrcSwitch().getDpId()), isl.getSrcPort(),
+                    getOrCreateSwitch(isl.getDstSwitch().getDpId()), isl.getDstPort(), isl.getMaxBandwidth());
+        }
+        return this;
+    }
+
+    public List<Isl> build() {
+        return new ArrayList<>(isls);
+    }
+
+    private boolean link(int first, int second) {
+        String key = Math.min(first, second) + "-" + Math.max(first, second);
+        if (!links.add(key)) {
+            return false;
+        }
+
+        Switch firstSwitch = getOrCreateSwitch(new SwitchId(first + 1));
+        Switch secondSwitch = getOrCreateSwitch(new SwitchId(second + 1));
+        addIsl(firstSwitch, nextPort(firstSwitch), secondSwitch, nextPort(secondSwitch),
+                BANDWIDTHS[random.nextInt(BANDWIDTHS.length)]);
+        return true;
+    }
+
+    private void addIsl(Switch srcSwitch, int srcPort, Switch dstSwitch, int dstPort, long maxBandwidth) {
+        int cost = 1 + random.nextInt(1000);
+        int latency = 1 + random.nextInt(10_000);
+        isls.add(buildIsl(srcSwitch, srcPort, dstSwitch, dstPort, cost, latency, maxBandwidth));
+        isls.add(buildIsl(dstSwitch, dstPort, srcSwitch, srcPort, cost, latency, maxBandwidth));
+    }
+
+    private Isl buildIsl(Switch srcSwitch, int srcPort, Switch dstSwitch, int dstPort,
+                         int cost, int latency, long maxBandwidth) {
+        return Isl.builder()
+                .srcSwitch(srcSwitch)
+                .srcPort(srcPort)
+                .destSwitch(dstSwitch)
+                .destPort(dstPort)
+                .cost(cost)
+                .latency(latency)
+                .maxBandwidth(maxBandwidth)
+                .availableBandwidth(maxBandwidth - (long) (maxBandwidth * random.nextDouble() * 0.9))
+                .status(IslStatus.ACTIVE)
+                .build();
+    }
+
+    private Switch getOrCreateSwitch(SwitchId switchId) {
+        return switches.computeIfAbsent(switchId, id -> Switch.builder()
+                .switchId(id)
+                .status(SwitchStatus.ACTIVE)
+                .build());
+    }
+
+    private int nextPort(Switch sw) {
+        return nextPorts.merge(sw.getSwitchId(), 1, Integer::sum);
+    }
+
+    private TopologyDefinition loadTopologyDefinition() {
+        ObjectMapper mapper = new ObjectMapper(new YAMLFactory());
+        mapper.enable(MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS);
+        String file = System.getProperty(TOPOLOGY_DEFINITION_FILE_PROPERTY);
+        try (InputStream input = file != null
+                ? new FileInputStream(file) : getClass().getResourceAsStream(DEFAULT_TOPOLOGY_DEFINITION)) {
+            return mapper.readValue(input, TopologyDefinition.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to load the topology definition", e);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.benchmark;
+
+import org.openkilda.config.provider.PropertiesBasedConfigurationProvider;
+import org.openkilda.model.Isl;
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.PathComputerConfig;
+import org.openkilda.pce.impl.AvailableNetwork;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+/**
+ * Base state of benchmarks: the generated topology and random pairs of its switches to find paths between.
+ */
+@State(Scope.Benchmark)
+public abstract class TopologyState {
+    private static final long SEED = 42;
+    private static final int PAIR_COUNT = 128;
+
+    @Param({"FAT_TREE", "RING", "MESH", "TOPOLOGY_DEFINITION"})
+    public TopologyType topology;
+
+    @Param({"100", "1000"})
+    public int size;
+
+    protected PathComputerConfig config;
+    protected List<Isl> isls;
+    protected SwitchId[][] pairs;
+
+    protected void initTopology() {
+        config = new PropertiesBasedConfigurationProvider().getConfiguration(PathComputerConfig.class);
+        isls = topology.generate(new TopologyBuilder(SEED), size);
+
+        TreeSet<SwitchId> switchIds = new TreeSet<>();
+        isls.forEach(isl -> switchIds.add(isl.getSrcSwitch().getSwitchId()));
+        List<SwitchId> switches = new ArrayList<>(switchIds);
+
+        Random random = new Random(SEED);
+        pairs = new SwitchId[PAIR_COUNT][];
+        for (int i = 0; i < PAIR_COUNT; i++) {
+            int src = random.nextInt(switches.size());
+            int dst = (src + 1 + random.nextInt(switches.size() - 1)) % switches.size();
+            pairs[i] = new SwitchId[] {switches.get(src), switches.get(dst)};
+        }
+    }
+
+    protected AvailableNetwork buildNetwork() {
+        AvailableNetwork network = new AvailableNetwork();
+        isls.forEach(network::addLink);
+        return network;
+    }
+
+    protected SwitchId[] getPair(int index) {
+        return pairs[index % pairs.length];
+    }
+}
@@ -0,0 +1,72 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.benchmark;
+
+import org.openkilda.model.Isl;
+
+import java.util.List;
+
+/**
+ * Topologies the benchmarks are run on. The size is the approximate number of switches, it's ignored by
+ * {@link #TOPOLOGY_DEFINITION}.
+ */
+public enum TopologyType {
+    /**
+     * The k-ary fat-tree: (k/2)^2 core switches and k pods of k/2 aggregation and k/2 edge switches.
+     */
+    FAT_TREE {
+        @Override
+        List<Isl> generate(TopologyBuilder builder, int size) {
+            int arity = 2;
+            while (5 * arity * arity / 4 < size) {
+                arity += 2;
+            }
+            return builder.fatTree(arity).build();
+        }
+    },
+
+    /**
+     * The ring of switches, the worst case for the path depth.
+     */
+    RING {
+        @Override
+        List<Isl> generate(TopologyBuilder builder, int size) {
+            return builder.ring(size).build();
+        }
+    },
+
+    /**
+     * The random connected mesh with average switch degree of 4.
+     */
+    MESH {
+        @Override
+        List<Isl> generate(TopologyBuilder builder, int size) {
+            return builder.mesh(size, 4).build();
+        }
+    },
+
+    /**
+     * The production-like topology described by the functional tests topology definition.
+     */
+    TOPOLOGY_DEFINITION {
+        @Override
+        List<Isl> generate(TopologyBuilder builder, int size) {
+            return builder.topologyDefinition().build();
+        }
+    };
+
+    abstract List<Isl> generate(TopologyBuilder builder, int size);
+}
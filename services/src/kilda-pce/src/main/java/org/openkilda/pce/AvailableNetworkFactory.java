@@ -21,6 +21,7 @@ import org.openkilda.model.Isl;
 import org.openkilda.model.PathId;
 import org.openkilda.pce.exception.RecoverableException;
 import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.impl.NetworkSnapshot;
 import org.openkilda.persistence.PersistenceException;
 import org.openkilda.persistence.repositories.FlowPathRepository;
 import org.openkilda.persistence.repositories.IslRepository;
@@ -40,11 +41,24 @@ public class AvailableNetworkFactory {
     private PathComputerConfig config;
     private IslRepository islRepository;
     private FlowPathRepository flowPathRepository;
+    private NetworkSnapshotManager networkSnapshotManager;
 
     public AvailableNetworkFactory(PathComputerConfig config, RepositoryFactory repositoryFactory) {
+        this(config, repositoryFactory, null);
+    }
+
+    /**
+     * Constructs the factory which reads active ISLs from the snapshot maintained by the passed
+     * {@link NetworkSnapshotManager} instead of querying the repository on each request.
+     *
+     * @param networkSnapshotManager the snapshot manager, null means to read ISLs from the repository.
+     */
+    public AvailableNetworkFactory(PathComputerConfig config, RepositoryFactory repositoryFactory,
+                                   NetworkSnapshotManager networkSnapshotManager) {
         this.config = config;
         this.islRepository = repositoryFactory.createIslRepository();
         this.flowPathRepository = repositoryFactory.createFlowPathRepository();
+        this.networkSnapshotManager = networkSnapshotManager;
     }
 
     /**
@@ -56,7 +70,7 @@ public class AvailableNetworkFactory {
      */
     public AvailableNetwork getAvailableNetwork(Flow flow, List<PathId> reuseResourcesForPaths)
             throws RecoverableException {
-        return getAvailableNetwork(flow, reuseResourcesForPaths, BuildStrategy.from(config.getNetworkStrategy()));
+        return getAvailableNetwork(flow, reuseResourcesForPaths, getBuildStrategy());
     }
 
     /**
@@ -85,6 +99,19 @@ public class AvailableNetworkFactory {
             throw new RecoverableException("An error from neo4j", e);
         }
 
+        addDiversityWeights(network, flow, reusePathsResources);
+
+        return network;
+    }
+
+    /**
+     * Adds diversity weights of the paths of the flow group into the network.
+     *
+     * @param network                     the network to add weights to.
+     * @param flow                        the flow, for which {@link AvailableNetwork} is constructing.
+     * @param reusePathsResources         paths to be ignored, as their resources are reused.
+     */
+    public void addDiversityWeights(AvailableNetwork network, Flow flow, List<PathId> reusePathsResources) {
         if (flow.getGroupId() != null) {
             log.info("Filling AvailableNetwork diverse weighs for group with id {}", flow.getGroupId());
 
@@ -97,11 +124,34 @@ public class AvailableNetworkFactory {
 
             flowPaths.forEach(flowPath -> network.processDiversitySegments(flowPath.getSegments(), config));
         }
+    }
 
-        return network;
+    /**
+     * Gets all active ISLs regardless of their available bandwidth.
+     *
+     * @return active ISLs.
+     */
+    public Collection<Isl> getActiveIsls() throws RecoverableException {
+        try {
+            return networkSnapshotManager != null
+                    ? networkSnapshotManager.getSnapshot().getAllActive() : islRepository.findAllActive();
+        } catch (PersistenceException e) {
+            throw new RecoverableException("An error from neo4j", e);
+        }
+    }
+
+    /**
+     * Gets the configured {@link BuildStrategy}.
+     */
+    public BuildStrategy getBuildStrategy() {
+        return BuildStrategy.from(config.getNetworkStrategy());
     }
 
     private Collection<Isl> getAvailableIsls(BuildStrategy buildStrategy, Flow flow) {
+        if (networkSnapshotManager != null) {
+            return getAvailableIsls(networkSnapshotManager.getSnapshot(), buildStrategy, flow);
+        }
+
         if (buildStrategy == BuildStrategy.COST) {
             return flow.isIgnoreBandwidth() ? islRepository.findAllActive() :
                     islRepository.findActiveWithAvailableBandwidth(flow.getBandwidth());
@@ -113,6 +163,18 @@ public class AvailableNetworkFactory {
         }
     }
 
+    private Collection<Isl> getAvailableIsls(NetworkSnapshot snapshot, BuildStrategy buildStrategy, Flow flow) {
+        if (buildStrategy == BuildStrategy.COST) {
+            return flow.isIgnoreBandwidth() ? snapshot.getAllActive() :
+                    snapshot.getActiveWithAvailableBandwidth(flow.getBandwidth());
+        } else if (buildStrategy == BuildStrategy.SYMMETRIC_COST) {
+            return flow.isIgnoreBandwidth() ? snapshot.getAllActive() :
+                    snapshot.getSymmetricActiveWithAvailableBandwidth(flow.getBandwidth());
+        } else {
+            throw new UnsupportedOperationException(String.format("Unsupported buildStrategy type %s", buildStrategy));
+        }
+    }
+
     public enum BuildStrategy {
         /**
          * WeightStrategy based on cost of links.
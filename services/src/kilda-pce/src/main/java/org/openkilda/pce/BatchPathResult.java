@@ -0,0 +1,54 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce;
+
+import org.openkilda.pce.exception.UnroutableFlowException;
+
+import lombok.NonNull;
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * Result of the batch path computation: paths of routed flows and failures of unroutable ones, by flow id.
+ */
+@Value
+public class BatchPathResult {
+    @NonNull
+    private Map<String, PathPair> paths;
+
+    @NonNull
+    private Map<String, UnroutableFlowException> failures;
+
+    /**
+     * Gets the path of the flow.
+     *
+     * @param flowId the flow id.
+     * @return {@link PathPair} instance.
+     * @throws UnroutableFlowException if no path has been found for the flow.
+     */
+    public PathPair getPath(String flowId) throws UnroutableFlowException {
+        UnroutableFlowException failure = failures.get(flowId);
+        if (failure != null) {
+            throw failure;
+        }
+        PathPair path = paths.get(flowId);
+        if (path == null) {
+            throw new UnroutableFlowException(String.format("Flow %s is not a part of the batch", flowId), flowId);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,144 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce;
+
+import org.openkilda.model.Isl;
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.impl.NetworkSnapshot;
+import org.openkilda.persistence.repositories.IslRepository;
+import org.openkilda.persistence.repositories.RepositoryFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Keeps an in-memory {@link NetworkSnapshot} of active ISLs and maintains it incrementally from bandwidth
+ * reservations made by this process.
+ * <p/>
+ * The snapshot is fully re-read from the persistent storage on the first access, after {@link #invalidate()} and
+ * once it becomes older than the configured max age. ISL and switch status changes made by the network topology
+ * are applied by re-reading only the affected ISLs, see {@link #handleEndpointChange} and
+ * {@link #handleSwitchChange}. The max age bounds the staleness caused by other changes made outside of this process.
+ */
+@Slf4j
+public class NetworkSnapshotManager {
+    private final IslRepository islRepository;
+    private final Duration maxAge;
+    private final Clock clock;
+
+    private final AtomicReference<NetworkSnapshot> snapshot = new AtomicReference<>();
+    private long lastVersion = 0;
+
+    public NetworkSnapshotManager(PathComputerConfig config, RepositoryFactory repositoryFactory) {
+        this(config, repositoryFactory, Clock.systemUTC());
+    }
+
+    @VisibleForTesting
+    NetworkSnapshotManager(PathComputerConfig config, RepositoryFactory repositoryFactory, Clock clock) {
+        this.islRepository = repositoryFactory.createIslRepository();
+        this.maxAge = Duration.ofSeconds(config.getNetworkSnapshotMaxAgeSeconds());
+        this.clock = clock;
+    }
+
+    /**
+     * Gets the actual snapshot, (re)loads it if needed.
+     */
+    public NetworkSnapshot getSnapshot() {
+        NetworkSnapshot current = snapshot.get();
+        if (current == null || isExpired(current)) {
+            current = reload();
+        }
+        return current;
+    }
+
+    /**
+     * Applies ISL create/update to the snapshot. Not active ISLs are removed from the snapshot.
+     */
+    public void handleIslUpdate(Isl isl) {
+        NetworkSnapshot updated = snapshot.updateAndGet(current -> current != null ? current.withIsl(isl) : null);
+        if (updated != null) {
+            log.debug("Network snapshot updated to version {} with {}", updated.getVersion(), isl);
+        }
+    }
+
+    /**
+     * Re-reads ISLs of the endpoint from the persistent storage and applies them to the snapshot. Should be called
+     * once an ISL of the endpoint has changed its status.
+     */
+    public void handleEndpointChange(SwitchId switchId, int port) {
+        if (snapshot.get() != null) {
+            applyIsls(islRepository.findByEndpoint(switchId, port));
+        }
+    }
+
+    /**
+     * Re-reads ISLs of the switch from the persistent storage and applies them to the snapshot. Should be called
+     * once the switch has changed its status, as ISLs of a not active switch are not kept in the snapshot.
+     */
+    public void handleSwitchChange(SwitchId switchId) {
+        if (snapshot.get() != null) {
+            Collection<Isl> isls = new ArrayList<>(islRepository.findBySrcSwitch(switchId));
+            isls.addAll(islRepository.findByDestSwitch(switchId));
+            applyIsls(isls);
+        }
+    }
+
+    /**
+     * Drops the current snapshot, so the next access will re-read the network from the persistent storage.
+     */
+    public synchronized void invalidate() {
+        NetworkSnapshot dropped = snapshot.getAndSet(null);
+        if (dropped != null) {
+            lastVersion = Math.max(lastVersion, dropped.getVersion());
+            log.debug("Network snapshot version {} has been invalidated", dropped.getVersion());
+        }
+    }
+
+    private void applyIsls(Collection<Isl> isls) {
+        NetworkSnapshot updated = snapshot.updateAndGet(current -> current != null ? current.withIsls(isls) : null);
+        if (updated != null) {
+            log.debug("Network snapshot updated to version {} with {} re-read ISLs", updated.getVersion(), isls.size());
+        }
+    }
+
+    private synchronized NetworkSnapshot reload() {
+        NetworkSnapshot current = snapshot.get();
+        if (current != null && !isExpired(current)) {
+            // Has been reloaded by a concurrent caller.
+            return current;
+        }
+
+        Instant loadTime = clock.instant();
+        Collection<Isl> isls = islRepository.findAllActive();
+        lastVersion = Math.max(lastVersion, current != null ? current.getVersion() : 0) + 1;
+        NetworkSnapshot loaded = NetworkSnapshot.of(isls, lastVersion, loadTime);
+        snapshot.set(loaded);
+
+        log.info("Network snapshot version {} has been loaded with {} ISLs", loaded.getVersion(), loaded.size());
+        return loaded;
+    }
+
+    private boolean isExpired(NetworkSnapshot current) {
+        return Duration.between(current.getLoadTime(), clock.instant()).compareTo(maxAge) >= 0;
+    }
+}
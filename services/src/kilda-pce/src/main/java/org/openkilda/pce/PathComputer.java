@@ -21,6 +21,7 @@ import org.openkilda.model.SwitchId;
 import org.openkilda.pce.exception.RecoverableException;
 import org.openkilda.pce.exception.UnroutableFlowException;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
@@ -51,6 +52,16 @@ public interface PathComputer {
     PathPair getPath(Flow flow, List<PathId> reusePathsResources)
             throws UnroutableFlowException, RecoverableException;
 
+    /**
+     * Gets paths for several flows at once, e.g. for flows rerouted together. The network is built once for the whole
+     * batch. Bandwidth is allocated greedily in order of flow priority, so the found paths fit into the network
+     * together. Resources of the current paths of a flow can be reused by the flow itself.
+     *
+     * @param flows the flows to find paths for.
+     * @return {@link BatchPathResult} with paths and failures by flow id.
+     */
+    BatchPathResult getPaths(Collection<Flow> flows) throws RecoverableException;
+
     /**
      * Gets N best paths.
      *
@@ -44,7 +44,23 @@ public interface PathComputerConfig extends Serializable {
     @Default("COST")
     String getStrategy();
 
+    @Key("path.finder")
+    @Default("BEST_COST_AND_SHORTEST")
+    String getPathFinder();
+
     @Key("network.strategy")
     @Default("COST")
     String getNetworkStrategy();
+
+    @Key("default.flow.priority")
+    @Default("1000")
+    int getDefaultFlowPriority();
+
+    @Key("network.snapshot.enabled")
+    @Default("false")
+    boolean isNetworkSnapshotEnabled();
+
+    @Key("network.snapshot.max.age.seconds")
+    @Default("60")
+    int getNetworkSnapshotMaxAgeSeconds();
 }
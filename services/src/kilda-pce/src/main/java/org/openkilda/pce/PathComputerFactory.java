@@ -16,6 +16,8 @@
 package org.openkilda.pce;
 
 import org.openkilda.pce.finder.BestCostAndShortestPathFinder;
+import org.openkilda.pce.finder.DijkstraPathFinder;
+import org.openkilda.pce.finder.PathFinder;
 import org.openkilda.pce.impl.InMemoryPathComputer;
 import org.openkilda.pce.model.WeightFunction;
 
@@ -43,9 +45,8 @@ public class PathComputerFactory {
      */
     public PathComputer getPathComputer(WeightStrategy weightStrategy) {
         return new InMemoryPathComputer(availableNetworkFactory,
-                new BestCostAndShortestPathFinder(
-                        config.getMaxAllowedDepth(),
-                        getWeightFunctionByStrategy(weightStrategy)));
+                getPathFinder(PathFinderType.from(config.getPathFinder()),
+                        getWeightFunctionByStrategy(weightStrategy)), config.getDefaultFlowPriority());
     }
 
     /**
@@ -57,6 +58,24 @@ public class PathComputerFactory {
         return getPathComputer(WeightStrategy.from(config.getStrategy()));
     }
 
+    /**
+     * Creates the path finder of the passed type.
+     *
+     * @param finderType the path finder type.
+     * @param weightFunction the edge weight computing function.
+     * @return {@link PathFinder} instance.
+     */
+    @VisibleForTesting
+    public PathFinder getPathFinder(PathFinderType finderType, WeightFunction weightFunction) {
+        switch (finderType) {
+            case DIJKSTRA:
+                return new DijkstraPathFinder(config.getMaxAllowedDepth(), weightFunction);
+            case BEST_COST_AND_SHORTEST:
+            default:
+                return new BestCostAndShortestPathFinder(config.getMaxAllowedDepth(), weightFunction);
+        }
+    }
+
     /**
      * Returns weight computing function for passed strategy.
      *
@@ -96,4 +115,27 @@ public class PathComputerFactory {
             }
         }
     }
+
+    /**
+     * The path finding algorithm to be used by {@link PathComputer}.
+     */
+    public enum PathFinderType {
+        /**
+         * Depth-limited search over {@link org.openkilda.pce.impl.AvailableNetwork} objects.
+         */
+        BEST_COST_AND_SHORTEST,
+
+        /**
+         * Priority queue based search over the index-based {@link org.openkilda.pce.model.CompactNetwork}.
+         */
+        DIJKSTRA;
+
+        private static PathFinderType from(String finderType) {
+            try {
+                return valueOf(finderType.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(String.format("Path finder %s is not supported", finderType));
+            }
+        }
+    }
 }
@@ -0,0 +1,255 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.finder;
+
+import org.openkilda.pce.model.CompactNetwork;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+
+/**
+ * The cheapest path search over {@link CompactNetwork}. Holds search arrays, so they are reused by sequential searches
+ * over the same network. Edges and nodes can be excluded from the search without touching the network, so the same
+ * network can be shared by concurrent searches, each of them having its own instance of this class.
+ * <p/>
+ * The priority queue based Dijkstra algorithm is used first. If the found path is deeper than allowed, the hop-limited
+ * Bellman-Ford search picks the cheapest path among the allowed ones.
+ */
+@Slf4j
+final class CompactPathSearch {
+    static final int[] NO_PATH = new int[0];
+
+    private static final long UNREACHABLE = Long.MAX_VALUE;
+    private static final int NO_EDGE = -1;
+    private static final int NO_NODE = -1;
+
+    private final CompactNetwork network;
+    private final long[] distances;
+    private final int[] parentEdges;
+    private final int[] hops;
+    private final boolean[] settled;
+    private final boolean[] excludedEdges;
+    private final boolean[] excludedNodes;
+    private final IndexedMinHeap queue;
+
+    CompactPathSearch(CompactNetwork network) {
+        this.network = network;
+        int nodeCount = network.getNodeCount();
+        distances = new long[nodeCount];
+        parentEdges = new int[nodeCount];
+        hops = new int[nodeCount];
+        settled = new boolean[nodeCount];
+        excludedEdges = new boolean[network.getEdgeCount()];
+        excludedNodes = new boolean[nodeCount];
+        queue = new IndexedMinHeap(nodeCount);
+    }
+
+    CompactNetwork getNetwork() {
+        return network;
+    }
+
+    void setEdgeExcluded(int edge, boolean excluded) {
+        excludedEdges[edge] = excluded;
+    }
+
+    boolean isEdgeExcluded(int edge) {
+        return excludedEdges[edge];
+    }
+
+    void setNodeExcluded(int node, boolean excluded) {
+        excludedNodes[node] = excluded;
+    }
+
+    /**
+     * Finds the cheapest path from start to end with not more than maxDepth edges.
+     *
+     * @return edge indices of the path, or {@link #NO_PATH} if no path found.
+     */
+    int[] findPath(int start, int end, int maxDepth) {
+        if (start == end || maxDepth <= 0) {
+            return NO_PATH;
+        }
+
+        runDijkstra(start, end);
+        if (distances[end] == UNREACHABLE) {
+            return NO_PATH;
+        }
+        if (hops[end] <= maxDepth) {
+            return buildPath(end, hops[end]);
+        }
+
+        log.debug("The cheapest path from {} to {} is deeper than {}, falling back to the hop-limited search",
+                network.getSwitchId(start), network.getSwitchId(end), maxDepth);
+        return findHopLimitedPath(start, end, maxDepth);
+    }
+
+    /**
+     * Builds the tree of the cheapest paths from start to all reachable nodes. The depth is not limited, so paths of
+     * the tree may be deeper than allowed.
+     */
+    ShortestPathTree buildTree(int start) {
+        runDijkstra(start, NO_NODE);
+        return new ShortestPathTree(network, start, Arrays.copyOf(parentEdges, parentEdges.length),
+                Arrays.copyOf(hops, hops.length));
+    }
+
+    /**
+     * Gets the sum of edge weights of the path.
+     */
+    long getCost(int[] path) {
+        long cost = 0;
+        for (int edge : path) {
+            cost += network.getEdgeWeight(edge);
+        }
+        return cost;
+    }
+
+    private void runDijkstra(int start, int end) {
+        Arrays.fill(distances, UNREACHABLE);
+        Arrays.fill(parentEdges, NO_EDGE);
+        Arrays.fill(settled, false);
+        queue.clear();
+
+        distances[start] = 0;
+        hops[start] = 0;
+        queue.insertOrDecrease(start, 0);
+        while (!queue.isEmpty()) {
+            int current = queue.poll();
+            settled[current] = true;
+            if (current == end) {
+                break;
+            }
+
+            long currentDistance = distances[current];
+            for (int edge = network.getFirstEdge(current); edge < network.getEdgesEnd(current); edge++) {
+                int next = network.getEdgeDst(edge);
+                if (settled[next] || isExcluded(edge, next)) {
+                    continue;
+                }
+                long distance = currentDistance + network.getEdgeWeight(edge);
+                if (isBetter(distance, hops[current] + 1, current, next)) {
+                    distances[next] = distance;
+                    parentEdges[next] = edge;
+                    hops[next] = hops[current] + 1;
+                    queue.insertOrDecrease(next, distance);
+                }
+            }
+        }
+    }
+
+    private boolean isExcluded(int edge, int dst) {
+        return excludedEdges[edge] || excludedNodes[dst];
+    }
+
+    /**
+     * Paths of the same cost are compared by depth and then by the parent switch, so the choice among equal
+     * paths doesn't depend on the queue order and is close to the one of {@link BestCostAndShortestPathFinder}.
+     */
+    private boolean isBetter(long distance, int depth, int parent, int node) {
+        if (distance != distances[node]) {
+            return distance < distances[node];
+        }
+        if (depth != hops[node]) {
+            return depth < hops[node];
+        }
+        return parent < network.getEdgeSrc(parentEdges[node]);
+    }
+
+    private int[] buildPath(int end, int length) {
+        int[] path = new int[length];
+        int node = end;
+        for (int i = length - 1; i >= 0; i--) {
+            path[i] = parentEdges[node];
+            node = network.getEdgeSrc(path[i]);
+        }
+        return path;
+    }
+
+    /**
+     * Bellman-Ford search limited by the depth. Level K keeps the cheapest costs of paths with K or fewer hops,
+     * a parent edge is recorded only for nodes that got cheaper on the level.
+     */
+    private int[] findHopLimitedPath(int start, int end, int maxDepth) {
+        int nodeCount = network.getNodeCount();
+        long[] previous = new long[nodeCount];
+        long[] current = new long[nodeCount];
+        int[][] levelParents = new int[maxDepth + 1][];
+
+        Arrays.fill(previous, UNREACHABLE);
+        previous[start] = 0;
+        int lastLevel = 0;
+        for (int level = 1; level <= maxDepth; level++) {
+            System.arraycopy(previous, 0, current, 0, nodeCount);
+            int[] parents = new int[nodeCount];
+            Arrays.fill(parents, NO_EDGE);
+            boolean changed = false;
+
+            for (int node = 0; node < nodeCount; node++) {
+                if (previous[node] == UNREACHABLE || node == end) {
+                    continue;
+                }
+                for (int edge = network.getFirstEdge(node); edge < network.getEdgesEnd(node); edge++) {
+                    int next = network.getEdgeDst(edge);
+                    if (isExcluded(edge, next)) {
+                        continue;
+                    }
+                    long distance = previous[node] + network.getEdgeWeight(edge);
+                    if (distance < current[next]) {
+                        current[next] = distance;
+                        parents[next] = edge;
+                        changed = true;
+                    }
+                }
+            }
+
+            if (!changed) {
+                // Deeper levels can't improve anything.
+                break;
+            }
+            levelParents[level] = parents;
+            lastLevel = level;
+
+            long[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+
+        if (previous[end] == UNREACHABLE) {
+            return NO_PATH;
+        }
+
+        int[] reversed = new int[lastLevel];
+        int length = 0;
+        int node = end;
+        int level = lastLevel;
+        while (node != start) {
+            while (levelParents[level][node] == NO_EDGE) {
+                level--;
+            }
+            int edge = levelParents[level][node];
+            reversed[length++] = edge;
+            node = network.getEdgeSrc(edge);
+            level--;
+        }
+
+        int[] path = new int[length];
+        for (int i = 0; i < length; i++) {
+            path[i] = reversed[length - 1 - i];
+        }
+        return path;
+    }
+}
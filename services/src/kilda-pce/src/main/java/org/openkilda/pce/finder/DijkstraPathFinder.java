@@ -0,0 +1,144 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.finder;
+
+import static java.lang.String.format;
+
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.exception.UnroutableFlowException;
+import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.model.CompactNetwork;
+import org.openkilda.pce.model.Edge;
+import org.openkilda.pce.model.WeightFunction;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Priority queue based Dijkstra algorithm over {@link CompactNetwork}. The search keeps only per-node distance and
+ * parent edge arrays, so it doesn't copy paths or allocate objects per visited node.
+ * <p/>
+ * Costs are the same as in {@link BestCostAndShortestPathFinder}: the sum of full edge weights plus static weights of
+ * the passed switches. If the cheapest path is deeper than the allowed depth, the hop-limited Bellman-Ford search is
+ * used to find the cheapest path among the allowed ones. N paths are found by Yen's algorithm over the same compact
+ * network.
+ */
+@Slf4j
+public class DijkstraPathFinder implements PathFinder {
+    private static final int NO_EDGE = -1;
+
+    private final int allowedDepth;
+    private final WeightFunction weightFunction;
+
+    /**
+     * Constructs the finder with the specified limit on path depth.
+     *
+     * @param allowedDepth the allowed depth for a potential path.
+     * @param weightFunction  the edge weight computing function.
+     */
+    public DijkstraPathFinder(int allowedDepth, WeightFunction weightFunction) {
+        this.allowedDepth = allowedDepth;
+        this.weightFunction = weightFunction;
+    }
+
+    @Override
+    public WeightFunction getWeightFunction() {
+        return weightFunction;
+    }
+
+    @Override
+    public int getAllowedDepth() {
+        return allowedDepth;
+    }
+
+    @Override
+    public Pair<List<Edge>, List<Edge>> findPathInNetwork(AvailableNetwork network,
+                                                        SwitchId startSwitchId, SwitchId endSwitchId)
+            throws UnroutableFlowException {
+        CompactNetwork compactNetwork = network.toCompactNetwork(weightFunction);
+        int start = getNodeIndex(compactNetwork, startSwitchId);
+        int end = getNodeIndex(compactNetwork, endSwitchId);
+
+        int[] forwardPath = new CompactPathSearch(compactNetwork).findPath(start, end, allowedDepth);
+        if (forwardPath.length == 0) {
+            throw new UnroutableFlowException(format("Can't find a path from %s to %s", startSwitchId, endSwitchId));
+        }
+
+        return Pair.of(toEdges(compactNetwork, forwardPath), getReversePath(compactNetwork, forwardPath));
+    }
+
+    /**
+     * Find N (or less) best paths. To find N paths Yen's algorithm is used, paths are ordered by cost.
+     *
+     * @return an list of N (or less) best paths.
+     */
+    @Override
+    public List<List<Edge>> findNPathsBetweenSwitches(
+            AvailableNetwork network, SwitchId startSwitchId, SwitchId endSwitchId, int count)
+            throws UnroutableFlowException {
+        CompactNetwork compactNetwork = network.toCompactNetwork(weightFunction);
+        int start = getNodeIndex(compactNetwork, startSwitchId);
+        int end = getNodeIndex(compactNetwork, endSwitchId);
+
+        List<List<Edge>> bestPaths = new ArrayList<>();
+        for (int[] path : new YenShortestPathsSearch(compactNetwork, allowedDepth).findPaths(start, end, count)) {
+            bestPaths.add(toEdges(compactNetwork, path));
+        }
+        return bestPaths;
+    }
+
+    private int getNodeIndex(CompactNetwork network, SwitchId switchId) throws UnroutableFlowException {
+        int node = network.getNodeIndex(switchId);
+        if (node < 0) {
+            throw new UnroutableFlowException(format("Switch %s doesn't have links with enough bandwidth", switchId));
+        }
+        return node;
+    }
+
+    static List<Edge> toEdges(CompactNetwork network, int[] path) {
+        List<Edge> result = new ArrayList<>(path.length);
+        for (int edge : path) {
+            result.add(network.getEdge(edge));
+        }
+        return result;
+    }
+
+    /**
+     * Builds the reverse path by swapping the forward one, as {@link BestCostAndShortestPathFinder} does.
+     */
+    static List<Edge> getReversePath(CompactNetwork network, int[] forwardPath) {
+        List<Edge> reversePath = new ArrayList<>(forwardPath.length);
+        boolean valid = true;
+        for (int i = forwardPath.length - 1; i >= 0; i--) {
+            reversePath.add(network.getEdge(forwardPath[i]).swap());
+            valid &= network.getReverseEdge(forwardPath[i]) != NO_EDGE;
+        }
+
+        SwitchId src = network.getSwitchId(network.getEdgeDst(forwardPath[forwardPath.length - 1]));
+        SwitchId dst = network.getSwitchId(network.getEdgeSrc(forwardPath[0]));
+        if (valid) {
+            log.debug("Reverse path is available from {} to {}", src, dst);
+        } else {
+            log.warn(format("Failed to find symmetric reverse path from %s to %s. Forward path: %s",
+                    src, dst, StringUtils.join(toEdges(network, forwardPath), ", ")));
+        }
+        return reversePath;
+    }
+}
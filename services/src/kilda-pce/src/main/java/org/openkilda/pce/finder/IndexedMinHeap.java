@@ -0,0 +1,122 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.finder;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of int elements in [0, capacity) range with long keys and decrease-key support. Elements with equal
+ * keys are ordered by their values, so the polling order is deterministic.
+ */
+final class IndexedMinHeap {
+    private final int[] heap;
+    private final int[] positions;
+    private final long[] keys;
+    private int size;
+
+    IndexedMinHeap(int capacity) {
+        heap = new int[capacity];
+        positions = new int[capacity];
+        keys = new long[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Adds the element, or decreases its key if the element is already in the heap and the passed key is lower.
+     */
+    void insertOrDecrease(int element, long key) {
+        int position = positions[element];
+        if (position < 0) {
+            keys[element] = key;
+            heap[size] = element;
+            positions[element] = size;
+            siftUp(size++);
+        } else if (key < keys[element]) {
+            keys[element] = key;
+            siftUp(position);
+        }
+    }
+
+    /**
+     * Removes and returns the element with the lowest key.
+     */
+    int poll() {
+        int top = heap[0];
+        positions[top] = -1;
+        if (--size > 0) {
+            heap[0] = heap[size];
+            positions[heap[0]] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    /**
+     * Removes all elements, so the heap can be reused for another search.
+     */
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int position) {
+        int element = heap[position];
+        while (position > 0) {
+            int parentPosition = (position - 1) >>> 1;
+            int parent = heap[parentPosition];
+            if (!less(element, parent)) {
+                break;
+            }
+            heap[position] = parent;
+            positions[parent] = position;
+            position = parentPosition;
+        }
+        heap[position] = element;
+        positions[element] = position;
+    }
+
+    private void siftDown(int position) {
+        int element = heap[position];
+        int half = size >>> 1;
+        while (position < half) {
+            int childPosition = 2 * position + 1;
+            int child = heap[childPosition];
+            int rightPosition = childPosition + 1;
+            if (rightPosition < size && less(heap[rightPosition], child)) {
+                childPosition = rightPosition;
+                child = heap[childPosition];
+            }
+            if (!less(child, element)) {
+                break;
+            }
+            heap[position] = child;
+            positions[child] = position;
+            position = childPosition;
+        }
+        heap[position] = element;
+        positions[element] = position;
+    }
+
+    private boolean less(int first, int second) {
+        return keys[first] < keys[second] || (keys[first] == keys[second] && first < second);
+    }
+}
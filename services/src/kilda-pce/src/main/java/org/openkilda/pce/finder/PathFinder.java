@@ -52,4 +52,11 @@ public interface PathFinder {
      * @return the weight function.
      */
     WeightFunction getWeightFunction();
+
+    /**
+     * Returns the allowed depth of paths found by current finder.
+     *
+     * @return the allowed depth.
+     */
+    int getAllowedDepth();
 }
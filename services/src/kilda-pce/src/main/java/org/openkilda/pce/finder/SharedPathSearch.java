@@ -0,0 +1,128 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.finder;
+
+import org.openkilda.pce.model.CompactNetwork;
+import org.openkilda.pce.model.Edge;
+
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The cheapest path search over {@link CompactNetwork} for a batch of paths, e.g. for flows rerouted together.
+ * <p/>
+ * The tree of the cheapest paths is kept per start switch and reused by next searches from the same switch while
+ * it's still valid: no edge has been included into the search since the tree was built and all edges of the found
+ * path are still included. Excluding edges can't make other paths cheaper, so such a path is still the cheapest one.
+ * <p/>
+ * Instances are not thread-safe.
+ */
+public final class SharedPathSearch {
+    private final CompactNetwork network;
+    private final int allowedDepth;
+    private final CompactPathSearch search;
+    private final Map<Integer, ShortestPathTree> trees = new HashMap<>();
+    private final Map<Integer, Long> treeVersions = new HashMap<>();
+
+    // Incremented each time an excluded edge gets included, so trees built before are not valid anymore.
+    private long version;
+    private int treeBuildCount;
+
+    public SharedPathSearch(CompactNetwork network, int allowedDepth) {
+        this.network = network;
+        this.allowedDepth = allowedDepth;
+        this.search = new CompactPathSearch(network);
+    }
+
+    public CompactNetwork getNetwork() {
+        return network;
+    }
+
+    /**
+     * Excludes the edge from next searches or includes it back.
+     */
+    public void setEdgeExcluded(int edge, boolean excluded) {
+        if (search.isEdgeExcluded(edge) && !excluded) {
+            version++;
+        }
+        search.setEdgeExcluded(edge, excluded);
+    }
+
+    /**
+     * Finds the cheapest path from start to end within the allowed depth.
+     *
+     * @return edge indices of the path, or an empty array if no path found.
+     */
+    public int[] findPath(int start, int end) {
+        if (start == end) {
+            return CompactPathSearch.NO_PATH;
+        }
+
+        ShortestPathTree tree = getTree(start);
+        int[] path = tree.getPath(end);
+        if (path.length > 0 && isExcluded(path)) {
+            tree = buildTree(start);
+            path = tree.getPath(end);
+        }
+
+        if (path.length > allowedDepth) {
+            return search.findPath(start, end, allowedDepth);
+        }
+        return path;
+    }
+
+    /**
+     * Converts the path to forward and reverse edges, the reverse path is the swapped forward one.
+     */
+    public Pair<List<Edge>, List<Edge>> toBiPath(int[] path) {
+        return Pair.of(DijkstraPathFinder.toEdges(network, path), DijkstraPathFinder.getReversePath(network, path));
+    }
+
+    /**
+     * Gets the number of built shortest path trees, the rest searches reused them.
+     */
+    public int getTreeBuildCount() {
+        return treeBuildCount;
+    }
+
+    private ShortestPathTree getTree(int start) {
+        ShortestPathTree tree = trees.get(start);
+        if (tree == null || treeVersions.get(start) != version) {
+            tree = buildTree(start);
+        }
+        return tree;
+    }
+
+    private ShortestPathTree buildTree(int start) {
+        ShortestPathTree tree = search.buildTree(start);
+        trees.put(start, tree);
+        treeVersions.put(start, version);
+        treeBuildCount++;
+        return tree;
+    }
+
+    private boolean isExcluded(int[] path) {
+        for (int edge : path) {
+            if (search.isEdgeExcluded(edge)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,56 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.finder;
+
+import org.openkilda.pce.model.CompactNetwork;
+
+/**
+ * The tree of the cheapest paths from the start node to all reachable nodes of {@link CompactNetwork}.
+ */
+final class ShortestPathTree {
+    private static final int NO_EDGE = -1;
+
+    private final CompactNetwork network;
+    private final int start;
+    private final int[] parentEdges;
+    private final int[] hops;
+
+    ShortestPathTree(CompactNetwork network, int start, int[] parentEdges, int[] hops) {
+        this.network = network;
+        this.start = start;
+        this.parentEdges = parentEdges;
+        this.hops = hops;
+    }
+
+    /**
+     * Gets the path from the start node to the end one.
+     *
+     * @return edge indices of the path, or {@link CompactPathSearch#NO_PATH} if the end node is not reachable.
+     */
+    int[] getPath(int end) {
+        if (end == start || parentEdges[end] == NO_EDGE) {
+            return CompactPathSearch.NO_PATH;
+        }
+
+        int[] path = new int[hops[end]];
+        int node = end;
+        for (int i = path.length - 1; i >= 0; i--) {
+            path[i] = parentEdges[node];
+            node = network.getEdgeSrc(path[i]);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,157 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.finder;
+
+import org.openkilda.pce.model.CompactNetwork;
+
+import lombok.EqualsAndHashCode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Yen's algorithm of K cheapest loopless paths over {@link CompactNetwork}.
+ * <p/>
+ * Each next path is picked from the candidate heap. Candidates are built from the last found path: for each its
+ * switch (the spur node) the root path up to the switch is kept and the spur path to the destination is searched
+ * without the switches of the root path and the edges that already found paths with the same root continue with.
+ * So K paths take about K * (path length) searches. Exclusions are applied to the search state only, the network
+ * itself is never modified.
+ */
+final class YenShortestPathsSearch {
+    private final CompactPathSearch search;
+    private final CompactNetwork network;
+    private final int maxDepth;
+
+    YenShortestPathsSearch(CompactNetwork network, int maxDepth) {
+        this.search = new CompactPathSearch(network);
+        this.network = network;
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Finds up to count cheapest paths ordered by cost.
+     *
+     * @return edge indices of found paths.
+     */
+    List<int[]> findPaths(int start, int end, int count) {
+        List<int[]> paths = new ArrayList<>();
+        if (count <= 0) {
+            return paths;
+        }
+
+        int[] firstPath = search.findPath(start, end, maxDepth);
+        if (firstPath.length == 0) {
+            return paths;
+        }
+        paths.add(firstPath);
+
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>();
+        Set<Candidate> knownPaths = new HashSet<>();
+        knownPaths.add(new Candidate(firstPath, search.getCost(firstPath)));
+
+        int[] excludedEdges = new int[count];
+        while (paths.size() < count) {
+            int[] previous = paths.get(paths.size() - 1);
+
+            long rootCost = 0;
+            for (int spurIndex = 0; spurIndex < previous.length; spurIndex++) {
+                int spurNode = network.getEdgeSrc(previous[spurIndex]);
+
+                int excludedEdgeCount = 0;
+                for (int[] path : paths) {
+                    if (path.length > spurIndex && hasSameRoot(path, previous, spurIndex)) {
+                        excludedEdges[excludedEdgeCount++] = path[spurIndex];
+                    }
+                }
+                setExcluded(previous, spurIndex, excludedEdges, excludedEdgeCount, true);
+
+                int[] spurPath = search.findPath(spurNode, end, maxDepth - spurIndex);
+                if (spurPath.length > 0) {
+                    int[] path = Arrays.copyOf(previous, spurIndex + spurPath.length);
+                    System.arraycopy(spurPath, 0, path, spurIndex, spurPath.length);
+                    Candidate candidate = new Candidate(path, rootCost + search.getCost(spurPath));
+                    if (knownPaths.add(candidate)) {
+                        candidates.add(candidate);
+                    }
+                }
+
+                setExcluded(previous, spurIndex, excludedEdges, excludedEdgeCount, false);
+                rootCost += network.getEdgeWeight(previous[spurIndex]);
+            }
+
+            Candidate best = candidates.poll();
+            if (best == null) {
+                break;
+            }
+            paths.add(best.path);
+        }
+        return paths;
+    }
+
+    private void setExcluded(int[] rootPath, int rootLength, int[] edges, int edgeCount, boolean excluded) {
+        for (int i = 0; i < rootLength; i++) {
+            search.setNodeExcluded(network.getEdgeSrc(rootPath[i]), excluded);
+        }
+        for (int i = 0; i < edgeCount; i++) {
+            search.setEdgeExcluded(edges[i], excluded);
+        }
+    }
+
+    private static boolean hasSameRoot(int[] path, int[] other, int rootLength) {
+        for (int i = 0; i < rootLength; i++) {
+            if (path[i] != other[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A candidate path. Candidates are ordered by cost, then by length and then by edge indices, so the result
+     * doesn't depend on the heap internals.
+     */
+    @EqualsAndHashCode(of = "path")
+    private static final class Candidate implements Comparable<Candidate> {
+        private final int[] path;
+        private final long cost;
+
+        Candidate(int[] path, long cost) {
+            this.path = path;
+            this.cost = cost;
+        }
+
+        @Override
+        public int compareTo(Candidate other) {
+            if (cost != other.cost) {
+                return Long.compare(cost, other.cost);
+            }
+            if (path.length != other.path.length) {
+                return Integer.compare(path.length, other.path.length);
+            }
+            for (int i = 0; i < path.length; i++) {
+                if (path[i] != other.path[i]) {
+                    return Integer.compare(path[i], other.path[i]);
+                }
+            }
+            return 0;
+        }
+    }
+}
@@ -20,6 +20,7 @@ import org.openkilda.model.PathSegment;
 import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
 import org.openkilda.pce.PathComputerConfig;
+import org.openkilda.pce.model.CompactNetwork;
 import org.openkilda.pce.model.Edge;
 import org.openkilda.pce.model.Node;
 import org.openkilda.pce.model.WeightFunction;
@@ -117,4 +118,11 @@ public class AvailableNetwork {
             });
         }
     }
+
+    /**
+     * Builds the index-based {@link CompactNetwork} view of the current state of the network.
+     */
+    public CompactNetwork toCompactNetwork(WeightFunction weightFunction) {
+        return CompactNetwork.build(switches.values(), weightFunction);
+    }
 }
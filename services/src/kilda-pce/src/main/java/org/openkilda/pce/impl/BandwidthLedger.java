@@ -0,0 +1,87 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.impl;
+
+import org.openkilda.model.Flow;
+import org.openkilda.model.FlowPath;
+import org.openkilda.model.PathSegment;
+import org.openkilda.pce.Path;
+import org.openkilda.pce.model.CompactNetwork;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * In-memory bandwidth reservations of a batch path computation. It starts from the available bandwidth of
+ * {@link CompactNetwork} edges and tracks bandwidth taken by found paths and released by the replaced ones.
+ */
+final class BandwidthLedger {
+    private final CompactNetwork network;
+    private final long[] availableBandwidth;
+
+    BandwidthLedger(CompactNetwork network) {
+        this.network = network;
+        availableBandwidth = new long[network.getEdgeCount()];
+        for (int edge = 0; edge < availableBandwidth.length; edge++) {
+            availableBandwidth[edge] = network.getEdgeAvailableBandwidth(edge);
+        }
+    }
+
+    long getAvailableBandwidth(int edge) {
+        return availableBandwidth[edge];
+    }
+
+    /**
+     * Gets the bandwidth occupied by current paths of the flow, by edge index.
+     */
+    Map<Integer, Long> getOccupiedBandwidth(Flow flow) {
+        Map<Integer, Long> result = new HashMap<>();
+        for (FlowPath path : flow.getPaths()) {
+            if (path == null || path.isIgnoreBandwidth()) {
+                continue;
+            }
+            for (PathSegment segment : path.getSegments()) {
+                int edge = network.findEdge(segment.getSrcSwitch().getSwitchId(), segment.getSrcPort(),
+                        segment.getDestSwitch().getSwitchId(), segment.getDestPort());
+                if (edge >= 0) {
+                    result.merge(edge, path.getBandwidth(), Long::sum);
+                }
+            }
+        }
+        return result;
+    }
+
+    void release(Map<Integer, Long> bandwidth) {
+        bandwidth.forEach((edge, value) -> availableBandwidth[edge] += value);
+    }
+
+    void take(Map<Integer, Long> bandwidth) {
+        bandwidth.forEach((edge, value) -> availableBandwidth[edge] -= value);
+    }
+
+    /**
+     * Takes the bandwidth on each segment of the path.
+     */
+    void reserve(Path path, long bandwidth) {
+        for (Path.Segment segment : path.getSegments()) {
+            int edge = network.findEdge(segment.getSrcSwitchId(), segment.getSrcPort(),
+                    segment.getDestSwitchId(), segment.getDestPort());
+            if (edge >= 0) {
+                availableBandwidth[edge] -= bandwidth;
+            }
+        }
+    }
+}
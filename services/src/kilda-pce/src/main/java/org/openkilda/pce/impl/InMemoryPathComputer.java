@@ -19,25 +19,35 @@ import static java.lang.String.format;
 import static java.util.Collections.emptyList;
 
 import org.openkilda.model.Flow;
+import org.openkilda.model.Isl;
 import org.openkilda.model.PathId;
 import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
 import org.openkilda.pce.AvailableNetworkFactory;
+import org.openkilda.pce.AvailableNetworkFactory.BuildStrategy;
+import org.openkilda.pce.BatchPathResult;
 import org.openkilda.pce.Path;
 import org.openkilda.pce.PathComputer;
 import org.openkilda.pce.PathPair;
 import org.openkilda.pce.exception.RecoverableException;
 import org.openkilda.pce.exception.UnroutableFlowException;
 import org.openkilda.pce.finder.PathFinder;
+import org.openkilda.pce.finder.SharedPathSearch;
+import org.openkilda.pce.model.CompactNetwork;
 import org.openkilda.pce.model.Edge;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.Pair;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -50,9 +60,20 @@ public class InMemoryPathComputer implements PathComputer {
     private final AvailableNetworkFactory availableNetworkFactory;
     private final PathFinder pathFinder;
 
-    public InMemoryPathComputer(AvailableNetworkFactory availableNetworkFactory, PathFinder pathFinder) {
+    /**
+     * The order of flows in a batch, the same as reroutes are throttled in: by priority and then by creation time.
+     * Flows without priority are treated as having the default one.
+     */
+    private final Comparator<Flow> priorityOrder;
+
+    public InMemoryPathComputer(AvailableNetworkFactory availableNetworkFactory, PathFinder pathFinder,
+                                int defaultFlowPriority) {
         this.availableNetworkFactory = availableNetworkFactory;
         this.pathFinder = pathFinder;
+        this.priorityOrder = Comparator
+                .comparingInt((Flow flow) -> flow.getPriority() != null ? flow.getPriority() : defaultFlowPriority)
+                .thenComparing(Flow::getTimeCreate, Comparator.nullsFirst(Comparator.<Instant>naturalOrder()))
+                .thenComparing(Flow::getFlowId);
     }
 
     @Override
@@ -63,12 +84,7 @@ public class InMemoryPathComputer implements PathComputer {
 
     private PathPair getPath(AvailableNetwork network, Flow flow) throws UnroutableFlowException {
         if (flow.isOneSwitchFlow()) {
-            log.info("No path computation for one-switch flow");
-            SwitchId singleSwitchId = flow.getSrcSwitch().getSwitchId();
-            return PathPair.builder()
-                    .forward(convertToPath(singleSwitchId, singleSwitchId, emptyList()))
-                    .reverse(convertToPath(singleSwitchId, singleSwitchId, emptyList()))
-                    .build();
+            return getOneSwitchPath(flow);
         }
 
         Pair<List<Edge>, List<Edge>> biPath;
@@ -86,6 +102,120 @@ public class InMemoryPathComputer implements PathComputer {
         return convertToPathPair(flow.getSrcSwitch().getSwitchId(), flow.getDestSwitch().getSwitchId(), biPath);
     }
 
+    private PathPair getOneSwitchPath(Flow flow) {
+        log.info("No path computation for one-switch flow");
+        SwitchId singleSwitchId = flow.getSrcSwitch().getSwitchId();
+        return PathPair.builder()
+                .forward(convertToPath(singleSwitchId, singleSwitchId, emptyList()))
+                .reverse(convertToPath(singleSwitchId, singleSwitchId, emptyList()))
+                .build();
+    }
+
+    /**
+     * Finds paths over the network of all active ISLs built once for the batch. Flows are processed in order of
+     * priority. For each flow, ISLs without enough bandwidth left in the {@link BandwidthLedger} are excluded from the
+     * search, the found path takes its bandwidth and the current paths of the flow release theirs.
+     * <p/>
+     * Flows out of diversity groups share the shortest path trees of {@link SharedPathSearch}. Flows of diversity
+     * groups have their own weights, so they are routed by {@link PathFinder} over the network filtered the same way.
+     */
+    @Override
+    public BatchPathResult getPaths(Collection<Flow> flows) throws RecoverableException {
+        Collection<Isl> isls = availableNetworkFactory.getActiveIsls();
+        AvailableNetwork network = new AvailableNetwork();
+        isls.forEach(network::addLink);
+        CompactNetwork compactNetwork = network.toCompactNetwork(pathFinder.getWeightFunction());
+
+        Isl[] edgeIsls = new Isl[compactNetwork.getEdgeCount()];
+        for (Isl isl : isls) {
+            int edge = compactNetwork.findEdge(isl.getSrcSwitch().getSwitchId(), isl.getSrcPort(),
+                    isl.getDestSwitch().getSwitchId(), isl.getDestPort());
+            if (edge >= 0) {
+                edgeIsls[edge] = isl;
+            }
+        }
+
+        boolean symmetric = availableNetworkFactory.getBuildStrategy() == BuildStrategy.SYMMETRIC_COST;
+        BandwidthLedger ledger = new BandwidthLedger(compactNetwork);
+        SharedPathSearch search = new SharedPathSearch(compactNetwork, pathFinder.getAllowedDepth());
+
+        List<Flow> orderedFlows = new ArrayList<>(flows);
+        orderedFlows.sort(priorityOrder);
+
+        Map<String, PathPair> paths = new HashMap<>();
+        Map<String, UnroutableFlowException> failures = new HashMap<>();
+        for (Flow flow : orderedFlows) {
+            Map<Integer, Long> occupiedBandwidth = ledger.getOccupiedBandwidth(flow);
+            ledger.release(occupiedBandwidth);
+            try {
+                PathPair pathPair;
+                if (flow.isOneSwitchFlow()) {
+                    pathPair = getOneSwitchPath(flow);
+                } else if (flow.getGroupId() != null) {
+                    AvailableNetwork flowNetwork = new AvailableNetwork();
+                    for (int edge = 0; edge < edgeIsls.length; edge++) {
+                        if (isEdgeAvailable(compactNetwork, ledger, edge, flow, symmetric)) {
+                            flowNetwork.addLink(edgeIsls[edge]);
+                        }
+                    }
+                    availableNetworkFactory.addDiversityWeights(flowNetwork, flow, flow.getFlowPathIds());
+                    pathPair = getPath(flowNetwork, flow);
+                } else {
+                    for (int edge = 0; edge < edgeIsls.length; edge++) {
+                        search.setEdgeExcluded(edge, !isEdgeAvailable(compactNetwork, ledger, edge, flow, symmetric));
+                    }
+                    pathPair = getSharedPath(search, flow);
+                }
+
+                if (!flow.isIgnoreBandwidth()) {
+                    ledger.reserve(pathPair.getForward(), flow.getBandwidth());
+                    ledger.reserve(pathPair.getReverse(), flow.getBandwidth());
+                }
+                paths.put(flow.getFlowId(), pathPair);
+            } catch (UnroutableFlowException e) {
+                // The flow keeps its current paths.
+                ledger.take(occupiedBandwidth);
+                failures.put(flow.getFlowId(), e);
+            }
+        }
+
+        log.info("Batch path computation for {} flows is finished: {} unroutable, {} shortest path trees built",
+                orderedFlows.size(), failures.size(), search.getTreeBuildCount());
+        return new BatchPathResult(paths, failures);
+    }
+
+    private PathPair getSharedPath(SharedPathSearch search, Flow flow) throws UnroutableFlowException {
+        SwitchId srcSwitchId = flow.getSrcSwitch().getSwitchId();
+        SwitchId dstSwitchId = flow.getDestSwitch().getSwitchId();
+        CompactNetwork network = search.getNetwork();
+        int start = network.getNodeIndex(srcSwitchId);
+        int end = network.getNodeIndex(dstSwitchId);
+
+        int[] path = start < 0 || end < 0 ? new int[0] : search.findPath(start, end);
+        if (path.length == 0) {
+            String message = format("Failed to find path with requested bandwidth=%s: Can't find a path from %s to %s",
+                    flow.isIgnoreBandwidth() ? " ignored" : flow.getBandwidth(), srcSwitchId, dstSwitchId);
+            throw new UnroutableFlowException(message, flow.getFlowId());
+        }
+
+        return convertToPathPair(srcSwitchId, dstSwitchId, search.toBiPath(path));
+    }
+
+    private boolean isEdgeAvailable(CompactNetwork network, BandwidthLedger ledger, int edge, Flow flow,
+                                    boolean symmetric) {
+        if (flow.isIgnoreBandwidth()) {
+            return true;
+        }
+        if (ledger.getAvailableBandwidth(edge) < flow.getBandwidth()) {
+            return false;
+        }
+        if (!symmetric) {
+            return true;
+        }
+        int reverse = network.getReverseEdge(edge);
+        return reverse >= 0 && ledger.getAvailableBandwidth(reverse) >= flow.getBandwidth();
+    }
+
     @Override
     public List<Path> getNPaths(SwitchId srcSwitchId, SwitchId dstSwitchId, int count)
             throws RecoverableException, UnroutableFlowException {
@@ -0,0 +1,173 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.impl;
+
+import org.openkilda.model.Isl;
+import org.openkilda.model.IslStatus;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.model.SwitchStatus;
+
+import lombok.Getter;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable versioned view of active ISLs. Modification methods never touch the current instance, they return
+ * a copy with an incremented version, so a reader that holds a snapshot is never affected by concurrent updates.
+ * <p/>
+ * The snapshot holds detached copies of {@link Isl} entities, so changes of entities loaded within some
+ * persistence session don't leak into it.
+ */
+public final class NetworkSnapshot {
+    @Getter
+    private final long version;
+    @Getter
+    private final Instant loadTime;
+    private final Map<IslKey, Isl> isls;
+
+    private NetworkSnapshot(long version, Instant loadTime, Map<IslKey, Isl> isls) {
+        this.version = version;
+        this.loadTime = loadTime;
+        this.isls = isls;
+    }
+
+    /**
+     * Creates a snapshot from the passed ISLs. Not active ISLs and ISLs between not active switches are skipped.
+     *
+     * @param isls the ISLs to fill the snapshot.
+     * @param version the version of the snapshot.
+     * @param loadTime the time when ISLs were read from the persistent storage.
+     * @return a new snapshot instance.
+     */
+    public static NetworkSnapshot of(Collection<Isl> isls, long version, Instant loadTime) {
+        Map<IslKey, Isl> entries = new HashMap<>(isls.size() * 2);
+        for (Isl isl : isls) {
+            if (isActive(isl)) {
+                entries.put(IslKey.of(isl), detach(isl));
+            }
+        }
+        return new NetworkSnapshot(version, loadTime, entries);
+    }
+
+    public int size() {
+        return isls.size();
+    }
+
+    /**
+     * Returns a copy of the snapshot with added or replaced ISL. If the ISL is not active, it's removed instead.
+     */
+    public NetworkSnapshot withIsl(Isl isl) {
+        IslKey key = IslKey.of(isl);
+        Map<IslKey, Isl> entries = new HashMap<>(isls);
+        if (isActive(isl)) {
+            entries.put(key, detach(isl));
+        } else {
+            entries.remove(key);
+        }
+        return new NetworkSnapshot(version + 1, loadTime, entries);
+    }
+
+    /**
+     * Returns a copy of the snapshot with all passed ISLs added or replaced. Not active ISLs are removed instead.
+     */
+    public NetworkSnapshot withIsls(Collection<Isl> updates) {
+        Map<IslKey, Isl> entries = new HashMap<>(isls);
+        for (Isl isl : updates) {
+            if (isActive(isl)) {
+                entries.put(IslKey.of(isl), detach(isl));
+            } else {
+                entries.remove(IslKey.of(isl));
+            }
+        }
+        return new NetworkSnapshot(version + 1, loadTime, entries);
+    }
+
+    /**
+     * Gets all ISLs of the snapshot. Works as {@code IslRepository.findAllActive()}.
+     */
+    public Collection<Isl> getAllActive() {
+        return Collections.unmodifiableCollection(isls.values());
+    }
+
+    /**
+     * Gets ISLs with enough available bandwidth. Works as {@code IslRepository.findActiveWithAvailableBandwidth()}.
+     */
+    public Collection<Isl> getActiveWithAvailableBandwidth(long requiredBandwidth) {
+        return isls.values().stream()
+                .filter(isl -> isl.getAvailableBandwidth() >= requiredBandwidth)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Gets ISLs which have enough available bandwidth in both directions. Works as
+     * {@code IslRepository.findSymmetricActiveWithAvailableBandwidth()}, except that the reverse ISL must be active
+     * too, as the snapshot doesn't keep inactive ones.
+     */
+    public Collection<Isl> getSymmetricActiveWithAvailableBandwidth(long requiredBandwidth) {
+        return isls.entrySet().stream()
+                .filter(entry -> entry.getValue().getAvailableBandwidth() >= requiredBandwidth)
+                .filter(entry -> {
+                    Isl reverse = isls.get(entry.getKey().reverse());
+                    return reverse != null && reverse.getAvailableBandwidth() >= requiredBandwidth;
+                })
+                .map(Map.Entry::getValue)
+                .collect(Collectors.toList());
+    }
+
+    private static boolean isActive(Isl isl) {
+        return isl.getStatus() == IslStatus.ACTIVE
+                && isl.getSrcSwitch().getStatus() == SwitchStatus.ACTIVE
+                && isl.getDestSwitch().getStatus() == SwitchStatus.ACTIVE;
+    }
+
+    private static Isl detach(Isl isl) {
+        return isl.toBuilder()
+                .srcSwitch(detach(isl.getSrcSwitch()))
+                .destSwitch(detach(isl.getDestSwitch()))
+                .build();
+    }
+
+    private static Switch detach(Switch sw) {
+        return Switch.builder()
+                .switchId(sw.getSwitchId())
+                .status(sw.getStatus())
+                .build();
+    }
+
+    @Value
+    private static class IslKey {
+        SwitchId srcSwitchId;
+        int srcPort;
+        SwitchId dstSwitchId;
+        int dstPort;
+
+        static IslKey of(Isl isl) {
+            return new IslKey(isl.getSrcSwitch().getSwitchId(), isl.getSrcPort(),
+                    isl.getDestSwitch().getSwitchId(), isl.getDestPort());
+        }
+
+        IslKey reverse() {
+            return new IslKey(dstSwitchId, dstPort, srcSwitchId, srcPort);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.model;
+
+import org.openkilda.model.SwitchId;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable index-based representation of a network. Switches are addressed by int indices, outgoing links are kept
+ * in compressed sparse row (CSR) arrays and edge attributes are kept in primitive columns, so path finding over it
+ * doesn't need to allocate objects per visited node or edge.
+ * <p/>
+ * Edge weights are calculated once on construction by the provided {@link WeightFunction} and include static
+ * (diversity) weights of the edge and of its destination node.
+ */
+public final class CompactNetwork {
+    private final SwitchId[] switchIds;
+    private final Map<SwitchId, Integer> switchIndexes;
+    private final long[] nodeWeights;
+
+    // Outgoing edges of node N are located in [edgeOffsets[N], edgeOffsets[N + 1]) range of the edge columns.
+    private final int[] edgeOffsets;
+    private final int[] edgeSrc;
+    private final int[] edgeDst;
+    private final long[] edgeWeights;
+    private final long[] edgeAvailableBandwidth;
+    private final long[] edgeLatency;
+    private final int[] edgeReverse;
+    private final Edge[] edges;
+
+    private CompactNetwork(SwitchId[] switchIds, Map<SwitchId, Integer> switchIndexes, long[] nodeWeights,
+                           int[] edgeOffsets, int[] edgeSrc, int[] edgeDst, long[] edgeWeights,
+                           long[] edgeAvailableBandwidth, long[] edgeLatency, int[] edgeReverse, Edge[] edges) {
+        this.switchIds = switchIds;
+        this.switchIndexes = switchIndexes;
+        this.nodeWeights = nodeWeights;
+        this.edgeOffsets = edgeOffsets;
+        this.edgeSrc = edgeSrc;
+        this.edgeDst = edgeDst;
+        this.edgeWeights = edgeWeights;
+        this.edgeAvailableBandwidth = edgeAvailableBandwidth;
+        this.edgeLatency = edgeLatency;
+        this.edgeReverse = edgeReverse;
+        this.edges = edges;
+    }
+
+    /**
+     * Builds the compact representation of passed nodes and their outgoing links. Nodes and edges are ordered by
+     * switch id and ports, so the result doesn't depend on iteration order of the source collections.
+     *
+     * @param nodes the network nodes.
+     * @param weightFunction the function to calculate edge weights.
+     * @return the compact network.
+     */
+    public static CompactNetwork build(Collection<Node> nodes, WeightFunction weightFunction) {
+        Node[] sortedNodes = nodes.toArray(new Node[0]);
+        Arrays.sort(sortedNodes, Comparator.comparing(Node::getSwitchId));
+
+        int nodeCount = sortedNodes.length;
+        SwitchId[] switchIds = new SwitchId[nodeCount];
+        Map<SwitchId, Integer> switchIndexes = new HashMap<>(nodeCount * 2);
+        long[] nodeWeights = new long[nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            switchIds[i] = sortedNodes[i].getSwitchId();
+            switchIndexes.put(switchIds[i], i);
+            nodeWeights[i] = sortedNodes[i].getStaticWeight();
+        }
+
+        Comparator<Edge> edgeComparator = Comparator.<Edge, SwitchId>comparing(e -> e.getDestSwitch().getSwitchId())
+                .thenComparingInt(Edge::getSrcPort)
+                .thenComparingInt(Edge::getDestPort);
+        List<Edge> orderedEdges = new ArrayList<>();
+        int[] edgeOffsets = new int[nodeCount + 1];
+        for (int i = 0; i < nodeCount; i++) {
+            edgeOffsets[i] = orderedEdges.size();
+            sortedNodes[i].getOutgoingLinks().stream()
+                    .filter(edge -> switchIndexes.containsKey(edge.getDestSwitch().getSwitchId()))
+                    .sorted(edgeComparator)
+                    .forEach(orderedEdges::add);
+        }
+        edgeOffsets[nodeCount] = orderedEdges.size();
+
+        int edgeCount = orderedEdges.size();
+        Edge[] edges = orderedEdges.toArray(new Edge[0]);
+        int[] edgeSrc = new int[edgeCount];
+        int[] edgeDst = new int[edgeCount];
+        long[] edgeWeights = new long[edgeCount];
+        long[] edgeAvailableBandwidth = new long[edgeCount];
+        long[] edgeLatency = new long[edgeCount];
+        Map<Edge, Integer> edgeIndexes = new HashMap<>(edgeCount * 2);
+        for (int i = 0; i < edgeCount; i++) {
+            Edge edge = edges[i];
+            edgeSrc[i] = switchIndexes.get(edge.getSrcSwitch().getSwitchId());
+            edgeDst[i] = switchIndexes.get(edge.getDestSwitch().getSwitchId());
+            edgeWeights[i] = edge.getFullWeight(weightFunction) + nodeWeights[edgeDst[i]];
+            edgeAvailableBandwidth[i] = edge.getAvailableBandwidth();
+            edgeLatency[i] = edge.getLatency();
+            edgeIndexes.put(edge, i);
+        }
+
+        int[] edgeReverse = new int[edgeCount];
+        for (int i = 0; i < edgeCount; i++) {
+            edgeReverse[i] = edgeIndexes.getOrDefault(edges[i].swap(), -1);
+        }
+
+        return new CompactNetwork(switchIds, switchIndexes, nodeWeights, edgeOffsets, edgeSrc, edgeDst, edgeWeights,
+                edgeAvailableBandwidth, edgeLatency, edgeReverse, edges);
+    }
+
+    public int getNodeCount() {
+        return switchIds.length;
+    }
+
+    public int getEdgeCount() {
+        return edges.length;
+    }
+
+    /**
+     * Gets the index of the switch, or -1 if the network doesn't contain it.
+     */
+    public int getNodeIndex(SwitchId switchId) {
+        Integer index = switchIndexes.get(switchId);
+        return index != null ? index : -1;
+    }
+
+    public SwitchId getSwitchId(int node) {
+        return switchIds[node];
+    }
+
+    public long getNodeWeight(int node) {
+        return nodeWeights[node];
+    }
+
+    /**
+     * Gets the first index of outgoing edges of the node.
+     */
+    public int getFirstEdge(int node) {
+        return edgeOffsets[node];
+    }
+
+    /**
+     * Gets the index next to the last outgoing edge of the node.
+     */
+    public int getEdgesEnd(int node) {
+        return edgeOffsets[node + 1];
+    }
+
+    public int getEdgeSrc(int edge) {
+        return edgeSrc[edge];
+    }
+
+    public int getEdgeDst(int edge) {
+        return edgeDst[edge];
+    }
+
+    /**
+     * Gets the edge weight, which includes the weight of the destination node.
+     */
+    public long getEdgeWeight(int edge) {
+        return edgeWeights[edge];
+    }
+
+    public long getEdgeAvailableBandwidth(int edge) {
+        return edgeAvailableBandwidth[edge];
+    }
+
+    public long getEdgeLatency(int edge) {
+        return edgeLatency[edge];
+    }
+
+    /**
+     * Gets the index of the edge with swapped endpoints, or -1 if the network doesn't contain it.
+     */
+    public int getReverseEdge(int edge) {
+        return edgeReverse[edge];
+    }
+
+    public Edge getEdge(int edge) {
+        return edges[edge];
+    }
+
+    /**
+     * Finds the index of the edge with the same endpoints as the passed one, or -1 if there's no such edge.
+     */
+    public int findEdge(Edge edge) {
+        return findEdge(edge.getSrcSwitch().getSwitchId(), edge.getSrcPort(),
+                edge.getDestSwitch().getSwitchId(), edge.getDestPort());
+    }
+
+    /**
+     * Finds the index of the edge with the passed endpoints, or -1 if there's no such edge.
+     */
+    public int findEdge(SwitchId srcSwitchId, int srcPort, SwitchId destSwitchId, int destPort) {
+        int src = getNodeIndex(srcSwitchId);
+        if (src < 0) {
+            return -1;
+        }
+        for (int i = edgeOffsets[src]; i < edgeOffsets[src + 1]; i++) {
+            if (edges[i].getSrcPort() == srcPort && edges[i].getDestPort() == destPort
+                    && switchIds[edgeDst[i]].equals(destSwitchId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
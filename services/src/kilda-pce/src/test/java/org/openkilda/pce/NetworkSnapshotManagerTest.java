@@ -0,0 +1,216 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.openkilda.model.Isl;
+import org.openkilda.model.IslStatus;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.model.SwitchStatus;
+import org.openkilda.pce.impl.NetworkSnapshot;
+import org.openkilda.persistence.repositories.IslRepository;
+import org.openkilda.persistence.repositories.RepositoryFactory;
+
+import org.hamcrest.Matchers;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+public class NetworkSnapshotManagerTest {
+    private static final SwitchId SWITCH_1 = new SwitchId("00:01");
+    private static final SwitchId SWITCH_2 = new SwitchId("00:02");
+    private static final SwitchId SWITCH_3 = new SwitchId("00:03");
+
+    private IslRepository islRepository;
+    private PathComputerConfig config;
+    private MutableClock clock;
+    private NetworkSnapshotManager manager;
+
+    @Before
+    public void setUp() {
+        islRepository = mock(IslRepository.class);
+        RepositoryFactory repositoryFactory = mock(RepositoryFactory.class);
+        when(repositoryFactory.createIslRepository()).thenReturn(islRepository);
+
+        config = mock(PathComputerConfig.class);
+        when(config.getNetworkSnapshotMaxAgeSeconds()).thenReturn(60);
+
+        clock = new MutableClock(Instant.parse("2019-01-01T00:00:00Z"));
+        manager = new NetworkSnapshotManager(config, repositoryFactory, clock);
+    }
+
+    @Test
+    public void shouldLoadSnapshotOnceAndApplyUpdates() {
+        when(islRepository.findAllActive()).thenReturn(asList(
+                buildIsl(SWITCH_1, 1, SWITCH_2, 1, 100),
+                buildIsl(SWITCH_2, 1, SWITCH_1, 1, 100)));
+
+        NetworkSnapshot initial = manager.getSnapshot();
+        assertEquals(2, initial.size());
+
+        manager.handleIslUpdate(buildIsl(SWITCH_1, 1, SWITCH_2, 1, 10));
+        NetworkSnapshot updated = manager.getSnapshot();
+
+        assertNotSame(initial, updated);
+        assertEquals(initial.getVersion() + 1, updated.getVersion());
+        assertThat(updated.getActiveWithAvailableBandwidth(50), Matchers.hasSize(1));
+        // the initial snapshot must not be affected by the update
+        assertThat(initial.getActiveWithAvailableBandwidth(50), Matchers.hasSize(2));
+
+        verify(islRepository, times(1)).findAllActive();
+    }
+
+    @Test
+    public void shouldReloadExpiredSnapshot() {
+        when(islRepository.findAllActive()).thenReturn(asList(buildIsl(SWITCH_1, 1, SWITCH_2, 1, 100)));
+
+        NetworkSnapshot initial = manager.getSnapshot();
+        assertSame(initial, manager.getSnapshot());
+
+        clock.advance(Duration.ofSeconds(61));
+        NetworkSnapshot reloaded = manager.getSnapshot();
+
+        assertNotSame(initial, reloaded);
+        assertThat(reloaded.getVersion(), Matchers.greaterThan(initial.getVersion()));
+        verify(islRepository, times(2)).findAllActive();
+    }
+
+    @Test
+    public void shouldRemoveInactiveIsl() {
+        when(islRepository.findAllActive()).thenReturn(asList(buildIsl(SWITCH_1, 1, SWITCH_2, 1, 100)));
+        manager.getSnapshot();
+
+        Isl inactive = buildIsl(SWITCH_1, 1, SWITCH_2, 1, 100);
+        inactive.setStatus(IslStatus.INACTIVE);
+        manager.handleIslUpdate(inactive);
+
+        assertEquals(0, manager.getSnapshot().size());
+    }
+
+    @Test
+    public void shouldReReadIslsOfChangedEndpoint() {
+        when(islRepository.findAllActive()).thenReturn(asList(
+                buildIsl(SWITCH_1, 1, SWITCH_2, 1, 100),
+                buildIsl(SWITCH_2, 1, SWITCH_1, 1, 100)));
+        manager.getSnapshot();
+
+        Isl forward = buildIsl(SWITCH_1, 1, SWITCH_2, 1, 100);
+        forward.setStatus(IslStatus.INACTIVE);
+        Isl reverse = buildIsl(SWITCH_2, 1, SWITCH_1, 1, 100);
+        reverse.setStatus(IslStatus.INACTIVE);
+        when(islRepository.findByEndpoint(SWITCH_1, 1)).thenReturn(asList(forward, reverse));
+        manager.handleEndpointChange(SWITCH_1, 1);
+
+        assertEquals(0, manager.getSnapshot().size());
+        verify(islRepository, times(1)).findAllActive();
+    }
+
+    @Test
+    public void shouldReReadIslsOfChangedSwitch() {
+        when(islRepository.findAllActive()).thenReturn(asList(
+                buildIsl(SWITCH_1, 1, SWITCH_2, 1, 100),
+                buildIsl(SWITCH_2, 1, SWITCH_1, 1, 100),
+                buildIsl(SWITCH_2, 2, SWITCH_3, 2, 100)));
+        manager.getSnapshot();
+
+        Isl forward = buildIsl(SWITCH_1, 1, SWITCH_2, 1, 100);
+        forward.getSrcSwitch().setStatus(SwitchStatus.INACTIVE);
+        Isl reverse = buildIsl(SWITCH_2, 1, SWITCH_1, 1, 100);
+        reverse.getDestSwitch().setStatus(SwitchStatus.INACTIVE);
+        when(islRepository.findBySrcSwitch(SWITCH_1)).thenReturn(asList(forward));
+        when(islRepository.findByDestSwitch(SWITCH_1)).thenReturn(asList(reverse));
+        manager.handleSwitchChange(SWITCH_1);
+
+        assertEquals(1, manager.getSnapshot().size());
+        verify(islRepository, times(1)).findAllActive();
+    }
+
+    @Test
+    public void shouldNotReadIslsOnChangesBeforeSnapshotIsLoaded() {
+        manager.handleEndpointChange(SWITCH_1, 1);
+        manager.handleSwitchChange(SWITCH_1);
+
+        verify(islRepository, times(0)).findByEndpoint(SWITCH_1, 1);
+        verify(islRepository, times(0)).findBySrcSwitch(SWITCH_1);
+    }
+
+    @Test
+    public void shouldFilterSymmetricLinks() {
+        when(islRepository.findAllActive()).thenReturn(asList(
+                buildIsl(SWITCH_1, 1, SWITCH_2, 1, 100),
+                buildIsl(SWITCH_2, 1, SWITCH_1, 1, 10),
+                buildIsl(SWITCH_2, 2, SWITCH_3, 2, 100)));
+
+        NetworkSnapshot snapshot = manager.getSnapshot();
+
+        assertThat(snapshot.getSymmetricActiveWithAvailableBandwidth(5), Matchers.hasSize(2));
+        assertThat(snapshot.getSymmetricActiveWithAvailableBandwidth(50), Matchers.empty());
+        assertThat(snapshot.getActiveWithAvailableBandwidth(50), Matchers.hasSize(2));
+    }
+
+    private Isl buildIsl(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort, long bandwidth) {
+        return Isl.builder()
+                .srcSwitch(Switch.builder().switchId(srcSwitchId).status(SwitchStatus.ACTIVE).build())
+                .srcPort(srcPort)
+                .destSwitch(Switch.builder().switchId(dstSwitchId).status(SwitchStatus.ACTIVE).build())
+                .destPort(dstPort)
+                .availableBandwidth(bandwidth)
+                .status(IslStatus.ACTIVE)
+                .build();
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
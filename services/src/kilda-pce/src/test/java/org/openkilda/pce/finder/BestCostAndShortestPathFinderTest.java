@@ -257,6 +257,25 @@ public class BestCostAndShortestPathFinderTest {
         assertEquals(forwardSwitchPath, backwardSwitchPath);
     }
 
+    private AvailableNetwork buildDiamondNetwork() {
+        /*
+         *   Topology:
+         *
+         *   SW1---SW2---SW4
+         *     \    |    /
+         *      +--SW3--+
+         *
+         *   Paths from SW1 to SW4 by cost: 1-2-4 (2), 1-2-3-4 (5), 1-3-4 (6), 1-3-2-4 (7).
+         */
+        AvailableNetwork network = new AvailableNetwork();
+        addBidirectionalLink(network, SWITCH_ID_1, SWITCH_ID_2, 1, 2, 1);
+        addBidirectionalLink(network, SWITCH_ID_2, SWITCH_ID_4, 3, 4, 1);
+        addBidirectionalLink(network, SWITCH_ID_1, SWITCH_ID_3, 5, 6, 4);
+        addBidirectionalLink(network, SWITCH_ID_3, SWITCH_ID_4, 7, 8, 2);
+        addBidirectionalLink(network, SWITCH_ID_2, SWITCH_ID_3, 9, 10, 2);
+        return network;
+    }
+
     private AvailableNetwork buildNetworkWithBandwidthInReversePathBiggerThanForward() {
         /*
          *   Topology:
@@ -294,6 +313,37 @@ public class BestCostAndShortestPathFinderTest {
         assertEquals(forwardSwitchPath, Lists.newArrayList(SWITCH_ID_1, SWITCH_ID_3));
     }
 
+    @Test
+    public void shouldFindNPathsOrderedByCost() throws UnroutableFlowException {
+        AvailableNetwork network = buildDiamondNetwork();
+
+        BestCostAndShortestPathFinder pathFinder = new BestCostAndShortestPathFinder(ALLOWED_DEPTH, WEIGHT_FUNCTION);
+        List<List<Edge>> paths = pathFinder.findNPathsBetweenSwitches(network, SWITCH_ID_1, SWITCH_ID_4, 10);
+
+        assertThat(paths, Matchers.hasSize(4));
+        assertEquals(Arrays.asList(SWITCH_ID_1, SWITCH_ID_2, SWITCH_ID_4), getSwitchIdsFlowPath(paths.get(0)));
+        assertEquals(Arrays.asList(SWITCH_ID_1, SWITCH_ID_2, SWITCH_ID_3, SWITCH_ID_4),
+                getSwitchIdsFlowPath(paths.get(1)));
+        assertEquals(Arrays.asList(SWITCH_ID_1, SWITCH_ID_3, SWITCH_ID_4), getSwitchIdsFlowPath(paths.get(2)));
+        assertEquals(Arrays.asList(SWITCH_ID_1, SWITCH_ID_3, SWITCH_ID_2, SWITCH_ID_4),
+                getSwitchIdsFlowPath(paths.get(3)));
+        // the passed network must be left untouched
+        assertThat(network.getSwitch(SWITCH_ID_2).getOutgoingLinks(), Matchers.hasSize(3));
+        assertThat(network.getSwitch(SWITCH_ID_2).getIncomingLinks(), Matchers.hasSize(3));
+    }
+
+    @Test
+    public void shouldFindNPathsWithinAllowedDepth() throws UnroutableFlowException {
+        AvailableNetwork network = buildDiamondNetwork();
+
+        BestCostAndShortestPathFinder pathFinder = new BestCostAndShortestPathFinder(2, WEIGHT_FUNCTION);
+        List<List<Edge>> paths = pathFinder.findNPathsBetweenSwitches(network, SWITCH_ID_1, SWITCH_ID_4, 10);
+
+        assertThat(paths, Matchers.hasSize(2));
+        assertEquals(Arrays.asList(SWITCH_ID_1, SWITCH_ID_2, SWITCH_ID_4), getSwitchIdsFlowPath(paths.get(0)));
+        assertEquals(Arrays.asList(SWITCH_ID_1, SWITCH_ID_3, SWITCH_ID_4), getSwitchIdsFlowPath(paths.get(1)));
+    }
+
     private AvailableNetwork buildExpensiveNetwork() {
         /*
          *   Triangle topology:
@@ -0,0 +1,139 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.finder;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.openkilda.model.Isl;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.model.CompactNetwork;
+import org.openkilda.pce.model.WeightFunction;
+
+import org.junit.Test;
+
+public class SharedPathSearchTest {
+    private static final WeightFunction WEIGHT_FUNCTION = edge -> (long) edge.getCost();
+
+    private static final SwitchId SWITCH_ID_1 = new SwitchId("00:00:00:00:00:00:00:01");
+    private static final SwitchId SWITCH_ID_2 = new SwitchId("00:00:00:00:00:00:00:02");
+    private static final SwitchId SWITCH_ID_3 = new SwitchId("00:00:00:00:00:00:00:03");
+    private static final SwitchId SWITCH_ID_4 = new SwitchId("00:00:00:00:00:00:00:04");
+
+    @Test
+    public void shouldReuseTreeOfTheSameStartSwitch() {
+        CompactNetwork network = buildDiamondNetwork();
+        SharedPathSearch search = new SharedPathSearch(network, 35);
+
+        int[] pathViaSwitch2 = findPath(search, SWITCH_ID_1, SWITCH_ID_4);
+        assertArrayEquals(new int[] {edge(network, SWITCH_ID_1, 1), edge(network, SWITCH_ID_2, 3)}, pathViaSwitch2);
+        assertArrayEquals(new int[] {edge(network, SWITCH_ID_1, 1)}, findPath(search, SWITCH_ID_1, SWITCH_ID_2));
+        assertEquals(1, search.getTreeBuildCount());
+
+        // excluding an edge out of the found path keeps the tree valid
+        search.setEdgeExcluded(edge(network, SWITCH_ID_1, 5), true);
+        assertArrayEquals(pathViaSwitch2, findPath(search, SWITCH_ID_1, SWITCH_ID_4));
+        assertEquals(1, search.getTreeBuildCount());
+    }
+
+    @Test
+    public void shouldRebuildTreeIfPathIsExcluded() {
+        CompactNetwork network = buildDiamondNetwork();
+        SharedPathSearch search = new SharedPathSearch(network, 35);
+        findPath(search, SWITCH_ID_1, SWITCH_ID_4);
+
+        search.setEdgeExcluded(edge(network, SWITCH_ID_2, 3), true);
+        assertArrayEquals(new int[] {edge(network, SWITCH_ID_1, 5), edge(network, SWITCH_ID_3, 7)},
+                findPath(search, SWITCH_ID_1, SWITCH_ID_4));
+        assertEquals(2, search.getTreeBuildCount());
+    }
+
+    @Test
+    public void shouldRebuildTreeIfEdgeIsIncluded() {
+        CompactNetwork network = buildDiamondNetwork();
+        SharedPathSearch search = new SharedPathSearch(network, 35);
+
+        search.setEdgeExcluded(edge(network, SWITCH_ID_2, 3), true);
+        findPath(search, SWITCH_ID_1, SWITCH_ID_4);
+        search.setEdgeExcluded(edge(network, SWITCH_ID_2, 3), false);
+
+        assertArrayEquals(new int[] {edge(network, SWITCH_ID_1, 1), edge(network, SWITCH_ID_2, 3)},
+                findPath(search, SWITCH_ID_1, SWITCH_ID_4));
+        assertEquals(2, search.getTreeBuildCount());
+    }
+
+    @Test
+    public void shouldFallBackToHopLimitedSearchForDeepPath() {
+        CompactNetwork network = buildDiamondNetwork();
+        SharedPathSearch search = new SharedPathSearch(network, 1);
+
+        assertEquals(0, findPath(search, SWITCH_ID_1, SWITCH_ID_4).length);
+        assertEquals(1, findPath(search, SWITCH_ID_1, SWITCH_ID_2).length);
+    }
+
+    private int[] findPath(SharedPathSearch search, SwitchId start, SwitchId end) {
+        CompactNetwork network = search.getNetwork();
+        return search.findPath(network.getNodeIndex(start), network.getNodeIndex(end));
+    }
+
+    private int edge(CompactNetwork network, SwitchId srcSwitch, int srcPort) {
+        for (int edge = 0; edge < network.getEdgeCount(); edge++) {
+            if (network.getEdge(edge).getSrcSwitch().getSwitchId().equals(srcSwitch)
+                    && network.getEdge(edge).getSrcPort() == srcPort) {
+                return edge;
+            }
+        }
+        throw new AssertionError("Edge not found");
+    }
+
+    private CompactNetwork buildDiamondNetwork() {
+        /*
+         *   Topology:
+         *
+         *   SW1---SW2---SW4
+         *     \         /
+         *      +--SW3--+
+         *
+         *   The path via SW2 is cheaper.
+         */
+        AvailableNetwork network = new AvailableNetwork();
+        addBidirectionalLink(network, SWITCH_ID_1, SWITCH_ID_2, 1, 2, 1);
+        addBidirectionalLink(network, SWITCH_ID_2, SWITCH_ID_4, 3, 4, 1);
+        addBidirectionalLink(network, SWITCH_ID_1, SWITCH_ID_3, 5, 6, 2);
+        addBidirectionalLink(network, SWITCH_ID_3, SWITCH_ID_4, 7, 8, 2);
+        return network.toCompactNetwork(WEIGHT_FUNCTION);
+    }
+
+    private void addBidirectionalLink(AvailableNetwork network, SwitchId firstSwitch, SwitchId secondSwitch,
+                                      int srcPort, int dstPort, int cost) {
+        addLink(network, firstSwitch, secondSwitch, srcPort, dstPort, cost);
+        addLink(network, secondSwitch, firstSwitch, dstPort, srcPort, cost);
+    }
+
+    private void addLink(AvailableNetwork network, SwitchId srcDpid, SwitchId dstDpid, int srcPort, int dstPort,
+                         int cost) {
+        Isl isl = Isl.builder()
+                .srcSwitch(Switch.builder().switchId(srcDpid).build())
+                .destSwitch(Switch.builder().switchId(dstDpid).build())
+                .srcPort(srcPort)
+                .destPort(dstPort)
+                .cost(cost)
+                .build();
+        network.addLink(isl);
+    }
+}
@@ -32,6 +32,7 @@ import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
 import org.openkilda.model.SwitchStatus;
 import org.openkilda.pce.AvailableNetworkFactory;
+import org.openkilda.pce.BatchPathResult;
 import org.openkilda.pce.Path;
 import org.openkilda.pce.PathComputer;
 import org.openkilda.pce.PathComputerConfig;
@@ -42,6 +43,7 @@ import org.openkilda.pce.exception.RecoverableException;
 import org.openkilda.pce.exception.UnroutableFlowException;
 import org.openkilda.pce.finder.BestCostAndShortestPathFinder;
 import org.openkilda.persistence.Neo4jConfig;
+import org.openkilda.persistence.Neo4jLockingConfig;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.TransactionManager;
 import org.openkilda.persistence.repositories.FlowPathRepository;
@@ -63,6 +65,7 @@ import org.junit.rules.ExpectedException;
 import org.neo4j.ogm.testutil.TestServer;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 
@@ -119,6 +122,9 @@ public class InMemoryPathComputerTest {
                                     return "update";
                                 }
                             };
+                        } else if (configurationType.equals(Neo4jLockingConfig.class)) {
+                            // the default, pessimistic locking
+                            return new PropertiesBasedConfigurationProvider().getConfiguration(configurationType);
                         } else {
                             throw new UnsupportedOperationException("Unsupported configurationType "
                                     + configurationType);
@@ -391,7 +397,8 @@ public class InMemoryPathComputerTest {
 
         PathComputer pathComputer = new InMemoryPathComputer(availableNetworkFactory,
                 new BestCostAndShortestPathFinder(200,
-                        pathComputerFactory.getWeightFunctionByStrategy(WeightStrategy.COST)));
+                        pathComputerFactory.getWeightFunctionByStrategy(WeightStrategy.COST)),
+                config.getDefaultFlowPriority());
         PathPair path = pathComputer.getPath(f1);
         assertNotNull(path);
         assertThat(path.getForward().getSegments(), Matchers.hasSize(278));
@@ -571,6 +578,100 @@ public class InMemoryPathComputerTest {
         assertEquals(diversePath, path2);
     }
 
+    @Test
+    public void shouldAllocateBandwidthInBatchByPriority() throws RecoverableException {
+        createDiamond(IslStatus.ACTIVE, IslStatus.ACTIVE, 10, 20);
+
+        Switch srcSwitch = switchRepository.findById(new SwitchId("00:01")).get();
+        Switch destSwitch = switchRepository.findById(new SwitchId("00:04")).get();
+
+        Flow lowPriorityFlow = new TestFlowBuilder("low")
+                .srcSwitch(srcSwitch)
+                .destSwitch(destSwitch)
+                .bandwidth(600)
+                .priority(2)
+                .build();
+        Flow highPriorityFlow = new TestFlowBuilder("high")
+                .srcSwitch(srcSwitch)
+                .destSwitch(destSwitch)
+                .bandwidth(600)
+                .priority(1)
+                .build();
+        Flow lowestPriorityFlow = new TestFlowBuilder("lowest")
+                .srcSwitch(srcSwitch)
+                .destSwitch(destSwitch)
+                .bandwidth(600)
+                .build();
+
+        PathComputer pathComputer = pathComputerFactory.getPathComputer();
+        BatchPathResult result = pathComputer.getPaths(
+                Arrays.asList(lowestPriorityFlow, lowPriorityFlow, highPriorityFlow));
+
+        // the cheapest path B is taken by the flow of the highest priority, the rest can't fit into it
+        assertThat(result.getPaths().keySet(), Matchers.containsInAnyOrder("high", "low"));
+        assertEquals(new SwitchId("00:02"),
+                result.getPaths().get("high").getForward().getSegments().get(0).getDestSwitchId());
+        assertEquals(new SwitchId("00:03"),
+                result.getPaths().get("low").getForward().getSegments().get(0).getDestSwitchId());
+        assertThat(result.getFailures().keySet(), Matchers.contains("lowest"));
+    }
+
+    @Test
+    public void shouldTreatMissingPriorityAsDefaultInBatch() throws RecoverableException {
+        createDiamond(IslStatus.ACTIVE, IslStatus.ACTIVE, 10, 20);
+
+        Switch srcSwitch = switchRepository.findById(new SwitchId("00:01")).get();
+        Switch destSwitch = switchRepository.findById(new SwitchId("00:04")).get();
+
+        Flow defaultPriorityFlow = new TestFlowBuilder("default")
+                .srcSwitch(srcSwitch)
+                .destSwitch(destSwitch)
+                .bandwidth(600)
+                .build();
+        Flow lowPriorityFlow = new TestFlowBuilder("low")
+                .srcSwitch(srcSwitch)
+                .destSwitch(destSwitch)
+                .bandwidth(600)
+                .priority(config.getDefaultFlowPriority() + 1)
+                .build();
+
+        PathComputer pathComputer = pathComputerFactory.getPathComputer();
+        BatchPathResult result = pathComputer.getPaths(Arrays.asList(lowPriorityFlow, defaultPriorityFlow));
+
+        // the flow without priority goes before the one with a priority value above the default
+        assertEquals(new SwitchId("00:02"),
+                result.getPaths().get("default").getForward().getSegments().get(0).getDestSwitchId());
+        assertEquals(new SwitchId("00:03"),
+                result.getPaths().get("low").getForward().getSegments().get(0).getDestSwitchId());
+    }
+
+    @Test
+    public void shouldReuseOwnBandwidthInBatch() throws RecoverableException, UnroutableFlowException {
+        String flowId = "flow-A1:01-A1:03";
+        long bandwidth = 1000;
+
+        createLinearTopoWithFlowSegments(10, "A1:", 1, 0L,
+                flowId, bandwidth);
+
+        Flow flow = flowRepository.findById(flowId).orElseThrow(() -> new AssertionError("Flow not found"));
+        flow.setBandwidth(bandwidth);
+        Flow otherFlow = new TestFlowBuilder()
+                .srcSwitch(flow.getSrcSwitch())
+                .destSwitch(flow.getDestSwitch())
+                .bandwidth(bandwidth)
+                .build();
+
+        PathComputer pathComputer = pathComputerFactory.getPathComputer();
+        BatchPathResult result = pathComputer.getPaths(Arrays.asList(flow, otherFlow));
+
+        PathPair path = result.getPath(flowId);
+        assertThat(path.getForward().getSegments(), Matchers.hasSize(2));
+        assertThat(path.getReverse().getSegments(), Matchers.hasSize(2));
+
+        thrown.expect(UnroutableFlowException.class);
+        result.getPath(otherFlow.getFlowId());
+    }
+
     private void addPathSegments(FlowPath flowPath, Path path) {
         path.getSegments().forEach(segment ->
                 addPathSegment(flowPath, switchRepository.findById(segment.getSrcSwitchId()).get(),
@@ -42,6 +42,7 @@ public class TestFlowBuilder {
     private long unmaskedCookie = 1;
     private long bandwidth;
     private boolean ignoreBandwidth = false;
+    private Integer priority;
 
     public TestFlowBuilder() {
     }
@@ -64,6 +65,7 @@ public class TestFlowBuilder {
                 .destVlan(destVlan)
                 .bandwidth(bandwidth)
                 .ignoreBandwidth(ignoreBandwidth)
+                .priority(priority)
                 .encapsulationType(FlowEncapsulationType.TRANSIT_VLAN)
                 .build();
 
@@ -83,6 +83,15 @@ public class Message extends BaseMessage {
         return correlationId;
     }
 
+    /**
+     * Sets message correlation id.
+     *
+     * @param correlationId message correlation id
+     */
+    public void setCorrelationId(final String correlationId) {
+        this.correlationId = correlationId;
+    }
+
     /**
      * Returns message destination.
      *
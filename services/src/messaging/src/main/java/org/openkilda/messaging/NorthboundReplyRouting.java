@@ -0,0 +1,95 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging;
+
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Routes replies to the northbound instance that sent the request.
+ * <p/>
+ * The instance appends its id to the correlation id of the request, e.g. {@code "<correlation-id> : nb-reply=nb1"}.
+ * The responders keep the correlation id in the reply, so the reply is published to the reply topic of the instance
+ * {@code "<northbound-topic>.nb1"} instead of the shared northbound topic. Only the last segment of the correlation id
+ * is checked, the segments chained after the tag make the reply go to the shared topic.
+ */
+public final class NorthboundReplyRouting {
+    private static final String SEGMENT_SEPARATOR = " : ";
+    private static final String TAG_PREFIX = "nb-reply=";
+    private static final Pattern INSTANCE_ID_PATTERN = Pattern.compile("[a-zA-Z0-9_-]+");
+
+    /**
+     * Appends the id of the instance to the correlation id.
+     */
+    public static String tag(String correlationId, String instanceId) {
+        if (!isValidInstanceId(instanceId)) {
+            throw new IllegalArgumentException(String.format("Invalid northbound instance id \"%s\"", instanceId));
+        }
+        return correlationId + SEGMENT_SEPARATOR + TAG_PREFIX + instanceId;
+    }
+
+    /**
+     * Removes the tag of the instance from the correlation id.
+     */
+    public static String untag(String correlationId) {
+        if (!getInstanceId(correlationId).isPresent()) {
+            return correlationId;
+        }
+        int start = correlationId.lastIndexOf(SEGMENT_SEPARATOR);
+        return start < 0 ? "" : correlationId.substring(0, start);
+    }
+
+    /**
+     * Gets the id of the instance the correlation id is tagged with.
+     */
+    public static Optional<String> getInstanceId(String correlationId) {
+        if (correlationId == null) {
+            return Optional.empty();
+        }
+
+        int start = correlationId.lastIndexOf(SEGMENT_SEPARATOR);
+        String segment = start < 0 ? correlationId : correlationId.substring(start + SEGMENT_SEPARATOR.length());
+        if (!segment.startsWith(TAG_PREFIX)) {
+            return Optional.empty();
+        }
+        String instanceId = segment.substring(TAG_PREFIX.length());
+        return isValidInstanceId(instanceId) ? Optional.of(instanceId) : Optional.empty();
+    }
+
+    /**
+     * Gets the reply topic of the instance.
+     */
+    public static String getReplyTopic(String northboundTopic, String instanceId) {
+        return northboundTopic + "." + instanceId;
+    }
+
+    /**
+     * Gets the topic for the reply with the correlation id: the reply topic of the instance the correlation id is
+     * tagged with or the shared northbound topic.
+     */
+    public static String selectTopic(String northboundTopic, String correlationId) {
+        return getInstanceId(correlationId)
+                .map(instanceId -> getReplyTopic(northboundTopic, instanceId))
+                .orElse(northboundTopic);
+    }
+
+    public static boolean isValidInstanceId(String instanceId) {
+        return instanceId != null && INSTANCE_ID_PATTERN.matcher(instanceId).matches();
+    }
+
+    private NorthboundReplyRouting() {
+    }
+}
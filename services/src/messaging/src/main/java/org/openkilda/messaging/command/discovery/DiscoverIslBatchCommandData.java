@@ -0,0 +1,79 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.command.discovery;
+
+import org.openkilda.messaging.command.CommandData;
+import org.openkilda.model.SwitchId;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Defines the payload of a Message representing a command for ISL discovery via several ports of one switch.
+ */
+@Value
+@EqualsAndHashCode(callSuper = false)
+public class DiscoverIslBatchCommandData extends CommandData {
+    /**
+     * Serialization version number constant.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Switch id.
+     */
+    @JsonProperty("switch_id")
+    private SwitchId switchId;
+
+    /**
+     * Ports to send the discovery packets via.
+     */
+    @JsonProperty("ports")
+    private List<Port> ports;
+
+    @JsonCreator
+    public DiscoverIslBatchCommandData(@JsonProperty("switch_id") SwitchId switchId,
+                                       @JsonProperty("ports") List<Port> ports) {
+        this.switchId = switchId;
+        this.ports = ports;
+    }
+
+    /**
+     * The port to send the discovery packet via and the id of the packet.
+     */
+    @Value
+    public static class Port implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        @JsonProperty("port_number")
+        private int portNumber;
+
+        @JsonProperty("packet_id")
+        private long packetId;
+
+        @JsonCreator
+        public Port(@JsonProperty("port_number") int portNumber,
+                    @JsonProperty("packet_id") long packetId) {
+            this.portNumber = portNumber;
+            this.packetId = packetId;
+        }
+    }
+}
@@ -17,5 +17,7 @@ package org.openkilda.messaging.info.event;
 
 public enum NetworkTopologyChangeType {
     ENDPOINT_DROP,
-    ENDPOINT_ADD
+    ENDPOINT_ADD,
+    SWITCH_DROP,
+    SWITCH_ADD
 }
@@ -0,0 +1,62 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class NorthboundReplyRoutingTest {
+    private static final String TOPIC = "kilda.northbound.storm";
+
+    @Test
+    public void shouldSelectReplyTopicOfTaggedInstance() {
+        String correlationId = NorthboundReplyRouting.tag("uuid : client-id", "nb-1");
+
+        assertEquals("kilda.northbound.storm.nb-1", NorthboundReplyRouting.selectTopic(TOPIC, correlationId));
+    }
+
+    @Test
+    public void shouldSelectSharedTopicForNotTaggedCorrelationId() {
+        assertEquals(TOPIC, NorthboundReplyRouting.selectTopic(TOPIC, "uuid : client-id"));
+        assertEquals(TOPIC, NorthboundReplyRouting.selectTopic(TOPIC, null));
+    }
+
+    @Test
+    public void shouldCheckOnlyLastSegment() {
+        String correlationId = NorthboundReplyRouting.tag("uuid", "nb-1") + " : inner";
+
+        assertEquals(TOPIC, NorthboundReplyRouting.selectTopic(TOPIC, correlationId));
+    }
+
+    @Test
+    public void shouldIgnoreInvalidInstanceId() {
+        assertEquals(TOPIC, NorthboundReplyRouting.selectTopic(TOPIC, "uuid : nb-reply=../other"));
+        assertEquals(TOPIC, NorthboundReplyRouting.selectTopic(TOPIC, "uuid : nb-reply="));
+    }
+
+    @Test
+    public void shouldUntagCorrelationId() {
+        assertEquals("uuid : client-id",
+                NorthboundReplyRouting.untag(NorthboundReplyRouting.tag("uuid : client-id", "nb-1")));
+        assertEquals("uuid : client-id", NorthboundReplyRouting.untag("uuid : client-id"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotTagWithInvalidInstanceId() {
+        NorthboundReplyRouting.tag("uuid", "nb 1");
+    }
+}
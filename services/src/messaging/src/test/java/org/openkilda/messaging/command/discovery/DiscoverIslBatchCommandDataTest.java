@@ -0,0 +1,32 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.command.discovery;
+
+import org.openkilda.messaging.JsonSerializeAbstractTest;
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData.Port;
+import org.openkilda.model.SwitchId;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class DiscoverIslBatchCommandDataTest extends JsonSerializeAbstractTest {
+    @Test
+    public void serializeLoop() throws Exception {
+        commandSerializeLoop(new DiscoverIslBatchCommandData(new SwitchId("ff:fe:00:00:00:00:00:01"),
+                Arrays.asList(new Port(1, 10L), new Port(2, 11L))));
+    }
+}
@@ -52,6 +52,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
@@ -149,14 +150,15 @@ public class FlowController extends BaseController {
 
     /**
      * Dumps all flows. Dumps all flows with specific status if specified.
+     * The flows are streamed to the client as soon as they are received.
      *
      * @return list of flow
      */
     @ApiOperation(value = "Dumps all flows", response = FlowPayload.class, responseContainer = "List")
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
-    public CompletableFuture<List<FlowPayload>> getFlows() {
-        return flowService.getAllFlows();
+    public CompletableFuture<ResponseBodyEmitter> getFlows() {
+        return flowService.streamAllFlows();
     }
 
     /**
@@ -43,6 +43,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -59,19 +60,19 @@ public class LinkController extends BaseController {
     private LinkService linkService;
 
     /**
-     * Get all available links.
+     * Get all available links. The links are streamed to the client as soon as they are received.
      *
      * @return list of links.
      */
     @ApiOperation(value = "Get all links, based on arguments.", response = LinkDto.class, responseContainer = "List")
     @GetMapping(path = "/links")
     @ResponseStatus(HttpStatus.OK)
-    public CompletableFuture<List<LinkDto>> getLinks(
+    public CompletableFuture<ResponseBodyEmitter> getLinks(
             @RequestParam(value = "src_switch", required = false) SwitchId srcSwitch,
             @RequestParam(value = "src_port", required = false) Integer srcPort,
             @RequestParam(value = "dst_switch", required = false) SwitchId dstSwitch,
             @RequestParam(value = "dst_port", required = false) Integer dstPort) {
-        return linkService.getLinks(srcSwitch, srcPort, dstSwitch, dstPort);
+        return linkService.streamLinks(srcSwitch, srcPort, dstSwitch, dstPort);
     }
 
     /**
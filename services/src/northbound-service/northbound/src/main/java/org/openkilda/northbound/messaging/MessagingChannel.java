@@ -20,6 +20,7 @@ import org.openkilda.messaging.info.InfoData;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * The main component for sending messages to internal kilda components. All sent operations will be performed
@@ -49,6 +50,22 @@ public interface MessagingChannel {
      */
     CompletableFuture<List<InfoData>> sendAndGetChunked(String topic, Message message);
 
+    /**
+     * Sends the message to the specified topic and passes each chunked response for this request to the consumer
+     * as soon as it is received, instead of collecting them into the list. Chunks of one request are passed to
+     * the consumer one at a time. If the consumer throws an exception, the request is completed with it.
+     *
+     * @param topic topic where the message should be sent.
+     * @param message data to be sent.
+     * @param chunkConsumer consumer of the received chunks.
+     * @return future that is completed after the last chunk is consumed.
+     */
+    default CompletableFuture<Void> sendAndStreamChunked(String topic, Message message,
+                                                         Consumer<InfoData> chunkConsumer) {
+        return sendAndGetChunked(topic, message)
+                .thenAccept(response -> response.forEach(chunkConsumer));
+    }
+
     /**
      * Sends the message to the specified topic without waiting for a response.
      *
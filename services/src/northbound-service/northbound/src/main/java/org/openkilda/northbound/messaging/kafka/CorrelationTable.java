@@ -0,0 +1,250 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.northbound.messaging.kafka;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Table of requests waiting for their responses, keyed by correlation id.
+ * <p/>
+ * The table is split into independently locked stripes, so concurrent responses for different requests do not
+ * contend on a single lock. Every entry is registered in a hashed timer wheel and is passed to the expiration handler
+ * if it is still in the table once its timeout is over. Removing an entry from the table cancels its wheel handle,
+ * so the entry is released immediately and the empty handle is dropped on the next visit of its bucket.
+ *
+ * @param <E> type of table entries.
+ */
+final class CorrelationTable<E> {
+    private static final Logger logger = LoggerFactory.getLogger(CorrelationTable.class);
+
+    private static final int STRIPES_COUNT = 64;
+    private static final int WHEEL_SIZE = 512;
+
+    private final Stripe<E>[] stripes;
+    private final Queue<Timeout<E>>[] wheel;
+    private final long timeoutTicks;
+    private final BiConsumer<String, E> expirationHandler;
+
+    /**
+     * The current tick of the wheel, it is advanced by a single thread only.
+     */
+    private volatile long tick;
+
+    private ScheduledExecutorService timer;
+
+    @SuppressWarnings("unchecked")
+    CorrelationTable(long timeoutTicks, BiConsumer<String, E> expirationHandler) {
+        if (timeoutTicks <= 0) {
+            throw new IllegalArgumentException("Timeout must be positive");
+        }
+        this.timeoutTicks = timeoutTicks;
+        this.expirationHandler = expirationHandler;
+
+        stripes = new Stripe[STRIPES_COUNT];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe<>();
+        }
+        wheel = new Queue[WHEEL_SIZE];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+    }
+
+    /**
+     * Starts a timer thread that advances the wheel every tick.
+     */
+    synchronized void start(long tickDuration, TimeUnit unit) {
+        if (timer != null) {
+            throw new IllegalStateException("Correlation table timer is already started");
+        }
+        timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "nb-correlation-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.scheduleAtFixedRate(this::advance, tickDuration, tickDuration, unit);
+    }
+
+    /**
+     * Stops the timer thread, entries left in the table never expire after that.
+     */
+    synchronized void stop() {
+        if (timer != null) {
+            timer.shutdownNow();
+            timer = null;
+        }
+    }
+
+    /**
+     * Adds the entry to the table and schedules its expiration. An entry already registered with the same key
+     * is replaced.
+     */
+    void put(String key, E entry) {
+        Timeout<E> timeout = new Timeout<>(key, entry, tick + timeoutTicks);
+        Slot<E> replaced;
+        Stripe<E> stripe = stripeOf(key);
+        synchronized (stripe) {
+            replaced = stripe.slots.put(key, new Slot<>(entry, timeout));
+        }
+        if (replaced != null) {
+            replaced.timeout.cancel();
+        }
+        wheel[(int) (timeout.deadline % WHEEL_SIZE)].add(timeout);
+    }
+
+    /**
+     * Returns the entry registered with the key or null.
+     */
+    E get(String key) {
+        Stripe<E> stripe = stripeOf(key);
+        synchronized (stripe) {
+            Slot<E> slot = stripe.slots.get(key);
+            return slot != null ? slot.entry : null;
+        }
+    }
+
+    /**
+     * Removes the entry registered with the key.
+     *
+     * @return the removed entry or null if there is no entry for the key.
+     */
+    E remove(String key) {
+        Slot<E> slot;
+        Stripe<E> stripe = stripeOf(key);
+        synchronized (stripe) {
+            slot = stripe.slots.remove(key);
+        }
+        if (slot == null) {
+            return null;
+        }
+        slot.timeout.cancel();
+        return slot.entry;
+    }
+
+    /**
+     * Removes the entry registered with the key only if it is the given one.
+     *
+     * @return true if the entry has been removed.
+     */
+    boolean remove(String key, E entry) {
+        Slot<E> slot;
+        Stripe<E> stripe = stripeOf(key);
+        synchronized (stripe) {
+            slot = stripe.slots.get(key);
+            if (slot == null || slot.entry != entry) {
+                return false;
+            }
+            stripe.slots.remove(key);
+        }
+        slot.timeout.cancel();
+        return true;
+    }
+
+    /**
+     * Returns a copy of the table content.
+     */
+    Map<String, E> snapshot() {
+        Map<String, E> result = new HashMap<>();
+        for (Stripe<E> stripe : stripes) {
+            synchronized (stripe) {
+                stripe.slots.forEach((key, slot) -> result.put(key, slot.entry));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Moves the wheel one tick forward and expires entries whose deadline is reached.
+     */
+    void advance() {
+        long current = tick;
+        Queue<Timeout<E>> bucket = wheel[(int) (current % WHEEL_SIZE)];
+
+        List<Timeout<E>> due = new ArrayList<>();
+        for (Timeout<E> timeout = bucket.poll(); timeout != null; timeout = bucket.poll()) {
+            if (timeout.entry == null) {
+                continue;
+            }
+            if (timeout.deadline > current) {
+                due.add(timeout);
+            } else {
+                expire(timeout);
+            }
+        }
+        bucket.addAll(due);
+
+        tick = current + 1;
+    }
+
+    private void expire(Timeout<E> timeout) {
+        E entry = timeout.entry;
+        if (entry != null && remove(timeout.key, entry)) {
+            try {
+                expirationHandler.accept(timeout.key, entry);
+            } catch (Exception e) {
+                logger.error("Failed to expire request {}", timeout.key, e);
+            }
+        }
+    }
+
+    private Stripe<E> stripeOf(String key) {
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        return stripes[hash & (STRIPES_COUNT - 1)];
+    }
+
+    private static final class Stripe<E> {
+        private final Map<String, Slot<E>> slots = new HashMap<>();
+    }
+
+    private static final class Slot<E> {
+        private final E entry;
+        private final Timeout<E> timeout;
+
+        Slot(E entry, Timeout<E> timeout) {
+            this.entry = entry;
+            this.timeout = timeout;
+        }
+    }
+
+    private static final class Timeout<E> {
+        private final String key;
+        private final long deadline;
+        private volatile E entry;
+
+        Timeout(String key, E entry, long deadline) {
+            this.key = key;
+            this.entry = entry;
+            this.deadline = deadline;
+        }
+
+        void cancel() {
+            entry = null;
+        }
+    }
+}
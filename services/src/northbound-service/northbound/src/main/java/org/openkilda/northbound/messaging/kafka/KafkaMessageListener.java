@@ -28,9 +28,12 @@ import org.springframework.kafka.annotation.KafkaHandler;
 import org.springframework.kafka.annotation.KafkaListener;
 
 /**
- * Kafka message receiver.
+ * Kafka message receiver. Consumes the shared northbound topic and the reply topic of this instance.
  */
-@KafkaListener(id = "northbound-listener", topics = "#{kafkaTopicsConfig.getNorthboundTopic()}")
+@KafkaListener(id = "northbound-listener", topics = {
+        "#{kafkaTopicsConfig.getNorthboundTopic()}",
+        "#{T(org.openkilda.messaging.NorthboundReplyRouting).getReplyTopic("
+                + "kafkaTopicsConfig.getNorthboundTopic(), kafkaMessagingChannel.getReplyInstanceId())}"})
 public class KafkaMessageListener {
 
     private static final Logger logger = LoggerFactory.getLogger(KafkaMessageListener.class);
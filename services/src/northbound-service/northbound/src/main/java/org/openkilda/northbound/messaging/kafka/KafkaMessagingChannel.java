@@ -16,8 +16,10 @@
 package org.openkilda.northbound.messaging.kafka;
 
 import org.openkilda.messaging.Message;
+import org.openkilda.messaging.NorthboundReplyRouting;
 import org.openkilda.messaging.error.ClientErrorMessage;
 import org.openkilda.messaging.error.ErrorMessage;
+import org.openkilda.messaging.error.ErrorType;
 import org.openkilda.messaging.error.MessageException;
 import org.openkilda.messaging.info.ChunkedInfoMessage;
 import org.openkilda.messaging.info.InfoData;
@@ -27,7 +29,6 @@ import org.openkilda.northbound.messaging.MessagingChannel;
 import org.openkilda.northbound.messaging.exception.MessageNotSentException;
 
 import com.google.common.annotations.VisibleForTesting;
-import org.apache.commons.collections4.map.PassiveExpiringMap;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,6 +38,8 @@ import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 import org.springframework.util.concurrent.ListenableFuture;
 
+import java.net.InetAddress;
+import java.net.UnknownHostException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -44,13 +47,21 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 /**
  * Implementation of {@link MessagingChannel} for kafka.
+ * <p/>
+ * Pending requests are kept in a lock striped {@link CorrelationTable}, so responses for different requests are
+ * processed without a global lock, and requests that got no response are expired by the table timer.
+ * Chunked responses are passed to the request consumer one by one as soon as they are received.
+ * <p/>
+ * The correlation id of each request is tagged with the id of this instance, so the responders publish the replies
+ * into the reply topic of the instance, see {@link NorthboundReplyRouting}. Pending requests are kept by the not
+ * tagged correlation id.
  */
 @Component
 public class KafkaMessagingChannel implements MessagingChannel {
@@ -60,33 +71,48 @@ public class KafkaMessagingChannel implements MessagingChannel {
     /**
      * Requests that are in progress of processing.
      */
-    private final Map<String, CompletableFuture<InfoData>> pendingRequests = new ConcurrentHashMap<>();
-    private final Map<String, CompletableFuture<List<InfoData>>> pendingChunkedRequests = new ConcurrentHashMap<>();
+    private CorrelationTable<PendingRequest> pendingRequests;
 
-    /**
-     * Chains of chunked messages, it is filling by messages one by one as soon as the next linked message is received.
-     */
-    private Map<String, List<ChunkedInfoMessage>> messagesChains;
+    @Value("${northbound.messages.expiration.minutes}")
+    private int expiredTime;
 
     /**
-     * The storage for received chunked message ids. It is needed to identify whether we have already received specific
-     * chunked message or not in order to do not have duplicates, because current version of kafka do not guarantee
-     * exactly once delivery.
+     * Id of this instance in the name of its reply topic, the host name is used if not set.
      */
-    private Map<String, Set<String>> chunkedMessageIdsPerRequest = new ConcurrentHashMap<>();
-
-    @Value("${northbound.messages.expiration.minutes}")
-    private int expiredTime;
+    @Value("${northbound.kafka.reply.instance:}")
+    private String replyInstanceId;
 
     @Autowired
     private MessageProducer messageProducer;
 
     /**
-     * Creates storage for chains of messages.
+     * Creates the storage of pending requests.
      */
     @PostConstruct
     public void setUp() {
-        messagesChains = new PassiveExpiringMap<>(expiredTime, TimeUnit.MINUTES, new ConcurrentHashMap<>());
+        if (StringUtils.isBlank(replyInstanceId)) {
+            replyInstanceId = getHostName().replaceAll("[^a-zA-Z0-9_-]", "-");
+        }
+        if (!NorthboundReplyRouting.isValidInstanceId(replyInstanceId)) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid northbound reply instance id \"%s\"", replyInstanceId));
+        }
+        logger.info("Replies are consumed from the reply topic of the instance {}", replyInstanceId);
+
+        pendingRequests = new CorrelationTable<>(TimeUnit.MINUTES.toSeconds(expiredTime), this::onExpired);
+        pendingRequests.start(1, TimeUnit.SECONDS);
+    }
+
+    public String getReplyInstanceId() {
+        return replyInstanceId;
+    }
+
+    /**
+     * Stops expiration of pending requests.
+     */
+    @PreDestroy
+    public void tearDown() {
+        pendingRequests.stop();
     }
 
     /**
@@ -94,16 +120,8 @@ public class KafkaMessagingChannel implements MessagingChannel {
      */
     @Override
     public CompletableFuture<InfoData> sendAndGet(String topic, Message message) {
-        CompletableFuture<InfoData> future = new CompletableFuture<>();
-        pendingRequests.put(message.getCorrelationId(), future);
-
-        ListenableFuture<SendResult<String, Message>> futureResult = messageProducer.send(topic, message);
-        futureResult.addCallback(
-                success -> { },
-                error -> future.completeExceptionally(new MessageNotSentException(error.getMessage()))
-        );
-
-        return future.whenComplete((response, error) -> pendingRequests.remove(message.getCorrelationId()));
+        SingleResponseRequest request = new SingleResponseRequest();
+        return register(topic, message, request).thenApply(done -> request.getResponse());
     }
 
     /**
@@ -111,24 +129,17 @@ public class KafkaMessagingChannel implements MessagingChannel {
      */
     @Override
     public CompletableFuture<List<InfoData>> sendAndGetChunked(String topic, Message message) {
-        CompletableFuture<List<InfoData>> future = new CompletableFuture<>();
-        pendingChunkedRequests.put(message.getCorrelationId(), future);
-
-        messagesChains.put(message.getCorrelationId(), new ArrayList<>());
-        chunkedMessageIdsPerRequest.put(message.getCorrelationId(), new HashSet<>());
-
-        ListenableFuture<SendResult<String, Message>> futureResult = messageProducer.send(topic, message);
-        futureResult.addCallback(
-                sentResult -> { },
-                error -> future.completeExceptionally(new MessageNotSentException(error.getMessage()))
-        );
-
-        return future.whenComplete((response, error) -> {
-            pendingChunkedRequests.remove(message.getCorrelationId());
+        List<InfoData> response = new ArrayList<>();
+        return sendAndStreamChunked(topic, message, response::add).thenApply(done -> response);
+    }
 
-            messagesChains.remove(message.getCorrelationId());
-            chunkedMessageIdsPerRequest.remove(message.getCorrelationId());
-        });
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> sendAndStreamChunked(String topic, Message message,
+                                                        Consumer<InfoData> chunkConsumer) {
+        return register(topic, message, new ChunkedResponseRequest(chunkConsumer));
     }
 
     /**
@@ -139,11 +150,25 @@ public class KafkaMessagingChannel implements MessagingChannel {
         messageProducer.send(topic, message);
     }
 
+    private CompletableFuture<Void> register(String topic, Message message, PendingRequest request) {
+        String correlationId = NorthboundReplyRouting.untag(message.getCorrelationId());
+        pendingRequests.put(correlationId, request);
+        message.setCorrelationId(NorthboundReplyRouting.tag(correlationId, replyInstanceId));
+
+        ListenableFuture<SendResult<String, Message>> futureResult = messageProducer.send(topic, message);
+        futureResult.addCallback(
+                sentResult -> { },
+                error -> request.completeExceptionally(new MessageNotSentException(error.getMessage()))
+        );
+
+        return request.getFuture().whenComplete((response, error) -> pendingRequests.remove(correlationId, request));
+    }
+
     /**
      * Processes messages that come back to NB topics, usually messages come as a response to some request.
      * If this response is for pended request then such request will be marked as completed.
-     * Messages might be chunked and not chunked. If chunked we need to wait until we receive the last one
-     * and only then collect all responses and complete the request.
+     * Messages might be chunked and not chunked. If chunked, each of them is passed to the request consumer and
+     * the request is completed once the last one is received.
      *
      * @param message received message.
      */
@@ -165,70 +190,30 @@ public class KafkaMessagingChannel implements MessagingChannel {
 
             completeWithError(error);
         } else if (message instanceof InfoMessage) {
-            if (isChunkedPendingResponse(message)) {
-                processChunkedMessage((ChunkedInfoMessage) message);
-            } else if (pendingRequests.containsKey(message.getCorrelationId())) {
-                InfoMessage infoMessage = (InfoMessage) message;
-                CompletableFuture<InfoData> request = pendingRequests.remove(message.getCorrelationId());
-                if (request != null) {
-                    request.complete(infoMessage.getData());
-                }
-            } else {
+            PendingRequest request = pendingRequests.get(NorthboundReplyRouting.untag(message.getCorrelationId()));
+            if (request == null || !request.handle((InfoMessage) message)) {
                 logger.trace("Received non-pending message");
             }
         }
     }
 
     /**
-     * Performs searching and collecting all chunked messages into one chain if possible.
+     * Completes a request with an error response.
      */
-    private synchronized void processChunkedMessage(ChunkedInfoMessage received) {
-        String requestId = received.getCorrelationId();
-        Set<String> associatedMessages = chunkedMessageIdsPerRequest.get(requestId);
-        if (!associatedMessages.add(received.getMessageId())) {
-            logger.debug("Skipping chunked message, it is already received: {}", received);
-            return;
-        }
-
-        List<ChunkedInfoMessage> chain = messagesChains.get(requestId);
-        if (received.getTotalMessages() != 0) {
-            chain.add(received);
-        }
-
-        if (chain.size() == received.getTotalMessages()) {
-            completeRequest(requestId, chain);
+    private void completeWithError(ErrorMessage error) {
+        PendingRequest request = pendingRequests.remove(NorthboundReplyRouting.untag(error.getCorrelationId()));
+        if (request != null) {
+            request.completeExceptionally(new MessageException(error));
         }
     }
 
     /**
-     * Completes pending request with received responses.
+     * Completes a request that got no response in time.
      */
-    private void completeRequest(String requestId, List<ChunkedInfoMessage> chain) {
-        List<InfoData> response = chain.stream()
-                .map(ChunkedInfoMessage::getData)
-                .collect(Collectors.toList());
-
-        pendingChunkedRequests
-                .get(requestId)
-                .complete(response);
-    }
-
-    /**
-     * Completes a request with an error response.
-     */
-    private synchronized void completeWithError(ErrorMessage error) {
-        String correlationId = error.getCorrelationId();
-
-        CompletableFuture request = null;
-        if (pendingRequests.containsKey(correlationId)) {
-            request = pendingRequests.remove(correlationId);
-        } else if (pendingChunkedRequests.containsKey(correlationId)) {
-            request = pendingChunkedRequests.remove(correlationId);
-        }
-
-        if (request != null) {
-            request.completeExceptionally(new MessageException(error));
-        }
+    private void onExpired(String correlationId, PendingRequest request) {
+        logger.warn("No response received for request {} in {} minutes", correlationId, expiredTime);
+        request.completeExceptionally(new MessageException(correlationId, System.currentTimeMillis(),
+                ErrorType.OPERATION_TIMED_OUT, "No response received", "Timeout exceeded"));
     }
 
     /**
@@ -248,17 +233,128 @@ public class KafkaMessagingChannel implements MessagingChannel {
         return true;
     }
 
-    private boolean isChunkedPendingResponse(Message message) {
-        return message instanceof ChunkedInfoMessage && pendingChunkedRequests.containsKey(message.getCorrelationId());
+    private static String getHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException("Unable to resolve the host name for the reply instance id", e);
+        }
     }
 
     @VisibleForTesting
-    Map<String, CompletableFuture<InfoData>> getPendingRequests() {
-        return new HashMap<>(pendingRequests);
+    Map<String, CompletableFuture<?>> getPendingRequests() {
+        return getPending(SingleResponseRequest.class);
     }
 
     @VisibleForTesting
-    Map<String, CompletableFuture<List<InfoData>>> getPendingChunkedRequests() {
-        return new HashMap<>(pendingChunkedRequests);
+    Map<String, CompletableFuture<?>> getPendingChunkedRequests() {
+        return getPending(ChunkedResponseRequest.class);
+    }
+
+    private Map<String, CompletableFuture<?>> getPending(Class<? extends PendingRequest> requestType) {
+        Map<String, CompletableFuture<?>> result = new HashMap<>();
+        pendingRequests.snapshot().forEach((correlationId, request) -> {
+            if (requestType.isInstance(request)) {
+                result.put(correlationId, request.getFuture());
+            }
+        });
+        return result;
+    }
+
+    /**
+     * A request waiting for its response(s).
+     */
+    private abstract static class PendingRequest {
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        CompletableFuture<Void> getFuture() {
+            return future;
+        }
+
+        void complete() {
+            future.complete(null);
+        }
+
+        void completeExceptionally(Throwable error) {
+            future.completeExceptionally(error);
+        }
+
+        /**
+         * Handles a response for the request.
+         *
+         * @return false if the response can't be accepted by the request.
+         */
+        abstract boolean handle(InfoMessage response);
+    }
+
+    /**
+     * A request completed by the first received response.
+     */
+    private static class SingleResponseRequest extends PendingRequest {
+        private volatile InfoData response;
+
+        @Override
+        boolean handle(InfoMessage message) {
+            response = message.getData();
+            complete();
+            return true;
+        }
+
+        InfoData getResponse() {
+            return response;
+        }
+    }
+
+    /**
+     * A request completed once all its chunked responses are received. The chunks are passed to the consumer
+     * in the order they are received, one at a time.
+     */
+    private static class ChunkedResponseRequest extends PendingRequest {
+        private final Consumer<InfoData> chunkConsumer;
+
+        /**
+         * The storage for received chunked message ids. It is needed to identify whether we have already received
+         * specific chunked message or not in order to do not have duplicates, because current version of kafka do
+         * not guarantee exactly once delivery.
+         */
+        private final Set<String> receivedMessageIds = new HashSet<>();
+        private int receivedCount;
+
+        ChunkedResponseRequest(Consumer<InfoData> chunkConsumer) {
+            this.chunkConsumer = chunkConsumer;
+        }
+
+        @Override
+        boolean handle(InfoMessage message) {
+            if (!(message instanceof ChunkedInfoMessage)) {
+                return false;
+            }
+            handleChunk((ChunkedInfoMessage) message);
+            return true;
+        }
+
+        private synchronized void handleChunk(ChunkedInfoMessage chunk) {
+            if (getFuture().isDone()) {
+                return;
+            }
+            if (!receivedMessageIds.add(chunk.getMessageId())) {
+                logger.debug("Skipping chunked message, it is already received: {}", chunk);
+                return;
+            }
+
+            if (chunk.getTotalMessages() != 0) {
+                receivedCount++;
+                try {
+                    chunkConsumer.accept(chunk.getData());
+                } catch (Exception e) {
+                    completeExceptionally(e);
+                    return;
+                }
+            }
+
+            if (receivedCount == chunk.getTotalMessages()) {
+                complete();
+            }
+        }
     }
 }
@@ -30,6 +30,8 @@ import org.openkilda.northbound.dto.v1.flows.FlowValidationDto;
 import org.openkilda.northbound.dto.v1.flows.PingInput;
 import org.openkilda.northbound.dto.v1.flows.PingOutput;
 
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
@@ -85,6 +87,13 @@ public interface FlowService {
      */
     CompletableFuture<List<FlowPayload>> getAllFlows();
 
+    /**
+     * Gets all the flows as a JSON array that is streamed to the client while the flows are being received.
+     *
+     * @return the emitter of the array, available once the first flow is received.
+     */
+    CompletableFuture<ResponseBodyEmitter> streamAllFlows();
+
     /**
      * Deletes all flows. Primarily this is a combination of getAllFlows and deleteFlow.
      * This should be called with care ..
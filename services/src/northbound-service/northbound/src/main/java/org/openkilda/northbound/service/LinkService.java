@@ -26,6 +26,8 @@ import org.openkilda.northbound.dto.v1.links.LinkParametersDto;
 import org.openkilda.northbound.dto.v1.links.LinkPropsDto;
 import org.openkilda.northbound.dto.v1.links.LinkUnderMaintenanceDto;
 
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
@@ -37,6 +39,13 @@ public interface LinkService {
     CompletableFuture<List<LinkDto>> getLinks(SwitchId srcSwitch, Integer srcPort,
                                               SwitchId dstSwitch, Integer dstPort);
 
+    /**
+     * Returns all links at the controller as a JSON array that is streamed to the client while the links are being
+     * received.
+     */
+    CompletableFuture<ResponseBodyEmitter> streamLinks(SwitchId srcSwitch, Integer srcPort,
+                                                       SwitchId dstSwitch, Integer dstPort);
+
     /**
      * These results are not related to the ISL links per se .. they are based on any link
      * properties that have been uploaded through setLinkProps.
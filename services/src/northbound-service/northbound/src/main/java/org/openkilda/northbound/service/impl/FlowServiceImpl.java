@@ -19,6 +19,7 @@ import static org.openkilda.messaging.Utils.FLOW_ID;
 import static org.openkilda.northbound.utils.async.AsyncUtils.collectResponses;
 
 import org.openkilda.config.provider.ConfigurationProvider;
+import org.openkilda.config.provider.PropertiesBasedConfigurationProvider;
 import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.command.CommandMessage;
 import org.openkilda.messaging.command.flow.FlowCreateRequest;
@@ -85,7 +86,9 @@ import org.openkilda.northbound.service.FlowService;
 import org.openkilda.northbound.service.SwitchService;
 import org.openkilda.northbound.utils.CorrelationIdFactory;
 import org.openkilda.northbound.utils.RequestCorrelationId;
+import org.openkilda.northbound.utils.async.JsonStreamingEmitter;
 import org.openkilda.persistence.Neo4jConfig;
+import org.openkilda.persistence.Neo4jLockingConfig;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.repositories.FlowRepository;
 import org.openkilda.persistence.repositories.TransitVlanRepository;
@@ -97,6 +100,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
 import java.nio.file.InvalidPathException;
 import java.util.ArrayList;
@@ -212,6 +216,9 @@ public class FlowServiceImpl implements FlowService {
                                     return "none";
                                 }
                             };
+                        } else if (configurationType.equals(Neo4jLockingConfig.class)) {
+                            // the default, pessimistic locking
+                            return new PropertiesBasedConfigurationProvider().getConfiguration(configurationType);
                         } else {
                             throw new UnsupportedOperationException("Unsupported configurationType "
                                     + configurationType);
@@ -304,6 +311,23 @@ public class FlowServiceImpl implements FlowService {
                         .collect(Collectors.toList()));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<ResponseBodyEmitter> streamAllFlows() {
+        final String correlationId = RequestCorrelationId.getId();
+        logger.debug("Stream flows request processing");
+        FlowsDumpRequest data = new FlowsDumpRequest();
+        CommandMessage request = new CommandMessage(data, System.currentTimeMillis(), correlationId, Destination.WFM);
+
+        return JsonStreamingEmitter.streamArray(consumer -> messagingChannel.sendAndStreamChunked(topic, request,
+                chunk -> {
+                    FlowReadResponse response = (FlowReadResponse) chunk;
+                    consumer.accept(flowMapper.toFlowOutput(response.getPayload().getForward()));
+                }));
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -994,5 +1018,4 @@ public class FlowServiceImpl implements FlowService {
                 .thenApply(FlowHistoryData.class::cast)
                 .thenApply(FlowHistoryData::getPayload);
     }
-
 }
@@ -57,6 +57,7 @@ import org.openkilda.northbound.messaging.MessagingChannel;
 import org.openkilda.northbound.service.LinkService;
 import org.openkilda.northbound.utils.CorrelationIdFactory;
 import org.openkilda.northbound.utils.RequestCorrelationId;
+import org.openkilda.northbound.utils.async.JsonStreamingEmitter;
 
 import com.google.common.collect.ImmutableMap;
 import org.slf4j.Logger;
@@ -64,6 +65,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -100,9 +102,30 @@ public class LinkServiceImpl implements LinkService {
     @Override
     public CompletableFuture<List<LinkDto>> getLinks(SwitchId srcSwitch, Integer srcPort,
                                                      SwitchId dstSwitch, Integer dstPort) {
-        final String correlationId = RequestCorrelationId.getId();
         logger.debug("Get links request received");
-        GetLinksRequest request = null;
+        CommandMessage message = buildGetLinksRequest(srcSwitch, srcPort, dstSwitch, dstPort);
+
+        return messagingChannel.sendAndGetChunked(nbworkerTopic, message)
+                .thenApply(response -> response.stream()
+                        .map(IslInfoData.class::cast)
+                        .map(linkMapper::toLinkDto)
+                        .collect(Collectors.toList()));
+    }
+
+    @Override
+    public CompletableFuture<ResponseBodyEmitter> streamLinks(SwitchId srcSwitch, Integer srcPort,
+                                                              SwitchId dstSwitch, Integer dstPort) {
+        logger.debug("Stream links request received");
+        CommandMessage message = buildGetLinksRequest(srcSwitch, srcPort, dstSwitch, dstPort);
+
+        return JsonStreamingEmitter.streamArray(consumer -> messagingChannel.sendAndStreamChunked(nbworkerTopic,
+                message, chunk -> consumer.accept(linkMapper.toLinkDto((IslInfoData) chunk))));
+    }
+
+    private CommandMessage buildGetLinksRequest(SwitchId srcSwitch, Integer srcPort,
+                                                SwitchId dstSwitch, Integer dstPort) {
+        final String correlationId = RequestCorrelationId.getId();
+        GetLinksRequest request;
         try {
             request = new GetLinksRequest(new NetworkEndpointMask(srcSwitch, srcPort),
                     new NetworkEndpointMask(dstSwitch, dstPort));
@@ -111,13 +134,7 @@ public class LinkServiceImpl implements LinkService {
             throw new MessageException(correlationId, System.currentTimeMillis(), ErrorType.DATA_INVALID,
                     e.getMessage(), "Can not parse arguments when create 'get links' request");
         }
-        CommandMessage message = new CommandMessage(request, System.currentTimeMillis(), correlationId);
-
-        return messagingChannel.sendAndGetChunked(nbworkerTopic, message)
-                .thenApply(response -> response.stream()
-                        .map(IslInfoData.class::cast)
-                        .map(linkMapper::toLinkDto)
-                        .collect(Collectors.toList()));
+        return new CommandMessage(request, System.currentTimeMillis(), correlationId);
     }
 
     @Override
@@ -0,0 +1,145 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.northbound.utils.async;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * {@link ResponseBodyEmitter} that writes a single JSON document to the HTTP response piece by piece.
+ * <p/>
+ * The document is written with the {@link JsonGenerator}, everything written since the previous {@link #flush()}
+ * is sent to the client on the next flush. The emitter is supposed to be returned as a result of
+ * {@link #bind(CompletableFuture, StreamFinisher)} so the response status is committed only after the first
+ * piece of the document is ready: errors received before that are reported as usual error responses.
+ */
+public class JsonStreamingEmitter extends ResponseBodyEmitter {
+    private static final ObjectMapper MAPPER = Jackson2ObjectMapperBuilder.json().build();
+
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private final JsonGenerator generator;
+    private final CompletableFuture<ResponseBodyEmitter> started = new CompletableFuture<>();
+
+    public JsonStreamingEmitter() {
+        try {
+            generator = MAPPER.getFactory().createGenerator(buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Streams the elements passed by the source to the consumer as a JSON array, each element is sent to the client
+     * as soon as it is passed. Only the element being written is kept in memory.
+     *
+     * @param source starts producing the elements into the given consumer and returns the future that completes
+     *     after the last one.
+     * @return future that is completed by the emitter after the first element is sent, or by the error of the source
+     *     if nothing has been sent yet.
+     */
+    public static CompletableFuture<ResponseBodyEmitter> streamArray(
+            Function<Consumer<Object>, CompletableFuture<?>> source) {
+        JsonStreamingEmitter emitter = new JsonStreamingEmitter();
+        JsonGenerator generator = emitter.getGenerator();
+        CompletableFuture<?> elements;
+        try {
+            generator.writeStartArray();
+            elements = source.apply(element -> {
+                try {
+                    generator.writeObject(element);
+                    emitter.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return emitter.bind(elements, generator::writeEndArray);
+    }
+
+    public JsonGenerator getGenerator() {
+        return generator;
+    }
+
+    /**
+     * Sends everything written to the generator since the previous flush.
+     */
+    public void flush() throws IOException {
+        generator.flush();
+        if (buffer.size() == 0) {
+            return;
+        }
+        byte[] piece = buffer.toByteArray();
+        buffer.reset();
+        send(piece, MediaType.APPLICATION_JSON_UTF8);
+        started.complete(this);
+    }
+
+    /**
+     * Binds the emitter to the source of the document pieces: the document is finished once the source completes
+     * normally, or the response is completed with the error of the source.
+     *
+     * @param source completes after the last piece is written to the generator.
+     * @param finisher writes the end of the document.
+     * @return future that is completed by the emitter after the first piece of the document is sent, or by
+     *     the error of the source if nothing has been sent yet.
+     */
+    public CompletableFuture<ResponseBodyEmitter> bind(CompletableFuture<?> source, StreamFinisher finisher) {
+        source.whenComplete((result, error) -> {
+            if (error == null) {
+                try {
+                    finisher.finish();
+                    flush();
+                    started.complete(this);
+                    complete();
+                    return;
+                } catch (Exception e) {
+                    error = e;
+                }
+            }
+            if (!started.completeExceptionally(error)) {
+                completeWithError(error);
+            }
+        });
+        return started;
+    }
+
+    @Override
+    protected void extendResponse(ServerHttpResponse outputMessage) {
+        outputMessage.getHeaders().setContentType(MediaType.APPLICATION_JSON_UTF8);
+    }
+
+    /**
+     * Writes the end of the streamed document.
+     */
+    @FunctionalInterface
+    public interface StreamFinisher {
+        void finish() throws IOException;
+    }
+}
@@ -17,6 +17,7 @@ package org.openkilda.northbound.controller.v1;
 
 import static java.util.Collections.singletonList;
 import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.openkilda.messaging.Utils.DEFAULT_CORRELATION_ID;
 import static org.openkilda.messaging.error.ErrorType.OPERATION_TIMED_OUT;
 
 import org.openkilda.messaging.Destination;
@@ -34,7 +35,10 @@ import org.openkilda.messaging.error.ErrorMessage;
 import org.openkilda.messaging.error.ErrorType;
 import org.openkilda.messaging.error.MessageException;
 import org.openkilda.messaging.info.InfoData;
+import org.openkilda.messaging.info.event.IslChangeType;
+import org.openkilda.messaging.info.event.IslInfoData;
 import org.openkilda.messaging.info.event.PathInfoData;
+import org.openkilda.messaging.info.event.PathNode;
 import org.openkilda.messaging.info.flow.FlowReadResponse;
 import org.openkilda.messaging.info.flow.FlowResponse;
 import org.openkilda.messaging.info.switches.SwitchRulesResponse;
@@ -42,6 +46,7 @@ import org.openkilda.messaging.model.BidirectionalFlowDto;
 import org.openkilda.messaging.model.FlowDto;
 import org.openkilda.messaging.model.FlowPathDto;
 import org.openkilda.messaging.nbtopology.request.GetFlowPathRequest;
+import org.openkilda.messaging.nbtopology.request.GetLinksRequest;
 import org.openkilda.messaging.nbtopology.response.GetFlowPathResponse;
 import org.openkilda.messaging.payload.flow.FlowEndpointPayload;
 import org.openkilda.messaging.payload.flow.FlowIdStatusPayload;
@@ -59,6 +64,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 /**
  * Spring component which mocks WorkFlow Manager. This instance listens kafka ingoing requests and sends back
@@ -106,6 +112,12 @@ public class TestMessageMock implements MessagingChannel {
                     .build());
     private static final SwitchRulesResponse switchRulesResponse =
             new SwitchRulesResponse(singletonList(TEST_SWITCH_RULE_COOKIE));
+    static final SwitchId EMPTY_LINKS_SWITCH_ID = new SwitchId("ff:02");
+    static final SwitchId BROKEN_LINKS_SWITCH_ID = new SwitchId("ff:03");
+    static final IslInfoData ISL = new IslInfoData(new PathNode(SWITCH_ID, 1, 0),
+            new PathNode(new SwitchId(TEST_SWITCH_ID), 2, 1), IslChangeType.DISCOVERED, false);
+    static final IslInfoData UNDER_MAINTENANCE_ISL = new IslInfoData(new PathNode(SWITCH_ID, 3, 0),
+            new PathNode(new SwitchId(TEST_SWITCH_ID), 4, 1), IslChangeType.DISCOVERED, true);
     private static final Map<String, CommandData> messages = new ConcurrentHashMap<>();
 
     /**
@@ -155,6 +167,36 @@ public class TestMessageMock implements MessagingChannel {
         }
     }
 
+    @Override
+    public CompletableFuture<Void> sendAndStreamChunked(String topic, Message message,
+                                                        Consumer<InfoData> chunkConsumer) {
+        CommandData commandData = ((CommandMessage) message).getData();
+        if (commandData instanceof GetLinksRequest) {
+            return streamLinks(((GetLinksRequest) commandData).getSource().getDatapath(), chunkConsumer);
+        }
+        return MessagingChannel.super.sendAndStreamChunked(topic, message, chunkConsumer);
+    }
+
+    /**
+     * Streams the links of the switch, the broken switch fails the stream after the first link.
+     */
+    private CompletableFuture<Void> streamLinks(SwitchId switchId, Consumer<InfoData> chunkConsumer) {
+        if (EMPTY_LINKS_SWITCH_ID.equals(switchId)) {
+            return completedFuture(null);
+        }
+
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        chunkConsumer.accept(ISL);
+        if (BROKEN_LINKS_SWITCH_ID.equals(switchId)) {
+            result.completeExceptionally(new MessageException(DEFAULT_CORRELATION_ID, System.currentTimeMillis(),
+                    OPERATION_TIMED_OUT, "timeout", "kilda-test"));
+        } else {
+            chunkConsumer.accept(UNDER_MAINTENANCE_ISL);
+            result.complete(null);
+        }
+        return result;
+    }
+
     @Override
     public void send(String topic, Message message) {
         if (message instanceof CommandMessage) {
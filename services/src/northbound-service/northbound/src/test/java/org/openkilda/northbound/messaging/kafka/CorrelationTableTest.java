@@ -0,0 +1,111 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.northbound.messaging.kafka;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CorrelationTableTest {
+    private static final long TIMEOUT_TICKS = 3;
+
+    private final List<String> expired = new ArrayList<>();
+    private CorrelationTable<Object> table;
+
+    @Before
+    public void setUp() {
+        expired.clear();
+        table = new CorrelationTable<>(TIMEOUT_TICKS, (key, entry) -> expired.add(key));
+    }
+
+    @Test
+    public void shouldExpireEntryOnceTimeoutIsOver() {
+        Object entry = new Object();
+        table.put("request", entry);
+
+        advance(TIMEOUT_TICKS);
+        assertTrue(expired.isEmpty());
+        assertEquals(entry, table.get("request"));
+
+        advance(1);
+        assertEquals(1, expired.size());
+        assertNull(table.get("request"));
+    }
+
+    @Test
+    public void shouldNotExpireRemovedEntry() {
+        Object entry = new Object();
+        table.put("request", entry);
+
+        assertEquals(entry, table.remove("request"));
+        advance(TIMEOUT_TICKS + 1);
+
+        assertTrue(expired.isEmpty());
+    }
+
+    @Test
+    public void shouldRemoveOnlyRegisteredEntry() {
+        Object entry = new Object();
+        table.put("request", entry);
+
+        assertFalse(table.remove("request", new Object()));
+        assertTrue(table.remove("request", entry));
+        assertTrue(table.snapshot().isEmpty());
+    }
+
+    @Test
+    public void shouldExpireReplacingEntryByItsOwnTimeout() {
+        table.put("request", new Object());
+        advance(2);
+        Object replacing = new Object();
+        table.put("request", replacing);
+
+        advance(TIMEOUT_TICKS);
+        assertTrue(expired.isEmpty());
+        assertEquals(replacing, table.get("request"));
+
+        advance(1);
+        assertEquals(1, expired.size());
+    }
+
+    @Test
+    public void shouldExpireEntriesWithTimeoutLongerThanWheel() {
+        table = new CorrelationTable<>(2000, (key, entry) -> expired.add(key));
+        for (int i = 0; i < 100; i++) {
+            table.put("request-" + i, new Object());
+        }
+
+        advance(2000);
+        assertTrue(expired.isEmpty());
+
+        advance(1);
+        assertEquals(100, expired.size());
+        assertTrue(table.snapshot().isEmpty());
+    }
+
+    private void advance(long ticks) {
+        for (int i = 0; i < ticks; i++) {
+            table.advance();
+        }
+    }
+}
@@ -16,10 +16,12 @@
 package org.openkilda.northbound.messaging.kafka;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import org.openkilda.messaging.Message;
+import org.openkilda.messaging.NorthboundReplyRouting;
 import org.openkilda.messaging.error.ErrorData;
 import org.openkilda.messaging.error.ErrorMessage;
 import org.openkilda.messaging.error.ErrorType;
@@ -53,6 +55,7 @@ import org.springframework.util.concurrent.SettableListenableFuture;
 
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -61,6 +64,8 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @RunWith(SpringRunner.class)
 public class KafkaMessagingChannelTest {
@@ -241,6 +246,52 @@ public class KafkaMessagingChannelTest {
         assertTrue(messagingChannel.getPendingChunkedRequests().isEmpty());
     }
 
+    @Test
+    public void shouldPassChunksToConsumerOneByOne() throws Exception {
+        String requestId = UUID.randomUUID().toString();
+        long timestamp = System.currentTimeMillis();
+        int messagesAmount = 1000;
+
+        prepareChunkedResponses(requestId, timestamp, messagesAmount);
+        Message request = new Message(timestamp, requestId);
+
+        AtomicInteger inProgress = new AtomicInteger();
+        AtomicBoolean overlapped = new AtomicBoolean();
+        Set<InfoData> consumed = new HashSet<>();
+        CompletableFuture<Void> future = messagingChannel.sendAndStreamChunked(CHUNKED_TOPIC, request, chunk -> {
+            if (inProgress.incrementAndGet() > 1) {
+                overlapped.set(true);
+            }
+            consumed.add(chunk);
+            inProgress.decrementAndGet();
+        });
+        assertTrue(messagingChannel.getPendingChunkedRequests().containsKey(requestId));
+        prepareResponses(CHUNKED_TOPIC);
+
+        future.get(10, TimeUnit.SECONDS);
+        assertEquals(messagesAmount, consumed.size());
+        assertFalse(overlapped.get());
+        assertTrue(messagingChannel.getPendingChunkedRequests().isEmpty());
+    }
+
+    @Test
+    public void shouldTagRequestWithReplyInstance() throws Exception {
+        String requestId = UUID.randomUUID().toString();
+        long timestamp = System.currentTimeMillis();
+        Message request = new Message(timestamp, requestId);
+
+        final CompletableFuture<InfoData> response = messagingChannel.sendAndGet(MAIN_TOPIC, request);
+        assertEquals(Optional.of(messagingChannel.getReplyInstanceId()),
+                NorthboundReplyRouting.getInstanceId(request.getCorrelationId()));
+        assertTrue(messagingChannel.getPendingRequests().containsKey(requestId));
+
+        // the responders keep the tagged correlation id in the reply
+        messagingChannel.onResponse(new InfoMessage(null, timestamp, request.getCorrelationId()));
+
+        assertNull(response.get(1, TimeUnit.SECONDS));
+        assertTrue(messagingChannel.getPendingRequests().isEmpty());
+    }
+
     /**
      * Creates chunk of responses started from requestId, with predefined size.
      */
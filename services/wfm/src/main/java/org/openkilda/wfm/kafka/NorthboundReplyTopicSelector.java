@@ -0,0 +1,62 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.kafka;
+
+import static org.openkilda.messaging.Utils.CORRELATION_ID;
+import static org.openkilda.messaging.Utils.MAPPER;
+
+import org.openkilda.messaging.Message;
+import org.openkilda.messaging.NorthboundReplyRouting;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.storm.kafka.bolt.mapper.FieldNameBasedTupleToKafkaMapper;
+import org.apache.storm.kafka.bolt.selector.KafkaTopicSelector;
+import org.apache.storm.tuple.Tuple;
+
+import java.io.IOException;
+
+/**
+ * Selects the reply topic of the northbound instance the correlation id of the reply is tagged with, see
+ * {@link NorthboundReplyRouting}. The replies without the tag go to the shared northbound topic.
+ */
+@Slf4j
+public class NorthboundReplyTopicSelector implements KafkaTopicSelector {
+    private final String northboundTopic;
+
+    public NorthboundReplyTopicSelector(String northboundTopic) {
+        this.northboundTopic = northboundTopic;
+    }
+
+    @Override
+    public String getTopic(Tuple tuple) {
+        Object payload = tuple.getValueByField(FieldNameBasedTupleToKafkaMapper.BOLT_MESSAGE);
+        return NorthboundReplyRouting.selectTopic(northboundTopic, getCorrelationId(payload));
+    }
+
+    private String getCorrelationId(Object payload) {
+        if (payload instanceof Message) {
+            return ((Message) payload).getCorrelationId();
+        }
+        if (payload instanceof String) {
+            try {
+                return MAPPER.readTree((String) payload).path(CORRELATION_ID).asText(null);
+            } catch (IOException e) {
+                log.warn("Failed to read correlation id of the reply, it is sent to {}", northboundTopic, e);
+            }
+        }
+        return null;
+    }
+}
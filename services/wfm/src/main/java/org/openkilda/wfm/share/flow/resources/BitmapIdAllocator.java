@@ -0,0 +1,213 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.share.flow.resources;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.openkilda.persistence.TransactionManager;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collection;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * In-memory allocator of IDs from the [minId, maxId] range. Allocated IDs are tracked by the bitmap, each word of it
+ * is a block of 64 IDs which are taken and released by CAS, so allocations don't lock each other.
+ * <p/>
+ * The bitmap is lazily seeded by the IDs already assigned in the persistent storage. It's not a source of truth:
+ * the storage arbitrates allocations made by other workers (by unique constraints), so a pool must call
+ * {@link #invalidate()} when the allocated ID turns out to be taken. IDs allocated by
+ * {@link #allocate(TransactionManager)} are returned on rollback of the transaction. The bitmap is also reloaded when
+ * the range looks exhausted, this returns IDs leaked by rolled back transactions of other workers.
+ * <p/>
+ * Workers sharing the range start searching from different offsets defined by the worker index, so concurrent
+ * allocations don't contend for the same lowest IDs. The search wraps around the range end.
+ */
+@Slf4j
+public class BitmapIdAllocator {
+    private static final int WORD_SIZE = Long.SIZE;
+
+    private final long minId;
+    private final long maxId;
+    private final Supplier<Collection<? extends Number>> assignedIdsLoader;
+
+    private final int length;
+    // Index of the word where this worker starts searching from.
+    private final int startWord;
+
+    private volatile AtomicLongArray words;
+    // Position (counted from startWord) to start searching for free IDs from, all words before it are full.
+    private final AtomicInteger lowestFreeWord = new AtomicInteger();
+
+    public BitmapIdAllocator(long minId, long maxId, Supplier<Collection<? extends Number>> assignedIdsLoader) {
+        this(minId, maxId, assignedIdsLoader, 0, 1);
+    }
+
+    /**
+     * Creates the allocator for one of several workers sharing the range.
+     *
+     * @param workerIndex the index of the worker, defines the offset to start searching for free IDs from.
+     * @param workerCount the number of workers sharing the range.
+     */
+    public BitmapIdAllocator(long minId, long maxId, Supplier<Collection<? extends Number>> assignedIdsLoader,
+                             int workerIndex, int workerCount) {
+        checkArgument(minId <= maxId, "Min ID %s is greater than max ID %s", minId, maxId);
+        checkArgument((maxId - minId) / WORD_SIZE < Integer.MAX_VALUE, "Too wide ID range [%s, %s]", minId, maxId);
+        checkArgument(workerIndex >= 0 && workerIndex < workerCount, "Invalid worker index %s of %s",
+                workerIndex, workerCount);
+
+        this.minId = minId;
+        this.maxId = maxId;
+        this.assignedIdsLoader = assignedIdsLoader;
+
+        long size = maxId - minId + 1;
+        this.length = (int) ((size + WORD_SIZE - 1) / WORD_SIZE);
+        this.startWord = (int) ((long) length * workerIndex / workerCount);
+    }
+
+    /**
+     * Allocates the lowest free ID starting from the offset of the worker.
+     *
+     * @return the allocated ID or empty if there's no free ID in the range.
+     */
+    public OptionalLong allocate() {
+        return allocate((bitmap, id) -> { });
+    }
+
+    /**
+     * Allocates the lowest free ID starting from the offset of the worker. The ID is released if the current
+     * transaction is rolled back, including a rollback before retrying on optimistic lock failure.
+     *
+     * @return the allocated ID or empty if there's no free ID in the range.
+     */
+    public OptionalLong allocate(TransactionManager transactionManager) {
+        return allocate((bitmap, id) -> transactionManager.doOnRollback(() -> release(bitmap, id)));
+    }
+
+    private OptionalLong allocate(AllocationListener listener) {
+        AtomicLongArray current = words;
+        if (current == null) {
+            current = reload(null);
+        }
+
+        OptionalLong id = allocateFrom(current);
+        if (!id.isPresent()) {
+            log.debug("No free IDs in [{}, {}] range, reloading assigned IDs", minId, maxId);
+            current = reload(current);
+            id = allocateFrom(current);
+        }
+        if (id.isPresent()) {
+            listener.onAllocate(current, id.getAsLong());
+        }
+        return id;
+    }
+
+    /**
+     * Marks the ID as free.
+     */
+    public void release(long id) {
+        release(words, id);
+    }
+
+    private void release(AtomicLongArray bitmap, long id) {
+        AtomicLongArray current = words;
+        // A reloaded bitmap may have the ID given out again, so it's left to the storage to arbitrate.
+        if (current == null || current != bitmap || id < minId || id > maxId) {
+            return;
+        }
+
+        long offset = id - minId;
+        int word = (int) (offset / WORD_SIZE);
+        long mask = 1L << (offset % WORD_SIZE);
+        long value;
+        do {
+            value = current.get(word);
+        } while ((value & mask) != 0 && !current.compareAndSet(word, value, value & ~mask));
+
+        int position = (word - startWord + length) % length;
+        int lowest;
+        do {
+            lowest = lowestFreeWord.get();
+        } while (position < lowest && !lowestFreeWord.compareAndSet(lowest, position));
+    }
+
+    /**
+     * Drops the bitmap, so it will be reloaded from the storage on the next allocation.
+     */
+    public void invalidate() {
+        words = null;
+    }
+
+    private OptionalLong allocateFrom(AtomicLongArray current) {
+        for (int position = lowestFreeWord.get(); position < length; position++) {
+            int word = (startWord + position) % length;
+            long value = current.get(word);
+            while (value != -1L) {
+                long bit = Long.numberOfTrailingZeros(~value);
+                if (current.compareAndSet(word, value, value | (1L << bit))) {
+                    return OptionalLong.of(minId + (long) word * WORD_SIZE + bit);
+                }
+                value = current.get(word);
+            }
+            advanceLowestFreeWord(position);
+        }
+        return OptionalLong.empty();
+    }
+
+    private void advanceLowestFreeWord(int fullPosition) {
+        int lowest = lowestFreeWord.get();
+        if (lowest == fullPosition) {
+            lowestFreeWord.compareAndSet(lowest, fullPosition + 1);
+        }
+    }
+
+    private synchronized AtomicLongArray reload(AtomicLongArray stale) {
+        AtomicLongArray current = words;
+        if (current != null && current != stale) {
+            // Already reloaded by another thread.
+            return current;
+        }
+
+        long size = maxId - minId + 1;
+        long[] bits = new long[length];
+        long tail = size % WORD_SIZE;
+        if (tail != 0) {
+            // IDs beyond maxId are never allocated.
+            bits[length - 1] = -1L << tail;
+        }
+        for (Number assigned : assignedIdsLoader.get()) {
+            long id = assigned.longValue();
+            if (id >= minId && id <= maxId) {
+                long offset = id - minId;
+                bits[(int) (offset / WORD_SIZE)] |= 1L << (offset % WORD_SIZE);
+            }
+        }
+
+        AtomicLongArray reloaded = new AtomicLongArray(bits);
+        lowestFreeWord.set(0);
+        words = reloaded;
+        return reloaded;
+    }
+
+    private interface AllocationListener {
+        void onAllocate(AtomicLongArray bitmap, long id);
+    }
+}
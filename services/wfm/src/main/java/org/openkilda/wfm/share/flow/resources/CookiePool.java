@@ -16,6 +16,7 @@
 package org.openkilda.wfm.share.flow.resources;
 
 import org.openkilda.model.FlowCookie;
+import org.openkilda.persistence.ConstraintViolationException;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.TransactionManager;
 import org.openkilda.persistence.repositories.FlowCookieRepository;
@@ -24,23 +25,28 @@ import org.openkilda.persistence.repositories.RepositoryFactory;
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * The resource pool is responsible for cookie de-/allocation.
+ * The resource pool is responsible for cookie de-/allocation. Free cookies are tracked by {@link BitmapIdAllocator},
+ * so the allocation doesn't query the storage for gaps.
  */
 @Slf4j
 public class CookiePool {
     private final TransactionManager transactionManager;
     private final FlowCookieRepository flowCookieRepository;
 
-    private final long minCookie;
-    private final long maxCookie;
+    private final BitmapIdAllocator allocator;
 
     public CookiePool(PersistenceManager persistenceManager, long minCookie, long maxCookie) {
+        this(persistenceManager, minCookie, maxCookie, 0, 1);
+    }
+
+    public CookiePool(PersistenceManager persistenceManager, long minCookie, long maxCookie,
+                      int workerIndex, int workerCount) {
         transactionManager = persistenceManager.getTransactionManager();
         RepositoryFactory repositoryFactory = persistenceManager.getRepositoryFactory();
         flowCookieRepository = repositoryFactory.createFlowCookieRepository();
 
-        this.minCookie = minCookie;
-        this.maxCookie = maxCookie;
+        allocator = new BitmapIdAllocator(minCookie, maxCookie,
+                () -> flowCookieRepository.findAssignedCookies(minCookie, maxCookie), workerIndex, workerCount);
     }
 
     /**
@@ -50,17 +56,20 @@ public class CookiePool {
      */
     public long allocate(String flowId) {
         return transactionManager.doInTransaction(() -> {
-            long availableCookie = flowCookieRepository.findUnassignedCookie(minCookie)
+            long availableCookie = allocator.allocate(transactionManager)
                     .orElseThrow(() -> new ResourceNotAvailableException("No cookie available"));
-            if (availableCookie > maxCookie) {
-                throw new ResourceNotAvailableException("No cookie available");
-            }
 
             FlowCookie flowCookie = FlowCookie.builder()
                     .unmaskedCookie(availableCookie)
                     .flowId(flowId)
                     .build();
-            flowCookieRepository.createOrUpdate(flowCookie);
+            try {
+                flowCookieRepository.createOrUpdate(flowCookie);
+            } catch (ConstraintViolationException ex) {
+                // The cookie has been taken by another worker, so the bitmap is outdated.
+                allocator.invalidate();
+                throw ex;
+            }
 
             return availableCookie;
         });
@@ -74,5 +83,6 @@ public class CookiePool {
                 flowCookieRepository.findByCookie(unmaskedCookie)
                         .ifPresent(flowCookieRepository::delete)
         );
+        allocator.release(unmaskedCookie);
     }
 }
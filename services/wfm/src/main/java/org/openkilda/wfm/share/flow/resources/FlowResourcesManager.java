@@ -49,16 +49,30 @@ public class FlowResourcesManager {
     private final Map<FlowEncapsulationType, EncapsulationResourcesProvider> encapsulationResourcesProviders;
 
     public FlowResourcesManager(PersistenceManager persistenceManager, FlowResourcesConfig config) {
+        this(persistenceManager, config, 0, 1);
+    }
+
+    /**
+     * Creates the manager for one of several workers allocating resources concurrently. Each worker starts searching
+     * for free resources from its own offset in the ranges, so the workers don't contend for the same IDs.
+     *
+     * @param workerIndex the index of the worker, e.g. the task index of a bolt.
+     * @param workerCount the number of workers, e.g. the number of tasks of a bolt.
+     */
+    public FlowResourcesManager(PersistenceManager persistenceManager, FlowResourcesConfig config,
+                                int workerIndex, int workerCount) {
         transactionManager = persistenceManager.getTransactionManager();
         switchRepository = persistenceManager.getRepositoryFactory().createSwitchRepository();
 
-        this.cookiePool = new CookiePool(persistenceManager, config.getMinFlowCookie(), config.getMaxFlowCookie());
+        this.cookiePool = new CookiePool(persistenceManager, config.getMinFlowCookie(), config.getMaxFlowCookie(),
+                workerIndex, workerCount);
         this.meterPool = new MeterPool(persistenceManager,
-                new MeterId(config.getMinFlowMeterId()), new MeterId(config.getMaxFlowMeterId()));
+                new MeterId(config.getMinFlowMeterId()), new MeterId(config.getMaxFlowMeterId()),
+                workerIndex, workerCount);
 
         encapsulationResourcesProviders = ImmutableMap.<FlowEncapsulationType, EncapsulationResourcesProvider>builder()
                 .put(FlowEncapsulationType.TRANSIT_VLAN, new TransitVlanPool(persistenceManager,
-                        config.getMinFlowTransitVlan(), config.getMaxFlowTransitVlan()))
+                        config.getMinFlowTransitVlan(), config.getMaxFlowTransitVlan(), workerIndex, workerCount))
                 .build();
     }
 
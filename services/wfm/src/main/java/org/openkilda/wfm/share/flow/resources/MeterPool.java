@@ -23,6 +23,7 @@ import org.openkilda.model.MeterId;
 import org.openkilda.model.PathId;
 import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
+import org.openkilda.persistence.ConstraintViolationException;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.TransactionManager;
 import org.openkilda.persistence.repositories.FlowMeterRepository;
@@ -34,9 +35,12 @@ import lombok.extern.slf4j.Slf4j;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
- * The resource pool is responsible for meter de-/allocation.
+ * The resource pool is responsible for meter de-/allocation. Free meters of each switch are tracked by
+ * {@link BitmapIdAllocator}, so the allocation doesn't query the storage for gaps.
  */
 @Slf4j
 public class MeterPool {
@@ -46,8 +50,17 @@ public class MeterPool {
 
     private final MeterId minMeterId;
     private final MeterId maxMeterId;
+    private final int workerIndex;
+    private final int workerCount;
+
+    private final ConcurrentMap<SwitchId, BitmapIdAllocator> allocators = new ConcurrentHashMap<>();
 
     public MeterPool(PersistenceManager persistenceManager, MeterId minMeterId, MeterId maxMeterId) {
+        this(persistenceManager, minMeterId, maxMeterId, 0, 1);
+    }
+
+    public MeterPool(PersistenceManager persistenceManager, MeterId minMeterId, MeterId maxMeterId,
+                     int workerIndex, int workerCount) {
         transactionManager = persistenceManager.getTransactionManager();
         RepositoryFactory repositoryFactory = persistenceManager.getRepositoryFactory();
         flowMeterRepository = repositoryFactory.createFlowMeterRepository();
@@ -55,6 +68,8 @@ public class MeterPool {
 
         this.minMeterId = minMeterId;
         this.maxMeterId = maxMeterId;
+        this.workerIndex = workerIndex;
+        this.workerCount = workerCount;
     }
 
     /**
@@ -76,11 +91,9 @@ public class MeterPool {
         return transactionManager.doInTransaction(() -> {
             String noMetersErrorMessage = format("No meter available for switch %s", theSwitch);
 
-            MeterId availableMeterId = flowMeterRepository.findUnassignedMeterId(theSwitch.getSwitchId(), minMeterId)
-                    .orElseThrow(() -> new ResourceNotAvailableException(noMetersErrorMessage));
-            if (availableMeterId.compareTo(maxMeterId) > 0) {
-                throw new ResourceNotAvailableException(noMetersErrorMessage);
-            }
+            BitmapIdAllocator allocator = getAllocator(theSwitch.getSwitchId());
+            MeterId availableMeterId = new MeterId(allocator.allocate(transactionManager)
+                    .orElseThrow(() -> new ResourceNotAvailableException(noMetersErrorMessage)));
 
             FlowMeter flowMeter = FlowMeter.builder()
                     .meterId(availableMeterId)
@@ -88,7 +101,13 @@ public class MeterPool {
                     .flowId(flowId)
                     .pathId(pathId)
                     .build();
-            flowMeterRepository.createOrUpdate(flowMeter);
+            try {
+                flowMeterRepository.createOrUpdate(flowMeter);
+            } catch (ConstraintViolationException ex) {
+                // The meter has been taken by another worker, so the bitmap is outdated.
+                allocator.invalidate();
+                throw ex;
+            }
 
             return flowMeter.getMeterId();
         });
@@ -98,16 +117,28 @@ public class MeterPool {
      * Deallocates a meter(s) of the flow path(s).
      */
     public void deallocate(PathId... pathIds) {
-        transactionManager.doInTransaction(() -> {
-            List<FlowMeter> meters = Arrays.stream(pathIds)
+        List<FlowMeter> meters = transactionManager.doInTransaction(() -> {
+            List<FlowMeter> found = Arrays.stream(pathIds)
                     .map(flowMeterRepository::findByPathId)
                     .filter(Optional::isPresent)
                     .map(Optional::get)
                     .collect(toList());
 
-            switchRepository.lockSwitches(meters.stream().map(FlowMeter::getTheSwitch).toArray(Switch[]::new));
+            switchRepository.lockSwitches(found.stream().map(FlowMeter::getTheSwitch).toArray(Switch[]::new));
 
-            meters.forEach(flowMeterRepository::delete);
+            found.forEach(flowMeterRepository::delete);
+            return found;
         });
+
+        meters.forEach(meter -> getAllocator(meter.getTheSwitch().getSwitchId())
+                .release(meter.getMeterId().getValue()));
+    }
+
+    private BitmapIdAllocator getAllocator(SwitchId switchId) {
+        return allocators.computeIfAbsent(switchId, id -> new BitmapIdAllocator(
+                minMeterId.getValue(), maxMeterId.getValue(),
+                () -> flowMeterRepository.findAssignedMeterIds(id, minMeterId, maxMeterId).stream()
+                        .map(MeterId::getValue)
+                        .collect(toList()), workerIndex, workerCount));
     }
 }
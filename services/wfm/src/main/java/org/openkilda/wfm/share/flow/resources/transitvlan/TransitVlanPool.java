@@ -18,10 +18,12 @@ package org.openkilda.wfm.share.flow.resources.transitvlan;
 import org.openkilda.model.Flow;
 import org.openkilda.model.PathId;
 import org.openkilda.model.TransitVlan;
+import org.openkilda.persistence.ConstraintViolationException;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.TransactionManager;
 import org.openkilda.persistence.repositories.RepositoryFactory;
 import org.openkilda.persistence.repositories.TransitVlanRepository;
+import org.openkilda.wfm.share.flow.resources.BitmapIdAllocator;
 import org.openkilda.wfm.share.flow.resources.EncapsulationResourcesProvider;
 import org.openkilda.wfm.share.flow.resources.ResourceNotAvailableException;
 
@@ -31,23 +33,29 @@ import java.util.Collection;
 import java.util.Optional;
 
 /**
- * The resource pool is responsible for transit vlan de-/allocation.
+ * The resource pool is responsible for transit vlan de-/allocation. Free vlans are tracked by
+ * {@link BitmapIdAllocator}, so the allocation doesn't query the storage for gaps.
  */
 @Slf4j
 public class TransitVlanPool implements EncapsulationResourcesProvider<TransitVlanEncapsulation> {
     private final TransactionManager transactionManager;
     private final TransitVlanRepository transitVlanRepository;
 
-    private final int minTransitVlan;
-    private final int maxTransitVlan;
+    private final BitmapIdAllocator allocator;
 
     public TransitVlanPool(PersistenceManager persistenceManager, int minTransitVlan, int maxTransitVlan) {
+        this(persistenceManager, minTransitVlan, maxTransitVlan, 0, 1);
+    }
+
+    public TransitVlanPool(PersistenceManager persistenceManager, int minTransitVlan, int maxTransitVlan,
+                           int workerIndex, int workerCount) {
         transactionManager = persistenceManager.getTransactionManager();
         RepositoryFactory repositoryFactory = persistenceManager.getRepositoryFactory();
         transitVlanRepository = repositoryFactory.createTransitVlanRepository();
 
-        this.minTransitVlan = minTransitVlan;
-        this.maxTransitVlan = maxTransitVlan;
+        allocator = new BitmapIdAllocator(minTransitVlan, maxTransitVlan,
+                () -> transitVlanRepository.findAssignedTransitVlans(minTransitVlan, maxTransitVlan),
+                workerIndex, workerCount);
     }
 
     /**
@@ -56,18 +64,21 @@ public class TransitVlanPool implements EncapsulationResourcesProvider<TransitVl
     @Override
     public TransitVlanEncapsulation allocate(Flow flow, PathId pathId) {
         return transactionManager.doInTransaction(() -> {
-            int availableVlan = transitVlanRepository.findUnassignedTransitVlan(minTransitVlan)
+            int availableVlan = (int) allocator.allocate(transactionManager)
                     .orElseThrow(() -> new ResourceNotAvailableException("No vlan available"));
-            if (availableVlan > maxTransitVlan) {
-                throw new ResourceNotAvailableException("No vlan available");
-            }
 
             TransitVlan transitVlan = TransitVlan.builder()
                     .vlan(availableVlan)
                     .flowId(flow.getFlowId())
                     .pathId(pathId)
                     .build();
-            transitVlanRepository.createOrUpdate(transitVlan);
+            try {
+                transitVlanRepository.createOrUpdate(transitVlan);
+            } catch (ConstraintViolationException ex) {
+                // The vlan has been taken by another worker, so the bitmap is outdated.
+                allocator.invalidate();
+                throw ex;
+            }
 
             return TransitVlanEncapsulation.builder()
                     .transitVlan(transitVlan)
@@ -80,9 +91,12 @@ public class TransitVlanPool implements EncapsulationResourcesProvider<TransitVl
      */
     @Override
     public void deallocate(PathId pathId) {
-        transactionManager.doInTransaction(() ->
-                transitVlanRepository.findByPathId(pathId)
-                        .forEach(transitVlanRepository::delete));
+        Collection<TransitVlan> transitVlans = transactionManager.doInTransaction(() -> {
+            Collection<TransitVlan> found = transitVlanRepository.findByPathId(pathId);
+            found.forEach(transitVlanRepository::delete);
+            return found;
+        });
+        transitVlans.forEach(transitVlan -> allocator.release(transitVlan.getVlan()));
     }
 
     /**
@@ -23,31 +23,50 @@ import org.openkilda.wfm.AbstractBolt;
 import org.openkilda.wfm.topology.utils.MessageTranslator;
 
 import com.google.common.annotations.VisibleForTesting;
-import lombok.Value;
+import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Set;
-import java.util.SortedMap;
-import java.util.TreeMap;
 
 /**
  * Storm bolt that keeps track of duration of operation's execution and then sends callback to the requester.
+ * <p/>
+ * Requests must be delivered with fieldsGrouping by key, so each instance of the bolt serves its own share of keys and
+ * the bolt can be scaled out. Ticks from {@link CoordinatorSpout} must be delivered to all instances (allGrouping).
+ * <p/>
+ * Timeouts are kept in a hashed timer wheel, each bucket covers {@code BUCKET_DURATION_MS} of time, so a tick visits
+ * only the buckets passed since the previous one. Timeouts longer than one turn of the wheel stay in their bucket until
+ * the turn they are due. A cancelled callback is only marked, it is dropped from the wheel on the next visit of its
+ * bucket.
  */
 @Slf4j
 public final class CoordinatorBolt extends AbstractBolt {
     public static final String ID = "coordinator.bolt";
     public static final String INCOME_STREAM = "coordinator.command";
 
-    private Map<String, Callback> callbacks = new HashMap<>();
-    private SortedMap<Long, Set<String>> timeouts = new TreeMap<>();
+    private static final int WHEEL_SIZE = 512;
+    private static final long BUCKET_DURATION_MS = 10;
+    private static final long CURSOR_UNSET = Long.MIN_VALUE;
+
+    private final Map<String, Callback> callbacks = new HashMap<>();
+    private final List<Callback>[] wheel;
+    private long cursor = CURSOR_UNSET;
+
+    @SuppressWarnings("unchecked")
+    public CoordinatorBolt() {
+        wheel = new List[WHEEL_SIZE];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new ArrayList<>();
+        }
+    }
 
     @Override
     protected void handleInput(Tuple input) {
@@ -82,18 +101,22 @@ public final class CoordinatorBolt extends AbstractBolt {
     void registerCallback(String key, Object context, int timeout, int taskId) {
         log.debug("Adding callback for {} with timeout {}", key, timeout);
         long triggerTime = System.currentTimeMillis() + timeout;
-        timeouts.computeIfAbsent(triggerTime, mappingFunction -> new HashSet<>())
-                .add(key);
 
-        Values value = new Values(key, context);
-        callbacks.put(key, Callback.of(taskId, value));
+        Callback callback = new Callback(key, taskId, new Values(key, context), triggerTime, true);
+        Callback replaced = callbacks.put(key, callback);
+        if (replaced != null) {
+            replaced.active = false;
+        }
+        schedule(callback);
     }
 
     @VisibleForTesting
     void cancelCallback(String key) {
-        if (callbacks.remove(key) == null) {
+        Callback callback = callbacks.remove(key);
+        if (callback == null) {
             log.warn("{} is already cancelled", key);
         } else {
+            callback.active = false;
             log.debug("Request processing of {} is finished", key);
         }
     }
@@ -103,15 +126,40 @@ public final class CoordinatorBolt extends AbstractBolt {
      */
     @VisibleForTesting
     void tick(Long currentTime) {
-        SortedMap<Long, Set<String>> outdatedCallbacks = timeouts.headMap(currentTime);
-        for (Set<String> callbacks : outdatedCallbacks.values()) {
-            callbacks.stream()
-                    .map(this.callbacks::remove)
-                    .filter(Objects::nonNull)
-                    .forEach(callback -> getOutput().emitDirect(callback.taskId, callback.context));
+        long target = currentTime / BUCKET_DURATION_MS;
+        long first = cursor == CURSOR_UNSET || target - cursor >= WHEEL_SIZE ? target - WHEEL_SIZE + 1 : cursor;
+        for (long bucket = first; bucket <= target; bucket++) {
+            expire(wheel[bucketIndex(bucket)], currentTime);
         }
+        cursor = Math.max(cursor, target);
+    }
 
-        outdatedCallbacks.clear();
+    private void schedule(Callback callback) {
+        long bucket = callback.triggerTime / BUCKET_DURATION_MS;
+        if (cursor != CURSOR_UNSET && bucket < cursor) {
+            // the bucket has already been passed, so the timeout is handled by the next tick
+            bucket = cursor;
+        }
+        wheel[bucketIndex(bucket)].add(callback);
+    }
+
+    private void expire(List<Callback> bucket, long currentTime) {
+        Iterator<Callback> iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            Callback callback = iterator.next();
+            if (!callback.active) {
+                iterator.remove();
+            } else if (callback.triggerTime < currentTime) {
+                iterator.remove();
+                callback.active = false;
+                callbacks.remove(callback.key);
+                getOutput().emitDirect(callback.taskId, callback.context);
+            }
+        }
+    }
+
+    private int bucketIndex(long bucket) {
+        return (int) Math.floorMod(bucket, (long) WHEEL_SIZE);
     }
 
     @Override
@@ -126,8 +174,12 @@ public final class CoordinatorBolt extends AbstractBolt {
     }
 
     @VisibleForTesting
-    SortedMap<Long, Set<String>> getTimeouts() {
-        return timeouts;
+    int getScheduledTimeoutsCount() {
+        int count = 0;
+        for (List<Callback> bucket : wheel) {
+            count += bucket.size();
+        }
+        return count;
     }
 
     public enum CoordinatorCommand {
@@ -135,9 +187,15 @@ public final class CoordinatorBolt extends AbstractBolt {
         CANCEL_CALLBACK
     }
 
-    @Value(staticConstructor = "of")
+    /**
+     * Registered callback, serves as a handle to cancel the timeout.
+     */
+    @AllArgsConstructor
     private static class Callback {
+        private final String key;
         private final int taskId;
         private final Values context;
+        private final long triggerTime;
+        private boolean active;
     }
 }
@@ -0,0 +1,143 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.utils;
+
+import org.openkilda.wfm.share.utils.FsmTable.Action;
+import org.openkilda.wfm.share.utils.FsmTable.Transition;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+
+/**
+ * Base class of FSMs driven by a {@link FsmTable} shared by all instances of the FSM class.
+ * <p/>
+ * An instance keeps only the reference to the table, its current state and the events fired by its own actions, so
+ * it is much lighter than a squirrel state machine. The behaviour follows {@link AbstractBaseFsm}: the first event
+ * executes entry action of the initial state before its own transition; an external transition executes exit action
+ * of the source state, the transition action and entry action of the target state; an internal transition executes
+ * only its action; events without a transition are ignored; events fired from an action are processed after the
+ * current one. An exception thrown by an action is logged and leaves the FSM in the source state.
+ * <p/>
+ * Hierarchical states are not supported, a squirrel FSM with sequential sub-states is migrated by defining the
+ * transitions of the parent state on each of its sub-states.
+ */
+public abstract class AbstractTableFsm<T extends AbstractTableFsm<T, S, E, C>, S extends Enum<S>,
+        E extends Enum<E>, C> {
+    private final FsmTable<T, S, E, C> table;
+    private S currentState;
+
+    private boolean started = false;
+    private boolean busy = false;
+    private ArrayDeque<PendingEvent<E, C>> pending;
+
+    protected AbstractTableFsm(FsmTable<T, S, E, C> table, S initialState) {
+        this.table = table;
+        this.currentState = initialState;
+    }
+
+    public S getCurrentState() {
+        return currentState;
+    }
+
+    /**
+     * Process the event. If called from an action, the event is queued and processed after the current one.
+     */
+    public void fire(E event, C context) {
+        if (busy) {
+            if (pending == null) {
+                pending = new ArrayDeque<>(2);
+            }
+            pending.add(new PendingEvent<>(event, context));
+            return;
+        }
+
+        busy = true;
+        try {
+            if (!started) {
+                started = true;
+                start(context);
+            }
+            process(event, context);
+            while (pending != null && !pending.isEmpty()) {
+                PendingEvent<E, C> next = pending.poll();
+                process(next.event, next.context);
+            }
+        } finally {
+            busy = false;
+            pending = null;
+        }
+    }
+
+    private void start(C context) {
+        try {
+            execute(table.getEntryAction(currentState), self(), null, currentState, null, context);
+        } catch (RuntimeException e) {
+            getLog().error("Entry into initial state \"{}\" with context \"{}\" caused exception.",
+                    currentState, context, e);
+        }
+    }
+
+    private void process(E event, C context) {
+        Transition<T, S, E, C> transition = table.lookup(currentState, event);
+        if (transition == null) {
+            return;
+        }
+
+        S from = currentState;
+        S to = transition.target;
+        T fsm = self();
+        try {
+            if (!transition.internal) {
+                execute(table.getExitAction(from), fsm, from, to, event, context);
+            }
+            execute(transition.action, fsm, from, to, event, context);
+            if (!transition.internal) {
+                execute(table.getEntryAction(to), fsm, from, to, event, context);
+            }
+            currentState = to;
+        } catch (RuntimeException e) {
+            getLog().error("Transition from \"{}\" to \"{}\" on \"{}\" with context \"{}\" caused exception.",
+                    from, to, event, context, e);
+        }
+    }
+
+    private void execute(Action<T, S, E, C> action, T fsm, S from, S to, E event, C context) {
+        if (action != null) {
+            action.execute(fsm, from, to, event, context);
+        }
+    }
+
+    private Logger getLog() {
+        return LoggerFactory.getLogger(getClass());
+    }
+
+    @SuppressWarnings("unchecked")
+    private T self() {
+        return (T) this;
+    }
+
+    private static final class PendingEvent<E, C> {
+        private final E event;
+        private final C context;
+
+        private PendingEvent(E event, C context) {
+            this.event = event;
+            this.context = context;
+        }
+    }
+}
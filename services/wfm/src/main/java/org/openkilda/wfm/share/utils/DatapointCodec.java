@@ -0,0 +1,198 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.share.utils;
+
+import org.openkilda.messaging.info.Datapoint;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of {@link Datapoint}, used to pass datapoints to the OpenTSDB topology without JSON.
+ * <p/>
+ * Layout: the magic byte and the version, the time and the value as 8 bytes each (the value is preceded by its type),
+ * the metric name, the number of tags and key-value pairs of them. Strings are written as varint length and UTF-8
+ * bytes. The magic byte can't start a JSON document, so encoded datapoints can share a topic with JSON ones.
+ * <p/>
+ * Metric names and tags repeat in each poll, so UTF-8 bytes of encoded strings and decoded strings are kept in
+ * dictionaries. Dictionaries are dropped when they grow over the limit. The codec isn't thread-safe.
+ */
+public class DatapointCodec {
+    private static final byte MAGIC = 0;
+    private static final byte VERSION = 1;
+    private static final byte INTEGER_VALUE = 0;
+    private static final byte FLOATING_VALUE = 1;
+    private static final int MAX_DICTIONARY_SIZE = 100_000;
+
+    private final Map<String, byte[]> encodeDictionary = new HashMap<>();
+    private final Map<ByteBuffer, String> decodeDictionary = new HashMap<>();
+
+    private byte[] buffer = new byte[256];
+    private int position;
+
+    /**
+     * Checks whether the data is an encoded datapoint.
+     */
+    public static boolean isEncoded(byte[] data) {
+        return data.length > 1 && data[0] == MAGIC;
+    }
+
+    /**
+     * Encodes the datapoint.
+     */
+    public byte[] encode(String metric, long time, Number value, Map<String, String> tags) {
+        if (tags.size() > 0xFF) {
+            throw new IllegalArgumentException(String.format("Too many tags in datapoint %s: %d", metric, tags.size()));
+        }
+
+        position = 0;
+        writeByte(MAGIC);
+        writeByte(VERSION);
+        writeLong(time);
+        if (value instanceof Double || value instanceof Float) {
+            writeByte(FLOATING_VALUE);
+            writeLong(Double.doubleToRawLongBits(value.doubleValue()));
+        } else {
+            writeByte(INTEGER_VALUE);
+            writeLong(value.longValue());
+        }
+        writeString(metric);
+        writeByte((byte) tags.size());
+        for (Map.Entry<String, String> tag : tags.entrySet()) {
+            writeString(tag.getKey());
+            writeString(tag.getValue());
+        }
+
+        byte[] result = new byte[position];
+        System.arraycopy(buffer, 0, result, 0, position);
+        return result;
+    }
+
+    /**
+     * Decodes the datapoint.
+     *
+     * @throws IllegalArgumentException if data is not an encoded datapoint.
+     */
+    public Datapoint decode(byte[] data) {
+        if (!isEncoded(data) || data[1] != VERSION) {
+            throw new IllegalArgumentException("Data is not an encoded datapoint");
+        }
+
+        try {
+            ByteBuffer input = ByteBuffer.wrap(data, 2, data.length - 2);
+            long time = input.getLong();
+            byte valueType = input.get();
+            long rawValue = input.getLong();
+            Number value = valueType == FLOATING_VALUE ? Double.longBitsToDouble(rawValue) : toIntegral(rawValue);
+            String metric = readString(input);
+
+            int tagCount = input.get() & 0xFF;
+            Map<String, String> tags = new HashMap<>(tagCount * 2);
+            for (int i = 0; i < tagCount; i++) {
+                String key = readString(input);
+                tags.put(key, readString(input));
+            }
+            return new Datapoint(metric, time, tags, value);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed encoded datapoint", e);
+        }
+    }
+
+    /**
+     * Narrows the value the same way JSON parsing does, so decoded datapoints are equal to the JSON ones.
+     */
+    private static Number toIntegral(long value) {
+        if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+            return (int) value;
+        }
+        return value;
+    }
+
+    private void writeString(String value) {
+        byte[] bytes = encodeDictionary.get(value);
+        if (bytes == null) {
+            if (encodeDictionary.size() >= MAX_DICTIONARY_SIZE) {
+                encodeDictionary.clear();
+            }
+            bytes = value.getBytes(StandardCharsets.UTF_8);
+            encodeDictionary.put(value, bytes);
+        }
+
+        int length = bytes.length;
+        while ((length & ~0x7F) != 0) {
+            writeByte((byte) ((length & 0x7F) | 0x80));
+            length >>>= 7;
+        }
+        writeByte((byte) length);
+
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void writeLong(long value) {
+        ensureCapacity(Long.BYTES);
+        for (int shift = Long.SIZE - Byte.SIZE; shift >= 0; shift -= Byte.SIZE) {
+            buffer[position++] = (byte) (value >>> shift);
+        }
+    }
+
+    private void writeByte(byte value) {
+        ensureCapacity(1);
+        buffer[position++] = value;
+    }
+
+    private void ensureCapacity(int size) {
+        if (position + size > buffer.length) {
+            byte[] extended = new byte[Math.max(buffer.length * 2, position + size)];
+            System.arraycopy(buffer, 0, extended, 0, position);
+            buffer = extended;
+        }
+    }
+
+    private String readString(ByteBuffer input) {
+        int length = 0;
+        int shift = 0;
+        byte current;
+        do {
+            current = input.get();
+            length |= (current & 0x7F) << shift;
+            shift += 7;
+        } while ((current & 0x80) != 0);
+
+        if (length > input.remaining()) {
+            throw new IllegalArgumentException(String.format("String length %d exceeds the datapoint", length));
+        }
+        ByteBuffer key = input.slice();
+        key.limit(length);
+        input.position(input.position() + length);
+
+        String result = decodeDictionary.get(key);
+        if (result == null) {
+            if (decodeDictionary.size() >= MAX_DICTIONARY_SIZE) {
+                decodeDictionary.clear();
+            }
+            byte[] bytes = new byte[length];
+            key.get(bytes);
+            result = new String(bytes, StandardCharsets.UTF_8);
+            decodeDictionary.put(ByteBuffer.wrap(bytes), result);
+        }
+        return result;
+    }
+}
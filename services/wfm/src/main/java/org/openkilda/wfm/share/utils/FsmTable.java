@@ -0,0 +1,174 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.utils;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Transition table of {@link AbstractTableFsm}, it is built once per FSM class and shared by all its instances.
+ * <p/>
+ * Transitions are stored in a flat array indexed by state and event ordinals, so the dispatch of an event is a single
+ * array lookup. The builder API mirrors squirrel's {@code StateMachineBuilder}, actions are method references instead
+ * of method names resolved by reflection.
+ */
+public final class FsmTable<T, S extends Enum<S>, E extends Enum<E>, C> {
+    private final int eventsCount;
+    private final Transition<T, S, E, C>[] transitions;
+    private final Map<S, Action<T, S, E, C>> entryActions;
+    private final Map<S, Action<T, S, E, C>> exitActions;
+
+    private FsmTable(Builder<T, S, E, C> builder) {
+        eventsCount = builder.eventsCount;
+        transitions = builder.transitions;
+        entryActions = builder.entryActions;
+        exitActions = builder.exitActions;
+    }
+
+    public static <T, S extends Enum<S>, E extends Enum<E>, C> Builder<T, S, E, C> builder(
+            Class<S> stateType, Class<E> eventType) {
+        return new Builder<>(stateType, eventType);
+    }
+
+    Transition<T, S, E, C> lookup(S state, E event) {
+        return transitions[state.ordinal() * eventsCount + event.ordinal()];
+    }
+
+    Action<T, S, E, C> getEntryAction(S state) {
+        return entryActions.get(state);
+    }
+
+    Action<T, S, E, C> getExitAction(S state) {
+        return exitActions.get(state);
+    }
+
+    /**
+     * FSM action, the same signature as squirrel's {@code callMethod} targets plus the FSM instance.
+     */
+    @FunctionalInterface
+    public interface Action<T, S, E, C> {
+        void execute(T fsm, S from, S to, E event, C context);
+
+        /**
+         * Makes an action that executes this action and then the {@code next} one.
+         */
+        default Action<T, S, E, C> andThen(Action<T, S, E, C> next) {
+            return (fsm, from, to, event, context) -> {
+                execute(fsm, from, to, event, context);
+                next.execute(fsm, from, to, event, context);
+            };
+        }
+    }
+
+    /**
+     * Binds an action to the transition or to the entry/exit of the state being defined.
+     */
+    @FunctionalInterface
+    public interface ActionBuilder<T, S, E, C> {
+        void callMethod(Action<T, S, E, C> action);
+    }
+
+    static final class Transition<T, S extends Enum<S>, E extends Enum<E>, C> {
+        final S target;
+        final boolean internal;
+        Action<T, S, E, C> action;
+
+        private Transition(S target, boolean internal) {
+            this.target = target;
+            this.internal = internal;
+        }
+    }
+
+    public static final class Builder<T, S extends Enum<S>, E extends Enum<E>, C> {
+        private final int eventsCount;
+        private final Transition<T, S, E, C>[] transitions;
+        private final Map<S, Action<T, S, E, C>> entryActions;
+        private final Map<S, Action<T, S, E, C>> exitActions;
+
+        @SuppressWarnings("unchecked")
+        private Builder(Class<S> stateType, Class<E> eventType) {
+            eventsCount = eventType.getEnumConstants().length;
+            transitions = new Transition[stateType.getEnumConstants().length * eventsCount];
+            entryActions = new EnumMap<>(stateType);
+            exitActions = new EnumMap<>(stateType);
+        }
+
+        public ExternalTransitionBuilder transition() {
+            return new ExternalTransitionBuilder();
+        }
+
+        public InternalTransitionBuilder internalTransition() {
+            return new InternalTransitionBuilder();
+        }
+
+        public ActionBuilder<T, S, E, C> onEntry(S state) {
+            return action -> entryActions.merge(state, action, Action::andThen);
+        }
+
+        public ActionBuilder<T, S, E, C> onExit(S state) {
+            return action -> exitActions.merge(state, action, Action::andThen);
+        }
+
+        public FsmTable<T, S, E, C> build() {
+            return new FsmTable<>(this);
+        }
+
+        private ActionBuilder<T, S, E, C> define(S from, E event, S target, boolean internal) {
+            int index = from.ordinal() * eventsCount + event.ordinal();
+            if (transitions[index] != null) {
+                throw new IllegalStateException(String.format(
+                        "Transition from %s on %s is already defined", from, event));
+            }
+
+            Transition<T, S, E, C> transition = new Transition<>(target, internal);
+            transitions[index] = transition;
+            return action -> transition.action = transition.action == null
+                    ? action : transition.action.andThen(action);
+        }
+
+        public final class ExternalTransitionBuilder {
+            private S from;
+            private S to;
+
+            public ExternalTransitionBuilder from(S state) {
+                from = state;
+                return this;
+            }
+
+            public ExternalTransitionBuilder to(S state) {
+                to = state;
+                return this;
+            }
+
+            public ActionBuilder<T, S, E, C> on(E event) {
+                return define(from, event, to, false);
+            }
+        }
+
+        public final class InternalTransitionBuilder {
+            private S within;
+
+            public InternalTransitionBuilder within(S state) {
+                within = state;
+                return this;
+            }
+
+            public ActionBuilder<T, S, E, C> on(E event) {
+                return define(within, event, within, true);
+            }
+        }
+    }
+}
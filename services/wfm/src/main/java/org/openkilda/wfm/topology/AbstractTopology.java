@@ -31,12 +31,15 @@ import org.openkilda.wfm.error.StreamNameCollisionException;
 import org.openkilda.wfm.kafka.CustomNamedSubscription;
 import org.openkilda.wfm.kafka.MessageDeserializer;
 import org.openkilda.wfm.kafka.MessageSerializer;
+import org.openkilda.wfm.kafka.NorthboundReplyTopicSelector;
 import org.openkilda.wfm.topology.utils.KafkaRecordTranslator;
 import org.openkilda.wfm.topology.utils.KeyValueKafkaRecordTranslator;
 import org.openkilda.wfm.topology.utils.MessageTranslator;
 
 import com.google.common.annotations.VisibleForTesting;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.apache.storm.Config;
@@ -271,6 +274,34 @@ public abstract class AbstractTopology<T extends AbstractTopologyConfig> impleme
                 .withTupleToKafkaMapper(new FieldNameBasedTupleToKafkaMapper<>());
     }
 
+    /**
+     * Creates Kafka bolt for the replies to northbound, that publishes each reply into the reply topic of the
+     * northbound instance that sent the request.
+     *
+     * @param topic shared northbound topic
+     * @return {@link KafkaBolt}
+     */
+    protected KafkaBolt<String, Message> buildNorthboundKafkaBolt(final String topic) {
+        return buildKafkaBolt(topic)
+                .withTopicSelector(new NorthboundReplyTopicSelector(topic));
+    }
+
+    /**
+     * Creates Kafka bolt, that sends raw bytes of the message.
+     *
+     * @param topic Kafka topic
+     * @return {@link KafkaBolt}
+     */
+    protected KafkaBolt<String, byte[]> buildBinaryKafkaBolt(final String topic) {
+        Properties properties = getKafkaProducerProperties();
+        properties.setProperty(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class.getName());
+
+        return new KafkaBolt<String, byte[]>()
+                .withProducerProperties(properties)
+                .withTopicSelector(new DefaultTopicSelector(topic))
+                .withTupleToKafkaMapper(new FieldNameBasedTupleToKafkaMapper<>());
+    }
+
     protected void createCtrlBranch(TopologyBuilder builder, List<CtrlBoltRef> targets)
             throws StreamNameCollisionException {
         String ctrlTopic = topologyConfig.getKafkaCtrlTopic();
@@ -337,6 +368,17 @@ public abstract class AbstractTopology<T extends AbstractTopologyConfig> impleme
         return config;
     }
 
+    protected KafkaSpoutConfig.Builder<String, byte[]> makeBinaryKafkaSpoutConfigBuilder(String spoutId,
+                                                                                        String topic) {
+        return new KafkaSpoutConfig.Builder<>(
+                kafkaConfig.getHosts(), StringDeserializer.class, ByteArrayDeserializer.class,
+                new CustomNamedSubscription(topic))
+
+                .setGroupId(makeKafkaGroupName(spoutId))
+                .setRecordTranslator(new KafkaRecordTranslator<>())
+                .setFirstPollOffsetStrategy(KafkaSpoutConfig.FirstPollOffsetStrategy.LATEST);
+    }
+
     private String makeKafkaGroupName(String spoutId) {
         return kafkaNamingStrategy.kafkaConsumerGroupName(format("%s__%s", topologyName, spoutId));
     }
@@ -19,6 +19,7 @@ import org.openkilda.config.KafkaTopicsConfig;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.spi.PersistenceProvider;
 import org.openkilda.wfm.LaunchEnvironment;
+import org.openkilda.wfm.kafka.NorthboundReplyTopicSelector;
 import org.openkilda.wfm.topology.AbstractTopology;
 import org.openkilda.wfm.topology.floodlightrouter.bolts.BroadcastRequestBolt;
 import org.openkilda.wfm.topology.floodlightrouter.bolts.DiscoveryBolt;
@@ -155,7 +156,9 @@ public class FloodlightRouterTopology extends AbstractTopology<FloodlightRouterT
 
     private void createKildaNorthboundKafkaBolt(TopologyBuilder builder, int parallelism,
                                                    KafkaTopicsConfig topicsConfig) {
-        KafkaBolt kildaNorthboundKafkaBolt = createKafkaBolt(topicsConfig.getNorthboundTopic());
+        String northboundTopic = topicsConfig.getNorthboundTopic();
+        KafkaBolt kildaNorthboundKafkaBolt = createKafkaBolt(northboundTopic)
+                .withTopicSelector(new NorthboundReplyTopicSelector(northboundTopic));
         builder.setBolt(ComponentType.NORTHBOUND_REPLY_KAFKA_BOLT, kildaNorthboundKafkaBolt, parallelism)
                 .shuffleGrouping(ComponentType.SPEAKER_REQUEST_BOLT, Stream.NORTHBOUND_REPLY)
                 .shuffleGrouping(ComponentType.NORTHBOUND_REPLY_BOLT, Stream.NORTHBOUND_REPLY);
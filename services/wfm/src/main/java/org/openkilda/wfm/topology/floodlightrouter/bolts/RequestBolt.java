@@ -15,13 +15,10 @@
 
 package org.openkilda.wfm.topology.floodlightrouter.bolts;
 
-import static org.openkilda.messaging.Utils.MAPPER;
-
-import org.openkilda.messaging.Message;
 import org.openkilda.model.SwitchId;
-
 import org.openkilda.wfm.topology.AbstractTopology;
 import org.openkilda.wfm.topology.floodlightrouter.Stream;
+import org.openkilda.wfm.topology.floodlightrouter.service.RequestRouteExtractor;
 import org.openkilda.wfm.topology.floodlightrouter.service.RouterUtils;
 import org.openkilda.wfm.topology.floodlightrouter.service.SwitchMapping;
 import org.openkilda.wfm.topology.floodlightrouter.service.SwitchTracker;
@@ -38,6 +35,7 @@ import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
+import java.io.IOException;
 import java.util.Map;
 import java.util.Set;
 
@@ -65,9 +63,7 @@ public class RequestBolt extends BaseStatefulBolt<InMemoryKeyValueState<String,
                         AbstractTopology.MESSAGE_FIELD));
             } else {
                 String json = pullRequest(input);
-                Message message = MAPPER.readValue(json, Message.class);
-
-                SwitchId switchId = RouterUtils.lookupSwitchIdInCommandMessage(message);
+                SwitchId switchId = lookupSwitchId(input, json);
                 if (switchId != null) {
                     String region = switchTracker.lookupRegion(switchId);
                     if (region != null) {
@@ -87,6 +83,18 @@ public class RequestBolt extends BaseStatefulBolt<InMemoryKeyValueState<String,
         }
     }
 
+    /**
+     * Looks for the target switch in the record key, falls back to scanning of the request if the key is not a
+     * switch id.
+     */
+    protected SwitchId lookupSwitchId(Tuple input, String json) throws IOException {
+        SwitchId switchId = RouterUtils.lookupSwitchIdInKey(pullRequestKey(input));
+        if (switchId == null) {
+            switchId = RequestRouteExtractor.extract(json).getSwitchId();
+        }
+        return switchId;
+    }
+
     protected void proxyRequestToSpeaker(Tuple input, String region) {
         String targetStream = Stream.formatWithRegion(outputStream, region);
         String key = pullRequestKey(input);
@@ -27,6 +27,8 @@ import org.openkilda.messaging.error.ErrorType;
 import org.openkilda.model.SwitchId;
 import org.openkilda.wfm.topology.AbstractTopology;
 import org.openkilda.wfm.topology.floodlightrouter.Stream;
+import org.openkilda.wfm.topology.floodlightrouter.service.RequestRoute;
+import org.openkilda.wfm.topology.floodlightrouter.service.RequestRouteExtractor;
 import org.openkilda.wfm.topology.floodlightrouter.service.RouterUtils;
 import org.openkilda.wfm.topology.floodlightrouter.service.SwitchMapping;
 
@@ -55,27 +57,24 @@ public class SpeakerRequestBolt extends RequestBolt {
                         AbstractTopology.MESSAGE_FIELD));
             } else {
                 String json = pullRequest(input);
-                Message message = MAPPER.readValue(json, Message.class);
-                if (RouterUtils.isBroadcast(message)) {
+                SwitchId switchId = RouterUtils.lookupSwitchIdInKey(pullRequestKey(input));
+                RequestRoute route = switchId != null ? RequestRoute.of(switchId) : RequestRouteExtractor.extract(json);
+                if (route.isBroadcast()) {
                     for (String region : regions) {
                         proxyRequestToSpeaker(input, region);
                     }
-                } else {
-                    SwitchId switchId = RouterUtils.lookupSwitchIdInCommandMessage(message);
-                    if (switchId != null) {
-                        String region = switchTracker.lookupRegion(switchId);
-                        if (region != null) {
-                            proxyRequestToSpeaker(input, region);
-                        } else {
-                            if (message instanceof CommandMessage) {
-                                processNotFoundError((CommandMessage) message, switchId, input, json);
-                            }
-
-                        }
-
+                } else if (route.getSwitchId() != null) {
+                    String region = switchTracker.lookupRegion(route.getSwitchId());
+                    if (region != null) {
+                        proxyRequestToSpeaker(input, region);
                     } else {
-                        log.error("Unable to lookup region for message: {}", json);
+                        Message message = MAPPER.readValue(json, Message.class);
+                        if (message instanceof CommandMessage) {
+                            processNotFoundError((CommandMessage) message, route.getSwitchId(), input, json);
+                        }
                     }
+                } else {
+                    log.error("Unable to lookup region for message: {}", json);
                 }
             }
         } catch (Exception e) {
@@ -0,0 +1,45 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.topology.floodlightrouter.service;
+
+import org.openkilda.model.SwitchId;
+
+import lombok.Value;
+
+/**
+ * Target of a speaker request: either all regions or the region of the switch.
+ */
+@Value
+public class RequestRoute {
+    private static final RequestRoute BROADCAST = new RequestRoute(true, null);
+    private static final RequestRoute UNKNOWN = new RequestRoute(false, null);
+
+    private boolean broadcast;
+    private SwitchId switchId;
+
+    public static RequestRoute broadcast() {
+        return BROADCAST;
+    }
+
+    public static RequestRoute unknown() {
+        return UNKNOWN;
+    }
+
+    public static RequestRoute of(SwitchId switchId) {
+        return switchId != null ? new RequestRoute(false, switchId) : UNKNOWN;
+    }
+}
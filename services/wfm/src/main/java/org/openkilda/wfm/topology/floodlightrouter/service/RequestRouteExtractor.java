@@ -0,0 +1,243 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.topology.floodlightrouter.service;
+
+import static org.openkilda.messaging.Utils.MAPPER;
+
+import org.openkilda.messaging.command.CommandData;
+import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
+import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
+import org.openkilda.messaging.command.discovery.DiscoverPathCommandData;
+import org.openkilda.messaging.command.flow.BaseInstallFlow;
+import org.openkilda.messaging.command.flow.BatchInstallForSwitchManagerRequest;
+import org.openkilda.messaging.command.flow.BatchInstallRequest;
+import org.openkilda.messaging.command.flow.DeleteMeterRequest;
+import org.openkilda.messaging.command.flow.MeterModifyCommandRequest;
+import org.openkilda.messaging.command.flow.RemoveFlow;
+import org.openkilda.messaging.command.switches.DumpMetersForSwitchManagerRequest;
+import org.openkilda.messaging.command.switches.DumpMetersRequest;
+import org.openkilda.messaging.command.switches.DumpPortDescriptionRequest;
+import org.openkilda.messaging.command.switches.DumpRulesForSwitchManagerRequest;
+import org.openkilda.messaging.command.switches.DumpRulesRequest;
+import org.openkilda.messaging.command.switches.DumpSwitchPortsDescriptionRequest;
+import org.openkilda.messaging.command.switches.PortConfigurationRequest;
+import org.openkilda.messaging.command.switches.SwitchRulesDeleteRequest;
+import org.openkilda.messaging.command.switches.SwitchRulesInstallRequest;
+import org.openkilda.messaging.command.switches.ValidateRulesRequest;
+import org.openkilda.messaging.floodlight.request.PingRequest;
+import org.openkilda.messaging.floodlight.request.RemoveBfdSession;
+import org.openkilda.messaging.floodlight.request.SetupBfdSession;
+import org.openkilda.model.SwitchId;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Finds the route of a serialized speaker request with a streaming scan, without building the message object.
+ * <p/>
+ * Only the type of the command and the fields which may hold the target switch are read, other parts of the
+ * message are skipped. The switch lookup follows {@link RouterUtils#lookupSwitchIdInCommandMessage}.
+ */
+@Slf4j
+public final class RequestRouteExtractor {
+    private static final String TYPE_FIELD = "clazz";
+    private static final String PAYLOAD_FIELD = "payload";
+    private static final String PATH_SEPARATOR = "/";
+
+    private static final String SWITCH_ID_PATH = "switch_id";
+    private static final Map<Class<?>, String> SWITCH_PATHS = new HashMap<>();
+    private static final Set<String> NESTED_PATHS = new HashSet<>();
+
+    static {
+        for (Class<?> type : Arrays.asList(
+                BaseInstallFlow.class, RemoveFlow.class, DiscoverIslCommandData.class, DiscoverIslBatchCommandData.class,
+                SwitchRulesDeleteRequest.class, SwitchRulesInstallRequest.class, DumpRulesRequest.class,
+                BatchInstallRequest.class, DeleteMeterRequest.class, PortConfigurationRequest.class,
+                DumpSwitchPortsDescriptionRequest.class, DumpPortDescriptionRequest.class, DumpMetersRequest.class,
+                ValidateRulesRequest.class, DumpRulesForSwitchManagerRequest.class,
+                BatchInstallForSwitchManagerRequest.class, DumpMetersForSwitchManagerRequest.class)) {
+            SWITCH_PATHS.put(type, SWITCH_ID_PATH);
+        }
+        SWITCH_PATHS.put(DiscoverPathCommandData.class, "source_switch_id");
+        SWITCH_PATHS.put(MeterModifyCommandRequest.class, "fwd_switch_id");
+        SWITCH_PATHS.put(PingRequest.class, "ping/source/switch-id");
+        SWITCH_PATHS.put(SetupBfdSession.class, "bfd-session/target/datapath");
+        SWITCH_PATHS.put(RemoveBfdSession.class, "bfd-session/target/datapath");
+
+        for (String path : SWITCH_PATHS.values()) {
+            for (int end = path.indexOf(PATH_SEPARATOR); end > 0; end = path.indexOf(PATH_SEPARATOR, end + 1)) {
+                NESTED_PATHS.add(path.substring(0, end));
+            }
+        }
+    }
+
+    private static final ConcurrentMap<String, Class<?>> TYPES = new ConcurrentHashMap<>();
+
+    private static final JsonFactory JSON_FACTORY = MAPPER.getFactory();
+
+    private RequestRouteExtractor() {}
+
+    /**
+     * Extracts the route of the request.
+     *
+     * @param json serialized message
+     * @return the route, {@link RequestRoute#unknown()} if the message is not a command or has no target switch
+     */
+    public static RequestRoute extract(String json) throws IOException {
+        String messageType = null;
+        PayloadScan payload = null;
+
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return RequestRoute.unknown();
+            }
+            JsonStreamContext messageContext = parser.getParsingContext();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if (TYPE_FIELD.equals(field) && value == JsonToken.VALUE_STRING) {
+                    messageType = parser.getText();
+                } else if (PAYLOAD_FIELD.equals(field) && value == JsonToken.START_OBJECT) {
+                    payload = new PayloadScan();
+                    if (payload.readObject(parser, "") && messageType == null) {
+                        // The rest of the payload is not needed, but the message type is still unknown.
+                        while (parser.getParsingContext() != messageContext) {
+                            parser.nextToken();
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+
+                if (messageType != null && payload != null) {
+                    break;
+                }
+            }
+        }
+
+        if (payload == null || !isCommandMessage(messageType)) {
+            return RequestRoute.unknown();
+        }
+        return payload.getRoute();
+    }
+
+    private static boolean isCommandMessage(String messageType) {
+        Class<?> type = lookupType(messageType);
+        return type != null && CommandMessage.class.isAssignableFrom(type);
+    }
+
+    private static String getSwitchPath(Class<?> commandType) {
+        for (Class<?> type = commandType; type != null && type != CommandData.class; type = type.getSuperclass()) {
+            String path = SWITCH_PATHS.get(type);
+            if (path != null) {
+                return path;
+            }
+        }
+        return null;
+    }
+
+    private static Class<?> lookupType(String name) {
+        if (name == null) {
+            return null;
+        }
+        Class<?> type = TYPES.get(name);
+        if (type == null) {
+            try {
+                type = Class.forName(name);
+                TYPES.put(name, type);
+            } catch (ClassNotFoundException e) {
+                log.warn("Unknown message type {}", name);
+            }
+        }
+        return type;
+    }
+
+    /**
+     * Reads the payload until the route is known. Values which may hold the switch are collected until the type of
+     * the command is known, as the type field is not guaranteed to go first.
+     */
+    private static class PayloadScan {
+        private final Map<String, String> values = new HashMap<>();
+        private Class<?> commandType;
+        private String switchPath;
+        private RequestRoute route;
+
+        /**
+         * Reads the object fields, stops as soon as the route is found.
+         *
+         * @return true if the route is found and the object is left partially read
+         */
+        boolean readObject(JsonParser parser, String prefix) throws IOException {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String path = prefix + parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if (value == JsonToken.VALUE_STRING) {
+                    if (handleValue(path, parser.getText())) {
+                        return true;
+                    }
+                } else if (value == JsonToken.START_OBJECT && NESTED_PATHS.contains(path)) {
+                    if (readObject(parser, path + PATH_SEPARATOR)) {
+                        return true;
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return false;
+        }
+
+        RequestRoute getRoute() {
+            return route != null ? route : RequestRoute.unknown();
+        }
+
+        private boolean handleValue(String path, String value) {
+            if (commandType == null && TYPE_FIELD.equals(path)) {
+                commandType = lookupType(value);
+                if (commandType == null) {
+                    route = RequestRoute.unknown();
+                } else if (RouterUtils.isBroadcast(commandType)) {
+                    route = RequestRoute.broadcast();
+                } else {
+                    switchPath = getSwitchPath(commandType);
+                    if (switchPath == null) {
+                        route = RequestRoute.unknown();
+                    } else if (values.containsKey(switchPath)) {
+                        route = RequestRoute.of(new SwitchId(values.get(switchPath)));
+                    }
+                }
+            } else if (commandType == null) {
+                values.put(path, value);
+            } else if (path.equals(switchPath)) {
+                route = RequestRoute.of(new SwitchId(value));
+            }
+            return route != null;
+        }
+    }
+}
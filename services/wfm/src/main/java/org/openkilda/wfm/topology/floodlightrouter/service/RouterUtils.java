@@ -18,6 +18,7 @@ package org.openkilda.wfm.topology.floodlightrouter.service;
 import org.openkilda.messaging.Message;
 import org.openkilda.messaging.command.CommandData;
 import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverPathCommandData;
 import org.openkilda.messaging.command.discovery.PortsCommandData;
@@ -44,8 +45,10 @@ import org.openkilda.messaging.floodlight.request.RemoveBfdSession;
 import org.openkilda.messaging.floodlight.request.SetupBfdSession;
 import org.openkilda.model.SwitchId;
 
-public final class RouterUtils {
+import java.util.regex.Pattern;
 
+public final class RouterUtils {
+    private static final Pattern SWITCH_ID_KEY = Pattern.compile("([0-9a-fA-F]{2}:){7}[0-9a-fA-F]{2}");
 
     private  RouterUtils(){}
 
@@ -57,15 +60,35 @@ public final class RouterUtils {
     public static boolean isBroadcast(Message message) {
         if (message instanceof CommandMessage) {
             CommandData commandData = ((CommandMessage) message).getData();
-            if (commandData instanceof PortsCommandData
-                     || commandData instanceof ConnectModeRequest
-                     || commandData instanceof StatsRequest) {
-                return true;
-            }
+            return commandData != null && isBroadcast(commandData.getClass());
         }
         return false;
     }
 
+    /**
+     * Checks if the commands of the type should be broadcasted among regions or not.
+     * @param commandType type of command data
+     * @return flag
+     */
+    public static boolean isBroadcast(Class<?> commandType) {
+        return PortsCommandData.class.isAssignableFrom(commandType)
+                || ConnectModeRequest.class.isAssignableFrom(commandType)
+                || StatsRequest.class.isAssignableFrom(commandType);
+    }
+
+    /**
+     * Lookup SwitchId in the Kafka record key. Producers may put the colon separated DPID of the target switch
+     * into the key, so the request can be routed without decoding.
+     * @param key - record key
+     * @return - SwitchId or null if the key is not a switch id
+     */
+    public static SwitchId lookupSwitchIdInKey(String key) {
+        if (key != null && SWITCH_ID_KEY.matcher(key).matches()) {
+            return new SwitchId(key);
+        }
+        return null;
+    }
+
     /**
      * lookup SwitchId in message object.
      * @param message - target
@@ -80,6 +103,8 @@ public final class RouterUtils {
                 return ((RemoveFlow) commandData).getSwitchId();
             } else if (commandData instanceof DiscoverIslCommandData) {
                 return ((DiscoverIslCommandData) commandData).getSwitchId();
+            } else if (commandData instanceof DiscoverIslBatchCommandData) {
+                return ((DiscoverIslBatchCommandData) commandData).getSwitchId();
             } else if (commandData instanceof PingRequest) {
                 return ((PingRequest) commandData).getPing().getSource().getDatapath();
             } else if (commandData instanceof DiscoverPathCommandData) {
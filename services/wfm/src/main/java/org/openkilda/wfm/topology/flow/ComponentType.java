@@ -97,5 +97,10 @@ public enum ComponentType {
     /**
      * History bolt.
      */
-    HISTORY_BOLT
+    HISTORY_BOLT,
+
+    /**
+     * ISL bandwidth reconciliation bolt. Periodically corrects drift of ISL available bandwidth.
+     */
+    ISL_BANDWIDTH_RECONCILIATION_BOLT
 }
@@ -20,15 +20,19 @@ import static org.openkilda.wfm.AbstractBolt.FIELD_ID_CONTEXT;
 import org.openkilda.messaging.Utils;
 import org.openkilda.pce.PathComputerConfig;
 import org.openkilda.persistence.PersistenceManager;
+import org.openkilda.persistence.history.FlowEventLogConfig;
+import org.openkilda.persistence.history.FlowEventLogPersistenceManager;
 import org.openkilda.persistence.spi.PersistenceProvider;
 import org.openkilda.wfm.CtrlBoltRef;
 import org.openkilda.wfm.LaunchEnvironment;
 import org.openkilda.wfm.error.NameCollisionException;
+import org.openkilda.wfm.kafka.NorthboundReplyTopicSelector;
 import org.openkilda.wfm.share.bolt.HistoryBolt;
 import org.openkilda.wfm.share.flow.resources.FlowResourcesConfig;
 import org.openkilda.wfm.topology.AbstractTopology;
 import org.openkilda.wfm.topology.flow.bolts.CrudBolt;
 import org.openkilda.wfm.topology.flow.bolts.ErrorBolt;
+import org.openkilda.wfm.topology.flow.bolts.IslBandwidthReconciliationBolt;
 import org.openkilda.wfm.topology.flow.bolts.NorthboundReplyBolt;
 import org.openkilda.wfm.topology.flow.bolts.SpeakerBolt;
 import org.openkilda.wfm.topology.flow.bolts.SplitterBolt;
@@ -56,6 +60,8 @@ public class FlowTopology extends AbstractTopology<FlowTopologyConfig> {
             new Fields(Utils.FLOW_ID, FLOW_STATUS_FIELD, FIELD_ID_CONTEXT);
     public static final Fields fieldsMessageFlowId = new Fields(MESSAGE_FIELD, Utils.FLOW_ID);
     public static final Fields fieldsMessageErrorType = new Fields(MESSAGE_FIELD, ERROR_TYPE_FIELD);
+    // The key is the target switch, so the router can dispatch speaker requests without decoding them.
+    public static final Fields fieldsMessageSwitchKey = new Fields(MESSAGE_FIELD, KEY_FIELD);
 
     public FlowTopology(LaunchEnvironment env) {
         super(env, FlowTopologyConfig.class);
@@ -110,7 +116,9 @@ public class FlowTopology extends AbstractTopology<FlowTopologyConfig> {
                 // tackle during multi instance testing
                 .fieldsGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.DEALLOCATE_RESOURCES.toString(),
                         fieldFlowId)
-                .fieldsGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.STATUS.toString(), fieldFlowId);
+                .fieldsGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.STATUS.toString(), fieldFlowId)
+                // each task keeps own network snapshot
+                .allGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.NETWORK_CHANGE.toString());
         ctrlTargets.add(new CtrlBoltRef(ComponentType.CRUD_BOLT.toString(), crudBolt, boltSetup));
 
         /*
@@ -174,17 +182,28 @@ public class FlowTopology extends AbstractTopology<FlowTopologyConfig> {
         /*
          * Bolt sends Northbound responses
          */
-        KafkaBolt northboundKafkaBolt = createKafkaBolt(topologyConfig.getKafkaNorthboundTopic());
+        String northboundTopic = topologyConfig.getKafkaNorthboundTopic();
+        KafkaBolt northboundKafkaBolt = createKafkaBolt(northboundTopic)
+                .withTopicSelector(new NorthboundReplyTopicSelector(northboundTopic));
         builder.setBolt(ComponentType.NORTHBOUND_KAFKA_BOLT.toString(), northboundKafkaBolt, parallelism)
                 .shuffleGrouping(ComponentType.NORTHBOUND_REPLY_BOLT.toString(), StreamType.RESPONSE.toString());
 
         /*
          * Bolt saves History data
          */
-        HistoryBolt historyBolt = new HistoryBolt(persistenceManager);
+        HistoryBolt historyBolt = new HistoryBolt(FlowEventLogPersistenceManager.wrapIfEnabled(persistenceManager,
+                configurationProvider.getConfiguration(FlowEventLogConfig.class)));
         builder.setBolt(ComponentType.HISTORY_BOLT.toString(), historyBolt, parallelism)
                 .shuffleGrouping(ComponentType.CRUD_BOLT.toString(), StreamType.HISTORY.toString());
 
+        /*
+         * Bolt periodically reconciles ISL available bandwidth, it must be the only instance.
+         */
+        IslBandwidthReconciliationBolt islBandwidthReconciliationBolt = new IslBandwidthReconciliationBolt(
+                persistenceManager, topologyConfig.getIslBandwidthReconciliationInterval());
+        builder.setBolt(ComponentType.ISL_BANDWIDTH_RECONCILIATION_BOLT.toString(),
+                islBandwidthReconciliationBolt, 1);
+
         createCtrlBranch(builder, ctrlTargets);
 
         return builder.createTopology();
@@ -32,6 +32,10 @@ public interface FlowTopologyConfig extends AbstractTopologyConfig {
     @Converter(DurationConverter.class)
     Duration getCommandTransactionExpirationTime();
 
+    @Key("isl.bandwidth.reconciliation.interval.seconds")
+    @Default("300")
+    int getIslBandwidthReconciliationInterval();
+
     default String getKafkaFlowTopic() {
         return getKafkaTopics().getFlowTopic();
     }
@@ -92,5 +92,10 @@ public enum StreamType {
     /**
      * History messages.
      */
-    HISTORY;
+    HISTORY,
+
+    /**
+     * ISL and switch status changes made by the network topology.
+     */
+    NETWORK_CHANGE;
 }
@@ -42,6 +42,7 @@ import org.openkilda.messaging.error.ErrorType;
 import org.openkilda.messaging.error.MessageException;
 import org.openkilda.messaging.info.ChunkedInfoMessage;
 import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.event.NetworkTopologyChange;
 import org.openkilda.messaging.info.event.PathInfoData;
 import org.openkilda.messaging.info.flow.FlowInfoData;
 import org.openkilda.messaging.info.flow.FlowOperation;
@@ -62,8 +63,10 @@ import org.openkilda.model.history.FlowDump;
 import org.openkilda.model.history.FlowEvent;
 import org.openkilda.model.history.FlowHistory;
 import org.openkilda.pce.AvailableNetworkFactory;
+import org.openkilda.pce.NetworkSnapshotManager;
 import org.openkilda.pce.PathComputerConfig;
 import org.openkilda.pce.PathComputerFactory;
+import org.openkilda.pce.PathPair;
 import org.openkilda.pce.exception.UnroutableFlowException;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.repositories.RepositoryFactory;
@@ -96,16 +99,20 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.annotations.VisibleForTesting;
 import lombok.NonNull;
+import org.apache.storm.Config;
 import org.apache.storm.task.OutputCollector;
 import org.apache.storm.task.TopologyContext;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.topology.base.BaseRichBolt;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
+import org.apache.storm.utils.TupleUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -117,6 +124,10 @@ public class CrudBolt extends BaseRichBolt implements ICtrlBolt {
 
     private static final Logger logger = LoggerFactory.getLogger(CrudBolt.class);
 
+    private static final int REROUTE_BATCH_MAX_SIZE = 100;
+
+    private static final int REROUTE_BATCH_FLUSH_INTERVAL_SECS = 1;
+
     private final PersistenceManager persistenceManager;
 
     private final PathComputerConfig pathComputerConfig;
@@ -140,6 +151,9 @@ public class CrudBolt extends BaseRichBolt implements ICtrlBolt {
     private transient TopologyContext context;
     private transient OutputCollector outputCollector;
 
+    private transient List<Tuple> pendingReroutes;
+    private transient Map<String, PathPair> reroutePaths;
+
     public CrudBolt(PersistenceManager persistenceManager, PathComputerConfig pathComputerConfig,
                     FlowResourcesConfig flowResourcesConfig) {
         this.persistenceManager = persistenceManager;
@@ -170,20 +184,36 @@ public class CrudBolt extends BaseRichBolt implements ICtrlBolt {
     public void prepare(Map map, TopologyContext topologyContext, OutputCollector outputCollector) {
         this.context = topologyContext;
         this.outputCollector = outputCollector;
+        this.pendingReroutes = new ArrayList<>();
+        this.reroutePaths = new HashMap<>();
 
         repositoryFactory = persistenceManager.getRepositoryFactory();
         flowValidator = new FlowValidator(repositoryFactory);
+        NetworkSnapshotManager networkSnapshotManager = pathComputerConfig.isNetworkSnapshotEnabled()
+                ? new NetworkSnapshotManager(pathComputerConfig, repositoryFactory) : null;
         AvailableNetworkFactory availableNetworkFactory =
-                new AvailableNetworkFactory(pathComputerConfig, repositoryFactory);
+                new AvailableNetworkFactory(pathComputerConfig, repositoryFactory, networkSnapshotManager);
         pathComputerFactory = new PathComputerFactory(pathComputerConfig, availableNetworkFactory);
         commandFactory = new FlowCommandFactory();
 
-        flowResourcesManager = new FlowResourcesManager(persistenceManager, flowResourcesConfig);
+        flowResourcesManager = new FlowResourcesManager(persistenceManager, flowResourcesConfig,
+                topologyContext.getThisTaskIndex(),
+                topologyContext.getComponentTasks(topologyContext.getThisComponentId()).size());
         flowService = new FlowService(persistenceManager, pathComputerFactory, flowResourcesManager,
-                flowValidator, commandFactory);
+                flowValidator, commandFactory, networkSnapshotManager);
         featureTogglesService = new FeatureTogglesService(persistenceManager.getRepositoryFactory());
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Object> getComponentConfiguration() {
+        Config conf = new Config();
+        conf.put(Config.TOPOLOGY_TICK_TUPLE_FREQ_SECS, REROUTE_BATCH_FLUSH_INTERVAL_SECS);
+        return conf;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -193,6 +223,79 @@ public class CrudBolt extends BaseRichBolt implements ICtrlBolt {
             return;
         }
 
+        if (TupleUtils.isTick(tuple)) {
+            flushReroutes();
+            outputCollector.ack(tuple);
+            return;
+        }
+
+        if (isNetworkChange(tuple)) {
+            // Applied at once, so the buffered reroutes are computed over the updated network snapshot.
+            handleNetworkChange(tuple);
+            return;
+        }
+
+        if (isRerouteRequest(tuple)) {
+            // Reroutes come in bursts after network events, so their paths are computed in batches.
+            pendingReroutes.add(tuple);
+            if (pendingReroutes.size() >= REROUTE_BATCH_MAX_SIZE) {
+                flushReroutes();
+            }
+            return;
+        }
+
+        // Buffered reroutes go first to keep the order of requests.
+        flushReroutes();
+        handleTuple(tuple);
+    }
+
+    private boolean isNetworkChange(Tuple tuple) {
+        return ComponentType.SPLITTER_BOLT.toString().equals(tuple.getSourceComponent())
+                && StreamType.NETWORK_CHANGE.toString().equals(tuple.getSourceStreamId());
+    }
+
+    private void handleNetworkChange(Tuple tuple) {
+        try {
+            InfoMessage message = (InfoMessage) tuple.getValueByField(AbstractTopology.MESSAGE_FIELD);
+            flowService.handleNetworkTopologyChange((NetworkTopologyChange) message.getData());
+        } catch (Exception e) {
+            logger.error("Failed to apply network topology change {}", tuple, e);
+        } finally {
+            outputCollector.ack(tuple);
+        }
+    }
+
+    private boolean isRerouteRequest(Tuple tuple) {
+        return ComponentType.SPLITTER_BOLT.toString().equals(tuple.getSourceComponent())
+                && StreamType.REROUTE.toString().equals(tuple.getSourceStreamId());
+    }
+
+    private void flushReroutes() {
+        if (pendingReroutes.isEmpty()) {
+            return;
+        }
+
+        List<Tuple> batch = pendingReroutes;
+        pendingReroutes = new ArrayList<>();
+
+        List<String> flowIds = batch.stream()
+                .map(tuple -> tuple.getStringByField(Utils.FLOW_ID))
+                .collect(Collectors.toList());
+        try {
+            reroutePaths = new HashMap<>(flowService.computeReroutePaths(flowIds));
+        } catch (Exception e) {
+            logger.error("Failed to compute paths for {} rerouted flows, paths will be computed per flow",
+                    flowIds.size(), e);
+        }
+
+        try {
+            batch.forEach(this::handleTuple);
+        } finally {
+            reroutePaths = new HashMap<>();
+        }
+    }
+
+    private void handleTuple(Tuple tuple) {
         logger.debug("Request tuple={}", tuple);
 
         ComponentType componentId = ComponentType.valueOf(tuple.getSourceComponent());
@@ -528,7 +631,7 @@ public class CrudBolt extends BaseRichBolt implements ICtrlBolt {
 
         try {
             ReroutedFlowPaths reroutedFlowPaths = flowService.rerouteFlow(
-                    flowId, request.isForce(), request.getPathIds(),
+                    flowId, request.isForce(), request.getPathIds(), reroutePaths.remove(flowId),
                     new FlowCommandSenderImpl(message.getCorrelationId(), tuple, StreamType.UPDATE));
 
             logger.warn("Rerouted flow with new path: {}", reroutedFlowPaths.getNewFlowPaths());
@@ -0,0 +1,70 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.flow.bolts;
+
+import org.openkilda.persistence.PersistenceManager;
+import org.openkilda.wfm.topology.flow.service.IslBandwidthReconciliationService;
+import org.openkilda.wfm.topology.utils.AbstractTickRichBolt;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
+import org.apache.storm.topology.OutputFieldsDeclarer;
+import org.apache.storm.tuple.Tuple;
+
+import java.util.Map;
+
+/**
+ * Periodically reconciles ISL available bandwidth with the flow paths occupying ISLs.
+ *
+ * @see IslBandwidthReconciliationService
+ */
+@Slf4j
+public class IslBandwidthReconciliationBolt extends AbstractTickRichBolt {
+    private final PersistenceManager persistenceManager;
+    private transient IslBandwidthReconciliationService service;
+
+    public IslBandwidthReconciliationBolt(PersistenceManager persistenceManager, int intervalSeconds) {
+        super(intervalSeconds);
+        this.persistenceManager = persistenceManager;
+    }
+
+    @Override
+    public void prepare(Map conf, TopologyContext context, OutputCollector collector) {
+        service = new IslBandwidthReconciliationService(persistenceManager);
+        super.prepare(conf, context, collector);
+    }
+
+    @Override
+    protected void doTick(Tuple tuple) {
+        try {
+            service.reconcile();
+        } catch (Exception e) {
+            log.error("Failed to reconcile ISL available bandwidth", e);
+        } finally {
+            outputCollector.ack(tuple);
+        }
+    }
+
+    @Override
+    protected void doWork(Tuple tuple) {
+        outputCollector.ack(tuple);
+    }
+
+    @Override
+    public void declareOutputFields(OutputFieldsDeclarer declarer) {
+    }
+}
@@ -33,6 +33,7 @@ import org.openkilda.messaging.command.flow.MeterModifyRequest;
 import org.openkilda.messaging.command.flow.UpdateFlowPathStatusRequest;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.event.NetworkTopologyChange;
 import org.openkilda.messaging.info.flow.FlowInfoData;
 import org.openkilda.messaging.info.flow.FlowOperation;
 import org.openkilda.wfm.topology.flow.FlowTopology;
@@ -131,6 +132,11 @@ public class SplitterBolt extends BaseRichBolt {
                         logger.warn("Skip undefined FlowInfoData Operation {}: {}={}",
                                 fid.getOperation(), Utils.CORRELATION_ID, message.getCorrelationId());
                     }
+                } else if (data instanceof NetworkTopologyChange) {
+                    logger.debug("Network topology change message: values={}", values);
+
+                    values = new Values(message, null);
+                    outputCollector.emit(StreamType.NETWORK_CHANGE.toString(), tuple, values);
                 } else {
                     logger.warn("Skip undefined InfoMessage: {}={}", Utils.CORRELATION_ID, message.getCorrelationId());
                 }
@@ -251,6 +257,7 @@ public class SplitterBolt extends BaseRichBolt {
         outputFieldsDeclarer.declareStream(StreamType.DEALLOCATE_RESOURCES.toString(),
                 FlowTopology.fieldsMessageFlowId);
         outputFieldsDeclarer.declareStream(StreamType.STATUS.toString(), FlowTopology.fieldsMessageFlowId);
+        outputFieldsDeclarer.declareStream(StreamType.NETWORK_CHANGE.toString(), FlowTopology.fieldsMessageFlowId);
     }
 
     /**
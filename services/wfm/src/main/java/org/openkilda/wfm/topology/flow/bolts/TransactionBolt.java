@@ -185,7 +185,10 @@ public class TransactionBolt extends AbstractTickStatefulBolt<InMemoryKeyValueSt
                     CommandMessage message = new CommandMessage(command, System.currentTimeMillis(), correlationId,
                             Destination.CONTROLLER);
                     StreamType streamId = command instanceof BaseInstallFlow ? StreamType.CREATE : StreamType.DELETE;
-                    outputCollector.emit(streamId.toString(), tuple, new Values(MAPPER.writeValueAsString(message)));
+                    SwitchId switchId = command instanceof BaseFlow
+                            ? ((BaseFlow) command).getSwitchId() : ((DeleteMeterRequest) command).getSwitchId();
+                    outputCollector.emit(streamId.toString(), tuple,
+                            new Values(MAPPER.writeValueAsString(message), switchId.toString()));
                 } else {
                     CommandMessage message = new CommandMessage(command, System.currentTimeMillis(), correlationId);
                     // Send to the default stream.
@@ -301,8 +304,8 @@ public class TransactionBolt extends AbstractTickStatefulBolt<InMemoryKeyValueSt
      */
     @Override
     public void declareOutputFields(OutputFieldsDeclarer outputFieldsDeclarer) {
-        outputFieldsDeclarer.declareStream(StreamType.CREATE.toString(), FlowTopology.fieldMessage);
-        outputFieldsDeclarer.declareStream(StreamType.DELETE.toString(), FlowTopology.fieldMessage);
+        outputFieldsDeclarer.declareStream(StreamType.CREATE.toString(), FlowTopology.fieldsMessageSwitchKey);
+        outputFieldsDeclarer.declareStream(StreamType.DELETE.toString(), FlowTopology.fieldsMessageSwitchKey);
         outputFieldsDeclarer.declare(FlowTopology.fieldMessage);
         // FIXME(dbogun): use proper tuple format
         outputFieldsDeclarer.declareStream(STREAM_ID_CTRL, AbstractTopology.fieldMessage);
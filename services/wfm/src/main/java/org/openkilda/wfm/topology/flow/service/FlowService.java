@@ -17,6 +17,7 @@ package org.openkilda.wfm.topology.flow.service;
 
 import static java.lang.String.format;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static org.apache.commons.collections4.ListUtils.union;
 
@@ -28,6 +29,7 @@ import org.openkilda.messaging.command.flow.InstallTransitFlow;
 import org.openkilda.messaging.command.flow.RemoveFlow;
 import org.openkilda.messaging.command.flow.UpdateFlowPathStatusRequest;
 import org.openkilda.messaging.error.ErrorType;
+import org.openkilda.messaging.info.event.NetworkTopologyChange;
 import org.openkilda.model.Cookie;
 import org.openkilda.model.Flow;
 import org.openkilda.model.FlowEncapsulationType;
@@ -35,12 +37,15 @@ import org.openkilda.model.FlowPair;
 import org.openkilda.model.FlowPath;
 import org.openkilda.model.FlowPathStatus;
 import org.openkilda.model.FlowStatus;
+import org.openkilda.model.Isl;
+import org.openkilda.model.IslStatus;
 import org.openkilda.model.PathId;
 import org.openkilda.model.PathSegment;
 import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
 import org.openkilda.model.TransitVlan;
 import org.openkilda.model.UnidirectionalFlow;
+import org.openkilda.pce.NetworkSnapshotManager;
 import org.openkilda.pce.Path;
 import org.openkilda.pce.PathComputer;
 import org.openkilda.pce.PathComputerFactory;
@@ -86,11 +91,13 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -107,10 +114,22 @@ public class FlowService extends BaseFlowService {
     private final FlowResourcesManager flowResourcesManager;
     private final FlowValidator flowValidator;
     private final FlowCommandFactory flowCommandFactory;
+    private final NetworkSnapshotManager networkSnapshotManager;
 
     public FlowService(@NonNull PersistenceManager persistenceManager, @NonNull PathComputerFactory pathComputerFactory,
                        @NonNull FlowResourcesManager flowResourcesManager, @NonNull FlowValidator flowValidator,
                        @NonNull FlowCommandFactory flowCommandFactory) {
+        this(persistenceManager, pathComputerFactory, flowResourcesManager, flowValidator, flowCommandFactory, null);
+    }
+
+    /**
+     * Constructs the service which propagates ISL bandwidth changes into the network snapshot used by PCE.
+     *
+     * @param networkSnapshotManager the snapshot manager to notify, null if PCE reads the network from DB.
+     */
+    public FlowService(@NonNull PersistenceManager persistenceManager, @NonNull PathComputerFactory pathComputerFactory,
+                       @NonNull FlowResourcesManager flowResourcesManager, @NonNull FlowValidator flowValidator,
+                       @NonNull FlowCommandFactory flowCommandFactory, NetworkSnapshotManager networkSnapshotManager) {
         super(persistenceManager);
         RepositoryFactory repositoryFactory = persistenceManager.getRepositoryFactory();
         switchRepository = repositoryFactory.createSwitchRepository();
@@ -120,6 +139,7 @@ public class FlowService extends BaseFlowService {
         this.flowResourcesManager = flowResourcesManager;
         this.flowValidator = flowValidator;
         this.flowCommandFactory = flowCommandFactory;
+        this.networkSnapshotManager = networkSnapshotManager;
     }
 
     /**
@@ -175,8 +195,8 @@ public class FlowService extends BaseFlowService {
                         // Store the flow and both paths
                         flowRepository.createOrUpdate(flowWithPaths);
 
-                        updateIslsForFlowPath(flowPathPair.getForward());
-                        updateIslsForFlowPath(flowPathPair.getReverse());
+                        reserveComputedPath(flowPathPair.getForward());
+                        reserveComputedPath(flowPathPair.getReverse());
 
                         FlowResources protectedFlowResources = null;
                         if (flowWithPaths.isAllocateProtectedPath()) {
@@ -221,13 +241,15 @@ public class FlowService extends BaseFlowService {
 
         checkProtectedPathsDontOverlapsWithPrimary(flow, pathPair);
 
+        flowPathRepository.lockInvolvedSwitches(pathPair.getForward(), pathPair.getReverse());
+
         flow.setProtectedForwardPath(pathPair.getForward());
         flow.setProtectedReversePath(pathPair.getReverse());
 
         flowRepository.createOrUpdate(flow);
 
-        updateIslsForFlowPath(flow.getProtectedForwardPath());
-        updateIslsForFlowPath(flow.getProtectedReversePath());
+        reserveComputedPath(flow.getProtectedForwardPath());
+        reserveComputedPath(flow.getProtectedReversePath());
 
         return flowResources;
     }
@@ -268,8 +290,8 @@ public class FlowService extends BaseFlowService {
             // Store the flow and both paths
             flowRepository.createOrUpdate(flowWithPaths);
 
-            updateIslsForFlowPath(flowWithPaths.getForwardPath());
-            updateIslsForFlowPath(flowWithPaths.getReversePath());
+            reserveBandwidth(flowWithPaths.getForwardPath());
+            reserveBandwidth(flowWithPaths.getReversePath());
 
             return buildFlowPathsWithEncapsulation(flowWithPaths, flowResources, null);
         });
@@ -306,7 +328,7 @@ public class FlowService extends BaseFlowService {
             // Remove flow and all associated paths
             flowRepository.delete(flow);
 
-            flowPathWithEncapsulations.forEach(flowPath -> updateIslsForFlowPath(flowPath.getFlowPath()));
+            flowPathWithEncapsulations.forEach(flowPath -> releaseBandwidth(flowPath.getFlowPath()));
 
             return flowPathWithEncapsulations;
         });
@@ -402,19 +424,19 @@ public class FlowService extends BaseFlowService {
 
                         flowRepository.delete(currentFlow.getFlow());
 
-                        updateIslsForFlowPath(currentForwardPath);
-                        updateIslsForFlowPath(currentReversePath);
+                        releaseBandwidth(currentForwardPath);
+                        releaseBandwidth(currentReversePath);
                         if (currentFlow.getProtectedForwardPath() != null) {
-                            updateIslsForFlowPath(currentFlow.getProtectedForwardPath());
+                            releaseBandwidth(currentFlow.getProtectedForwardPath());
                         }
                         if (currentFlow.getProtectedReversePath() != null) {
-                            updateIslsForFlowPath(currentFlow.getProtectedReversePath());
+                            releaseBandwidth(currentFlow.getProtectedReversePath());
                         }
 
                         flowRepository.createOrUpdate(newFlowWithPaths);
 
-                        updateIslsForFlowPath(newForwardPath);
-                        updateIslsForFlowPath(newReversePath);
+                        reserveComputedPath(newForwardPath);
+                        reserveComputedPath(newReversePath);
 
                         FlowResources protectedResources = null;
                         if (newFlowWithPaths.isAllocateProtectedPath()) {
@@ -444,6 +466,33 @@ public class FlowService extends BaseFlowService {
         return result;
     }
 
+    /**
+     * Computes primary paths for flows to be rerouted together, e.g. flows affected by the same ISL failure.
+     * The network is built once for the whole batch, see {@link PathComputer#getPaths}.
+     *
+     * @param flowIds the flows to be rerouted.
+     * @return the found paths by flow id. Unroutable and missing flows are not included.
+     */
+    public Map<String, PathPair> computeReroutePaths(Collection<String> flowIds) {
+        List<Flow> flows = flowIds.stream()
+                .distinct()
+                .map(flowRepository::findById)
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .collect(Collectors.toList());
+        if (flows.size() < 2) {
+            return emptyMap();
+        }
+
+        try {
+            return pathComputerFactory.getPathComputer().getPaths(flows).getPaths();
+        } catch (RecoverableException e) {
+            log.warn("Failed to compute paths for {} flows in a batch, paths will be computed per flow",
+                    flows.size(), e);
+            return emptyMap();
+        }
+    }
+
     /**
      * Reroutes a flow via a new path. Allocates new path and resources.
      * Stores the flow entities into DB, and invokes flow rules installation and deletion via the command sender.
@@ -458,10 +507,31 @@ public class FlowService extends BaseFlowService {
     public ReroutedFlowPaths rerouteFlow(String flowId, boolean forceToReroute, Set<PathId> pathIds,
                                          FlowCommandSender sender) throws RecoverableException, UnroutableFlowException,
             FlowNotFoundException, ResourceAllocationException {
+        return rerouteFlow(flowId, forceToReroute, pathIds, null, sender);
+    }
+
+    /**
+     * Reroutes a flow via a new path, uses the primary path computed in advance by {@link #computeReroutePaths}.
+     * The precomputed path is re-checked under the switch locks, if it's not valid anymore or it's absent, the path
+     * is computed for the flow alone.
+     *
+     * @param flowId         the flow to be rerouted.
+     * @param forceToReroute if true the flow will be recreated even there's no better path found.
+     * @param pathIds        the set of path if to reroute.
+     * @param reroutePath    the precomputed primary path, null to compute it for the flow.
+     * @param sender         the command sender for flow rules installation and deletion.
+     */
+    public ReroutedFlowPaths rerouteFlow(String flowId, boolean forceToReroute, Set<PathId> pathIds,
+                                         PathPair reroutePath, FlowCommandSender sender)
+            throws RecoverableException, UnroutableFlowException, FlowNotFoundException, ResourceAllocationException {
+        // The precomputed path is used by the first attempt only, retries compute the path over the reloaded network.
+        AtomicReference<PathPair> precomputedPath = new AtomicReference<>(reroutePath);
+
         RerouteResult result = null;
         try {
             result = (RerouteResult) getFailsafe().get(() ->
-                    transactionManager.doInTransaction(() -> doReroute(flowId, forceToReroute, pathIds)));
+                    transactionManager.doInTransaction(() ->
+                            doReroute(flowId, forceToReroute, pathIds, precomputedPath.getAndSet(null))));
         } catch (FailsafeException e) {
             unwrapFaisafeException(e);
         }
@@ -485,7 +555,8 @@ public class FlowService extends BaseFlowService {
         return new ReroutedFlowPaths(result.getInitialFlow(), result.getUpdatedFlow());
     }
 
-    private RerouteResult doReroute(String flowId, boolean forceToReroute, Set<PathId> pathIds)
+    private RerouteResult doReroute(String flowId, boolean forceToReroute, Set<PathId> pathIds,
+                                    PathPair precomputedPath)
             throws FlowNotFoundException, RecoverableException, UnroutableFlowException, ResourceAllocationException {
         FlowPathsWithEncapsulation currentFlow =
                 getFlowPathPairWithEncapsulation(flowId).orElseThrow(() -> new FlowNotFoundException(flowId));
@@ -506,8 +577,13 @@ public class FlowService extends BaseFlowService {
         if (reroutePrimary) {
             log.warn("Origin flow {} path: {}", flowId, flow.getForwardPath());
 
-            PathComputer pathComputer = pathComputerFactory.getPathComputer();
-            PathPair pathPair = pathComputer.getPath(flow, flow.getFlowPathIds());
+            PathPair pathPair;
+            if (precomputedPath != null) {
+                pathPair = precomputedPath;
+            } else {
+                PathComputer pathComputer = pathComputerFactory.getPathComputer();
+                pathPair = pathComputer.getPath(flow, flow.getFlowPathIds());
+            }
 
             log.warn("Potential New Path for flow {} with LEFT path: {}, RIGHT path: {}",
                     flowId, pathPair.getForward(), pathPair.getReverse());
@@ -540,15 +616,13 @@ public class FlowService extends BaseFlowService {
                 flowPathRepository.lockInvolvedSwitches(currentForwardPath, currentReversePath,
                         newForwardPath, newReversePath);
 
-                flowPathRepository.delete(currentForwardPath);
-                flowPathRepository.delete(currentReversePath);
-                updateIslsForFlowPath(currentForwardPath);
-                updateIslsForFlowPath(currentReversePath);
+                flowPathRepository.deleteAll(Arrays.asList(currentForwardPath, currentReversePath));
+                releaseBandwidth(currentForwardPath);
+                releaseBandwidth(currentReversePath);
 
-                flowPathRepository.createOrUpdate(newForwardPath);
-                flowPathRepository.createOrUpdate(newReversePath);
-                updateIslsForFlowPath(newForwardPath);
-                updateIslsForFlowPath(newReversePath);
+                flowPathRepository.createOrUpdateAll(Arrays.asList(newForwardPath, newReversePath));
+                reserveComputedPath(newForwardPath);
+                reserveComputedPath(newReversePath);
 
                 flow.setStatus(FlowStatus.IN_PROGRESS);
                 flow.setTimeModify(timestamp);
@@ -605,15 +679,13 @@ public class FlowService extends BaseFlowService {
                     flowPathRepository.lockInvolvedSwitches(currentForwardPath, currentReversePath,
                             newForwardPath, newReversePath);
 
-                    flowPathRepository.delete(currentForwardPath);
-                    flowPathRepository.delete(currentReversePath);
-                    updateIslsForFlowPath(currentForwardPath);
-                    updateIslsForFlowPath(currentReversePath);
+                    flowPathRepository.deleteAll(Arrays.asList(currentForwardPath, currentReversePath));
+                    releaseBandwidth(currentForwardPath);
+                    releaseBandwidth(currentReversePath);
 
-                    flowPathRepository.createOrUpdate(newForwardPath);
-                    flowPathRepository.createOrUpdate(newReversePath);
-                    updateIslsForFlowPath(newForwardPath);
-                    updateIslsForFlowPath(newReversePath);
+                    flowPathRepository.createOrUpdateAll(Arrays.asList(newForwardPath, newReversePath));
+                    reserveComputedPath(newForwardPath);
+                    reserveComputedPath(newReversePath);
 
                     flow.setStatus(FlowStatus.IN_PROGRESS);
                     flow.setProtectedForwardPath(newFlowPathPair.getForward());
@@ -631,8 +703,7 @@ public class FlowService extends BaseFlowService {
                     currentForwardPath.setStatus(FlowPathStatus.INACTIVE);
                     currentReversePath.setStatus(FlowPathStatus.INACTIVE);
 
-                    flowPathRepository.createOrUpdate(currentForwardPath);
-                    flowPathRepository.createOrUpdate(currentReversePath);
+                    flowPathRepository.createOrUpdateAll(Arrays.asList(currentForwardPath, currentReversePath));
                     flowRepository.createOrUpdate(flow);
 
                     toRemoveBuilder.protectedForwardPath(null).protectedReversePath(null);
@@ -740,10 +811,9 @@ public class FlowService extends BaseFlowService {
             if (!pathIdSet.isEmpty()) {
                 pathsStream = pathsStream.filter(path -> pathIdSet.contains(path.getPathId()));
             }
-            pathsStream.forEach(path -> {
-                path.setStatusLikeFlow(status);
-                flowPathRepository.createOrUpdate(path);
-            });
+            List<FlowPath> paths = pathsStream.collect(Collectors.toList());
+            paths.forEach(path -> path.setStatusLikeFlow(status));
+            flowPathRepository.createOrUpdateAll(paths);
         });
     }
 
@@ -937,25 +1007,102 @@ public class FlowService extends BaseFlowService {
         return true;
     }
 
-    private void updateIslsForFlowPath(FlowPath path) {
+    private void reserveBandwidth(FlowPath path) {
+        updateIslsForFlowPath(path, -path.getBandwidth());
+    }
+
+    /**
+     * Reserves bandwidth for a path found by PCE and re-checks the used ISLs against the persistent storage.
+     * <p/>
+     * PCE may work over a stale network snapshot, and concurrent executors may reserve the same ISLs, so the check
+     * is done under the switch locks (see {@link FlowPathRepository#lockInvolvedSwitches}). A failed check rolls
+     * the transaction back with {@link RecoverableException}, the retry computes the path over a reloaded network.
+     */
+    private void reserveComputedPath(FlowPath path) throws RecoverableException {
+        for (PathSegment segment : path.getSegments()) {
+            SwitchId srcSwitchId = segment.getSrcSwitch().getSwitchId();
+            SwitchId dstSwitchId = segment.getDestSwitch().getSwitchId();
+
+            Optional<Isl> isl;
+            if (path.isIgnoreBandwidth() || path.getBandwidth() == 0) {
+                isl = islRepository.findByEndpoints(srcSwitchId, segment.getSrcPort(),
+                        dstSwitchId, segment.getDestPort());
+            } else {
+                log.debug("Updating ISL for the path segment {} by {}", segment, -path.getBandwidth());
+
+                isl = islRepository.updateAvailableBandwidth(srcSwitchId, segment.getSrcPort(),
+                        dstSwitchId, segment.getDestPort(), -path.getBandwidth());
+                if (networkSnapshotManager != null) {
+                    isl.ifPresent(networkSnapshotManager::handleIslUpdate);
+                }
+            }
+
+            if (!isl.isPresent() || isl.get().getStatus() != IslStatus.ACTIVE) {
+                throw new RecoverableException(format("ISL %s_%d ===> %s_%d of path %s is not active",
+                        srcSwitchId, segment.getSrcPort(), dstSwitchId, segment.getDestPort(), path.getPathId()));
+            }
+            if (!path.isIgnoreBandwidth() && isl.get().getAvailableBandwidth() < 0) {
+                throw new RecoverableException(format("ISL %s_%d ===> %s_%d is overbooked by path %s: "
+                                + "available bandwidth %d", srcSwitchId, segment.getSrcPort(), dstSwitchId,
+                        segment.getDestPort(), path.getPathId(), isl.get().getAvailableBandwidth()));
+            }
+        }
+    }
+
+    private void releaseBandwidth(FlowPath path) {
+        updateIslsForFlowPath(path, path.getBandwidth());
+    }
+
+    private void updateIslsForFlowPath(FlowPath path, long delta) {
+        if (path.isIgnoreBandwidth() || delta == 0) {
+            return;
+        }
+
         path.getSegments().forEach(pathSegment -> {
-            log.debug("Updating ISL for the path segment: {}", pathSegment);
+            log.debug("Updating ISL for the path segment {} by {}", pathSegment, delta);
 
-            updateIslAvailableBandwidth(pathSegment.getSrcSwitch().getSwitchId(), pathSegment.getSrcPort(),
-                    pathSegment.getDestSwitch().getSwitchId(), pathSegment.getDestPort());
+            islRepository.updateAvailableBandwidth(pathSegment.getSrcSwitch().getSwitchId(), pathSegment.getSrcPort(),
+                    pathSegment.getDestSwitch().getSwitchId(), pathSegment.getDestPort(), delta)
+                    .ifPresent(isl -> {
+                        if (networkSnapshotManager != null) {
+                            networkSnapshotManager.handleIslUpdate(isl);
+                        }
+                    });
         });
     }
 
-    private void updateIslAvailableBandwidth(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort) {
-        long usedBandwidth = flowPathRepository.getUsedBandwidthBetweenEndpoints(
-                srcSwitchId, srcPort, dstSwitchId, dstPort);
+    /**
+     * Applies an ISL or switch status change made by the network topology to the network snapshot, so reroutes
+     * caused by the change are computed without re-reading the whole network.
+     *
+     * @param change the change notification.
+     */
+    public void handleNetworkTopologyChange(NetworkTopologyChange change) {
+        if (networkSnapshotManager == null) {
+            return;
+        }
 
-        islRepository.findByEndpoints(srcSwitchId, srcPort, dstSwitchId, dstPort)
-                .ifPresent(isl -> {
-                    isl.setAvailableBandwidth(isl.getMaxBandwidth() - usedBandwidth);
+        switch (change.getType()) {
+            case ENDPOINT_ADD:
+            case ENDPOINT_DROP:
+                networkSnapshotManager.handleEndpointChange(change.getSwitchId(), change.getPortNumber());
+                break;
+            case SWITCH_ADD:
+            case SWITCH_DROP:
+                networkSnapshotManager.handleSwitchChange(change.getSwitchId());
+                break;
+            default:
+                log.warn("Unexpected network topology change type {}", change.getType());
+        }
+    }
 
-                    islRepository.createOrUpdate(isl);
-                });
+    /**
+     * The network snapshot may have got changes of a rolled back transaction, so it must be re-read.
+     */
+    private void invalidateNetworkSnapshot() {
+        if (networkSnapshotManager != null) {
+            networkSnapshotManager.invalidate();
+        }
     }
 
     private String getOrCreateFlowGroupId(String flowId) throws FlowNotFoundException {
@@ -1241,18 +1388,23 @@ public class FlowService extends BaseFlowService {
                 .retryOn(TransientException.class)
                 .withDelay(RETRY_DELAY, TimeUnit.MILLISECONDS)
                 .withMaxRetries(MAX_TRANSACTION_RETRY_COUNT))
-                .onRetry(e -> log.warn("Retrying transaction finished with exception", e))
+                .onRetry(e -> {
+                    log.warn("Retrying transaction finished with exception", e);
+                    invalidateNetworkSnapshot();
+                })
                 .onRetriesExceeded(e -> log.warn("TX retry attempts exceed with error", e));
     }
 
     private void unwrapFaisafeException(FailsafeException e) throws UnroutableFlowException,
-            ResourceAllocationException, FlowNotFoundException {
+            ResourceAllocationException, FlowNotFoundException, RecoverableException {
+        invalidateNetworkSnapshot();
         unwrapBaseFaisafeException(e);
         throw e;
     }
 
     private void unwrapCrudFaisafeException(FailsafeException e) throws UnroutableFlowException,
-            ResourceAllocationException, FlowNotFoundException, FlowValidationException {
+            ResourceAllocationException, FlowNotFoundException, FlowValidationException, RecoverableException {
+        invalidateNetworkSnapshot();
         unwrapBaseFaisafeException(e);
 
         Throwable cause = e.getCause();
@@ -1263,8 +1415,11 @@ public class FlowService extends BaseFlowService {
     }
 
     private void unwrapBaseFaisafeException(FailsafeException e) throws UnroutableFlowException,
-            ResourceAllocationException, FlowNotFoundException {
+            ResourceAllocationException, FlowNotFoundException, RecoverableException {
         Throwable cause = e.getCause();
+        if (cause instanceof RecoverableException) {
+            throw (RecoverableException) cause;
+        }
         if (cause instanceof UnroutableFlowException) {
             throw (UnroutableFlowException) cause;
         }
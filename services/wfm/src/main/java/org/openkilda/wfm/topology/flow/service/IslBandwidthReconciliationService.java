@@ -0,0 +1,94 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.flow.service;
+
+import org.openkilda.model.Isl;
+import org.openkilda.persistence.PersistenceManager;
+import org.openkilda.persistence.TransactionManager;
+import org.openkilda.persistence.repositories.FlowPathRepository;
+import org.openkilda.persistence.repositories.IslRepository;
+import org.openkilda.persistence.repositories.RepositoryFactory;
+import org.openkilda.persistence.repositories.SwitchRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Detects and corrects drift of ISL available bandwidth, which is maintained by {@link FlowService} as a ledger of
+ * reservations and releases, against the bandwidth actually used by the persisted flow paths.
+ */
+@Slf4j
+public class IslBandwidthReconciliationService {
+    private final TransactionManager transactionManager;
+    private final SwitchRepository switchRepository;
+    private final IslRepository islRepository;
+    private final FlowPathRepository flowPathRepository;
+
+    public IslBandwidthReconciliationService(PersistenceManager persistenceManager) {
+        transactionManager = persistenceManager.getTransactionManager();
+        RepositoryFactory repositoryFactory = persistenceManager.getRepositoryFactory();
+        switchRepository = repositoryFactory.createSwitchRepository();
+        islRepository = repositoryFactory.createIslRepository();
+        flowPathRepository = repositoryFactory.createFlowPathRepository();
+    }
+
+    /**
+     * Recalculates available bandwidth of all ISLs and fixes the ones which diverged.
+     *
+     * @return the number of corrected ISLs.
+     */
+    public int reconcile() {
+        int corrected = 0;
+        for (Isl isl : islRepository.findAll()) {
+            if (reconcile(isl)) {
+                corrected++;
+            }
+        }
+
+        if (corrected > 0) {
+            log.warn("Corrected available bandwidth of {} ISL(s)", corrected);
+        }
+        return corrected;
+    }
+
+    private boolean reconcile(Isl isl) {
+        return transactionManager.doInTransaction(() -> {
+            // Flow operations lock the same switches, so the ledger can't be changed in the middle of the check.
+            switchRepository.lockSwitches(isl.getSrcSwitch(), isl.getDestSwitch());
+
+            return islRepository.findByEndpoints(isl.getSrcSwitch().getSwitchId(), isl.getSrcPort(),
+                    isl.getDestSwitch().getSwitchId(), isl.getDestPort())
+                    .map(this::correctAvailableBandwidth)
+                    .orElse(false);
+        });
+    }
+
+    private boolean correctAvailableBandwidth(Isl isl) {
+        long usedBandwidth = flowPathRepository.getUsedBandwidthBetweenEndpoints(
+                isl.getSrcSwitch().getSwitchId(), isl.getSrcPort(),
+                isl.getDestSwitch().getSwitchId(), isl.getDestPort());
+        long expected = isl.getMaxBandwidth() - usedBandwidth;
+        if (isl.getAvailableBandwidth() == expected) {
+            return false;
+        }
+
+        log.warn("Available bandwidth of ISL {}_{} - {}_{} drifted: {} is stored, {} is expected",
+                isl.getSrcSwitch().getSwitchId(), isl.getSrcPort(), isl.getDestSwitch().getSwitchId(),
+                isl.getDestPort(), isl.getAvailableBandwidth(), expected);
+        isl.setAvailableBandwidth(expected);
+        islRepository.createOrUpdate(isl);
+        return true;
+    }
+}
@@ -17,9 +17,14 @@ package org.openkilda.wfm.topology.nbworker;
 
 import org.openkilda.pce.PathComputerConfig;
 import org.openkilda.persistence.PersistenceManager;
+import org.openkilda.persistence.cache.CachingPersistenceManager;
+import org.openkilda.persistence.cache.RepositoryCacheConfig;
+import org.openkilda.persistence.history.FlowEventLogConfig;
+import org.openkilda.persistence.history.FlowEventLogPersistenceManager;
 import org.openkilda.persistence.spi.PersistenceProvider;
 import org.openkilda.wfm.LaunchEnvironment;
 import org.openkilda.wfm.topology.AbstractTopology;
+import org.openkilda.wfm.topology.nbworker.bolts.CacheInvalidationBolt;
 import org.openkilda.wfm.topology.nbworker.bolts.DiscoveryEncoderBolt;
 import org.openkilda.wfm.topology.nbworker.bolts.FeatureTogglesBolt;
 import org.openkilda.wfm.topology.nbworker.bolts.FlowOperationsBolt;
@@ -48,7 +53,10 @@ import org.apache.storm.topology.TopologyBuilder;
  *                                     | ---> history-operations-bolt    ---> | \ \ \ \                   |
  *                                     | --->                   message-encoder-bolt (in error case) ---> |
  *
- * <p>kilda.topo.nb-spout: reads data from kafka.
+ * <p>kilda.topo.disco-spout ---> cache-invalidation-bolt (only if the repository cache is enabled)
+ *
+ * <p>kilda.topo.nb-spout: reads data from kafka. cache-invalidation-bolt: drops cached switches and ISLs changed by
+ * speaker events.
  * router-bolt: detects what kind of request is send, defines the stream. neo-bolt: performs operation with the
  * database. response-splitter-bolt: split response into small chunks, because kafka has limited size of messages.
  * nb-kafka-bolt: sends responses back to kafka to northbound topic.
@@ -69,7 +77,9 @@ public class NbWorkerTopology extends AbstractTopology<NbWorkerTopologyConfig> {
     private static final String FLOW_KAFKA_BOLT_NAME = "flow-kafka-bolt";
     private static final String DISCO_KAFKA_BOLT_NAME = "disco-kafka-bolt";
     private static final String HISTORY_BOLT_NAME = "history-operations-bolt";
+    private static final String CACHE_INVALIDATION_BOLT_NAME = "cache-invalidation-bolt";
     private static final String NB_SPOUT_ID = "nb-spout";
+    private static final String DISCO_SPOUT_ID = "disco-spout";
 
     public NbWorkerTopology(LaunchEnvironment env) {
         super(env, NbWorkerTopologyConfig.class);
@@ -90,10 +100,22 @@ public class NbWorkerTopology extends AbstractTopology<NbWorkerTopologyConfig> {
         tb.setBolt(ROUTER_BOLT_NAME, router, parallelism)
                 .shuffleGrouping(NB_SPOUT_ID);
 
-        PersistenceManager persistenceManager =
-                PersistenceProvider.getInstance().createPersistenceManager(configurationProvider);
+        PersistenceManager persistenceManager = CachingPersistenceManager.wrapIfEnabled(
+                PersistenceProvider.getInstance().createPersistenceManager(configurationProvider),
+                configurationProvider.getConfiguration(RepositoryCacheConfig.class));
         PathComputerConfig pathComputerConfig = configurationProvider.getConfiguration(PathComputerConfig.class);
 
+        if (persistenceManager instanceof CachingPersistenceManager) {
+            // Every task gets every speaker event, so the cache of each worker is invalidated.
+            KafkaSpout discoSpout = buildKafkaSpout(topologyConfig.getKafkaDiscoTopic(), DISCO_SPOUT_ID);
+            tb.setSpout(DISCO_SPOUT_ID, discoSpout, parallelism);
+
+            CacheInvalidationBolt cacheInvalidationBolt =
+                    new CacheInvalidationBolt((CachingPersistenceManager) persistenceManager);
+            tb.setBolt(CACHE_INVALIDATION_BOLT_NAME, cacheInvalidationBolt, parallelism)
+                    .allGrouping(DISCO_SPOUT_ID);
+        }
+
         SwitchOperationsBolt switchesBolt = new SwitchOperationsBolt(persistenceManager,
                 topologyConfig.getIslCostWhenUnderMaintenance());
         tb.setBolt(SWITCHES_BOLT_NAME, switchesBolt, parallelism)
@@ -120,7 +142,8 @@ public class NbWorkerTopology extends AbstractTopology<NbWorkerTopologyConfig> {
         tb.setBolt(SWITCH_VALIDATIONS_BOLT_NAME, validationBolt, parallelism)
                 .shuffleGrouping(ROUTER_BOLT_NAME, StreamType.VALIDATION.toString());
 
-        HistoryOperationsBolt historyBolt = new HistoryOperationsBolt(persistenceManager);
+        HistoryOperationsBolt historyBolt = new HistoryOperationsBolt(FlowEventLogPersistenceManager.wrapIfEnabled(
+                persistenceManager, configurationProvider.getConfiguration(FlowEventLogConfig.class)));
         tb.setBolt(HISTORY_BOLT_NAME, historyBolt, parallelism)
                 .shuffleGrouping(ROUTER_BOLT_NAME, StreamType.HISTORY.toString());
 
@@ -153,7 +176,7 @@ public class NbWorkerTopology extends AbstractTopology<NbWorkerTopologyConfig> {
                 .shuffleGrouping(SWITCHES_BOLT_NAME, StreamType.DISCO.toString())
                 .shuffleGrouping(FEATURE_TOGGLES_BOLT_NAME, FeatureTogglesBolt.STREAM_NOTIFICATION_ID);
 
-        KafkaBolt kafkaNbBolt = buildKafkaBolt(topologyConfig.getKafkaNorthboundTopic());
+        KafkaBolt kafkaNbBolt = buildNorthboundKafkaBolt(topologyConfig.getKafkaNorthboundTopic());
         tb.setBolt(NB_KAFKA_BOLT_NAME, kafkaNbBolt, parallelism)
                 .shuffleGrouping(SPLITTER_BOLT_NAME)
                 .shuffleGrouping(MESSAGE_ENCODER_BOLT_NAME, StreamType.ERROR.toString());
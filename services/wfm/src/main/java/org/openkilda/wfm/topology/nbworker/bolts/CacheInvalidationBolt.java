@@ -0,0 +1,98 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.nbworker.bolts;
+
+import org.openkilda.messaging.Message;
+import org.openkilda.messaging.info.InfoData;
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.discovery.NetworkDumpSwitchData;
+import org.openkilda.messaging.info.event.DeactivateIslInfoData;
+import org.openkilda.messaging.info.event.DeactivateSwitchInfoData;
+import org.openkilda.messaging.info.event.IslInfoData;
+import org.openkilda.messaging.info.event.PathNode;
+import org.openkilda.messaging.info.event.PortInfoData;
+import org.openkilda.messaging.info.event.SwitchInfoData;
+import org.openkilda.messaging.info.switches.UnmanagedSwitchNotification;
+import org.openkilda.persistence.cache.CachingPersistenceManager;
+import org.openkilda.persistence.cache.RepositoryCache;
+import org.openkilda.wfm.AbstractBolt;
+import org.openkilda.wfm.topology.utils.MessageTranslator;
+
+import org.apache.storm.topology.OutputFieldsDeclarer;
+import org.apache.storm.tuple.Tuple;
+
+/**
+ * Invalidates the repository cache of the worker on switch, port and ISL events sent by the speaker, so the entities
+ * changed by the network topology don't stay stale until the cache TTL expires.
+ * <p/>
+ * The network topology updates the DB asynchronously to this bolt, so an entity may be cached again before the update.
+ * The TTL bounds such staleness, and the status guarded operations read the DB directly.
+ */
+public class CacheInvalidationBolt extends AbstractBolt {
+    private final CachingPersistenceManager persistenceManager;
+
+    private transient RepositoryCache cache;
+
+    public CacheInvalidationBolt(CachingPersistenceManager persistenceManager) {
+        this.persistenceManager = persistenceManager;
+    }
+
+    @Override
+    protected void init() {
+        cache = persistenceManager.getCache();
+    }
+
+    @Override
+    protected void handleInput(Tuple input) throws Exception {
+        Message message = pullValue(input, MessageTranslator.FIELD_ID_PAYLOAD, Message.class);
+        if (message instanceof InfoMessage) {
+            invalidate(((InfoMessage) message).getData());
+        }
+    }
+
+    private void invalidate(InfoData payload) {
+        if (payload instanceof SwitchInfoData) {
+            cache.invalidateSwitch(((SwitchInfoData) payload).getSwitchId());
+        } else if (payload instanceof NetworkDumpSwitchData) {
+            cache.invalidateSwitch(((NetworkDumpSwitchData) payload).getSwitchView().getDatapath());
+        } else if (payload instanceof UnmanagedSwitchNotification) {
+            cache.invalidateSwitch(((UnmanagedSwitchNotification) payload).getSwitchId());
+        } else if (payload instanceof DeactivateSwitchInfoData) {
+            cache.invalidateSwitch(((DeactivateSwitchInfoData) payload).getSwitchId());
+        } else if (payload instanceof PortInfoData) {
+            PortInfoData port = (PortInfoData) payload;
+            cache.invalidatePort(port.getSwitchId(), port.getPortNo());
+        } else if (payload instanceof IslInfoData) {
+            IslInfoData isl = (IslInfoData) payload;
+            invalidateIsl(isl.getSource(), isl.getDestination());
+        } else if (payload instanceof DeactivateIslInfoData) {
+            DeactivateIslInfoData isl = (DeactivateIslInfoData) payload;
+            invalidateIsl(isl.getSource(), isl.getDestination());
+        }
+    }
+
+    private void invalidateIsl(PathNode source, PathNode destination) {
+        if (source != null && destination != null) {
+            cache.invalidateIsl(source.getSwitchId(), source.getPortNo(),
+                    destination.getSwitchId(), destination.getPortNo());
+        }
+    }
+
+    @Override
+    public void declareOutputFields(OutputFieldsDeclarer declarer) {
+        // no output streams
+    }
+}
@@ -126,12 +126,20 @@ public class LinkOperationsService {
                         + "source switch '%s', source port '%d', destination switch '%s', destination port '%d'",
                 sourceSwitch, sourcePort, destinationSwitch, destinationPort);
 
-        List<Isl> isls = new ArrayList<>();
-
-        islRepository.findByEndpoints(sourceSwitch, sourcePort,
-                destinationSwitch, destinationPort).ifPresent(isls::add);
-        islRepository.findByEndpoints(destinationSwitch, destinationPort,
-                sourceSwitch, sourcePort).ifPresent(isls::add);
+        // The status guard and the removal are done in one transaction, so the guard sees the actual state of
+        // the ISLs in the DB, not the one from the repository cache.
+        List<Isl> isls = transactionManager.doInTransaction(() -> {
+            List<Isl> found = new ArrayList<>();
+            islRepository.findByEndpoints(sourceSwitch, sourcePort,
+                    destinationSwitch, destinationPort).ifPresent(found::add);
+            islRepository.findByEndpoints(destinationSwitch, destinationPort,
+                    sourceSwitch, sourcePort).ifPresent(found::add);
+
+            if (found.stream().noneMatch(x -> x.getStatus() == IslStatus.ACTIVE)) {
+                found.forEach(islRepository::delete);
+            }
+            return found;
+        });
 
         if (isls.isEmpty()) {
             throw new IslNotFoundException(sourceSwitch, sourcePort, destinationSwitch, destinationPort);
@@ -142,8 +150,6 @@ public class LinkOperationsService {
                     "ISL must NOT be in active state.");
         }
 
-        isls.forEach(islRepository::delete);
-
         return isls;
     }
 
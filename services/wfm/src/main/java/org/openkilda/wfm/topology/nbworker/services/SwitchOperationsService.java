@@ -139,18 +139,23 @@ public class SwitchOperationsService implements ILinkOperationsServiceCarrier {
      * @throws SwitchNotFoundException if switch is not found
      */
     public boolean deleteSwitch(SwitchId switchId, boolean force) throws SwitchNotFoundException {
-        Switch sw = switchRepository.findById(switchId)
-                .orElseThrow(() -> new SwitchNotFoundException(switchId));
+        // The lookups are done in a transaction to get the actual state from the DB, not from the repository cache.
+        return transactionManager.doInTransaction(() -> {
+            Optional<Switch> foundSwitch = switchRepository.findById(switchId);
+            if (!foundSwitch.isPresent()) {
+                return Optional.<Boolean>empty();
+            }
 
-        if (force) {
-            // forceDelete() removes switch along with all relationships.
-            switchRepository.forceDelete(sw.getSwitchId());
-        } else {
-            // delete() is used to be sure that we wouldn't delete switch if it has even one relationship.
-            switchRepository.delete(sw);
-        }
+            if (force) {
+                // forceDelete() removes switch along with all relationships.
+                switchRepository.forceDelete(switchId);
+            } else {
+                // delete() is used to be sure that we wouldn't delete switch if it has even one relationship.
+                switchRepository.delete(foundSwitch.get());
+            }
 
-        return !switchRepository.exists(switchId);
+            return Optional.of(!switchRepository.exists(switchId));
+        }).orElseThrow(() -> new SwitchNotFoundException(switchId));
     }
 
     /**
@@ -161,7 +166,8 @@ public class SwitchOperationsService implements ILinkOperationsServiceCarrier {
      */
     public void checkSwitchIsDeactivated(SwitchId switchId)
             throws SwitchNotFoundException, IllegalSwitchStateException {
-        Switch sw = switchRepository.findById(switchId)
+        // The status guard must see the actual state, so the switch is read in a transaction bypassing the cache.
+        Switch sw = transactionManager.doInTransaction(() -> switchRepository.findById(switchId))
                 .orElseThrow(() -> new SwitchNotFoundException(switchId));
 
         if (sw.getStatus() == SwitchStatus.ACTIVE) {
@@ -25,6 +25,7 @@ import org.openkilda.wfm.share.hubandspoke.WorkerBolt;
 import org.openkilda.wfm.topology.AbstractTopology;
 import org.openkilda.wfm.topology.network.model.NetworkOptions;
 import org.openkilda.wfm.topology.network.storm.ComponentId;
+import org.openkilda.wfm.topology.network.storm.bolt.FlowEncoder;
 import org.openkilda.wfm.topology.network.storm.bolt.RerouteEncoder;
 import org.openkilda.wfm.topology.network.storm.bolt.SpeakerEncoder;
 import org.openkilda.wfm.topology.network.storm.bolt.bfdport.BfdPortHandler;
@@ -71,7 +72,7 @@ public class NetworkTopology extends AbstractTopology<NetworkTopologyConfig> {
         inputSpeaker(topology, scaleFactor);
         workerSpeaker(topology, scaleFactor);
 
-        coordinator(topology);
+        coordinator(topology, scaleFactor);
         networkHistory(topology);
 
         speakerRouter(topology, scaleFactor);
@@ -88,15 +89,16 @@ public class NetworkTopology extends AbstractTopology<NetworkTopologyConfig> {
 
         outputSpeaker(topology, scaleFactor);
         outputReroute(topology, scaleFactor);
+        outputFlow(topology, scaleFactor);
 
         return topology.createTopology();
     }
 
-    private void coordinator(TopologyBuilder topology) {
+    private void coordinator(TopologyBuilder topology, int scaleFactor) {
         topology.setSpout(CoordinatorSpout.ID, new CoordinatorSpout(), 1);
 
         Fields keyGrouping = new Fields(MessageTranslator.KEY_FIELD);
-        topology.setBolt(CoordinatorBolt.ID, new CoordinatorBolt(), 1)
+        topology.setBolt(CoordinatorBolt.ID, new CoordinatorBolt(), scaleFactor)
                 .allGrouping(CoordinatorSpout.ID)
                 .fieldsGrouping(SpeakerWorker.BOLT_ID, CoordinatorBolt.INCOME_STREAM, keyGrouping);
     }
@@ -145,9 +147,9 @@ public class NetworkTopology extends AbstractTopology<NetworkTopologyConfig> {
 
     private void watcher(TopologyBuilder topology, int scaleFactor) {
         WatcherHandler bolt = new WatcherHandler(options);
-        Fields watchListGrouping = new Fields(WatchListHandler.FIELD_ID_DATAPATH,
-                                              WatchListHandler.FIELD_ID_PORT_NUMBER);
-        Fields speakerGrouping = new Fields(SpeakerRouter.FIELD_ID_DATAPATH, SpeakerRouter.FIELD_ID_PORT_NUMBER);
+        // all ports of a switch are watched by one task, so it sends one discovery batch per switch
+        Fields watchListGrouping = new Fields(WatchListHandler.FIELD_ID_DATAPATH);
+        Fields speakerGrouping = new Fields(SpeakerRouter.FIELD_ID_DATAPATH);
         topology.setBolt(WatcherHandler.BOLT_ID, bolt, scaleFactor)
                 .allGrouping(CoordinatorSpout.ID)
                 .fieldsGrouping(WatchListHandler.BOLT_ID, watchListGrouping)
@@ -230,6 +232,17 @@ public class NetworkTopology extends AbstractTopology<NetworkTopologyConfig> {
                 .shuffleGrouping(RerouteEncoder.BOLT_ID);
     }
 
+    private void outputFlow(TopologyBuilder topology, int scaleFactor) {
+        FlowEncoder bolt = new FlowEncoder();
+        topology.setBolt(FlowEncoder.BOLT_ID, bolt, scaleFactor)
+                .shuffleGrouping(SwitchHandler.BOLT_ID, SwitchHandler.STREAM_FLOW_ID)
+                .shuffleGrouping(IslHandler.BOLT_ID, IslHandler.STREAM_FLOW_ID);
+
+        KafkaBolt output = buildKafkaBolt(topologyConfig.getKafkaFlowTopic());
+        topology.setBolt(ComponentId.FLOW_OUTPUT.toString(), output, scaleFactor)
+                .shuffleGrouping(FlowEncoder.BOLT_ID);
+    }
+
     /**
      * Discovery topology uploader.
      */
@@ -15,8 +15,8 @@
 
 package org.openkilda.wfm.topology.network.controller;
 
-import org.openkilda.wfm.share.utils.AbstractBaseFsm;
-import org.openkilda.wfm.share.utils.FsmExecutor;
+import org.openkilda.wfm.share.utils.AbstractTableFsm;
+import org.openkilda.wfm.share.utils.FsmTable;
 import org.openkilda.wfm.topology.network.controller.AntiFlapFsm.Context;
 import org.openkilda.wfm.topology.network.controller.AntiFlapFsm.Event;
 import org.openkilda.wfm.topology.network.controller.AntiFlapFsm.State;
@@ -27,49 +27,44 @@ import org.openkilda.wfm.topology.network.service.IAntiFlapCarrier;
 import lombok.Builder;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
-import org.squirrelframework.foundation.fsm.StateMachineBuilder;
-import org.squirrelframework.foundation.fsm.StateMachineBuilderFactory;
 
 import java.io.Serializable;
 
 @Slf4j
-public final class AntiFlapFsm extends AbstractBaseFsm<AntiFlapFsm, State, Event, Context>  {
+public final class AntiFlapFsm extends AbstractTableFsm<AntiFlapFsm, State, Event, Context>  {
 
-    private static final StateMachineBuilder<AntiFlapFsm, State, Event, Context> builder;
+    private static final FsmTable<AntiFlapFsm, State, Event, Context> table;
 
     static {
-        builder = StateMachineBuilderFactory.create(
-                AntiFlapFsm.class, State.class, Event.class, Context.class,
-                // extra parameters
-                Config.class);
+        FsmTable.Builder<AntiFlapFsm, State, Event, Context> builder = FsmTable.builder(State.class, Event.class);
 
         // INIT
         builder.transition()
                 .from(State.INIT).to(State.NOTHING).on(Event.PORT_UP)
-                .callMethod("emitPortUpAndSaveTime");
+                .callMethod(AntiFlapFsm::emitPortUpAndSaveTime);
         builder.transition()
                 .from(State.INIT).to(State.NOTHING).on(Event.PORT_DOWN)
-                .callMethod("emitPortDownAndSaveTime");
+                .callMethod(AntiFlapFsm::emitPortDownAndSaveTime);
 
         // NOTHING
         builder.internalTransition()
                 .within(State.NOTHING).on(Event.PORT_UP)
-                .callMethod("portUpOnNothing");
+                .callMethod(AntiFlapFsm::portUpOnNothing);
         builder.internalTransition()
                 .within(State.NOTHING).on(Event.PORT_DOWN)
-                .callMethod("portDownOnNothing");
+                .callMethod(AntiFlapFsm::portDownOnNothing);
         builder.transition()
                 .from(State.NOTHING).to(State.WARMING_UP).on(Event.TO_WARMING_UP);
 
         // State.WARMING_UP
         builder.onEntry(State.WARMING_UP)
-                .callMethod("saveStartTimeAndDownTime");
+                .callMethod(AntiFlapFsm::saveStartTimeAndDownTime);
         builder.internalTransition().within(State.WARMING_UP).on(Event.PORT_UP)
-                .callMethod("savePortUpTime");
+                .callMethod(AntiFlapFsm::savePortUpTime);
         builder.internalTransition().within(State.WARMING_UP).on(Event.PORT_DOWN)
-                .callMethod("savePortDownTime");
+                .callMethod(AntiFlapFsm::savePortDownTime);
         builder.internalTransition().within(State.WARMING_UP).on(Event.TICK)
-                .callMethod("tickOnWarmingUp");
+                .callMethod(AntiFlapFsm::tickOnWarmingUp);
         builder.transition()
                 .from(State.WARMING_UP).to(State.NOTHING).on(Event.TO_NOTHING);
         builder.transition()
@@ -77,17 +72,19 @@ public final class AntiFlapFsm extends AbstractBaseFsm<AntiFlapFsm, State, Event
 
         // State.COOLING_DOWN
         builder.onEntry(State.COOLING_DOWN)
-                .callMethod("emitPortDown");
+                .callMethod(AntiFlapFsm::emitPortDown);
         builder.onExit(State.COOLING_DOWN)
-                .callMethod("exitCoolingDown");
+                .callMethod(AntiFlapFsm::exitCoolingDown);
         builder.internalTransition().within(State.COOLING_DOWN).on(Event.PORT_UP)
-                .callMethod("savePortUpTime");
+                .callMethod(AntiFlapFsm::savePortUpTime);
         builder.internalTransition().within(State.COOLING_DOWN).on(Event.PORT_DOWN)
-                .callMethod("savePortDownTime");
+                .callMethod(AntiFlapFsm::savePortDownTime);
         builder.internalTransition().within(State.COOLING_DOWN).on(Event.TICK)
-                .callMethod("tickCoolingDown");
+                .callMethod(AntiFlapFsm::tickCoolingDown);
         builder.transition()
                 .from(State.COOLING_DOWN).to(State.NOTHING).on(Event.TO_NOTHING);
+
+        table = builder.build();
     }
 
     private final Endpoint endpoint;
@@ -100,6 +97,7 @@ public final class AntiFlapFsm extends AbstractBaseFsm<AntiFlapFsm, State, Event
     private long startTime = 0;
 
     public AntiFlapFsm(Config config) {
+        super(table, State.INIT);
         endpoint = config.getEndpoint();
         delayCoolingDown = config.getDelayCoolingDown();
         delayWarmUp = config.getDelayWarmUp();
@@ -108,12 +106,8 @@ public final class AntiFlapFsm extends AbstractBaseFsm<AntiFlapFsm, State, Event
         log.debug("{}", config);
     }
 
-    public static FsmExecutor<AntiFlapFsm, State, Event, Context> makeExecutor() {
-        return new FsmExecutor<>(Event.NEXT);
-    }
-
     public static AntiFlapFsm create(Config config) {
-        return builder.newStateMachine(State.INIT, config);
+        return new AntiFlapFsm(config);
     }
 
     // -- FSM actions --
@@ -242,8 +236,6 @@ public final class AntiFlapFsm extends AbstractBaseFsm<AntiFlapFsm, State, Event
     }
 
     public enum Event {
-        NEXT,
-
         PORT_UP, PORT_DOWN, TICK,
 
         TO_COOLING_DOWN, TO_NOTHING, TO_WARMING_UP
@@ -16,8 +16,8 @@
 package org.openkilda.wfm.topology.network.controller;
 
 import org.openkilda.messaging.info.event.IslInfoData;
-import org.openkilda.wfm.share.utils.AbstractBaseFsm;
-import org.openkilda.wfm.share.utils.FsmExecutor;
+import org.openkilda.wfm.share.utils.AbstractTableFsm;
+import org.openkilda.wfm.share.utils.FsmTable;
 import org.openkilda.wfm.topology.network.controller.DecisionMakerFsm.DecisionMakerFsmContext;
 import org.openkilda.wfm.topology.network.controller.DecisionMakerFsm.DecisionMakerFsmEvent;
 import org.openkilda.wfm.topology.network.controller.DecisionMakerFsm.DecisionMakerFsmState;
@@ -26,23 +26,21 @@ import org.openkilda.wfm.topology.network.service.IDecisionMakerCarrier;
 
 import lombok.Builder;
 import lombok.Data;
-import org.squirrelframework.foundation.fsm.StateMachineBuilder;
-import org.squirrelframework.foundation.fsm.StateMachineBuilderFactory;
 
-public final class DecisionMakerFsm extends AbstractBaseFsm<DecisionMakerFsm,
+public final class DecisionMakerFsm extends AbstractTableFsm<DecisionMakerFsm,
         DecisionMakerFsmState,
         DecisionMakerFsmEvent,
         DecisionMakerFsmContext> {
-    private static final StateMachineBuilder<DecisionMakerFsm, DecisionMakerFsmState, DecisionMakerFsmEvent,
-            DecisionMakerFsmContext> builder;
+    private static final FsmTable<DecisionMakerFsm, DecisionMakerFsmState, DecisionMakerFsmEvent,
+            DecisionMakerFsmContext> table;
 
     static {
-        builder = StateMachineBuilderFactory.create(
-                DecisionMakerFsm.class, DecisionMakerFsmState.class, DecisionMakerFsmEvent.class,
-                DecisionMakerFsmContext.class,
-                Endpoint.class, Long.class, Long.class);
+        FsmTable.Builder<DecisionMakerFsm, DecisionMakerFsmState, DecisionMakerFsmEvent,
+                DecisionMakerFsmContext> builder = FsmTable.builder(
+                        DecisionMakerFsmState.class, DecisionMakerFsmEvent.class);
 
-        final String verifyAndTransit = "verifyAndTransit";
+        final FsmTable.Action<DecisionMakerFsm, DecisionMakerFsmState, DecisionMakerFsmEvent,
+                DecisionMakerFsmContext> verifyAndTransit = DecisionMakerFsm::verifyAndTransit;
 
         // INIT
         builder.transition()
@@ -54,7 +52,7 @@ public final class DecisionMakerFsm extends AbstractBaseFsm<DecisionMakerFsm,
 
         // UNSTABLE
         builder.onEntry(DecisionMakerFsmState.UNSTABLE)
-                .callMethod("saveFailTime");
+                .callMethod(DecisionMakerFsm::saveFailTime);
         builder.internalTransition().within(DecisionMakerFsmState.UNSTABLE).on(DecisionMakerFsmEvent.DISCOVERY)
                 .callMethod(verifyAndTransit);
         builder.internalTransition().within(DecisionMakerFsmState.UNSTABLE).on(DecisionMakerFsmEvent.FAIL)
@@ -63,16 +61,16 @@ public final class DecisionMakerFsm extends AbstractBaseFsm<DecisionMakerFsm,
                 .from(DecisionMakerFsmState.UNSTABLE).to(DecisionMakerFsmState.DISCOVERED)
                 .on(DecisionMakerFsmEvent.VALID_DISCOVERY);
         builder.internalTransition().within(DecisionMakerFsmState.UNSTABLE).on(DecisionMakerFsmEvent.VALID_FAIL)
-                .callMethod("tick");
+                .callMethod(DecisionMakerFsm::tick);
         builder.internalTransition().within(DecisionMakerFsmState.UNSTABLE).on(DecisionMakerFsmEvent.TICK)
-                .callMethod("tick");
+                .callMethod(DecisionMakerFsm::tick);
         builder.transition()
                 .from(DecisionMakerFsmState.UNSTABLE).to(DecisionMakerFsmState.FAILED)
                 .on(DecisionMakerFsmEvent.FAIL_BY_TIMEOUT);
 
         // DISCOVERED
         builder.onEntry(DecisionMakerFsmState.DISCOVERED)
-                .callMethod("emitDiscovery");
+                .callMethod(DecisionMakerFsm::emitDiscovery);
         builder.internalTransition()
                 .within(DecisionMakerFsmState.DISCOVERED).on(DecisionMakerFsmEvent.FAIL)
                 .callMethod(verifyAndTransit);
@@ -82,17 +80,19 @@ public final class DecisionMakerFsm extends AbstractBaseFsm<DecisionMakerFsm,
                 .from(DecisionMakerFsmState.DISCOVERED).to(DecisionMakerFsmState.UNSTABLE)
                 .on(DecisionMakerFsmEvent.VALID_FAIL);
         builder.internalTransition().within(DecisionMakerFsmState.DISCOVERED).on(DecisionMakerFsmEvent.VALID_DISCOVERY)
-                .callMethod("emitDiscovery");
+                .callMethod(DecisionMakerFsm::emitDiscovery);
 
         // FAILED
         builder.onEntry(DecisionMakerFsmState.FAILED)
-                .callMethod("emitFailed");
+                .callMethod(DecisionMakerFsm::emitFailed);
         builder.internalTransition()
                 .within(DecisionMakerFsmState.FAILED).on(DecisionMakerFsmEvent.DISCOVERY)
                 .callMethod(verifyAndTransit);
         builder.transition()
                 .from(DecisionMakerFsmState.FAILED).to(DecisionMakerFsmState.DISCOVERED)
                 .on(DecisionMakerFsmEvent.VALID_DISCOVERY);
+
+        table = builder.build();
     }
 
     private final Endpoint endpoint;
@@ -102,18 +102,14 @@ public final class DecisionMakerFsm extends AbstractBaseFsm<DecisionMakerFsm,
     private Long lastProcessedPacketId;
 
     public DecisionMakerFsm(Endpoint endpoint, Long failTimeout, Long awaitTime) {
+        super(table, DecisionMakerFsmState.INIT);
         this.endpoint = endpoint;
         this.failTimeout = failTimeout;
         this.awaitTime = awaitTime;
     }
 
-    public static FsmExecutor<DecisionMakerFsm, DecisionMakerFsmState, DecisionMakerFsmEvent,
-            DecisionMakerFsmContext> makeExecutor() {
-        return new FsmExecutor<>(DecisionMakerFsmEvent.NEXT);
-    }
-
     public static DecisionMakerFsm create(Endpoint endpoint, Long failTimeout, Long awaitTime) {
-        return builder.newStateMachine(DecisionMakerFsmState.INIT, endpoint, failTimeout, awaitTime);
+        return new DecisionMakerFsm(endpoint, failTimeout, awaitTime);
     }
 
     // -- FSM actions --
@@ -197,8 +193,6 @@ public final class DecisionMakerFsm extends AbstractBaseFsm<DecisionMakerFsm,
     }
 
     public enum DecisionMakerFsmEvent {
-        NEXT,
-
         DISCOVERY, FAIL,
         VALID_DISCOVERY, VALID_FAIL,
         TICK,
@@ -17,6 +17,8 @@ package org.openkilda.wfm.topology.network.controller;
 
 import org.openkilda.messaging.command.reroute.RerouteAffectedFlows;
 import org.openkilda.messaging.command.reroute.RerouteInactiveFlows;
+import org.openkilda.messaging.info.event.NetworkTopologyChange;
+import org.openkilda.messaging.info.event.NetworkTopologyChangeType;
 import org.openkilda.messaging.info.event.PathNode;
 import org.openkilda.model.FeatureToggles;
 import org.openkilda.model.Isl;
@@ -275,6 +277,7 @@ public final class IslFsm extends AbstractBaseFsm<IslFsm, IslFsmState, IslFsmEve
 
         if (event != IslFsmEvent._HISTORY_UP) {
             // Do not produce reroute during recovery system state from DB
+            notifyTopologyChange(context, NetworkTopologyChangeType.ENDPOINT_ADD);
             triggerDownFlowReroute(context);
         }
     }
@@ -295,6 +298,7 @@ public final class IslFsm extends AbstractBaseFsm<IslFsm, IslFsmState, IslFsmEve
 
         updateEndpointStatusByEvent(event, context);
         saveStatusAndCostRaiseTransaction(context);
+        notifyTopologyChange(context, NetworkTopologyChangeType.ENDPOINT_DROP);
         triggerAffectedFlowReroute(context);
     }
 
@@ -363,6 +367,12 @@ public final class IslFsm extends AbstractBaseFsm<IslFsm, IslFsmState, IslFsmEve
         }
     }
 
+    private void notifyTopologyChange(IslFsmContext context, NetworkTopologyChangeType type) {
+        Endpoint source = discoveryFacts.getReference().getSource();
+        context.getOutput().topologyChangeNotification(
+                new NetworkTopologyChange(type, source.getDatapath(), source.getPortNumber()));
+    }
+
     private void triggerAffectedFlowReroute(IslFsmContext context) {
         Endpoint source = discoveryFacts.getReference().getSource();
 
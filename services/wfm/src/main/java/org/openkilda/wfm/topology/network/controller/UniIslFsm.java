@@ -18,8 +18,8 @@ package org.openkilda.wfm.topology.network.controller;
 import org.openkilda.messaging.info.event.IslInfoData;
 import org.openkilda.model.Isl;
 import org.openkilda.model.IslDownReason;
-import org.openkilda.wfm.share.utils.AbstractBaseFsm;
-import org.openkilda.wfm.share.utils.FsmExecutor;
+import org.openkilda.wfm.share.utils.AbstractTableFsm;
+import org.openkilda.wfm.share.utils.FsmTable;
 import org.openkilda.wfm.topology.network.controller.UniIslFsm.UniIslFsmContext;
 import org.openkilda.wfm.topology.network.controller.UniIslFsm.UniIslFsmEvent;
 import org.openkilda.wfm.topology.network.controller.UniIslFsm.UniIslFsmState;
@@ -31,28 +31,24 @@ import org.openkilda.wfm.topology.network.service.IUniIslCarrier;
 import lombok.Builder;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
-import org.squirrelframework.foundation.fsm.StateMachineBuilder;
-import org.squirrelframework.foundation.fsm.StateMachineBuilderFactory;
 
 @Slf4j
-public class UniIslFsm extends AbstractBaseFsm<UniIslFsm, UniIslFsmState,
+public class UniIslFsm extends AbstractTableFsm<UniIslFsm, UniIslFsmState,
         UniIslFsmEvent, UniIslFsmContext> {
     private final Endpoint endpoint;
     private IslReference islReference;
     private IslDataHolder islData = null;
 
-    private static final StateMachineBuilder<UniIslFsm, UniIslFsmState, UniIslFsmEvent, UniIslFsmContext> builder;
+    private static final FsmTable<UniIslFsm, UniIslFsmState, UniIslFsmEvent, UniIslFsmContext> table;
 
     static {
-        builder = StateMachineBuilderFactory.create(
-                UniIslFsm.class, UniIslFsmState.class, UniIslFsmEvent.class, UniIslFsmContext.class,
-                // extra parameters
-                Endpoint.class);
+        FsmTable.Builder<UniIslFsm, UniIslFsmState, UniIslFsmEvent, UniIslFsmContext> builder = FsmTable.builder(
+                UniIslFsmState.class, UniIslFsmEvent.class);
 
         // INIT
         builder.transition()
                 .from(UniIslFsmState.INIT).to(UniIslFsmState.UNKNOWN).on(UniIslFsmEvent.ACTIVATE)
-                .callMethod("handleActivate");
+                .callMethod(UniIslFsm::handleActivate);
 
         // UNKNOWN
         builder.transition()
@@ -65,11 +61,11 @@ public class UniIslFsm extends AbstractBaseFsm<UniIslFsm, UniIslFsmState,
         // DISCOVERY_CHOICE
         builder.transition()
                 .from(UniIslFsmState.DISCOVERY_CHOICE).to(UniIslFsmState.UP).on(UniIslFsmEvent._DISCOVERY_CHOICE_MOVED)
-                .callMethod("handleMoved");
+                .callMethod(UniIslFsm::handleMoved);
         builder.transition()
                 .from(UniIslFsmState.DISCOVERY_CHOICE).to(UniIslFsmState.UP).on(UniIslFsmEvent._DISCOVERY_CHOICE_SAME);
         builder.onEntry(UniIslFsmState.DISCOVERY_CHOICE)
-                .callMethod("makeDiscoveryChoice");
+                .callMethod(UniIslFsm::makeDiscoveryChoice);
 
         // UP
         builder.transition()
@@ -81,7 +77,7 @@ public class UniIslFsm extends AbstractBaseFsm<UniIslFsm, UniIslFsmState,
         builder.transition()
                 .from(UniIslFsmState.UP).to(UniIslFsmState.BFD).on(UniIslFsmEvent.BFD_UP);
         builder.onEntry(UniIslFsmState.UP)
-                .callMethod("upEnter");
+                .callMethod(UniIslFsm::upEnter);
 
         // DOWN
         builder.transition()
@@ -89,7 +85,7 @@ public class UniIslFsm extends AbstractBaseFsm<UniIslFsm, UniIslFsmState,
         builder.transition()
                 .from(UniIslFsmState.DOWN).to(UniIslFsmState.BFD).on(UniIslFsmEvent.BFD_UP);
         builder.onEntry(UniIslFsmState.DOWN)
-                .callMethod("downEnter");
+                .callMethod(UniIslFsm::downEnter);
 
         // BFD
         builder.transition()
@@ -99,18 +95,17 @@ public class UniIslFsm extends AbstractBaseFsm<UniIslFsm, UniIslFsmState,
         builder.transition()
                 .from(UniIslFsmState.BFD).to(UniIslFsmState.UP).on(UniIslFsmEvent.BFD_KILL);
         builder.onEntry(UniIslFsmState.BFD)
-                .callMethod("bfdEnter");
-    }
+                .callMethod(UniIslFsm::bfdEnter);
 
-    public static FsmExecutor<UniIslFsm, UniIslFsmState, UniIslFsmEvent, UniIslFsmContext> makeExecutor() {
-        return new FsmExecutor<>(UniIslFsmEvent.NEXT);
+        table = builder.build();
     }
 
     public static UniIslFsm create(Endpoint endpoint) {
-        return builder.newStateMachine(UniIslFsmState.INIT, endpoint);
+        return new UniIslFsm(endpoint);
     }
 
     public UniIslFsm(Endpoint endpoint) {
+        super(table, UniIslFsmState.INIT);
         this.endpoint = endpoint;
 
         islReference = IslReference.of(endpoint);
@@ -218,7 +213,7 @@ public class UniIslFsm extends AbstractBaseFsm<UniIslFsm, UniIslFsmState,
     }
 
     public enum UniIslFsmEvent {
-        NEXT, ACTIVATE,
+        ACTIVATE,
 
         PHYSICAL_DOWN,
         DISCOVERY, FAIL,
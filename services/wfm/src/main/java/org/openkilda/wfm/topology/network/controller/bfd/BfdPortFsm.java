@@ -26,8 +26,8 @@ import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.repositories.BfdSessionRepository;
 import org.openkilda.persistence.repositories.RepositoryFactory;
 import org.openkilda.persistence.repositories.SwitchRepository;
-import org.openkilda.wfm.share.utils.AbstractBaseFsm;
-import org.openkilda.wfm.share.utils.FsmExecutor;
+import org.openkilda.wfm.share.utils.AbstractTableFsm;
+import org.openkilda.wfm.share.utils.FsmTable;
 import org.openkilda.wfm.topology.network.controller.bfd.BfdPortFsm.BfdPortFsmContext;
 import org.openkilda.wfm.topology.network.controller.bfd.BfdPortFsm.BfdPortFsmEvent;
 import org.openkilda.wfm.topology.network.controller.bfd.BfdPortFsm.BfdPortFsmState;
@@ -42,8 +42,6 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
-import org.squirrelframework.foundation.fsm.StateMachineBuilder;
-import org.squirrelframework.foundation.fsm.StateMachineBuilderFactory;
 
 import java.net.InetAddress;
 import java.net.UnknownHostException;
@@ -52,7 +50,7 @@ import java.util.Random;
 
 @Slf4j
 public final class BfdPortFsm extends
-        AbstractBaseFsm<BfdPortFsm, BfdPortFsmState, BfdPortFsmEvent,
+        AbstractTableFsm<BfdPortFsm, BfdPortFsmState, BfdPortFsmEvent,
                 BfdPortFsmContext> {
     static final int BFD_UDP_PORT = 3784;
     static int bfdPollInterval = 350;  // TODO: use config option
@@ -73,28 +71,16 @@ public final class BfdPortFsm extends
     private LinkStatus linkStatus = LinkStatus.DOWN;
     private BfdAction action = null;
 
-    private static final StateMachineBuilder<BfdPortFsm, BfdPortFsmState, BfdPortFsmEvent, BfdPortFsmContext> builder;
+    private static final FsmTable<BfdPortFsm, BfdPortFsmState, BfdPortFsmEvent, BfdPortFsmContext> table;
 
     static {
-        final String doReleaseResourcesMethod = "doReleaseResources";
-        final String saveIslReferenceMethod = "saveIslReference";
-        final String reportConflictMethod = "reportConflict";
-        final String reportMalfunctionMethod = "reportMalfunction";
-        final String makeBfdSetupActionMethod = "makeBfdSetupAction";
-        final String makeBfdRemoveActionMethod = "makeBfdRemoveAction";
-        final String proxySpeakerResponseIntoActionMethod = "proxySpeakerResponseIntoAction";
-        final String proxyLinkStatusUpdateIntoActionMethod = "proxyLinkStatusUpdateIntoAction";
-        final String updateLinkStatusMethod = "updateLinkStatus";
-
-        builder = StateMachineBuilderFactory.create(
-                BfdPortFsm.class, BfdPortFsmState.class, BfdPortFsmEvent.class, BfdPortFsmContext.class,
-                // extra parameters
-                PersistenceManager.class, Endpoint.class, Integer.class);
+        FsmTable.Builder<BfdPortFsm, BfdPortFsmState, BfdPortFsmEvent, BfdPortFsmContext> builder = FsmTable.builder(
+                BfdPortFsmState.class, BfdPortFsmEvent.class);
 
         // INIT
         builder.transition()
                 .from(BfdPortFsmState.INIT).to(BfdPortFsmState.INIT_CHOICE).on(BfdPortFsmEvent.HISTORY)
-                .callMethod("consumeHistory");
+                .callMethod(BfdPortFsm::consumeHistory);
 
         // INIT_CHOICE
         builder.transition()
@@ -103,18 +89,18 @@ public final class BfdPortFsm extends
                 .from(BfdPortFsmState.INIT_CHOICE).to(BfdPortFsmState.INIT_REMOVE)
                 .on(BfdPortFsmEvent._INIT_CHOICE_DIRTY);
         builder.onEntry(BfdPortFsmState.INIT_CHOICE)
-                .callMethod("handleInitChoice");
+                .callMethod(BfdPortFsm::handleInitChoice);
 
         // IDLE
         builder.transition()
                 .from(BfdPortFsmState.IDLE).to(BfdPortFsmState.INIT_SETUP).on(BfdPortFsmEvent.ENABLE)
-                .callMethod(saveIslReferenceMethod);
+                .callMethod(BfdPortFsm::saveIslReference);
         builder.transition()
                 .from(BfdPortFsmState.IDLE).to(BfdPortFsmState.CONFLICT).on(BfdPortFsmEvent.PORT_UP);
         builder.transition()
                 .from(BfdPortFsmState.IDLE).to(BfdPortFsmState.UNOPERATIONAL).on(BfdPortFsmEvent.OFFLINE);
         builder.onEntry(BfdPortFsmState.IDLE)
-                .callMethod("idleEnter");
+                .callMethod(BfdPortFsm::idleEnter);
 
         // UNOPERATIONAL
         builder.transition()
@@ -128,11 +114,11 @@ public final class BfdPortFsm extends
         builder.transition()
                 .from(BfdPortFsmState.CONFLICT).to(BfdPortFsmState.UNOPERATIONAL).on(BfdPortFsmEvent.OFFLINE);
         builder.internalTransition().within(BfdPortFsmState.CONFLICT).on(BfdPortFsmEvent.ENABLE)
-                .callMethod(reportConflictMethod);
+                .callMethod(BfdPortFsm::reportConflict);
         builder.internalTransition().within(BfdPortFsmState.CONFLICT).on(BfdPortFsmEvent.DISABLE)
-                .callMethod(reportConflictMethod);
+                .callMethod(BfdPortFsm::reportConflict);
         builder.onEntry(BfdPortFsmState.CONFLICT)
-                .callMethod(reportConflictMethod);
+                .callMethod(BfdPortFsm::reportConflict);
 
         // PENDING
         builder.transition()
@@ -142,7 +128,7 @@ public final class BfdPortFsm extends
         builder.transition()
                 .from(BfdPortFsmState.PENDING).to(BfdPortFsmState.CONFLICT).on(BfdPortFsmEvent.PORT_UP);
         builder.onEntry(BfdPortFsmState.PENDING)
-                .callMethod(saveIslReferenceMethod);
+                .callMethod(BfdPortFsm::saveIslReference);
 
         // INIT_SETUP
         builder.transition()
@@ -150,12 +136,14 @@ public final class BfdPortFsm extends
         builder.transition()
                 .from(BfdPortFsmState.INIT_SETUP).to(BfdPortFsmState.DO_SETUP).on(BfdPortFsmEvent.NEXT);
         builder.onEntry(BfdPortFsmState.INIT_SETUP)
-                .callMethod("doAllocateResources");
+                .callMethod(BfdPortFsm::doAllocateResources);
+        builder.onEntry(BfdPortFsmState.INIT_SETUP)
+                .callMethod(BfdPortFsm::fireNext);
 
         // DO_SETUP
         builder.transition()
-                .from(BfdPortFsmState.DO_SETUP).to(BfdPortFsmState.ACTIVE).on(BfdPortFsmEvent.ACTION_SUCCESS)
-                .callMethod("reportSetupSuccess");
+                .from(BfdPortFsmState.DO_SETUP).to(BfdPortFsmState.UP).on(BfdPortFsmEvent.ACTION_SUCCESS)
+                .callMethod(BfdPortFsm::reportSetupSuccess);
         builder.transition()
                 .from(BfdPortFsmState.DO_SETUP).to(BfdPortFsmState.INIT_REMOVE).on(BfdPortFsmEvent.DISABLE);
         builder.transition()
@@ -165,13 +153,13 @@ public final class BfdPortFsm extends
         builder.transition()
                 .from(BfdPortFsmState.DO_SETUP).to(BfdPortFsmState.INIT_CLEANUP).on(BfdPortFsmEvent.KILL);
         builder.internalTransition().within(BfdPortFsmState.DO_SETUP).on(BfdPortFsmEvent.SPEAKER_RESPONSE)
-                .callMethod(proxySpeakerResponseIntoActionMethod);
+                .callMethod(BfdPortFsm::proxySpeakerResponseIntoAction);
         builder.internalTransition().within(BfdPortFsmState.DO_SETUP).on(BfdPortFsmEvent.PORT_UP)
-                .callMethod(proxyLinkStatusUpdateIntoActionMethod);
+                .callMethod(BfdPortFsm::proxyLinkStatusUpdateIntoAction);
         builder.internalTransition().within(BfdPortFsmState.DO_SETUP).on(BfdPortFsmEvent.PORT_DOWN)
-                .callMethod(proxyLinkStatusUpdateIntoActionMethod);
+                .callMethod(BfdPortFsm::proxyLinkStatusUpdateIntoAction);
         builder.onEntry(BfdPortFsmState.DO_SETUP)
-                .callMethod(makeBfdSetupActionMethod);
+                .callMethod(BfdPortFsm::makeBfdSetupAction);
 
         // SETUP_FAIL
         builder.transition()
@@ -182,17 +170,17 @@ public final class BfdPortFsm extends
                 .from(BfdPortFsmState.SETUP_FAIL).to(BfdPortFsmState.INIT_CLEANUP).on(BfdPortFsmEvent.KILL);
         builder.internalTransition()
                 .within(BfdPortFsmState.SETUP_FAIL).on(BfdPortFsmEvent.ENABLE)
-                .callMethod(reportMalfunctionMethod);
+                .callMethod(BfdPortFsm::reportMalfunction);
         builder.onEntry(BfdPortFsmState.SETUP_FAIL)
-                .callMethod("setupFailEnter");
+                .callMethod(BfdPortFsm::setupFailEnter);
 
         // SETUP_INTERRUPT
         builder.transition()
                 .from(BfdPortFsmState.SETUP_INTERRUPT).to(BfdPortFsmState.SETUP_RECOVERY).on(BfdPortFsmEvent.PORT_UP)
-                .callMethod(updateLinkStatusMethod);
+                .callMethod(BfdPortFsm::updateLinkStatus);
         builder.transition()
                 .from(BfdPortFsmState.SETUP_INTERRUPT).to(BfdPortFsmState.SETUP_RECOVERY).on(BfdPortFsmEvent.PORT_DOWN)
-                .callMethod(updateLinkStatusMethod);
+                .callMethod(BfdPortFsm::updateLinkStatus);
         builder.transition()
                 .from(BfdPortFsmState.SETUP_INTERRUPT).to(BfdPortFsmState.REMOVE_INTERRUPT).on(BfdPortFsmEvent.DISABLE);
 
@@ -209,34 +197,34 @@ public final class BfdPortFsm extends
                 .from(BfdPortFsmState.SETUP_RECOVERY).to(BfdPortFsmState.DO_CLEANUP).on(BfdPortFsmEvent.KILL);
         builder.internalTransition()
                 .within(BfdPortFsmState.SETUP_RECOVERY).on(BfdPortFsmEvent.SPEAKER_RESPONSE)
-                .callMethod(proxySpeakerResponseIntoActionMethod);
+                .callMethod(BfdPortFsm::proxySpeakerResponseIntoAction);
         builder.internalTransition()
                 .within(BfdPortFsmState.SETUP_RECOVERY).on(BfdPortFsmEvent.PORT_UP)
-                .callMethod(proxyLinkStatusUpdateIntoActionMethod);
+                .callMethod(BfdPortFsm::proxyLinkStatusUpdateIntoAction);
         builder.internalTransition()
                 .within(BfdPortFsmState.SETUP_RECOVERY).on(BfdPortFsmEvent.PORT_DOWN)
-                .callMethod(proxyLinkStatusUpdateIntoActionMethod);
+                .callMethod(BfdPortFsm::proxyLinkStatusUpdateIntoAction);
         builder.onEntry(BfdPortFsmState.SETUP_RECOVERY)
-                .callMethod(makeBfdRemoveActionMethod);
-
-        // ACTIVE
-        builder.transition()
-                .from(BfdPortFsmState.ACTIVE).to(BfdPortFsmState.OFFLINE).on(BfdPortFsmEvent.OFFLINE);
-        builder.transition()
-                .from(BfdPortFsmState.ACTIVE).to(BfdPortFsmState.INIT_REMOVE).on(BfdPortFsmEvent.DISABLE);
-        builder.transition()
-                .from(BfdPortFsmState.ACTIVE).to(BfdPortFsmState.INIT_CLEANUP).on(BfdPortFsmEvent.KILL);
-        builder.onExit(BfdPortFsmState.ACTIVE)
-                .callMethod("activeExit");
-        builder.defineSequentialStatesOn(
-                BfdPortFsmState.ACTIVE,
-                BfdPortFsmState.UP, BfdPortFsmState.DOWN);
+                .callMethod(BfdPortFsm::makeBfdRemoveAction);
+
+        // ACTIVE (UP and DOWN), it is entered in UP
+        for (BfdPortFsmState state : new BfdPortFsmState[]{BfdPortFsmState.UP, BfdPortFsmState.DOWN}) {
+            builder.transition()
+                    .from(state).to(BfdPortFsmState.OFFLINE).on(BfdPortFsmEvent.OFFLINE)
+                    .callMethod(BfdPortFsm::activeExit);
+            builder.transition()
+                    .from(state).to(BfdPortFsmState.INIT_REMOVE).on(BfdPortFsmEvent.DISABLE)
+                    .callMethod(BfdPortFsm::activeExit);
+            builder.transition()
+                    .from(state).to(BfdPortFsmState.INIT_CLEANUP).on(BfdPortFsmEvent.KILL)
+                    .callMethod(BfdPortFsm::activeExit);
+        }
 
         // ACTIVE_RECOVERY
         builder.transition()
                 .from(BfdPortFsmState.ACTIVE_RECOVERY).to(BfdPortFsmState.OFFLINE).on(BfdPortFsmEvent.OFFLINE);
         builder.transition()
-                .from(BfdPortFsmState.ACTIVE_RECOVERY).to(BfdPortFsmState.ACTIVE).on(BfdPortFsmEvent.PORT_UP);
+                .from(BfdPortFsmState.ACTIVE_RECOVERY).to(BfdPortFsmState.UP).on(BfdPortFsmEvent.PORT_UP);
         builder.transition()
                 .from(BfdPortFsmState.ACTIVE_RECOVERY).to(BfdPortFsmState.INIT_REMOVE).on(BfdPortFsmEvent.DISABLE);
         builder.transition()
@@ -246,13 +234,13 @@ public final class BfdPortFsm extends
         builder.transition()
                 .from(BfdPortFsmState.UP).to(BfdPortFsmState.DOWN).on(BfdPortFsmEvent.PORT_DOWN);
         builder.onEntry(BfdPortFsmState.UP)
-                .callMethod("upEnter");
+                .callMethod(BfdPortFsm::upEnter);
 
         // DOWN
         builder.transition()
                 .from(BfdPortFsmState.DOWN).to(BfdPortFsmState.UP).on(BfdPortFsmEvent.PORT_UP);
         builder.onEntry(BfdPortFsmState.DOWN)
-                .callMethod("downEnter");
+                .callMethod(BfdPortFsm::downEnter);
 
         // OFFLINE
         builder.transition()
@@ -264,12 +252,14 @@ public final class BfdPortFsm extends
         builder.transition()
                 .from(BfdPortFsmState.INIT_REMOVE).to(BfdPortFsmState.DO_REMOVE).on(BfdPortFsmEvent.NEXT);
         builder.onEntry(BfdPortFsmState.INIT_REMOVE)
-                .callMethod(makeBfdRemoveActionMethod);
+                .callMethod(BfdPortFsm::makeBfdRemoveAction);
+        builder.onEntry(BfdPortFsmState.INIT_REMOVE)
+                .callMethod(BfdPortFsm::fireNext);
 
         // DO_REMOVE
         builder.transition()
                 .from(BfdPortFsmState.DO_REMOVE).to(BfdPortFsmState.IDLE).on(BfdPortFsmEvent.ACTION_SUCCESS)
-                .callMethod(doReleaseResourcesMethod);
+                .callMethod(BfdPortFsm::doReleaseResources);
         builder.transition()
                 .from(BfdPortFsmState.DO_REMOVE).to(BfdPortFsmState.REMOVE_FAIL).on(BfdPortFsmEvent.ACTION_FAIL);
         builder.transition()
@@ -278,41 +268,41 @@ public final class BfdPortFsm extends
                 .from(BfdPortFsmState.DO_REMOVE).to(BfdPortFsmState.DO_CLEANUP).on(BfdPortFsmEvent.KILL);
         builder.transition()
                 .from(BfdPortFsmState.DO_REMOVE).to(BfdPortFsmState.CHARGED).on(BfdPortFsmEvent.ENABLE)
-                .callMethod(saveIslReferenceMethod);
+                .callMethod(BfdPortFsm::saveIslReference);
         builder.internalTransition().within(BfdPortFsmState.DO_REMOVE).on(BfdPortFsmEvent.SPEAKER_RESPONSE)
-                .callMethod(proxySpeakerResponseIntoActionMethod);
+                .callMethod(BfdPortFsm::proxySpeakerResponseIntoAction);
         builder.internalTransition().within(BfdPortFsmState.DO_REMOVE).on(BfdPortFsmEvent.PORT_UP)
-                .callMethod(proxyLinkStatusUpdateIntoActionMethod);
+                .callMethod(BfdPortFsm::proxyLinkStatusUpdateIntoAction);
         builder.internalTransition().within(BfdPortFsmState.DO_REMOVE).on(BfdPortFsmEvent.PORT_DOWN)
-                .callMethod(proxyLinkStatusUpdateIntoActionMethod);
+                .callMethod(BfdPortFsm::proxyLinkStatusUpdateIntoAction);
 
         // REMOVE_FAIL
         builder.transition()
                 .from(BfdPortFsmState.REMOVE_FAIL).to(BfdPortFsmState.CHARGED_FAIL).on(BfdPortFsmEvent.ENABLE)
-                .callMethod(saveIslReferenceMethod);
+                .callMethod(BfdPortFsm::saveIslReference);
         builder.transition()
                 .from(BfdPortFsmState.REMOVE_FAIL).to(BfdPortFsmState.REMOVE_INTERRUPT).on(BfdPortFsmEvent.OFFLINE);
         builder.internalTransition()
                 .within(BfdPortFsmState.REMOVE_FAIL).on(BfdPortFsmEvent.DISABLE)
-                .callMethod(reportMalfunctionMethod);
+                .callMethod(BfdPortFsm::reportMalfunction);
         builder.onEntry(BfdPortFsmState.REMOVE_FAIL)
-                .callMethod("removeFailEnter");
+                .callMethod(BfdPortFsm::removeFailEnter);
 
         // REMOVE_INTERRUPT
         builder.transition()
                 .from(BfdPortFsmState.REMOVE_INTERRUPT).to(BfdPortFsmState.INIT_REMOVE).on(BfdPortFsmEvent.PORT_UP)
-                .callMethod(updateLinkStatusMethod);
+                .callMethod(BfdPortFsm::updateLinkStatus);
         builder.transition()
                 .from(BfdPortFsmState.REMOVE_INTERRUPT).to(BfdPortFsmState.INIT_REMOVE).on(BfdPortFsmEvent.PORT_DOWN)
-                .callMethod(updateLinkStatusMethod);
+                .callMethod(BfdPortFsm::updateLinkStatus);
         builder.transition()
                 .from(BfdPortFsmState.REMOVE_INTERRUPT).to(BfdPortFsmState.CHARGED_INTERRUPT).on(BfdPortFsmEvent.ENABLE)
-                .callMethod(saveIslReferenceMethod);
+                .callMethod(BfdPortFsm::saveIslReference);
 
         // CHARGED
         builder.transition()
                 .from(BfdPortFsmState.CHARGED).to(BfdPortFsmState.INIT_SETUP).on(BfdPortFsmEvent.ACTION_SUCCESS)
-                .callMethod(doReleaseResourcesMethod);
+                .callMethod(BfdPortFsm::doReleaseResources);
         builder.transition()
                 .from(BfdPortFsmState.CHARGED).to(BfdPortFsmState.CHARGED_FAIL).on(BfdPortFsmEvent.ACTION_FAIL);
         builder.transition()
@@ -323,13 +313,13 @@ public final class BfdPortFsm extends
                 .from(BfdPortFsmState.CHARGED).to(BfdPortFsmState.DO_CLEANUP).on(BfdPortFsmEvent.KILL);
         builder.internalTransition()
                 .within(BfdPortFsmState.CHARGED).on(BfdPortFsmEvent.SPEAKER_RESPONSE)
-                .callMethod(proxySpeakerResponseIntoActionMethod);
+                .callMethod(BfdPortFsm::proxySpeakerResponseIntoAction);
         builder.internalTransition()
                 .within(BfdPortFsmState.CHARGED).on(BfdPortFsmEvent.PORT_UP)
-                .callMethod(proxyLinkStatusUpdateIntoActionMethod);
+                .callMethod(BfdPortFsm::proxyLinkStatusUpdateIntoAction);
         builder.internalTransition()
                 .within(BfdPortFsmState.CHARGED).on(BfdPortFsmEvent.PORT_DOWN)
-                .callMethod(proxyLinkStatusUpdateIntoActionMethod);
+                .callMethod(BfdPortFsm::proxyLinkStatusUpdateIntoAction);
 
         // CHARGED_FAIL
         builder.transition()
@@ -337,17 +327,17 @@ public final class BfdPortFsm extends
         builder.transition()
                 .from(BfdPortFsmState.CHARGED_FAIL).to(BfdPortFsmState.REMOVE_FAIL).on(BfdPortFsmEvent.DISABLE);
         builder.onEntry(BfdPortFsmState.CHARGED_FAIL)
-                .callMethod("chargedFailEnter");
+                .callMethod(BfdPortFsm::chargedFailEnter);
 
         // CHARGED_INTERRUPT
         builder.transition()
                 .from(BfdPortFsmState.CHARGED_INTERRUPT).to(BfdPortFsmState.CHARGED_RECOVERY)
                 .on(BfdPortFsmEvent.PORT_UP)
-                .callMethod(updateLinkStatusMethod);
+                .callMethod(BfdPortFsm::updateLinkStatus);
         builder.transition()
                 .from(BfdPortFsmState.CHARGED_INTERRUPT).to(BfdPortFsmState.CHARGED_RECOVERY)
                 .on(BfdPortFsmEvent.PORT_DOWN)
-                .callMethod(updateLinkStatusMethod);
+                .callMethod(BfdPortFsm::updateLinkStatus);
         builder.transition()
                 .from(BfdPortFsmState.CHARGED_INTERRUPT).to(BfdPortFsmState.REMOVE_INTERRUPT)
                 .on(BfdPortFsmEvent.DISABLE);
@@ -356,40 +346,42 @@ public final class BfdPortFsm extends
         builder.transition()
                 .from(BfdPortFsmState.CHARGED_RECOVERY).to(BfdPortFsmState.CHARGED).on(BfdPortFsmEvent.NEXT);
         builder.onEntry(BfdPortFsmState.CHARGED_RECOVERY)
-                .callMethod(makeBfdRemoveActionMethod);
+                .callMethod(BfdPortFsm::makeBfdRemoveAction);
+        builder.onEntry(BfdPortFsmState.CHARGED_RECOVERY)
+                .callMethod(BfdPortFsm::fireNext);
 
         // INIT_CLEANUP
         builder.transition()
                 .from(BfdPortFsmState.INIT_CLEANUP).to(BfdPortFsmState.DO_CLEANUP).on(BfdPortFsmEvent.NEXT);
         builder.onEntry(BfdPortFsmState.INIT_CLEANUP)
-                .callMethod(makeBfdRemoveActionMethod);
+                .callMethod(BfdPortFsm::makeBfdRemoveAction);
+        builder.onEntry(BfdPortFsmState.INIT_CLEANUP)
+                .callMethod(BfdPortFsm::fireNext);
 
         // DO_CLEANUP
         builder.transition()
                 .from(BfdPortFsmState.DO_CLEANUP).to(BfdPortFsmState.STOP).on(BfdPortFsmEvent.ACTION_SUCCESS)
-                .callMethod(doReleaseResourcesMethod);
+                .callMethod(BfdPortFsm::doReleaseResources);
         builder.transition()
                 .from(BfdPortFsmState.DO_CLEANUP).to(BfdPortFsmState.STOP).on(BfdPortFsmEvent.ACTION_FAIL);
         builder.internalTransition()
                 .within(BfdPortFsmState.DO_CLEANUP).on(BfdPortFsmEvent.SPEAKER_RESPONSE)
-                .callMethod(proxySpeakerResponseIntoActionMethod);
+                .callMethod(BfdPortFsm::proxySpeakerResponseIntoAction);
         builder.onEntry(BfdPortFsmState.DO_CLEANUP)
-                .callMethod("doCleanupEnter");
+                .callMethod(BfdPortFsm::doCleanupEnter);
 
-        // STOP
-        builder.defineFinalState(BfdPortFsmState.STOP);
-    }
+        // STOP - final state, there are no transitions from it
 
-    public static FsmExecutor<BfdPortFsm, BfdPortFsmState, BfdPortFsmEvent, BfdPortFsmContext> makeExecutor() {
-        return new FsmExecutor<>(BfdPortFsmEvent.NEXT);
+        table = builder.build();
     }
 
     public static BfdPortFsm create(PersistenceManager persistenceManager, Endpoint endpoint,
                                     Integer physicalPortNumber) {
-        return builder.newStateMachine(BfdPortFsmState.INIT, persistenceManager, endpoint, physicalPortNumber);
+        return new BfdPortFsm(persistenceManager, endpoint, physicalPortNumber);
     }
 
     public BfdPortFsm(PersistenceManager persistenceManager, Endpoint endpoint, Integer physicalPortNumber) {
+        super(table, BfdPortFsmState.INIT);
         RepositoryFactory repositoryFactory = persistenceManager.getRepositoryFactory();
         this.switchRepository = repositoryFactory.createSwitchRepository();
         this.bfdSessionRepository = repositoryFactory.createBfdSessionRepository();
@@ -463,6 +455,13 @@ public final class BfdPortFsm extends
         sessionDescriptor = null;
     }
 
+    /**
+     * Leave the intermediate state once the current event is processed.
+     */
+    public void fireNext(BfdPortFsmState from, BfdPortFsmState to, BfdPortFsmEvent event, BfdPortFsmContext context) {
+        fire(BfdPortFsmEvent.NEXT, context);
+    }
+
     public void activeExit(BfdPortFsmState from, BfdPortFsmState to, BfdPortFsmEvent event, BfdPortFsmContext context) {
         logInfo("notify consumer(s) to STOP react on BFD event");
         context.getOutput().bfdKillNotification(physicalEndpoint);
@@ -720,7 +719,7 @@ public final class BfdPortFsm extends
         IDLE, UNOPERATIONAL, CONFLICT, PENDING,
 
         INIT_SETUP, DO_SETUP, SETUP_FAIL, SETUP_INTERRUPT, SETUP_RECOVERY,
-        ACTIVE, ACTIVE_RECOVERY, UP, DOWN, OFFLINE,
+        ACTIVE_RECOVERY, UP, DOWN, OFFLINE,
         INIT_REMOVE, DO_REMOVE, REMOVE_FAIL, REMOVE_INTERRUPT,
         CHARGED, CHARGED_FAIL, CHARGED_INTERRUPT, CHARGED_RECOVERY,
         INIT_CLEANUP, DO_CLEANUP,
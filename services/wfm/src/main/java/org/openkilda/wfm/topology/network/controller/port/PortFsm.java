@@ -17,8 +17,8 @@ package org.openkilda.wfm.topology.network.controller.port;
 
 import org.openkilda.messaging.info.event.IslInfoData;
 import org.openkilda.model.Isl;
-import org.openkilda.wfm.share.utils.AbstractBaseFsm;
-import org.openkilda.wfm.share.utils.FsmExecutor;
+import org.openkilda.wfm.share.utils.AbstractTableFsm;
+import org.openkilda.wfm.share.utils.FsmTable;
 import org.openkilda.wfm.topology.network.NetworkTopologyDashboardLogger;
 import org.openkilda.wfm.topology.network.controller.port.PortFsm.PortFsmContext;
 import org.openkilda.wfm.topology.network.controller.port.PortFsm.PortFsmEvent;
@@ -28,47 +28,43 @@ import org.openkilda.wfm.topology.network.service.IPortCarrier;
 
 import lombok.Builder;
 import lombok.Value;
-import org.squirrelframework.foundation.fsm.StateMachineBuilder;
-import org.squirrelframework.foundation.fsm.StateMachineBuilderFactory;
 
-public final class PortFsm extends AbstractBaseFsm<PortFsm, PortFsmState, PortFsmEvent,
+public final class PortFsm extends AbstractTableFsm<PortFsm, PortFsmState, PortFsmEvent,
         PortFsmContext> {
     private final Endpoint endpoint;
     private final Isl history;
 
     private final PortReportFsm reportFsm;
 
-    private static final StateMachineBuilder<PortFsm, PortFsmState, PortFsmEvent, PortFsmContext> builder;
+    private static final FsmTable<PortFsm, PortFsmState, PortFsmEvent, PortFsmContext> table;
 
     static {
-        builder = StateMachineBuilderFactory.create(
-                PortFsm.class, PortFsmState.class, PortFsmEvent.class, PortFsmContext.class,
-                // extra parameters
-                NetworkTopologyDashboardLogger.Builder.class, Endpoint.class, Isl.class);
+        FsmTable.Builder<PortFsm, PortFsmState, PortFsmEvent, PortFsmContext> builder = FsmTable.builder(
+                PortFsmState.class, PortFsmEvent.class);
 
         // INIT
         builder.transition()
-                .from(PortFsmState.INIT).to(PortFsmState.OPERATIONAL).on(PortFsmEvent.ONLINE);
+                .from(PortFsmState.INIT).to(PortFsmState.UNKNOWN).on(PortFsmEvent.ONLINE);
         builder.transition()
                 .from(PortFsmState.INIT).to(PortFsmState.UNOPERATIONAL).on(PortFsmEvent.OFFLINE);
         builder.onEntry(PortFsmState.INIT)
-                .callMethod("setupUniIsl");
-
-        // OPERATIONAL
-        builder.transition()
-                .from(PortFsmState.OPERATIONAL).to(PortFsmState.UNOPERATIONAL).on(PortFsmEvent.OFFLINE);
-        builder.transition()
-                .from(PortFsmState.OPERATIONAL).to(PortFsmState.FINISH).on(PortFsmEvent.PORT_DEL);
-        builder.defineSequentialStatesOn(PortFsmState.OPERATIONAL,
-                                         PortFsmState.UNKNOWN, PortFsmState.UP, PortFsmState.DOWN);
+                .callMethod(PortFsm::setupUniIsl);
+
+        // OPERATIONAL (UNKNOWN, UP and DOWN)
+        for (PortFsmState state : new PortFsmState[]{PortFsmState.UNKNOWN, PortFsmState.UP, PortFsmState.DOWN}) {
+            builder.transition()
+                    .from(state).to(PortFsmState.UNOPERATIONAL).on(PortFsmEvent.OFFLINE);
+            builder.transition()
+                    .from(state).to(PortFsmState.FINISH).on(PortFsmEvent.PORT_DEL);
+        }
 
         // UNOPERATIONAL
         builder.transition()
-                .from(PortFsmState.UNOPERATIONAL).to(PortFsmState.OPERATIONAL).on(PortFsmEvent.ONLINE);
+                .from(PortFsmState.UNOPERATIONAL).to(PortFsmState.UNKNOWN).on(PortFsmEvent.ONLINE);
         builder.transition()
                 .from(PortFsmState.UNOPERATIONAL).to(PortFsmState.FINISH).on(PortFsmEvent.PORT_DEL);
         builder.internalTransition().within(PortFsmState.UNOPERATIONAL).on(PortFsmEvent.FAIL)
-                .callMethod("proxyFail");
+                .callMethod(PortFsm::proxyFail);
 
         // UNKNOWN
         builder.transition()
@@ -80,36 +76,34 @@ public final class PortFsm extends AbstractBaseFsm<PortFsm, PortFsmState, PortFs
         builder.transition()
                 .from(PortFsmState.UP).to(PortFsmState.DOWN).on(PortFsmEvent.PORT_DOWN);
         builder.internalTransition().within(PortFsmState.UP).on(PortFsmEvent.DISCOVERY)
-                .callMethod("proxyDiscovery");
+                .callMethod(PortFsm::proxyDiscovery);
         builder.internalTransition().within(PortFsmState.UP).on(PortFsmEvent.FAIL)
-                .callMethod("proxyFail");
+                .callMethod(PortFsm::proxyFail);
         builder.onEntry(PortFsmState.UP)
-                .callMethod("upEnter");
+                .callMethod(PortFsm::upEnter);
 
         // DOWN
         builder.transition()
                 .from(PortFsmState.DOWN).to(PortFsmState.UP).on(PortFsmEvent.PORT_UP);
         builder.internalTransition().within(PortFsmState.DOWN).on(PortFsmEvent.FAIL)
-                .callMethod("proxyFail");
+                .callMethod(PortFsm::proxyFail);
         builder.onEntry(PortFsmState.DOWN)
-                .callMethod("downEnter");
+                .callMethod(PortFsm::downEnter);
 
         // FINISH
         builder.onEntry(PortFsmState.FINISH)
-                .callMethod("finish");
+                .callMethod(PortFsm::finish);
 
-    }
-
-    public static FsmExecutor<PortFsm, PortFsmState, PortFsmEvent, PortFsmContext> makeExecutor() {
-        return new FsmExecutor<>(PortFsmEvent.NEXT);
+        table = builder.build();
     }
 
     public static PortFsm create(NetworkTopologyDashboardLogger.Builder dashboalrdLoggerBuilder,
                                  Endpoint endpoint, Isl history) {
-        return builder.newStateMachine(PortFsmState.INIT, dashboalrdLoggerBuilder, endpoint, history);
+        return new PortFsm(dashboalrdLoggerBuilder, endpoint, history);
     }
 
     public PortFsm(NetworkTopologyDashboardLogger.Builder dashboardLoggerBuilder, Endpoint endpoint, Isl history) {
+        super(table, PortFsmState.INIT);
         this.endpoint = endpoint;
         this.history = history;
 
@@ -167,8 +161,6 @@ public final class PortFsm extends AbstractBaseFsm<PortFsm, PortFsmState, PortFs
     }
 
     public enum PortFsmEvent {
-        NEXT,
-
         ONLINE, OFFLINE,
         PORT_UP, PORT_DOWN, PORT_DEL,
         DISCOVERY, FAIL
@@ -177,7 +169,6 @@ public final class PortFsm extends AbstractBaseFsm<PortFsm, PortFsmState, PortFs
     public enum PortFsmState {
         INIT,
 
-        OPERATIONAL,
         UNKNOWN, UP, DOWN,
 
         FINISH, UNOPERATIONAL
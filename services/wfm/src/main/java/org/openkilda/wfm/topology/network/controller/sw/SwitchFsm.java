@@ -15,6 +15,8 @@
 
 package org.openkilda.wfm.topology.network.controller.sw;
 
+import org.openkilda.messaging.info.event.NetworkTopologyChange;
+import org.openkilda.messaging.info.event.NetworkTopologyChangeType;
 import org.openkilda.messaging.model.SpeakerSwitchDescription;
 import org.openkilda.messaging.model.SpeakerSwitchPortView;
 import org.openkilda.messaging.model.SpeakerSwitchView;
@@ -144,6 +146,7 @@ public final class SwitchFsm extends AbstractBaseFsm<SwitchFsm, SwitchFsmState,
         logWrapper.onSwitchAdd(switchId);
 
         transactionManager.doInTransaction(() -> persistSwitchData(context));
+        notifyTopologyChange(context, NetworkTopologyChangeType.SWITCH_ADD);
         updatePorts(context, true);
     }
 
@@ -155,6 +158,10 @@ public final class SwitchFsm extends AbstractBaseFsm<SwitchFsm, SwitchFsmState,
                              SwitchFsmContext context) {
         logWrapper.onSwitchUpdateStatus(switchId, SwitchFsmEvent.OFFLINE.toString());
         transactionManager.doInTransaction(() -> updatePersistentStatus(SwitchStatus.INACTIVE));
+        if (event != SwitchFsmEvent.HISTORY) {
+            // Do not produce notifications during recovery system state from DB
+            notifyTopologyChange(context, NetworkTopologyChangeType.SWITCH_DROP);
+        }
 
         for (AbstractPort port : portByNumber.values()) {
             updateOnlineStatus(port, context, false);
@@ -299,6 +306,10 @@ public final class SwitchFsm extends AbstractBaseFsm<SwitchFsm, SwitchFsmState,
         port.updateOnlineStatus(context.getOutput(), mode);
     }
 
+    private void notifyTopologyChange(SwitchFsmContext context, NetworkTopologyChangeType type) {
+        context.getOutput().topologyChangeNotification(new NetworkTopologyChange(type, switchId, 0));
+    }
+
     private void persistSwitchData(SwitchFsmContext context) {
         Switch sw = switchRepository.findById(switchId)
                 .orElseGet(() -> Switch.builder().switchId(switchId).build());
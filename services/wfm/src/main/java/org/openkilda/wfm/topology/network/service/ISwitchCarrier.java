@@ -15,6 +15,7 @@
 
 package org.openkilda.wfm.topology.network.service;
 
+import org.openkilda.messaging.info.event.NetworkTopologyChange;
 import org.openkilda.model.Isl;
 import org.openkilda.wfm.topology.network.model.Endpoint;
 import org.openkilda.wfm.topology.network.model.LinkStatus;
@@ -35,4 +36,6 @@ public interface ISwitchCarrier {
     void setBfdPortLinkMode(Endpoint logicalEndpoint, LinkStatus linkStatus);
 
     void setBfdPortOnlineMode(Endpoint endpoint, boolean mode);
+
+    void topologyChangeNotification(NetworkTopologyChange notification);
 }
@@ -15,7 +15,7 @@
 
 package org.openkilda.wfm.topology.network.service;
 
-import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
 import org.openkilda.messaging.info.event.IslInfoData;
 import org.openkilda.wfm.topology.network.model.Endpoint;
 
@@ -24,7 +24,7 @@ public interface IWatcherCarrier {
 
     void discoveryFailed(Endpoint endpoint, long packetNo, long currentTime);
 
-    void sendDiscovery(DiscoverIslCommandData discoveryRequest);
+    void sendDiscovery(DiscoverIslBatchCommandData discoveryRequest);
 
     void clearDiscovery(Endpoint endpoint);
 }
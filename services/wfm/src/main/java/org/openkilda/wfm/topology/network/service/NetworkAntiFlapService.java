@@ -15,11 +15,7 @@
 
 package org.openkilda.wfm.topology.network.service;
 
-import org.openkilda.wfm.share.utils.FsmExecutor;
 import org.openkilda.wfm.topology.network.controller.AntiFlapFsm;
-import org.openkilda.wfm.topology.network.controller.AntiFlapFsm.Context;
-import org.openkilda.wfm.topology.network.controller.AntiFlapFsm.Event;
-import org.openkilda.wfm.topology.network.controller.AntiFlapFsm.State;
 import org.openkilda.wfm.topology.network.model.Endpoint;
 import org.openkilda.wfm.topology.network.model.LinkStatus;
 
@@ -32,8 +28,6 @@ import java.util.Map;
 @Slf4j
 public class NetworkAntiFlapService {
     private final Map<Endpoint, AntiFlapFsm> controller = new HashMap<>();
-    private final FsmExecutor<AntiFlapFsm, State, Event, Context> controllerExecutor
-            = AntiFlapFsm.makeExecutor();
 
     private final IAntiFlapCarrier carrier;
     private final AntiFlapFsm.Config config;
@@ -64,7 +58,7 @@ public class NetworkAntiFlapService {
                         String.format("Unsupported %s value %s", LinkStatus.class.getName(), status));
         }
         log.debug("Physical port {} become {}", endpoint, event);
-        controllerExecutor.fire(fsm, event, new AntiFlapFsm.Context(carrier, timeMs));
+        fsm.fire(event, new AntiFlapFsm.Context(carrier, timeMs));
     }
 
     public void tick() {
@@ -74,7 +68,7 @@ public class NetworkAntiFlapService {
     @VisibleForTesting
     void tick(long timeMs) {
         controller.values().forEach(fsm ->
-                controllerExecutor.fire(fsm, AntiFlapFsm.Event.TICK, new AntiFlapFsm.Context(carrier, timeMs)));
+                fsm.fire(AntiFlapFsm.Event.TICK, new AntiFlapFsm.Context(carrier, timeMs)));
     }
 
     // -- private --
@@ -17,11 +17,9 @@ package org.openkilda.wfm.topology.network.service;
 
 import org.openkilda.messaging.floodlight.response.BfdSessionResponse;
 import org.openkilda.persistence.PersistenceManager;
-import org.openkilda.wfm.share.utils.FsmExecutor;
 import org.openkilda.wfm.topology.network.controller.bfd.BfdPortFsm;
 import org.openkilda.wfm.topology.network.controller.bfd.BfdPortFsm.BfdPortFsmContext;
 import org.openkilda.wfm.topology.network.controller.bfd.BfdPortFsm.BfdPortFsmEvent;
-import org.openkilda.wfm.topology.network.controller.bfd.BfdPortFsm.BfdPortFsmState;
 import org.openkilda.wfm.topology.network.error.BfdPortControllerNotFoundException;
 import org.openkilda.wfm.topology.network.model.Endpoint;
 import org.openkilda.wfm.topology.network.model.IslReference;
@@ -45,9 +43,6 @@ public class NetworkBfdPortService {
     private final List<BfdPortFsm> pendingCleanup = new LinkedList<>();
     private final Map<Endpoint, IslReference> autostart = new HashMap<>();
 
-    private final FsmExecutor<BfdPortFsm, BfdPortFsmState, BfdPortFsmEvent, BfdPortFsmContext> controllerExecutor
-            = BfdPortFsm.makeExecutor();
-
     public NetworkBfdPortService(IBfdPortCarrier carrier, PersistenceManager persistenceManager) {
         this.carrier = carrier;
         this.persistenceManager = persistenceManager;
@@ -62,7 +57,7 @@ public class NetworkBfdPortService {
         BfdPortFsm controller = BfdPortFsm.create(persistenceManager, endpoint, physicalPortNumber);
 
         BfdPortFsmContext context = BfdPortFsmContext.builder(carrier).build();
-        controllerExecutor.fire(controller, BfdPortFsmEvent.HISTORY, context);
+        controller.fire(BfdPortFsmEvent.HISTORY, context);
 
         controllerByLogicalPort.put(controller.getLogicalEndpoint(), controller);
         controllerByPhysicalPort.put(controller.getPhysicalEndpoint(), controller);
@@ -72,7 +67,7 @@ public class NetworkBfdPortService {
             context = BfdPortFsmContext.builder(carrier)
                     .islReference(autostartData)
                     .build();
-            controllerExecutor.fire(controller, BfdPortFsmEvent.ENABLE, context);
+            controller.fire(BfdPortFsmEvent.ENABLE, context);
         }
     }
 
@@ -95,7 +90,7 @@ public class NetworkBfdPortService {
 
     private void remove(BfdPortFsm controller) {
         BfdPortFsmContext context = BfdPortFsmContext.builder(carrier).build();
-        controllerExecutor.fire(controller, BfdPortFsmEvent.KILL, context);
+        controller.fire(BfdPortFsmEvent.KILL, context);
 
         if (controller.isDoingCleanup()) {
             log.info("BFD-port {} (physical-port:{}) have switched into housekeeping mode",
@@ -130,7 +125,7 @@ public class NetworkBfdPortService {
                         "Unsupported %s.%s link state. Can\'t handle event for %s",
                         LinkStatus.class.getName(), linkStatus, logicalEndpoint));
         }
-        controllerExecutor.fire(controller, event, context);
+        controller.fire(event, context);
     }
 
     /**
@@ -143,7 +138,7 @@ public class NetworkBfdPortService {
 
         BfdPortFsm controller = lookupControllerByLogicalEndpoint(endpoint);
         BfdPortFsmContext context = BfdPortFsmContext.builder(carrier).build();
-        controllerExecutor.fire(controller, event, context);
+        controller.fire(event, context);
     }
 
     /**
@@ -160,7 +155,7 @@ public class NetworkBfdPortService {
             BfdPortFsmContext context = BfdPortFsmContext.builder(carrier)
                     .islReference(reference)
                     .build();
-            controllerExecutor.fire(controller, BfdPortFsmEvent.ENABLE, context);
+            controller.fire(BfdPortFsmEvent.ENABLE, context);
         } catch (BfdPortControllerNotFoundException e) {
             log.debug("Set BFD autostart flag for {} (physical)", physicalEndpoint);
             autostart.put(physicalEndpoint, reference);
@@ -179,7 +174,7 @@ public class NetworkBfdPortService {
             log.info("Remove BFD session request for {} (logical-port:{})",
                      controller.getPhysicalEndpoint(), controller.getLogicalEndpoint().getPortNumber());
             BfdPortFsmContext context = BfdPortFsmContext.builder(carrier).build();
-            controllerExecutor.fire(controller, BfdPortFsmEvent.DISABLE, context);
+            controller.fire(BfdPortFsmEvent.DISABLE, context);
         } catch (BfdPortControllerNotFoundException e) {
             if (autostart.remove(physicalEndpoint) != null) {
                 log.debug("Reset BFD autostart flag for {} (physical)", physicalEndpoint);
@@ -217,7 +212,7 @@ public class NetworkBfdPortService {
     private void handleSpeakerResponse(Endpoint logicalEndpoint, BfdPortFsmContext context) {
         BfdPortFsm controller = controllerByLogicalPort.get(logicalEndpoint);
         if (controller != null) {
-            controllerExecutor.fire(controller, BfdPortFsmEvent.SPEAKER_RESPONSE, context);
+            controller.fire(BfdPortFsmEvent.SPEAKER_RESPONSE, context);
         }
 
         handleSpeakerResponse(context);
@@ -227,7 +222,7 @@ public class NetworkBfdPortService {
         Iterator<BfdPortFsm> iter;
         for (iter = pendingCleanup.iterator(); iter.hasNext(); ) {
             BfdPortFsm controller = iter.next();
-            controllerExecutor.fire(controller, BfdPortFsmEvent.SPEAKER_RESPONSE, context);
+            controller.fire(BfdPortFsmEvent.SPEAKER_RESPONSE, context);
 
             if (!controller.isDoingCleanup()) {
                 log.info("BFD-port {} (physical-port:{}) have done with housekeeping, remove it",
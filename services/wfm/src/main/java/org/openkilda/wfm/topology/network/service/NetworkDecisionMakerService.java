@@ -16,11 +16,9 @@
 package org.openkilda.wfm.topology.network.service;
 
 import org.openkilda.messaging.info.event.IslInfoData;
-import org.openkilda.wfm.share.utils.FsmExecutor;
 import org.openkilda.wfm.topology.network.controller.DecisionMakerFsm;
 import org.openkilda.wfm.topology.network.controller.DecisionMakerFsm.DecisionMakerFsmContext;
 import org.openkilda.wfm.topology.network.controller.DecisionMakerFsm.DecisionMakerFsmEvent;
-import org.openkilda.wfm.topology.network.controller.DecisionMakerFsm.DecisionMakerFsmState;
 import org.openkilda.wfm.topology.network.model.Endpoint;
 
 import lombok.extern.slf4j.Slf4j;
@@ -33,10 +31,6 @@ public class NetworkDecisionMakerService {
 
     private final Map<Endpoint, DecisionMakerFsm> controller = new HashMap<>();
 
-    private final FsmExecutor<DecisionMakerFsm, DecisionMakerFsmState, DecisionMakerFsmEvent,
-            DecisionMakerFsmContext> controllerExecutor
-            = DecisionMakerFsm.makeExecutor();
-
     private final IDecisionMakerCarrier carrier;
     private final long failTimeout;
     private final long awaitTime;
@@ -63,7 +57,7 @@ public class NetworkDecisionMakerService {
                 .output(carrier)
                 .build();
 
-        controllerExecutor.fire(decisionMakerFsm, DecisionMakerFsmEvent.DISCOVERY, context);
+        decisionMakerFsm.fire(DecisionMakerFsmEvent.DISCOVERY, context);
     }
 
     public void failed(Endpoint endpoint, long packetId) {
@@ -80,7 +74,7 @@ public class NetworkDecisionMakerService {
                 .output(carrier)
                 .build();
 
-        controllerExecutor.fire(decisionMakerFsm, DecisionMakerFsmEvent.FAIL, context);
+        decisionMakerFsm.fire(DecisionMakerFsmEvent.FAIL, context);
     }
 
     public void tick() {
@@ -93,7 +87,7 @@ public class NetworkDecisionMakerService {
                 .output(carrier)
                 .build();
         for (DecisionMakerFsm fsm : controller.values()) {
-            controllerExecutor.fire(fsm, DecisionMakerFsmEvent.TICK, context);
+            fsm.fire(DecisionMakerFsmEvent.TICK, context);
         }
     }
 
@@ -17,12 +17,10 @@ package org.openkilda.wfm.topology.network.service;
 
 import org.openkilda.messaging.info.event.IslInfoData;
 import org.openkilda.model.Isl;
-import org.openkilda.wfm.share.utils.FsmExecutor;
 import org.openkilda.wfm.topology.network.NetworkTopologyDashboardLogger;
 import org.openkilda.wfm.topology.network.controller.port.PortFsm;
 import org.openkilda.wfm.topology.network.controller.port.PortFsm.PortFsmContext;
 import org.openkilda.wfm.topology.network.controller.port.PortFsm.PortFsmEvent;
-import org.openkilda.wfm.topology.network.controller.port.PortFsm.PortFsmState;
 import org.openkilda.wfm.topology.network.model.Endpoint;
 import org.openkilda.wfm.topology.network.model.LinkStatus;
 
@@ -35,8 +33,6 @@ import java.util.Map;
 @Slf4j
 public class NetworkPortService {
     private final Map<Endpoint, PortFsm> controller = new HashMap<>();
-    private final FsmExecutor<PortFsm, PortFsmState, PortFsmEvent, PortFsmContext> controllerExecutor
-            = PortFsm.makeExecutor();
 
     private final IPortCarrier carrier;
 
@@ -67,7 +63,7 @@ public class NetworkPortService {
             throw new IllegalStateException(String.format("Port FSM not found (%s).", endpoint));
         }
         PortFsmContext context = PortFsmContext.builder(carrier).build();
-        controllerExecutor.fire(portFsm, PortFsmEvent.PORT_DEL, context);
+        portFsm.fire(PortFsmEvent.PORT_DEL, context);
     }
 
     /**
@@ -82,7 +78,7 @@ public class NetworkPortService {
             event = PortFsmEvent.OFFLINE;
         }
         log.debug("Port service receive online status change for {}, new status is {}", endpoint, event);
-        controllerExecutor.fire(portFsm, event, PortFsmContext.builder(carrier).build());
+        portFsm.fire(event, PortFsmContext.builder(carrier).build());
     }
 
     /**
@@ -103,7 +99,7 @@ public class NetworkPortService {
                 throw new IllegalArgumentException(
                         String.format("Unsupported %s value %s", LinkStatus.class.getName(), status));
         }
-        controllerExecutor.fire(portFsm, event, PortFsmContext.builder(carrier).build());
+        portFsm.fire(event, PortFsmContext.builder(carrier).build());
     }
 
     /**
@@ -116,7 +112,7 @@ public class NetworkPortService {
         PortFsmContext context = PortFsmContext.builder(carrier)
                 .speakerDiscoveryEvent(speakerDiscoveryEvent)
                 .build();
-        controllerExecutor.fire(portFsm, PortFsmEvent.DISCOVERY, context);
+        portFsm.fire(PortFsmEvent.DISCOVERY, context);
     }
 
     /**
@@ -128,7 +124,7 @@ public class NetworkPortService {
         PortFsm portFsm = locateController(endpoint);
         PortFsmContext context = PortFsmContext.builder(carrier).build();
 
-        controllerExecutor.fire(portFsm, PortFsmEvent.FAIL, context);
+        portFsm.fire(PortFsmEvent.FAIL, context);
     }
 
     // -- for tests --
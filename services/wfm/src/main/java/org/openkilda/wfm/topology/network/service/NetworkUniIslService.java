@@ -17,11 +17,9 @@ package org.openkilda.wfm.topology.network.service;
 
 import org.openkilda.messaging.info.event.IslInfoData;
 import org.openkilda.model.Isl;
-import org.openkilda.wfm.share.utils.FsmExecutor;
 import org.openkilda.wfm.topology.network.controller.UniIslFsm;
 import org.openkilda.wfm.topology.network.controller.UniIslFsm.UniIslFsmContext;
 import org.openkilda.wfm.topology.network.controller.UniIslFsm.UniIslFsmEvent;
-import org.openkilda.wfm.topology.network.controller.UniIslFsm.UniIslFsmState;
 import org.openkilda.wfm.topology.network.model.Endpoint;
 
 import lombok.extern.slf4j.Slf4j;
@@ -33,9 +31,6 @@ import java.util.Map;
 public class NetworkUniIslService {
     private final Map<Endpoint, UniIslFsm> controller = new HashMap<>();
 
-    private final FsmExecutor<UniIslFsm, UniIslFsmState, UniIslFsmEvent, UniIslFsmContext> controllerExecutor
-            = UniIslFsm.makeExecutor();
-
     private final IUniIslCarrier carrier;
 
     public NetworkUniIslService(IUniIslCarrier carrier) {
@@ -51,7 +46,7 @@ public class NetworkUniIslService {
         UniIslFsmContext context = UniIslFsmContext.builder(carrier)
                 .history(history)
                 .build();
-        controllerExecutor.fire(fsm, UniIslFsmEvent.ACTIVATE, context);
+        fsm.fire(UniIslFsmEvent.ACTIVATE, context);
         controller.put(endpoint, fsm);
     }
 
@@ -63,7 +58,7 @@ public class NetworkUniIslService {
         UniIslFsmContext context = UniIslFsmContext.builder(carrier)
                 .discoveryEvent(speakerDiscoveryEvent)
                 .build();
-        controllerExecutor.fire(locateController(endpoint), UniIslFsmEvent.DISCOVERY, context);
+        locateController(endpoint).fire(UniIslFsmEvent.DISCOVERY, context);
     }
 
     /**
@@ -72,7 +67,7 @@ public class NetworkUniIslService {
     public void uniIslFail(Endpoint endpoint) {
         log.debug("Uni-ISL service receive FAILED notification for {}", endpoint);
         UniIslFsmContext context = UniIslFsmContext.builder(carrier).build();
-        controllerExecutor.fire(locateController(endpoint), UniIslFsmEvent.FAIL, context);
+        locateController(endpoint).fire(UniIslFsmEvent.FAIL, context);
     }
 
     /**
@@ -81,7 +76,7 @@ public class NetworkUniIslService {
     public void uniIslPhysicalDown(Endpoint endpoint) {
         log.debug("Uni-ISL service receive PHYSICAL-DOWN notification for {}", endpoint);
         UniIslFsmContext context = UniIslFsmContext.builder(carrier).build();
-        controllerExecutor.fire(locateController(endpoint), UniIslFsmEvent.PHYSICAL_DOWN, context);
+        locateController(endpoint).fire(UniIslFsmEvent.PHYSICAL_DOWN, context);
     }
 
     /**
@@ -91,7 +86,7 @@ public class NetworkUniIslService {
         UniIslFsmContext context = UniIslFsmContext.builder(carrier).build();
         UniIslFsmEvent event = isUp ? UniIslFsmEvent.BFD_UP : UniIslFsmEvent.BFD_DOWN;
         log.debug("Uni-ISL service receive BFD status update for {} - status:{}", endpoint, event);
-        controllerExecutor.fire(locateController(endpoint), event, context);
+        locateController(endpoint).fire(event, context);
     }
 
     /**
@@ -108,7 +103,7 @@ public class NetworkUniIslService {
     public void uniIslBfdKill(Endpoint endpoint) {
         log.debug("Uni-ISL service receive BFD-KILL notification for {}", endpoint);
         UniIslFsmContext context = UniIslFsmContext.builder(carrier).build();
-        controllerExecutor.fire(locateController(endpoint), UniIslFsmEvent.BFD_KILL, context);
+        locateController(endpoint).fire(UniIslFsmEvent.BFD_KILL, context);
     }
 
     // -- private --
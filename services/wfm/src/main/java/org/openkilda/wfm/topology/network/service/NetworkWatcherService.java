@@ -15,8 +15,9 @@
 
 package org.openkilda.wfm.topology.network.service;
 
-import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
 import org.openkilda.messaging.info.event.IslInfoData;
+import org.openkilda.model.SwitchId;
 import org.openkilda.wfm.topology.network.model.Endpoint;
 import org.openkilda.wfm.topology.network.model.IslReference;
 
@@ -24,26 +25,54 @@ import com.google.common.annotations.VisibleForTesting;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.SortedMap;
-import java.util.TreeMap;
 
+/**
+ * Tracks discovery packets sent via endpoints until they are received back or lost.
+ * <p/>
+ * Packets in flight are kept in per endpoint slots, their timeouts are kept in a hashed timer wheel. Each wheel
+ * bucket covers {@code awaitTime / WHEEL_SIZE} of time, so a tick visits only the buckets passed since the previous
+ * one. Packets removed before their timeout are only marked inactive and are dropped from the wheel on the next visit
+ * of their bucket.
+ * <p/>
+ * Discovery requests are collected per switch and sent as one batch command per switch on the next tick. The
+ * topology routes all ports of a switch to the same service instance, so a batch covers every watched port of the
+ * switch.
+ */
 @Slf4j
 public class NetworkWatcherService {
+    private static final int WHEEL_SIZE = 64;
+    private static final long CURSOR_UNSET = Long.MIN_VALUE;
+
     private final IWatcherCarrier carrier;
     private final long awaitTime;
     private final Integer taskId;
 
     private long packetNo = 0;
-    private Set<Packet> producedPackets = new HashSet<>();
-    private Set<Packet> confirmedPackets = new HashSet<>();
-    private SortedMap<Long, Set<Packet>> timeouts = new TreeMap<>();
+    private final Map<Endpoint, List<Watch>> watches = new HashMap<>();
+    private final Map<SwitchId, List<DiscoverIslBatchCommandData.Port>> discoveryBatches = new HashMap<>();
 
+    private final List<Watch>[] wheel;
+    private final long bucketDuration;
+    private long cursor = CURSOR_UNSET;
+
+    @SuppressWarnings("unchecked")
     public NetworkWatcherService(IWatcherCarrier carrier, long awaitTime, Integer taskId) {
         this.carrier = carrier;
         this.awaitTime = awaitTime;
         this.taskId = taskId;
+
+        bucketDuration = Math.max(1, awaitTime / WHEEL_SIZE);
+        wheel = new List[WHEEL_SIZE];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new ArrayList<>();
+        }
     }
 
     public void addWatch(Endpoint endpoint) {
@@ -55,13 +84,12 @@ public class NetworkWatcherService {
         log.debug("Watcher service receive ADD-watch request for {} and produce packet id:{} task:{}",
                   endpoint, packet.packetNo, taskId);
 
-        producedPackets.add(packet);
-        timeouts.computeIfAbsent(currentTime + awaitTime, key -> new HashSet<>())
-                .add(packet);
+        Watch watch = new Watch(packet, currentTime + awaitTime);
+        watches.computeIfAbsent(endpoint, key -> new ArrayList<>(2)).add(watch);
+        schedule(watch);
 
-        DiscoverIslCommandData discoveryRequest = new DiscoverIslCommandData(
-                endpoint.getDatapath(), endpoint.getPortNumber(), packetNo);
-        carrier.sendDiscovery(discoveryRequest);
+        discoveryBatches.computeIfAbsent(endpoint.getDatapath(), key -> new ArrayList<>())
+                .add(new DiscoverIslBatchCommandData.Port(endpoint.getPortNumber(), packetNo));
 
         packetNo += 1;
     }
@@ -72,20 +100,28 @@ public class NetworkWatcherService {
     public void removeWatch(Endpoint endpoint) {
         log.debug("Watcher service receive REMOVE-watch request for {}", endpoint);
         carrier.clearDiscovery(endpoint);
-        producedPackets.removeIf(packet -> packet.endpoint.equals(endpoint));
-        confirmedPackets.removeIf(packet -> packet.endpoint.equals(endpoint));
+        List<Watch> removed = watches.remove(endpoint);
+        if (removed != null) {
+            for (Watch watch : removed) {
+                watch.active = false;
+            }
+        }
+
+        List<DiscoverIslBatchCommandData.Port> batch = discoveryBatches.get(endpoint.getDatapath());
+        if (batch != null) {
+            batch.removeIf(port -> port.getPortNumber() == endpoint.getPortNumber());
+        }
     }
 
     void tick(long tickTime) {
-        SortedMap<Long, Set<Packet>> range = timeouts.subMap(0L, tickTime + 1);
-        if (!range.isEmpty()) {
-            for (Set<Packet> e : range.values()) {
-                for (Packet ee : e) {
-                    timeoutAction(ee);
-                }
-            }
-            range.clear();
+        flushDiscovery();
+
+        long target = tickTime / bucketDuration;
+        long first = cursor == CURSOR_UNSET || target - cursor >= WHEEL_SIZE ? target - WHEEL_SIZE + 1 : cursor;
+        for (long bucket = first; bucket <= target; bucket++) {
+            expire(wheel[bucketIndex(bucket)], tickTime);
         }
+        cursor = Math.max(cursor, target);
     }
 
     public void tick() {
@@ -97,9 +133,9 @@ public class NetworkWatcherService {
      */
     public void confirmation(Endpoint endpoint, long packetNo) {
         log.debug("Watcher service receive SEND-confirmation for {} id:{} task:{}", endpoint, packetNo, taskId);
-        Packet packet = Packet.of(endpoint, packetNo);
-        if (producedPackets.remove(packet)) {
-            confirmedPackets.add(packet);
+        Watch watch = findWatch(Packet.of(endpoint, packetNo));
+        if (watch != null && !watch.confirmed) {
+            watch.confirmed = true;
         } else if (log.isDebugEnabled()) {
             log.debug("Can't find produced packet for {} id:{} task:{}", endpoint, packetNo, taskId);
         }
@@ -125,9 +161,9 @@ public class NetworkWatcherService {
                       packet.endpoint, packet.packetNo, taskId, ref);
         }
 
-        boolean wasProduced = producedPackets.remove(packet);
-        boolean wasConfirmed = confirmedPackets.remove(packet);
-        if (wasProduced || wasConfirmed) {
+        Watch watch = findWatch(packet);
+        if (watch != null) {
+            detach(watch);
             carrier.discoveryReceived(packet.endpoint, packet.packetNo, discoveryEvent, now());
         } else {
             log.error("Receive invalid or removed discovery packet on {} id:{} task:{}",
@@ -135,33 +171,121 @@ public class NetworkWatcherService {
         }
     }
 
-    private void timeoutAction(Packet packet) {
-        producedPackets.remove(packet);
+    private void timeoutAction(Watch watch) {
+        detach(watch);
 
-        if (confirmedPackets.remove(packet)) {
+        if (watch.confirmed) {
+            Packet packet = watch.packet;
             log.debug("Detect discovery packet lost sent via {} id:{} task:{}",
                       packet.endpoint, packet.packetNo, taskId);
             carrier.discoveryFailed(packet.getEndpoint(), packet.packetNo, now());
         }
     }
 
+    private void flushDiscovery() {
+        List<DiscoverIslBatchCommandData> requests = new ArrayList<>(discoveryBatches.size());
+        for (Map.Entry<SwitchId, List<DiscoverIslBatchCommandData.Port>> entry : discoveryBatches.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                requests.add(new DiscoverIslBatchCommandData(entry.getKey(), entry.getValue()));
+            }
+        }
+        discoveryBatches.clear();
+
+        for (DiscoverIslBatchCommandData request : requests) {
+            carrier.sendDiscovery(request);
+        }
+    }
+
+    private void schedule(Watch watch) {
+        long bucket = watch.deadline / bucketDuration;
+        if (cursor != CURSOR_UNSET && bucket < cursor) {
+            // the bucket has already been passed, so the timeout is handled by the next tick
+            bucket = cursor;
+        }
+        wheel[bucketIndex(bucket)].add(watch);
+    }
+
+    private void expire(List<Watch> bucket, long tickTime) {
+        List<Watch> due = new ArrayList<>();
+        Iterator<Watch> iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            Watch watch = iterator.next();
+            if (!watch.active) {
+                iterator.remove();
+            } else if (watch.deadline <= tickTime) {
+                iterator.remove();
+                due.add(watch);
+            }
+        }
+
+        for (Watch watch : due) {
+            timeoutAction(watch);
+        }
+    }
+
+    private Watch findWatch(Packet packet) {
+        List<Watch> endpointWatches = watches.get(packet.endpoint);
+        if (endpointWatches != null) {
+            for (Watch watch : endpointWatches) {
+                if (watch.packet.packetNo == packet.packetNo) {
+                    return watch;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void detach(Watch watch) {
+        if (!watch.active) {
+            return;
+        }
+        watch.active = false;
+
+        Endpoint endpoint = watch.packet.endpoint;
+        List<Watch> endpointWatches = watches.get(endpoint);
+        endpointWatches.remove(watch);
+        if (endpointWatches.isEmpty()) {
+            watches.remove(endpoint);
+        }
+    }
+
+    private int bucketIndex(long bucket) {
+        return (int) Math.floorMod(bucket, (long) WHEEL_SIZE);
+    }
+
     private long now() {
         return System.nanoTime();
     }
 
     @VisibleForTesting
     Set<Packet> getProducedPackets() {
-        return producedPackets;
+        return collectPackets(false);
     }
 
     @VisibleForTesting
     Set<Packet> getConfirmedPackets() {
-        return confirmedPackets;
+        return collectPackets(true);
     }
 
     @VisibleForTesting
-    SortedMap<Long, Set<Packet>> getTimeouts() {
-        return timeouts;
+    int getScheduledTimeoutsCount() {
+        int count = 0;
+        for (List<Watch> bucket : wheel) {
+            count += bucket.size();
+        }
+        return count;
+    }
+
+    private Set<Packet> collectPackets(boolean confirmed) {
+        Set<Packet> result = new HashSet<>();
+        for (List<Watch> endpointWatches : watches.values()) {
+            for (Watch watch : endpointWatches) {
+                if (watch.confirmed == confirmed) {
+                    result.add(watch.packet);
+                }
+            }
+        }
+        return result;
     }
 
     @Value(staticConstructor = "of")
@@ -169,4 +293,19 @@ public class NetworkWatcherService {
         private final Endpoint endpoint;
         private final long packetNo;
     }
+
+    /**
+     * The packet in flight.
+     */
+    private static final class Watch {
+        private final Packet packet;
+        private final long deadline;
+        private boolean confirmed;
+        private boolean active = true;
+
+        Watch(Packet packet, long deadline) {
+            this.packet = packet;
+            this.deadline = deadline;
+        }
+    }
 }
@@ -36,7 +36,10 @@ public enum ComponentId {
     SPEAKER_OUTPUT("speaker.output"),
 
     REROUTE_ENCODER("reroute.encoder"),
-    REROUTE_OUTPUT("reroute.output");
+    REROUTE_OUTPUT("reroute.output"),
+
+    FLOW_ENCODER("flow.encoder"),
+    FLOW_OUTPUT("flow.output");
 
     private final String value;
 
@@ -18,6 +18,7 @@ package org.openkilda.wfm.topology.network.storm.bolt.isl;
 import org.openkilda.messaging.command.CommandData;
 import org.openkilda.messaging.command.reroute.RerouteFlows;
 import org.openkilda.messaging.info.event.IslBfdFlagUpdated;
+import org.openkilda.messaging.info.event.NetworkTopologyChange;
 import org.openkilda.model.Isl;
 import org.openkilda.model.IslDownReason;
 import org.openkilda.persistence.PersistenceManager;
@@ -57,6 +58,10 @@ public class IslHandler extends AbstractBolt implements IIslCarrier {
     public static final Fields STREAM_REROUTE_FIELDS = new Fields(
             KafkaEncoder.FIELD_ID_KEY, KafkaEncoder.FIELD_ID_PAYLOAD, FIELD_ID_CONTEXT);
 
+    public static final String STREAM_FLOW_ID = "flow";
+    public static final Fields STREAM_FLOW_FIELDS = new Fields(
+            KafkaEncoder.FIELD_ID_KEY, KafkaEncoder.FIELD_ID_PAYLOAD, FIELD_ID_CONTEXT);
+
     private final PersistenceManager persistenceManager;
     private final NetworkOptions options;
 
@@ -98,6 +103,7 @@ public class IslHandler extends AbstractBolt implements IIslCarrier {
     public void declareOutputFields(OutputFieldsDeclarer streamManager) {
         streamManager.declareStream(STREAM_BFD_PORT_ID, STREAM_BFD_PORT_FIELDS);
         streamManager.declareStream(STREAM_REROUTE_ID, STREAM_REROUTE_FIELDS);
+        streamManager.declareStream(STREAM_FLOW_ID, STREAM_FLOW_FIELDS);
     }
 
     @Override
@@ -117,6 +123,11 @@ public class IslHandler extends AbstractBolt implements IIslCarrier {
         emit(STREAM_REROUTE_ID, getCurrentTuple(), makeRerouteTuple(trigger));
     }
 
+    @Override
+    public void topologyChangeNotification(NetworkTopologyChange notification) {
+        emit(STREAM_FLOW_ID, getCurrentTuple(), new Values(null, notification, getCommandContext()));
+    }
+
     private Values makeBfdPortTuple(BfdPortCommand command) {
         Endpoint endpoint = command.getEndpoint();
         return new Values(endpoint.getDatapath(), command,
@@ -15,6 +15,7 @@
 
 package org.openkilda.wfm.topology.network.storm.bolt.sw;
 
+import org.openkilda.messaging.info.event.NetworkTopologyChange;
 import org.openkilda.messaging.info.event.PortInfoData;
 import org.openkilda.messaging.info.event.SwitchInfoData;
 import org.openkilda.messaging.model.SpeakerSwitchView;
@@ -24,6 +25,7 @@ import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.wfm.AbstractBolt;
 import org.openkilda.wfm.CommandContext;
 import org.openkilda.wfm.error.PipelineException;
+import org.openkilda.wfm.share.bolt.KafkaEncoder;
 import org.openkilda.wfm.topology.network.model.Endpoint;
 import org.openkilda.wfm.topology.network.model.LinkStatus;
 import org.openkilda.wfm.topology.network.model.NetworkOptions;
@@ -65,6 +67,10 @@ public class SwitchHandler extends AbstractBolt implements ISwitchCarrier {
     public static final Fields STREAM_BFD_PORT_FIELDS = new Fields(FIELD_ID_DATAPATH, FIELD_ID_COMMAND,
             FIELD_ID_CONTEXT);
 
+    public static final String STREAM_FLOW_ID = "flow";
+    public static final Fields STREAM_FLOW_FIELDS = new Fields(KafkaEncoder.FIELD_ID_KEY, KafkaEncoder.FIELD_ID_PAYLOAD,
+            FIELD_ID_CONTEXT);
+
     private final NetworkOptions options;
     private final PersistenceManager persistenceManager;
 
@@ -107,6 +113,7 @@ public class SwitchHandler extends AbstractBolt implements ISwitchCarrier {
     public void declareOutputFields(OutputFieldsDeclarer streamManager) {
         streamManager.declareStream(STREAM_PORT_ID, STREAM_PORT_FIELDS);
         streamManager.declareStream(STREAM_BFD_PORT_ID, STREAM_BFD_PORT_FIELDS);
+        streamManager.declareStream(STREAM_FLOW_ID, STREAM_FLOW_FIELDS);
     }
 
     @Override
@@ -151,6 +158,11 @@ public class SwitchHandler extends AbstractBolt implements ISwitchCarrier {
         emit(STREAM_BFD_PORT_ID, getCurrentTuple(), makeBfdPortTuple(new BfdPortOnlineModeCommand(endpoint, mode)));
     }
 
+    @Override
+    public void topologyChangeNotification(NetworkTopologyChange notification) {
+        emit(STREAM_FLOW_ID, getCurrentTuple(), new Values(null, notification, getCommandContext()));
+    }
+
     private Values makePortTuple(PortCommand command) {
         Endpoint endpoint = command.getEndpoint();
         CommandContext context = forkContext(endpoint.toString());
@@ -16,7 +16,7 @@
 package org.openkilda.wfm.topology.network.storm.bolt.watcher;
 
 import org.openkilda.messaging.command.CommandData;
-import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
 import org.openkilda.messaging.info.event.IslInfoData;
 import org.openkilda.model.SwitchId;
 import org.openkilda.wfm.AbstractBolt;
@@ -119,7 +119,7 @@ public class WatcherHandler extends AbstractBolt implements IWatcherCarrier {
     }
 
     @Override
-    public void sendDiscovery(DiscoverIslCommandData discoveryRequest) {
+    public void sendDiscovery(DiscoverIslBatchCommandData discoveryRequest) {
         SwitchId switchId = discoveryRequest.getSwitchId();
         emit(STREAM_SPEAKER_ID, getCurrentTuple(), makeSpeakerTuple(switchId.toString(), discoveryRequest));
     }
@@ -20,6 +20,7 @@ import org.openkilda.wfm.topology.AbstractTopology;
 import org.openkilda.wfm.topology.opentsdb.OpenTsdbTopologyConfig.OpenTsdbConfig;
 import org.openkilda.wfm.topology.opentsdb.bolts.DatapointParseBolt;
 import org.openkilda.wfm.topology.opentsdb.bolts.OpenTSDBFilterBolt;
+import org.openkilda.wfm.topology.opentsdb.service.DownsamplingPolicy;
 
 import com.google.common.annotations.VisibleForTesting;
 import org.apache.storm.generated.StormTopology;
@@ -31,7 +32,10 @@ import org.apache.storm.opentsdb.client.OpenTsdbClient;
 import org.apache.storm.topology.TopologyBuilder;
 import org.apache.storm.tuple.Fields;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Apache Storm topology for sending metrics into Open TSDB.
@@ -58,11 +62,16 @@ public class OpenTsdbTopology extends AbstractTopology<OpenTsdbTopologyConfig> {
 
         OpenTsdbConfig openTsdbConfig = topologyConfig.getOpenTsdbConfig();
 
-        tb.setBolt(OTSDB_PARSE_BOLT_ID, new DatapointParseBolt(), openTsdbConfig.getDatapointParseBoltExecutors())
+        Set<String> portTotalMetrics = parseMetrics(openTsdbConfig.getRollupPortTotalsMetrics());
+        tb.setBolt(OTSDB_PARSE_BOLT_ID, new DatapointParseBolt(portTotalMetrics),
+                openTsdbConfig.getDatapointParseBoltExecutors())
                 .setNumTasks(openTsdbConfig.getDatapointParseBoltWorkers())
                 .shuffleGrouping(OTSDB_SPOUT_ID);
 
-        tb.setBolt(OTSDB_FILTER_BOLT_ID, new OpenTSDBFilterBolt(), openTsdbConfig.getFilterBoltExecutors())
+        OpenTSDBFilterBolt filterBolt = new OpenTSDBFilterBolt(openTsdbConfig.getFilterMaxSeries(),
+                DownsamplingPolicy.parse(openTsdbConfig.getFilterDownsampling()), openTsdbConfig.getRollupInterval(),
+                parseMetrics(openTsdbConfig.getRollupRatesMetrics()), portTotalMetrics);
+        tb.setBolt(OTSDB_FILTER_BOLT_ID, filterBolt, openTsdbConfig.getFilterBoltExecutors())
                 .fieldsGrouping(OTSDB_PARSE_BOLT_ID, new Fields("hash"));
 
         OpenTsdbClient.Builder tsdbBuilder = OpenTsdbClient
@@ -82,12 +91,20 @@ public class OpenTsdbTopology extends AbstractTopology<OpenTsdbTopologyConfig> {
         return tb.createTopology();
     }
 
+    private static Set<String> parseMetrics(String metrics) {
+        return Arrays.stream(metrics.split(","))
+                .map(String::trim)
+                .filter(metric -> !metric.isEmpty())
+                .collect(Collectors.toSet());
+    }
+
     private void attachInput(TopologyBuilder topology) {
         String otsdbTopic = topologyConfig.getKafkaOtsdbTopic();
 
         OpenTsdbConfig openTsdbConfig = topologyConfig.getOpenTsdbConfig();
 
-        KafkaSpoutConfig<String, String> spoutConfig = makeKafkaSpoutConfigBuilder(OTSDB_SPOUT_ID, otsdbTopic)
+        // Values are read as raw bytes, because producers send both JSON and binary encoded datapoints.
+        KafkaSpoutConfig<String, byte[]> spoutConfig = makeBinaryKafkaSpoutConfigBuilder(OTSDB_SPOUT_ID, otsdbTopic)
                 .setFirstPollOffsetStrategy(KafkaSpoutConfig.FirstPollOffsetStrategy.UNCOMMITTED_EARLIEST)
                 .build();
         KafkaSpout kafkaSpout = new KafkaSpout<>(spoutConfig);
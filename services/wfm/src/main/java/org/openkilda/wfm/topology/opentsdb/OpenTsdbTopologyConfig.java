@@ -20,6 +20,7 @@ import org.openkilda.wfm.topology.AbstractTopologyConfig;
 
 import com.sabre.oss.conf4j.annotation.Configuration;
 import com.sabre.oss.conf4j.annotation.Converter;
+import com.sabre.oss.conf4j.annotation.Default;
 import com.sabre.oss.conf4j.annotation.IgnoreKey;
 import com.sabre.oss.conf4j.annotation.Key;
 
@@ -69,5 +70,35 @@ public interface OpenTsdbTopologyConfig extends AbstractTopologyConfig {
 
         @Key("workers.datapointparserbolt")
         int getDatapointParseBoltWorkers();
+
+        @Key("filter.max-series")
+        @Default("1000000")
+        int getFilterMaxSeries();
+
+        /**
+         * Comma separated list of "metric-prefix=seconds" pairs.
+         */
+        @Key("filter.downsampling")
+        @Default("")
+        String getFilterDownsampling();
+
+        @Key("rollup.interval")
+        @Default("60")
+        @Converter(SecondsToMilisConverter.class)
+        int getRollupInterval();
+
+        /**
+         * Comma separated list of counter metrics to be rolled up into per second rates.
+         */
+        @Key("rollup.rates.metrics")
+        @Default("")
+        String getRollupRatesMetrics();
+
+        /**
+         * Comma separated list of port metrics to be rolled up into per switch totals.
+         */
+        @Key("rollup.port-totals.metrics")
+        @Default("")
+        String getRollupPortTotalsMetrics();
     }
 }
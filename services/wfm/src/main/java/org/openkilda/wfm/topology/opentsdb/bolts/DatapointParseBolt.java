@@ -18,7 +18,10 @@ package org.openkilda.wfm.topology.opentsdb.bolts;
 import static org.openkilda.messaging.Utils.MAPPER;
 
 import org.openkilda.messaging.info.Datapoint;
+import org.openkilda.wfm.share.utils.DatapointCodec;
+import org.openkilda.wfm.topology.opentsdb.service.DatapointFilterService;
 
+import com.google.common.annotations.VisibleForTesting;
 import org.apache.storm.task.OutputCollector;
 import org.apache.storm.task.TopologyContext;
 import org.apache.storm.topology.OutputFieldsDeclarer;
@@ -28,36 +31,82 @@ import org.apache.storm.tuple.Tuple;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+/**
+ * Parses datapoints received from producers. Datapoints are either encoded by {@link DatapointCodec} or JSON.
+ */
 public class DatapointParseBolt extends BaseRichBolt {
     private static final Logger LOGGER = LoggerFactory.getLogger(DatapointParseBolt.class);
+    private final HashSet<String> portTotalMetrics;
     private OutputCollector collector;
+    private transient DatapointCodec datapointCodec;
+
+    public DatapointParseBolt(Set<String> portTotalMetrics) {
+        this.portTotalMetrics = new HashSet<>(portTotalMetrics);
+    }
 
     @Override
     public void prepare(Map map, TopologyContext topologyContext, OutputCollector collector) {
         this.collector = collector;
+        this.datapointCodec = new DatapointCodec();
     }
 
     @Override
     public void execute(Tuple tuple) {
-        final String data = tuple.getString(0);
-        LOGGER.debug("Processing datapoint: " + data);
+        final Object data = tuple.getValue(0);
         try {
-            Datapoint datapoint = MAPPER.readValue(data, Datapoint.class);
-            List<Object> stream = Stream.of(datapoint.simpleHashCode(), datapoint)
+            Datapoint datapoint = parse(data);
+            LOGGER.debug("Processing datapoint: {}", datapoint);
+            List<Object> stream = Stream.of(hash(datapoint), datapoint)
                     .collect(Collectors.toList());
             collector.emit(stream);
         } catch (Exception e) {
-            LOGGER.error("Failed reading data: " + data, e);
+            LOGGER.error("Failed reading data: " + format(data), e);
         } finally {
             collector.ack(tuple);
         }
     }
 
+    /**
+     * Datapoints of all ports of a switch must reach the same filter bolt task to be rolled up into switch totals.
+     * Other metrics, e.g. per-flow ones tagged by the switch too, are spread by the whole series.
+     */
+    @VisibleForTesting
+    int hash(Datapoint datapoint) {
+        Map<String, String> tags = datapoint.getTags();
+        String switchId = tags != null ? tags.get(DatapointFilterService.SWITCH_TAG) : null;
+        if (switchId == null || !portTotalMetrics.contains(datapoint.getMetric())) {
+            return datapoint.simpleHashCode();
+        }
+        return datapoint.getMetric().hashCode() * 31 + switchId.hashCode();
+    }
+
+    private Datapoint parse(Object data) throws IOException {
+        if (data instanceof byte[]) {
+            byte[] bytes = (byte[]) data;
+            if (DatapointCodec.isEncoded(bytes)) {
+                return datapointCodec.decode(bytes);
+            }
+            return MAPPER.readValue(bytes, Datapoint.class);
+        }
+        return MAPPER.readValue((String) data, Datapoint.class);
+    }
+
+    private static String format(Object data) {
+        if (data instanceof byte[]) {
+            return new String((byte[]) data, StandardCharsets.UTF_8);
+        }
+        return String.valueOf(data);
+    }
+
     @Override
     public void declareOutputFields(OutputFieldsDeclarer declarer) {
         declarer.declare(new Fields("hash", "datapoint"));
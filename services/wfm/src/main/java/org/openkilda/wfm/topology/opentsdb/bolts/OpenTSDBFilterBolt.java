@@ -16,8 +16,9 @@
 package org.openkilda.wfm.topology.opentsdb.bolts;
 
 import org.openkilda.messaging.info.Datapoint;
+import org.openkilda.wfm.topology.opentsdb.service.DatapointFilterService;
+import org.openkilda.wfm.topology.opentsdb.service.DownsamplingPolicy;
 
-import lombok.Value;
 import org.apache.storm.Config;
 import org.apache.storm.Constants;
 import org.apache.storm.opentsdb.bolt.TupleOpenTsdbDatapointMapper;
@@ -30,19 +31,25 @@ import org.apache.storm.tuple.Tuple;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-
+/**
+ * Suppresses unchanged and too frequent datapoints and adds rollups, see {@link DatapointFilterService}.
+ */
 public class OpenTSDBFilterBolt extends BaseRichBolt {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(OpenTSDBFilterBolt.class);
     private static final long MUTE_IF_NO_UPDATES_SECS = TimeUnit.MINUTES.toSeconds(10);
     private static final long MUTE_IF_NO_UPDATES_MILLIS = TimeUnit.SECONDS.toMillis(MUTE_IF_NO_UPDATES_SECS);
+    private static final int DEFAULT_MAX_SERIES = 1_000_000;
+    private static final long DEFAULT_ROLLUP_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
 
     private static final Fields DECLARED_FIELDS =
             new Fields(TupleOpenTsdbDatapointMapper.DEFAULT_MAPPER.getMetricField(),
@@ -50,12 +57,34 @@ public class OpenTSDBFilterBolt extends BaseRichBolt {
                     TupleOpenTsdbDatapointMapper.DEFAULT_MAPPER.getValueField(),
                     TupleOpenTsdbDatapointMapper.DEFAULT_MAPPER.getTagsField());
 
-    private Map<DatapointKey, Datapoint> storage = new HashMap<>();
+    private final int maxSeries;
+    private final DownsamplingPolicy downsampling;
+    private final long rollupIntervalMillis;
+    private final HashSet<String> rateMetrics;
+    private final HashSet<String> portTotalMetrics;
+
+    private transient DatapointFilterService filterService;
     private OutputCollector collector;
 
+    public OpenTSDBFilterBolt() {
+        this(DEFAULT_MAX_SERIES, new DownsamplingPolicy(Collections.emptyMap()), DEFAULT_ROLLUP_INTERVAL_MILLIS,
+                Collections.emptySet(), Collections.emptySet());
+    }
+
+    public OpenTSDBFilterBolt(int maxSeries, DownsamplingPolicy downsampling, long rollupIntervalMillis,
+                              Set<String> rateMetrics, Set<String> portTotalMetrics) {
+        this.maxSeries = maxSeries;
+        this.downsampling = downsampling;
+        this.rollupIntervalMillis = rollupIntervalMillis;
+        this.rateMetrics = new HashSet<>(rateMetrics);
+        this.portTotalMetrics = new HashSet<>(portTotalMetrics);
+    }
+
     @Override
     public void prepare(Map stormConf, TopologyContext context, OutputCollector collector) {
         this.collector = collector;
+        this.filterService = new DatapointFilterService(MUTE_IF_NO_UPDATES_MILLIS, maxSeries, downsampling,
+                rollupIntervalMillis, rateMetrics, portTotalMetrics);
     }
     
     @Override
@@ -71,12 +100,8 @@ public class OpenTSDBFilterBolt extends BaseRichBolt {
         
         if (isTickTuple(tuple)) {
             // opentsdb using current epoch time (date +%s) in seconds
-            long now  = System.currentTimeMillis();
-            storage.entrySet().removeIf(entry ->  now - entry.getValue().getTime() > MUTE_IF_NO_UPDATES_MILLIS);
-
-            if (LOGGER.isTraceEnabled()) {
-                LOGGER.trace("storage after clean tulpe: {}", storage.toString());
-            }
+            filterService.removeOutdated(System.currentTimeMillis());
+            LOGGER.debug("series count after clean tuple: {}", filterService.getSeriesCount());
 
             collector.ack(tuple);
             return;
@@ -88,17 +113,12 @@ public class OpenTSDBFilterBolt extends BaseRichBolt {
         }
 
         Datapoint datapoint = (Datapoint) tuple.getValueByField("datapoint");
-
-        if (isUpdateRequired(datapoint)) {
-            addDatapoint(datapoint);
-
-            List<Object> stream = Stream.of(datapoint.getMetric(), datapoint.getTime(), datapoint.getValue(),
-                    datapoint.getTags()).collect(Collectors.toList());
+        for (Datapoint output : filterService.handle(datapoint)) {
+            List<Object> stream = Stream.of(output.getMetric(), output.getTime(), output.getValue(),
+                    output.getTags()).collect(Collectors.toList());
 
             LOGGER.debug("emit datapoint: {}", stream);
             collector.emit(stream);
-        } else {
-            LOGGER.debug("skip datapoint: {}", datapoint);
         }
         collector.ack(tuple);
     }
@@ -108,34 +128,6 @@ public class OpenTSDBFilterBolt extends BaseRichBolt {
         declarer.declare(DECLARED_FIELDS);
     }
 
-    private void addDatapoint(Datapoint datapoint) {
-        LOGGER.debug("adding datapoint: {}", datapoint);
-        LOGGER.debug("storage.size: {}", storage.size());
-        storage.put(new DatapointKey(datapoint.getMetric(), datapoint.getTags()), datapoint);
-        if (LOGGER.isTraceEnabled()) {
-            LOGGER.trace("addDatapoint storage: {}", storage.toString());
-        }
-    }
-
-    private boolean isUpdateRequired(Datapoint datapoint) {
-        boolean update = true;
-        Datapoint prevDatapoint = storage.get(new DatapointKey(datapoint.getMetric(), datapoint.getTags()));
-
-        if (prevDatapoint != null) {
-            if (LOGGER.isTraceEnabled()) {
-                LOGGER.trace("prev: {} cur: {} equals: {} time_delta: {}",
-                        prevDatapoint,
-                        datapoint,
-                        prevDatapoint.getValue().equals(datapoint.getValue()),
-                        datapoint.getTime() - prevDatapoint.getTime()
-                );
-            }
-            update = !prevDatapoint.getValue().equals(datapoint.getValue())
-                    || datapoint.getTime() - prevDatapoint.getTime() >= MUTE_IF_NO_UPDATES_MILLIS;
-        }
-        return update;
-    }
-    
     private boolean isTickTuple(Tuple tuple) {
         String sourceComponent = tuple.getSourceComponent();
         String sourceStreamId = tuple.getSourceStreamId();
@@ -143,12 +135,4 @@ public class OpenTSDBFilterBolt extends BaseRichBolt {
         return Constants.SYSTEM_COMPONENT_ID.equals(sourceComponent)
                 && Constants.SYSTEM_TICK_STREAM_ID.equals(sourceStreamId);
     }
-
-    @Value
-    private static class DatapointKey {
-
-        private String metric;
-
-        private Map<String, String> tags;
-    }
 }
@@ -0,0 +1,242 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.topology.opentsdb.service;
+
+import org.openkilda.messaging.info.Datapoint;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Decides which datapoints are sent to OpenTSDB and produces rollups.
+ * <p/>
+ * A datapoint is sent if the value of its series has changed and the downsampling interval of the metric has
+ * passed, or if the series has been muted for too long. The last sent values are kept in the LRU store bounded by
+ * the number of series, so the write volume and the memory depend on the number of series, not on the poll rate.
+ * <p/>
+ * Rollups are produced from all received datapoints, including suppressed ones:
+ * <ul>
+ *     <li>rates of counters: "metric.rate" per second, calculated over the rollup interval;</li>
+ *     <li>per-switch totals of port counters: "metric.total" tagged by the switch only, sent once per rollup
+ *     interval.</li>
+ * </ul>
+ * Totals require all ports of a switch to be handled by the same instance. Totals are bounded by the same number as
+ * series, the least recently updated ones are evicted.
+ */
+@Slf4j
+public class DatapointFilterService {
+    public static final String SWITCH_TAG = "switchid";
+    public static final String PORT_TAG = "port";
+    public static final String RATE_SUFFIX = ".rate";
+    public static final String TOTAL_SUFFIX = ".total";
+
+    private final long muteIntervalMillis;
+    private final long rollupIntervalMillis;
+    private final DownsamplingPolicy downsampling;
+    private final Set<String> rateMetrics;
+    private final Set<String> portTotalMetrics;
+
+    private final Map<SeriesKey, SeriesState> series;
+    private final Map<SeriesKey, PortTotals> portTotals;
+
+    public DatapointFilterService(long muteIntervalMillis, int maxSeries, DownsamplingPolicy downsampling,
+                                  long rollupIntervalMillis, Set<String> rateMetrics, Set<String> portTotalMetrics) {
+        this.muteIntervalMillis = muteIntervalMillis;
+        this.rollupIntervalMillis = rollupIntervalMillis;
+        this.downsampling = downsampling;
+        this.rateMetrics = rateMetrics;
+        this.portTotalMetrics = portTotalMetrics;
+        this.series = new LinkedHashMap<SeriesKey, SeriesState>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<SeriesKey, SeriesState> eldest) {
+                return size() > maxSeries;
+            }
+        };
+        this.portTotals = new LinkedHashMap<SeriesKey, PortTotals>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<SeriesKey, PortTotals> eldest) {
+                return size() > maxSeries;
+            }
+        };
+    }
+
+    /**
+     * Handles the received datapoint.
+     *
+     * @return datapoints to be sent.
+     */
+    public List<Datapoint> handle(Datapoint datapoint) {
+        List<Datapoint> result = Collections.emptyList();
+
+        SeriesKey key = new SeriesKey(datapoint.getMetric(), datapoint.getTags());
+        SeriesState state = series.get(key);
+        if (state == null) {
+            state = new SeriesState();
+            series.put(key, state);
+        }
+        state.lastSeenTime = datapoint.getTime();
+
+        if (isUpdateRequired(state, datapoint)) {
+            state.sentTime = datapoint.getTime();
+            state.sentValue = datapoint.getValue();
+            result = add(result, datapoint);
+        } else {
+            log.debug("skip datapoint: {}", datapoint);
+        }
+
+        if (rateMetrics.contains(datapoint.getMetric())) {
+            result = add(result, makeRate(state, datapoint));
+        }
+        if (portTotalMetrics.contains(datapoint.getMetric())) {
+            result = add(result, makePortTotal(datapoint));
+        }
+        return result;
+    }
+
+    /**
+     * Drops series and ports, which have not been updated for the mute interval.
+     */
+    public void removeOutdated(long now) {
+        series.values().removeIf(state -> now - state.lastSeenTime > muteIntervalMillis);
+        portTotals.values().removeIf(totals -> {
+            totals.ports.values().removeIf(port -> now - port.time > muteIntervalMillis);
+            return totals.ports.isEmpty();
+        });
+    }
+
+    public int getSeriesCount() {
+        return series.size();
+    }
+
+    public int getPortTotalsCount() {
+        return portTotals.size();
+    }
+
+    private boolean isUpdateRequired(SeriesState state, Datapoint datapoint) {
+        if (state.sentValue == null) {
+            return true;
+        }
+
+        long elapsed = datapoint.getTime() - state.sentTime;
+        if (elapsed >= muteIntervalMillis) {
+            return true;
+        }
+        return !state.sentValue.equals(datapoint.getValue())
+                && elapsed >= downsampling.getInterval(datapoint.getMetric());
+    }
+
+    private Datapoint makeRate(SeriesState state, Datapoint datapoint) {
+        long time = datapoint.getTime();
+        double value = datapoint.getValue().doubleValue();
+        if (!state.rateStarted || value < state.rateStartValue) {
+            // The first datapoint or the counter reset.
+            startRate(state, time, value);
+            return null;
+        }
+
+        long elapsed = time - state.rateStartTime;
+        if (elapsed < rollupIntervalMillis) {
+            return null;
+        }
+
+        double rate = (value - state.rateStartValue) * 1000 / elapsed;
+        startRate(state, time, value);
+        return new Datapoint(datapoint.getMetric() + RATE_SUFFIX, time, datapoint.getTags(), rate);
+    }
+
+    private static void startRate(SeriesState state, long time, double value) {
+        state.rateStarted = true;
+        state.rateStartTime = time;
+        state.rateStartValue = value;
+    }
+
+    private Datapoint makePortTotal(Datapoint datapoint) {
+        Map<String, String> datapointTags = datapoint.getTags();
+        if (datapointTags == null) {
+            return null;
+        }
+        String switchId = datapointTags.get(SWITCH_TAG);
+        String port = datapointTags.get(PORT_TAG);
+        if (switchId == null || port == null) {
+            return null;
+        }
+
+        Map<String, String> tags = Collections.singletonMap(SWITCH_TAG, switchId);
+        PortTotals totals = portTotals.computeIfAbsent(new SeriesKey(datapoint.getMetric(), tags),
+                ignore -> new PortTotals());
+        PortValue portValue = totals.ports.computeIfAbsent(port, ignore -> new PortValue());
+        portValue.time = datapoint.getTime();
+        portValue.value = datapoint.getValue().longValue();
+
+        if (datapoint.getTime() - totals.sentTime < rollupIntervalMillis) {
+            return null;
+        }
+
+        long total = 0;
+        for (PortValue value : totals.ports.values()) {
+            total += value.value;
+        }
+        totals.sentTime = datapoint.getTime();
+        return new Datapoint(datapoint.getMetric() + TOTAL_SUFFIX, datapoint.getTime(), tags, total);
+    }
+
+    private static List<Datapoint> add(List<Datapoint> result, Datapoint datapoint) {
+        if (datapoint == null) {
+            return result;
+        }
+        if (result.isEmpty()) {
+            result = new ArrayList<>(2);
+        }
+        result.add(datapoint);
+        return result;
+    }
+
+    @Value
+    private static class SeriesKey {
+        private String metric;
+
+        private Map<String, String> tags;
+    }
+
+    private static class SeriesState {
+        private long lastSeenTime;
+        private long sentTime;
+        private Number sentValue;
+
+        private boolean rateStarted;
+        private long rateStartTime;
+        private double rateStartValue;
+    }
+
+    private static class PortTotals {
+        private final Map<String, PortValue> ports = new HashMap<>();
+        private long sentTime = Long.MIN_VALUE / 2;
+    }
+
+    private static class PortValue {
+        private long time;
+        private long value;
+    }
+}
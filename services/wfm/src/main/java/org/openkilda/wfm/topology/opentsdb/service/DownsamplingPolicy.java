@@ -0,0 +1,82 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.topology.opentsdb.service;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Minimal intervals between datapoints of a series sent to OpenTSDB, configured per metric prefix. The longest
+ * matching prefix wins, metrics without matching prefix are not downsampled.
+ */
+public class DownsamplingPolicy implements Serializable {
+    private final TreeMap<String, Long> intervalsByPrefix;
+    private transient Map<String, Long> intervalsByMetric;
+
+    public DownsamplingPolicy(Map<String, Long> intervalsByPrefix) {
+        this.intervalsByPrefix = new TreeMap<>(intervalsByPrefix);
+    }
+
+    /**
+     * Parses the policy from the comma separated list of "prefix=seconds" pairs.
+     */
+    public static DownsamplingPolicy parse(String definition) {
+        Map<String, Long> intervals = new HashMap<>();
+        if (definition != null) {
+            for (String entry : definition.split(",")) {
+                if (entry.trim().isEmpty()) {
+                    continue;
+                }
+                String[] parts = entry.split("=");
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException(String.format(
+                            "Invalid downsampling entry \"%s\", expected \"prefix=seconds\"", entry));
+                }
+                intervals.put(parts[0].trim(), TimeUnit.SECONDS.toMillis(Long.parseLong(parts[1].trim())));
+            }
+        }
+        return new DownsamplingPolicy(intervals);
+    }
+
+    /**
+     * Gets the minimal interval between datapoints of the metric in milliseconds.
+     */
+    public long getInterval(String metric) {
+        if (intervalsByMetric == null) {
+            intervalsByMetric = new HashMap<>();
+        }
+        Long interval = intervalsByMetric.get(metric);
+        if (interval == null) {
+            interval = findInterval(metric);
+            intervalsByMetric.put(metric, interval);
+        }
+        return interval;
+    }
+
+    private long findInterval(String metric) {
+        // Prefixes of the metric are not greater than it, so the longest one is met first in descending order.
+        for (Map.Entry<String, Long> entry : intervalsByPrefix.headMap(metric, true).descendingMap().entrySet()) {
+            if (metric.startsWith(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return 0;
+    }
+}
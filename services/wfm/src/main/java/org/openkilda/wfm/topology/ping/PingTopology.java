@@ -247,7 +247,7 @@ public class PingTopology extends AbstractTopology<PingTopologyConfig> {
                 .shuffleGrouping(FlowFetcher.BOLT_ID, FlowFetcher.STREAM_ON_DEMAND_RESPONSE_ID)
                 .shuffleGrouping(OnDemandResultManager.BOLT_ID);
 
-        KafkaBolt output = buildKafkaBolt(topologyConfig.getKafkaNorthboundTopic());
+        KafkaBolt output = buildNorthboundKafkaBolt(topologyConfig.getKafkaNorthboundTopic());
         topology.setBolt(ComponentId.NORTHBOUND_OUTPUT.toString(), output, scaleFactor)
                 .shuffleGrouping(NorthboundEncoder.BOLT_ID);
     }
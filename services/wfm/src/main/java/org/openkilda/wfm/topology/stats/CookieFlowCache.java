@@ -0,0 +1,144 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.topology.stats;
+
+import org.openkilda.model.SwitchId;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+import java.util.Arrays;
+
+/**
+ * Cache of flows by their cookies: the flow id and the ingress and egress switches of the flow path. Flow ids are
+ * interned, so paths of a flow share the same string.
+ */
+public class CookieFlowCache extends LongKeyedColumns {
+    private final Interner<String> flowIds;
+
+    private String[] flowIdColumn = new String[INITIAL_CAPACITY];
+    private long[] ingressColumn = new long[INITIAL_CAPACITY];
+    private long[] egressColumn = new long[INITIAL_CAPACITY];
+    private boolean[] hasIngressColumn = new boolean[INITIAL_CAPACITY];
+    private boolean[] hasEgressColumn = new boolean[INITIAL_CAPACITY];
+
+    public CookieFlowCache(Interner<String> flowIds) {
+        this.flowIds = flowIds;
+    }
+
+    public CookieFlowCache() {
+        this(Interners.newWeakInterner());
+    }
+
+    /**
+     * Puts the flow path with both endpoints.
+     */
+    public void put(long cookie, String flowId, SwitchId ingressSwitch, SwitchId egressSwitch) {
+        int row = getOrAddRow(cookie, flowId);
+        setSwitch(row, ingressSwitch, MeasurePoint.INGRESS);
+        setSwitch(row, egressSwitch, MeasurePoint.EGRESS);
+    }
+
+    /**
+     * Sets one of the flow path endpoints.
+     */
+    public void updateSwitch(long cookie, String flowId, SwitchId switchId, MeasurePoint point) {
+        setSwitch(getOrAddRow(cookie, flowId), switchId, point);
+    }
+
+    public void remove(long cookie) {
+        removeRow(cookie, 0);
+    }
+
+    /**
+     * Finds the row of the cookie.
+     *
+     * @return the row or -1 if the cookie is unknown.
+     */
+    public int find(long cookie) {
+        return findRow(cookie, 0);
+    }
+
+    public String getFlowId(int row) {
+        return flowIdColumn[row];
+    }
+
+    public boolean isIngressSwitch(int row, SwitchId switchId) {
+        return hasIngressColumn[row] && ingressColumn[row] == switchId.toLong();
+    }
+
+    public boolean isEgressSwitch(int row, SwitchId switchId) {
+        return hasEgressColumn[row] && egressColumn[row] == switchId.toLong();
+    }
+
+    public SwitchId getIngressSwitch(int row) {
+        return hasIngressColumn[row] ? new SwitchId(ingressColumn[row]) : null;
+    }
+
+    public SwitchId getEgressSwitch(int row) {
+        return hasEgressColumn[row] ? new SwitchId(egressColumn[row]) : null;
+    }
+
+    private int getOrAddRow(long cookie, String flowId) {
+        int row = findRow(cookie, 0);
+        if (row == NO_ROW) {
+            row = addRow(cookie, 0);
+        }
+        flowIdColumn[row] = flowIds.intern(flowId);
+        return row;
+    }
+
+    private void setSwitch(int row, SwitchId switchId, MeasurePoint point) {
+        switch (point) {
+            case INGRESS:
+                hasIngressColumn[row] = switchId != null;
+                ingressColumn[row] = switchId != null ? switchId.toLong() : 0;
+                break;
+            case EGRESS:
+                hasEgressColumn[row] = switchId != null;
+                egressColumn[row] = switchId != null ? switchId.toLong() : 0;
+                break;
+            default:
+                throw new IllegalArgumentException(String.format("Unsupported measurement point value %s", point));
+        }
+    }
+
+    @Override
+    void growColumns(int capacity) {
+        flowIdColumn = Arrays.copyOf(flowIdColumn, capacity);
+        ingressColumn = Arrays.copyOf(ingressColumn, capacity);
+        egressColumn = Arrays.copyOf(egressColumn, capacity);
+        hasIngressColumn = Arrays.copyOf(hasIngressColumn, capacity);
+        hasEgressColumn = Arrays.copyOf(hasEgressColumn, capacity);
+    }
+
+    @Override
+    void moveRow(int from, int to) {
+        flowIdColumn[to] = flowIdColumn[from];
+        ingressColumn[to] = ingressColumn[from];
+        egressColumn[to] = egressColumn[from];
+        hasIngressColumn[to] = hasIngressColumn[from];
+        hasEgressColumn[to] = hasEgressColumn[from];
+    }
+
+    @Override
+    void clearRow(int row) {
+        flowIdColumn[row] = null;
+        hasIngressColumn[row] = false;
+        hasEgressColumn[row] = false;
+    }
+}
@@ -0,0 +1,155 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.topology.stats;
+
+import java.util.Arrays;
+
+/**
+ * Base of columnar caches keyed by a pair of longs. Rows are kept dense in primitive column arrays and are found by
+ * the open-addressing index of row numbers, so neither keys nor lookups are boxed. A removed row is replaced by the
+ * last one, subclasses move their value columns in {@link #moveRow(int, int)}.
+ */
+abstract class LongKeyedColumns {
+    static final int NO_ROW = -1;
+    static final int INITIAL_CAPACITY = 16;
+
+    private static final int EMPTY_SLOT = 0;
+
+    private long[] firstKeys = new long[INITIAL_CAPACITY];
+    private long[] secondKeys = new long[INITIAL_CAPACITY];
+    private int rows;
+
+    // Slots keep row number + 1, so the zeroed array is empty. The index is at most half full.
+    private int[] index = new int[INITIAL_CAPACITY * 2];
+
+    public int size() {
+        return rows;
+    }
+
+    int findRow(long firstKey, long secondKey) {
+        int mask = index.length - 1;
+        for (int slot = hash(firstKey, secondKey) & mask; index[slot] != EMPTY_SLOT; slot = (slot + 1) & mask) {
+            int row = index[slot] - 1;
+            if (firstKeys[row] == firstKey && secondKeys[row] == secondKey) {
+                return row;
+            }
+        }
+        return NO_ROW;
+    }
+
+    /**
+     * Adds the row for the keys, the row must not exist.
+     */
+    int addRow(long firstKey, long secondKey) {
+        if (rows == firstKeys.length) {
+            int capacity = rows * 2;
+            firstKeys = Arrays.copyOf(firstKeys, capacity);
+            secondKeys = Arrays.copyOf(secondKeys, capacity);
+            growColumns(capacity);
+            rebuildIndex(capacity * 2);
+        }
+
+        int row = rows++;
+        firstKeys[row] = firstKey;
+        secondKeys[row] = secondKey;
+        insertIntoIndex(row);
+        return row;
+    }
+
+    /**
+     * Removes the row of the keys if it exists.
+     */
+    void removeRow(long firstKey, long secondKey) {
+        int mask = index.length - 1;
+        int slot = hash(firstKey, secondKey) & mask;
+        while (index[slot] != EMPTY_SLOT) {
+            int row = index[slot] - 1;
+            if (firstKeys[row] == firstKey && secondKeys[row] == secondKey) {
+                deleteSlot(slot);
+                int last = --rows;
+                if (row != last) {
+                    relocateLastRow(last, row);
+                }
+                clearRow(last);
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    abstract void growColumns(int capacity);
+
+    abstract void moveRow(int from, int to);
+
+    abstract void clearRow(int row);
+
+    private void relocateLastRow(int last, int row) {
+        int mask = index.length - 1;
+        int slot = hash(firstKeys[last], secondKeys[last]) & mask;
+        while (index[slot] != last + 1) {
+            slot = (slot + 1) & mask;
+        }
+        index[slot] = row + 1;
+
+        firstKeys[row] = firstKeys[last];
+        secondKeys[row] = secondKeys[last];
+        moveRow(last, row);
+    }
+
+    /**
+     * Backward shift deletion, keeps probe sequences of the rest keys unbroken without tombstones.
+     */
+    private void deleteSlot(int slot) {
+        int mask = index.length - 1;
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (index[next] != EMPTY_SLOT) {
+            int row = index[next] - 1;
+            int home = hash(firstKeys[row], secondKeys[row]) & mask;
+            // Move the entry to the hole unless its home slot is cyclically within (hole, next].
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                index[hole] = index[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        index[hole] = EMPTY_SLOT;
+    }
+
+    private void rebuildIndex(int size) {
+        index = new int[size];
+        for (int row = 0; row < rows; row++) {
+            insertIntoIndex(row);
+        }
+    }
+
+    private void insertIntoIndex(int row) {
+        int mask = index.length - 1;
+        int slot = hash(firstKeys[row], secondKeys[row]) & mask;
+        while (index[slot] != EMPTY_SLOT) {
+            slot = (slot + 1) & mask;
+        }
+        index[slot] = row + 1;
+    }
+
+    private static int hash(long firstKey, long secondKey) {
+        long hash = firstKey * 0x9E3779B97F4A7C15L + secondKey;
+        hash ^= hash >>> 32;
+        hash *= 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 29));
+    }
+}
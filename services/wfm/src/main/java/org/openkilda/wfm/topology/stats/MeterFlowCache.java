@@ -0,0 +1,93 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.topology.stats;
+
+import org.openkilda.model.SwitchId;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+import java.util.Arrays;
+
+/**
+ * Cache of flows by switches and meters of their paths: the flow id and the cookie of the flow path. Flow ids are
+ * interned, so paths of a flow share the same string.
+ */
+public class MeterFlowCache extends LongKeyedColumns {
+    private final Interner<String> flowIds;
+
+    private String[] flowIdColumn = new String[INITIAL_CAPACITY];
+    private long[] cookieColumn = new long[INITIAL_CAPACITY];
+
+    public MeterFlowCache(Interner<String> flowIds) {
+        this.flowIds = flowIds;
+    }
+
+    public MeterFlowCache() {
+        this(Interners.newWeakInterner());
+    }
+
+    /**
+     * Puts the flow path meter, the flow id of the existing meter is kept.
+     */
+    public void put(SwitchId switchId, long meterId, String flowId, long cookie) {
+        int row = findRow(switchId.toLong(), meterId);
+        if (row == NO_ROW) {
+            row = addRow(switchId.toLong(), meterId);
+            flowIdColumn[row] = flowIds.intern(flowId);
+        }
+        cookieColumn[row] = cookie;
+    }
+
+    public void remove(SwitchId switchId, long meterId) {
+        removeRow(switchId.toLong(), meterId);
+    }
+
+    /**
+     * Finds the row of the switch meter.
+     *
+     * @return the row or -1 if the meter is unknown.
+     */
+    public int find(SwitchId switchId, long meterId) {
+        return findRow(switchId.toLong(), meterId);
+    }
+
+    public String getFlowId(int row) {
+        return flowIdColumn[row];
+    }
+
+    public long getCookie(int row) {
+        return cookieColumn[row];
+    }
+
+    @Override
+    void growColumns(int capacity) {
+        flowIdColumn = Arrays.copyOf(flowIdColumn, capacity);
+        cookieColumn = Arrays.copyOf(cookieColumn, capacity);
+    }
+
+    @Override
+    void moveRow(int from, int to) {
+        flowIdColumn[to] = flowIdColumn[from];
+        cookieColumn[to] = cookieColumn[from];
+    }
+
+    @Override
+    void clearRow(int row) {
+        flowIdColumn[row] = null;
+    }
+}
@@ -21,7 +21,6 @@ package org.openkilda.wfm.topology.stats;
 public enum StatsStreamType {
     PORT_STATS,
     METER_STATS,
-    CACHE_DATA,
     METER_CONFIG_STATS,
     FLOW_STATS,
     SYSTEM_RULE_STATS,
@@ -20,7 +20,6 @@ import static org.openkilda.wfm.topology.stats.StatsComponentType.FLOW_STATS_MET
 import static org.openkilda.wfm.topology.stats.StatsComponentType.METER_CFG_STATS_METRIC_GEN;
 import static org.openkilda.wfm.topology.stats.StatsComponentType.METER_STATS_METRIC_GEN;
 import static org.openkilda.wfm.topology.stats.StatsComponentType.PORT_STATS_METRIC_GEN;
-import static org.openkilda.wfm.topology.stats.StatsComponentType.STATS_CACHE_BOLT;
 import static org.openkilda.wfm.topology.stats.StatsComponentType.STATS_CACHE_FILTER_BOLT;
 import static org.openkilda.wfm.topology.stats.StatsComponentType.STATS_KILDA_SPEAKER_BOLT;
 import static org.openkilda.wfm.topology.stats.StatsComponentType.STATS_KILDA_SPEAKER_SPOUT;
@@ -29,13 +28,11 @@ import static org.openkilda.wfm.topology.stats.StatsComponentType.SYSTEM_RULE_ST
 import static org.openkilda.wfm.topology.stats.StatsComponentType.TICK_BOLT;
 import static org.openkilda.wfm.topology.stats.StatsStreamType.CACHE_UPDATE;
 import static org.openkilda.wfm.topology.stats.StatsStreamType.STATS_REQUEST;
-import static org.openkilda.wfm.topology.stats.bolts.CacheBolt.statsWithCacheFields;
 
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.spi.PersistenceProvider;
 import org.openkilda.wfm.LaunchEnvironment;
 import org.openkilda.wfm.topology.AbstractTopology;
-import org.openkilda.wfm.topology.stats.bolts.CacheBolt;
 import org.openkilda.wfm.topology.stats.bolts.CacheFilterBolt;
 import org.openkilda.wfm.topology.stats.bolts.SpeakerBolt;
 import org.openkilda.wfm.topology.stats.bolts.StatsRequesterBolt;
@@ -95,18 +92,11 @@ public class StatsTopology extends AbstractTopology<StatsTopologyConfig> {
         builder.setSpout(STATS_KILDA_SPEAKER_SPOUT.name(), kafkaSpeakerSpout, parallelism);
 
         // CacheFilterBolt catch data from kilda.speaker spout and tried to find InstallEgressFlow
-        // or InstallOneSwitchFlow and throw tuple to CacheBolt
+        // or InstallOneSwitchFlow and throw tuple to flow and meter metric generators
         builder.setBolt(STATS_CACHE_FILTER_BOLT.name(), new CacheFilterBolt(),
                 parallelism)
                 .shuffleGrouping(STATS_KILDA_SPEAKER_SPOUT.name());
 
-        // Cache bolt get data from NEO4J on start
-        PersistenceManager persistenceManager =
-                PersistenceProvider.getInstance().createPersistenceManager(configurationProvider);
-        builder.setBolt(STATS_CACHE_BOLT.name(), new CacheBolt(persistenceManager), parallelism)
-                .allGrouping(STATS_CACHE_FILTER_BOLT.name(), CACHE_UPDATE.name())
-                .fieldsGrouping(statsOfsBolt, StatsStreamType.CACHE_DATA.toString(), statsFields);
-
         builder.setBolt(PORT_STATS_METRIC_GEN.name(),
                 new PortMetricGenBolt(topologyConfig.getMetricPrefix()), parallelism)
                 .fieldsGrouping(statsOfsBolt, StatsStreamType.PORT_STATS.toString(), fieldMessage);
@@ -117,13 +107,18 @@ public class StatsTopology extends AbstractTopology<StatsTopologyConfig> {
                 new SystemRuleMetricGenBolt(topologyConfig.getMetricPrefix()), parallelism)
                 .fieldsGrouping(statsOfsBolt, StatsStreamType.SYSTEM_RULE_STATS.toString(), statsFields);
 
+        // Flow and meter metric generators keep flow caches, which are loaded from NEO4J on start
+        PersistenceManager persistenceManager =
+                PersistenceProvider.getInstance().createPersistenceManager(configurationProvider);
         logger.debug("starting flow_stats_metric_gen");
         builder.setBolt(FLOW_STATS_METRIC_GEN.name(),
-                new FlowMetricGenBolt(topologyConfig.getMetricPrefix()), parallelism)
-                .fieldsGrouping(STATS_CACHE_BOLT.name(), StatsStreamType.FLOW_STATS.toString(), statsWithCacheFields);
+                new FlowMetricGenBolt(topologyConfig.getMetricPrefix(), persistenceManager), parallelism)
+                .allGrouping(STATS_CACHE_FILTER_BOLT.name(), CACHE_UPDATE.name())
+                .fieldsGrouping(statsOfsBolt, StatsStreamType.FLOW_STATS.toString(), statsFields);
         builder.setBolt(METER_STATS_METRIC_GEN.name(),
-                new MeterStatsMetricGenBolt(topologyConfig.getMetricPrefix()), parallelism)
-                .fieldsGrouping(STATS_CACHE_BOLT.name(), StatsStreamType.METER_STATS.toString(), statsWithCacheFields);
+                new MeterStatsMetricGenBolt(topologyConfig.getMetricPrefix(), persistenceManager), parallelism)
+                .allGrouping(STATS_CACHE_FILTER_BOLT.name(), CACHE_UPDATE.name())
+                .fieldsGrouping(statsOfsBolt, StatsStreamType.METER_STATS.toString(), statsFields);
 
         builder.setBolt(TICK_BOLT.name(), new TickBolt(topologyConfig.getStatisticsRequestInterval()));
 
@@ -134,7 +129,7 @@ public class StatsTopology extends AbstractTopology<StatsTopologyConfig> {
                 .shuffleGrouping(STATS_REQUESTER_BOLT.name(), STATS_REQUEST.name());
 
         String openTsdbTopic = topologyConfig.getKafkaOtsdbTopic();
-        builder.setBolt("stats-opentsdb", createKafkaBolt(openTsdbTopic))
+        builder.setBolt("stats-opentsdb", buildBinaryKafkaBolt(openTsdbTopic))
                 .shuffleGrouping(PORT_STATS_METRIC_GEN.name())
                 .shuffleGrouping(METER_STATS_METRIC_GEN.name())
                 .shuffleGrouping(METER_CFG_STATS_METRIC_GEN.name())
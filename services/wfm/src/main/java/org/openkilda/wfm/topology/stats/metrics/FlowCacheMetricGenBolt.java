@@ -0,0 +1,103 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.topology.stats.metrics;
+
+import static org.openkilda.wfm.topology.stats.StatsComponentType.STATS_CACHE_FILTER_BOLT;
+
+import org.openkilda.model.Flow;
+import org.openkilda.model.FlowPath;
+import org.openkilda.model.SwitchId;
+import org.openkilda.persistence.PersistenceManager;
+import org.openkilda.persistence.repositories.FlowRepository;
+import org.openkilda.wfm.topology.stats.MeasurePoint;
+import org.openkilda.wfm.topology.stats.bolts.CacheFilterBolt.Commands;
+import org.openkilda.wfm.topology.stats.bolts.CacheFilterBolt.FieldsNames;
+
+import org.apache.storm.tuple.Tuple;
+
+/**
+ * Base of metric generators, which enrich stats by flows from the local cache. The cache is loaded from the
+ * database on start and is kept up to date by updates from the cache filter bolt, so stats tuples don't
+ * carry flow data.
+ */
+public abstract class FlowCacheMetricGenBolt extends MetricGenBolt {
+    private final PersistenceManager persistenceManager;
+
+    public FlowCacheMetricGenBolt(String metricPrefix, PersistenceManager persistenceManager) {
+        super(metricPrefix);
+        this.persistenceManager = persistenceManager;
+    }
+
+    @Override
+    protected void init() {
+        super.init();
+
+        FlowRepository flowRepository = persistenceManager.getRepositoryFactory().createFlowRepository();
+        try {
+            for (Flow flow : flowRepository.findAll()) {
+                loadPath(flow.getForwardPath(), flow.getSrcSwitch().getSwitchId(), flow.getDestSwitch().getSwitchId());
+                loadPath(flow.getReversePath(), flow.getDestSwitch().getSwitchId(), flow.getSrcSwitch().getSwitchId());
+            }
+            log.info("Stats Cache: Initialized");
+        } catch (Exception ex) {
+            log.error("Error on initFlowCache", ex);
+        }
+    }
+
+    @Override
+    protected void handleInput(Tuple input) throws Exception {
+        if (STATS_CACHE_FILTER_BOLT.name().equals(input.getSourceComponent())) {
+            handleUpdateCache(input);
+        } else {
+            handleStats(input);
+        }
+    }
+
+    private void handleUpdateCache(Tuple tuple) {
+        Long cookie = tuple.getLongByField(FieldsNames.COOKIE.name());
+        Long meterId = tuple.getLongByField(FieldsNames.METER.name());
+        String flowId = tuple.getStringByField(FieldsNames.FLOW.name());
+        SwitchId switchId = new SwitchId(tuple.getValueByField(FieldsNames.SWITCH.name()).toString());
+
+        Commands command = (Commands) tuple.getValueByField(FieldsNames.COMMAND.name());
+        MeasurePoint measurePoint = (MeasurePoint) tuple.getValueByField(FieldsNames.MEASURE_POINT.name());
+
+        switch (command) {
+            case UPDATE:
+                updateCache(cookie, meterId, flowId, switchId, measurePoint);
+                break;
+            case REMOVE:
+                removeFromCache(cookie, meterId, switchId);
+                break;
+            default:
+                log.error("invalid command");
+                break;
+        }
+    }
+
+    /**
+     * Adds the flow path, which is loaded from the database.
+     */
+    protected abstract void loadPath(FlowPath path, SwitchId srcSwitchId, SwitchId destSwitchId);
+
+    protected abstract void updateCache(Long cookie, Long meterId, String flowId, SwitchId switchId,
+                                        MeasurePoint measurePoint);
+
+    protected abstract void removeFromCache(Long cookie, Long meterId, SwitchId switchId);
+
+    protected abstract void handleStats(Tuple input) throws Exception;
+}
@@ -17,66 +17,87 @@ package org.openkilda.wfm.topology.stats.metrics;
 
 import static org.openkilda.messaging.Utils.TIMESTAMP;
 import static org.openkilda.wfm.topology.stats.StatsTopology.STATS_FIELD;
-import static org.openkilda.wfm.topology.stats.bolts.CacheBolt.COOKIE_CACHE_FIELD;
 
 import org.openkilda.messaging.info.stats.FlowStatsData;
 import org.openkilda.messaging.info.stats.FlowStatsEntry;
+import org.openkilda.model.FlowPath;
 import org.openkilda.model.SwitchId;
-import org.openkilda.wfm.topology.stats.CacheFlowEntry;
+import org.openkilda.persistence.PersistenceManager;
+import org.openkilda.wfm.topology.stats.CookieFlowCache;
 import org.openkilda.wfm.topology.stats.FlowCookieException;
 import org.openkilda.wfm.topology.stats.FlowDirectionHelper;
+import org.openkilda.wfm.topology.stats.MeasurePoint;
 
 import org.apache.storm.tuple.Tuple;
 
 import java.util.HashMap;
 import java.util.Map;
 import javax.annotation.Nonnull;
-import javax.annotation.Nullable;
 
 /**
  * The type Flow metric gen bolt.
  */
-public class FlowMetricGenBolt extends MetricGenBolt {
+public class FlowMetricGenBolt extends FlowCacheMetricGenBolt {
+    private transient CookieFlowCache cookieCache;
 
-    public FlowMetricGenBolt(String metricPrefix) {
-        super(metricPrefix);
+    public FlowMetricGenBolt(String metricPrefix, PersistenceManager persistenceManager) {
+        super(metricPrefix, persistenceManager);
     }
 
     @Override
-    protected void handleInput(Tuple input) throws Exception {
-        Map<Long, CacheFlowEntry> dataCache = (Map<Long, CacheFlowEntry>) input.getValueByField(COOKIE_CACHE_FIELD);
-        log.debug("dataCache in FlowMetricGenBolt {}", dataCache);
+    protected void init() {
+        cookieCache = new CookieFlowCache();
+        super.init();
+    }
+
+    @Override
+    protected void loadPath(FlowPath path, SwitchId srcSwitchId, SwitchId destSwitchId) {
+        cookieCache.put(path.getCookie().getValue(), path.getFlow().getFlowId(), srcSwitchId, destSwitchId);
+    }
+
+    @Override
+    protected void updateCache(Long cookie, Long meterId, String flowId, SwitchId switchId,
+                               MeasurePoint measurePoint) {
+        cookieCache.updateSwitch(cookie, flowId, switchId, measurePoint);
+    }
+
+    @Override
+    protected void removeFromCache(Long cookie, Long meterId, SwitchId switchId) {
+        cookieCache.remove(cookie);
+    }
 
+    @Override
+    protected void handleStats(Tuple input) throws Exception {
         FlowStatsData data = (FlowStatsData) input.getValueByField(STATS_FIELD);
         long timestamp = input.getLongByField(TIMESTAMP);
         SwitchId switchId = data.getSwitchId();
 
         for (FlowStatsEntry entry : data.getStats()) {
-            @Nullable CacheFlowEntry flowEntry = dataCache.get(entry.getCookie());
-            emit(entry, timestamp, switchId, flowEntry);
+            emit(entry, timestamp, switchId, cookieCache.find(entry.getCookie()));
         }
     }
 
-    private void emit(FlowStatsEntry entry, long timestamp, @Nonnull SwitchId switchId,
-                      @Nullable CacheFlowEntry flowEntry) throws FlowCookieException {
+    private void emit(FlowStatsEntry entry, long timestamp, @Nonnull SwitchId switchId, int cacheRow)
+            throws FlowCookieException {
+        boolean cached = cacheRow >= 0;
         String flowId = "unknown";
-        if (flowEntry != null) {
-            flowId = flowEntry.getFlowId();
+        if (cached) {
+            flowId = cookieCache.getFlowId(cacheRow);
         } else {
             log.warn("missed cache for sw {} cookie {}", switchId, entry.getCookie());
         }
 
         emitAnySwitchMetrics(entry, timestamp, switchId, flowId);
 
-        if (flowEntry != null) {
-            Map<String, String> flowTags = makeFlowTags(entry, flowEntry.getFlowId());
+        if (cached) {
+            Map<String, String> flowTags = makeFlowTags(entry, flowId);
 
             boolean isMatch = false;
-            if (switchId.toOtsdFormat().equals(flowEntry.getIngressSwitch())) {
+            if (cookieCache.isIngressSwitch(cacheRow, switchId)) {
                 emitIngressMetrics(entry, timestamp, flowTags);
                 isMatch = true;
             }
-            if (switchId.toOtsdFormat().equals(flowEntry.getEgressSwitch())) {
+            if (cookieCache.isEgressSwitch(cacheRow, switchId)) {
                 emitEgressMetrics(entry, timestamp, flowTags);
                 isMatch = true;
             }
@@ -84,7 +105,7 @@ public class FlowMetricGenBolt extends MetricGenBolt {
             if (!isMatch && log.isDebugEnabled()) {
                 log.debug("FlowStatsEntry with cookie {} and flow {} is not ingress not egress bc switch {} "
                                 + "is not any of {}, {}", entry.getCookie(), flowId, switchId,
-                        flowEntry.getIngressSwitch(), flowEntry.getEgressSwitch());
+                        cookieCache.getIngressSwitch(cacheRow), cookieCache.getEgressSwitch(cacheRow));
             }
         }
     }
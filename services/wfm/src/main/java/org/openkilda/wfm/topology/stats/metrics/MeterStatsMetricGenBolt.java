@@ -19,60 +19,86 @@ import static org.openkilda.messaging.Utils.TIMESTAMP;
 import static org.openkilda.model.Cookie.createCookieForDefaultRule;
 import static org.openkilda.model.MeterId.isMeterIdOfDefaultRule;
 import static org.openkilda.wfm.topology.stats.StatsTopology.STATS_FIELD;
-import static org.openkilda.wfm.topology.stats.bolts.CacheBolt.METER_CACHE_FIELD;
 
 import org.openkilda.messaging.info.stats.MeterStatsData;
 import org.openkilda.messaging.info.stats.MeterStatsEntry;
+import org.openkilda.model.FlowPath;
 import org.openkilda.model.SwitchId;
-import org.openkilda.wfm.topology.stats.CacheFlowEntry;
+import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.wfm.topology.stats.FlowCookieException;
 import org.openkilda.wfm.topology.stats.FlowDirectionHelper;
-import org.openkilda.wfm.topology.stats.MeterCacheKey;
+import org.openkilda.wfm.topology.stats.MeasurePoint;
+import org.openkilda.wfm.topology.stats.MeterFlowCache;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.storm.tuple.Tuple;
 
 import java.util.HashMap;
 import java.util.Map;
-import javax.annotation.Nullable;
 
 @Slf4j
-public class MeterStatsMetricGenBolt extends MetricGenBolt {
+public class MeterStatsMetricGenBolt extends FlowCacheMetricGenBolt {
+    private transient MeterFlowCache meterCache;
 
-    public MeterStatsMetricGenBolt(String metricPrefix) {
-        super(metricPrefix);
+    public MeterStatsMetricGenBolt(String metricPrefix, PersistenceManager persistenceManager) {
+        super(metricPrefix, persistenceManager);
     }
 
     @Override
-    protected void handleInput(Tuple input) throws Exception {
+    protected void init() {
+        meterCache = new MeterFlowCache();
+        super.init();
+    }
+
+    @Override
+    protected void loadPath(FlowPath path, SwitchId srcSwitchId, SwitchId destSwitchId) {
+        if (path.getMeterId() != null) {
+            meterCache.put(srcSwitchId, path.getMeterId().getValue(), path.getFlow().getFlowId(),
+                    path.getCookie().getValue());
+        } else {
+            log.warn("Flow {} has no meter ID", path.getFlow().getFlowId());
+        }
+    }
+
+    @Override
+    protected void updateCache(Long cookie, Long meterId, String flowId, SwitchId switchId,
+                               MeasurePoint measurePoint) {
+        if (meterId != null) {
+            meterCache.put(switchId, meterId, flowId, cookie);
+        }
+    }
+
+    @Override
+    protected void removeFromCache(Long cookie, Long meterId, SwitchId switchId) {
+        if (meterId != null) {
+            meterCache.remove(switchId, meterId);
+        }
+    }
+
+    @Override
+    protected void handleStats(Tuple input) throws Exception {
         MeterStatsData data = (MeterStatsData) input.getValueByField(STATS_FIELD);
 
         log.debug("Received meter statistics: {}.", data);
 
-        @SuppressWarnings("unchecked")
-        Map<MeterCacheKey, CacheFlowEntry> meterCache =
-                (Map<MeterCacheKey, CacheFlowEntry>) input.getValueByField(METER_CACHE_FIELD);
-
         long timestamp = input.getLongByField(TIMESTAMP);
 
         SwitchId switchId = data.getSwitchId();
         for (MeterStatsEntry entry : data.getStats()) {
-            @Nullable CacheFlowEntry flowEntry = meterCache.get(new MeterCacheKey(switchId, entry.getMeterId()));
-            emit(entry, timestamp, switchId, flowEntry);
+            emit(entry, timestamp, switchId, meterCache.find(switchId, entry.getMeterId()));
         }
     }
 
-    private void emit(MeterStatsEntry meterStats, Long timestamp, SwitchId switchId,
-                      @Nullable CacheFlowEntry cacheEntry) {
+    private void emit(MeterStatsEntry meterStats, Long timestamp, SwitchId switchId, int cacheRow) {
         try {
             if (isMeterIdOfDefaultRule(meterStats.getMeterId())) {
                 emitDefaultRuleMeterStats(meterStats, timestamp, switchId);
             } else {
-                emitFlowMeterStats(meterStats, timestamp, switchId, cacheEntry);
+                emitFlowMeterStats(meterStats, timestamp, switchId, cacheRow);
             }
         } catch (FlowCookieException e) {
             log.warn("Unknown flow direction for flow '{}' on switch '{}'. Message: {}",
-                    cacheEntry.getFlowId(), switchId, e.getMessage());
+                    meterCache.getFlowId(cacheRow), switchId, e.getMessage());
         }
     }
 
@@ -85,20 +111,21 @@ public class MeterStatsMetricGenBolt extends MetricGenBolt {
         emitMetric("switch.flow.system.meter.bits", timestamp, meterStats.getByteInCount() * 8, tags);
     }
 
-    private void emitFlowMeterStats(MeterStatsEntry meterStats, Long timestamp, SwitchId switchId,
-                                    @Nullable CacheFlowEntry cacheEntry) throws FlowCookieException {
-        if (cacheEntry == null) {
+    private void emitFlowMeterStats(MeterStatsEntry meterStats, Long timestamp, SwitchId switchId, int cacheRow)
+            throws FlowCookieException {
+        if (cacheRow < 0) {
             log.warn("Missed cache for switch '{}' meterId '{}'", switchId, meterStats.getMeterId());
             return;
         }
 
         Map<String, String> tags = createCommonTags(switchId, meterStats.getMeterId());
 
-        String direction = FlowDirectionHelper.findDirection(cacheEntry.getCookie()).name().toLowerCase();
+        long cookie = meterCache.getCookie(cacheRow);
+        String direction = FlowDirectionHelper.findDirection(cookie).name().toLowerCase();
 
         tags.put("direction", direction);
-        tags.put("flowid", cacheEntry.getFlowId());
-        tags.put("cookie", cacheEntry.getCookie().toString());
+        tags.put("flowid", meterCache.getFlowId(cacheRow));
+        tags.put("cookie", String.valueOf(cookie));
 
         emitMetric("flow.meter.packets", timestamp, meterStats.getPacketsInCount(), tags);
         emitMetric("flow.meter.bytes", timestamp, meterStats.getByteInCount(), tags);
@@ -15,14 +15,11 @@
 
 package org.openkilda.wfm.topology.stats.metrics;
 
-import org.openkilda.messaging.Utils;
-import org.openkilda.messaging.info.Datapoint;
 import org.openkilda.wfm.AbstractBolt;
-import org.openkilda.wfm.error.JsonEncodeException;
+import org.openkilda.wfm.share.utils.DatapointCodec;
 import org.openkilda.wfm.share.utils.MetricFormatter;
 import org.openkilda.wfm.topology.AbstractTopology;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 
 import java.util.Collections;
@@ -32,27 +29,25 @@ import java.util.Map;
 public abstract class MetricGenBolt extends AbstractBolt {
 
     private MetricFormatter metricFormatter;
+    private transient DatapointCodec datapointCodec;
 
     public MetricGenBolt(String metricPrefix) {
         this.metricFormatter = new MetricFormatter(metricPrefix);
     }
 
-    protected static List<Object> tuple(String metric, long timestamp, Number value, Map<String, String> tag)
-            throws JsonEncodeException {
-        Datapoint datapoint = new Datapoint(metric, timestamp, tag, value);
-        String json;
-        try {
-            json = Utils.MAPPER.writeValueAsString(datapoint);
-        } catch (JsonProcessingException e) {
-            throw new JsonEncodeException(datapoint, e);
-        }
-        return Collections.singletonList(json);
+    @Override
+    protected void init() {
+        datapointCodec = new DatapointCodec();
+    }
+
+    protected List<Object> tuple(String metric, long timestamp, Number value, Map<String, String> tag) {
+        return Collections.singletonList(datapointCodec.encode(metric, timestamp, value, tag));
     }
 
     void emitMetric(String metric, long timestamp, Number value, Map<String, String> tag) {
         try {
             getOutput().emit(tuple(metricFormatter.format(metric), timestamp, value, tag));
-        } catch (JsonEncodeException e) {
+        } catch (IllegalArgumentException e) {
             log.error("Error during serialization of datapoint", e);
         }
     }
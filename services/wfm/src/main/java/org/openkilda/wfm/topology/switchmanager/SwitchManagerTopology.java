@@ -72,7 +72,7 @@ public class SwitchManagerTopology extends AbstractTopology<SwitchManagerTopolog
                 .fieldsGrouping(RouterBolt.ID, SwitchValidateManager.INCOME_STREAM, FIELDS_KEY)
                 .directGrouping(CoordinatorBolt.ID);
 
-        builder.setBolt(NB_KAFKA_BOLT, buildKafkaBolt(topologyConfig.getKafkaNorthboundTopic()))
+        builder.setBolt(NB_KAFKA_BOLT, buildNorthboundKafkaBolt(topologyConfig.getKafkaNorthboundTopic()))
                 .shuffleGrouping(SwitchSyncRulesManager.ID, StreamType.TO_NORTHBOUND.toString())
                 .shuffleGrouping(SwitchValidateManager.ID, StreamType.TO_NORTHBOUND.toString());
 
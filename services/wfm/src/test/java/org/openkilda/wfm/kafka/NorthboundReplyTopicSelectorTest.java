@@ -0,0 +1,69 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.kafka;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.openkilda.messaging.Message;
+import org.openkilda.messaging.NorthboundReplyRouting;
+import org.openkilda.messaging.error.ErrorData;
+import org.openkilda.messaging.error.ErrorMessage;
+import org.openkilda.messaging.error.ErrorType;
+
+import org.apache.storm.kafka.bolt.mapper.FieldNameBasedTupleToKafkaMapper;
+import org.apache.storm.tuple.Tuple;
+import org.junit.Test;
+
+public class NorthboundReplyTopicSelectorTest {
+    private static final String TOPIC = "kilda.northbound.storm";
+
+    private final NorthboundReplyTopicSelector selector = new NorthboundReplyTopicSelector(TOPIC);
+
+    @Test
+    public void shouldSelectReplyTopicForTaggedMessage() {
+        Message message = buildMessage(NorthboundReplyRouting.tag("uuid", "nb-1"));
+
+        assertEquals("kilda.northbound.storm.nb-1", selector.getTopic(buildTuple(message)));
+    }
+
+    @Test
+    public void shouldSelectReplyTopicForTaggedJson() {
+        String json = "{\"clazz\":\"org.openkilda.messaging.info.InfoMessage\","
+                + "\"correlation_id\":\"uuid : nb-reply=nb-1\"}";
+
+        assertEquals("kilda.northbound.storm.nb-1", selector.getTopic(buildTuple(json)));
+    }
+
+    @Test
+    public void shouldSelectSharedTopicForNotTaggedReply() {
+        assertEquals(TOPIC, selector.getTopic(buildTuple(buildMessage("uuid"))));
+        assertEquals(TOPIC, selector.getTopic(buildTuple("{\"correlation_id\":\"uuid\"}")));
+        assertEquals(TOPIC, selector.getTopic(buildTuple("not a json")));
+    }
+
+    private Message buildMessage(String correlationId) {
+        ErrorData error = new ErrorData(ErrorType.INTERNAL_ERROR, "error", "description");
+        return new ErrorMessage(error, 0L, correlationId);
+    }
+
+    private Tuple buildTuple(Object payload) {
+        Tuple tuple = mock(Tuple.class);
+        when(tuple.getValueByField(FieldNameBasedTupleToKafkaMapper.BOLT_MESSAGE)).thenReturn(payload);
+        return tuple;
+    }
+}
@@ -0,0 +1,188 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.share.flow.resources;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import org.openkilda.persistence.TransactionManager;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class BitmapIdAllocatorTest {
+
+    @Test
+    public void shouldAllocateLowestFreeIdSkippingAssigned() {
+        BitmapIdAllocator allocator = new BitmapIdAllocator(10, 200, () -> Arrays.asList(10L, 11L, 13L, 5L, 300L));
+
+        assertEquals(12, allocator.allocate().getAsLong());
+        assertEquals(14, allocator.allocate().getAsLong());
+
+        allocator.release(12);
+        assertEquals(12, allocator.allocate().getAsLong());
+        assertEquals(15, allocator.allocate().getAsLong());
+    }
+
+    @Test
+    public void shouldAllocateAcrossWords() {
+        Set<Long> persisted = new HashSet<>();
+        BitmapIdAllocator allocator = new BitmapIdAllocator(0, 199, () -> persisted);
+
+        for (long i = 0; i < 200; i++) {
+            assertEquals(i, allocator.allocate().getAsLong());
+            persisted.add(i);
+        }
+        assertFalse(allocator.allocate().isPresent());
+
+        persisted.remove(3L);
+        allocator.release(3);
+        persisted.remove(150L);
+        allocator.release(150);
+        assertEquals(3, allocator.allocate().getAsLong());
+        assertEquals(150, allocator.allocate().getAsLong());
+    }
+
+    @Test
+    public void shouldStartFromOffsetOfWorkerAndWrapAround() {
+        Set<Long> persisted = new HashSet<>();
+        BitmapIdAllocator first = new BitmapIdAllocator(0, 255, () -> persisted, 0, 2);
+        BitmapIdAllocator second = new BitmapIdAllocator(0, 255, () -> persisted, 1, 2);
+
+        assertEquals(0, first.allocate().getAsLong());
+        persisted.add(0L);
+        assertEquals(128, second.allocate().getAsLong());
+
+        for (long i = 129; i < 256; i++) {
+            assertEquals(i, second.allocate().getAsLong());
+        }
+        // the second worker continues from the range start
+        assertEquals(1, second.allocate().getAsLong());
+
+        second.release(130);
+        assertEquals(130, second.allocate().getAsLong());
+    }
+
+    @Test
+    public void shouldReloadAssignedIdsWhenExhausted() {
+        List<Long> assigned = new ArrayList<>(Arrays.asList(1L, 2L));
+        BitmapIdAllocator allocator = new BitmapIdAllocator(1, 3, () -> assigned);
+
+        assertEquals(3, allocator.allocate().getAsLong());
+
+        // The ID 3 has not been persisted, e.g. the transaction was rolled back.
+        assertEquals(3, allocator.allocate().getAsLong());
+        assigned.add(3L);
+        assertFalse(allocator.allocate().isPresent());
+
+        // The ID 1 has been released by another worker.
+        assigned.remove(1L);
+        assertEquals(1, allocator.allocate().getAsLong());
+    }
+
+    @Test
+    public void shouldReloadAssignedIdsWhenInvalidated() {
+        List<Long> assigned = new ArrayList<>();
+        BitmapIdAllocator allocator = new BitmapIdAllocator(1, 10, () -> assigned);
+
+        assertEquals(1, allocator.allocate().getAsLong());
+
+        // IDs have been taken by another worker.
+        assigned.addAll(Arrays.asList(1L, 2L, 3L));
+        allocator.invalidate();
+        assertEquals(4, allocator.allocate().getAsLong());
+    }
+
+    @Test
+    public void shouldReleaseIdOnRollback() {
+        List<Runnable> rollbackActions = new ArrayList<>();
+        TransactionManager transactionManager = mock(TransactionManager.class);
+        doAnswer(invocation -> rollbackActions.add(invocation.getArgument(0)))
+                .when(transactionManager).doOnRollback(any());
+        BitmapIdAllocator allocator = new BitmapIdAllocator(1, 10, ArrayList::new);
+
+        assertEquals(1, allocator.allocate(transactionManager).getAsLong());
+        assertEquals(2, allocator.allocate(transactionManager).getAsLong());
+
+        rollbackActions.forEach(Runnable::run);
+        assertEquals(1, allocator.allocate().getAsLong());
+        assertEquals(2, allocator.allocate().getAsLong());
+    }
+
+    @Test
+    public void shouldNotReleaseIdOnRollbackIntoReloadedBitmap() {
+        List<Runnable> rollbackActions = new ArrayList<>();
+        TransactionManager transactionManager = mock(TransactionManager.class);
+        doAnswer(invocation -> rollbackActions.add(invocation.getArgument(0)))
+                .when(transactionManager).doOnRollback(any());
+        List<Long> assigned = new ArrayList<>();
+        BitmapIdAllocator allocator = new BitmapIdAllocator(1, 10, () -> assigned);
+
+        assertEquals(1, allocator.allocate(transactionManager).getAsLong());
+
+        // The ID 1 has been taken by another worker.
+        assigned.add(1L);
+        allocator.invalidate();
+        assertEquals(2, allocator.allocate().getAsLong());
+
+        rollbackActions.forEach(Runnable::run);
+        assertEquals(3, allocator.allocate().getAsLong());
+    }
+
+    @Test
+    public void shouldAllocateUniqueIdsConcurrently() throws Exception {
+        int threads = 8;
+        int perThread = 500;
+        Set<Long> allocated = ConcurrentHashMap.newKeySet();
+        BitmapIdAllocator allocator = new BitmapIdAllocator(1, threads * perThread, () -> allocated);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < perThread; j++) {
+                    OptionalLong id = allocator.allocate();
+                    if (!allocated.add(id.getAsLong())) {
+                        throw new IllegalStateException("Duplicate id " + id);
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.SECONDS);
+
+        assertEquals(threads * perThread, allocated.size());
+        assertFalse(allocator.allocate().isPresent());
+    }
+}
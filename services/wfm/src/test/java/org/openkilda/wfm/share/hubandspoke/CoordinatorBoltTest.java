@@ -18,8 +18,10 @@ package org.openkilda.wfm.share.hubandspoke;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -61,7 +63,7 @@ public class CoordinatorBoltTest {
         target.registerCallback(key, context, timeout, taskId);
 
         assertThat(target.getCallbacks().size(), is(1));
-        assertThat(target.getTimeouts().size(), is(1));
+        assertThat(target.getScheduledTimeoutsCount(), is(1));
 
         target.cancelCallback(key);
         assertTrue(target.getCallbacks().isEmpty());
@@ -77,11 +79,44 @@ public class CoordinatorBoltTest {
         target.registerCallback("request2", "some context", timeout, secondTask);
 
         assertThat(target.getCallbacks().size(), is(2));
-        assertThat(target.getTimeouts().size(), is(2));
+        assertThat(target.getScheduledTimeoutsCount(), is(2));
 
         long afterTimeout = System.currentTimeMillis() + timeout + 1L;
         target.tick(afterTimeout);
         verify(collector).emitDirect(eq(firstTask), anyList());
         verify(collector).emitDirect(eq(secondTask), anyList());
     }
+
+    @Test
+    public void shouldNotEmitCancelledCallback() {
+        final int timeout = 1;
+        final int taskId = 101;
+        target.registerCallback("request", "some context", timeout, taskId);
+        target.cancelCallback("request");
+
+        long afterTimeout = System.currentTimeMillis() + timeout + 1L;
+        target.tick(afterTimeout);
+        verify(collector, never()).emitDirect(anyInt(), anyList());
+        assertThat(target.getScheduledTimeoutsCount(), is(0));
+    }
+
+    @Test
+    public void shouldEmitOnlyLastCallbackForSameKey() {
+        final int firstTask = 101;
+        target.registerCallback("request", "some context", 1, firstTask);
+
+        final int secondTask = 102;
+        final int timeout = 60000;
+        target.registerCallback("request", "some context", timeout, secondTask);
+
+        long now = System.currentTimeMillis();
+        target.tick(now + 10L);
+        verify(collector, never()).emitDirect(anyInt(), anyList());
+        assertThat(target.getCallbacks().size(), is(1));
+
+        target.tick(now + timeout + 10L);
+        verify(collector, never()).emitDirect(eq(firstTask), anyList());
+        verify(collector).emitDirect(eq(secondTask), anyList());
+        assertTrue(target.getCallbacks().isEmpty());
+    }
 }
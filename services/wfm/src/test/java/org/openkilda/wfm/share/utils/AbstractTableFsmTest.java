@@ -0,0 +1,162 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.utils;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.openkilda.wfm.share.utils.AbstractTableFsmTest.Fsm.Event;
+import org.openkilda.wfm.share.utils.AbstractTableFsmTest.Fsm.State;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class AbstractTableFsmTest {
+
+    @Test
+    public void happyPath() {
+        Fsm fsm = new Fsm();
+        fsm.fire(Event.ERROR, null);
+        assertThat("Invalid state after exception.", fsm.getCurrentState(), is(State.START));
+        fsm.fire(Event.NEXT, null);
+        fsm.fire(Event.NEXT, null);
+        assertThat("Invalid state after exception.", fsm.getCurrentState(), is(State.FINISH));
+    }
+
+    @Test
+    public void shouldExecuteExitTransitionAndEntryActionsInOrder() {
+        Fsm fsm = new Fsm();
+        fsm.fire(Event.NEXT, null);
+
+        assertThat(fsm.calls, is(Arrays.asList(
+                "enter START", "exit START", "transit START-MIDDLE", "enter MIDDLE")));
+    }
+
+    @Test
+    public void shouldExecuteEntryActionOfInitialStateOnlyOnce() {
+        Fsm fsm = new Fsm();
+        fsm.fire(Event.PING, null);
+        fsm.fire(Event.PING, null);
+
+        assertThat(fsm.calls, is(Arrays.asList("enter START")));
+        assertThat(fsm.getCurrentState(), is(State.START));
+    }
+
+    @Test
+    public void shouldNotExecuteEntryAndExitActionsOnInternalTransition() {
+        Fsm fsm = new Fsm();
+        fsm.fire(Event.NEXT, null);
+        fsm.calls.clear();
+
+        fsm.fire(Event.PING, null);
+
+        assertThat(fsm.calls, is(Arrays.asList("ping MIDDLE")));
+        assertThat(fsm.getCurrentState(), is(State.MIDDLE));
+    }
+
+    @Test
+    public void shouldProcessEventFiredFromActionAfterCurrentOne() {
+        Fsm fsm = new Fsm();
+        fsm.fire(Event.JUMP, null);
+
+        assertThat(fsm.calls, is(Arrays.asList(
+                "enter START", "exit START", "jump START", "enter MIDDLE", "transit MIDDLE-FINISH")));
+        assertThat(fsm.getCurrentState(), is(State.FINISH));
+    }
+
+    @Test
+    public void shouldIgnoreEventWithoutTransition() {
+        Fsm fsm = new Fsm();
+        fsm.fire(Event.NEXT, null);
+        fsm.calls.clear();
+
+        fsm.fire(Event.JUMP, null);
+
+        assertThat(fsm.getCurrentState(), is(State.MIDDLE));
+        assertThat(fsm.calls.isEmpty(), is(true));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldRejectDuplicateTransition() {
+        FsmTable.Builder<Fsm, State, Event, Object> builder = FsmTable.builder(State.class, Event.class);
+        builder.transition().from(State.START).to(State.MIDDLE).on(Event.NEXT);
+        builder.transition().from(State.START).to(State.FINISH).on(Event.NEXT);
+    }
+
+    static class Fsm extends AbstractTableFsm<Fsm, Fsm.State, Fsm.Event, Object> {
+
+        private static final FsmTable<Fsm, State, Event, Object> table;
+
+        static {
+            FsmTable.Builder<Fsm, State, Event, Object> builder = FsmTable.builder(State.class, Event.class);
+
+            builder.transition()
+                    .from(State.START).to(State.MIDDLE).on(Event.ERROR)
+                    .callMethod(Fsm::raiseException);
+            builder.transition()
+                    .from(State.START).to(State.MIDDLE).on(Event.NEXT)
+                    .callMethod(Fsm::transit);
+            builder.transition()
+                    .from(State.START).to(State.MIDDLE).on(Event.JUMP)
+                    .callMethod(Fsm::jump);
+            builder.onEntry(State.START)
+                    .callMethod((fsm, from, to, event, context) -> fsm.calls.add("enter " + to));
+            builder.onExit(State.START)
+                    .callMethod((fsm, from, to, event, context) -> fsm.calls.add("exit " + from));
+
+            builder.onEntry(State.MIDDLE)
+                    .callMethod((fsm, from, to, event, context) -> fsm.calls.add("enter " + to));
+            builder.internalTransition()
+                    .within(State.MIDDLE).on(Event.PING)
+                    .callMethod((fsm, from, to, event, context) -> fsm.calls.add("ping " + from));
+            builder.transition()
+                    .from(State.MIDDLE).to(State.FINISH).on(Event.NEXT)
+                    .callMethod(Fsm::transit);
+
+            table = builder.build();
+        }
+
+        private final List<String> calls = new ArrayList<>();
+
+        Fsm() {
+            super(table, State.START);
+        }
+
+        public void raiseException(State from, State to, Event event, Object context) {
+            int x = 1000 / 0;
+        }
+
+        public void transit(State from, State to, Event event, Object context) {
+            calls.add("transit " + from + "-" + to);
+        }
+
+        public void jump(State from, State to, Event event, Object context) {
+            calls.add("jump " + from);
+            fire(Event.NEXT, context);
+        }
+
+        public enum Event {
+            NEXT, ERROR, JUMP, PING
+        }
+
+        public enum State {
+            START, MIDDLE, FINISH
+        }
+    }
+}
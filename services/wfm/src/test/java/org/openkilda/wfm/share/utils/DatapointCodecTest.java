@@ -0,0 +1,91 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.share.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.info.Datapoint;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Map;
+
+public class DatapointCodecTest {
+    private static final long TIMESTAMP = 1546300800000L;
+
+    private final DatapointCodec encoder = new DatapointCodec();
+    private final DatapointCodec decoder = new DatapointCodec();
+
+    @Test
+    public void shouldDecodeEncodedDatapoint() {
+        Map<String, String> tags = ImmutableMap.of("switchid", "00:00:00:00:00:00:00:01", "port", "10",
+                "flowid", "flow-поток");
+        byte[] data = encoder.encode("kilda.switch.rx-bytes", TIMESTAMP, 12345L, tags);
+
+        assertTrue(DatapointCodec.isEncoded(data));
+        Datapoint datapoint = decoder.decode(data);
+        assertEquals("kilda.switch.rx-bytes", datapoint.getMetric());
+        assertEquals(TIMESTAMP, datapoint.getTime().longValue());
+        assertEquals(12345, datapoint.getValue());
+        assertEquals(tags, datapoint.getTags());
+    }
+
+    @Test
+    public void shouldDecodeValuesAsJsonParsingDoes() throws Exception {
+        for (Number value : new Number[] {1, Long.MAX_VALUE, -5L, 0.25d, 1.5f}) {
+            Datapoint json = Utils.MAPPER.readValue(
+                    Utils.MAPPER.writeValueAsString(new Datapoint("metric", TIMESTAMP, Collections.emptyMap(), value)),
+                    Datapoint.class);
+            Datapoint binary = decoder.decode(encoder.encode("metric", TIMESTAMP, value, Collections.emptyMap()));
+
+            assertEquals(json, binary);
+        }
+    }
+
+    @Test
+    public void shouldInternDecodedStrings() {
+        Map<String, String> tags = Collections.singletonMap("cookie", "4611686018427387905");
+        Datapoint first = decoder.decode(encoder.encode("kilda.flow.bytes", TIMESTAMP, 1, tags));
+        Datapoint second = decoder.decode(encoder.encode("kilda.flow.bytes", TIMESTAMP + 1, 2, tags));
+
+        assertSame(first.getMetric(), second.getMetric());
+        assertSame(first.getTags().get("cookie"), second.getTags().get("cookie"));
+    }
+
+    @Test
+    public void shouldNotDetectJsonAsEncoded() throws Exception {
+        byte[] json = Utils.MAPPER.writeValueAsBytes(
+                new Datapoint("metric", TIMESTAMP, Collections.emptyMap(), 1));
+
+        assertFalse(DatapointCodec.isEncoded(json));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldFailOnTruncatedData() {
+        byte[] data = encoder.encode("metric", TIMESTAMP, 1, Collections.singletonMap("key", "value"));
+        byte[] truncated = new byte[data.length - 3];
+        System.arraycopy(data, 0, truncated, 0, truncated.length);
+
+        decoder.decode(truncated);
+    }
+}
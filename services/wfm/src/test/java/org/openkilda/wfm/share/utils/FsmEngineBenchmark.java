@@ -0,0 +1,213 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.squirrelframework.foundation.fsm.StateMachineBuilder;
+import org.squirrelframework.foundation.fsm.StateMachineBuilderFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link AbstractTableFsm} with squirrel based {@link AbstractBaseFsm} on the same FSM, shaped like the
+ * network uni-ISL FSM: a discovery goes through a choice state which fires the follow up event from its entry action.
+ * <p/>
+ * The {@code *Fire} benchmarks measure event dispatch over a population of FSMs, the {@code *Create} benchmarks
+ * measure instantiation; run them with {@code -prof gc} to see the per instance footprint as allocated bytes per
+ * operation.
+ * <p/>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.openkilda.wfm.share.utils.FsmEngineBenchmark}, JMH command line options can be passed with
+ * {@code -Dexec.args}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class FsmEngineBenchmark {
+
+    @State(Scope.Thread)
+    public static class Population {
+        @Param({"100000"})
+        int size;
+
+        TableLinkFsm[] tableFsms;
+        SquirrelLinkFsm[] squirrelFsms;
+        int next;
+        long round;
+
+        /**
+         * Creates the FSMs of both kinds and moves them out of the initial state.
+         */
+        @Setup
+        public void setUp() {
+            tableFsms = new TableLinkFsm[size];
+            squirrelFsms = new SquirrelLinkFsm[size];
+            for (int i = 0; i < size; i++) {
+                tableFsms[i] = new TableLinkFsm();
+                tableFsms[i].fire(LinkEvent.DISCOVERY, 0L);
+                squirrelFsms[i] = SquirrelLinkFsm.create();
+                squirrelFsms[i].fire(LinkEvent.DISCOVERY, 0L);
+            }
+            next = 0;
+            round = 0;
+        }
+
+        LinkEvent nextEvent() {
+            next += 1;
+            if (next == size) {
+                next = 0;
+                round += 1;
+            }
+            return round % 2 == 0 ? LinkEvent.FAIL : LinkEvent.DISCOVERY;
+        }
+    }
+
+    @Benchmark
+    public LinkState tableFire(Population population) {
+        LinkEvent event = population.nextEvent();
+        TableLinkFsm fsm = population.tableFsms[population.next];
+        fsm.fire(event, population.round);
+        return fsm.getCurrentState();
+    }
+
+    @Benchmark
+    public LinkState squirrelFire(Population population) {
+        LinkEvent event = population.nextEvent();
+        SquirrelLinkFsm fsm = population.squirrelFsms[population.next];
+        fsm.fire(event, population.round);
+        return fsm.getCurrentState();
+    }
+
+    @Benchmark
+    public TableLinkFsm tableCreate() {
+        return new TableLinkFsm();
+    }
+
+    @Benchmark
+    public SquirrelLinkFsm squirrelCreate() {
+        return SquirrelLinkFsm.create();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new CommandLineOptions(args.length > 0 ? args : new String[] {
+                FsmEngineBenchmark.class.getSimpleName()})).run();
+    }
+
+    public enum LinkState {
+        INIT, UP, DOWN, DISCOVERY_CHOICE
+    }
+
+    public enum LinkEvent {
+        DISCOVERY, FAIL, _SAME, _MOVED
+    }
+
+    public static final class TableLinkFsm extends AbstractTableFsm<TableLinkFsm, LinkState, LinkEvent, Long> {
+        private static final FsmTable<TableLinkFsm, LinkState, LinkEvent, Long> table;
+
+        static {
+            FsmTable.Builder<TableLinkFsm, LinkState, LinkEvent, Long> builder = FsmTable.builder(
+                    LinkState.class, LinkEvent.class);
+
+            builder.transition().from(LinkState.INIT).to(LinkState.DISCOVERY_CHOICE).on(LinkEvent.DISCOVERY);
+            builder.transition().from(LinkState.UP).to(LinkState.DISCOVERY_CHOICE).on(LinkEvent.DISCOVERY);
+            builder.transition().from(LinkState.UP).to(LinkState.DOWN).on(LinkEvent.FAIL);
+            builder.transition().from(LinkState.DOWN).to(LinkState.DISCOVERY_CHOICE).on(LinkEvent.DISCOVERY);
+            builder.onEntry(LinkState.DISCOVERY_CHOICE)
+                    .callMethod(TableLinkFsm::makeDiscoveryChoice);
+            builder.transition().from(LinkState.DISCOVERY_CHOICE).to(LinkState.UP).on(LinkEvent._SAME);
+            builder.transition().from(LinkState.DISCOVERY_CHOICE).to(LinkState.UP).on(LinkEvent._MOVED)
+                    .callMethod(TableLinkFsm::handleMoved);
+            builder.onEntry(LinkState.UP)
+                    .callMethod(TableLinkFsm::upEnter);
+
+            table = builder.build();
+        }
+
+        private long lastRound = -1;
+        private int movesCount = 0;
+
+        public TableLinkFsm() {
+            super(table, LinkState.INIT);
+        }
+
+        public void makeDiscoveryChoice(LinkState from, LinkState to, LinkEvent event, Long round) {
+            fire(round % 4 == 1 ? LinkEvent._MOVED : LinkEvent._SAME, round);
+        }
+
+        public void handleMoved(LinkState from, LinkState to, LinkEvent event, Long round) {
+            movesCount += 1;
+        }
+
+        public void upEnter(LinkState from, LinkState to, LinkEvent event, Long round) {
+            lastRound = round;
+        }
+    }
+
+    public static final class SquirrelLinkFsm
+            extends AbstractBaseFsm<SquirrelLinkFsm, LinkState, LinkEvent, Long> {
+        private static final StateMachineBuilder<SquirrelLinkFsm, LinkState, LinkEvent, Long> builder;
+
+        static {
+            builder = StateMachineBuilderFactory.create(
+                    SquirrelLinkFsm.class, LinkState.class, LinkEvent.class, Long.class);
+
+            builder.transition().from(LinkState.INIT).to(LinkState.DISCOVERY_CHOICE).on(LinkEvent.DISCOVERY);
+            builder.transition().from(LinkState.UP).to(LinkState.DISCOVERY_CHOICE).on(LinkEvent.DISCOVERY);
+            builder.transition().from(LinkState.UP).to(LinkState.DOWN).on(LinkEvent.FAIL);
+            builder.transition().from(LinkState.DOWN).to(LinkState.DISCOVERY_CHOICE).on(LinkEvent.DISCOVERY);
+            builder.onEntry(LinkState.DISCOVERY_CHOICE)
+                    .callMethod("makeDiscoveryChoice");
+            builder.transition().from(LinkState.DISCOVERY_CHOICE).to(LinkState.UP).on(LinkEvent._SAME);
+            builder.transition().from(LinkState.DISCOVERY_CHOICE).to(LinkState.UP).on(LinkEvent._MOVED)
+                    .callMethod("handleMoved");
+            builder.onEntry(LinkState.UP)
+                    .callMethod("upEnter");
+        }
+
+        private long lastRound = -1;
+        private int movesCount = 0;
+
+        public static SquirrelLinkFsm create() {
+            return builder.newStateMachine(LinkState.INIT);
+        }
+
+        public void makeDiscoveryChoice(LinkState from, LinkState to, LinkEvent event, Long round) {
+            fire(round % 4 == 1 ? LinkEvent._MOVED : LinkEvent._SAME, round);
+        }
+
+        public void handleMoved(LinkState from, LinkState to, LinkEvent event, Long round) {
+            movesCount += 1;
+        }
+
+        public void upEnter(LinkState from, LinkState to, LinkEvent event, Long round) {
+            lastRound = round;
+        }
+    }
+}
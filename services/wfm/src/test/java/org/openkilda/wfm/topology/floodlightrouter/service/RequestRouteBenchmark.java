@@ -0,0 +1,99 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.topology.floodlightrouter.service;
+
+import static org.openkilda.messaging.Utils.MAPPER;
+
+import org.openkilda.messaging.Message;
+import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.command.flow.InstallTransitFlow;
+import org.openkilda.model.SwitchId;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the ways the router finds the target switch of a speaker request: the full decode of the message, the
+ * streaming scan used as the fallback and the record key lookup.
+ * <p/>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.openkilda.wfm.topology.floodlightrouter.service.RequestRouteBenchmark}, JMH command line
+ * options can be passed with {@code -Dexec.args}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RequestRouteBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class RequestState {
+        String key;
+        String json;
+
+        /**
+         * Prepares a serialized flow command and the key the producer would put with it.
+         */
+        @Setup
+        public void setUp() throws IOException {
+            SwitchId switchId = new SwitchId("00:00:00:00:00:00:00:01");
+            key = switchId.toString();
+            InstallTransitFlow command = new InstallTransitFlow(UUID.randomUUID(), "benchmark-flow",
+                    0x4000000000000001L, switchId, 1, 2, 100);
+            json = MAPPER.writeValueAsString(new CommandMessage(command, System.currentTimeMillis(),
+                    UUID.randomUUID().toString()));
+        }
+    }
+
+    @Benchmark
+    public SwitchId fullDecode(RequestState state) throws IOException {
+        return RouterUtils.lookupSwitchIdInCommandMessage(MAPPER.readValue(state.json, Message.class));
+    }
+
+    @Benchmark
+    public SwitchId streamingScan(RequestState state) throws IOException {
+        return RequestRouteExtractor.extract(state.json).getSwitchId();
+    }
+
+    @Benchmark
+    public SwitchId recordKey(RequestState state) {
+        return RouterUtils.lookupSwitchIdInKey(state.key);
+    }
+
+    /**
+     * Main entry point.
+     */
+    public static void main(String[] args) throws Exception {
+        new Runner(new CommandLineOptions(args.length > 0 ? args : new String[] {
+                RequestRouteBenchmark.class.getSimpleName()})).run();
+    }
+}
@@ -0,0 +1,126 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.topology.floodlightrouter.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.openkilda.messaging.Utils.MAPPER;
+
+import org.openkilda.messaging.Message;
+import org.openkilda.messaging.command.CommandData;
+import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.command.discovery.DiscoverPathCommandData;
+import org.openkilda.messaging.command.discovery.PortsCommandData;
+import org.openkilda.messaging.command.flow.InstallEgressFlow;
+import org.openkilda.messaging.command.flow.MeterModifyCommandRequest;
+import org.openkilda.messaging.command.switches.DumpRulesRequest;
+import org.openkilda.messaging.error.ErrorData;
+import org.openkilda.messaging.error.ErrorMessage;
+import org.openkilda.messaging.error.ErrorType;
+import org.openkilda.messaging.floodlight.request.PingRequest;
+import org.openkilda.messaging.floodlight.request.SetupBfdSession;
+import org.openkilda.messaging.model.NetworkEndpoint;
+import org.openkilda.messaging.model.NoviBfdSession;
+import org.openkilda.messaging.model.Ping;
+import org.openkilda.messaging.model.SwitchReference;
+import org.openkilda.model.OutputVlanType;
+import org.openkilda.model.SwitchId;
+
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.util.UUID;
+
+public class RequestRouteExtractorTest {
+    private static final SwitchId SWITCH_ONE = new SwitchId("00:00:00:00:00:00:00:01");
+    private static final SwitchId SWITCH_TWO = new SwitchId("00:00:00:00:00:00:00:02");
+
+    @Test
+    public void shouldExtractSwitchIdLikeFullDecode() throws Exception {
+        verifySameAsFullDecode(new InstallEgressFlow(UUID.randomUUID(), "flow", 1L, SWITCH_ONE, 1, 2, 100, 200,
+                OutputVlanType.REPLACE));
+        verifySameAsFullDecode(new DumpRulesRequest(SWITCH_ONE));
+        verifySameAsFullDecode(new DiscoverPathCommandData(SWITCH_ONE, 1, SWITCH_TWO));
+        verifySameAsFullDecode(new MeterModifyCommandRequest(SWITCH_ONE, 10L, SWITCH_TWO, 11L, 1000L));
+        verifySameAsFullDecode(new PingRequest(new Ping((short) 100,
+                new NetworkEndpoint(SWITCH_ONE, 1), new NetworkEndpoint(SWITCH_TWO, 2))));
+        verifySameAsFullDecode(new SetupBfdSession(NoviBfdSession.builder()
+                .target(new SwitchReference(SWITCH_ONE, InetAddress.getLoopbackAddress()))
+                .remote(new SwitchReference(SWITCH_TWO, InetAddress.getLoopbackAddress()))
+                .physicalPortNumber(1)
+                .logicalPortNumber(1001)
+                .udpPortNumber(3784)
+                .discriminator(1)
+                .intervalMs(100)
+                .multiplier((short) 3)
+                .keepOverDisconnect(true)
+                .build()));
+    }
+
+    @Test
+    public void shouldDetectBroadcastRequest() throws Exception {
+        RequestRoute route = RequestRouteExtractor.extract(serialize(new PortsCommandData()));
+
+        assertTrue(route.isBroadcast());
+        assertNull(route.getSwitchId());
+    }
+
+    @Test
+    public void shouldNotRouteNonCommandMessage() throws Exception {
+        ErrorData errorData = new ErrorData(ErrorType.NOT_FOUND, "message", "description");
+        String json = MAPPER.writeValueAsString(new ErrorMessage(errorData, 0, "correlation", null));
+
+        RequestRoute route = RequestRouteExtractor.extract(json);
+
+        assertFalse(route.isBroadcast());
+        assertNull(route.getSwitchId());
+    }
+
+    @Test
+    public void shouldExtractSwitchIdRegardlessOfFieldOrder() throws Exception {
+        String json = String.format("{\"payload\": {\"switch_id\": \"%s\", \"nested\": {\"switch_id\": \"%s\"}, "
+                        + "\"clazz\": \"%s\", \"tail\": [1, 2]}, \"clazz\": \"%s\"}",
+                SWITCH_ONE, SWITCH_TWO, DumpRulesRequest.class.getName(), CommandMessage.class.getName());
+
+        assertEquals(SWITCH_ONE, RequestRouteExtractor.extract(json).getSwitchId());
+    }
+
+    @Test
+    public void shouldLookupSwitchIdInKey() {
+        assertEquals(SWITCH_ONE, RouterUtils.lookupSwitchIdInKey(SWITCH_ONE.toString()));
+        assertNull(RouterUtils.lookupSwitchIdInKey(UUID.randomUUID().toString()));
+        assertNull(RouterUtils.lookupSwitchIdInKey("1"));
+        assertNull(RouterUtils.lookupSwitchIdInKey(null));
+    }
+
+    private void verifySameAsFullDecode(CommandData data) throws Exception {
+        String json = serialize(data);
+        SwitchId expected = RouterUtils.lookupSwitchIdInCommandMessage(MAPPER.readValue(json, Message.class));
+
+        RequestRoute route = RequestRouteExtractor.extract(json);
+
+        assertEquals(SWITCH_ONE, expected);
+        assertEquals(expected, route.getSwitchId());
+        assertFalse(route.isBroadcast());
+    }
+
+    private String serialize(CommandData data) throws Exception {
+        return MAPPER.writeValueAsString(new CommandMessage(data, System.currentTimeMillis(), "correlation"));
+    }
+}
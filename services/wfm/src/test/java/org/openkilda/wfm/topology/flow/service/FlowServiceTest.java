@@ -16,16 +16,22 @@
 package org.openkilda.wfm.topology.flow.service;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
 import static java.util.Collections.emptySet;
+import static java.util.Collections.singletonList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.hasSize;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.openkilda.model.Flow;
@@ -33,9 +39,11 @@ import org.openkilda.model.FlowPair;
 import org.openkilda.model.FlowPath;
 import org.openkilda.model.FlowStatus;
 import org.openkilda.model.Isl;
+import org.openkilda.model.IslStatus;
 import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
 import org.openkilda.model.SwitchStatus;
+import org.openkilda.pce.BatchPathResult;
 import org.openkilda.pce.Path;
 import org.openkilda.pce.PathComputer;
 import org.openkilda.pce.PathComputerFactory;
@@ -63,6 +71,8 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 public class FlowServiceTest extends Neo4jBasedTest {
@@ -71,21 +81,21 @@ public class FlowServiceTest extends Neo4jBasedTest {
     private static final SwitchId SWITCH_ID_3 = new SwitchId("00:00:00:00:00:00:00:03");
     private static final PathPair PATH_DIRECT_1_TO_3 = PathPair.builder()
             .forward(Path.builder().srcSwitchId(SWITCH_ID_1).destSwitchId(SWITCH_ID_3).latency(1).segments(asList(
-                    Path.Segment.builder().srcSwitchId(SWITCH_ID_1).srcPort(11).latency(1L)
-                            .destSwitchId(SWITCH_ID_3).destPort(11).build())).build())
+                    Path.Segment.builder().srcSwitchId(SWITCH_ID_1).srcPort(13).latency(1L)
+                            .destSwitchId(SWITCH_ID_3).destPort(13).build())).build())
             .reverse(Path.builder().srcSwitchId(SWITCH_ID_3).destSwitchId(SWITCH_ID_1).latency(1).segments(asList(
-                    Path.Segment.builder().srcSwitchId(SWITCH_ID_3).srcPort(11).latency(1L)
-                            .destSwitchId(SWITCH_ID_1).destPort(11).build())).build()).build();
+                    Path.Segment.builder().srcSwitchId(SWITCH_ID_3).srcPort(13).latency(1L)
+                            .destSwitchId(SWITCH_ID_1).destPort(13).build())).build()).build();
 
     private static final PathPair PATH_1_TO_3_VIA_2 = PathPair.builder()
             .forward(Path.builder().srcSwitchId(SWITCH_ID_1).destSwitchId(SWITCH_ID_3).latency(2).segments(asList(
                     Path.Segment.builder().srcSwitchId(SWITCH_ID_1).srcPort(11).latency(1L)
                             .destSwitchId(SWITCH_ID_2).destPort(11).build(),
                     Path.Segment.builder().srcSwitchId(SWITCH_ID_2).srcPort(12).latency(1L)
-                            .destSwitchId(SWITCH_ID_3).destPort(11).build()))
+                            .destSwitchId(SWITCH_ID_3).destPort(12).build()))
                     .build())
             .reverse(Path.builder().srcSwitchId(SWITCH_ID_3).destSwitchId(SWITCH_ID_1).latency(2).segments(asList(
-                    Path.Segment.builder().srcSwitchId(SWITCH_ID_3).srcPort(11).latency(1L)
+                    Path.Segment.builder().srcSwitchId(SWITCH_ID_3).srcPort(12).latency(1L)
                             .destSwitchId(SWITCH_ID_2).destPort(12).build(),
                     Path.Segment.builder().srcSwitchId(SWITCH_ID_2).srcPort(11).latency(1L)
                             .destSwitchId(SWITCH_ID_1).destPort(11).build()))
@@ -194,6 +204,60 @@ public class FlowServiceTest extends Neo4jBasedTest {
         assertEquals(flow.getFlowId(), foundFlow.get().getForward().getFlowId());
     }
 
+    @Test
+    public void shouldRerouteFlowViaPrecomputedPath() throws RecoverableException, UnroutableFlowException,
+            FlowNotFoundException, FlowAlreadyExistException, FlowValidationException,
+            SwitchValidationException, ResourceAllocationException {
+        when(pathComputer.getPath(any())).thenReturn(PATH_DIRECT_1_TO_3);
+
+        flowService.createFlow(getFlowBuilder().build(), null, mock(FlowCommandSender.class));
+        flowService.updateFlowStatus(FLOW_ID, FlowStatus.UP, emptySet());
+
+        ReroutedFlowPaths reroutedFlowPaths = flowService.rerouteFlow(FLOW_ID, false, emptySet(),
+                PATH_1_TO_3_VIA_2, mock(FlowCommandSender.class));
+
+        assertTrue(reroutedFlowPaths.isRerouted());
+        checkSamePaths(PATH_1_TO_3_VIA_2.getForward(), reroutedFlowPaths.getNewFlowPaths().getForwardPath());
+        verify(pathComputer, never()).getPath(any(), anyList());
+    }
+
+    @Test
+    public void shouldComputePathOnRerouteIfPrecomputedOneIsOverbooked() throws RecoverableException,
+            UnroutableFlowException, FlowNotFoundException, FlowAlreadyExistException, FlowValidationException,
+            SwitchValidationException, ResourceAllocationException {
+        when(pathComputer.getPath(any())).thenReturn(PATH_DIRECT_1_TO_3);
+
+        flowService.createFlow(getFlowBuilder().build(), null, mock(FlowCommandSender.class));
+        flowService.updateFlowStatus(FLOW_ID, FlowStatus.UP, emptySet());
+
+        // the bandwidth of the precomputed path has been taken since the batch computation
+        islRepository.updateAvailableBandwidth(SWITCH_ID_1, 11, SWITCH_ID_2, 11, -BANDWIDTH);
+        when(pathComputer.getPath(any(), anyList())).thenReturn(PATH_DIRECT_1_TO_3);
+
+        ReroutedFlowPaths reroutedFlowPaths = flowService.rerouteFlow(FLOW_ID, true, emptySet(),
+                PATH_1_TO_3_VIA_2, mock(FlowCommandSender.class));
+
+        checkSamePaths(PATH_DIRECT_1_TO_3.getForward(), reroutedFlowPaths.getNewFlowPaths().getForwardPath());
+        assertEquals(0, islRepository.findByEndpoints(SWITCH_ID_1, 11, SWITCH_ID_2, 11).get()
+                .getAvailableBandwidth());
+    }
+
+    @Test
+    public void shouldComputeReroutePathsInBatch() throws RecoverableException {
+        Flow flow = getFlowBuilder().build();
+        Flow otherFlow = getFlowBuilder().flowId("other-flow").build();
+        flowRepository.createOrUpdate(flow);
+        flowRepository.createOrUpdate(otherFlow);
+
+        Map<String, PathPair> paths = new HashMap<>();
+        paths.put(FLOW_ID, PATH_DIRECT_1_TO_3);
+        paths.put("other-flow", PATH_1_TO_3_VIA_2);
+        when(pathComputer.getPaths(anyCollection())).thenReturn(new BatchPathResult(paths, emptyMap()));
+
+        assertEquals(paths, flowService.computeReroutePaths(asList(FLOW_ID, "other-flow", "missing-flow")));
+        assertTrue(flowService.computeReroutePaths(singletonList(FLOW_ID)).isEmpty());
+    }
+
     @Test
     public void shouldNotUpdatePathsOnRerouteWithProtectedFlowIfNoOtherPaths() throws RecoverableException,
             UnroutableFlowException, FlowNotFoundException, FlowAlreadyExistException, FlowValidationException,
@@ -232,6 +296,67 @@ public class FlowServiceTest extends Neo4jBasedTest {
         assertEquals(flow.getFlowId(), foundFlow.get().getFlowId());
     }
 
+    @Test
+    public void shouldReserveAndReleaseIslBandwidth() throws RecoverableException, UnroutableFlowException,
+            FlowNotFoundException, FlowAlreadyExistException, FlowValidationException,
+            SwitchValidationException, ResourceAllocationException {
+        when(pathComputer.getPath(any())).thenReturn(PATH_1_TO_3_VIA_2);
+
+        flowService.createFlow(getFlowBuilder().build(), null, mock(FlowCommandSender.class));
+
+        assertEquals(0, islRepository.findByEndpoints(SWITCH_ID_1, 11, SWITCH_ID_2, 11).get()
+                .getAvailableBandwidth());
+        assertEquals(0, islRepository.findByEndpoints(SWITCH_ID_2, 11, SWITCH_ID_1, 11).get()
+                .getAvailableBandwidth());
+
+        flowService.deleteFlow(FLOW_ID, mock(FlowCommandSender.class));
+
+        assertEquals(BANDWIDTH, islRepository.findByEndpoints(SWITCH_ID_1, 11, SWITCH_ID_2, 11).get()
+                .getAvailableBandwidth());
+        assertEquals(BANDWIDTH, islRepository.findByEndpoints(SWITCH_ID_2, 11, SWITCH_ID_1, 11).get()
+                .getAvailableBandwidth());
+    }
+
+    @Test
+    public void shouldNotOverbookIslWithPathComputedOverStaleNetwork() throws RecoverableException,
+            UnroutableFlowException, FlowNotFoundException, FlowAlreadyExistException, FlowValidationException,
+            SwitchValidationException, ResourceAllocationException {
+        when(pathComputer.getPath(any())).thenReturn(PATH_1_TO_3_VIA_2);
+
+        flowService.createFlow(getFlowBuilder().build(), null, mock(FlowCommandSender.class));
+
+        try {
+            flowService.createFlow(getFlowBuilder().flowId("overbooking-flow").build(), null,
+                    mock(FlowCommandSender.class));
+            Assert.fail("RecoverableException expected");
+        } catch (RecoverableException e) {
+            // expected
+        }
+
+        assertFalse(flowRepository.exists("overbooking-flow"));
+        assertEquals(0, islRepository.findByEndpoints(SWITCH_ID_1, 11, SWITCH_ID_2, 11).get()
+                .getAvailableBandwidth());
+    }
+
+    @Test
+    public void shouldCorrectDriftedIslBandwidthOnReconciliation() throws RecoverableException,
+            UnroutableFlowException, FlowNotFoundException, FlowAlreadyExistException, FlowValidationException,
+            SwitchValidationException, ResourceAllocationException {
+        when(pathComputer.getPath(any())).thenReturn(PATH_1_TO_3_VIA_2);
+
+        flowService.createFlow(getFlowBuilder().build(), null, mock(FlowCommandSender.class));
+
+        IslBandwidthReconciliationService reconciliationService =
+                new IslBandwidthReconciliationService(persistenceManager);
+        assertEquals(0, reconciliationService.reconcile());
+
+        islRepository.updateAvailableBandwidth(SWITCH_ID_1, 11, SWITCH_ID_2, 11, 100);
+
+        assertEquals(1, reconciliationService.reconcile());
+        assertEquals(0, islRepository.findByEndpoints(SWITCH_ID_1, 11, SWITCH_ID_2, 11).get()
+                .getAvailableBandwidth());
+    }
+
     private void checkSamePaths(Path path, FlowPath flowPath) {
         assertEquals(path.getSrcSwitchId(), flowPath.getSrcSwitch().getSwitchId());
         assertEquals(path.getDestSwitchId(), flowPath.getDestSwitch().getSwitchId());
@@ -284,6 +409,8 @@ public class FlowServiceTest extends Neo4jBasedTest {
         isl.setDestSwitch(destSwitch);
         isl.setDestPort(destPort);
         isl.setMaxBandwidth(BANDWIDTH);
+        isl.setAvailableBandwidth(BANDWIDTH);
+        isl.setStatus(IslStatus.ACTIVE);
         islRepository.createOrUpdate(isl);
 
         return isl;
@@ -17,6 +17,7 @@ package org.openkilda.wfm.topology.network.service;
 
 import org.openkilda.messaging.command.reroute.RerouteFlows;
 import org.openkilda.messaging.info.event.IslInfoData;
+import org.openkilda.messaging.info.event.NetworkTopologyChange;
 import org.openkilda.messaging.model.NoviBfdSession;
 import org.openkilda.model.Isl;
 import org.openkilda.model.IslDownReason;
@@ -193,4 +194,9 @@ public class NetworkIntegrationCarrier
     public void triggerReroute(RerouteFlows trigger) {
         // Real implementation emit event into external component, i.e.it is outside scope of this integration test.
     }
+
+    @Override
+    public void topologyChangeNotification(NetworkTopologyChange notification) {
+        // Real implementation emit event into external component, i.e.it is outside scope of this integration test.
+    }
 }
@@ -28,6 +28,7 @@ import static org.mockito.Mockito.when;
 
 import org.openkilda.config.provider.ConfigurationProvider;
 import org.openkilda.messaging.command.reroute.RerouteAffectedFlows;
+import org.openkilda.messaging.info.event.NetworkTopologyChangeType;
 import org.openkilda.model.Isl;
 import org.openkilda.model.IslDownReason;
 import org.openkilda.model.IslStatus;
@@ -336,6 +337,11 @@ public class NetworkIslServiceTest {
         // isl fail by PORT DOWN
         service.islDown(endpointAlpha1, reference, IslDownReason.PORT_DOWN);
 
+        verify(carrier).topologyChangeNotification(argThat(
+                notification -> notification.getType() == NetworkTopologyChangeType.ENDPOINT_DROP
+                        && reference.getSource().getDatapath().equals(notification.getSwitchId())
+                        && reference.getSource().getPortNumber() == notification.getPortNumber()));
+
         // ensure we have stored cost update
         verify(islRepository, atLeastOnce()).createOrUpdate(argThat(
                 link ->
@@ -22,6 +22,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import org.openkilda.messaging.info.event.NetworkTopologyChangeType;
 import org.openkilda.messaging.info.event.PortChangeType;
 import org.openkilda.messaging.info.event.PortInfoData;
 import org.openkilda.messaging.info.event.SwitchChangeType;
@@ -220,6 +221,9 @@ public class NetworkSwitchServiceTest {
         verify(carrier).setBfdPortOnlineMode(Endpoint.of(alphaDatapath, ports.get(1).getNumber()), false);
         verify(carrier).setOnlineMode(Endpoint.of(alphaDatapath, ports.get(2).getNumber()), false);
         verify(carrier).setBfdPortOnlineMode(Endpoint.of(alphaDatapath, ports.get(3).getNumber()), false);
+        verify(carrier).topologyChangeNotification(argThat(notification ->
+                notification.getType() == NetworkTopologyChangeType.SWITCH_DROP
+                        && alphaDatapath.equals(notification.getSwitchId())));
 
         verify(switchRepository).createOrUpdate(argThat(sw ->
                 sw.getStatus() == SwitchStatus.INACTIVE && sw.getSwitchId() == alphaDatapath));
@@ -591,6 +595,9 @@ public class NetworkSwitchServiceTest {
 
         service.switchPortEvent(speakerPortEvent);
 
+        verify(carrier).topologyChangeNotification(argThat(notification ->
+                notification.getType() == NetworkTopologyChangeType.SWITCH_ADD
+                        && alphaDatapath.equals(notification.getSwitchId())));
         verify(carrier).setupPortHandler(endpoint, null);
         verify(carrier).setOnlineMode(endpoint, true);
         verify(carrier).setPortLinkMode(endpoint, LinkStatus.UP);
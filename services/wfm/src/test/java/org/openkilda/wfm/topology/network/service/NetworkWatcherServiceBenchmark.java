@@ -0,0 +1,238 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.network.service;
+
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
+import org.openkilda.messaging.info.event.IslInfoData;
+import org.openkilda.model.SwitchId;
+import org.openkilda.wfm.topology.network.model.Endpoint;
+
+import lombok.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the timer wheel of {@link NetworkWatcherService} with the previous hash set and tree map structure. Every
+ * operation sends and confirms a packet via the next endpoint and ticks the watcher, the clock advances so that about
+ * one packet per endpoint is in flight.
+ * <p/>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.openkilda.wfm.topology.network.service.NetworkWatcherServiceBenchmark}, JMH command line
+ * options can be passed with {@code -Dexec.args}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class NetworkWatcherServiceBenchmark {
+    private static final long TIME_STEP = 10;
+
+    @State(Scope.Thread)
+    public static class WatcherState {
+        @Param({"50000"})
+        int endpointsCount;
+
+        Endpoint[] endpoints;
+        NetworkWatcherService watcher;
+        LegacyWatcher legacyWatcher;
+
+        int next;
+        long time;
+        long packetNo;
+        long legacyPacketNo;
+
+        /**
+         * Creates the watchers with one packet in flight per endpoint.
+         */
+        @Setup
+        public void setUp() {
+            long awaitTime = endpointsCount * TIME_STEP;
+            watcher = new NetworkWatcherService(new IdleCarrier(), awaitTime, 0);
+            legacyWatcher = new LegacyWatcher(new IdleCarrier(), awaitTime);
+
+            endpoints = new Endpoint[endpointsCount];
+            for (int i = 0; i < endpointsCount; i++) {
+                endpoints[i] = Endpoint.of(new SwitchId(i / 48 + 1), i % 48 + 1);
+            }
+            next = 0;
+            time = 0;
+            packetNo = 0;
+            legacyPacketNo = 0;
+            for (int i = 0; i < endpointsCount; i++) {
+                Endpoint endpoint = nextEndpoint();
+                watcher.addWatch(endpoint, time);
+                watcher.confirmation(endpoint, packetNo++);
+                legacyWatcher.addWatch(endpoint, time);
+                legacyWatcher.confirmation(endpoint, legacyPacketNo++);
+            }
+        }
+
+        void round(boolean removeWatch) {
+            Endpoint endpoint = nextEndpoint();
+            if (removeWatch) {
+                watcher.removeWatch(endpoint);
+            }
+            watcher.addWatch(endpoint, time);
+            watcher.confirmation(endpoint, packetNo++);
+            watcher.tick(time);
+        }
+
+        void legacyRound(boolean removeWatch) {
+            Endpoint endpoint = nextEndpoint();
+            if (removeWatch) {
+                legacyWatcher.removeWatch(endpoint);
+            }
+            legacyWatcher.addWatch(endpoint, time);
+            legacyWatcher.confirmation(endpoint, legacyPacketNo++);
+            legacyWatcher.tick(time);
+        }
+
+        private Endpoint nextEndpoint() {
+            Endpoint endpoint = endpoints[next];
+            next = (next + 1) % endpoints.length;
+            time += TIME_STEP;
+            return endpoint;
+        }
+    }
+
+    @Benchmark
+    public void timerWheel(WatcherState state) {
+        state.round(false);
+    }
+
+    @Benchmark
+    public void timerWheelWithRemove(WatcherState state) {
+        state.round(true);
+    }
+
+    @Benchmark
+    public void legacy(WatcherState state) {
+        state.legacyRound(false);
+    }
+
+    @Benchmark
+    public void legacyWithRemove(WatcherState state) {
+        state.legacyRound(true);
+    }
+
+    /**
+     * Main entry point.
+     */
+    public static void main(String[] args) throws Exception {
+        new Runner(new CommandLineOptions(args.length > 0 ? args : new String[] {
+                NetworkWatcherServiceBenchmark.class.getSimpleName()})).run();
+    }
+
+    private static class IdleCarrier implements IWatcherCarrier {
+        @Override
+        public void discoveryReceived(Endpoint endpoint, long packetNo, IslInfoData discoveryEvent,
+                                      long currentTime) {
+        }
+
+        @Override
+        public void discoveryFailed(Endpoint endpoint, long packetNo, long currentTime) {
+        }
+
+        @Override
+        public void sendDiscovery(DiscoverIslBatchCommandData discoveryRequest) {
+        }
+
+        @Override
+        public void clearDiscovery(Endpoint endpoint) {
+        }
+    }
+
+    /**
+     * The packet tracking structure the watcher used before the timer wheel.
+     */
+    private static class LegacyWatcher {
+        private final IWatcherCarrier carrier;
+        private final long awaitTime;
+
+        private long packetNo = 0;
+        private final Set<Packet> producedPackets = new HashSet<>();
+        private final Set<Packet> confirmedPackets = new HashSet<>();
+        private final SortedMap<Long, Set<Packet>> timeouts = new TreeMap<>();
+
+        LegacyWatcher(IWatcherCarrier carrier, long awaitTime) {
+            this.carrier = carrier;
+            this.awaitTime = awaitTime;
+        }
+
+        void addWatch(Endpoint endpoint, long currentTime) {
+            Packet packet = Packet.of(endpoint, packetNo);
+            producedPackets.add(packet);
+            timeouts.computeIfAbsent(currentTime + awaitTime, key -> new HashSet<>())
+                    .add(packet);
+            carrier.sendDiscovery(new DiscoverIslBatchCommandData(endpoint.getDatapath(), Collections.singletonList(
+                    new DiscoverIslBatchCommandData.Port(endpoint.getPortNumber(), packetNo))));
+            packetNo += 1;
+        }
+
+        void removeWatch(Endpoint endpoint) {
+            carrier.clearDiscovery(endpoint);
+            producedPackets.removeIf(packet -> packet.endpoint.equals(endpoint));
+            confirmedPackets.removeIf(packet -> packet.endpoint.equals(endpoint));
+        }
+
+        void confirmation(Endpoint endpoint, long packetNo) {
+            Packet packet = Packet.of(endpoint, packetNo);
+            if (producedPackets.remove(packet)) {
+                confirmedPackets.add(packet);
+            }
+        }
+
+        void tick(long tickTime) {
+            SortedMap<Long, Set<Packet>> range = timeouts.subMap(0L, tickTime + 1);
+            if (!range.isEmpty()) {
+                for (Set<Packet> e : range.values()) {
+                    for (Packet ee : e) {
+                        producedPackets.remove(ee);
+                        if (confirmedPackets.remove(ee)) {
+                            carrier.discoveryFailed(ee.getEndpoint(), ee.packetNo, tickTime);
+                        }
+                    }
+                }
+                range.clear();
+            }
+        }
+    }
+
+    @Value(staticConstructor = "of")
+    private static class Packet {
+        private final Endpoint endpoint;
+        private final long packetNo;
+    }
+}
@@ -25,7 +25,7 @@ import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
-import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
 import org.openkilda.messaging.info.event.IslInfoData;
 import org.openkilda.messaging.info.event.PathNode;
 import org.openkilda.model.SwitchId;
@@ -37,6 +37,9 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.util.Arrays;
+import java.util.Collections;
+
 @RunWith(MockitoJUnitRunner.class)
 public class NetworkWatcherServiceTest {
     private final Integer taskId = 0;
@@ -57,11 +60,12 @@ public class NetworkWatcherServiceTest {
         w.addWatch(Endpoint.of(new SwitchId(2), 1), 2);
         w.addWatch(Endpoint.of(new SwitchId(2), 1), 2);
         w.addWatch(Endpoint.of(new SwitchId(2), 2), 3);
+        w.tick(3);
 
         assertThat(w.getConfirmedPackets().size(), is(0));
-        assertThat(w.getTimeouts().size(), is(3));
+        assertThat(w.getScheduledTimeoutsCount(), is(5));
 
-        verify(carrier, times(5)).sendDiscovery(any(DiscoverIslCommandData.class));
+        verify(carrier, times(2)).sendDiscovery(any(DiscoverIslBatchCommandData.class));
     }
 
     @Test
@@ -72,14 +76,15 @@ public class NetworkWatcherServiceTest {
         w.addWatch(Endpoint.of(new SwitchId(2), 1), 3);
         w.addWatch(Endpoint.of(new SwitchId(2), 2), 4);
         w.addWatch(Endpoint.of(new SwitchId(3), 1), 5);
+        w.tick(5);
 
-        verify(carrier, times(5)).sendDiscovery(any(DiscoverIslCommandData.class));
+        verify(carrier, times(3)).sendDiscovery(any(DiscoverIslBatchCommandData.class));
 
         w.confirmation(Endpoint.of(new SwitchId(1), 2), 1);
         w.confirmation(Endpoint.of(new SwitchId(2), 1), 2);
 
         assertThat(w.getConfirmedPackets().size(), is(2));
-        assertThat(w.getTimeouts().size(), is(5));
+        assertThat(w.getScheduledTimeoutsCount(), is(5));
         assertThat(w.getProducedPackets().size(), is(3));
 
         w.removeWatch(Endpoint.of(new SwitchId(1), 2));
@@ -92,7 +97,7 @@ public class NetworkWatcherServiceTest {
         assertThat(w.getProducedPackets().size(), is(2));
 
         w.tick(100);
-        assertThat(w.getTimeouts().size(), is(0));
+        assertThat(w.getScheduledTimeoutsCount(), is(0));
     }
 
     @Test
@@ -103,10 +108,11 @@ public class NetworkWatcherServiceTest {
         w.addWatch(Endpoint.of(new SwitchId(2), 1), 2);
         w.addWatch(Endpoint.of(new SwitchId(2), 1), 2);
         w.addWatch(Endpoint.of(new SwitchId(2), 2), 3);
+        w.tick(3);
 
         assertThat(w.getConfirmedPackets().size(), is(0));
-        assertThat(w.getTimeouts().size(), is(3));
-        verify(carrier, times(5)).sendDiscovery(any(DiscoverIslCommandData.class));
+        assertThat(w.getScheduledTimeoutsCount(), is(5));
+        verify(carrier, times(2)).sendDiscovery(any(DiscoverIslBatchCommandData.class));
 
         w.confirmation(Endpoint.of(new SwitchId(1), 1), 0);
         w.confirmation(Endpoint.of(new SwitchId(2), 1), 2);
@@ -121,7 +127,7 @@ public class NetworkWatcherServiceTest {
         verify(carrier).discoveryFailed(eq(Endpoint.of(new SwitchId(2), 1)), eq(2L), anyLong());
         verify(carrier, times(2)).discoveryFailed(any(Endpoint.class), anyLong(), anyLong());
 
-        assertThat(w.getTimeouts().size(), is(0));
+        assertThat(w.getScheduledTimeoutsCount(), is(0));
     }
 
     @Test
@@ -132,10 +138,11 @@ public class NetworkWatcherServiceTest {
         w.addWatch(Endpoint.of(new SwitchId(2), 1), 2);
         w.addWatch(Endpoint.of(new SwitchId(2), 1), 2);
         w.addWatch(Endpoint.of(new SwitchId(2), 2), 3);
+        w.tick(3);
 
         assertThat(w.getConfirmedPackets().size(), is(0));
-        assertThat(w.getTimeouts().size(), is(3));
-        verify(carrier, times(5)).sendDiscovery(any(DiscoverIslCommandData.class));
+        assertThat(w.getScheduledTimeoutsCount(), is(5));
+        verify(carrier, times(2)).sendDiscovery(any(DiscoverIslBatchCommandData.class));
 
         w.confirmation(Endpoint.of(new SwitchId(1), 1), 0);
         w.confirmation(Endpoint.of(new SwitchId(2), 1), 2);
@@ -159,7 +166,7 @@ public class NetworkWatcherServiceTest {
                                           anyLong());
         verify(carrier, times(2)).discoveryReceived(any(Endpoint.class), anyLong(), any(IslInfoData.class), anyLong());
 
-        assertThat(w.getTimeouts().size(), is(0));
+        assertThat(w.getScheduledTimeoutsCount(), is(0));
     }
 
     @Test
@@ -170,8 +177,9 @@ public class NetworkWatcherServiceTest {
 
         NetworkWatcherService w = new NetworkWatcherService(carrier, awaitTime, taskId);
         w.addWatch(Endpoint.of(source.getSwitchId(), source.getPortNo()), 1);
+        w.tick(1);
 
-        verify(carrier, times(1)).sendDiscovery(any(DiscoverIslCommandData.class));
+        verify(carrier, times(1)).sendDiscovery(any(DiscoverIslBatchCommandData.class));
 
         IslInfoData islAlphaBeta = IslInfoData.builder().source(source).destination(destination).packetId(0L).build();
 
@@ -184,4 +192,46 @@ public class NetworkWatcherServiceTest {
 
         assertThat(w.getConfirmedPackets().size(), is(0));
     }
+
+    @Test
+    public void tickBeforeDeadline() {
+        final int awaitTime = 1000;
+        Endpoint endpoint = Endpoint.of(new SwitchId(1), 1);
+
+        NetworkWatcherService w = new NetworkWatcherService(carrier, awaitTime, taskId);
+        w.addWatch(endpoint, 0);
+        w.confirmation(endpoint, 0);
+
+        for (long time = 0; time < awaitTime; time += 7) {
+            w.tick(time);
+        }
+        verify(carrier, never()).discoveryFailed(any(Endpoint.class), anyLong(), anyLong());
+        assertThat(w.getConfirmedPackets().size(), is(1));
+
+        w.tick(awaitTime);
+        verify(carrier).discoveryFailed(eq(endpoint), eq(0L), anyLong());
+        assertThat(w.getScheduledTimeoutsCount(), is(0));
+    }
+
+    @Test
+    public void discoveryBatchedPerSwitch() {
+        NetworkWatcherService w = new NetworkWatcherService(carrier, 10, taskId);
+        w.addWatch(Endpoint.of(new SwitchId(1), 1), 1);
+        w.addWatch(Endpoint.of(new SwitchId(1), 2), 1);
+        w.addWatch(Endpoint.of(new SwitchId(1), 3), 1);
+        w.addWatch(Endpoint.of(new SwitchId(2), 1), 1);
+        w.removeWatch(Endpoint.of(new SwitchId(1), 3));
+
+        verify(carrier, never()).sendDiscovery(any(DiscoverIslBatchCommandData.class));
+        w.tick(1);
+
+        verify(carrier).sendDiscovery(eq(new DiscoverIslBatchCommandData(new SwitchId(1), Arrays.asList(
+                new DiscoverIslBatchCommandData.Port(1, 0), new DiscoverIslBatchCommandData.Port(2, 1)))));
+        verify(carrier).sendDiscovery(eq(new DiscoverIslBatchCommandData(new SwitchId(2), Collections.singletonList(
+                new DiscoverIslBatchCommandData.Port(1, 3)))));
+        verify(carrier, times(2)).sendDiscovery(any(DiscoverIslBatchCommandData.class));
+
+        w.tick(2);
+        verify(carrier, times(2)).sendDiscovery(any(DiscoverIslBatchCommandData.class));
+    }
 }
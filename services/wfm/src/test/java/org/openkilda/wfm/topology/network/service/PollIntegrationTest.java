@@ -20,7 +20,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
 
-import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
 import org.openkilda.messaging.info.event.IslChangeType;
 import org.openkilda.messaging.info.event.IslInfoData;
 import org.openkilda.messaging.info.event.PathNode;
@@ -55,21 +55,22 @@ public class PollIntegrationTest {
 
         NetworkIntegrationCarrier integrationCarrier = new NetworkIntegrationCarrier() {
             @Override
-            public void sendDiscovery(DiscoverIslCommandData discoveryRequest) {
+            public void sendDiscovery(DiscoverIslBatchCommandData discoveryRequest) {
                 // Emulate response from FL
                 watcherCarrier.sendDiscovery(discoveryRequest);
-                IslInfoData response = IslInfoData.builder().latency(latency)
-                        .source(new PathNode(discoveryRequest.getSwitchId(),
-                                discoveryRequest.getPortNumber(), 0))
-                        .destination(new PathNode(new SwitchId(10), 10, 0))
-                        .state(IslChangeType.DISCOVERED)
-                        .speed(speed).underMaintenance(false)
-                        .packetId(discoveryRequest.getPacketId())
-                        .build();
-
-                watcherService.confirmation(Endpoint.of(discoveryRequest.getSwitchId(),
-                        discoveryRequest.getPortNumber()), discoveryRequest.getPacketId());
-                watcherService.discovery(response);
+                for (DiscoverIslBatchCommandData.Port port : discoveryRequest.getPorts()) {
+                    IslInfoData response = IslInfoData.builder().latency(latency)
+                            .source(new PathNode(discoveryRequest.getSwitchId(), port.getPortNumber(), 0))
+                            .destination(new PathNode(new SwitchId(10), 10, 0))
+                            .state(IslChangeType.DISCOVERED)
+                            .speed(speed).underMaintenance(false)
+                            .packetId(port.getPacketId())
+                            .build();
+
+                    watcherService.confirmation(Endpoint.of(discoveryRequest.getSwitchId(), port.getPortNumber()),
+                            port.getPacketId());
+                    watcherService.discovery(response);
+                }
             }
         };
 
@@ -86,14 +87,16 @@ public class PollIntegrationTest {
         // should produce discovery request
         Endpoint endpoint = Endpoint.of(new SwitchId(1), 1);
         watchListService.addWatch(endpoint, 1);
+        watcherService.tick(1);
 
-        ArgumentCaptor<DiscoverIslCommandData> discoveryRequestCatcher = ArgumentCaptor.forClass(
-                DiscoverIslCommandData.class);
+        ArgumentCaptor<DiscoverIslBatchCommandData> discoveryRequestCatcher = ArgumentCaptor.forClass(
+                DiscoverIslBatchCommandData.class);
         verify(watcherCarrier).sendDiscovery(discoveryRequestCatcher.capture());
 
-        DiscoverIslCommandData request = discoveryRequestCatcher.getValue();
+        DiscoverIslBatchCommandData request = discoveryRequestCatcher.getValue();
         Assert.assertEquals(endpoint.getDatapath(), request.getSwitchId());
-        Assert.assertEquals(endpoint.getPortNumber(), request.getPortNumber());
+        Assert.assertEquals(1, request.getPorts().size());
+        Assert.assertEquals(endpoint.getPortNumber(), request.getPorts().get(0).getPortNumber());
 
         IslInfoData expectedDiscoveryEvent = IslInfoData.builder().latency(latency)
                 .source(new PathNode(new SwitchId(1), 1, 0))
@@ -111,10 +114,11 @@ public class PollIntegrationTest {
     public void failed() {
         NetworkIntegrationCarrier integrationCarrier = new NetworkIntegrationCarrier() {
             @Override
-            public void sendDiscovery(DiscoverIslCommandData discoveryRequest) {
-                watcherService.confirmation(
-                        Endpoint.of(discoveryRequest.getSwitchId(), discoveryRequest.getPortNumber()),
-                        discoveryRequest.getPacketId());
+            public void sendDiscovery(DiscoverIslBatchCommandData discoveryRequest) {
+                for (DiscoverIslBatchCommandData.Port port : discoveryRequest.getPorts()) {
+                    watcherService.confirmation(Endpoint.of(discoveryRequest.getSwitchId(), port.getPortNumber()),
+                            port.getPacketId());
+                }
             }
         };
 
@@ -172,7 +176,7 @@ public class PollIntegrationTest {
             decisionMakerService.failed(endpoint, currentTime);
         }
 
-        public abstract void sendDiscovery(DiscoverIslCommandData discoveryRequest);
+        public abstract void sendDiscovery(DiscoverIslBatchCommandData discoveryRequest);
 
         @Override
         public void clearDiscovery(Endpoint endpoint) {
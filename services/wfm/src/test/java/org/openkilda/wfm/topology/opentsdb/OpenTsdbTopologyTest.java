@@ -20,6 +20,7 @@ import static org.openkilda.messaging.Utils.MAPPER;
 
 import org.openkilda.messaging.info.Datapoint;
 import org.openkilda.wfm.StableAbstractStormTest;
+import org.openkilda.wfm.share.utils.DatapointCodec;
 import org.openkilda.wfm.topology.TestingKafkaBolt;
 
 import org.apache.storm.Testing;
@@ -80,6 +81,27 @@ public class OpenTsdbTopologyTest extends StableAbstractStormTest {
         mockServer.verify(HttpRequest.request(), VerificationTimes.exactly(1));
     }
 
+    @Test
+    public void shouldSuccessfulSendEncodedDatapoint() {
+        byte[] encodedDatapoint = new DatapointCodec().encode("metric", timestamp, 123,
+                Collections.singletonMap("key", "value"));
+
+        MockedSources sources = new MockedSources();
+        Testing.withTrackedCluster(clusterParam, (cluster) ->  {
+            OpenTsdbTopology topology = new TestingTargetTopology(new TestingKafkaBolt());
+
+            sources.addMockData(OpenTsdbTopology.OTSDB_SPOUT_ID, new Values(encodedDatapoint, null));
+            completeTopologyParam.setMockedSources(sources);
+
+            StormTopology stormTopology = topology.createTopology();
+
+            Testing.completeTopology(cluster, stormTopology, completeTopologyParam);
+        });
+
+        //verify that request is sent to OpenTSDB server
+        mockServer.verify(HttpRequest.request(), VerificationTimes.exactly(1));
+    }
+
     @Test
     public void shouldSendDatapointRequestsOnlyOnce() throws Exception {
         Datapoint datapoint = new Datapoint("metric", timestamp, Collections.emptyMap(), 123);
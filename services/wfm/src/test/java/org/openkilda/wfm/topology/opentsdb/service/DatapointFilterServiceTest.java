@@ -0,0 +1,152 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.topology.opentsdb.service;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonMap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.messaging.info.Datapoint;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class DatapointFilterServiceTest {
+    private static final long MUTE_INTERVAL = TimeUnit.MINUTES.toMillis(10);
+    private static final long ROLLUP_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+    private static final String METRIC = "kilda.switch.rx-bytes";
+    private static final long TIME = 1_000_000;
+
+    @Test
+    public void shouldSuppressUnchangedValues() {
+        DatapointFilterService service = makeService(new DownsamplingPolicy(emptyMap()), 10);
+
+        assertEquals(1, service.handle(datapoint(METRIC, TIME, 1, emptyMap())).size());
+        assertTrue(service.handle(datapoint(METRIC, TIME + 1000, 1, emptyMap())).isEmpty());
+        assertEquals(1, service.handle(datapoint(METRIC, TIME + 2000, 2, emptyMap())).size());
+        assertEquals(1, service.handle(datapoint(METRIC, TIME + 2000 + MUTE_INTERVAL, 2, emptyMap())).size());
+    }
+
+    @Test
+    public void shouldDownsampleByLongestPrefix() {
+        DownsamplingPolicy policy = DownsamplingPolicy.parse("kilda.switch=10, kilda.switch.rx=30");
+        assertEquals(TimeUnit.SECONDS.toMillis(30), policy.getInterval(METRIC));
+        assertEquals(TimeUnit.SECONDS.toMillis(10), policy.getInterval("kilda.switch.tx-bytes"));
+        assertEquals(0, policy.getInterval("kilda.flow.raw.bytes"));
+
+        DatapointFilterService service = makeService(policy, 10);
+        assertEquals(1, service.handle(datapoint(METRIC, TIME, 1, emptyMap())).size());
+        assertTrue(service.handle(datapoint(METRIC, TIME + 29_000, 2, emptyMap())).isEmpty());
+        assertEquals(1, service.handle(datapoint(METRIC, TIME + 30_000, 3, emptyMap())).size());
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedSeries() {
+        DatapointFilterService service = makeService(new DownsamplingPolicy(emptyMap()), 2);
+
+        service.handle(datapoint(METRIC, TIME, 1, singletonMap("port", "1")));
+        service.handle(datapoint(METRIC, TIME, 1, singletonMap("port", "2")));
+        service.handle(datapoint(METRIC, TIME, 1, singletonMap("port", "3")));
+        assertEquals(2, service.getSeriesCount());
+
+        // The evicted series is treated as a new one.
+        assertEquals(1, service.handle(datapoint(METRIC, TIME + 1000, 1, singletonMap("port", "1"))).size());
+    }
+
+    @Test
+    public void shouldRemoveOutdatedSeries() {
+        DatapointFilterService service = makeService(new DownsamplingPolicy(emptyMap()), 10);
+
+        service.handle(datapoint(METRIC, TIME, 1, singletonMap("port", "1")));
+        service.handle(datapoint(METRIC, TIME + MUTE_INTERVAL, 1, singletonMap("port", "2")));
+        service.removeOutdated(TIME + MUTE_INTERVAL + 1);
+        assertEquals(1, service.getSeriesCount());
+    }
+
+    @Test
+    public void shouldRollupRates() {
+        String metric = "kilda.flow.raw.bytes";
+        DatapointFilterService service = new DatapointFilterService(MUTE_INTERVAL, 10,
+                new DownsamplingPolicy(emptyMap()), ROLLUP_INTERVAL, singleton(metric), emptySet());
+        Map<String, String> tags = singletonMap("flowid", "flow");
+
+        assertEquals(1, service.handle(datapoint(metric, TIME, 1000, tags)).size());
+        assertEquals(1, service.handle(datapoint(metric, TIME + 30_000, 2000, tags)).size());
+
+        List<Datapoint> result = service.handle(datapoint(metric, TIME + ROLLUP_INTERVAL, 7000, tags));
+        assertEquals(2, result.size());
+        Datapoint rate = result.get(1);
+        assertEquals(metric + DatapointFilterService.RATE_SUFFIX, rate.getMetric());
+        assertEquals(tags, rate.getTags());
+        assertEquals(100.0, rate.getValue().doubleValue(), 0.001);
+
+        // The counter reset restarts the rate window.
+        assertEquals(1, service.handle(datapoint(metric, TIME + 2 * ROLLUP_INTERVAL, 10, tags)).size());
+    }
+
+    @Test
+    public void shouldRollupPortTotals() {
+        DatapointFilterService service = new DatapointFilterService(MUTE_INTERVAL, 10,
+                new DownsamplingPolicy(emptyMap()), ROLLUP_INTERVAL, emptySet(), singleton(METRIC));
+
+        List<Datapoint> result = service.handle(datapoint(METRIC, TIME, 10, portTags("1")));
+        assertEquals(2, result.size());
+        assertEquals(10L, result.get(1).getValue());
+
+        assertEquals(1, service.handle(datapoint(METRIC, TIME + 1000, 20, portTags("2"))).size());
+
+        result = service.handle(datapoint(METRIC, TIME + ROLLUP_INTERVAL, 15, portTags("1")));
+        assertEquals(2, result.size());
+        Datapoint total = result.get(1);
+        assertEquals(METRIC + DatapointFilterService.TOTAL_SUFFIX, total.getMetric());
+        assertEquals(singletonMap("switchid", "00:00:00:00:00:00:00:01"), total.getTags());
+        assertEquals(35L, total.getValue());
+    }
+
+    @Test
+    public void shouldEvictAndExpirePortTotals() {
+        DatapointFilterService service = new DatapointFilterService(MUTE_INTERVAL, 2,
+                new DownsamplingPolicy(emptyMap()), ROLLUP_INTERVAL, emptySet(), singleton(METRIC));
+
+        service.handle(datapoint(METRIC, TIME, 1, ImmutableMap.of("switchid", "00:01", "port", "1")));
+        service.handle(datapoint(METRIC, TIME, 1, ImmutableMap.of("switchid", "00:02", "port", "1")));
+        service.handle(datapoint(METRIC, TIME + 1000, 1, ImmutableMap.of("switchid", "00:03", "port", "1")));
+        assertEquals(2, service.getPortTotalsCount());
+
+        service.removeOutdated(TIME + 1 + MUTE_INTERVAL);
+        assertEquals(1, service.getPortTotalsCount());
+    }
+
+    private DatapointFilterService makeService(DownsamplingPolicy policy, int maxSeries) {
+        return new DatapointFilterService(MUTE_INTERVAL, maxSeries, policy, ROLLUP_INTERVAL, emptySet(), emptySet());
+    }
+
+    private static Map<String, String> portTags(String port) {
+        return ImmutableMap.of("switchid", "00:00:00:00:00:00:00:01", "port", port);
+    }
+
+    private static Datapoint datapoint(String metric, long time, Number value, Map<String, String> tags) {
+        return new Datapoint(metric, time, tags, value);
+    }
+}
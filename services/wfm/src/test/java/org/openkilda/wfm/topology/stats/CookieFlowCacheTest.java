@@ -0,0 +1,102 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.topology.stats;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.model.SwitchId;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class CookieFlowCacheTest {
+    private static final SwitchId SWITCH_1 = new SwitchId("00:00:00:00:00:00:00:01");
+    private static final SwitchId SWITCH_2 = new SwitchId("00:00:00:00:00:00:00:02");
+
+    @Test
+    public void shouldFindPutFlow() {
+        CookieFlowCache cache = new CookieFlowCache();
+        cache.put(0x4000000000000001L, "flow", SWITCH_1, SWITCH_2);
+
+        int row = cache.find(0x4000000000000001L);
+        assertEquals("flow", cache.getFlowId(row));
+        assertTrue(cache.isIngressSwitch(row, SWITCH_1));
+        assertTrue(cache.isEgressSwitch(row, SWITCH_2));
+        assertFalse(cache.isIngressSwitch(row, SWITCH_2));
+        assertEquals(-1, cache.find(0x2000000000000001L));
+    }
+
+    @Test
+    public void shouldUpdateSwitchesSeparately() {
+        CookieFlowCache cache = new CookieFlowCache();
+        cache.updateSwitch(1L, "flow", SWITCH_1, MeasurePoint.INGRESS);
+
+        int row = cache.find(1L);
+        assertTrue(cache.isIngressSwitch(row, SWITCH_1));
+        assertNull(cache.getEgressSwitch(row));
+
+        cache.updateSwitch(1L, "flow", SWITCH_2, MeasurePoint.EGRESS);
+        assertTrue(cache.isIngressSwitch(row, SWITCH_1));
+        assertTrue(cache.isEgressSwitch(row, SWITCH_2));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void shouldInternFlowIds() {
+        CookieFlowCache cache = new CookieFlowCache();
+        cache.put(1L, new String("flow"), SWITCH_1, SWITCH_2);
+        cache.put(2L, new String("flow"), SWITCH_2, SWITCH_1);
+
+        assertSame(cache.getFlowId(cache.find(1L)), cache.getFlowId(cache.find(2L)));
+    }
+
+    @Test
+    public void shouldKeepRestEntriesOnRemove() {
+        CookieFlowCache cache = new CookieFlowCache();
+        Map<Long, String> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            // Small key range makes collisions and removal of the absent keys frequent.
+            long cookie = random.nextInt(2_000);
+            if (random.nextBoolean()) {
+                cache.put(cookie, "flow" + cookie, SWITCH_1, SWITCH_2);
+                expected.put(cookie, "flow" + cookie);
+            } else {
+                cache.remove(cookie);
+                expected.remove(cookie);
+            }
+        }
+
+        assertEquals(expected.size(), cache.size());
+        for (long cookie = 0; cookie < 2_000; cookie++) {
+            int row = cache.find(cookie);
+            if (expected.containsKey(cookie)) {
+                assertEquals(expected.get(cookie), cache.getFlowId(row));
+                assertTrue(cache.isEgressSwitch(row, SWITCH_2));
+            } else {
+                assertEquals(-1, row);
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/* Copyright 2019 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.topology.stats;
+
+import static org.junit.Assert.assertEquals;
+
+import org.openkilda.model.SwitchId;
+
+import org.junit.Test;
+
+public class MeterFlowCacheTest {
+    private static final SwitchId SWITCH_1 = new SwitchId("00:00:00:00:00:00:00:01");
+    private static final SwitchId SWITCH_2 = new SwitchId("00:00:00:00:00:00:00:02");
+
+    @Test
+    public void shouldFindMetersBySwitch() {
+        MeterFlowCache cache = new MeterFlowCache();
+        cache.put(SWITCH_1, 32L, "flow1", 1L);
+        cache.put(SWITCH_2, 32L, "flow2", 2L);
+
+        int row = cache.find(SWITCH_2, 32L);
+        assertEquals("flow2", cache.getFlowId(row));
+        assertEquals(2L, cache.getCookie(row));
+        assertEquals(-1, cache.find(SWITCH_1, 33L));
+    }
+
+    @Test
+    public void shouldReplaceCookieOfExistingMeter() {
+        MeterFlowCache cache = new MeterFlowCache();
+        cache.put(SWITCH_1, 32L, "flow1", 1L);
+        cache.put(SWITCH_1, 32L, "flow1", 3L);
+
+        assertEquals(1, cache.size());
+        assertEquals(3L, cache.getCookie(cache.find(SWITCH_1, 32L)));
+    }
+
+    @Test
+    public void shouldGrowAndRemove() {
+        MeterFlowCache cache = new MeterFlowCache();
+        for (long meterId = 0; meterId < 1000; meterId++) {
+            cache.put(SWITCH_1, meterId, "flow" + meterId, meterId);
+        }
+        for (long meterId = 0; meterId < 1000; meterId += 2) {
+            cache.remove(SWITCH_1, meterId);
+        }
+
+        assertEquals(500, cache.size());
+        for (long meterId = 0; meterId < 1000; meterId++) {
+            int row = cache.find(SWITCH_1, meterId);
+            if (meterId % 2 == 0) {
+                assertEquals(-1, row);
+            } else {
+                assertEquals("flow" + meterId, cache.getFlowId(row));
+                assertEquals(meterId, cache.getCookie(row));
+            }
+        }
+    }
+}
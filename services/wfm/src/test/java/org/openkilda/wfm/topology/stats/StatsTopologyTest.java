@@ -57,6 +57,7 @@ import org.openkilda.wfm.EmbeddedNeo4jDatabase;
 import org.openkilda.wfm.LaunchEnvironment;
 import org.openkilda.wfm.config.provider.MultiPrefixConfigurationProvider;
 import org.openkilda.wfm.share.flow.TestFlowBuilder;
+import org.openkilda.wfm.share.utils.DatapointCodec;
 import org.openkilda.wfm.topology.TestKafkaConsumer;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -69,6 +70,7 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -94,6 +96,7 @@ public class StatsTopologyTest extends AbstractStormTest {
     private final String flowId = "f253423454343";
 
     private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final DatapointCodec datapointCodec = new DatapointCodec();
 
     private static EmbeddedNeo4jDatabase embeddedNeo4jDb;
 
@@ -130,8 +133,10 @@ public class StatsTopologyTest extends AbstractStormTest {
 
         cluster.submitTopology(StatsTopologyTest.class.getSimpleName(), config, stormTopology);
 
-        otsdbConsumer = new TestKafkaConsumer(statsTopologyConfig.getKafkaOtsdbTopic(),
-                kafkaProperties(UUID.randomUUID().toString()));
+        // Datapoints are binary encoded, ISO-8859-1 maps their bytes to chars one-to-one.
+        Properties otsdbConsumerProperties = kafkaProperties(UUID.randomUUID().toString());
+        otsdbConsumerProperties.put("value.deserializer.encoding", StandardCharsets.ISO_8859_1.name());
+        otsdbConsumer = new TestKafkaConsumer(statsTopologyConfig.getKafkaOtsdbTopic(), otsdbConsumerProperties);
         otsdbConsumer.start();
 
         flowRepository = persistenceManager.getRepositoryFactory().createFlowRepository();
@@ -153,7 +158,7 @@ public class StatsTopologyTest extends AbstractStormTest {
     public void setup() throws IOException {
         otsdbConsumer.clear();
 
-        // need clear data in CacheBolt
+        // need clear data in flow caches of metric generators
         for (Flow flow : flowRepository.findAll()) {
             sendRemoveFlowCommand(new UnidirectionalFlow(flow.getForwardPath(), null, false));
             flowRepository.delete(flow);
@@ -450,12 +455,12 @@ public class StatsTopologyTest extends AbstractStormTest {
                     throw new AssertionError(String.format(POLL_DATAPOINT_ASSERT_MESSAGE,
                             expectedDatapointCount, datapoints.size()));
                 }
-                Datapoint datapoint = objectMapper.readValue(record.value(), Datapoint.class);
+                Datapoint datapoint = datapointCodec.decode(record.value().getBytes(StandardCharsets.ISO_8859_1));
                 datapoints.add(datapoint);
             } catch (InterruptedException e) {
                 throw new AssertionError(String.format(POLL_DATAPOINT_ASSERT_MESSAGE,
                         expectedDatapointCount, datapoints.size()));
-            } catch (IOException e) {
+            } catch (IllegalArgumentException e) {
                 throw new AssertionError(String.format("Could not parse datapoint object: '%s'", record.value()));
             }
         }